@@ -14,6 +14,7 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_EXHAUSTED_ACTION;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_ACTIVE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_PENDING_REQUESTS;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MULTIPLEXED;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_WAIT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_IDLE;
@@ -409,6 +410,7 @@ public Properties properties() {
       properties.setProperty(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, connectionPool().minEvictableIdleTime());
       properties.setProperty("minEvictableIdleTimeMillis", connectionPool().minEvictableIdleTime());
       properties.setProperty(CONNECTION_POOL_MAX_PENDING_REQUESTS, connectionPool().maxPendingRequests());
+      properties.setProperty(CONNECTION_POOL_MULTIPLEXED, connectionPool().multiplexed());
 
       StringBuilder servers = new StringBuilder();
       for (ServerConfiguration server : servers()) {
@@ -19,6 +19,7 @@ public class ConnectionPoolConfigurationBuilder extends AbstractConfigurationChi
    private int minIdle = 1;
    private long minEvictableIdleTime = 1800000;
    private int maxPendingRequests = 5;
+   private boolean multiplexed = false;
 
    ConnectionPoolConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -112,6 +113,21 @@ public ConnectionPoolConfigurationBuilder maxPendingRequests(int maxPendingReque
       return this;
    }
 
+   /**
+    * Enables multiplexing of requests over the connections to a server. When enabled a connection is shared by all the
+    * operations that are concurrently sent to the server instead of being checked out of the pool while an operation
+    * is being written, and the writes issued in the same event loop iteration are flushed together. A new connection is
+    * only created when all connections have {@link #maxPendingRequests(int) max pending requests} in flight, so the
+    * number of requests in flight to a server is limited by {@link #maxActive(int) max active} times
+    * {@link #maxPendingRequests(int) max pending requests}. When that limit is reached the
+    * {@link #exhaustedAction(ExhaustedAction) exhausted action} applies and waiting requests are sent as soon as a
+    * response is received. Default setting for this parameter is false.
+    */
+   public ConnectionPoolConfigurationBuilder multiplexed(boolean multiplexed) {
+      this.multiplexed = multiplexed;
+      return this;
+   }
+
    /**
     * Configures the connection pool parameter according to properties
     */
@@ -135,6 +151,7 @@ public ConnectionPoolConfigurationBuilder withPoolProperties(Properties properti
       maxPendingRequests(typed.getIntProperty(ConfigurationProperties.CONNECTION_POOL_MAX_PENDING_REQUESTS,
             typed.getIntProperty("maxPendingRequests", maxPendingRequests, true),
             true));
+      multiplexed(typed.getBooleanProperty(ConfigurationProperties.CONNECTION_POOL_MULTIPLEXED, multiplexed, true));
 
       return this;
    }
@@ -145,7 +162,7 @@ public void validate() {
 
    @Override
    public ConnectionPoolConfiguration create() {
-      return new ConnectionPoolConfiguration(exhaustedAction, maxActive, maxWait, minIdle, minEvictableIdleTime, maxPendingRequests);
+      return new ConnectionPoolConfiguration(exhaustedAction, maxActive, maxWait, minIdle, minEvictableIdleTime, maxPendingRequests, multiplexed);
    }
 
    @Override
@@ -156,6 +173,7 @@ public ConnectionPoolConfigurationBuilder read(ConnectionPoolConfiguration templ
       minIdle = template.minIdle();
       minEvictableIdleTime = template.minEvictableIdleTime();
       maxPendingRequests = template.maxPendingRequests();
+      multiplexed = template.multiplexed();
       return this;
    }
 
@@ -143,6 +143,12 @@
  *          <td>Specifies maximum number of {@link org.infinispan.client.hotrod.configuration.ConnectionPoolConfigurationBuilder#maxPendingRequests(int) requests} sent over single connection at one instant.</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.connection_pool.multiplexed</b></td>
+ *          <td>Boolean</td>
+ *          <td>false</td>
+ *          <td>Whether concurrent requests should be {@link org.infinispan.client.hotrod.configuration.ConnectionPoolConfigurationBuilder#multiplexed(boolean) multiplexed} over the connections to a server.</td>
+ *       </tr>
+ *       <tr>
  *          <th colspan="4">Thread pool properties</th>
  *       </tr>
  *       <tr>
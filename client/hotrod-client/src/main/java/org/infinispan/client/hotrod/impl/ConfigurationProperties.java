@@ -108,6 +108,7 @@ public class ConfigurationProperties {
    public static final String CONNECTION_POOL_MAX_PENDING_REQUESTS = ICH + "connection_pool.max_pending_requests";
    public static final String CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME = ICH + "connection_pool.min_evictable_idle_time";
    public static final String CONNECTION_POOL_EXHAUSTED_ACTION = ICH + "connection_pool.exhausted_action";
+   public static final String CONNECTION_POOL_MULTIPLEXED = ICH + "connection_pool.multiplexed";
    // XSite properties
    public static final String CLUSTER_PROPERTIES_PREFIX = ICH + "cluster";
    public static final Pattern CLUSTER_PROPERTIES_PREFIX_REGEX =
@@ -586,6 +587,14 @@ public void setConnectionPoolMaxPendingRequests(int connectionPoolMaxPendingRequ
       props.setProperty(CONNECTION_POOL_MAX_PENDING_REQUESTS, connectionPoolMaxPendingRequests);
    }
 
+   public boolean isConnectionPoolMultiplexed() {
+      return props.getBooleanProperty(CONNECTION_POOL_MULTIPLEXED, false);
+   }
+
+   public void setConnectionPoolMultiplexed(boolean connectionPoolMultiplexed) {
+      props.setProperty(CONNECTION_POOL_MULTIPLEXED, connectionPoolMultiplexed);
+   }
+
    public long setConnectionPoolMinEvictableIdleTime() {
       return props.getLongProperty(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, DEFAULT_MIN_EVICTABLE_IDLE_TIME);
    }
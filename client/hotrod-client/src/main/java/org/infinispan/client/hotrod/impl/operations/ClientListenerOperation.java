@@ -98,6 +98,12 @@ public void releaseChannel(Channel channel) {
       }
    }
 
+   @Override
+   public boolean requiresExclusiveChannel() {
+      // Older protocol versions cannot receive other responses on a channel that receives events
+      return !codec.allowOperationsAndEvents();
+   }
+
    @Override
    public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
       if (HotRodConstants.isSuccess(status)) {
@@ -242,6 +242,12 @@ public QueryOperation newQueryOperation(RemoteQuery<?> remoteQuery, DataFormat d
             codec, channelFactory, cacheNameBytes, topologyId, flags(), cfg, remoteQuery, dataFormat);
    }
 
+   public QueryOperation newQueryOperation(RemoteQuery<?> remoteQuery, DataFormat dataFormat, String cursorId,
+                                           int cursorBatchSize, SocketAddress addressTarget) {
+      return new QueryOperation(codec, channelFactory, cacheNameBytes, topologyId, flags(), cfg, remoteQuery,
+            dataFormat, cursorId, cursorBatchSize, addressTarget);
+   }
+
    public SizeOperation newSizeOperation() {
       return new SizeOperation(codec, channelFactory, cacheNameBytes, topologyId, flags(), cfg);
    }
@@ -73,6 +73,12 @@ public void executeOperation(Channel channel) {
    public void releaseChannel(Channel channel) {
    }
 
+   @Override
+   public boolean requiresExclusiveChannel() {
+      // The value is streamed over the channel after the header so no other request can be written meanwhile
+      return true;
+   }
+
    @Override
    public boolean completeExceptionally(Throwable ex) {
       closeFuture.completeExceptionally(ex);
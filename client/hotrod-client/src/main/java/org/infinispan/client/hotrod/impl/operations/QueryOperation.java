@@ -1,10 +1,12 @@
 package org.infinispan.client.hotrod.impl.operations;
 
+import java.net.SocketAddress;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.client.hotrod.DataFormat;
@@ -30,16 +32,53 @@ public final class QueryOperation extends RetryOnFailureOperation<Object> {
 
    private final RemoteQuery<?> remoteQuery;
    private final QuerySerializer querySerializer;
+   private final String cursorId;
+   private final int cursorBatchSize;
+   private final SocketAddress addressTarget;
+   private volatile SocketAddress serverAddress;
 
    public QueryOperation(Codec codec, ChannelFactory channelFactory, byte[] cacheName, AtomicInteger topologyId,
                          int flags, Configuration cfg, RemoteQuery<?> remoteQuery, DataFormat dataFormat) {
+      this(codec, channelFactory, cacheName, topologyId, flags, cfg, remoteQuery, dataFormat, null, -1, null);
+   }
+
+   /**
+    * A query that reads its results through a server side cursor. Without a {@code cursorId} it opens a cursor and
+    * returns the first {@code cursorBatchSize} results, otherwise it reads the next batch of the given cursor, or
+    * closes it if {@code cursorBatchSize} is not positive. The cursor only exists on the server that opened it, so the
+    * follow-up operations must be sent to {@code addressTarget}.
+    */
+   public QueryOperation(Codec codec, ChannelFactory channelFactory, byte[] cacheName, AtomicInteger topologyId,
+                         int flags, Configuration cfg, RemoteQuery<?> remoteQuery, DataFormat dataFormat,
+                         String cursorId, int cursorBatchSize, SocketAddress addressTarget) {
       super(QUERY_REQUEST, QUERY_RESPONSE, codec, channelFactory, cacheName, topologyId, flags, cfg, dataFormat);
       this.remoteQuery = remoteQuery;
       this.querySerializer = QuerySerializer.findByMediaType(dataFormat.getValueType());
+      this.cursorId = cursorId;
+      this.cursorBatchSize = cursorBatchSize;
+      this.addressTarget = addressTarget;
+   }
+
+   @Override
+   protected void fetchChannelAndInvoke(int retryCount, Set<SocketAddress> failedServers) {
+      if (addressTarget != null) {
+         channelFactory.fetchChannelAndInvoke(addressTarget, this);
+      } else {
+         super.fetchChannelAndInvoke(retryCount, failedServers);
+      }
+   }
+
+   /**
+    * @return the address of the server that executed the query
+    */
+   public SocketAddress getServerAddress() {
+      return serverAddress;
    }
 
    @Override
    protected void executeOperation(Channel channel) {
+      serverAddress = channel.remoteAddress();
+
       QueryRequest queryRequest = new QueryRequest();
       queryRequest.setQueryString(remoteQuery.getQueryString());
       if (remoteQuery.getStartOffset() > 0) {
@@ -51,6 +90,10 @@ protected void executeOperation(Channel channel) {
       queryRequest.setNamedParameters(getNamedParameters());
 
       queryRequest.setLocal(remoteQuery.isLocal());
+      if (cursorId != null || cursorBatchSize > 0) {
+         queryRequest.setCursorId(cursorId);
+         queryRequest.setCursorBatchSize(cursorBatchSize);
+      }
 
       // marshall and write the request
       byte[] requestBytes = querySerializer.serializeQueryRequest(remoteQuery, queryRequest);
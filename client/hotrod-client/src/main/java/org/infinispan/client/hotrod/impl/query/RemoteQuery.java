@@ -3,6 +3,8 @@
 import static org.infinispan.client.hotrod.impl.Util.await;
 
 import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
@@ -14,6 +16,7 @@
 import org.infinispan.client.hotrod.impl.operations.QueryOperation;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.commons.util.AbstractIterator;
 import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.Closeables;
 import org.infinispan.protostream.SerializationContext;
@@ -59,6 +62,10 @@ public List<T> list() {
    @Override
    public QueryResult<T> execute() {
       BaseQueryResponse<T> response = executeQuery();
+      return makeQueryResult(response);
+   }
+
+   private QueryResult<T> makeQueryResult(BaseQueryResponse<T> response) {
       return new QueryResult<T>() {
          @Override
          public OptionalLong hitCount() {
@@ -77,10 +84,15 @@ public List<T> list() {
       };
    }
 
+   /**
+    * Without pagination options the results are read in batches of {@link
+    * org.infinispan.client.hotrod.configuration.Configuration#batchSize()} through a cursor kept by the server, so the
+    * whole result set is never held in memory. Servers that do not support cursors return all the results at once.
+    */
    @Override
    public CloseableIterator<T> iterator() {
       if (maxResults == -1 && startOffset == 0) {
-         log.warnPerfRemoteIterationWithoutPagination(queryString);
+         return new CursorIterator(cache.getRemoteCacheManager().getConfiguration().batchSize());
       }
       return Closeables.iterator(execute().list().iterator());
    }
@@ -93,7 +105,10 @@ public int getResultSize() {
 
    private BaseQueryResponse<T> executeQuery() {
       validateNamedParameters();
-      QueryOperation op = cache.getOperationsFactory().newQueryOperation(this, cache.getDataFormat());
+      return executeQuery(cache.getOperationsFactory().newQueryOperation(this, cache.getDataFormat()));
+   }
+
+   private BaseQueryResponse<T> executeQuery(QueryOperation op) {
       return (BaseQueryResponse<T>) (timeout != -1 ? await(op.execute(), TimeUnit.NANOSECONDS.toMillis(timeout)) : await(op.execute()));
    }
 
@@ -108,6 +123,58 @@ public SerializationContext getSerializationContext() {
       return cache;
    }
 
+   private final class CursorIterator extends AbstractIterator<T> implements CloseableIterator<T> {
+
+      private final int batchSize;
+
+      private Iterator<T> batch;
+
+      private String cursorId;
+
+      private SocketAddress server;
+
+      CursorIterator(int batchSize) {
+         this.batchSize = batchSize;
+      }
+
+      @Override
+      protected T getNext() {
+         while (batch == null || !batch.hasNext()) {
+            if (batch != null && cursorId == null) {
+               return null;
+            }
+            fetchBatch();
+         }
+         return batch.next();
+      }
+
+      private void fetchBatch() {
+         QueryOperation op;
+         if (batch == null) {
+            validateNamedParameters();
+            op = cache.getOperationsFactory().newQueryOperation(RemoteQuery.this, cache.getDataFormat(), null, batchSize, null);
+         } else {
+            op = cache.getOperationsFactory().newQueryOperation(RemoteQuery.this, cache.getDataFormat(), cursorId, batchSize, server);
+         }
+         BaseQueryResponse<T> response = executeQuery(op);
+         List<T> results = makeQueryResult(response).list();
+         if (batch == null && response.getCursorId() == null && results.size() > batchSize) {
+            log.warnPerfRemoteIterationWithoutPagination(queryString);
+         }
+         batch = results.iterator();
+         cursorId = response.getCursorId();
+         server = op.getServerAddress();
+      }
+
+      @Override
+      public void close() {
+         if (cursorId != null) {
+            executeQuery(cache.getOperationsFactory().newQueryOperation(RemoteQuery.this, cache.getDataFormat(), cursorId, 0, server));
+            cursorId = null;
+         }
+      }
+   }
+
    @Override
    public String toString() {
       return "RemoteQuery{" +
@@ -183,7 +183,8 @@ private ChannelPool newPool(SocketAddress address) {
       ChannelInitializer channelInitializer = new ChannelInitializer(bootstrap, address, operationsFactory, configuration, this);
       bootstrap.handler(channelInitializer);
       ChannelPool pool = new ChannelPool(bootstrap.config().group().next(), address, channelInitializer, configuration.connectionPool().exhaustedAction(),
-            configuration.connectionPool().maxWait(), maxConnections, configuration.connectionPool().maxPendingRequests());
+            configuration.connectionPool().maxWait(), maxConnections, configuration.connectionPool().maxPendingRequests(),
+            configuration.connectionPool().multiplexed());
       channelInitializer.setChannelPool(pool);
       return pool;
    }
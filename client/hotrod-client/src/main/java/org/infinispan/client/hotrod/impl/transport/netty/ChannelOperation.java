@@ -19,4 +19,12 @@ public interface ChannelOperation {
     * @param cause
     */
    void cancel(SocketAddress address, Throwable cause);
+
+   /**
+    * Whether the operation needs the channel for itself until it is released, e.g. because it streams data over it.
+    * This is only relevant when requests are multiplexed, otherwise channels are never shared between operations.
+    */
+   default boolean requiresExclusiveChannel() {
+      return false;
+   }
 }
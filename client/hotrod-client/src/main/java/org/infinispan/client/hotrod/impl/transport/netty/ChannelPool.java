@@ -31,6 +31,11 @@
  * channel is available.
  * <p>
  * The connections are handled LIFO, pending requests are handled FIFO.
+ * <p>
+ * When requests are multiplexed the channels are not removed from the pool while an operation is using them, instead
+ * each channel is shared by up to {@code maxPendingRequests} operations, counting both the operations that are
+ * writing their request and the ones that are waiting for a response. Pending requests are then dispatched whenever
+ * a channel has capacity again, either because an operation released it or because a response was received.
  */
 class ChannelPool {
    private static final AtomicIntegerFieldUpdater<TimeoutCallback> invokedUpdater = AtomicIntegerFieldUpdater.newUpdater(TimeoutCallback.class, "invoked");
@@ -46,12 +51,13 @@ class ChannelPool {
    private final long maxWait;
    private final int maxConnections;
    private final int maxPendingRequests;
+   private final boolean multiplexed;
    private final AtomicInteger created = new AtomicInteger();
    private final AtomicInteger active = new AtomicInteger();
    private final StampedLock lock = new StampedLock();
    private volatile boolean terminated = false;
 
-   ChannelPool(EventExecutor executor, SocketAddress address, ChannelInitializer newChannelInvoker, ExhaustedAction exhaustedAction, long maxWait, int maxConnections, int maxPendingRequests) {
+   ChannelPool(EventExecutor executor, SocketAddress address, ChannelInitializer newChannelInvoker, ExhaustedAction exhaustedAction, long maxWait, int maxConnections, int maxPendingRequests, boolean multiplexed) {
       this.executor = executor;
       this.address = address;
       this.newChannelInvoker = newChannelInvoker;
@@ -59,6 +65,7 @@ class ChannelPool {
       this.maxWait = maxWait;
       this.maxConnections = maxConnections;
       this.maxPendingRequests = maxPendingRequests;
+      this.multiplexed = multiplexed;
    }
 
    public void acquire(ChannelOperation callback) {
@@ -66,6 +73,10 @@ public void acquire(ChannelOperation callback) {
          callback.cancel(address, new RejectedExecutionException("Pool was terminated"));
          return;
       }
+      if (multiplexed) {
+         acquireMultiplexed(callback);
+         return;
+      }
       Channel channel;
       int fullChannelsSeen = 0;
       while ((channel = channels.pollFirst()) != null) {
@@ -137,6 +148,84 @@ public void acquire(ChannelOperation callback) {
       activateChannel(channel, callback, false);
    }
 
+   private void acquireMultiplexed(ChannelOperation callback) {
+      boolean exclusive = callback.requiresExclusiveChannel();
+      Channel channel = acquireShared(exclusive);
+      if (channel != null) {
+         invoke(channel, callback, false);
+         return;
+      }
+      int current = created.get();
+      while (current < maxConnections) {
+         if (created.compareAndSet(current, current + 1)) {
+            int currentActive = active.incrementAndGet();
+            if (log.isTraceEnabled()) log.tracef("Creating new multiplexed channel, created = %d, active = %d", current + 1, currentActive);
+            createAndInvoke(callback);
+            return;
+         }
+         current = created.get();
+      }
+      // all channels have reached max pending requests and we cannot create more
+      switch (exhaustedAction) {
+         case EXCEPTION:
+            throw new NoSuchElementException("Reached maximum number of pending requests");
+         case WAIT:
+            break;
+         case CREATE_NEW:
+            int currentCreated = created.incrementAndGet();
+            int currentActive = active.incrementAndGet();
+            if (log.isTraceEnabled()) log.tracef("Creating new multiplexed channel, created = %d, active = %d", currentCreated, currentActive);
+            createAndInvoke(callback);
+            return;
+         default:
+            throw new IllegalArgumentException(String.valueOf(exhaustedAction));
+      }
+      if (maxWait > 0) {
+         TimeoutCallback timeoutCallback = new TimeoutCallback(callback);
+         timeoutCallback.timeoutFuture = executor.schedule(timeoutCallback, maxWait, TimeUnit.MILLISECONDS);
+         callback = timeoutCallback;
+      }
+      // Capacity could have been released after we have looked at the channels, so look again under the write lock.
+      // The capacity is always released before dispatchPending takes the read lock, so either we see the released
+      // capacity here or dispatchPending sees the callback once we have added it.
+      long stamp = lock.writeLock();
+      try {
+         channel = acquireShared(exclusive);
+         if (channel == null) {
+            callbacks.addLast(callback);
+            return;
+         }
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+      invoke(channel, callback, false);
+   }
+
+   private Channel acquireShared(boolean exclusive) {
+      for (Channel channel : channels) {
+         if (!channel.isActive() || !channel.isWritable()) {
+            continue;
+         }
+         if (tryAcquireShared(channel, exclusive)) {
+            return channel;
+         }
+      }
+      return null;
+   }
+
+   private boolean tryAcquireShared(Channel channel, boolean exclusive) {
+      int registered = channel.pipeline().get(HeaderDecoder.class).registeredOperations();
+      int previous = ChannelRecord.of(channel).tryAcquireShared(exclusive, maxPendingRequests - registered);
+      if (previous < 0) {
+         return false;
+      }
+      if (previous == 0) {
+         int currentActive = active.incrementAndGet();
+         if (log.isTraceEnabled()) log.tracef("Activated multiplexed channel %s, created = %d, active = %d", channel, created.get(), currentActive);
+      }
+      return true;
+   }
+
    private void createAndInvoke(ChannelOperation callback) {
       try {
          newChannelInvoker.createChannel().whenComplete((channel, throwable) -> {
@@ -149,6 +238,13 @@ private void createAndInvoke(ChannelOperation callback) {
                                      currentCreated, currentActive);
                callback.cancel(address, throwable);
             } else {
+               if (multiplexed) {
+                  // The channel is created as acquired by this operation, from now on it can be shared
+                  if (callback.requiresExclusiveChannel()) {
+                     ChannelRecord.of(channel).setExclusive();
+                  }
+                  channels.addLast(channel);
+               }
                callback.invoke(channel);
             }
          });
@@ -177,6 +273,11 @@ public void release(Channel channel, ChannelRecord record) {
          return;
       }
 
+      if (multiplexed) {
+         releaseShared(channel, record);
+         return;
+      }
+
       if (record.setIdleAndIsClosed()) {
          if (log.isTraceEnabled()) log.tracef("Attempt to release already closed channel %s, active = %d", channel, active.get());
          return;
@@ -204,6 +305,54 @@ public void release(Channel channel, ChannelRecord record) {
       activateChannel(channel, callback, true);
    }
 
+   private void releaseShared(Channel channel, ChannelRecord record) {
+      int remaining = record.releaseShared();
+      if (remaining < 0) {
+         if (log.isTraceEnabled()) log.tracef("Attempt to release already closed channel %s, active = %d", channel, active.get());
+         return;
+      }
+      if (remaining == 0) {
+         int currentActive = active.decrementAndGet();
+         if (log.isTraceEnabled()) log.tracef("Released multiplexed channel %s, active = %d", channel, currentActive);
+         if (currentActive < 0) {
+            HOTROD.warnf("Invalid active count after releasing channel %s", channel);
+         }
+      }
+      dispatchPending(channel);
+   }
+
+   /**
+    * Invoked after a response has been received on the channel, which may allow another request to be sent over it.
+    */
+   void responseReceived(Channel channel) {
+      if (multiplexed) {
+         dispatchPending(channel);
+      }
+   }
+
+   private void dispatchPending(Channel channel) {
+      if (!channel.isActive()) {
+         return;
+      }
+      // Must not check the callbacks without the lock, a concurrent acquire could be adding a callback after it
+      // did not find the capacity we have just released
+      ChannelOperation callback;
+      long stamp = lock.readLock();
+      try {
+         callback = callbacks.pollFirst();
+         if (callback == null) {
+            return;
+         }
+         if (!tryAcquireShared(channel, callback.requiresExclusiveChannel())) {
+            callbacks.addFirst(callback);
+            return;
+         }
+      } finally {
+         lock.unlockRead(stamp);
+      }
+      invoke(channel, callback, true);
+   }
+
    /**
     * Update counts after a channel has been closed.
     */
@@ -213,6 +362,9 @@ public void releaseClosedChannel(Channel channel, ChannelRecord channelRecord) {
          return;
       }
 
+      if (multiplexed) {
+         channels.remove(channel);
+      }
       boolean idle = channelRecord.closeAndWasIdle();
 
       int currentCreated = created.decrementAndGet();
@@ -231,8 +383,12 @@ private void activateChannel(Channel channel, ChannelOperation callback, boolean
       assert channel.isActive() : "Channel " + channel + " is not active";
       int currentActive = active.incrementAndGet();
       if (log.isTraceEnabled()) log.tracef("Activated record %s, created = %d, active = %d", channel, created.get(), currentActive);
+      ChannelRecord.of(channel).setAcquired();
+      invoke(channel, callback, useExecutor);
+   }
+
+   private void invoke(Channel channel, ChannelOperation callback, boolean useExecutor) {
       ChannelRecord record = ChannelRecord.of(channel);
-      record.setAcquired();
       if (useExecutor) {
          // Do not execute another operation in releasing thread, we could run out of stack
          executor.execute(() -> {
@@ -289,6 +445,7 @@ public String toString() {
             ", maxWait=" + maxWait +
             ", maxConnections=" + maxConnections +
             ", maxPendingRequests=" + maxPendingRequests +
+            ", multiplexed=" + multiplexed +
             ", created=" + created +
             ", active=" + active +
             ", terminated=" + terminated +
@@ -328,5 +485,10 @@ public void invoke(Channel channel) {
       public void cancel(SocketAddress address, Throwable cause) {
          throw new UnsupportedOperationException();
       }
+
+      @Override
+      public boolean requiresExclusiveChannel() {
+         return callback.requiresExclusiveChannel();
+      }
    }
 }
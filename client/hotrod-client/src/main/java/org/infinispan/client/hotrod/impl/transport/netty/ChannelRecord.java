@@ -17,6 +17,8 @@
  * 1) Activation: this extends {@link CompletableFuture} which is completed once the connection and initial handshake
  * are completed.
  * 2) Storage for unresolved address and pool info.
+ * 3) Tracking of the operations the channel is acquired by. A channel is only acquired by more than one operation at
+ * once when requests are multiplexed.
  */
 public class ChannelRecord extends CompletableFuture<Channel> implements GenericFutureListener<ChannelFuture> {
    private static final Log log = LogFactory.getLog(ChannelRecord.class);
@@ -26,7 +28,8 @@ public class ChannelRecord extends CompletableFuture<Channel> implements Generic
    private final SocketAddress unresolvedAddress;
    private final ChannelPool channelPool;
    private boolean closed = false;
-   private boolean acquired = true;
+   private int acquired = 1;
+   private boolean exclusive = false;
 
    ChannelRecord(SocketAddress unresolvedAddress, ChannelPool channelPool) {
       this.unresolvedAddress = unresolvedAddress;
@@ -58,17 +61,17 @@ public void operationComplete(ChannelFuture future) throws Exception {
    }
 
    synchronized void setAcquired() {
-      assert !acquired;
-      acquired = true;
+      assert acquired == 0;
+      acquired = 1;
    }
 
    public synchronized boolean isIdle() {
-      return !acquired;
+      return acquired == 0;
    }
 
    public synchronized boolean setIdleAndIsClosed() {
-      assert acquired;
-      acquired = false;
+      assert acquired == 1;
+      acquired = 0;
 
       return closed;
    }
@@ -77,10 +80,47 @@ public synchronized boolean closeAndWasIdle() {
       assert !closed;
       closed = true;
 
-      return !acquired;
+      return acquired == 0;
+   }
+
+   /**
+    * Acquires a multiplexed channel for one more operation.
+    *
+    * @param exclusive whether the operation needs the channel for itself, which is only possible when it is idle
+    * @param maxAcquired the maximum number of operations the channel may be acquired by
+    * @return the number of operations the channel was acquired by before or -1 if it cannot be acquired
+    */
+   synchronized int tryAcquireShared(boolean exclusive, int maxAcquired) {
+      if (closed || this.exclusive || acquired >= maxAcquired || (exclusive && acquired > 0)) {
+         return -1;
+      }
+      this.exclusive = exclusive;
+      return acquired++;
+   }
+
+   /**
+    * Releases a multiplexed channel acquired by an operation.
+    *
+    * @return the number of operations the channel is still acquired by or -1 if the channel is closed
+    */
+   synchronized int releaseShared() {
+      assert acquired > 0;
+      acquired--;
+      exclusive = false;
+
+      return closed ? -1 : acquired;
+   }
+
+   synchronized void setExclusive() {
+      assert acquired == 1;
+      exclusive = true;
    }
 
    public void release(Channel channel) {
       channelPool.release(channel, this);
    }
+
+   void responseReceived(Channel channel) {
+      channelPool.responseReceived(channel);
+   }
 }
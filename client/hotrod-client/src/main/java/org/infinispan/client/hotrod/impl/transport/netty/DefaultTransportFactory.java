@@ -10,16 +10,25 @@
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
 
 /**
- * Default implementation of the {@link TransportFactory} interface which uses epoll if available and nio otherwise.
+ * Default implementation of the {@link TransportFactory} interface which uses io_uring if available, falling back to
+ * epoll and then to nio.
  */
 public class DefaultTransportFactory implements TransportFactory {
    public Class<? extends SocketChannel> socketChannelClass() {
+      if (IOURingAvailable.USE_NATIVE_IOURING) {
+         return IOUringSocketChannel.class;
+      }
       return EPollAvailable.USE_NATIVE_EPOLL ? EpollSocketChannel.class : NioSocketChannel.class;
    }
 
    public EventLoopGroup createEventLoopGroup(int maxExecutors, ExecutorService executorService) {
+      if (IOURingAvailable.USE_NATIVE_IOURING) {
+         return new IOUringEventLoopGroup(maxExecutors, executorService);
+      }
       return EPollAvailable.USE_NATIVE_EPOLL ?
             new EpollEventLoopGroup(maxExecutors, executorService) :
             new NioEventLoopGroup(maxExecutors, executorService);
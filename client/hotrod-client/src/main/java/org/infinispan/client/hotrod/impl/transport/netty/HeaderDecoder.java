@@ -145,6 +145,8 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
                }
                operation.acceptResponse(in, status, this);
                checkpoint(State.READ_MESSAGE_ID);
+               // With multiplexed requests a channel may now have capacity for a pending request
+               ChannelRecord.of(ctx.channel()).responseReceived(ctx.channel());
                break;
             case READ_CACHE_EVENT:
                if (log.isTraceEnabled()) {
@@ -0,0 +1,33 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import static org.infinispan.client.hotrod.logging.Log.HOTROD;
+
+import io.netty.incubator.channel.uring.IOUring;
+
+// This is a separate class for better replacement within Quarkus as it doesn't support native io_uring
+final class IOURingAvailable {
+
+   private static final String USE_IOURING_PROPERTY = "infinispan.server.channel.iouring";
+   private static final boolean IS_LINUX = System.getProperty("os.name").toLowerCase().startsWith("linux");
+   private static final boolean IOURING_DISABLED = System.getProperty(USE_IOURING_PROPERTY, "true").equalsIgnoreCase("false");
+
+   // Has to be after other static variables to ensure they are initialized
+   static final boolean USE_NATIVE_IOURING = useNativeIOURing();
+
+   private static boolean useNativeIOURing() {
+      if (IOURING_DISABLED || !IS_LINUX) {
+         return false;
+      }
+      try {
+         // The io_uring transport is optional, it is only used when it has been added to the classpath
+         Class.forName("io.netty.incubator.channel.uring.IOUring", true, IOURingAvailable.class.getClassLoader());
+      } catch (ClassNotFoundException e) {
+         return false;
+      }
+      if (IOUring.isAvailable()) {
+         return true;
+      }
+      HOTROD.ioUringNotAvailable(IOUring.unavailabilityCause().toString());
+      return false;
+   }
+}
@@ -371,4 +371,8 @@ public interface Log extends BasicLogger {
    @LogMessage(level = WARN)
    @Message(value = "Failed to load and create an optional ProtoStream serialization context initializer: %s", id = 4104)
    void failedToCreatePredefinedSerializationContextInitializer(String className, @Cause Throwable throwable);
+
+   @LogMessage(level = INFO)
+   @Message(value = "Native io_uring transport not available, using Epoll or NIO instead: %s", id = 4105)
+   void ioUringNotAvailable(String cause);
 }
@@ -37,6 +37,9 @@ public abstract class BaseGetAllTest extends MultipleCacheManagersTest {
 
    abstract protected ConfigurationBuilder clusterConfig();
 
+   protected void configureClient(org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder) {
+   }
+
    @Override
    protected void createCacheManagers() throws Throwable {
       final int numServers = numberOfHotRodServers();
@@ -53,6 +56,7 @@ protected void createCacheManagers() throws Throwable {
       org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder =
             HotRodClientTestingUtil.newRemoteConfigurationBuilder();
       clientBuilder.addServers(servers);
+      configureClient(clientBuilder);
       remoteCacheManager = new RemoteCacheManager(clientBuilder.build());
       remoteCache = remoteCacheManager.getCache();
    }
@@ -0,0 +1,20 @@
+package org.infinispan.client.hotrod;
+
+import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests getting multiple entries from a distributed cache with a client that is not aware of the segment owners, so
+ * every server receives keys owned by other nodes and has to split them by owner.
+ *
+ * @since 13.0
+ */
+@Test(testName = "client.hotrod.GetAllBasicIntelligenceDistTest", groups = "functional")
+public class GetAllBasicIntelligenceDistTest extends GetAllDistTest {
+
+   @Override
+   protected void configureClient(ConfigurationBuilder clientBuilder) {
+      clientBuilder.clientIntelligence(ClientIntelligence.BASIC);
+   }
+}
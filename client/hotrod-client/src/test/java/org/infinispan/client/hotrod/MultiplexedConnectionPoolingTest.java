@@ -0,0 +1,96 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killServers;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.infinispan.test.TestingUtil.extractInterceptorChain;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.HeavyLoadConnectionPoolingTest.ConstantDelayTransportInterceptor;
+import org.infinispan.client.hotrod.configuration.ExhaustedAction;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that concurrent requests share connections when requests are multiplexed.
+ *
+ * @since 13.0
+ */
+@Test(testName = "client.hotrod.MultiplexedConnectionPoolingTest", groups = "functional")
+public class MultiplexedConnectionPoolingTest extends SingleCacheManagerTest {
+   private static final int MAX_ACTIVE = 2;
+   private static final int MAX_PENDING_REQUESTS = 10;
+
+   private HotRodServer hotRodServer;
+   private RemoteCacheManager remoteCacheManager;
+   private RemoteCache<String, String> remoteCache;
+   private ChannelFactory channelFactory;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      cacheManager = TestCacheManagerFactory.createCacheManager(hotRodCacheConfiguration());
+      cache = cacheManager.getCache();
+
+      // make sure the requests are in flight at the same time
+      extractInterceptorChain(cache).addInterceptor(new ConstantDelayTransportInterceptor(100), 0);
+
+      hotRodServer = HotRodClientTestingUtil.startHotRodServer(cacheManager);
+
+      org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder =
+            HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      clientBuilder
+            .connectionPool()
+               .multiplexed(true)
+               .maxActive(MAX_ACTIVE)
+               .maxPendingRequests(MAX_PENDING_REQUESTS)
+               .exhaustedAction(ExhaustedAction.WAIT)
+            .addServer().host("localhost").port(hotRodServer.getPort());
+
+      remoteCacheManager = new RemoteCacheManager(clientBuilder.build());
+      remoteCache = remoteCacheManager.getCache();
+
+      channelFactory = TestingUtil.extractField(remoteCacheManager, "channelFactory");
+
+      return cacheManager;
+   }
+
+   @AfterClass
+   @Override
+   protected void destroyAfterClass() {
+      super.destroyAfterClass();
+      killRemoteCacheManager(remoteCacheManager);
+      killServers(hotRodServer);
+      hotRodServer = null;
+   }
+
+   public void testConcurrentRequestsShareConnections() throws Exception {
+      // More requests than the connections can have in flight, so some have to wait for a response
+      int numRequests = 3 * MAX_ACTIVE * MAX_PENDING_REQUESTS;
+      List<CompletableFuture<String>> futures = new ArrayList<>(numRequests);
+      for (int i = 0; i < numRequests; i++) {
+         futures.add(remoteCache.putAsync("k" + i, "v" + i));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+      int connections = channelFactory.getNumActive() + channelFactory.getNumIdle();
+      assertTrue("Too many connections: " + connections, connections <= MAX_ACTIVE);
+
+      for (int i = 0; i < numRequests; i++) {
+         assertEquals("v" + i, remoteCache.get("k" + i));
+      }
+      eventuallyEquals(0, () -> channelFactory.getNumActive());
+   }
+}
@@ -14,6 +14,7 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_WAIT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_IDLE;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MULTIPLEXED;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECT_TIMEOUT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.HASH_FUNCTION_PREFIX;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.JAVA_SERIAL_ALLOWLIST;
@@ -107,6 +108,7 @@ public class ConfigurationTest extends AbstractInfinispanTest {
       OPTIONS.put("minEvictableIdleTimeMillis", c -> c.connectionPool().minEvictableIdleTime());
       OPTIONS.put(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, c -> c.connectionPool().minEvictableIdleTime());
       OPTIONS.put(CONNECTION_POOL_MAX_PENDING_REQUESTS, c -> c.connectionPool().maxPendingRequests());
+      OPTIONS.put(CONNECTION_POOL_MULTIPLEXED, c -> c.connectionPool().multiplexed());
       OPTIONS.put(CONNECT_TIMEOUT, Configuration::connectionTimeout);
       OPTIONS.put(PROTOCOL_VERSION, Configuration::version);
       OPTIONS.put(SO_TIMEOUT, Configuration::socketTimeout);
@@ -258,6 +260,7 @@ public void testWithProperties() {
       p.setProperty("timeBetweenEvictionRunsMillis", "15000");
       p.setProperty(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, "12000");
       p.setProperty(CONNECTION_POOL_MAX_PENDING_REQUESTS, "12");
+      p.setProperty(CONNECTION_POOL_MULTIPLEXED, "true");
       p.setProperty("testOnBorrow", "true");
       p.setProperty("testOnReturn", "true");
       p.setProperty("testWhileIdle", "false");
@@ -575,6 +578,7 @@ private void validateConfiguration(Configuration configuration) {
       assertEqualsConfig(12000L, "minEvictableIdleTimeMillis", configuration);
       assertEqualsConfig(12000L, CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, configuration);
       assertEqualsConfig(12, CONNECTION_POOL_MAX_PENDING_REQUESTS, configuration);
+      assertEqualsConfig(true, CONNECTION_POOL_MULTIPLEXED, configuration);
       assertEqualsConfig(100, CONNECT_TIMEOUT, configuration);
       assertEqualsConfig(100, SO_TIMEOUT, configuration);
       assertEqualsConfig(false, TCP_NO_DELAY, configuration);
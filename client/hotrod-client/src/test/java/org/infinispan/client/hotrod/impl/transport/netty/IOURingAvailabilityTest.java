@@ -0,0 +1,26 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import static org.testng.AssertJUnit.assertFalse;
+
+import java.lang.reflect.Field;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.CherryPickClassLoader;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "client.hotrod.impl.transport.netty.IOURingAvailabilityTest")
+public class IOURingAvailabilityTest extends AbstractInfinispanTest {
+   public static final String IOURING_AVAILABLE_CLASS = "org.infinispan.client.hotrod.impl.transport.netty.IOURingAvailable";
+
+   public void testIOURingNotOnClasspath() throws Exception {
+      CherryPickClassLoader classLoader = new CherryPickClassLoader(
+            new String[]{IOURING_AVAILABLE_CLASS},
+            null,
+            new String[]{"io.netty.incubator.channel.uring.IOUring"}, this.getClass().getClassLoader()
+      );
+      Class<?> clazz = Class.forName(IOURING_AVAILABLE_CLASS, true, classLoader);
+      Field field = clazz.getDeclaredField("USE_NATIVE_IOURING");
+      field.setAccessible(true);
+      assertFalse(field.getBoolean(null));
+   }
+}
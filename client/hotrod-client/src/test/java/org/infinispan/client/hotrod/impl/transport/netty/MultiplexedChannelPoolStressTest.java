@@ -0,0 +1,85 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.configuration.ExhaustedAction;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.DefaultEventExecutor;
+
+/**
+ * Tests that no pending request is lost when requests are multiplexed and channels are released concurrently with
+ * new requests. The pool has a single channel with room for a single request and no wait timeout, so a lost request
+ * would wait forever.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.impl.transport.netty.MultiplexedChannelPoolStressTest")
+public class MultiplexedChannelPoolStressTest extends AbstractInfinispanTest {
+   private static final int NUM_THREADS = 8;
+   private static final int NUM_OPERATIONS = 10_000;
+
+   public void testConcurrentAcquireAndRelease() throws Exception {
+      DefaultEventExecutor executor = new DefaultEventExecutor(getTestThreadFactory("ChannelPool"));
+      SocketAddress address = InetSocketAddress.createUnresolved("localhost", 11222);
+      AtomicInteger channelsCreated = new AtomicInteger();
+      ChannelPool[] pool = new ChannelPool[1];
+      ChannelInitializer channelInitializer = new ChannelInitializer(null, address, null, null, null) {
+         @Override
+         CompletableFuture<Channel> createChannel() {
+            channelsCreated.incrementAndGet();
+            EmbeddedChannel channel = new EmbeddedChannel(new HeaderDecoder(null, null, null, null));
+            channel.attr(ChannelRecord.KEY).set(new ChannelRecord(address, pool[0]));
+            return CompletableFuture.completedFuture(channel);
+         }
+      };
+      pool[0] = new ChannelPool(executor, address, channelInitializer, ExhaustedAction.WAIT, 0, 1, 1, true);
+      try {
+         AtomicInteger completed = new AtomicInteger();
+         List<Future<Void>> futures = new ArrayList<>(NUM_THREADS);
+         for (int i = 0; i < NUM_THREADS; i++) {
+            futures.add(fork(() -> {
+               for (int j = 0; j < NUM_OPERATIONS; j++) {
+                  CompletableFuture<Channel> acquired = new CompletableFuture<>();
+                  pool[0].acquire(new ChannelOperation() {
+                     @Override
+                     public void invoke(Channel channel) {
+                        acquired.complete(channel);
+                     }
+
+                     @Override
+                     public void cancel(SocketAddress address, Throwable cause) {
+                        acquired.completeExceptionally(cause);
+                     }
+                  });
+                  Channel channel = acquired.get(10, TimeUnit.SECONDS);
+                  completed.incrementAndGet();
+                  pool[0].release(channel, ChannelRecord.of(channel));
+               }
+               return null;
+            }));
+         }
+         for (Future<Void> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+         }
+         assertEquals(NUM_THREADS * NUM_OPERATIONS, completed.get());
+         assertEquals(1, channelsCreated.get());
+         assertEquals(0, pool[0].getActive());
+      } finally {
+         pool[0].close();
+         executor.shutdownGracefully();
+      }
+   }
+}
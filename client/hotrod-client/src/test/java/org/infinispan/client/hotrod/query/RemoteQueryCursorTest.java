@@ -0,0 +1,193 @@
+package org.infinispan.client.hotrod.query;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killServers;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.Search;
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.query.testdomain.protobuf.UserPB;
+import org.infinispan.client.hotrod.query.testdomain.protobuf.marshallers.TestDomainSCI;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.commons.test.Exceptions;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.configuration.internal.PrivateGlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.dsl.embedded.testdomain.User;
+import org.infinispan.query.remote.impl.RemoteQueryManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the iterator of a remote query without pagination reads the results in batches through a cursor kept by
+ * the server, and that the cursor is released when the iteration completes, is closed, or is idle for too long.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.query.RemoteQueryCursorTest")
+public class RemoteQueryCursorTest extends SingleCacheManagerTest {
+
+   private static final String TEST_CACHE_NAME = "userCache";
+   private static final int BATCH_SIZE = 10;
+   private static final int NUM_USERS = 35;
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   private HotRodServer hotRodServer;
+   private RemoteCacheManager remoteCacheManager;
+   private RemoteCache<Integer, User> remoteCache;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      GlobalConfigurationBuilder gcb = new GlobalConfigurationBuilder().nonClusteredDefault();
+      gcb.addModule(PrivateGlobalConfigurationBuilder.class).serverMode(true);
+      gcb.serialization().addContextInitializer(TestDomainSCI.INSTANCE);
+
+      cacheManager = TestCacheManagerFactory.createCacheManager(gcb, new ConfigurationBuilder());
+      // The cursors are reaped with the time service of the cache manager
+      TestingUtil.replaceComponent(cacheManager, TimeService.class, timeService, true);
+      cacheManager.defineConfiguration(TEST_CACHE_NAME, new ConfigurationBuilder().build());
+      cache = cacheManager.getCache(TEST_CACHE_NAME);
+
+      hotRodServer = HotRodClientTestingUtil.startHotRodServer(cacheManager);
+
+      org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder = HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      clientBuilder.addServer().host("127.0.0.1").port(hotRodServer.getPort()).addContextInitializer(TestDomainSCI.INSTANCE);
+      clientBuilder.batchSize(BATCH_SIZE);
+      remoteCacheManager = new RemoteCacheManager(clientBuilder.build());
+
+      remoteCache = remoteCacheManager.getCache(TEST_CACHE_NAME);
+      return cacheManager;
+   }
+
+   @AfterClass(alwaysRun = true)
+   public void release() {
+      killRemoteCacheManager(remoteCacheManager);
+      remoteCacheManager = null;
+      killServers(hotRodServer);
+      hotRodServer = null;
+   }
+
+   @BeforeClass(alwaysRun = true)
+   protected void populateCache() {
+      for (int i = 0; i < NUM_USERS; i++) {
+         User user = new UserPB();
+         user.setId(i);
+         user.setName("name" + i);
+         user.setSurname("surname" + i);
+         user.setGender(i % 2 == 0 ? User.Gender.MALE : User.Gender.FEMALE);
+         remoteCache.put(i, user);
+      }
+   }
+
+   @Override
+   protected void clearContent() {
+      // Keep the users for all the tests
+   }
+
+   private int activeQueryCursors() {
+      return TestingUtil.extractComponent(cache, RemoteQueryManager.class).activeQueryCursors();
+   }
+
+   public void testIterateInBatches() {
+      Query<User> query = Search.getQueryFactory(remoteCache).create("FROM sample_bank_account.User");
+      Set<Integer> ids = new HashSet<>();
+      try (CloseableIterator<User> iterator = query.iterator()) {
+         assertTrue(iterator.hasNext());
+         // Only the first batch was read, the server keeps the rest in a cursor
+         assertEquals(1, activeQueryCursors());
+         iterator.forEachRemaining(user -> assertTrue(ids.add(user.getId())));
+      }
+      assertEquals(NUM_USERS, ids.size());
+      // The cursor is removed when the last batch is read
+      assertEquals(0, activeQueryCursors());
+   }
+
+   public void testIterateProjectionsInBatches() {
+      Query<Object[]> query = Search.getQueryFactory(remoteCache)
+            .create("SELECT u.id, u.name FROM sample_bank_account.User u WHERE u.gender = 'MALE'");
+      Set<Integer> ids = new HashSet<>();
+      try (CloseableIterator<Object[]> iterator = query.iterator()) {
+         iterator.forEachRemaining(row -> {
+            assertEquals("name" + row[0], row[1]);
+            assertTrue(ids.add((Integer) row[0]));
+         });
+      }
+      assertEquals((NUM_USERS + 1) / 2, ids.size());
+      assertEquals(0, activeQueryCursors());
+   }
+
+   public void testFewerResultsThanBatchSize() {
+      Query<User> query = Search.getQueryFactory(remoteCache).create("FROM sample_bank_account.User u WHERE u.id < 3");
+      int count = 0;
+      try (CloseableIterator<User> iterator = query.iterator()) {
+         assertTrue(iterator.hasNext());
+         // All the results fit in the first batch, so no cursor is kept
+         assertEquals(0, activeQueryCursors());
+         while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+         }
+      }
+      assertEquals(3, count);
+   }
+
+   public void testCloseBeforeExhausted() {
+      Query<User> query = Search.getQueryFactory(remoteCache).create("FROM sample_bank_account.User");
+      try (CloseableIterator<User> iterator = query.iterator()) {
+         for (int i = 0; i < BATCH_SIZE + 1; i++) {
+            iterator.next();
+         }
+         assertEquals(1, activeQueryCursors());
+      }
+      assertEquals(0, activeQueryCursors());
+   }
+
+   public void testPaginatedQueryDoesNotUseCursor() {
+      Query<User> query = Search.getQueryFactory(remoteCache).create("FROM sample_bank_account.User")
+            .maxResults(NUM_USERS);
+      int count = 0;
+      try (CloseableIterator<User> iterator = query.iterator()) {
+         assertEquals(0, activeQueryCursors());
+         while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+         }
+      }
+      assertEquals(NUM_USERS, count);
+   }
+
+   public void testIdleCursorExpires() {
+      Query<User> query = Search.getQueryFactory(remoteCache).create("FROM sample_bank_account.User");
+      try (CloseableIterator<User> iterator = query.iterator()) {
+         for (int i = 0; i < BATCH_SIZE; i++) {
+            iterator.next();
+         }
+         assertEquals(1, activeQueryCursors());
+
+         // Past the idle timeout of 5 minutes
+         timeService.advance(TimeUnit.MINUTES.toMillis(6));
+         assertEquals(0, activeQueryCursors());
+
+         Exceptions.expectException(HotRodClientException.class, "(?s).*ISPN028029.*", iterator::next);
+      }
+      assertEquals(0, activeQueryCursors());
+   }
+}
@@ -279,6 +279,30 @@ default CompletionStage<RestResponse> query(String query) {
     */
    CompletionStage<RestResponse> query(String query, int maxResults, int offset);
 
+   /**
+    * Executes an Ickle-query and streams all its results in a single chunked response
+    *
+    * @param query the ickle query
+    */
+   CompletionStage<RestResponse> queryStream(String query);
+
+   /**
+    * Executes an Ickle-query and returns its first results. If there are more, the response contains the id of a cursor
+    * to be used with {@link #queryCursor(String, int)}
+    *
+    * @param query     the ickle query
+    * @param batchSize the number of results to return
+    */
+   CompletionStage<RestResponse> queryWithCursor(String query, int batchSize);
+
+   /**
+    * Returns the next results of a query cursor
+    *
+    * @param cursorId  the id of the cursor, returned by the previous response
+    * @param batchSize the number of results to return, or 0 to close the cursor
+    */
+   CompletionStage<RestResponse> queryCursor(String cursorId, int batchSize);
+
    /**
     * @return the status of all backup sites
     */
@@ -331,6 +331,27 @@ public CompletionStage<RestResponse> query(String query, int maxResults, int off
       return client.execute(builder);
    }
 
+   @Override
+   public CompletionStage<RestResponse> queryStream(String query) {
+      Request.Builder builder = new Request.Builder();
+      builder.url(cacheUrl + "?action=search&stream=true&query=" + sanitize(query)).get();
+      return client.execute(builder);
+   }
+
+   @Override
+   public CompletionStage<RestResponse> queryWithCursor(String query, int batchSize) {
+      Request.Builder builder = new Request.Builder();
+      builder.url(String.format("%s?action=search&query=%s&batch=%d", cacheUrl, sanitize(query), batchSize)).get();
+      return client.execute(builder);
+   }
+
+   @Override
+   public CompletionStage<RestResponse> queryCursor(String cursorId, int batchSize) {
+      Request.Builder builder = new Request.Builder();
+      builder.url(String.format("%s?action=search&cursor=%s&batch=%d", cacheUrl, sanitize(cursorId), batchSize)).get();
+      return client.execute(builder);
+   }
+
    @Override
    public CompletionStage<RestResponse> xsiteBackups() {
       Request.Builder builder = new Request.Builder();
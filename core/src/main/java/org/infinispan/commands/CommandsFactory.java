@@ -56,6 +56,7 @@
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
 import org.infinispan.commands.statetransfer.StateResponseCommand;
 import org.infinispan.commands.statetransfer.StateTransferCancelCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetDigestsCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
 import org.infinispan.commands.statetransfer.StateTransferStartCommand;
@@ -446,7 +447,12 @@ default SingleRpcCommand buildSingleRpcCommand(ReplicableCommand call) {
 
    LockControlCommand buildLockControlCommand(Collection<?> keys, long flagsBitSet);
 
-   ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments);
+   /**
+    * Builds a {@link ConflictResolutionStartCommand} that only transfers the keys in the given digest leaves.
+    * @param leafMask the mask of the {@link org.infinispan.container.impl.SegmentDigests} leaves to transfer, or
+    *                 {@link org.infinispan.container.impl.SegmentDigests#ALL_LEAVES}
+    */
+   ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments, long leafMask);
 
    StateTransferCancelCommand buildStateTransferCancelCommand(int topologyId, IntSet segments);
 
@@ -454,6 +460,8 @@ default SingleRpcCommand buildSingleRpcCommand(ReplicableCommand call) {
 
    StateTransferGetTransactionsCommand buildStateTransferGetTransactionsCommand(int topologyId, IntSet segments);
 
+   StateTransferGetDigestsCommand buildStateTransferGetDigestsCommand(int topologyId, IntSet segments);
+
    StateTransferStartCommand buildStateTransferStartCommand(int topologyId, IntSet segments);
 
    ScatteredStateGetKeysCommand buildScatteredStateGetKeysCommand(int topologyId, IntSet segments);
@@ -57,6 +57,7 @@
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
 import org.infinispan.commands.statetransfer.StateResponseCommand;
 import org.infinispan.commands.statetransfer.StateTransferCancelCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetDigestsCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
 import org.infinispan.commands.statetransfer.StateTransferStartCommand;
@@ -349,8 +350,8 @@ public LockControlCommand buildLockControlCommand(Collection<?> keys, long flags
    }
 
    @Override
-   public ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments) {
-      return new ConflictResolutionStartCommand(cacheName, topologyId, segments);
+   public ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments, long leafMask) {
+      return new ConflictResolutionStartCommand(cacheName, topologyId, segments, leafMask);
    }
 
    @Override
@@ -378,6 +379,11 @@ public StateTransferGetTransactionsCommand buildStateTransferGetTransactionsComm
       return new StateTransferGetTransactionsCommand(cacheName, topologyId, segments);
    }
 
+   @Override
+   public StateTransferGetDigestsCommand buildStateTransferGetDigestsCommand(int topologyId, IntSet segments) {
+      return new StateTransferGetDigestsCommand(cacheName, topologyId, segments);
+   }
+
    @Override
    public StateTransferStartCommand buildStateTransferStartCommand(int topologyId, IntSet segments) {
       return new StateTransferStartCommand(cacheName, topologyId, segments);
@@ -31,6 +31,7 @@
 import org.infinispan.commands.remote.CheckTransactionRpcCommand;
 import org.infinispan.commands.remote.ClusteredGetAllCommand;
 import org.infinispan.commands.remote.ClusteredGetCommand;
+import org.infinispan.commands.remote.CoalescedCommand;
 import org.infinispan.commands.remote.GetKeysInGroupCommand;
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
@@ -44,6 +45,7 @@
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
 import org.infinispan.commands.statetransfer.StateResponseCommand;
 import org.infinispan.commands.statetransfer.StateTransferCancelCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetDigestsCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
 import org.infinispan.commands.statetransfer.StateTransferStartCommand;
@@ -231,6 +233,9 @@ public ReplicableCommand fromStream(byte id, byte type) {
             case HeartBeatCommand.COMMAND_ID:
                command = HeartBeatCommand.INSTANCE;
                break;
+            case CoalescedCommand.COMMAND_ID:
+               command = new CoalescedCommand();
+               break;
             case CacheJoinCommand.COMMAND_ID:
                command = new CacheJoinCommand();
                break;
@@ -346,6 +351,9 @@ public CacheRpcCommand fromStream(byte id, byte type, ByteString cacheName) {
             case StateTransferGetTransactionsCommand.COMMAND_ID:
                command = new StateTransferGetTransactionsCommand(cacheName);
                break;
+            case StateTransferGetDigestsCommand.COMMAND_ID:
+               command = new StateTransferGetDigestsCommand(cacheName);
+               break;
             case StateResponseCommand.COMMAND_ID:
                command = new StateResponseCommand(cacheName);
                break;
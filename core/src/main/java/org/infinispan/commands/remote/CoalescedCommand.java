@@ -0,0 +1,63 @@
+package org.infinispan.commands.remote;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.marshall.MarshallUtil;
+
+/**
+ * Several asynchronous commands bound for the same node, sent in a single message by the transport.
+ * <p>
+ * The receiver handles the commands one by one, in the order they were submitted to the transport, as if they were
+ * received in separate messages.
+ *
+ * @since 13.0
+ */
+public class CoalescedCommand implements ReplicableCommand {
+
+   public static final byte COMMAND_ID = 37;
+
+   private List<ReplicableCommand> commands;
+
+   public CoalescedCommand() {
+   }
+
+   public CoalescedCommand(List<ReplicableCommand> commands) {
+      this.commands = commands;
+   }
+
+   public List<ReplicableCommand> getCommands() {
+      return commands;
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return false;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      MarshallUtil.marshallCollection(commands, output);
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      commands = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+   }
+
+   @Override
+   public String toString() {
+      return "CoalescedCommand{" +
+            "commands=" + commands +
+            '}';
+   }
+}
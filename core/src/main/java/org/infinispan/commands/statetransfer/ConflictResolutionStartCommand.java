@@ -1,8 +1,12 @@
 package org.infinispan.commands.statetransfer;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.concurrent.CompletionStage;
 
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.container.impl.SegmentDigests;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.statetransfer.StateProvider;
 import org.infinispan.util.ByteString;
@@ -18,6 +22,8 @@ public class ConflictResolutionStartCommand extends AbstractStateTransferCommand
 
    public static final byte COMMAND_ID = 112;
 
+   private long leafMask = SegmentDigests.ALL_LEAVES;
+
    // For command id uniqueness test only
    public ConflictResolutionStartCommand() {
       this(null);
@@ -28,21 +34,43 @@ public ConflictResolutionStartCommand(ByteString cacheName) {
    }
 
    public ConflictResolutionStartCommand(ByteString cacheName, int topologyId, IntSet segments) {
+      this(cacheName, topologyId, segments, SegmentDigests.ALL_LEAVES);
+   }
+
+   public ConflictResolutionStartCommand(ByteString cacheName, int topologyId, IntSet segments, long leafMask) {
       super(COMMAND_ID, cacheName, topologyId, segments);
+      this.leafMask = leafMask;
    }
 
    @Override
    public CompletionStage<?> invokeAsync(ComponentRegistry registry) throws Throwable {
       StateProvider stateProvider = registry.getStateTransferManager().getStateProvider();
-      stateProvider.startOutboundTransfer(origin, topologyId, segments, false);
+      stateProvider.startOutboundTransfer(origin, topologyId, segments, false, leafMask);
       return CompletableFutures.completedNull();
    }
 
+   public long getLeafMask() {
+      return leafMask;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      super.writeTo(output);
+      output.writeLong(leafMask);
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      super.readFrom(input);
+      leafMask = input.readLong();
+   }
+
    @Override
    public String toString() {
       return "ConflictResolutionStartCommand{" +
             "topologyId=" + topologyId +
             ", segments=" + segments +
+            ", leafMask=" + Long.toHexString(leafMask) +
             ", cacheName=" + cacheName +
             '}';
    }
@@ -0,0 +1,48 @@
+package org.infinispan.commands.statetransfer;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.statetransfer.StateProvider;
+import org.infinispan.util.ByteString;
+
+/**
+ * Get the digests of the entries in the specified segments.
+ *
+ * @since 13.0
+ */
+public class StateTransferGetDigestsCommand extends AbstractStateTransferCommand {
+
+   public static final byte COMMAND_ID = 113;
+
+   // For command id uniqueness test only
+   public StateTransferGetDigestsCommand() {
+      this(null);
+   }
+
+   public StateTransferGetDigestsCommand(ByteString cacheName) {
+      super(COMMAND_ID, cacheName);
+   }
+
+   public StateTransferGetDigestsCommand(ByteString cacheName, int topologyId, IntSet segments) {
+      super(COMMAND_ID, cacheName, topologyId, segments);
+   }
+
+   @Override
+   public CompletionStage<Map<Integer, long[]>> invokeAsync(ComponentRegistry registry) throws Throwable {
+      StateProvider stateProvider = registry.getStateTransferManager().getStateProvider();
+      return CompletableFuture.completedFuture(stateProvider.getSegmentDigests(segments));
+   }
+
+   @Override
+   public String toString() {
+      return "StateTransferGetDigestsCommand{" +
+            "topologyId=" + topologyId +
+            ", segments=" + segments +
+            ", cacheName=" + cacheName +
+            '}';
+   }
+}
@@ -23,6 +23,11 @@ public IndexWriterConfigurationBuilder writer() {
       return indexingBuilder.writer();
    }
 
+   @Override
+   public MassIndexerConfigurationBuilder massIndexer() {
+      return indexingBuilder.massIndexer();
+   }
+
    @Override
    public IndexingConfigurationBuilder addIndexedEntity(String entity) {
       return indexingBuilder.addIndexedEntities(entity);
@@ -19,6 +19,8 @@ public class AbstractStoreConfiguration implements StoreConfiguration, Configura
    public static final AttributeDefinition<Boolean> SHARED = AttributeDefinition.builder("shared", false).immutable().build();
    public static final AttributeDefinition<Boolean> TRANSACTIONAL = AttributeDefinition.builder("transactional", false).immutable().build();
    public static final AttributeDefinition<Integer> MAX_BATCH_SIZE = AttributeDefinition.builder("maxBatchSize", 100).immutable().build();
+   public static final AttributeDefinition<Integer> MAX_CONCURRENT_OPERATIONS = AttributeDefinition.builder("maxConcurrentOperations", 0).immutable().build();
+   public static final AttributeDefinition<Boolean> VIRTUAL_THREADS = AttributeDefinition.builder("virtualThreads", false).immutable().build();
    public static final AttributeDefinition<Boolean> SEGMENTED = AttributeDefinition.builder("segmented", true).immutable().build();
    public static final AttributeDefinition<TypedProperties> PROPERTIES = AttributeDefinition.builder("properties", null, TypedProperties.class)
          .initializer(() -> new TypedProperties()).autoPersist(false).immutable().build();
@@ -27,7 +29,7 @@ public class AbstractStoreConfiguration implements StoreConfiguration, Configura
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(AbstractStoreConfiguration.class, FETCH_PERSISTENT_STATE, PURGE_ON_STARTUP,
-            IGNORE_MODIFICATIONS, WRITE_ONLY, PRELOAD, SHARED, TRANSACTIONAL, MAX_BATCH_SIZE, SEGMENTED, PROPERTIES);
+            IGNORE_MODIFICATIONS, WRITE_ONLY, PRELOAD, SHARED, TRANSACTIONAL, MAX_BATCH_SIZE, MAX_CONCURRENT_OPERATIONS, VIRTUAL_THREADS, SEGMENTED, PROPERTIES);
    }
 
    private final Attribute<Boolean> fetchPersistentState;
@@ -38,6 +40,8 @@ public static AttributeSet attributeDefinitionSet() {
    private final Attribute<Boolean> shared;
    private final Attribute<Boolean> transactional;
    private final Attribute<Integer> maxBatchSize;
+   private final Attribute<Integer> maxConcurrentOperations;
+   private final Attribute<Boolean> virtualThreads;
    private final Attribute<Boolean> segmented;
    private final Attribute<TypedProperties> properties;
 
@@ -60,6 +64,8 @@ public AbstractStoreConfiguration(AttributeSet attributes, AsyncStoreConfigurati
       this.shared = attributes.attribute(SHARED);
       this.transactional = attributes.attribute(TRANSACTIONAL);
       this.maxBatchSize = attributes.attribute(MAX_BATCH_SIZE);
+      this.maxConcurrentOperations = attributes.attribute(MAX_CONCURRENT_OPERATIONS);
+      this.virtualThreads = attributes.attribute(VIRTUAL_THREADS);
       this.segmented = attributes.attribute(SEGMENTED);
       this.properties = attributes.attribute(PROPERTIES);
       this.subElements.add(async);
@@ -97,6 +103,16 @@ public int maxBatchSize() {
       return maxBatchSize.get();
    }
 
+   @Override
+   public int maxConcurrentOperations() {
+      return maxConcurrentOperations.get();
+   }
+
+   @Override
+   public boolean virtualThreads() {
+      return virtualThreads.get();
+   }
+
    @Override
    public boolean segmented() {
       return segmented.get();
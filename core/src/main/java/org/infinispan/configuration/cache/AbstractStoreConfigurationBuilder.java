@@ -3,12 +3,14 @@
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.FETCH_PERSISTENT_STATE;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.IGNORE_MODIFICATIONS;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.MAX_BATCH_SIZE;
+import static org.infinispan.configuration.cache.AbstractStoreConfiguration.MAX_CONCURRENT_OPERATIONS;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.PRELOAD;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.PROPERTIES;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.PURGE_ON_STARTUP;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.SEGMENTED;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.SHARED;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.TRANSACTIONAL;
+import static org.infinispan.configuration.cache.AbstractStoreConfiguration.VIRTUAL_THREADS;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.WRITE_ONLY;
 import static org.infinispan.util.logging.Log.CONFIG;
 
@@ -157,6 +159,18 @@ public S maxBatchSize(int maxBatchSize) {
       return self();
    }
 
+   @Override
+   public S maxConcurrentOperations(int maxConcurrentOperations) {
+      attributes.attribute(MAX_CONCURRENT_OPERATIONS).set(maxConcurrentOperations);
+      return self();
+   }
+
+   @Override
+   public S virtualThreads(boolean virtualThreads) {
+      attributes.attribute(VIRTUAL_THREADS).set(virtualThreads);
+      return self();
+   }
+
    @Override
    public S segmented(boolean b) {
       attributes.attribute(SEGMENTED).set(b);
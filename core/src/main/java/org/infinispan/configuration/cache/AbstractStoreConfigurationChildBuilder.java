@@ -60,6 +60,16 @@ public S maxBatchSize(int maxBatchSize) {
       return (S)builder.maxBatchSize(maxBatchSize);
    }
 
+   @Override
+   public S maxConcurrentOperations(int maxConcurrentOperations) {
+      return (S)builder.maxConcurrentOperations(maxConcurrentOperations);
+   }
+
+   @Override
+   public S virtualThreads(boolean virtualThreads) {
+      return (S)builder.virtualThreads(virtualThreads);
+   }
+
    @Override
    public S segmented(boolean b) {
       return (S)builder.segmented(b);
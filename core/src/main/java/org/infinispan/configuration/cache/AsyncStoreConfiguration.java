@@ -22,9 +22,10 @@ public class AsyncStoreConfiguration implements ConfigurationInfo {
    @Deprecated
    public static final AttributeDefinition<Integer> THREAD_POOL_SIZE = AttributeDefinition.builder("threadPoolSize", 1).immutable().build();
    public static final AttributeDefinition<Boolean> FAIL_SILENTLY = AttributeDefinition.builder("failSilently", false).immutable().build();
+   public static final AttributeDefinition<Integer> CONCURRENT_BATCHES = AttributeDefinition.builder("concurrentBatches", 1).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, THREAD_POOL_SIZE, FAIL_SILENTLY);
+      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, THREAD_POOL_SIZE, FAIL_SILENTLY, CONCURRENT_BATCHES);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(WRITE_BEHIND.getLocalName());
@@ -33,6 +34,7 @@ static AttributeSet attributeDefinitionSet() {
    private final Attribute<Integer> modificationQueueSize;
    private final Attribute<Integer> threadPoolSize;
    private final Attribute<Boolean> failSilently;
+   private final Attribute<Integer> concurrentBatches;
 
    private final AttributeSet attributes;
 
@@ -42,6 +44,7 @@ static AttributeSet attributeDefinitionSet() {
       this.modificationQueueSize = attributes.attribute(MODIFICATION_QUEUE_SIZE);
       this.threadPoolSize = attributes.attribute(THREAD_POOL_SIZE);
       this.failSilently = attributes.attribute(FAIL_SILENTLY);
+      this.concurrentBatches = attributes.attribute(CONCURRENT_BATCHES);
    }
 
    @Override
@@ -79,6 +82,15 @@ public boolean failSilently() {
       return failSilently.get();
    }
 
+   /**
+    * The number of batches of modifications that can be written to the underlying store concurrently. The
+    * modifications are partitioned by segment, or by key if the store is not segmented, so that the modifications of
+    * a key are always written in order.
+    */
+   public int concurrentBatches() {
+      return concurrentBatches.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
@@ -1,9 +1,11 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.AsyncStoreConfiguration.CONCURRENT_BATCHES;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.ENABLED;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.FAIL_SILENTLY;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.MODIFICATION_QUEUE_SIZE;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.THREAD_POOL_SIZE;
+import static org.infinispan.util.logging.Log.CONFIG;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
@@ -92,9 +94,23 @@ public AsyncStoreConfigurationBuilder<S> failSilently(boolean failSilently) {
       return this;
    }
 
+   /**
+    * Sets the number of batches of modifications that can be written to the underlying store concurrently. The
+    * modifications are partitioned by segment, or by key if the store is not segmented, so that the modifications of
+    * a key are always written in order and coalesced in the same batch. Defaults to 1.
+    */
+   public AsyncStoreConfigurationBuilder<S> concurrentBatches(int concurrentBatches) {
+      attributes.attribute(CONCURRENT_BATCHES).set(concurrentBatches);
+      return this;
+   }
+
    @Override
    public
    void validate() {
+      int concurrentBatches = attributes.attribute(CONCURRENT_BATCHES).get();
+      if (concurrentBatches <= 0) {
+         throw CONFIG.invalidConcurrentBatches(concurrentBatches);
+      }
    }
 
    @Override
@@ -58,10 +58,12 @@ public Object readAttributeValue(String enclosing, AttributeDefinition attribute
    public static final AttributeDefinition<Integer> INVALIDATION_BATCH_SIZE = AttributeDefinition.builder("invalidationBatchSize",  128).immutable().build();
    public static final AttributeDefinition<BiasAcquisition> BIAS_ACQUISITION = AttributeDefinition.builder("biasAcquisition", BiasAcquisition.ON_WRITE).immutable().build();
    public static final AttributeDefinition<Long> BIAS_LIFESPAN = AttributeDefinition.builder("biasLifespan", TimeUnit.MINUTES.toMillis(5)).immutable().build();
+   public static final AttributeDefinition<Boolean> INBOUND_SEGMENT_QUEUES = AttributeDefinition.builder("inboundSegmentQueues", false).immutable().build();
+   public static final AttributeDefinition<Boolean> COLLAPSE_REMOTE_GETS = AttributeDefinition.builder("collapseRemoteGets", false).immutable().build();
    private final List<ConfigurationInfo> elements;
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, INVALIDATION_BATCH_SIZE, BIAS_ACQUISITION, BIAS_LIFESPAN);
+      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, INVALIDATION_BATCH_SIZE, BIAS_ACQUISITION, BIAS_LIFESPAN, INBOUND_SEGMENT_QUEUES, COLLAPSE_REMOTE_GETS);
    }
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(CLUSTERING.getLocalName(), false);
@@ -123,6 +125,22 @@ public String cacheModeString() {
       return cacheMode() == null ? "none" : cacheMode().toString();
    }
 
+   /**
+    * For non-transactional distributed caches, whether the backup writes received from the primary owners are queued
+    * and applied in one queue per segment, instead of a queue shared by all the segments.
+    */
+   public boolean inboundSegmentQueues() {
+      return attributes.attribute(INBOUND_SEGMENT_QUEUES).get();
+   }
+
+   /**
+    * For non-transactional distributed and scattered caches, whether concurrent reads of the same key from this node
+    * share a single remote get.
+    */
+   public boolean collapseRemoteGets() {
+      return attributes.attribute(COLLAPSE_REMOTE_GETS).get();
+   }
+
    /**
     * For scattered cache, the threshold after which batched invalidations are sent
     */
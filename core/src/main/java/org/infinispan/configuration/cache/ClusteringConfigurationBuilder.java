@@ -3,6 +3,8 @@
 import static org.infinispan.configuration.cache.ClusteringConfiguration.BIAS_ACQUISITION;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.BIAS_LIFESPAN;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.CACHE_MODE;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.COLLAPSE_REMOTE_GETS;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.INBOUND_SEGMENT_QUEUES;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.INVALIDATION_BATCH_SIZE;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.REMOTE_TIMEOUT;
 import static org.infinispan.util.logging.Log.CONFIG;
@@ -86,6 +88,28 @@ public ClusteringConfigurationBuilder remoteTimeout(long l, TimeUnit unit) {
       return remoteTimeout(unit.toMillis(l));
    }
 
+   /**
+    * For non-transactional distributed caches, queues and applies the backup writes received from the primary owners
+    * in one queue per segment. A backup write then only waits for the previous writes in its own segment, and applying
+    * a write only re-checks the pending writes of the same segment. Defaults to {@code false}: all the segments share
+    * a single queue.
+    */
+   public ClusteringConfigurationBuilder inboundSegmentQueues(boolean inboundSegmentQueues) {
+      attributes.attribute(INBOUND_SEGMENT_QUEUES).set(inboundSegmentQueues);
+      return this;
+   }
+
+   /**
+    * For non-transactional distributed and scattered caches, lets concurrent reads of the same key from this node
+    * share a single remote get, when they are in the same topology and have the same flags. A read can then return a
+    * value that was read by a remote get sent before it started, but the writes from this node are always visible to
+    * the reads that start after the write completed. Defaults to {@code false}: every read sends its own remote get.
+    */
+   public ClusteringConfigurationBuilder collapseRemoteGets(boolean collapseRemoteGets) {
+      attributes.attribute(COLLAPSE_REMOTE_GETS).set(collapseRemoteGets);
+      return this;
+   }
+
    /**
     * For scattered cache, the threshold after which batched invalidations are sent
     */
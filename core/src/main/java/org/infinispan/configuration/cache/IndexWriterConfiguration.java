@@ -30,12 +30,17 @@ public class IndexWriterConfiguration implements ConfigurationInfo {
          AttributeDefinition.builder("max-buffered-entries", null, Integer.class).immutable().build();
    public static final AttributeDefinition<Boolean> INDEX_LOW_LEVEL_TRACE =
          AttributeDefinition.builder("low-level-trace", false, Boolean.class).immutable().build();
+   public static final AttributeDefinition<Boolean> INDEX_ASYNC =
+         AttributeDefinition.builder("async", false, Boolean.class).immutable().build();
+   public static final AttributeDefinition<Integer> INDEX_MAX_LAG =
+         AttributeDefinition.builder("max-lag", 1000, Integer.class).immutable().build();
 
    private final List<ConfigurationInfo> subElements;
 
    static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(IndexWriterConfiguration.class, INDEX_THREAD_POOL_SIZE, INDEX_QUEUE_COUNT, INDEX_QUEUE_SIZE,
-            INDEX_COMMIT_INTERVAL, INDEX_RAM_BUFFER_SIZE, INDEX_MAX_BUFFERED_ENTRIES, INDEX_LOW_LEVEL_TRACE);
+            INDEX_COMMIT_INTERVAL, INDEX_RAM_BUFFER_SIZE, INDEX_MAX_BUFFERED_ENTRIES, INDEX_LOW_LEVEL_TRACE, INDEX_ASYNC,
+            INDEX_MAX_LAG);
    }
 
    static final ElementDefinition<IndexWriterConfiguration> ELEMENT_DEFINITION =
@@ -98,6 +103,23 @@ public Boolean isLowLevelTrace() {
       return attributes.attribute(INDEX_LOW_LEVEL_TRACE).get();
    }
 
+   /**
+    * @return true if the index changes are applied in the background, after the write operations complete
+    * @since 13.0
+    */
+   public boolean isAsync() {
+      return attributes.attribute(INDEX_ASYNC).get();
+   }
+
+   /**
+    * @return the maximum time, in milliseconds, that asynchronous index changes can wait before write operations
+    * start waiting for them
+    * @since 13.0
+    */
+   public int getMaxLag() {
+      return attributes.attribute(INDEX_MAX_LAG).get();
+   }
+
    @Override
    public boolean equals(Object o) {
       if (this == o) return true;
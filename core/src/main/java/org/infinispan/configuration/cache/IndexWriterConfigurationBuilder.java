@@ -1,12 +1,15 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_ASYNC;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_COMMIT_INTERVAL;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_LOW_LEVEL_TRACE;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_MAX_BUFFERED_ENTRIES;
+import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_MAX_LAG;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_QUEUE_COUNT;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_QUEUE_SIZE;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_RAM_BUFFER_SIZE;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_THREAD_POOL_SIZE;
+import static org.infinispan.util.logging.Log.CONFIG;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -34,6 +37,8 @@ public class IndexWriterConfigurationBuilder extends AbstractIndexingConfigurati
    private final Attribute<Integer> ramBufferSize;
    private final Attribute<Integer> maxBufferedEntries;
    private final Attribute<Boolean> lowLevelTrace;
+   private final Attribute<Boolean> async;
+   private final Attribute<Integer> maxLag;
    private final List<ConfigurationBuilderInfo> subElements;
 
    IndexWriterConfigurationBuilder(IndexingConfigurationBuilder builder) {
@@ -46,6 +51,8 @@ public class IndexWriterConfigurationBuilder extends AbstractIndexingConfigurati
       this.ramBufferSize = attributes.attribute(INDEX_RAM_BUFFER_SIZE);
       this.maxBufferedEntries = attributes.attribute(INDEX_MAX_BUFFERED_ENTRIES);
       this.lowLevelTrace = attributes.attribute(INDEX_LOW_LEVEL_TRACE);
+      this.async = attributes.attribute(INDEX_ASYNC);
+      this.maxLag = attributes.attribute(INDEX_MAX_LAG);
       this.indexMergeConfigurationBuilder = new IndexMergeConfigurationBuilder(builder);
       this.subElements = Collections.singletonList(indexMergeConfigurationBuilder);
    }
@@ -94,6 +101,28 @@ public IndexWriterConfigurationBuilder setLowLevelTrace(boolean value) {
       return this;
    }
 
+   /**
+    * Applies the index changes in the background, so that write operations do not wait for them. Queries might not see
+    * the most recent writes until the changes are applied and the index is refreshed.
+    *
+    * @since 13.0
+    */
+   public IndexWriterConfigurationBuilder async(boolean value) {
+      async.set(value);
+      return this;
+   }
+
+   /**
+    * The maximum time, in milliseconds, that asynchronous index changes can wait to be applied. When it is exceeded,
+    * write operations wait for their index changes until the index catches up.
+    *
+    * @since 13.0
+    */
+   public IndexWriterConfigurationBuilder maxLag(int value) {
+      maxLag.set(value);
+      return this;
+   }
+
    @Override
    public ElementDefinition<IndexWriterConfiguration> getElementDefinition() {
       return IndexWriterConfiguration.ELEMENT_DEFINITION;
@@ -126,6 +155,9 @@ public String toString() {
 
    @Override
    public void validate() {
+      if (maxLag.get() <= 0) {
+         throw CONFIG.invalidIndexMaxLag(maxLag.get());
+      }
    }
 
    @Override
@@ -79,13 +79,16 @@ static AttributeSet attributeDefinitionSet() {
    private final Attribute<String> path;
    private final IndexReaderConfiguration readerConfiguration;
    private final IndexWriterConfiguration writerConfiguration;
+   private final MassIndexerConfiguration massIndexerConfiguration;
    private final List<ConfigurationInfo> subElements = new ArrayList<>();
 
    IndexingConfiguration(AttributeSet attributes, Set<Class<?>> resolvedIndexedClasses,
-                         IndexReaderConfiguration readerConfiguration, IndexWriterConfiguration writerConfiguration) {
+                         IndexReaderConfiguration readerConfiguration, IndexWriterConfiguration writerConfiguration,
+                         MassIndexerConfiguration massIndexerConfiguration) {
       super(attributes);
       this.readerConfiguration = readerConfiguration;
       this.writerConfiguration = writerConfiguration;
+      this.massIndexerConfiguration = massIndexerConfiguration;
       this.resolvedIndexedClasses = resolvedIndexedClasses;
       index = attributes.attribute(INDEX);
       autoConfig = attributes.attribute(AUTO_CONFIG);
@@ -96,6 +99,7 @@ static AttributeSet attributeDefinitionSet() {
       path = attributes.attribute(PATH);
       subElements.add(readerConfiguration);
       subElements.add(writerConfiguration);
+      subElements.add(massIndexerConfiguration);
    }
 
    @Override
@@ -215,6 +219,10 @@ public IndexWriterConfiguration writer() {
       return writerConfiguration;
    }
 
+   public MassIndexerConfiguration massIndexer() {
+      return massIndexerConfiguration;
+   }
+
    /**
     * Does the index use a provider that does not persist upon restart?
     */
@@ -227,6 +235,7 @@ public String toString() {
       return "IndexingConfiguration{" +
             "readerConfiguration=" + readerConfiguration +
             ", writerConfiguration=" + writerConfiguration +
+            ", massIndexerConfiguration=" + massIndexerConfiguration +
             ", attributes=" + attributes +
             '}';
    }
@@ -66,14 +66,17 @@ public class IndexingConfigurationBuilder extends AbstractConfigurationChildBuil
    private final List<ConfigurationBuilderInfo> subElements = new ArrayList<>();
    private final IndexReaderConfigurationBuilder readerConfigurationBuilder;
    private final IndexWriterConfigurationBuilder writerConfigurationBuilder;
+   private final MassIndexerConfigurationBuilder massIndexerConfigurationBuilder;
 
    IndexingConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
       attributes = IndexingConfiguration.attributeDefinitionSet();
       readerConfigurationBuilder = new IndexReaderConfigurationBuilder(this);
       writerConfigurationBuilder = new IndexWriterConfigurationBuilder(this);
+      massIndexerConfigurationBuilder = new MassIndexerConfigurationBuilder(this);
       this.subElements.add(readerConfigurationBuilder);
       this.subElements.add(writerConfigurationBuilder);
+      this.subElements.add(massIndexerConfigurationBuilder);
    }
 
    @Override
@@ -101,6 +104,10 @@ public IndexWriterConfigurationBuilder writer() {
       return writerConfigurationBuilder;
    }
 
+   public MassIndexerConfigurationBuilder massIndexer() {
+      return massIndexerConfigurationBuilder;
+   }
+
    /**
     * Wipe out all indexing configuration settings and disable indexing.
     */
@@ -324,6 +331,9 @@ public void validate() {
       }
 
       ensureSingleIndexingConfig();
+      readerConfigurationBuilder.validate();
+      writerConfigurationBuilder.validate();
+      massIndexerConfigurationBuilder.validate();
    }
 
    private void ensureSingleIndexingConfig() {
@@ -388,7 +398,8 @@ public IndexingConfiguration create() {
 
       // todo [anistor] if storage media type is not configured then log a warning because this is not supported with indexing
 
-      return new IndexingConfiguration(attributes.protect(), resolvedIndexedClasses, readerConfigurationBuilder.create(), writerConfigurationBuilder.create());
+      return new IndexingConfiguration(attributes.protect(), resolvedIndexedClasses, readerConfigurationBuilder.create(), writerConfigurationBuilder.create(),
+            massIndexerConfigurationBuilder.create());
    }
 
    /**
@@ -431,6 +442,7 @@ public IndexingConfigurationBuilder read(IndexingConfiguration template) {
       this.resolvedIndexedClasses.addAll(template.indexedEntities());
       this.readerConfigurationBuilder.read(template.reader());
       this.writerConfigurationBuilder.read(template.writer());
+      this.massIndexerConfigurationBuilder.read(template.massIndexer());
       return this;
    }
 
@@ -445,6 +457,7 @@ public String toString() {
             "attributes=" + attributes +
             ", readerConfigurationBuilder=" + readerConfigurationBuilder +
             ", writerConfigurationBuilder=" + writerConfigurationBuilder +
+            ", massIndexerConfigurationBuilder=" + massIndexerConfigurationBuilder +
             '}';
    }
 
@@ -9,6 +9,8 @@ public interface IndexingConfigurationChildBuilder extends ConfigurationChildBui
 
    IndexWriterConfigurationBuilder writer();
 
+   MassIndexerConfigurationBuilder massIndexer();
+
    IndexingConfigurationBuilder addKeyTransformer(Class<?> keyClass, Class<?> keyTransformerClass);
 
    IndexingConfigurationBuilder addIndexedEntity(String indexedEntity);
@@ -0,0 +1,87 @@
+package org.infinispan.configuration.cache;
+
+import static org.infinispan.configuration.parsing.Element.MASS_INDEXER;
+
+import org.infinispan.commons.configuration.ConfigurationInfo;
+import org.infinispan.commons.configuration.attributes.Attribute;
+import org.infinispan.commons.configuration.attributes.AttributeDefinition;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.commons.configuration.elements.DefaultElementDefinition;
+import org.infinispan.commons.configuration.elements.ElementDefinition;
+import org.infinispan.commons.util.ProcessorInfo;
+
+/**
+ * Controls how the mass indexer reads the cache entries when it rebuilds the indexes.
+ *
+ * @since 13.0
+ */
+public class MassIndexerConfiguration implements ConfigurationInfo {
+
+   public static final AttributeDefinition<Integer> READER_THREADS =
+         AttributeDefinition.builder("reader-threads", ProcessorInfo.availableProcessors(), Integer.class).immutable().build();
+   public static final AttributeDefinition<Integer> MAX_RATE =
+         AttributeDefinition.builder("max-rate", 0, Integer.class).immutable().build();
+
+   static AttributeSet attributeDefinitionSet() {
+      return new AttributeSet(MassIndexerConfiguration.class, READER_THREADS, MAX_RATE);
+   }
+
+   static final ElementDefinition<MassIndexerConfiguration> ELEMENT_DEFINITION =
+         new DefaultElementDefinition<>(MASS_INDEXER.getLocalName());
+
+   private final AttributeSet attributes;
+   private final Attribute<Integer> readerThreads;
+   private final Attribute<Integer> maxRate;
+
+   MassIndexerConfiguration(AttributeSet attributes) {
+      this.attributes = attributes.checkProtection();
+      this.readerThreads = attributes.attribute(READER_THREADS);
+      this.maxRate = attributes.attribute(MAX_RATE);
+   }
+
+   @Override
+   public ElementDefinition<MassIndexerConfiguration> getElementDefinition() {
+      return ELEMENT_DEFINITION;
+   }
+
+   @Override
+   public AttributeSet attributes() {
+      return attributes;
+   }
+
+   /**
+    * @return the number of segments that each node reads and indexes concurrently
+    */
+   public int getReaderThreads() {
+      return readerThreads.get();
+   }
+
+   /**
+    * @return the maximum number of entries that each node indexes per second, or {@code 0} if unlimited
+    */
+   public int getMaxRate() {
+      return maxRate.get();
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      MassIndexerConfiguration that = (MassIndexerConfiguration) o;
+
+      return attributes.equals(that.attributes);
+   }
+
+   @Override
+   public int hashCode() {
+      return attributes.hashCode();
+   }
+
+   @Override
+   public String toString() {
+      return "MassIndexerConfiguration{" +
+            "attributes=" + attributes +
+            '}';
+   }
+}
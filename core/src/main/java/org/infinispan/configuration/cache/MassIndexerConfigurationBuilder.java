@@ -0,0 +1,89 @@
+package org.infinispan.configuration.cache;
+
+import static org.infinispan.configuration.cache.MassIndexerConfiguration.MAX_RATE;
+import static org.infinispan.configuration.cache.MassIndexerConfiguration.READER_THREADS;
+import static org.infinispan.util.logging.Log.CONFIG;
+
+import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
+import org.infinispan.commons.configuration.attributes.Attribute;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.commons.configuration.elements.ElementDefinition;
+import org.infinispan.configuration.global.GlobalConfiguration;
+
+/**
+ * @since 13.0
+ */
+public class MassIndexerConfigurationBuilder extends AbstractIndexingConfigurationChildBuilder
+      implements Builder<MassIndexerConfiguration>, ConfigurationBuilderInfo {
+
+   private final AttributeSet attributes;
+   private final Attribute<Integer> readerThreads;
+   private final Attribute<Integer> maxRate;
+
+   MassIndexerConfigurationBuilder(IndexingConfigurationBuilder builder) {
+      super(builder);
+      this.attributes = MassIndexerConfiguration.attributeDefinitionSet();
+      this.readerThreads = attributes.attribute(READER_THREADS);
+      this.maxRate = attributes.attribute(MAX_RATE);
+   }
+
+   /**
+    * Number of segments that each node reads and indexes concurrently. Defaults to the number of available processors.
+    */
+   public MassIndexerConfigurationBuilder readerThreads(int readerThreads) {
+      this.readerThreads.set(readerThreads);
+      return this;
+   }
+
+   /**
+    * Maximum number of entries that each node indexes per second, so that rebuilding the indexes does not starve the
+    * regular operations. {@code 0}, the default, means unlimited.
+    */
+   public MassIndexerConfigurationBuilder maxRate(int entriesPerSecond) {
+      this.maxRate.set(entriesPerSecond);
+      return this;
+   }
+
+   @Override
+   public ElementDefinition<MassIndexerConfiguration> getElementDefinition() {
+      return MassIndexerConfiguration.ELEMENT_DEFINITION;
+   }
+
+   @Override
+   public AttributeSet attributes() {
+      return attributes;
+   }
+
+   @Override
+   public MassIndexerConfiguration create() {
+      return new MassIndexerConfiguration(attributes.protect());
+   }
+
+   @Override
+   public MassIndexerConfigurationBuilder read(MassIndexerConfiguration template) {
+      this.attributes.read(template.attributes());
+      return this;
+   }
+
+   @Override
+   public String toString() {
+      return "MassIndexerConfigurationBuilder{" +
+            "attributes=" + attributes +
+            '}';
+   }
+
+   @Override
+   public void validate() {
+      if (readerThreads.get() <= 0) {
+         throw CONFIG.invalidMassIndexerReaderThreads(readerThreads.get());
+      }
+      if (maxRate.get() < 0) {
+         throw CONFIG.invalidMassIndexerMaxRate(maxRate.get());
+      }
+   }
+
+   @Override
+   public void validate(GlobalConfiguration globalConfig) {
+   }
+}
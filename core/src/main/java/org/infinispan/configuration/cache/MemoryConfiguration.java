@@ -25,11 +25,13 @@ public class MemoryConfiguration implements Matchable<MemoryConfiguration>, Conf
    public static final AttributeDefinition<String> MAX_SIZE = AttributeDefinition.builder("maxSize", null, String.class).build();
    public static final AttributeDefinition<Long> MAX_COUNT = AttributeDefinition.builder("maxCount", -1L).build();
    public static final AttributeDefinition<EvictionStrategy> WHEN_FULL = AttributeDefinition.builder("whenFull", EvictionStrategy.NONE).immutable().build();
+   public static final AttributeDefinition<OffHeapAllocatorType> ALLOCATOR = AttributeDefinition.builder("allocator", OffHeapAllocatorType.UNPOOLED).immutable().build();
+   public static final AttributeDefinition<OffHeapEvictionPolicy> EVICTION_POLICY = AttributeDefinition.builder("evictionPolicy", OffHeapEvictionPolicy.LRU).immutable().build();
 
    private final MemoryStorageConfiguration memoryStorageConfiguration;
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(MemoryConfiguration.class, STORAGE, MAX_SIZE, MAX_COUNT, WHEN_FULL);
+      return new AttributeSet(MemoryConfiguration.class, STORAGE, MAX_SIZE, MAX_COUNT, WHEN_FULL, ALLOCATOR, EVICTION_POLICY);
    }
 
    private final AttributeSet attributes;
@@ -165,6 +167,20 @@ public EvictionStrategy whenFull() {
       return attributes.attribute(WHEN_FULL).get();
    }
 
+   /**
+    * @return The {@link OffHeapAllocatorType} used to allocate native memory when the storage is off-heap.
+    */
+   public OffHeapAllocatorType allocator() {
+      return attributes.attribute(ALLOCATOR).get();
+   }
+
+   /**
+    * @return The {@link OffHeapEvictionPolicy} used to choose the entries to evict when the storage is off-heap.
+    */
+   public OffHeapEvictionPolicy evictionPolicy() {
+      return attributes.attribute(EVICTION_POLICY).get();
+   }
+
    /**
     * Returns whether remove eviction is in use
     */
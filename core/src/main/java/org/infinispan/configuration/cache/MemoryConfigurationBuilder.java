@@ -252,6 +252,36 @@ public EvictionStrategy whenFull() {
       return attributes.attribute(MemoryConfiguration.WHEN_FULL).get();
    }
 
+   /**
+    * Sets how native memory is allocated when the storage is {@link StorageType#OFF_HEAP}. This has no effect for
+    * other storage types.
+    * @param allocator the allocator type to use
+    * @return this
+    */
+   public MemoryConfigurationBuilder allocator(OffHeapAllocatorType allocator) {
+      attributes.attribute(MemoryConfiguration.ALLOCATOR).set(allocator);
+      return this;
+   }
+
+   public OffHeapAllocatorType allocator() {
+      return attributes.attribute(MemoryConfiguration.ALLOCATOR).get();
+   }
+
+   /**
+    * Sets how entries are chosen for eviction when the storage is {@link StorageType#OFF_HEAP} and the memory is
+    * bounded. This has no effect for other storage types, which always use a W-TinyLFU policy.
+    * @param evictionPolicy the eviction policy to use
+    * @return this
+    */
+   public MemoryConfigurationBuilder evictionPolicy(OffHeapEvictionPolicy evictionPolicy) {
+      attributes.attribute(MemoryConfiguration.EVICTION_POLICY).set(evictionPolicy);
+      return this;
+   }
+
+   public OffHeapEvictionPolicy evictionPolicy() {
+      return attributes.attribute(MemoryConfiguration.EVICTION_POLICY).get();
+   }
+
    /**
     * The configured eviction strategy, please see {@link MemoryConfigurationBuilder#evictionStrategy(EvictionStrategy)}.
     * @return the configured eviction stategy
@@ -0,0 +1,20 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining how native memory is allocated when the storage is {@link StorageType#OFF_HEAP}.
+ *
+ * @since 13.0
+ */
+public enum OffHeapAllocatorType {
+   /**
+    * Every entry is allocated and freed directly with the native allocator.
+    */
+   UNPOOLED,
+
+   /**
+    * Entries are carved out of large pre-allocated arenas using size classes. Freed memory is kept in the pool to be
+    * reused by later allocations instead of being returned to the native allocator, which avoids contention and
+    * fragmentation of the native allocator.
+    */
+   POOLED
+}
@@ -0,0 +1,21 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining how the bounded off-heap containers choose which entries to evict when the storage is
+ * {@link StorageType#OFF_HEAP}.
+ *
+ * @since 13.0
+ */
+public enum OffHeapEvictionPolicy {
+   /**
+    * The least recently used entry is always evicted.
+    */
+   LRU,
+
+   /**
+    * A new entry is only admitted if it was accessed more frequently than the least recently used entry it would
+    * replace, otherwise the new entry is evicted instead. Access frequencies are estimated with a sketch kept in native
+    * memory, which prevents scans over many keys that are only read once from evicting the frequently used entries.
+    */
+   TINY_LFU
+}
@@ -23,17 +23,19 @@ public class StateTransferConfiguration implements Matchable<StateTransferConfig
    public static final AttributeDefinition<Boolean> FETCH_IN_MEMORY_STATE = AttributeDefinition.builder("fetchInMemoryState", true).xmlName("enabled").immutable().build();
    public static final AttributeDefinition<Long> TIMEOUT = AttributeDefinition.builder("timeout", TimeUnit.MINUTES.toMillis(4)).immutable().build();
    public static final AttributeDefinition<Integer> CHUNK_SIZE = AttributeDefinition.builder("chunkSize", 512).immutable().build();
+   public static final AttributeDefinition<Boolean> SEGMENT_DIGESTS = AttributeDefinition.builder("segmentDigests", false).immutable().build();
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(STATE_TRANSFER.getLocalName());
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER);
+      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER, SEGMENT_DIGESTS);
    }
 
    private final Attribute<Boolean> awaitInitialTransfer;
    private final Attribute<Boolean> fetchInMemoryState;
    private final Attribute<Long> timeout;
    private final Attribute<Integer> chunkSize;
+   private final Attribute<Boolean> segmentDigests;
    private final AttributeSet attributes;
 
    StateTransferConfiguration(AttributeSet attributes) {
@@ -42,6 +44,7 @@ static AttributeSet attributeDefinitionSet() {
       fetchInMemoryState = attributes.attribute(FETCH_IN_MEMORY_STATE);
       timeout = attributes.attribute(TIMEOUT);
       chunkSize = attributes.attribute(CHUNK_SIZE);
+      segmentDigests = attributes.attribute(SEGMENT_DIGESTS);
    }
 
    /**
@@ -96,6 +99,17 @@ public boolean awaitInitialTransfer() {
       return awaitInitialTransfer.get();
    }
 
+   /**
+    * If {@code true}, the data container keeps a digest of the entries in each segment and the owners exchange their
+    * digests before transferring state, so that segments with the same entries are not transferred again during a
+    * rebalance and only the differing entries are compared during conflict resolution.
+    *
+    * @since 13.0
+    */
+   public boolean segmentDigests() {
+      return segmentDigests.get();
+   }
+
    /**
     * We want to remember if the user didn't configure awaitInitialTransfer for the default cache.
     */
@@ -3,6 +3,7 @@
 import static org.infinispan.configuration.cache.StateTransferConfiguration.AWAIT_INITIAL_TRANSFER;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.CHUNK_SIZE;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.FETCH_IN_MEMORY_STATE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.SEGMENT_DIGESTS;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.TIMEOUT;
 import static org.infinispan.util.logging.Log.CONFIG;
 
@@ -13,7 +14,9 @@
 import org.infinispan.commons.configuration.attributes.Attribute;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.commons.configuration.elements.ElementDefinition;
+import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.eviction.EvictionStrategy;
 
 /**
  * Configures how state is transferred when a cache joins or leaves the cluster. Used in distributed and
@@ -96,6 +99,23 @@ public StateTransferConfigurationBuilder timeout(long l, TimeUnit unit) {
       return timeout(unit.toMillis(l));
    }
 
+   /**
+    * If {@code true}, the data container keeps a digest of the entries in each segment and the owners exchange their
+    * digests before transferring state. Segments with the same entries on the source and on the joiner are then not
+    * transferred during a rebalance, and conflict resolution only compares the entries that hash to differing parts
+    * of a segment. This is most useful when the nodes preload their data from a persistent store after a restart.
+    * <p>
+    * Requires all the entries to be kept in memory: eviction must be disabled and all the stores must be preloaded.
+    * Also requires the keys and values to be stored in binary form, with a binary {@link #encoding()} media type, and
+    * is not supported with off-heap storage.
+    *
+    * @since 13.0
+    */
+   public StateTransferConfigurationBuilder segmentDigests(boolean b) {
+      attributes.attribute(SEGMENT_DIGESTS).set(b);
+      return this;
+   }
+
    @Override
    public void validate() {
       int chunkSize = attributes.attribute(CHUNK_SIZE).get();
@@ -120,6 +140,38 @@ public void validate() {
       if (timeoutAttribute.get() < remoteTimeoutAttribute.get()) {
          throw CONFIG.invalidStateTransferTimeout(timeoutAttribute.get(), remoteTimeoutAttribute.get());
       }
+
+      if (attributes.attribute(SEGMENT_DIGESTS).get()) {
+         EvictionStrategy whenFull = memory().whenFull();
+         boolean allStoresPreloaded = persistence().stores().stream().allMatch(StateTransferConfigurationBuilder::isPreloaded);
+         if (whenFull.isRemovalBased() || whenFull == EvictionStrategy.MANUAL || !allStoresPreloaded) {
+            throw CONFIG.segmentDigestsRequireAllEntriesInMemory();
+         }
+         // Only the heap data containers maintain digests, and they can only hash the entries by content when the
+         // keys and values are stored as bytes
+         StorageType storage = memory().storage();
+         if (storage == StorageType.OFF_HEAP) {
+            throw CONFIG.segmentDigestsNotSupportedOffHeap();
+         }
+         if (storage.canStoreReferences()) {
+            String globalMediaType = encoding().attributes().attribute(EncodingConfiguration.MEDIA_TYPE).get();
+            String keyMediaType = globalMediaType != null ? globalMediaType : encoding().key().mediaType();
+            String valueMediaType = globalMediaType != null ? globalMediaType : encoding().value().mediaType();
+            if (!isBinary(keyMediaType) || !isBinary(valueMediaType)) {
+               throw CONFIG.segmentDigestsRequireBinaryStorage(keyMediaType, valueMediaType);
+            }
+         }
+      }
+   }
+
+   private static boolean isBinary(String mediaType) {
+      return mediaType != null && MediaType.fromString(mediaType).isBinary();
+   }
+
+   private static boolean isPreloaded(StoreConfigurationBuilder<?, ?> store) {
+      AttributeSet storeAttributes = store.attributes();
+      return storeAttributes != null && storeAttributes.contains(AbstractStoreConfiguration.PRELOAD) &&
+            storeAttributes.attribute(AbstractStoreConfiguration.PRELOAD).get();
    }
 
    @Override
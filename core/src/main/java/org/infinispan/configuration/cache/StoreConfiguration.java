@@ -52,6 +52,26 @@ public interface StoreConfiguration extends ConfigurationInfo {
 
    int maxBatchSize();
 
+   /**
+    * The maximum number of operations of this store that run at the same time on the blocking executor, so that a
+    * slow store does not hold all the blocking threads and the system behind the store is not overrun. If the value
+    * is less than one, the number of concurrent operations is only limited by the blocking executor.
+    * <p>
+    * Only stores with the {@link org.infinispan.persistence.spi.NonBlockingStore.Characteristic#CONCURRENCY_LIMIT}
+    * characteristic can be configured with a limit, the others fail to start.
+    */
+   int maxConcurrentOperations();
+
+   /**
+    * Whether the operations of this store run on virtual threads instead of the blocking thread pool, so that a store
+    * blocked on I/O does not hold a platform thread. Virtual threads require a JDK 21+ runtime, on older runtimes the
+    * operations run on the blocking thread pool.
+    * <p>
+    * Only stores with the {@link org.infinispan.persistence.spi.NonBlockingStore.Characteristic#CONCURRENCY_LIMIT}
+    * characteristic can run on virtual threads, the others fail to start.
+    */
+   boolean virtualThreads();
+
    /**
     * Whether or not this store is configured to be segmented. For a non shared store this means there will be a separate
     * instance of each store for each segment. For shared stores normally this means the store is able to do some
@@ -81,6 +81,18 @@
     */
    S maxBatchSize(int maxBatchSize);
 
+   /**
+    * The maximum number of operations of this store that run at the same time on the blocking executor. If the value is
+    * less than one, the number of concurrent operations is only limited by the blocking executor.
+    */
+   S maxConcurrentOperations(int maxConcurrentOperations);
+
+   /**
+    * If true, the operations of this store run on virtual threads instead of the blocking thread pool. Virtual threads
+    * require a JDK 21+ runtime, on older runtimes the operations run on the blocking thread pool.
+    */
+   S virtualThreads(boolean virtualThreads);
+
    /**
     * If true this store should either be non shared (segmenting can be done automatically for non shared stores) or
     * the shared store must implement the {@link org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore} interface.
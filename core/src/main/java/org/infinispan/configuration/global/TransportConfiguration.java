@@ -32,10 +32,15 @@ public class TransportConfiguration implements ConfigurationInfo {
    public static final AttributeDefinition<String> STACK = AttributeDefinition.builder("stack", null, String.class).build();
    public static final AttributeDefinition<String> TRANSPORT_EXECUTOR = AttributeDefinition.builder("executor", "transport-pool", String.class).build();
    public static final AttributeDefinition<String> REMOTE_EXECUTOR = AttributeDefinition.builder("remoteCommandExecutor", "remote-command-pool", String.class).build();
+   public static final AttributeDefinition<Integer> COALESCING_MAX_COMMANDS = AttributeDefinition.builder("coalescingMaxCommands", 1)
+         .immutable().build();
+   public static final AttributeDefinition<Long> COALESCING_MAX_DELAY = AttributeDefinition.builder("coalescingMaxDelay", 0L)
+         .immutable().build();
 
    static AttributeSet attributeSet() {
       return new AttributeSet(TransportConfiguration.class, CLUSTER_NAME, MACHINE_ID, RACK_ID, SITE_ID, NODE_NAME,
-            DISTRIBUTED_SYNC_TIMEOUT, INITIAL_CLUSTER_SIZE, INITIAL_CLUSTER_TIMEOUT, STACK, TRANSPORT_EXECUTOR, REMOTE_EXECUTOR);
+            DISTRIBUTED_SYNC_TIMEOUT, INITIAL_CLUSTER_SIZE, INITIAL_CLUSTER_TIMEOUT, STACK, TRANSPORT_EXECUTOR, REMOTE_EXECUTOR,
+            COALESCING_MAX_COMMANDS, COALESCING_MAX_DELAY);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(Element.TRANSPORT.getLocalName());
@@ -49,6 +54,8 @@ static AttributeSet attributeSet() {
    private final Attribute<Long> distributedSyncTimeout;
    private final Attribute<Integer> initialClusterSize;
    private final Attribute<Long> initialClusterTimeout;
+   private final Attribute<Integer> coalescingMaxCommands;
+   private final Attribute<Long> coalescingMaxDelay;
    private final AttributeSet attributes;
    private final JGroupsConfiguration jgroupsConfiguration;
    private final ThreadPoolConfiguration transportThreadPool;
@@ -74,6 +81,8 @@ static AttributeSet attributeSet() {
       initialClusterSize = attributes.attribute(INITIAL_CLUSTER_SIZE);
       initialClusterTimeout = attributes.attribute(INITIAL_CLUSTER_TIMEOUT);
       nodeName = attributes.attribute(NODE_NAME);
+      coalescingMaxCommands = attributes.attribute(COALESCING_MAX_COMMANDS);
+      coalescingMaxDelay = attributes.attribute(COALESCING_MAX_DELAY);
    }
 
    @Override
@@ -113,6 +122,22 @@ public long initialClusterTimeout() {
       return initialClusterTimeout.get();
    }
 
+   /**
+    * @return the maximum number of triangle backup commands and acknowledgements bound for the same node that are
+    * sent in a single message. {@code 1} disables the coalescing.
+    */
+   public int coalescingMaxCommands() {
+      return coalescingMaxCommands.get();
+   }
+
+   /**
+    * @return the maximum time, in milliseconds, that a coalesced command waits for other commands bound for the same
+    * node. {@code 0} means that the commands are only batched while a previous message is being sent.
+    */
+   public long coalescingMaxDelay() {
+      return coalescingMaxDelay.get();
+   }
+
    public Transport transport() {
       return jgroupsConfiguration.transport();
    }
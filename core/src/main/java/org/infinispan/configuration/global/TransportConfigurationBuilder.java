@@ -1,6 +1,8 @@
 package org.infinispan.configuration.global;
 
 import static org.infinispan.configuration.global.TransportConfiguration.CLUSTER_NAME;
+import static org.infinispan.configuration.global.TransportConfiguration.COALESCING_MAX_COMMANDS;
+import static org.infinispan.configuration.global.TransportConfiguration.COALESCING_MAX_DELAY;
 import static org.infinispan.configuration.global.TransportConfiguration.DISTRIBUTED_SYNC_TIMEOUT;
 import static org.infinispan.configuration.global.TransportConfiguration.INITIAL_CLUSTER_SIZE;
 import static org.infinispan.configuration.global.TransportConfiguration.INITIAL_CLUSTER_TIMEOUT;
@@ -11,6 +13,7 @@
 import static org.infinispan.configuration.global.TransportConfiguration.SITE_ID;
 import static org.infinispan.configuration.global.TransportConfiguration.STACK;
 import static org.infinispan.configuration.global.TransportConfiguration.TRANSPORT_EXECUTOR;
+import static org.infinispan.util.logging.Log.CONFIG;
 
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -117,6 +120,25 @@ public TransportConfigurationBuilder initialClusterTimeout(long initialClusterTi
       return this;
    }
 
+   /**
+    * Sets the maximum number of triangle backup commands and acknowledgements bound for the same node that are
+    * coalesced in a single message. Defaults to 1, which disables the coalescing.
+    */
+   public TransportConfigurationBuilder coalescingMaxCommands(int maxCommands) {
+      attributes.attribute(COALESCING_MAX_COMMANDS).set(maxCommands);
+      return this;
+   }
+
+   /**
+    * Sets the maximum time a command waits for other commands bound for the same node before the coalesced message is
+    * sent. Defaults to 0: the commands are sent as soon as possible, and they are only coalesced with the commands
+    * that were submitted while the previous message was being sent.
+    */
+   public TransportConfigurationBuilder coalescingMaxDelay(long maxDelay, TimeUnit unit) {
+      attributes.attribute(COALESCING_MAX_DELAY).set(unit.toMillis(maxDelay));
+      return this;
+   }
+
    /**
     * Class that represents a network transport. Must implement
     * org.infinispan.remoting.transport.Transport
@@ -193,6 +215,14 @@ void validate() {
       if(attributes.attribute(CLUSTER_NAME).get() == null){
           throw new CacheConfigurationException("Transport clusterName cannot be null");
       }
+      int coalescingMaxCommands = attributes.attribute(COALESCING_MAX_COMMANDS).get();
+      if (coalescingMaxCommands < 1) {
+         throw CONFIG.invalidCoalescingMaxCommands(coalescingMaxCommands);
+      }
+      long coalescingMaxDelay = attributes.attribute(COALESCING_MAX_DELAY).get();
+      if (coalescingMaxDelay < 0) {
+         throw CONFIG.invalidCoalescingMaxDelay(coalescingMaxDelay);
+      }
    }
 
    public JGroupsConfigurationBuilder jgroups() {
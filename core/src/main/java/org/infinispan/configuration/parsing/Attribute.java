@@ -18,8 +18,10 @@ public enum Attribute {
     ADDRESS_COUNT,
     AFTER,
     ALIASES,
+    ALLOCATOR,
     @Deprecated
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
+    ASYNC,
     @Deprecated
     ASYNC_EXECUTOR,
     @Deprecated
@@ -42,9 +44,13 @@ public enum Attribute {
     CHUNK_SIZE,
     CLASS,
     CLUSTER,
+    COALESCING_MAX_COMMANDS,
+    COALESCING_MAX_DELAY,
+    COLLAPSE_REMOTE_GETS,
     COMMIT_INTERVAL,
     COMPLETED_TX_TIMEOUT("complete-timeout"),
     CONCURRENCY_LEVEL,
+    CONCURRENT_BATCHES,
     CONFIGURATION,
     CONNECTION_ATTEMPTS,
     CONNECTION_INTERVAL,
@@ -61,6 +67,7 @@ public enum Attribute {
     EVICTION,
     @Deprecated
     EVICTION_EXECUTOR,
+    EVICTION_POLICY,
     @Deprecated
     EVICTION_STRATEGY,
     EXPIRATION_EXECUTOR,
@@ -76,6 +83,7 @@ public enum Attribute {
     GROUP_NAME,
     HISTOGRAMS,
     ID,
+    INBOUND_SEGMENT_QUEUES,
     @Deprecated
     INDEX,
     INITIAL_CLUSTER_SIZE,
@@ -100,9 +108,12 @@ public enum Attribute {
     MAPPER,
     MARSHALLER_CLASS("marshaller"),
     MAX_BATCH_SIZE,
+    MAX_CONCURRENT_OPERATIONS,
     MAX_COUNT,
     MAX_ENTRIES,
     MAX_IDLE,
+    MAX_LAG,
+    MAX_RATE,
     MAX_RETRIES,
     MIN_SIZE,
     MAX_BUFFERED_ENTRIES,
@@ -141,6 +152,7 @@ public enum Attribute {
     RACK_ID("rack"),
     RAM_BUFFER_SIZE,
     READ_ONLY,
+    READER_THREADS,
     REAPER_WAKE_UP_INTERVAL("reaper-interval"),
     RECOVERY_INFO_CACHE_NAME("recovery-cache"),
     REFRESH_INTERVAL,
@@ -152,6 +164,7 @@ public enum Attribute {
     @Deprecated
     REPLICATION_QUEUE_EXECUTOR,
     ROLES,
+    SEGMENT_DIGESTS,
     SEGMENTED,
     SEGMENTS,
     SHARED,
@@ -197,6 +210,7 @@ public enum Attribute {
     VALUE_EQUIVALENCE,
     VERSION,
     VERSIONING_SCHEME("scheme"),
+    VIRTUAL_THREADS,
     WAIT_TIME,
     WHEN_SPLIT,
     WHEN_FULL,
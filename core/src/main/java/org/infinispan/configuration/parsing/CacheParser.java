@@ -36,7 +36,10 @@
 import org.infinispan.configuration.cache.IndexWriterConfigurationBuilder;
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfigurationBuilder;
+import org.infinispan.configuration.cache.MassIndexerConfigurationBuilder;
 import org.infinispan.configuration.cache.MemoryConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.configuration.cache.PartitionHandlingConfigurationBuilder;
 import org.infinispan.configuration.cache.SecurityConfigurationBuilder;
 import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
@@ -591,6 +594,12 @@ private void parseMemory(final ConfigurationReader reader, final ConfigurationBu
                case WHEN_FULL:
                   memoryBuilder.whenFull(EvictionStrategy.valueOf(value));
                   break;
+               case ALLOCATOR:
+                  memoryBuilder.allocator(OffHeapAllocatorType.valueOf(value));
+                  break;
+               case EVICTION_POLICY:
+                  memoryBuilder.evictionPolicy(OffHeapEvictionPolicy.valueOf(value));
+                  break;
                default:
                   throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1103,6 +1112,22 @@ private void parseClusteredCacheAttribute(ConfigurationReader reader,
             builder.clustering().remoteTimeout(Long.parseLong(value));
             break;
          }
+         case INBOUND_SEGMENT_QUEUES: {
+            if (reader.getSchema().since(13, 0)) {
+               builder.clustering().inboundSegmentQueues(Boolean.parseBoolean(value));
+            } else {
+               throw ParseUtils.unexpectedAttribute(reader, index);
+            }
+            break;
+         }
+         case COLLAPSE_REMOTE_GETS: {
+            if (reader.getSchema().since(13, 0)) {
+               builder.clustering().collapseRemoteGets(Boolean.parseBoolean(value));
+            } else {
+               throw ParseUtils.unexpectedAttribute(reader, index);
+            }
+            break;
+         }
          default: {
             this.parseCacheAttribute(reader, index, attribute, value, builder);
          }
@@ -1156,6 +1181,10 @@ private void parseStateTransfer(ConfigurationReader reader, ConfigurationBuilder
                builder.clustering().stateTransfer().chunkSize(Integer.parseInt(value));
                break;
             }
+            case SEGMENT_DIGESTS: {
+               builder.clustering().stateTransfer().segmentDigests(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1465,6 +1494,22 @@ public static void parseStoreAttribute(ConfigurationReader reader, int index, Ab
             storeBuilder.maxBatchSize(Integer.parseInt(value));
             break;
          }
+         case MAX_CONCURRENT_OPERATIONS: {
+            if (reader.getSchema().since(13, 0)) {
+               storeBuilder.maxConcurrentOperations(Integer.parseInt(value));
+            } else {
+               throw ParseUtils.unexpectedAttribute(reader, index);
+            }
+            break;
+         }
+         case VIRTUAL_THREADS: {
+            if (reader.getSchema().since(13, 0)) {
+               storeBuilder.virtualThreads(Boolean.parseBoolean(value));
+            } else {
+               throw ParseUtils.unexpectedAttribute(reader, index);
+            }
+            break;
+         }
          case SEGMENTED: {
             storeBuilder.segmented(Boolean.parseBoolean(value));
             break;
@@ -1518,6 +1563,9 @@ public static void parseStoreWriteBehind(ConfigurationReader reader, AsyncStoreC
             case FAIL_SILENTLY:
                storeBuilder.failSilently(Boolean.parseBoolean(value));
                break;
+            case CONCURRENT_BATCHES:
+               storeBuilder.concurrentBatches(Integer.parseInt(value));
+               break;
             case SHUTDOWN_TIMEOUT: {
                if (reader.getSchema().since(9, 0)) {
                   throw ParseUtils.attributeRemoved(reader, i);
@@ -1734,6 +1782,10 @@ private void parseIndexing(ConfigurationReader reader, ConfigurationBuilderHolde
                parseIndexWriter(reader, builder);
                break;
             }
+            case MASS_INDEXER: {
+               parseMassIndexer(reader, builder);
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedElement(reader);
             }
@@ -1822,6 +1874,12 @@ private void parseIndexWriter(ConfigurationReader reader, ConfigurationBuilder b
             case RAM_BUFFER_SIZE:
                indexWriterBuilder.ramBufferSize(Integer.parseInt(value));
                break;
+            case ASYNC:
+               indexWriterBuilder.async(Boolean.parseBoolean(value));
+               break;
+            case MAX_LAG:
+               indexWriterBuilder.maxLag(Integer.parseInt(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1836,6 +1894,26 @@ private void parseIndexWriter(ConfigurationReader reader, ConfigurationBuilder b
       }
    }
 
+   private void parseMassIndexer(ConfigurationReader reader, ConfigurationBuilder builder) {
+      MassIndexerConfigurationBuilder massIndexerBuilder = builder.indexing().massIndexer();
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+         ParseUtils.requireNoNamespaceAttribute(reader, i);
+         Attribute attribute = Attribute.forName(reader.getAttributeName(i));
+         String value = reader.getAttributeValue(i);
+         switch (attribute) {
+            case READER_THREADS:
+               massIndexerBuilder.readerThreads(Integer.parseInt(value));
+               break;
+            case MAX_RATE:
+               massIndexerBuilder.maxRate(Integer.parseInt(value));
+               break;
+            default:
+               throw ParseUtils.unexpectedAttribute(reader, i);
+         }
+      }
+      ParseUtils.requireNoContent(reader);
+   }
+
    private void parseIndexWriterMerge(ConfigurationReader reader, ConfigurationBuilder builder) {
       for (int i = 0; i < reader.getAttributeCount(); i++) {
          ParseUtils.requireNoNamespaceAttribute(reader, i);
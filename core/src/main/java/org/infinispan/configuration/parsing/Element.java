@@ -76,6 +76,7 @@ public enum Element {
     PERSISTENT_LOCATION,
     LOCKING,
     MANAGED_CONFIGURATION_STORAGE,
+    MASS_INDEXER,
     MEMORY,
     METRICS,
     MODULES,
@@ -1064,6 +1064,22 @@ private void parseTransport(ConfigurationReader reader, ConfigurationBuilderHold
                   }
                   break;
                }
+               case COALESCING_MAX_COMMANDS: {
+                  if (reader.getSchema().since(13, 0)) {
+                     transport.coalescingMaxCommands(Integer.parseInt(value));
+                  } else {
+                     throw ParseUtils.unexpectedAttribute(reader, i);
+                  }
+                  break;
+               }
+               case COALESCING_MAX_DELAY: {
+                  if (reader.getSchema().since(13, 0)) {
+                     transport.coalescingMaxDelay(Long.parseLong(value), TimeUnit.MILLISECONDS);
+                  } else {
+                     throw ParseUtils.unexpectedAttribute(reader, i);
+                  }
+                  break;
+               }
                default: {
                   throw ParseUtils.unexpectedAttribute(reader, i);
                }
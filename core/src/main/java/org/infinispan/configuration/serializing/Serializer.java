@@ -41,6 +41,7 @@
 import org.infinispan.configuration.cache.IndexWriterConfiguration;
 import org.infinispan.configuration.cache.IndexingConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfiguration;
+import org.infinispan.configuration.cache.MassIndexerConfiguration;
 import org.infinispan.configuration.cache.MemoryConfiguration;
 import org.infinispan.configuration.cache.PartitionHandlingConfiguration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
@@ -442,6 +443,8 @@ private void writeTransport(ConfigurationWriter writer, GlobalConfiguration glob
          attributes.write(writer, TransportConfiguration.DISTRIBUTED_SYNC_TIMEOUT, Attribute.LOCK_TIMEOUT);
          attributes.write(writer, TransportConfiguration.INITIAL_CLUSTER_SIZE, Attribute.INITIAL_CLUSTER_SIZE);
          attributes.write(writer, TransportConfiguration.INITIAL_CLUSTER_TIMEOUT, Attribute.INITIAL_CLUSTER_TIMEOUT);
+         attributes.write(writer, TransportConfiguration.COALESCING_MAX_COMMANDS, Attribute.COALESCING_MAX_COMMANDS);
+         attributes.write(writer, TransportConfiguration.COALESCING_MAX_DELAY, Attribute.COALESCING_MAX_DELAY);
          writer.writeEndElement();
       }
    }
@@ -569,6 +572,8 @@ private void writeCommonClusteredCacheAttributes(ConfigurationWriter writer, Con
       ClusteringConfiguration clustering = configuration.clustering();
       writer.writeAttribute(Attribute.MODE, clustering.cacheMode().isSynchronous() ? "SYNC" : "ASYNC");
       clustering.attributes().write(writer, ClusteringConfiguration.REMOTE_TIMEOUT, Attribute.REMOTE_TIMEOUT);
+      clustering.attributes().write(writer, ClusteringConfiguration.INBOUND_SEGMENT_QUEUES, Attribute.INBOUND_SEGMENT_QUEUES);
+      clustering.attributes().write(writer, ClusteringConfiguration.COLLAPSE_REMOTE_GETS, Attribute.COLLAPSE_REMOTE_GETS);
    }
 
    private void writeCommonCacheAttributesElements(ConfigurationWriter writer, String name, Configuration configuration) {
@@ -658,6 +663,8 @@ private void writeMemory(ConfigurationWriter writer, Configuration configuration
             attributes.write(writer, MemoryConfiguration.MAX_SIZE, Attribute.MAX_SIZE);
          }
          attributes.write(writer, MemoryConfiguration.WHEN_FULL, Attribute.WHEN_FULL);
+         attributes.write(writer, MemoryConfiguration.ALLOCATOR, Attribute.ALLOCATOR);
+         attributes.write(writer, MemoryConfiguration.EVICTION_POLICY, Attribute.EVICTION_POLICY);
          writer.writeEndElement();
       }
    }
@@ -692,6 +699,8 @@ private void writeIndexing(ConfigurationWriter writer, Configuration configurati
             writerAttributes.write(writer, IndexWriterConfiguration.INDEX_QUEUE_SIZE, Attribute.QUEUE_SIZE);
             writerAttributes.write(writer, IndexWriterConfiguration.INDEX_THREAD_POOL_SIZE, Attribute.THREAD_POOL_SIZE);
             writerAttributes.write(writer, IndexWriterConfiguration.INDEX_RAM_BUFFER_SIZE, Attribute.RAM_BUFFER_SIZE);
+            writerAttributes.write(writer, IndexWriterConfiguration.INDEX_ASYNC, Attribute.ASYNC);
+            writerAttributes.write(writer, IndexWriterConfiguration.INDEX_MAX_LAG, Attribute.MAX_LAG);
             if (indexMergeModified) {
                writer.writeStartElement(Element.INDEX_MERGE);
                mergeAttributes.write(writer, IndexMergeConfiguration.CALIBRATE_BY_DELETES, Attribute.CALIBRATE_BY_DELETES);
@@ -704,6 +713,13 @@ private void writeIndexing(ConfigurationWriter writer, Configuration configurati
             }
             writer.writeEndElement();
          }
+         AttributeSet massIndexerAttributes = indexing.massIndexer().attributes();
+         if (massIndexerAttributes.isModified()) {
+            writer.writeStartElement(Element.MASS_INDEXER);
+            massIndexerAttributes.write(writer, MassIndexerConfiguration.READER_THREADS, Attribute.READER_THREADS);
+            massIndexerAttributes.write(writer, MassIndexerConfiguration.MAX_RATE, Attribute.MAX_RATE);
+            writer.writeEndElement();
+         }
          if (!indexing.indexedEntityTypes().isEmpty()) {
             writer.writeStartListElement(Element.INDEXED_ENTITIES, true);
             for (String indexedEntity : indexing.indexedEntityTypes()) {
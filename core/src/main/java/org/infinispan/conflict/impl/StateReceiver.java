@@ -29,6 +29,10 @@
     * necessary for the hash of the last stable topology to be utilised during an automatic merge, before a
     * new merged topology is installed.
     *
+    * <p>
+    * When {@link org.infinispan.configuration.cache.StateTransferConfiguration#segmentDigests()} is enabled, keys that
+    * have the same digest on all the replicas may be omitted.
+    *
     * @throws IllegalStateException if this method is invoked whilst a previous request for Replicas is still executing
     */
    CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> getAllReplicasForSegment(int segmentId, LocalizedCacheTopology topology, long timeout);
@@ -12,8 +12,10 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.remote.CacheRpcCommand;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.logging.Log;
 import org.infinispan.commons.logging.LogFactory;
@@ -21,6 +23,7 @@
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.NullCacheEntry;
 import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.container.impl.SegmentDigests;
 import org.infinispan.distribution.LocalizedCacheTopology;
 import org.infinispan.executors.LimitedExecutor;
 import org.infinispan.factories.annotations.ComponentName;
@@ -33,8 +36,13 @@
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.notifications.cachelistener.annotation.DataRehashed;
 import org.infinispan.notifications.cachelistener.event.DataRehashedEvent;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.responses.SuccessfulResponse;
 import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.impl.MapResponseCollector;
 import org.infinispan.statetransfer.InboundTransferTask;
 import org.infinispan.statetransfer.StateChunk;
 import org.infinispan.topology.CacheTopology;
@@ -125,9 +133,10 @@ Map<Address, InboundTransferTask> getTransferTaskMap(int segmentId) {
       return requestMap.get(segmentId).transferTaskMap;
    }
 
-   InboundTransferTask createTransferTask(int segmentId, Address source, CacheTopology topology, long transferTimeout) {
+   InboundTransferTask createTransferTask(int segmentId, Address source, CacheTopology topology, long transferTimeout,
+                                          long leafMask) {
       return new InboundTransferTask(IntSets.immutableSet(segmentId), source, topology.getTopologyId(),
-            rpcManager, commandsFactory, transferTimeout, cacheName, false);
+            rpcManager, commandsFactory, transferTimeout, cacheName, false, leafMask);
    }
 
    class SegmentRequest {
@@ -166,11 +175,81 @@ synchronized CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> requestStat
             }
          });
 
+         SegmentDigests segmentDigests = dataContainer.getSegmentDigests();
+         if (segmentDigests == null || replicaHosts.size() == 1) {
+            requestReplicas(SegmentDigests.ALL_LEAVES);
+         } else {
+            requestDigests(segmentDigests);
+         }
+         return future;
+      }
+
+      /**
+       * Compares the segment digests of all the replicas and only requests the keys in the leaves that differ.
+       */
+      private void requestDigests(SegmentDigests segmentDigests) {
+         Map<Address, long[]> digests = new HashMap<>();
+         List<Address> remoteReplicas = new ArrayList<>(replicaHosts.size());
+         for (Address replica : replicaHosts) {
+            if (replica.equals(rpcManager.getAddress())) {
+               digests.put(replica, segmentDigests.getDigest(segmentId));
+            } else {
+               remoteReplicas.add(replica);
+            }
+         }
+         CacheRpcCommand cmd = commandsFactory.buildStateTransferGetDigestsCommand(topology.getTopologyId(),
+                                                                                  IntSets.immutableSet(segmentId));
+         RpcOptions rpcOptions = new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS);
+         rpcManager.invokeCommand(remoteReplicas, cmd, MapResponseCollector.validOnly(remoteReplicas.size()), rpcOptions)
+               .whenComplete((responses, throwable) -> {
+                  long leafMask = SegmentDigests.ALL_LEAVES;
+                  if (throwable == null) {
+                     for (Map.Entry<Address, Response> response : responses.entrySet()) {
+                        Object value = ((SuccessfulResponse) response.getValue()).getResponseValue();
+                        digests.put(response.getKey(), value != null ? ((Map<Integer, long[]>) value).get(segmentId) : null);
+                     }
+                     leafMask = differingLeaves(digests);
+                  } else {
+                     log.debugf(throwable, "Cache %s could not retrieve the digests of segment %s, requesting all the keys",
+                                cacheName, segmentId);
+                  }
+                  requestReplicas(leafMask);
+               });
+      }
+
+      private long differingLeaves(Map<Address, long[]> digests) {
+         if (digests.size() < replicaHosts.size()) {
+            return SegmentDigests.ALL_LEAVES;
+         }
+         long leafMask = 0;
+         long[] first = null;
+         for (long[] digest : digests.values()) {
+            if (first == null) {
+               first = digest;
+            }
+            leafMask |= SegmentDigests.differingLeaves(first, digest);
+         }
+         return leafMask;
+      }
+
+      synchronized void requestReplicas(long leafMask) {
+         if (future.isDone()) {
+            if (log.isTraceEnabled()) log.tracef("Cache %s replicas request for segment %s was cancelled", cacheName, segmentId);
+            return;
+         }
+         if (leafMask == 0) {
+            if (log.isTraceEnabled()) log.tracef("Cache %s segment %s digests are the same on all replicas", cacheName, segmentId);
+            completeRequest();
+            return;
+         }
+         if (log.isTraceEnabled()) log.tracef("Cache %s requesting keys in leaves %s of segment %s",
+                                              cacheName, Long.toHexString(leafMask), segmentId);
+
          for (final Address replica : replicaHosts) {
             if (replica.equals(rpcManager.getAddress())) {
                dataContainer.forEach(entry -> {
                   int keySegment = topology.getDistribution(entry.getKey()).segmentId();
-                  if (keySegment == segmentId) {
+                  if (keySegment == segmentId && SegmentDigests.containsLeaf(leafMask, entry.getKey())) {
                      addKeyToReplicaMap(replica, entry);
                   }
                });
@@ -179,7 +258,7 @@ synchronized CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> requestStat
                   completeRequest();
                }
             } else {
-               final InboundTransferTask transferTask = createTransferTask(segmentId, replica, topology, timeout);
+               final InboundTransferTask transferTask = createTransferTask(segmentId, replica, topology, timeout, leafMask);
                transferTaskMap.put(replica, transferTask);
 
                stateReceiverExecutor.execute(() -> {
@@ -196,7 +275,6 @@ synchronized CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> requestStat
                });
             }
          }
-         return future;
       }
 
       synchronized void clear() {
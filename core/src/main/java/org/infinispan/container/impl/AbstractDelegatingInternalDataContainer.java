@@ -227,4 +227,9 @@ public long evictionSize() {
    public void resize(long newSize) {
       delegate().resize(newSize);
    }
+
+   @Override
+   public SegmentDigests getSegmentDigests() {
+      return delegate().getSegmentDigests();
+   }
 }
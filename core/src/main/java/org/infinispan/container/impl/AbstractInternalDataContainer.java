@@ -68,6 +68,8 @@
    @Inject protected DataOperationOrderer orderer;
 
    protected final List<Consumer<Iterable<InternalCacheEntry<K, V>>>> listeners = new CopyOnWriteArrayList<>();
+   // Only set by the segmented containers that keep all the entries in memory
+   protected SegmentDigests segmentDigests;
 
    protected abstract PeekableTouchableMap<K, V> getMapForSegment(int segment);
    protected abstract int getSegmentForKey(Object key);
@@ -126,6 +128,8 @@ public void put(int segment, K k, V v, Metadata metadata, PrivateMetadata intern
             l1Entry = true;
          }
          InternalCacheEntry<K, V> e = entries.get(k);
+         // The update below can modify the existing entry in place
+         long oldValueHash = segmentDigests != null ? SegmentDigests.valueHash(e) : SegmentDigests.NO_ENTRY;
 
          if (log.isTraceEnabled()) {
             log.tracef("Creating new ICE for writing. Existing=%s, metadata=%s, new value=%s", e, metadata, toStr(v));
@@ -149,7 +153,11 @@ public void put(int segment, K k, V v, Metadata metadata, PrivateMetadata intern
          copy.setInternalMetadata(internalMetadata);
          if (log.isTraceEnabled())
             log.tracef("Store %s=%s in container", k, copy);
-         entries.put(k, copy);
+         InternalCacheEntry<K, V> previous = entries.put(k, copy);
+         if (segmentDigests != null) {
+            segmentDigests.entryUpdated(segment, k, previous == e ? oldValueHash : SegmentDigests.valueHash(previous),
+                  SegmentDigests.valueHash(copy));
+         }
       } else {
          log.tracef("Insertion attempted for key: %s but there was no map created for it at segment: %d", k, segment);
       }
@@ -187,6 +195,9 @@ public InternalCacheEntry<K, V> remove(int segment, Object k) {
          if (log.isTraceEnabled()) {
             log.tracef("Removed %s=%s from container", k, e);
          }
+         if (e != null && segmentDigests != null) {
+            segmentDigests.entryUpdated(segment, k, SegmentDigests.valueHash(e), SegmentDigests.NO_ENTRY);
+         }
 
          return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
       }
@@ -212,6 +223,9 @@ public CompletionStage<Void> evict(int segment, K key) {
          // - we don't need eviction manager either as it is handled in NotifyHelper
          evictionStageRef.set(handleEviction(entry, null, passivator.running(), null, this, null));
          computeEntryRemoved(o, entry);
+         if (segmentDigests != null) {
+            segmentDigests.entryUpdated(segment, o, SegmentDigests.valueHash(entry), SegmentDigests.NO_ENTRY);
+         }
          return null;
       });
       return evictionStageRef.get();
@@ -226,7 +240,12 @@ public void evict(K key) {
    public InternalCacheEntry<K, V> compute(int segment, K key, DataContainer.ComputeAction<K, V> action) {
       PeekableTouchableMap<K, V> entries = getMapForSegment(segment);
       return entries != null ? entries.compute(key, (k, oldEntry) -> {
+         // The action can modify the existing entry in place
+         long oldValueHash = segmentDigests != null ? SegmentDigests.valueHash(oldEntry) : SegmentDigests.NO_ENTRY;
          InternalCacheEntry<K, V> newEntry = action.compute(k, oldEntry, entryFactory);
+         if (segmentDigests != null) {
+            segmentDigests.entryUpdated(segment, k, oldValueHash, SegmentDigests.valueHash(newEntry));
+         }
          if (newEntry == oldEntry) {
             return oldEntry;
          } else if (newEntry == null) {
@@ -251,10 +270,18 @@ public void clear(IntSet segments) {
          Map<K, InternalCacheEntry<K, V>> map = getMapForSegment(segment);
          if (map != null) {
             map.clear();
+            if (segmentDigests != null) {
+               segmentDigests.clear(segment);
+            }
          }
       });
    }
 
+   @Override
+   public SegmentDigests getSegmentDigests() {
+      return segmentDigests;
+   }
+
    /**
     * This method is invoked every time an entry is written inside a compute block
     * @param key key passed to compute method
@@ -67,6 +67,9 @@ public void start() {
       // Distributed is the only mode that allows for dynamic addition/removal of maps as others own all segments
       // in some fashion
       shouldStopSegments = configuration.clustering().cacheMode().isDistributed();
+      if (configuration.clustering().stateTransfer().segmentDigests()) {
+         segmentDigests = new SegmentDigests(maps.length());
+      }
 
       notExpiredPredicate = ice -> {
          if (!ice.canExpire()) {
@@ -213,6 +216,9 @@ public void clear() {
             map.clear();
          }
       }
+      if (segmentDigests != null) {
+         segmentDigests.clear();
+      }
    }
 
    @Override
@@ -282,6 +288,9 @@ private void startNewMap(int segment) {
    private void stopMap(int segment, boolean notifyListener) {
       ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.getAndSet(segment, null);
       if (map != null) {
+         if (segmentDigests != null) {
+            segmentDigests.clear(segment);
+         }
          if (notifyListener && !map.isEmpty()) {
             listeners.forEach(c -> c.accept(map.values()));
          }
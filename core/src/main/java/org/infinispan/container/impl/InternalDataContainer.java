@@ -277,4 +277,14 @@ default void forEach(IntSet segments, Consumer<? super InternalCacheEntry<K, V>>
    default void cleanUp() {
       // Default is to do nothing
    }
+
+   /**
+    * Returns the digests of the entries in each segment, which are only maintained when
+    * {@link org.infinispan.configuration.cache.StateTransferConfiguration#segmentDigests()} is enabled.
+    * @return the segment digests or {@code null} if this container doesn't maintain them
+    * @since 13.0
+    */
+   default SegmentDigests getSegmentDigests() {
+      return null;
+   }
 }
@@ -150,6 +150,9 @@ public void clear(IntSet segments) {
       while (iter.hasNext()) {
          int segment = iter.nextInt();
          ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.get(segment);
+         if (segmentDigests != null) {
+            segmentDigests.clear(segment);
+         }
          if (map != null) {
             map.clear();
          } else {
@@ -171,6 +174,14 @@ public void clear(IntSet segments) {
    @Override
    public void removeSegments(IntSet segments) {
       nonOwnedEntries.clear();
+      if (segmentDigests != null) {
+         // The digests of the segments without a map only contained L1 entries
+         for (int i = 0; i < maps.length(); ++i) {
+            if (maps.get(i) == null) {
+               segmentDigests.clear(i);
+            }
+         }
+      }
       super.removeSegments(segments);
    }
 }
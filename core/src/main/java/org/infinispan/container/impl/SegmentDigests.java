@@ -0,0 +1,199 @@
+package org.infinispan.container.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.PrivateMetadata;
+
+/**
+ * Digests of the entries in each segment of a data container, updated on every write.
+ * <p>
+ * Each segment is split into {@link #LEAVES} leaves by the hash of the key. The digest of a leaf is the XOR of the
+ * hashes of its entries, so a write only needs to XOR out the hash of the previous entry and XOR in the hash of the
+ * new one, and two replicas with the same entries in a leaf always have the same digest. Owners can then compare the
+ * digests of a segment and only transfer the leaves that differ.
+ * <p>
+ * Keys and values are hashed by content, so they must be stored as byte arrays or {@link WrappedBytes}, which the
+ * configuration validation ensures by requiring a binary encoding. The hash of an entry also includes its version and
+ * expiration settings, so two replicas with the same value but a different version have different digests. Entries
+ * without a value, like tombstones, are not part of the digest.
+ *
+ * @since 13.0
+ */
+public class SegmentDigests {
+   /**
+    * The number of leaves in a segment, so that a set of leaves fits in a {@code long} mask.
+    */
+   public static final int LEAVES = Long.SIZE;
+   public static final long ALL_LEAVES = -1L;
+
+   private static final int SEED = 9001;
+
+   private final AtomicLongArray leaves;
+
+   public SegmentDigests(int numSegments) {
+      leaves = new AtomicLongArray(numSegments * LEAVES);
+   }
+
+   /**
+    * The value hash of a missing entry, which is not part of the digest.
+    */
+   public static final long NO_ENTRY = 0;
+
+   /**
+    * Updates the digest of a segment after an entry was written or removed. Entries can be updated in place, so the
+    * caller must compute the {@link #valueHash(InternalCacheEntry)} of the previous entry before applying the write.
+    * @param segment       the segment of the key
+    * @param key           the key
+    * @param oldValueHash  the value hash of the entry that was replaced or removed, or {@link #NO_ENTRY}
+    * @param newValueHash  the value hash of the entry that was written, or {@link #NO_ENTRY} if it was removed
+    */
+   public void entryUpdated(int segment, Object key, long oldValueHash, long newValueHash) {
+      if (oldValueHash == newValueHash) {
+         return;
+      }
+      long keyHash = hash(key);
+      long delta = 0;
+      if (oldValueHash != NO_ENTRY) {
+         delta ^= entryHash(keyHash, oldValueHash);
+      }
+      if (newValueHash != NO_ENTRY) {
+         delta ^= entryHash(keyHash, newValueHash);
+      }
+      if (delta != 0) {
+         leaves.accumulateAndGet(segment * LEAVES + leaf(keyHash), delta, (a, b) -> a ^ b);
+      }
+   }
+
+   /**
+    * @return the hash of the value, the version and the expiration settings of an entry, or {@link #NO_ENTRY} if
+    * there is no entry or it has no value
+    */
+   public static long valueHash(InternalCacheEntry<?, ?> entry) {
+      if (entry == null || entry.getValue() == null) {
+         return NO_ENTRY;
+      }
+      long h = hash(entry.getValue());
+      Metadata metadata = entry.getMetadata();
+      if (metadata != null) {
+         h = combine(h, versionHash(metadata.version()));
+         h = combine(h, metadata.lifespan());
+         h = combine(h, metadata.maxIdle());
+      }
+      PrivateMetadata internalMetadata = entry.getInternalMetadata();
+      if (internalMetadata != null) {
+         h = combine(h, versionHash(internalMetadata.entryVersion()));
+      }
+      // Keep NO_ENTRY for the missing entries
+      return h != NO_ENTRY ? h : 1;
+   }
+
+   /**
+    * @return a copy of the {@link #LEAVES} leaf digests of the segment
+    */
+   public long[] getDigest(int segment) {
+      long[] digest = new long[LEAVES];
+      int offset = segment * LEAVES;
+      for (int i = 0; i < LEAVES; i++) {
+         digest[i] = leaves.get(offset + i);
+      }
+      return digest;
+   }
+
+   /**
+    * Resets the digest of a segment after all its entries were removed.
+    */
+   public void clear(int segment) {
+      int offset = segment * LEAVES;
+      for (int i = 0; i < LEAVES; i++) {
+         leaves.set(offset + i, 0);
+      }
+   }
+
+   public void clear() {
+      for (int i = 0; i < leaves.length(); i++) {
+         leaves.set(i, 0);
+      }
+   }
+
+   /**
+    * @return the leaf of the segment the key belongs to
+    */
+   public static int leafForKey(Object key) {
+      return leaf(hash(key));
+   }
+
+   /**
+    * @return the mask of the leaves that differ between two segment digests, or {@link #ALL_LEAVES} if any of them is
+    * {@code null}
+    */
+   public static long differingLeaves(long[] digest, long[] otherDigest) {
+      if (digest == null || otherDigest == null) {
+         return ALL_LEAVES;
+      }
+      if (Arrays.equals(digest, otherDigest)) {
+         return 0;
+      }
+      long mask = 0;
+      for (int i = 0; i < LEAVES; i++) {
+         if (digest[i] != otherDigest[i]) {
+            mask |= 1L << i;
+         }
+      }
+      return mask;
+   }
+
+   public static boolean containsLeaf(long leafMask, Object key) {
+      return leafMask == ALL_LEAVES || (leafMask & (1L << leafForKey(key))) != 0;
+   }
+
+   private static int leaf(long keyHash) {
+      return (int) (keyHash >>> (Long.SIZE - Integer.numberOfTrailingZeros(LEAVES)));
+   }
+
+   private static long entryHash(long keyHash, long valueHash) {
+      return mix(keyHash ^ Long.rotateLeft(valueHash, 31));
+   }
+
+   private static long combine(long h, long other) {
+      return mix(h * 31 + other);
+   }
+
+   private static long versionHash(EntryVersion version) {
+      // The versions implement hashCode() based only on their numeric fields
+      return version != null ? version.hashCode() : 0;
+   }
+
+   private static long hash(Object o) {
+      if (o instanceof byte[]) {
+         return MurmurHash3.MurmurHash3_x64_64((byte[]) o, SEED);
+      } else if (o instanceof WrappedBytes) {
+         WrappedBytes wrappedBytes = (WrappedBytes) o;
+         byte[] bytes = wrappedBytes.getBytes();
+         int offset = wrappedBytes.backArrayOffset();
+         int length = wrappedBytes.getLength();
+         if (offset != 0 || length != bytes.length) {
+            bytes = Arrays.copyOfRange(bytes, offset, offset + length);
+         }
+         return MurmurHash3.MurmurHash3_x64_64(bytes, SEED);
+      }
+      // Hashing the other types with hashCode() could make different entries look the same
+      throw new IllegalArgumentException("Segment digests require binary keys and values, but found " +
+            (o == null ? null : o.getClass().getName()));
+   }
+
+   // The finalization mix of MurmurHash3
+   private static long mix(long h) {
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+      return h;
+   }
+}
@@ -11,6 +11,7 @@
 import org.infinispan.commons.util.FilterIterator;
 import org.infinispan.commons.util.FilterSpliterator;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.eviction.EvictionType;
@@ -30,7 +31,11 @@ public class BoundedOffHeapDataContainer extends SegmentedBoundedOffHeapDataCont
       new CopyOnWriteArrayList<>();
 
    public BoundedOffHeapDataContainer(long maxSize, EvictionType type) {
-      super(1, maxSize, type);
+      this(maxSize, type, OffHeapEvictionPolicy.LRU);
+   }
+
+   public BoundedOffHeapDataContainer(long maxSize, EvictionType type, OffHeapEvictionPolicy policy) {
+      super(1, maxSize, type, policy);
    }
 
    @Override
@@ -20,6 +20,7 @@
 import java.util.function.LongConsumer;
 import java.util.stream.LongStream;
 
+import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.marshall.WrappedBytes;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
@@ -70,6 +71,11 @@
  * write lock for the lock region, are ({@code put}, {@code remove}, {@code replace}, {@code compute}. A clear
  * will acquire all write locks when invoked. This allows the clear to also resize the map down to the initial size.
  * <p>
+ * When no {@link EntryListener} is provided, {@code get} and {@code peek} first attempt an optimistic read using the
+ * {@link StampedLock} of the lock region, which does not write to any shared memory, and only fall back to acquiring
+ * the read lock if a concurrent write invalidated the read. To make this safe, memory of removed or replaced entries
+ * is not freed until no optimistic reader can be referencing it, see {@link ReadEpochReclaimer}.
+ * <p>
  * When this map is constructed it is also possible to provide an {@link EntryListener} that is invoked when various
  * operations are performed in the map. Note that the various modification callbacks <b>MUST</b> free the old address,
  * or else a memory leak will occur. Please see the various methods for clarification on these methods.
@@ -96,6 +102,7 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
    /* ---------------- Constants -------------- */
 
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
 
    // We always have to have more buckets than locks
    public final static int INITIAL_SIZE = 256;
@@ -117,6 +124,9 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
    private final OffHeapEntryFactory offHeapEntryFactory;
 
    private final EntryListener listener;
+   // Non null when reads may be performed optimistically without acquiring a lock, in which case memory is not
+   // deallocated until no optimistic reader can be referencing it
+   private final ReadEpochReclaimer reclaimer;
 
    // Once this threshold size is met, the underlying buckets will be re-sized if possible
    // This variable can be read outside of locks - thus is volatile, however should only be modified while holding
@@ -146,6 +156,9 @@ public OffHeapConcurrentMap(OffHeapMemoryAllocator allocator,
       this.allocator = Objects.requireNonNull(allocator);
       this.offHeapEntryFactory = Objects.requireNonNull(offHeapEntryFactory);
       this.listener = listener;
+      // The listener must be notified of retrieved entries while holding the read lock, so optimistic reads are only
+      // possible without one
+      this.reclaimer = listener == null ? new ReadEpochReclaimer(allocator) : null;
 
       locks = new StripedLock(LOCK_COUNT);
 
@@ -261,6 +274,14 @@ public interface EntryListener {
        * @param entryAddress the address of the entry retrieved
        */
       void entryRetrieved(long entryAddress);
+
+      /**
+       * Invoked when a get did not find an entry for the given key. The read lock will already be acquired for the
+       * given segment the key mapped to.
+       * @param hashCode the hash code of the key that was not found
+       */
+      default void entryMissed(int hashCode) {
+      }
    }
 
    @GuardedBy("locks#writeLock")
@@ -275,7 +296,7 @@ private void entryRemoved(long removedAddress) {
       if (listener != null) {
          listener.entryRemoved(removedAddress);
       }
-      allocator.deallocate(removedAddress, offHeapEntryFactory.getSize(removedAddress, false));
+      deallocate(removedAddress);
    }
 
    @GuardedBy("locks#writeLock")
@@ -283,7 +304,32 @@ private void entryReplaced(long newAddress, long oldAddress) {
       if (listener != null) {
          listener.entryReplaced(newAddress, oldAddress);
       }
-      allocator.deallocate(oldAddress, offHeapEntryFactory.getSize(oldAddress, false));
+      deallocate(oldAddress);
+   }
+
+   /**
+    * Frees the memory of an entry that is no longer reachable from the memory lookup. If optimistic reads are possible
+    * the memory is only freed once no reader can be referencing it anymore.
+    * @param address the address of the entry to free
+    */
+   @GuardedBy("locks#writeLock")
+   private void deallocate(long address) {
+      long size = offHeapEntryFactory.getSize(address, false);
+      if (reclaimer != null) {
+         reclaimer.retire(address, size);
+      } else {
+         allocator.deallocate(address, size);
+      }
+   }
+
+   /**
+    * Waits for all optimistic readers to complete and frees any memory that was pending deallocation.
+    */
+   @GuardedBy("locks#lockAll")
+   private void quiesceReaders() {
+      if (reclaimer != null) {
+         reclaimer.quiesce();
+      }
    }
 
    @GuardedBy("locks#readLock")
@@ -293,6 +339,13 @@ private void entryRetrieved(long entryAddress) {
       }
    }
 
+   @GuardedBy("locks#readLock")
+   private void entryMissed(int hashCode) {
+      if (listener != null) {
+         listener.entryMissed(hashCode);
+      }
+   }
+
    private static int spread(int h) {
       // Spread using fibonacci hash (using golden ratio)
       // This number is ((2^31 -1) / 1.61803398875) - then rounded to nearest odd number
@@ -466,6 +519,7 @@ private void transferComplete() {
       }
       this.oldMemoryLookup = null;
 
+      quiesceReaders();
       oldMemoryLookup.deallocate();
    }
 
@@ -583,7 +637,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> compute(WrappedBytes key,
          long bucketAddress = memoryLookup.getMemoryAddressOffset(memoryOffset);
          long actualAddress = bucketAddress == 0 ? 0 : performGet(bucketAddress, key, hashCode);
          if (actualAddress != 0) {
-            prev = offHeapEntryFactory.fromMemory(actualAddress);
+            prev = offHeapEntryFactory.fromMemory(actualAddress, key);
          } else {
             prev = null;
          }
@@ -622,6 +676,29 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k,
       int hashCode = k.hashCode();
       int lockOffset = getLockOffset(hashCode);
       StampedLock stampedLock = locks.getLockWithOffset(lockOffset);
+      if (reclaimer != null) {
+         long stamp = stampedLock.tryOptimisticRead();
+         if (stamp != 0) {
+            int readerToken = reclaimer.enter();
+            try {
+               // We have to validate after registering as a reader, otherwise memory could have been freed before
+               if (stampedLock.validate(stamp)) {
+                  InternalCacheEntry<WrappedBytes, WrappedBytes> ice = optimisticPeekOrGet(stampedLock, stamp,
+                        lockOffset, k, hashCode);
+                  if (stampedLock.validate(stamp)) {
+                     return ice;
+                  }
+               }
+            } catch (RuntimeException e) {
+               // A concurrent write may have caused us to read inconsistent data, only propagate if it was valid
+               if (stampedLock.validate(stamp)) {
+                  throw e;
+               }
+            } finally {
+               reclaimer.exit(readerToken);
+            }
+         }
+      }
       long readStamp = stampedLock.readLock();
       try {
          checkDeallocation();
@@ -640,22 +717,161 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k,
    @GuardedBy("locks#readLock")
    private InternalCacheEntry<WrappedBytes, WrappedBytes> lockedPeekOrGet(MemoryAddressHash memoryLookup,
          WrappedBytes k, int hashCode, boolean peek) {
-      long bucketAddress = memoryLookup.getMemoryAddressOffset(getMemoryOffset(memoryLookup, hashCode));
-      if (bucketAddress == 0) {
-         return null;
-      }
-
-      long actualAddress = performGet(bucketAddress, k, hashCode);
+      long actualAddress = lockedFind(memoryLookup, k, hashCode);
       if (actualAddress != 0) {
-         InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(actualAddress);
+         InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(actualAddress, k);
          if (!peek) {
             entryRetrieved(actualAddress);
          }
          return ice;
       }
+      if (!peek) {
+         entryMissed(hashCode);
+      }
       return null;
    }
 
+   @GuardedBy("locks#readLock")
+   private long lockedFind(MemoryAddressHash memoryLookup, WrappedBytes k, int hashCode) {
+      long bucketAddress = memoryLookup.getMemoryAddressOffset(getMemoryOffset(memoryLookup, hashCode));
+      return bucketAddress == 0 ? 0 : performGet(bucketAddress, k, hashCode);
+   }
+
+   /**
+    * Performs a peek or get without holding the read lock. The caller must be registered with the {@link #reclaimer}
+    * and <b>MUST</b> validate the stamp afterwards, discarding the returned value if it is no longer valid.
+    */
+   private InternalCacheEntry<WrappedBytes, WrappedBytes> optimisticPeekOrGet(StampedLock stampedLock, long stamp,
+         int lockOffset, WrappedBytes k, int hashCode) {
+      long address = optimisticFind(stampedLock, stamp, lockOffset, k, hashCode);
+      return address == 0 ? null : offHeapEntryFactory.fromMemory(address, k);
+   }
+
+   /**
+    * Finds the address of the given key without holding the read lock. The same requirements as
+    * {@link #optimisticPeekOrGet(StampedLock, long, int, WrappedBytes, int)} apply.
+    */
+   private long optimisticFind(StampedLock stampedLock, long stamp, int lockOffset, WrappedBytes k, int hashCode) {
+      // Fields are read only once and a resize or clear would invalidate the stamp
+      IntSet pendingBlocks = this.pendingBlocks;
+      MemoryAddressHash memoryLookup = pendingBlocks != null && pendingBlocks.contains(lockOffset) ?
+            this.oldMemoryLookup : this.memoryLookup;
+      if (memoryLookup == null) {
+         // Will throw if the map was shut down, which is only propagated if the stamp is still valid
+         checkDeallocation();
+         return 0;
+      }
+      int memoryOffset = getMemoryOffset(memoryLookup, hashCode);
+      // The shift may belong to another lookup if we raced with a resize, never read outside of the lookup
+      if (memoryOffset >= memoryLookup.getPointerCount()) {
+         return 0;
+      }
+      long address = memoryLookup.getMemoryAddressOffset(memoryOffset);
+      // Validate on every hop, as a concurrent write could relink the entries
+      while (address != 0 && stampedLock.validate(stamp)) {
+         long nextAddress = offHeapEntryFactory.getNext(address);
+         if (offHeapEntryFactory.equalsKey(address, k, hashCode)) {
+            return address;
+         }
+         address = nextAddress;
+      }
+      return 0;
+   }
+
+   /**
+    * Leases the value bytes of the given key, so that they can be read in place from native memory without copying
+    * them on heap. The entry is looked up like {@link #peek(Object)}, so no listener is notified, but expired entries
+    * are treated as missing. The returned lease <b>MUST</b> be closed once the value is no longer needed, see
+    * {@link OffHeapValueLease}.
+    * <p>
+    * When an {@link EntryListener} is provided the memory of removed entries is freed right away, so the value is
+    * copied on heap instead.
+    * @param key the key to lease the value of
+    * @return the lease of the value or null if there is no entry for the key
+    */
+   public OffHeapValueLease leaseValue(WrappedBytes key) {
+      int hashCode = key.hashCode();
+      int lockOffset = getLockOffset(hashCode);
+      StampedLock stampedLock = locks.getLockWithOffset(lockOffset);
+      if (reclaimer == null) {
+         long readStamp = stampedLock.readLock();
+         try {
+            long address = lockedFind(lockOffset, key, hashCode);
+            if (address == 0) {
+               return null;
+            }
+            // The memory can be freed once the read lock is released
+            int valueLength = offHeapEntryFactory.getValueLength(address);
+            if (valueLength == 0) {
+               return new OffHeapValueLease(null);
+            }
+            byte[] valueBytes = new byte[valueLength];
+            MEMORY.getBytes(address, offHeapEntryFactory.getValueOffset(address), valueBytes, 0, valueLength);
+            return new OffHeapValueLease(new WrappedByteArray(valueBytes));
+         } finally {
+            stampedLock.unlockRead(readStamp);
+         }
+      }
+      int readerToken = reclaimer.enter();
+      try {
+         long address = -1;
+         long stamp = stampedLock.tryOptimisticRead();
+         // We have to validate after registering as a reader, otherwise memory could have been freed before
+         if (stamp != 0 && stampedLock.validate(stamp)) {
+            try {
+               long optimisticAddress = optimisticFind(stampedLock, stamp, lockOffset, key, hashCode);
+               if (stampedLock.validate(stamp)) {
+                  address = optimisticAddress;
+               }
+            } catch (RuntimeException e) {
+               // A concurrent write may have caused us to read inconsistent data, only propagate if it was valid
+               if (stampedLock.validate(stamp)) {
+                  throw e;
+               }
+            }
+         }
+         if (address < 0) {
+            // A clear or resize waits for the readers while holding all the write locks, so we can't wait for the
+            // read lock while registered
+            reclaimer.exit(readerToken);
+            readerToken = -1;
+            long readStamp = stampedLock.readLock();
+            try {
+               // No write can retire the entry while we hold the read lock
+               readerToken = reclaimer.enter();
+               address = lockedFind(lockOffset, key, hashCode);
+            } finally {
+               stampedLock.unlockRead(readStamp);
+            }
+         }
+         if (address == 0) {
+            return null;
+         }
+         // The entry was reachable after we registered as a reader, so it can be pinned until the lease is closed,
+         // without keeping the reader registered and making a clear or resize wait for the lease
+         reclaimer.pin(address);
+         return new OffHeapValueLease(reclaimer, address, offHeapEntryFactory.getValueOffset(address),
+               offHeapEntryFactory.getValueLength(address));
+      } finally {
+         if (readerToken >= 0) {
+            reclaimer.exit(readerToken);
+         }
+      }
+   }
+
+   @GuardedBy("locks#readLock")
+   private long lockedFind(int lockOffset, WrappedBytes k, int hashCode) {
+      checkDeallocation();
+      MemoryAddressHash memoryLookup;
+      if (pendingBlocks != null && pendingBlocks.contains(lockOffset)) {
+         memoryLookup = this.oldMemoryLookup;
+      } else {
+         memoryLookup = this.memoryLookup;
+      }
+      long address = lockedFind(memoryLookup, k, hashCode);
+      return address != 0 && offHeapEntryFactory.isExpired(address) ? 0 : address;
+   }
+
    /**
     * Gets the actual address for the given key in the given bucket or 0 if it isn't present or expired
     * @param bucketHeadAddress the starting address of the bucket
@@ -758,7 +974,7 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> performPut(long bucketHea
                   assert !transfer : "We should never have a replace with put from a transfer!";
                   foundPrevious = true;
                   if (requireReturn) {
-                     previousValue = offHeapEntryFactory.fromMemory(address);
+                     previousValue = offHeapEntryFactory.fromMemory(address, key);
                   }
                   entryReplaced(newAddress, address);
                   // If this is true it means this was the first node in the linked list
@@ -867,7 +1083,7 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> performRemove(long bucket
          removeThisAddress = actualAddress == 0 ? offHeapEntryFactory.equalsKey(address, key) : actualAddress == address;
          if (removeThisAddress) {
             if (value != null) {
-               ice = offHeapEntryFactory.fromMemory(address);
+               ice = offHeapEntryFactory.fromMemory(address, key);
                // If value doesn't match and was provided then don't remove it
                if (!value.equalsWrappedBytes(ice.getValue())) {
                   ice = null;
@@ -875,7 +1091,7 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> performRemove(long bucket
                }
             }
             if (requireReturn && ice == null) {
-               ice = offHeapEntryFactory.fromMemory(address);
+               ice = offHeapEntryFactory.fromMemory(address, key);
             }
             entryRemoved(address);
             if (prevAddress != 0) {
@@ -915,10 +1131,21 @@ private void actualClear() {
       if (log.isTraceEnabled()) {
          log.trace("Clearing off-heap data");
       }
+      // No optimistic reader can validate while we hold all the locks, so after this entries can be freed directly
+      quiesceReaders();
       LongConsumer removeEntries = address -> {
          while (address != 0) {
             long nextAddress = offHeapEntryFactory.getNext(address);
-            entryRemoved(address);
+            if (listener != null) {
+               listener.entryRemoved(address);
+            }
+            long size = offHeapEntryFactory.getSize(address, false);
+            if (reclaimer != null) {
+               // The entry may be pinned by a lease
+               reclaimer.free(address, size);
+            } else {
+               allocator.deallocate(address, size);
+            }
             address = nextAddress;
          }
       };
@@ -1046,7 +1273,7 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> performReplace(long bucke
          // If the actualAddress was not known, check key equality otherwise just compare with the address
          if (offHeapEntryFactory.equalsKey(address, key)) {
             if (oldValue != null) {
-               ice = offHeapEntryFactory.fromMemory(address);
+               ice = offHeapEntryFactory.fromMemory(address, key);
                // If value doesn't match and was provided then don't replace it
                if (!ice.getValue().equalsWrappedBytes(oldValue.getValue())) {
                   ice = null;
@@ -1055,7 +1282,7 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> performReplace(long bucke
             }
             // Need to always return the previous, so make sure we read it
             if (ice == null) {
-               ice = offHeapEntryFactory.fromMemory(address);
+               ice = offHeapEntryFactory.fromMemory(address, key);
             }
 
             long newAddress = offHeapEntryFactory.create(key, hashCode, newValue);
@@ -36,6 +36,16 @@ public void stop() {
       map.close();
    }
 
+   /**
+    * Leases the value bytes of the given key so that they can be read without copying them on heap.
+    * @param key the key to lease the value of
+    * @return the lease of the value or null if there is no entry for the key
+    * @see OffHeapConcurrentMap#leaseValue(WrappedBytes)
+    */
+   public OffHeapValueLease leaseValue(WrappedBytes key) {
+      return map.leaseValue(key);
+   }
+
    @Override
    protected PeekableTouchableMap<WrappedBytes, WrappedBytes> getMapForSegment(int segment) {
       return map;
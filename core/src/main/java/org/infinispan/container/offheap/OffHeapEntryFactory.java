@@ -60,6 +60,20 @@ public interface OffHeapEntryFactory extends KeyValueMetadataSizeCalculator<Wrap
     */
    byte[] getKey(long address);
 
+   /**
+    * Returns the offset of the value bytes from the address of the entry, so that they can be read in place.
+    * @param address the address of the entry
+    * @return the offset of the value bytes
+    */
+   int getValueOffset(long address);
+
+   /**
+    * Returns the length of the value bytes of the entry.
+    * @param address the address of the entry
+    * @return how many bytes the value uses, 0 if the entry has no value
+    */
+   int getValueLength(long address);
+
    /**
     * Create an entry from the off-heap pointer
     * @param address the address of the entry to read
@@ -67,6 +81,18 @@ public interface OffHeapEntryFactory extends KeyValueMetadataSizeCalculator<Wrap
     */
    InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address);
 
+   /**
+    * Create an entry from the off-heap pointer reusing the provided key instead of copying the key bytes from
+    * memory. The key <b>MUST</b> already have been verified to be equal to the one stored at the address, such as
+    * by {@link #equalsKey(long, WrappedBytes, int)}.
+    * @param address the address of the entry to read
+    * @param key the key that is equal to the one stored at the address or null if the key should be read from memory
+    * @return the entry created on heap from off-heap
+    */
+   default InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address, WrappedBytes key) {
+      return fromMemory(address);
+   }
+
    /**
     * Returns whether the given key as bytes is the same key as the key stored in the entry for the given address.
     * @param address the address of the entry's key to check
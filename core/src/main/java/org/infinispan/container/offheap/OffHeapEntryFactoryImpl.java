@@ -4,6 +4,7 @@
 import static org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator.offHeapEntrySize;
 
 import java.io.IOException;
+import java.nio.ByteOrder;
 import java.util.concurrent.TimeUnit;
 
 import org.infinispan.commons.CacheException;
@@ -36,6 +37,7 @@
 @Scope(Scopes.NAMED_CACHE)
 public class OffHeapEntryFactoryImpl implements OffHeapEntryFactory {
    private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+   private static final boolean BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
 
    @Inject @ComponentName(KnownComponentNames.INTERNAL_MARSHALLER)
    StreamingMarshaller marshaller;
@@ -266,6 +268,56 @@ public byte[] getKey(long address) {
       return keyBytes;
    }
 
+   @Override
+   public int getValueOffset(long address) {
+      // 16 bytes for eviction if needed (optional)
+      // 8 bytes for linked pointer
+      int offset = evictionEnabled ? 24 : 8;
+
+      byte type = MEMORY.getByte(address, offset);
+      offset += 1;
+      // Ignore hashCode bytes
+      offset += 4;
+      int keyLength = MEMORY.getInt(address, offset);
+      offset += 4;
+      int metadataLength;
+      if (requiresMetadataSize(type)) {
+         metadataLength = MEMORY.getInt(address, offset);
+         offset += 4;
+      } else {
+         switch (type) {
+            case MORTAL:
+            case TRANSIENT:
+               metadataLength = 16;
+               break;
+            case TRANSIENT_MORTAL:
+               metadataLength = 32;
+               break;
+            default:
+               metadataLength = 0;
+               break;
+         }
+      }
+      // Ignore value and internal metadata bytes
+      offset += 4 + 4;
+      return offset + keyLength + metadataLength;
+   }
+
+   @Override
+   public int getValueLength(long address) {
+      // 16 bytes for eviction if needed (optional)
+      // 8 bytes for linked pointer
+      int offset = evictionEnabled ? 24 : 8;
+
+      byte type = MEMORY.getByte(address, offset);
+      // type, hashCode and key length
+      offset += 1 + 4 + 4;
+      if (requiresMetadataSize(type)) {
+         offset += 4;
+      }
+      return MEMORY.getInt(address, offset);
+   }
+
    /**
     * Assumes the address doesn't contain the linked pointer at the beginning
     * @param address the address to read the entry from
@@ -273,6 +325,11 @@ public byte[] getKey(long address) {
     */
    @Override
    public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
+      return fromMemory(address, null);
+   }
+
+   @Override
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address, WrappedBytes key) {
       // 16 bytes for eviction if needed (optional)
       // 8 bytes for linked pointer
       int offset = evictionEnabled ? 24 : 8;
@@ -281,24 +338,24 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
       offset += 1;
       int hashCode = MEMORY.getInt(address, offset);
       offset += 4;
-      byte[] keyBytes = new byte[MEMORY.getInt(address, offset)];
+      int keyLength = MEMORY.getInt(address, offset);
       offset += 4;
 
-      byte[] metadataBytes;
+      int metadataLength;
       switch (metadataType) {
          case IMMORTAL:
-            metadataBytes = Util.EMPTY_BYTE_ARRAY;
+            metadataLength = 0;
             break;
          case MORTAL:
          case TRANSIENT:
-            metadataBytes = new byte[16];
+            metadataLength = 16;
             break;
          case TRANSIENT_MORTAL:
-            metadataBytes = new byte[32];
+            metadataLength = 32;
             break;
          default:
             // This means we had CUSTOM or HAS_VERSION so we have to read it all
-            metadataBytes = new byte[MEMORY.getInt(address, offset)];
+            metadataLength = MEMORY.getInt(address, offset);
             offset += 4;
       }
 
@@ -308,10 +365,21 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
       int internalMetadataSize = MEMORY.getInt(address, offset);
       offset += 4;
 
-      MEMORY.getBytes(address, offset, keyBytes, 0, keyBytes.length);
-      offset += keyBytes.length;
-      MEMORY.getBytes(address, offset, metadataBytes, 0, metadataBytes.length);
-      offset += metadataBytes.length;
+      WrappedBytes keyWrappedBytes;
+      if (key != null) {
+         // The caller already verified the key is equal to the one stored, so there is no need to copy it on heap
+         assert key.getLength() == keyLength;
+         keyWrappedBytes = key;
+      } else {
+         byte[] keyBytes = new byte[keyLength];
+         MEMORY.getBytes(address, offset, keyBytes, 0, keyLength);
+         keyWrappedBytes = new WrappedByteArray(keyBytes, hashCode);
+      }
+      offset += keyLength;
+
+      // Expiration metadata is read directly from memory below, only custom metadata and versions are copied
+      long metadataOffset = offset;
+      offset += metadataLength;
 
       WrappedBytes valueWrappedBytes;
       if (valueSize > 0) {
@@ -336,8 +404,10 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
       Metadata metadata;
       // This is a custom metadata
       if ((metadataType & CUSTOM) == CUSTOM) {
+         byte[] metadataBytes = new byte[metadataLength];
+         MEMORY.getBytes(address, metadataOffset, metadataBytes, 0, metadataLength);
          metadata = unmarshall(metadataBytes);
-         InternalCacheEntry<WrappedBytes, WrappedBytes>  ice= internalEntryFactory.create(new WrappedByteArray(keyBytes, hashCode),
+         InternalCacheEntry<WrappedBytes, WrappedBytes>  ice= internalEntryFactory.create(keyWrappedBytes,
                valueWrappedBytes, metadata);
          ice.setInternalMetadata(internalMetadata);
          return ice;
@@ -358,28 +428,28 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
                break;
             case MORTAL:
                maxIdle = -1;
-               lifespan = Bits.getLong(metadataBytes, offset);
+               lifespan = loadLongBigEndian(address, metadataOffset + offset);
                offset += 8;
-               created = Bits.getLong(metadataBytes, offset);
+               created = loadLongBigEndian(address, metadataOffset + offset);
                offset += 8;
                lastUsed = -1;
                break;
             case TRANSIENT:
                lifespan = -1;
-               maxIdle = Bits.getLong(metadataBytes, offset);
+               maxIdle = loadLongBigEndian(address, metadataOffset + offset);
                offset += 8;
                created = -1;
-               lastUsed = Bits.getLong(metadataBytes, offset);
+               lastUsed = loadLongBigEndian(address, metadataOffset + offset);
                offset += 8;
                break;
             case TRANSIENT_MORTAL:
-               lifespan = Bits.getLong(metadataBytes, offset);
+               lifespan = loadLongBigEndian(address, metadataOffset + offset);
                offset += 8;
-               maxIdle = Bits.getLong(metadataBytes, offset);
+               maxIdle = loadLongBigEndian(address, metadataOffset + offset);
                offset += 8;
-               created = Bits.getLong(metadataBytes, offset);
+               created = loadLongBigEndian(address, metadataOffset + offset);
                offset += 8;
-               lastUsed = Bits.getLong(metadataBytes, offset);
+               lastUsed = loadLongBigEndian(address, metadataOffset + offset);
                offset += 8;
                break;
             default:
@@ -387,9 +457,10 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
          }
          if (hasVersion) {
             try {
-               EntryVersion version = (EntryVersion) marshaller.objectFromByteBuffer(metadataBytes, offset,
-                     metadataBytes.length - offset);
-               InternalCacheEntry<WrappedBytes, WrappedBytes>  ice= internalEntryFactory.create(new WrappedByteArray(keyBytes, hashCode),
+               byte[] versionBytes = new byte[metadataLength - offset];
+               MEMORY.getBytes(address, metadataOffset + offset, versionBytes, 0, versionBytes.length);
+               EntryVersion version = (EntryVersion) marshaller.objectFromByteBuffer(versionBytes);
+               InternalCacheEntry<WrappedBytes, WrappedBytes>  ice= internalEntryFactory.create(keyWrappedBytes,
                      valueWrappedBytes, version, created, lifespan, lastUsed, maxIdle);
                ice.setInternalMetadata(internalMetadata);
                return ice;
@@ -397,7 +468,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
                throw new CacheException(e);
             }
          } else {
-            InternalCacheEntry<WrappedBytes, WrappedBytes>  ice= internalEntryFactory.create(new WrappedByteArray(keyBytes, hashCode),
+            InternalCacheEntry<WrappedBytes, WrappedBytes>  ice= internalEntryFactory.create(keyWrappedBytes,
                   valueWrappedBytes, (Metadata) null, created, lifespan, lastUsed, maxIdle);
             ice.setInternalMetadata(internalMetadata);
             return ice;
@@ -466,7 +537,6 @@ public boolean isExpired(long address) {
 
       long now = timeService.wallClockTime();
 
-      byte[] metadataBytes;
       if ((metadataType & CUSTOM) == CUSTOM) {
          // TODO: this needs to be fixed in ISPN-8539
          return false;
@@ -487,30 +557,27 @@ public boolean isExpired(long address) {
 //            throw new CacheException(e);
 //         }
       } else {
-         // value and keyLength
-         offset += 4 + keyLength;
+         // value and internal metadata sizes and the key
+         offset += 4 + 4 + keyLength;
 
          // If it has version that means we wrote the size as well which goes after key length
          if ((metadataType & HAS_VERSION) != 0) {
             offset += 4;
          }
 
+         // The expiration longs are read in place, without copying them
          switch (metadataType & 0xFC) {
             case MORTAL:
-               metadataBytes = new byte[16];
-               MEMORY.getBytes(address, offset, metadataBytes, 0, metadataBytes.length);
-               return ExpiryHelper.isExpiredMortal(Bits.getLong(metadataBytes, 0), Bits.getLong(metadataBytes, 8), now);
+               return ExpiryHelper.isExpiredMortal(loadLongBigEndian(address, offset),
+                     loadLongBigEndian(address, offset + 8), now);
             case TRANSIENT:
-               metadataBytes = new byte[16];
-               MEMORY.getBytes(address, offset, metadataBytes, 0, metadataBytes.length);
-               return ExpiryHelper.isExpiredTransient(Bits.getLong(metadataBytes, 0), Bits.getLong(metadataBytes, 8), now);
+               return ExpiryHelper.isExpiredTransient(loadLongBigEndian(address, offset),
+                     loadLongBigEndian(address, offset + 8), now);
             case TRANSIENT_MORTAL:
-               metadataBytes = new byte[32];
-               MEMORY.getBytes(address, offset, metadataBytes, 0, metadataBytes.length);
-               long lifespan = Bits.getLong(metadataBytes, 0);
-               long maxIdle = Bits.getLong(metadataBytes, 8);
-               long created = Bits.getLong(metadataBytes, 16);
-               long lastUsed = Bits.getLong(metadataBytes, 24);
+               long lifespan = loadLongBigEndian(address, offset);
+               long maxIdle = loadLongBigEndian(address, offset + 8);
+               long created = loadLongBigEndian(address, offset + 16);
+               long lastUsed = loadLongBigEndian(address, offset + 24);
                return ExpiryHelper.isExpiredTransientMortal(maxIdle, lastUsed, lifespan, created, now);
             default:
                return false;
@@ -613,7 +680,7 @@ public long updateMaxIdle(long address, long currentTimeMillis) {
       if (newMetadataSize != metadataSize) {
          // The new marshalled size is different then before, we have to rewrite the object!
          // Offset is still set to the end of the key bytes (before metadata)
-         long newPointer = MEMORY.allocate(newMetadataSize + offset + valueSize + internalMetadataSize);
+         long newPointer = allocator.allocate(newMetadataSize + offset + valueSize + internalMetadataSize);
          // This writes the next pointer, eviction pointers (if applicable),
          // type, hashCode, keyLength, metadataLength, valueLength and key bytes.
          MEMORY.copy(address, 0, newPointer, 0, offset);
@@ -644,6 +711,15 @@ private void storeLongLittleEndian(long destAddres, long offset, long value) {
       MEMORY.putByte(destAddres, offset + 7, (byte) value);
    }
 
+   /**
+    * Reads a long that was written using {@link Bits#putLong(byte[], int, long)} straight from memory, so that
+    * no intermediate byte[] is required.
+    */
+   private static long loadLongBigEndian(long srcAddress, long offset) {
+      long value = MEMORY.getLong(srcAddress, offset);
+      return BIG_ENDIAN ? value : Long.reverseBytes(value);
+   }
+
    private <T> byte[] marshall(T obj) {
       try {
          return marshaller.objectToByteBuffer(obj);
@@ -0,0 +1,148 @@
+package org.infinispan.container.offheap;
+
+import org.infinispan.commons.util.Util;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Count-min sketch that estimates how often a key was accessed, used as the TinyLFU admission filter for the bounded
+ * off-heap containers. The counters are 4 bits wide and are stored in a native table of longs, 16 counters per long.
+ * <p>
+ * Every key maps to 4 counters, one for each hash function, and all of them are in the same group of 4 counters in
+ * their long. The estimated frequency is the minimum of those counters. Once the number of increments reaches the
+ * sample size all the counters are halved, so that the sketch keeps adapting to changes in the access pattern.
+ * <p>
+ * This class is not thread safe, the container must only invoke it while holding its LRU lock.
+ * @since 13.0
+ */
+class OffHeapFrequencySketch {
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+
+   static final int MAX_TABLE_LENGTH = 1 << 22;
+   private static final int SAMPLE_FACTOR = 10;
+
+   private static final long[] SEEDS = {
+         0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+   private static final long RESET_MASK = 0x7777777777777777L;
+   private static final long ONE_MASK = 0x1111111111111111L;
+
+   private final int tableLength;
+   private final int tableMask;
+   private final int sampleSize;
+
+   @GuardedBy("lruLock")
+   private long tableAddress;
+   @GuardedBy("lruLock")
+   private int size;
+
+   /**
+    * Creates a sketch sized to track the frequencies of the given number of entries. The native table is allocated
+    * immediately and must be released with {@link #free()}.
+    * @param expectedEntries how many entries the container is expected to hold
+    */
+   OffHeapFrequencySketch(long expectedEntries) {
+      int length = (int) Math.max(16, Math.min(expectedEntries, MAX_TABLE_LENGTH));
+      tableLength = Util.findNextHighestPowerOfTwo(length);
+      tableMask = tableLength - 1;
+      sampleSize = SAMPLE_FACTOR * tableLength;
+      tableAddress = MEMORY.allocate(memorySize());
+      for (int i = 0; i < tableLength; ++i) {
+         MEMORY.putLong(tableAddress, (long) i << 3, 0);
+      }
+   }
+
+   /**
+    * @return the amount of native memory used by the counters in bytes
+    */
+   long memorySize() {
+      return (long) tableLength << 3;
+   }
+
+   /**
+    * Returns the estimated number of times the key with the given hash code was accessed, up to 15.
+    * @param hashCode the hash code of the key
+    * @return the estimated frequency
+    */
+   int frequency(int hashCode) {
+      if (tableAddress == 0) {
+         return 0;
+      }
+      int hash = spread(hashCode);
+      int start = (hash & 3) << 2;
+      int frequency = Integer.MAX_VALUE;
+      for (int i = 0; i < 4; ++i) {
+         long counters = MEMORY.getLong(tableAddress, (long) indexOf(hash, i) << 3);
+         int count = (int) ((counters >>> ((start + i) << 2)) & 0xfL);
+         frequency = Math.min(frequency, count);
+      }
+      return frequency;
+   }
+
+   /**
+    * Records an access to the key with the given hash code. Counters that are already saturated are left untouched.
+    * @param hashCode the hash code of the key
+    */
+   void increment(int hashCode) {
+      if (tableAddress == 0) {
+         return;
+      }
+      int hash = spread(hashCode);
+      int start = (hash & 3) << 2;
+      boolean added = false;
+      for (int i = 0; i < 4; ++i) {
+         added |= incrementAt(indexOf(hash, i), start + i);
+      }
+      if (added && ++size == sampleSize) {
+         reset();
+      }
+   }
+
+   private boolean incrementAt(int index, int counter) {
+      long offset = (long) index << 3;
+      int shift = counter << 2;
+      long mask = 0xfL << shift;
+      long counters = MEMORY.getLong(tableAddress, offset);
+      if ((counters & mask) != mask) {
+         MEMORY.putLong(tableAddress, offset, counters + (1L << shift));
+         return true;
+      }
+      return false;
+   }
+
+   /**
+    * Halves all the counters, so that keys that were popular a long time ago don't stay in the cache forever.
+    */
+   void reset() {
+      int oddCounters = 0;
+      for (int i = 0; i < tableLength; ++i) {
+         long offset = (long) i << 3;
+         long counters = MEMORY.getLong(tableAddress, offset);
+         oddCounters += Long.bitCount(counters & ONE_MASK);
+         MEMORY.putLong(tableAddress, offset, (counters >>> 1) & RESET_MASK);
+      }
+      // Each increment touches 4 counters, so the odd counters lost at most a quarter of that many increments
+      size = (size - (oddCounters >>> 2)) >>> 1;
+   }
+
+   /**
+    * Releases the native table, after this the sketch reports every key as never accessed.
+    */
+   void free() {
+      if (tableAddress != 0) {
+         MEMORY.free(tableAddress);
+         tableAddress = 0;
+      }
+   }
+
+   private int indexOf(int hash, int i) {
+      long h = (hash + SEEDS[i]) * SEEDS[i];
+      h += h >>> 32;
+      return ((int) h) & tableMask;
+   }
+
+   private static int spread(int h) {
+      h = ((h >>> 16) ^ h) * 0x45d9f3b;
+      h = ((h >>> 16) ^ h) * 0x45d9f3b;
+      return (h >>> 16) ^ h;
+   }
+}
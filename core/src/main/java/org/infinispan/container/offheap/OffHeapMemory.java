@@ -159,6 +159,43 @@ long allocate(long size) {
       return address;
    }
 
+   /**
+    * Allocates a large region of memory that blocks are carved out of. The region itself is not tracked, instead
+    * each block must be registered via {@link #trackBlock(long, long)}.
+    */
+   long allocateArena(long size) {
+      return UNSAFE.allocateMemory(size);
+   }
+
+   void freeArena(long address) {
+      UNSAFE.freeMemory(address);
+   }
+
+   /**
+    * Registers a block of memory that was carved out of an arena, so that accesses to it can be verified when trace
+    * is enabled.
+    */
+   void trackBlock(long address, long size) {
+      if (log.isTraceEnabled()) {
+         Long prev = allocatedBlocks.put(address, size);
+         if (prev != null) {
+            throw new IllegalArgumentException();
+         }
+      }
+   }
+
+   /**
+    * Unregisters a block of memory that was registered via {@link #trackBlock(long, long)}.
+    */
+   void untrackBlock(long address) {
+      if (log.isTraceEnabled()) {
+         Long prev = allocatedBlocks.remove(address);
+         if (prev == null) {
+            throw new IllegalArgumentException();
+         }
+      }
+   }
+
    void free(long address) {
       if (log.isTraceEnabled()) {
          Long prev = allocatedBlocks.remove(address);
@@ -0,0 +1,70 @@
+package org.infinispan.container.offheap;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.infinispan.commons.marshall.WrappedBytes;
+
+/**
+ * A lease on the value bytes of an off-heap entry, returned by {@link OffHeapConcurrentMap#leaseValue(WrappedBytes)}.
+ * <p>
+ * While the lease is open the native memory of the entry is pinned, so it is not freed even if the entry is removed
+ * or replaced, or the map is cleared or resized, and {@link #value()} can read the bytes in place. The lease only
+ * holds back the memory of its own entry, but that memory is leaked if the lease is never closed, so it <b>MUST</b> be
+ * closed as soon as the value is no longer needed. The lease can be closed by any thread, such as the one that
+ * completed writing the value to a socket.
+ * <p>
+ * When the map frees memory eagerly, such as when it is bounded, the value is copied on heap instead and closing the
+ * lease does nothing, see {@link #isZeroCopy()}.
+ * @since 13.0
+ */
+public final class OffHeapValueLease implements AutoCloseable {
+   private static final AtomicIntegerFieldUpdater<OffHeapValueLease> CLOSED_UPDATER =
+         AtomicIntegerFieldUpdater.newUpdater(OffHeapValueLease.class, "closed");
+
+   private final ReadEpochReclaimer reclaimer;
+   private final long address;
+   private final WrappedBytes value;
+
+   private volatile int closed;
+
+   /**
+    * @param reclaimer the reclaimer that pinned the memory of the entry
+    * @param address the pinned address of the entry, unpinned when the lease is closed
+    */
+   OffHeapValueLease(ReadEpochReclaimer reclaimer, long address, int valueOffset, int valueLength) {
+      this.reclaimer = reclaimer;
+      this.address = address;
+      this.value = valueLength > 0 ? new OffHeapWrappedBytes(this, address, valueOffset, valueLength) : null;
+   }
+
+   OffHeapValueLease(WrappedBytes value) {
+      this.reclaimer = null;
+      this.address = 0;
+      this.value = value;
+   }
+
+   /**
+    * @return the value bytes or null if the entry has no value. Only valid until the lease is closed.
+    */
+   public WrappedBytes value() {
+      return value;
+   }
+
+   /**
+    * @return whether {@link #value()} reads the bytes in place from native memory
+    */
+   public boolean isZeroCopy() {
+      return reclaimer != null;
+   }
+
+   boolean isClosed() {
+      return closed != 0;
+   }
+
+   @Override
+   public void close() {
+      if (CLOSED_UPDATER.compareAndSet(this, 0, 1) && reclaimer != null) {
+         reclaimer.unpin(address);
+      }
+   }
+}
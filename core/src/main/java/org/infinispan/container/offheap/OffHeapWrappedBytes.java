@@ -0,0 +1,117 @@
+package org.infinispan.container.offheap;
+
+import org.infinispan.commons.marshall.WrappedBytes;
+
+/**
+ * {@link WrappedBytes} that reads the bytes in place from native memory, without copying them on heap. It is only
+ * valid while the {@link OffHeapValueLease} that created it is open, using it afterwards throws an
+ * {@link IllegalStateException}.
+ * <p>
+ * There is no backing array, so {@link #getBytes()} returns null. The bytes can be copied with
+ * {@link #copyTo(byte[], int)} or written directly from {@link #getAddress()}, such as by wrapping the region in a
+ * buffer of the transport.
+ * @since 13.0
+ */
+public final class OffHeapWrappedBytes implements WrappedBytes {
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+
+   private final OffHeapValueLease lease;
+   private final long address;
+   private final int offset;
+   private final int length;
+   private int hashCode;
+   private boolean initializedHashCode;
+
+   OffHeapWrappedBytes(OffHeapValueLease lease, long address, int offset, int length) {
+      this.lease = lease;
+      this.address = address;
+      this.offset = offset;
+      this.length = length;
+   }
+
+   /**
+    * @return the address of the first byte in native memory
+    */
+   public long getAddress() {
+      checkLeased();
+      return address + offset;
+   }
+
+   @Override
+   public byte[] getBytes() {
+      return null;
+   }
+
+   @Override
+   public int backArrayOffset() {
+      return -1;
+   }
+
+   @Override
+   public int getLength() {
+      return length;
+   }
+
+   @Override
+   public byte getByte(int offset) {
+      if (offset < 0 || offset >= length) {
+         throw new IndexOutOfBoundsException("Offset " + offset + " is not within length " + length);
+      }
+      checkLeased();
+      return MEMORY.getByte(address, this.offset + offset);
+   }
+
+   /**
+    * Copies all the bytes to the given array.
+    * @param dest the array to copy the bytes to
+    * @param destOffset the position in the array of the first byte
+    */
+   public void copyTo(byte[] dest, int destOffset) {
+      if (destOffset < 0 || destOffset + length > dest.length) {
+         throw new IndexOutOfBoundsException("Array of length " + dest.length + " cannot hold " + length +
+               " bytes at offset " + destOffset);
+      }
+      checkLeased();
+      MEMORY.getBytes(address, offset, dest, destOffset, length);
+   }
+
+   /**
+    * @return a copy of the bytes on heap
+    */
+   public byte[] toByteArray() {
+      byte[] bytes = new byte[length];
+      copyTo(bytes, 0);
+      return bytes;
+   }
+
+   private void checkLeased() {
+      if (lease.isClosed()) {
+         throw new IllegalStateException("The lease of the off-heap value was already closed");
+      }
+   }
+
+   @Override
+   public int hashCode() {
+      if (!initializedHashCode) {
+         // Same as Arrays.hashCode(byte[]), so that it is equal to a WrappedByteArray with the same bytes
+         int result = 1;
+         for (int i = 0; i < length; ++i) {
+            result = 31 * result + getByte(i);
+         }
+         hashCode = result;
+         initializedHashCode = true;
+      }
+      return hashCode;
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) return true;
+      return o instanceof WrappedBytes && equalsWrappedBytes((WrappedBytes) o);
+   }
+
+   @Override
+   public String toString() {
+      return "OffHeapWrappedBytes{address=" + address + ", offset=" + offset + ", length=" + length + '}';
+   }
+}
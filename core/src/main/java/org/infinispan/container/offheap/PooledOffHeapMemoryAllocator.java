@@ -0,0 +1,232 @@
+package org.infinispan.container.offheap;
+
+import static org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator.estimateSizeOverhead;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Memory allocator that carves blocks out of large arenas instead of allocating each entry with the native allocator.
+ * <p>
+ * Blocks are grouped in size classes that are 16 bytes apart, which is the same rounding as
+ * {@link UnpooledOffHeapMemoryAllocator#estimateSizeOverhead(long)}, so the allocated amount reported is the same
+ * as for the unpooled allocator. Freed blocks are kept in the pool of their size class and are reused by later
+ * allocations, thus memory reserved for arenas is never returned to the native allocator until the cache is stopped.
+ * Allocations larger than {@link #MAX_POOLED_SIZE} are not pooled.
+ * <p>
+ * The pools are striped by thread to reduce contention, a thread will only look at the other pools when its own pool
+ * doesn't have a free block of the required size class.
+ * @since 13.0
+ */
+@MBean(objectName = "OffHeapMemoryAllocator", description = "Pooled allocator of the off-heap memory used by the cache")
+@Scope(Scopes.NAMED_CACHE)
+public class PooledOffHeapMemoryAllocator implements OffHeapMemoryAllocator {
+   private static final Log log = LogFactory.getLog(PooledOffHeapMemoryAllocator.class, Log.class);
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+
+   private static final int SIZE_CLASS_SHIFT = 4;
+   static final int MAX_POOLED_SIZE = 4096;
+   static final long ARENA_SIZE = 1 << 20;
+
+   private final Pool[] pools;
+   private final int poolMask;
+   private final LongAdder amountAllocated = new LongAdder();
+   private final LongAdder pooledFreeAmount = new LongAdder();
+
+   @GuardedBy("this")
+   private long[] arenas = new long[16];
+   @GuardedBy("this")
+   private int arenaCount;
+
+   public PooledOffHeapMemoryAllocator() {
+      int poolCount = Util.findNextHighestPowerOfTwo(ProcessorInfo.availableProcessors());
+      pools = new Pool[poolCount];
+      for (int i = 0; i < poolCount; ++i) {
+         pools[i] = new Pool();
+      }
+      poolMask = poolCount - 1;
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      long estimatedMemoryLength = estimateSizeOverhead(memoryLength);
+      long memoryLocation;
+      if (estimatedMemoryLength > MAX_POOLED_SIZE) {
+         memoryLocation = MEMORY.allocate(memoryLength);
+      } else {
+         memoryLocation = allocateBlock((int) estimatedMemoryLength);
+         MEMORY.trackBlock(memoryLocation, memoryLength);
+      }
+      amountAllocated.add(estimatedMemoryLength);
+      if (log.isTraceEnabled()) {
+         log.tracef("Allocated off-heap memory at 0x%016x with %d bytes. Total size: %d", memoryLocation,
+               estimatedMemoryLength, amountAllocated.sum());
+      }
+      return memoryLocation;
+   }
+
+   private long allocateBlock(int blockSize) {
+      int sizeClass = blockSize >>> SIZE_CLASS_SHIFT;
+      int poolOffset = poolOffset();
+      Pool pool = pools[poolOffset];
+      long address = pool.poll(sizeClass);
+      // Reuse a block freed into another pool before carving out new memory
+      for (int i = 1; address == 0 && i < pools.length; ++i) {
+         address = pools[(poolOffset + i) & poolMask].poll(sizeClass);
+      }
+      if (address == 0) {
+         return pool.carve(blockSize);
+      }
+      pooledFreeAmount.add(-blockSize);
+      return address;
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      long estimatedMemoryLength = estimateSizeOverhead(size);
+      amountAllocated.add(-estimatedMemoryLength);
+      if (log.isTraceEnabled()) {
+         log.tracef("Deallocating off-heap memory at 0x%016x with %d bytes. Total size: %d", memoryAddress,
+               estimatedMemoryLength, amountAllocated.sum());
+      }
+      if (estimatedMemoryLength > MAX_POOLED_SIZE) {
+         MEMORY.free(memoryAddress);
+      } else {
+         MEMORY.untrackBlock(memoryAddress);
+         pools[poolOffset()].offer(memoryAddress, (int) (estimatedMemoryLength >>> SIZE_CLASS_SHIFT));
+         pooledFreeAmount.add(estimatedMemoryLength);
+      }
+   }
+
+   private int poolOffset() {
+      return ((int) Thread.currentThread().getId()) & poolMask;
+   }
+
+   private synchronized long reserveArena() {
+      long address = MEMORY.allocateArena(ARENA_SIZE);
+      if (arenaCount == arenas.length) {
+         arenas = Arrays.copyOf(arenas, arenaCount << 1);
+      }
+      arenas[arenaCount++] = address;
+      if (log.isTraceEnabled()) {
+         log.tracef("Reserved off-heap arena at 0x%016x with %d bytes. Total arenas: %d", address, ARENA_SIZE,
+               arenaCount);
+      }
+      return address;
+   }
+
+   /**
+    * Releases all the arenas back to the native allocator. Any memory that was not deallocated before is no longer
+    * valid after this.
+    */
+   @Stop
+   public void stop() {
+      // Pools acquire the allocator lock when reserving an arena, so never hold it while clearing them
+      for (Pool pool : pools) {
+         pool.clear();
+      }
+      synchronized (this) {
+         for (int i = 0; i < arenaCount; ++i) {
+            MEMORY.freeArena(arenas[i]);
+         }
+         arenaCount = 0;
+      }
+      pooledFreeAmount.reset();
+   }
+
+   @ManagedAttribute(description = "Amount of off-heap memory in use by the cache (bytes)", displayName = "Allocated memory")
+   @Override
+   public long getAllocatedAmount() {
+      return amountAllocated.sum();
+   }
+
+   @ManagedAttribute(description = "Number of arenas reserved from the native allocator", displayName = "Arena count")
+   public synchronized int getArenaCount() {
+      return arenaCount;
+   }
+
+   @ManagedAttribute(description = "Amount of off-heap memory reserved for arenas (bytes)", displayName = "Reserved arena memory")
+   public synchronized long getArenaReservedAmount() {
+      return arenaCount * ARENA_SIZE;
+   }
+
+   @ManagedAttribute(description = "Amount of arena memory that was freed and is available for reuse (bytes)", displayName = "Pooled free memory")
+   public long getPooledFreeAmount() {
+      return pooledFreeAmount.sum();
+   }
+
+   @ManagedAttribute(description = "Percentage of the reserved arena memory that is free in the pools", displayName = "Arena fragmentation")
+   public double getFragmentation() {
+      long reserved = getArenaReservedAmount();
+      return reserved == 0 ? 0 : 100d * pooledFreeAmount.sum() / reserved;
+   }
+
+   private class Pool {
+      // Stack of free block addresses for each size class
+      @GuardedBy("this")
+      private final long[][] freeBlocks = new long[(MAX_POOLED_SIZE >>> SIZE_CLASS_SHIFT) + 1][];
+      @GuardedBy("this")
+      private final int[] freeCounts = new int[freeBlocks.length];
+      // Arena blocks of this pool are currently carved from, a new arena is reserved when it is exhausted
+      @GuardedBy("this")
+      private long arenaAddress;
+      @GuardedBy("this")
+      private long arenaOffset = ARENA_SIZE;
+
+      synchronized long poll(int sizeClass) {
+         int count = freeCounts[sizeClass];
+         if (count == 0) {
+            return 0;
+         }
+         freeCounts[sizeClass] = --count;
+         return freeBlocks[sizeClass][count];
+      }
+
+      synchronized void offer(long address, int sizeClass) {
+         long[] blocks = freeBlocks[sizeClass];
+         int count = freeCounts[sizeClass];
+         if (blocks == null) {
+            blocks = freeBlocks[sizeClass] = new long[16];
+         } else if (count == blocks.length) {
+            blocks = freeBlocks[sizeClass] = Arrays.copyOf(blocks, count << 1);
+         }
+         blocks[count] = address;
+         freeCounts[sizeClass] = count + 1;
+      }
+
+      synchronized long carve(int blockSize) {
+         if (arenaOffset + blockSize > ARENA_SIZE) {
+            // The tail of the arena is always a multiple of 16 and smaller than the block, so it can be pooled
+            int remaining = (int) (ARENA_SIZE - arenaOffset);
+            if (remaining > 0) {
+               offer(arenaAddress + arenaOffset, remaining >>> SIZE_CLASS_SHIFT);
+               pooledFreeAmount.add(remaining);
+            }
+            arenaAddress = reserveArena();
+            arenaOffset = 0;
+         }
+         long address = arenaAddress + arenaOffset;
+         arenaOffset += blockSize;
+         return address;
+      }
+
+      synchronized void clear() {
+         Arrays.fill(freeBlocks, null);
+         Arrays.fill(freeCounts, 0);
+         arenaAddress = 0;
+         arenaOffset = ARENA_SIZE;
+      }
+   }
+}
@@ -0,0 +1,320 @@
+package org.infinispan.container.offheap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Defers the deallocation of off-heap memory that may still be referenced by readers that do not hold a lock, such as
+ * the optimistic reads performed by {@link OffHeapConcurrentMap}.
+ * <p>
+ * This uses a two epoch grace period. A reader registers itself in the current epoch before touching any memory and
+ * deregisters once it is done. Memory that is retired is added to the list of the current epoch. When reclaiming, the
+ * epoch is flipped and the memory retired in the previous epoch is only deallocated after all readers that registered
+ * in that epoch have completed. Note that the epoch is not flipped again until the pending memory has been released.
+ * <p>
+ * Readers only update a counter that is striped by thread, with each counter padded to its own cache line, so that
+ * concurrent readers do not contend on the same memory. Retired memory is also kept in lists striped by thread, so
+ * that concurrent writers only contend with the writers of the same stripe.
+ * <p>
+ * A reclaim is attempted when a stripe has {@link #RECLAIM_THRESHOLD} retired addresses or
+ * {@link #RECLAIM_BYTES_THRESHOLD} retired bytes in the current epoch, or when no reclaim was attempted for
+ * {@link #RECLAIM_INTERVAL_NANOS}, so that large or infrequent removals do not keep the memory around.
+ * <p>
+ * Memory that must outlive a read, such as the value of an {@link OffHeapValueLease}, is pinned instead of keeping the
+ * reader registered, so that a long-lived lease does not hold back the reclaim of other memory or make
+ * {@link #quiesce()} wait. Freeing pinned memory is deferred until the last pin is released.
+ * @since 13.0
+ */
+class ReadEpochReclaimer {
+   // Each counter takes up 8 longs (64 bytes) to prevent false sharing
+   private static final int PADDING_SHIFT = 3;
+   // How many addresses a stripe can retire before we attempt to reclaim them
+   static final int RECLAIM_THRESHOLD = 256;
+   // How many bytes a stripe can retire before we attempt to reclaim them
+   static final long RECLAIM_BYTES_THRESHOLD = 1 << 20;
+   // How long retired memory can wait before we attempt to reclaim it
+   static final long RECLAIM_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+   private final OffHeapMemoryAllocator allocator;
+   private final long reclaimIntervalNanos;
+   private final int stripeMask;
+   private final AtomicLongArray readers;
+   private final RetiredStripe[] retired;
+   private final PinStripe[] pinned;
+   private final ReentrantLock reclaimLock = new ReentrantLock();
+
+   private volatile int epoch;
+   private volatile long lastReclaimNanos;
+
+   // The epoch that was flipped from but still has readers present or -1 if there is none
+   @GuardedBy("reclaimLock")
+   private int drainingEpoch = -1;
+
+   ReadEpochReclaimer(OffHeapMemoryAllocator allocator) {
+      this(allocator, RECLAIM_INTERVAL_NANOS);
+   }
+
+   ReadEpochReclaimer(OffHeapMemoryAllocator allocator, long reclaimIntervalNanos) {
+      this.allocator = allocator;
+      this.reclaimIntervalNanos = reclaimIntervalNanos;
+      int stripes = Util.findNextHighestPowerOfTwo(ProcessorInfo.availableProcessors()) << 1;
+      this.stripeMask = stripes - 1;
+      this.readers = new AtomicLongArray((stripes << 1) << PADDING_SHIFT);
+      this.retired = new RetiredStripe[stripes];
+      this.pinned = new PinStripe[stripes];
+      for (int i = 0; i < stripes; ++i) {
+         retired[i] = new RetiredStripe();
+         pinned[i] = new PinStripe();
+      }
+      this.lastReclaimNanos = System.nanoTime();
+   }
+
+   private int counterIndex(int epoch, int stripe) {
+      return ((stripe << 1) | epoch) << PADDING_SHIFT;
+   }
+
+   private int currentStripe() {
+      return ((int) Thread.currentThread().getId()) & stripeMask;
+   }
+
+   /**
+    * Registers the current thread as a reader. No retired memory that was reachable after this method returns will
+    * be deallocated until {@link #exit(int)} is invoked with the returned value.
+    * @return the reader token to pass to {@link #exit(int)}
+    */
+   int enter() {
+      int stripe = currentStripe();
+      while (true) {
+         int currentEpoch = epoch;
+         int index = counterIndex(currentEpoch, stripe);
+         readers.incrementAndGet(index);
+         // If the epoch changed we may not have been seen by the reclaimer, so register again
+         if (currentEpoch == epoch) {
+            return index;
+         }
+         readers.decrementAndGet(index);
+      }
+   }
+
+   /**
+    * Deregisters a reader that was registered via {@link #enter()}.
+    * @param token the value returned from {@link #enter()}
+    */
+   void exit(int token) {
+      readers.decrementAndGet(token);
+   }
+
+   /**
+    * Prevents the memory at the given address from being deallocated until {@link #unpin(long)} is invoked, even after
+    * the reader deregisters. The caller must be registered as a reader and the memory must have been reachable after
+    * it registered.
+    * @param memoryAddress the address to pin
+    */
+   void pin(long memoryAddress) {
+      PinStripe stripe = pinStripe(memoryAddress);
+      synchronized (stripe) {
+         stripe.pins.merge(memoryAddress, 1, Integer::sum);
+      }
+   }
+
+   /**
+    * Releases a pin taken via {@link #pin(long)}, deallocating the memory if it was freed while pinned.
+    * @param memoryAddress the address that was pinned
+    */
+   void unpin(long memoryAddress) {
+      PinStripe stripe = pinStripe(memoryAddress);
+      Long size;
+      synchronized (stripe) {
+         if (stripe.pins.merge(memoryAddress, -1, Integer::sum) > 0) {
+            return;
+         }
+         stripe.pins.remove(memoryAddress);
+         size = stripe.deferred.remove(memoryAddress);
+      }
+      if (size != null) {
+         allocator.deallocate(memoryAddress, size);
+      }
+   }
+
+   /**
+    * Deallocates memory that no reader can reference anymore, unless it is pinned, in which case it is deallocated
+    * when the last pin is released. No new pin can be taken on the memory, as it is not reachable by new readers.
+    * @param memoryAddress the address to deallocate
+    * @param size the size that was provided when allocating the memory
+    */
+   void free(long memoryAddress, long size) {
+      PinStripe stripe = pinStripe(memoryAddress);
+      synchronized (stripe) {
+         if (stripe.pins.containsKey(memoryAddress)) {
+            stripe.deferred.put(memoryAddress, size);
+            return;
+         }
+      }
+      allocator.deallocate(memoryAddress, size);
+   }
+
+   private PinStripe pinStripe(long memoryAddress) {
+      // Allocations are aligned, so the low bits carry little information
+      return pinned[Long.hashCode(memoryAddress * 0x9E3779B97F4A7C15L) >>> 16 & stripeMask];
+   }
+
+   /**
+    * Retires the memory at the given address, which will be deallocated once no reader can reference it. The memory
+    * must no longer be reachable by new readers when invoked.
+    * @param memoryAddress the address to deallocate
+    * @param size the size that was provided when allocating the memory
+    */
+   void retire(long memoryAddress, long size) {
+      RetiredStripe stripe = retired[currentStripe()];
+      boolean full;
+      synchronized (stripe) {
+         // Reading the epoch while holding the stripe lock guarantees the memory is added to the list before
+         // the reclaimer can deallocate the list of that epoch
+         full = stripe.add(epoch, memoryAddress, size);
+      }
+      if (full || System.nanoTime() - lastReclaimNanos >= reclaimIntervalNanos) {
+         tryReclaim();
+      }
+   }
+
+   private void tryReclaim() {
+      // Another thread is already reclaiming
+      if (!reclaimLock.tryLock()) {
+         return;
+      }
+      try {
+         lastReclaimNanos = System.nanoTime();
+         if (drainingEpoch >= 0) {
+            if (hasReaders(drainingEpoch)) {
+               return;
+            }
+            deallocate(drainingEpoch);
+            drainingEpoch = -1;
+         }
+         int previousEpoch = epoch;
+         if (!hasRetired(previousEpoch)) {
+            return;
+         }
+         epoch = 1 - previousEpoch;
+         if (hasReaders(previousEpoch)) {
+            drainingEpoch = previousEpoch;
+         } else {
+            deallocate(previousEpoch);
+         }
+      } finally {
+         reclaimLock.unlock();
+      }
+   }
+
+   /**
+    * Waits until there are no registered readers and then deallocates all retired memory that is not pinned. The
+    * caller must guarantee that new readers cannot access any memory, such as by holding all write locks of the map.
+    * Pinned memory does not make this method wait.
+    */
+   void quiesce() {
+      reclaimLock.lock();
+      try {
+         while (hasReaders(0) || hasReaders(1)) {
+            Thread.yield();
+         }
+         deallocate(0);
+         deallocate(1);
+         drainingEpoch = -1;
+      } finally {
+         reclaimLock.unlock();
+      }
+   }
+
+   private boolean hasReaders(int epoch) {
+      for (int stripe = 0; stripe <= stripeMask; ++stripe) {
+         if (readers.get(counterIndex(epoch, stripe)) != 0) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private boolean hasRetired(int epoch) {
+      for (RetiredStripe stripe : retired) {
+         synchronized (stripe) {
+            if (stripe.count[epoch] > 0) {
+               return true;
+            }
+         }
+      }
+      return false;
+   }
+
+   @GuardedBy("reclaimLock")
+   private void deallocate(int epoch) {
+      for (RetiredStripe stripe : retired) {
+         synchronized (stripe) {
+            stripe.deallocate(epoch, this);
+         }
+      }
+   }
+
+   /**
+    * The memory retired by the threads of a stripe, guarded by the stripe monitor.
+    */
+   private static final class RetiredStripe {
+      // Address and size pairs of retired memory for each epoch
+      private final long[][] addresses = new long[2][];
+      private final int[] count = new int[2];
+      private final long[] bytes = new long[2];
+
+      RetiredStripe() {
+         addresses[0] = new long[RECLAIM_THRESHOLD << 1];
+         addresses[1] = new long[RECLAIM_THRESHOLD << 1];
+      }
+
+      /**
+       * @return {@code true} if the stripe has enough memory retired in the epoch to attempt a reclaim
+       */
+      boolean add(int epoch, long memoryAddress, long size) {
+         int n = count[epoch];
+         long[] pairs = addresses[epoch];
+         if ((n << 1) == pairs.length) {
+            pairs = addresses[epoch] = Arrays.copyOf(pairs, pairs.length << 1);
+         }
+         pairs[n << 1] = memoryAddress;
+         pairs[(n << 1) + 1] = size;
+         count[epoch] = n + 1;
+         bytes[epoch] += size;
+         return n + 1 >= RECLAIM_THRESHOLD || bytes[epoch] >= RECLAIM_BYTES_THRESHOLD;
+      }
+
+      void deallocate(int epoch, ReadEpochReclaimer reclaimer) {
+         long[] pairs = addresses[epoch];
+         int n = count[epoch];
+         for (int i = 0; i < n; ++i) {
+            reclaimer.free(pairs[i << 1], pairs[(i << 1) + 1]);
+         }
+         count[epoch] = 0;
+         bytes[epoch] = 0;
+         // Don't keep a large list after a burst of removals
+         if (pairs.length > RECLAIM_THRESHOLD << 3) {
+            addresses[epoch] = new long[RECLAIM_THRESHOLD << 1];
+         }
+      }
+   }
+
+   /**
+    * The memory pinned by the addresses of a stripe, guarded by the stripe monitor.
+    */
+   private static final class PinStripe {
+      // The number of pins of each pinned address
+      private final Map<Long, Integer> pins = new HashMap<>();
+      // The size of the pinned memory that was freed and must be deallocated once unpinned
+      private final Map<Long, Long> deferred = new HashMap<>();
+   }
+}
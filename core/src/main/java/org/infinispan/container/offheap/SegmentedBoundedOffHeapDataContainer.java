@@ -7,6 +7,7 @@
 import java.util.function.Supplier;
 
 import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.AbstractDelegatingInternalDataContainer;
 import org.infinispan.container.impl.AbstractInternalDataContainer;
@@ -30,6 +31,14 @@
 import org.infinispan.util.logging.LogFactory;
 
 /**
+ * Off-heap data container that evicts entries once the configured count or memory size is exceeded. Entries are kept
+ * in a native LRU list and by default the least recently used entry is evicted.
+ * <p>
+ * With the {@link OffHeapEvictionPolicy#TINY_LFU} policy the container also keeps an {@link OffHeapFrequencySketch} of
+ * the accesses, including gets for missing keys. When an entry has to be evicted the most recently created entry is
+ * compared to the head of the LRU list and only the one that was accessed more frequently is kept, thus keys read only
+ * once by a scan cannot displace the hot entries. When the size is memory based the native memory of the sketch is
+ * included in the size of the container.
  * @author wburns
  * @since 9.4
  */
@@ -52,16 +61,27 @@ public class SegmentedBoundedOffHeapDataContainer extends AbstractDelegatingInte
    protected final Lock lruLock;
    protected final boolean useCount;
    protected final int numSegments;
+   protected final boolean tinyLfu;
 
    // Must be updated inside lruLock#writeLock - but can be read outside of lock
    protected volatile long currentSize;
    protected long firstAddress;
    protected long lastAddress;
+   // Only used with TinyLFU, must be read and updated inside lruLock
+   protected OffHeapFrequencySketch frequencySketch;
+   // The last entry created, which must be admitted before evicting the head of the LRU list - 0 if none
+   protected long admissionCandidate;
 
    protected DefaultSegmentedDataContainer dataContainer;
 
    public SegmentedBoundedOffHeapDataContainer(int numSegments, long maxSize, EvictionType type) {
+      this(numSegments, maxSize, type, OffHeapEvictionPolicy.LRU);
+   }
+
+   public SegmentedBoundedOffHeapDataContainer(int numSegments, long maxSize, EvictionType type,
+         OffHeapEvictionPolicy policy) {
       this.numSegments = numSegments;
+      this.tinyLfu = policy == OffHeapEvictionPolicy.TINY_LFU;
       offHeapListener = new OffHeapListener();
 
       this.maxSize = maxSize;
@@ -75,12 +95,38 @@ public SegmentedBoundedOffHeapDataContainer(int numSegments, long maxSize, Evict
 
    @Start
    public void start() {
+      if (tinyLfu) {
+         // Without a count we assume entries of about 128 bytes, so the sketch uses at most 1/16 of the memory
+         OffHeapFrequencySketch sketch = new OffHeapFrequencySketch(useCount ? maxSize : maxSize >>> 7);
+         lruLock.lock();
+         try {
+            frequencySketch = sketch;
+            if (!useCount) {
+               currentSize += UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(sketch.memorySize());
+            }
+         } finally {
+            lruLock.unlock();
+         }
+      }
       dataContainer.start();
    }
 
    @Stop(priority = 999)
    public void stop() {
       dataContainer.stop();
+      if (frequencySketch != null) {
+         lruLock.lock();
+         try {
+            if (!useCount) {
+               currentSize -= UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(frequencySketch.memorySize());
+            }
+            frequencySketch.free();
+            frequencySketch = null;
+            admissionCandidate = 0;
+         } finally {
+            lruLock.unlock();
+         }
+      }
    }
 
    @Override
@@ -172,17 +218,20 @@ private void ensureSize() {
             }
             // We shouldn't be able to get into this state
             assert firstAddress > 0;
+            long evictionAddress = selectEvictionAddress();
             // We read the key before hashCode due to how off-heap bytes are written (key requires reading metadata
             // which comes before hashCode, which should keep hashCode bytes in memory register in most cases)
-            byte[] key = offHeapEntryFactory.getKey(firstAddress);
+            byte[] key = offHeapEntryFactory.getKey(evictionAddress);
 
             map = getMapThatContainsKey(key);
             if (map != null) {
-               int hashCode = offHeapEntryFactory.getHashCode(firstAddress);
+               int hashCode = offHeapEntryFactory.getHashCode(evictionAddress);
                // This is always non null
                stampedLock = map.getStampedLock(hashCode);
                if ((writeStamp = stampedLock.tryWriteLock()) != 0) {
-                  addressToRemove = firstAddress;
+                  addressToRemove = evictionAddress;
+                  // The candidate was either admitted or is being evicted now, either way it is decided
+                  admissionCandidate = 0;
                } else {
                   addressToRemove = 0;
                }
@@ -206,15 +255,17 @@ private void ensureSize() {
                   if (currentSize <= maxSize) {
                      break;
                   }
-                  // Now that we have locks we have to verify the first address is protected by the same lock still
-                  byte[] key = offHeapEntryFactory.getKey(firstAddress);
+                  // Now that we have locks we have to verify the address to evict is protected by the same lock still
+                  long evictionAddress = selectEvictionAddress();
+                  byte[] key = offHeapEntryFactory.getKey(evictionAddress);
 
                   OffHeapConcurrentMap protectedMap = getMapThatContainsKey(key);
                   if (protectedMap == map) {
-                     int hashCode = offHeapEntryFactory.getHashCode(firstAddress);
+                     int hashCode = offHeapEntryFactory.getHashCode(evictionAddress);
                      StampedLock innerLock = map.getStampedLock(hashCode);
                      if (innerLock == stampedLock) {
-                        addressToRemove = firstAddress;
+                        addressToRemove = evictionAddress;
+                        admissionCandidate = 0;
                      }
                   }
                } finally {
@@ -245,6 +296,41 @@ private void ensureSize() {
       }
    }
 
+   /**
+    * Returns the address of the next entry to evict. This is the head of the LRU list, unless TinyLFU is used and the
+    * admission candidate was not accessed more frequently than the head, in which case the candidate is rejected by
+    * evicting it instead.
+    * This method should only be invoked after acquiring the lruLock
+    *
+    * @return the address of the entry to evict
+    */
+   private long selectEvictionAddress() {
+      long candidate = admissionCandidate;
+      if (candidate == 0 || candidate == firstAddress) {
+         return firstAddress;
+      }
+      int candidateFrequency = frequencySketch.frequency(offHeapEntryFactory.getHashCode(candidate));
+      int victimFrequency = frequencySketch.frequency(offHeapEntryFactory.getHashCode(firstAddress));
+      if (candidateFrequency > victimFrequency) {
+         return firstAddress;
+      }
+      if (log.isTraceEnabled()) {
+         log.tracef("Rejecting entry 0x%016x with frequency %d as it is not more frequent than LRU head 0x%016x with frequency %d",
+               candidate, candidateFrequency, firstAddress, victimFrequency);
+      }
+      return candidate;
+   }
+
+   /**
+    * Records an access to the entry at the given address in the frequency sketch, if TinyLFU is used.
+    * This method should only be invoked after acquiring the lruLock
+    */
+   private void recordAccess(long entryAddress) {
+      if (frequencySketch != null) {
+         frequencySketch.increment(offHeapEntryFactory.getHashCode(entryAddress));
+      }
+   }
+
    private class OffHeapMapSupplier implements Supplier<PeekableTouchableMap<WrappedBytes,
             WrappedBytes>> {
       @Override
@@ -292,6 +378,10 @@ public void entryCreated(long newAddress) {
          try {
             currentSize += newSize;
             addEntryAddressToEnd(newAddress);
+            if (frequencySketch != null) {
+               recordAccess(newAddress);
+               admissionCandidate = newAddress;
+            }
          } finally {
             lruLock.unlock();
          }
@@ -305,6 +395,9 @@ public void entryRemoved(long removedAddress) {
             // Current size has to be updated in the lock
             currentSize -=  removedSize;
             removeNode(removedAddress);
+            if (removedAddress == admissionCandidate) {
+               admissionCandidate = 0;
+            }
          } finally {
             lruLock.unlock();
          }
@@ -318,6 +411,10 @@ public void entryReplaced(long newAddress, long oldAddress) {
          try {
             removeNode(oldAddress);
             addEntryAddressToEnd(newAddress);
+            recordAccess(newAddress);
+            if (oldAddress == admissionCandidate) {
+               admissionCandidate = newAddress;
+            }
 
             currentSize += newSize;
             currentSize -= oldSize;
@@ -334,6 +431,23 @@ public void entryRetrieved(long entryAddress) {
                log.tracef("Moving entry 0x%016x to the end of the LRU list", entryAddress);
             }
             moveToEnd(entryAddress);
+            recordAccess(entryAddress);
+         } finally {
+            lruLock.unlock();
+         }
+      }
+
+      @Override
+      public void entryMissed(int hashCode) {
+         if (!tinyLfu) {
+            return;
+         }
+         lruLock.lock();
+         try {
+            // Counting misses lets an entry that is loaded after a miss win admission over a colder LRU head
+            if (frequencySketch != null) {
+               frequencySketch.increment(hashCode);
+            }
          } finally {
             lruLock.unlock();
          }
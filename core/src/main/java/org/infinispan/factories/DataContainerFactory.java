@@ -79,9 +79,10 @@ public Object construct(String componentName) {
          if (shouldSegment) {
             int segments = clusteringConfiguration.hash().numSegments();
             dataContainer = new SegmentedBoundedOffHeapDataContainer(segments, thresholdSize,
-                  memoryConfiguration.evictionType());
+                  memoryConfiguration.evictionType(), memoryConfiguration.evictionPolicy());
          } else {
-            dataContainer = new BoundedOffHeapDataContainer(thresholdSize, memoryConfiguration.evictionType());
+            dataContainer = new BoundedOffHeapDataContainer(thresholdSize, memoryConfiguration.evictionType(),
+                  memoryConfiguration.evictionPolicy());
          }
       } else if (shouldSegment) {
          int segments = clusteringConfiguration.hash().numSegments();
@@ -89,6 +89,7 @@ public abstract class BaseDistributionInterceptor extends ClusteringInterceptor
 
    protected boolean isL1Enabled;
    protected boolean isReplicated;
+   private RemoteGetCollapser<SuccessfulResponse> remoteGetCollapser;
 
    private final ReadOnlyManyHelper readOnlyManyHelper = new ReadOnlyManyHelper();
    private final InvocationSuccessFunction<AbstractDataWriteCommand> primaryReturnHandler = this::primaryReturnHandler;
@@ -103,6 +104,37 @@ public void configure() {
       // Can't rely on the super injectConfiguration() to be called before our injectDependencies() method2
       isL1Enabled = cacheConfiguration.clustering().l1().enabled();
       isReplicated = cacheConfiguration.clustering().cacheMode().isReplicated();
+      if (cacheConfiguration.clustering().collapseRemoteGets() &&
+            !cacheConfiguration.transaction().transactionMode().isTransactional()) {
+         remoteGetCollapser = new RemoteGetCollapser<>();
+      }
+   }
+
+   /**
+    * @return the number of reads that shared the remote get of another read of the same key, when
+    * {@link org.infinispan.configuration.cache.ClusteringConfiguration#collapseRemoteGets()} is enabled
+    */
+   public long getCollapsedRemoteGets() {
+      return remoteGetCollapser != null ? remoteGetCollapser.getCollapsedGets() : 0;
+   }
+
+   /**
+    * Makes the reads that start after a write from this node completes send a new remote get for the written keys,
+    * instead of joining a remote get that was sent before the write.
+    */
+   protected Object keysWrittenOnCompletion(InvocationContext ctx, WriteCommand command, Object rv) {
+      if (remoteGetCollapser == null || !ctx.isOriginLocal()) {
+         return rv;
+      }
+      return makeStage(rv).andFinally(ctx, command, (rCtx, rCommand, rv1, t) ->
+            remoteGetCollapser.keysWritten(rCommand.getAffectedKeys()));
+   }
+
+   private Object clearedOnCompletion(InvocationContext ctx, ClearCommand command, Object rv) {
+      if (remoteGetCollapser == null || !ctx.isOriginLocal()) {
+         return rv;
+      }
+      return makeStage(rv).andFinally(ctx, command, (rCtx, rCommand, rv1, t) -> remoteGetCollapser.clear());
    }
 
    @Override
@@ -132,15 +164,15 @@ public final Object visitClearCommand(InvocationContext ctx, ClearCommand comman
       if (ctx.isOriginLocal() && !isLocalModeForced(command)) {
          if (isSynchronous(command)) {
             RpcOptions rpcOptions = rpcManager.getSyncRpcOptions();
-            return asyncInvokeNext(ctx, command,
+            return clearedOnCompletion(ctx, command, asyncInvokeNext(ctx, command,
                                    rpcManager.invokeCommandOnAll(command, MapResponseCollector.ignoreLeavers(),
-                                                                 rpcOptions));
+                                                                 rpcOptions)));
          } else {
             rpcManager.sendToAll(command, DeliverOrder.PER_SENDER);
-            return invokeNext(ctx, command);
+            return clearedOnCompletion(ctx, command, invokeNext(ctx, command));
          }
       }
-      return invokeNext(ctx, command);
+      return clearedOnCompletion(ctx, command, invokeNext(ctx, command));
    }
 
    protected DistributionInfo retrieveDistributionInfo(LocalizedCacheTopology topology, ReplicableCommand command, Object key) {
@@ -152,6 +184,9 @@ protected DistributionInfo retrieveDistributionInfo(LocalizedCacheTopology topol
     *
     * <b>Not thread-safe</b>. The invocation context should not be accessed concurrently from multiple threads,
     * so this method should only be used for single-key commands.
+    * <p>
+    * If {@link org.infinispan.configuration.cache.ClusteringConfiguration#collapseRemoteGets()} is enabled, a read
+    * shares the remote get of the concurrent reads of the same key.
     */
    protected <C extends FlagAffectedCommand & TopologyAffectedCommand> CompletionStage<Void> remoteGetSingleKey(
          InvocationContext ctx, C command, Object key, boolean isWrite) {
@@ -175,27 +210,37 @@ protected <C extends FlagAffectedCommand & TopologyAffectedCommand> CompletionSt
             key, topologyId, info.readOwners());
       }
 
+      CompletionStage<SuccessfulResponse> remoteGet;
+      if (remoteGetCollapser != null && !isWrite) {
+         remoteGet = remoteGetCollapser.get(key, topologyId, command.getFlagsBitSet(),
+                                            () -> sendRemoteGet(key, info, topologyId, command, false));
+      } else {
+         remoteGet = sendRemoteGet(key, info, topologyId, command, isWrite);
+      }
+      return remoteGet.thenAccept(response -> {
+         Object responseValue = response.getResponseValue();
+         if (responseValue == null) {
+            if (rvrl != null) {
+               rvrl.remoteValueNotFound(key);
+            }
+            wrapRemoteEntry(ctx, key, NullCacheEntry.getInstance(), isWrite);
+            return;
+         }
+         InternalCacheEntry ice = ((InternalCacheValue) responseValue).toInternalCacheEntry(key);
+         if (rvrl != null) {
+            rvrl.remoteValueFound(ice);
+         }
+         wrapRemoteEntry(ctx, key, ice, isWrite);
+      });
+   }
+
+   private CompletionStage<SuccessfulResponse> sendRemoteGet(Object key, DistributionInfo info, int topologyId,
+                                                           FlagAffectedCommand command, boolean isWrite) {
       ClusteredGetCommand getCommand = cf.buildClusteredGetCommand(key, info.segmentId(), command.getFlagsBitSet());
       getCommand.setTopologyId(topologyId);
       getCommand.setWrite(isWrite);
-
       return rpcManager.invokeCommandStaggered(info.readOwners(), getCommand, new RemoteGetSingleKeyCollector(),
-                                               rpcManager.getSyncRpcOptions())
-                       .thenAccept(response -> {
-                          Object responseValue = response.getResponseValue();
-                          if (responseValue == null) {
-                             if (rvrl != null) {
-                                rvrl.remoteValueNotFound(key);
-                             }
-                             wrapRemoteEntry(ctx, key, NullCacheEntry.getInstance(), isWrite);
-                             return;
-                          }
-                          InternalCacheEntry ice = ((InternalCacheValue) responseValue).toInternalCacheEntry(key);
-                          if (rvrl != null) {
-                             rvrl.remoteValueFound(ice);
-                          }
-                          wrapRemoteEntry(ctx, key, ice, isWrite);
-                       });
+                                               rpcManager.getSyncRpcOptions());
    }
 
    protected void wrapRemoteEntry(InvocationContext ctx, Object key, CacheEntry ice, boolean isWrite) {
@@ -228,7 +273,7 @@ protected final Object handleNonTxWriteCommand(InvocationContext ctx, AbstractDa
          if (info.isPrimary()) {
             throw new IllegalStateException("Primary owner in writeCH should always be an owner in readCH as well.");
          } else if (ctx.isOriginLocal()) {
-            return invokeRemotely(ctx, command, info.primary());
+            return keysWrittenOnCompletion(ctx, command, invokeRemotely(ctx, command, info.primary()));
          } else {
             if (load) {
                CompletionStage<?> remoteGet = remoteGetSingleKey(ctx, command, command.getKey(), true);
@@ -242,7 +287,7 @@ protected final Object handleNonTxWriteCommand(InvocationContext ctx, AbstractDa
          if (info.isPrimary()) {
             return invokeNextThenApply(ctx, command, primaryReturnHandler);
          } else if (ctx.isOriginLocal()) {
-            return invokeRemotely(ctx, command, info.primary());
+            return keysWrittenOnCompletion(ctx, command, invokeRemotely(ctx, command, info.primary()));
          } else {
             return invokeNext(ctx, command);
          }
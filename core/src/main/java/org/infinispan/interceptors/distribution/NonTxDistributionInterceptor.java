@@ -203,7 +203,7 @@ private <C extends WriteCommand, Container, Item> Object handleWriteOnlyManyComm
             IntSet segments = pair.getValue();
             handleSegmentsForWriteOnlyManyCommand(ctx, command, helper, allFuture, member, segments, cacheTopology);
          }
-         return asyncValue(allFuture);
+         return keysWrittenOnCompletion(ctx, command, asyncValue(allFuture));
       } else { // origin is not local
          // check that we have all the data we need
          return handleRemoteWriteOnlyManyCommand(ctx, command, helper);
@@ -313,7 +313,7 @@ protected <C extends WriteCommand, Container, Item> Object handleReadWriteManyCo
                handleRemoteSegmentsForReadWriteManyCommand(command, helper, allFuture, offset, member, segments, topology);
             }
          }
-         return asyncValue(allFuture);
+         return keysWrittenOnCompletion(ctx, command, asyncValue(allFuture));
       } else { // origin is not local
          return handleRemoteReadWriteManyCommand(ctx, command, helper);
       }
@@ -0,0 +1,103 @@
+package org.infinispan.interceptors.distribution;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Lets the concurrent reads of a key from this node share a single remote get.
+ * <p>
+ * A read joins the remote get of an earlier read of the same key only if both reads have the same topology id and the
+ * same flags, so the joined remote get targets the same owners and behaves the same way on the owners. The remote get
+ * is removed before its stage is completed, so a read that starts after the response was received sends a new one.
+ * <p>
+ * A write from this node calls {@link #keysWritten(Collection)} when it completes, so the reads that start after the
+ * write do not join a remote get that was sent before the write, and see the written value. A clear from this node
+ * calls {@link #clear()} for the same reason.
+ *
+ * @param <R> the type of the remote get response
+ * @since 13.0
+ */
+final class RemoteGetCollapser<R> {
+   private static final Log log = LogFactory.getLog(RemoteGetCollapser.class);
+
+   private final ConcurrentMap<Object, InFlightGet<R>> inFlight = new ConcurrentHashMap<>();
+   private final LongAdder collapsedGets = new LongAdder();
+
+   /**
+    * @return the stage of the in-flight remote get of {@code key} with the same topology id and flags, or the stage of
+    * a new remote get started with {@code remoteGet}
+    */
+   CompletionStage<R> get(Object key, int topologyId, long flagsBitSet, Supplier<CompletionStage<R>> remoteGet) {
+      InFlightGet<R> inFlightGet = new InFlightGet<>(topologyId, flagsBitSet);
+      InFlightGet<R> existing = inFlight.putIfAbsent(key, inFlightGet);
+      if (existing != null) {
+         if (existing.topologyId == topologyId && existing.flagsBitSet == flagsBitSet) {
+            if (log.isTraceEnabled()) {
+               log.tracef("Joining in-flight remote get for key %s in topology %d", key, topologyId);
+            }
+            collapsedGets.increment();
+            return existing.future;
+         }
+         // The remote gets cannot be shared, but only one of them is registered
+         return remoteGet.get();
+      }
+      CompletionStage<R> stage;
+      try {
+         stage = remoteGet.get();
+      } catch (Throwable t) {
+         inFlight.remove(key, inFlightGet);
+         throw t;
+      }
+      stage.whenComplete((response, throwable) -> {
+         inFlight.remove(key, inFlightGet);
+         if (throwable != null) {
+            inFlightGet.future.completeExceptionally(throwable);
+         } else {
+            inFlightGet.future.complete(response);
+         }
+      });
+      return inFlightGet.future;
+   }
+
+   /**
+    * Prevents the reads that start from now on from joining the remote gets of {@code keys} that are in flight.
+    */
+   void keysWritten(Collection<?> keys) {
+      for (Object key : keys) {
+         inFlight.remove(key);
+      }
+   }
+
+   /**
+    * Prevents the reads that start from now on from joining any remote get that is in flight, e.g. after a clear.
+    */
+   void clear() {
+      inFlight.clear();
+   }
+
+   /**
+    * @return the number of reads that joined the remote get of another read
+    */
+   long getCollapsedGets() {
+      return collapsedGets.sum();
+   }
+
+   private static final class InFlightGet<R> {
+      final int topologyId;
+      final long flagsBitSet;
+      final CompletableFuture<R> future = new CompletableFuture<>();
+
+      InFlightGet(int topologyId, long flagsBitSet) {
+         this.topologyId = topologyId;
+         this.flagsBitSet = flagsBitSet;
+      }
+   }
+}
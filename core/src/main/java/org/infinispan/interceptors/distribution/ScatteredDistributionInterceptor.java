@@ -148,9 +148,41 @@ public class ScatteredDistributionInterceptor extends ClusteringInterceptor {
    private volatile Address cachedNextMember;
    private volatile int cachedNextMemberTopology = -1;
 
+   private RemoteGetCollapser<Response> remoteGetCollapser;
+
    @Start
    public void start() {
       hasPassivation = configuration.persistence().passivation();
+      if (configuration.clustering().collapseRemoteGets()) {
+         remoteGetCollapser = new RemoteGetCollapser<>();
+      }
+   }
+
+   /**
+    * @return the number of reads that shared the remote get of another read of the same key, when
+    * {@link org.infinispan.configuration.cache.ClusteringConfiguration#collapseRemoteGets()} is enabled
+    */
+   public long getCollapsedRemoteGets() {
+      return remoteGetCollapser != null ? remoteGetCollapser.getCollapsedGets() : 0;
+   }
+
+   /**
+    * Makes the reads that start after a write from this node completes send a new remote get for the written keys,
+    * instead of joining a remote get that was sent before the write.
+    */
+   private Object keysWrittenOnCompletion(InvocationContext ctx, WriteCommand command, Object rv) {
+      if (remoteGetCollapser == null) {
+         return rv;
+      }
+      return makeStage(rv).andFinally(ctx, command, (rCtx, rCommand, rv1, t) ->
+            remoteGetCollapser.keysWritten(rCommand.getAffectedKeys()));
+   }
+
+   private Object clearedOnCompletion(InvocationContext ctx, ClearCommand command, Object rv) {
+      if (remoteGetCollapser == null) {
+         return rv;
+      }
+      return makeStage(rv).andFinally(ctx, command, (rCtx, rCommand, rv1, t) -> remoteGetCollapser.clear());
    }
 
    private final InvocationSuccessFunction<PutMapCommand> putMapCommandHandler = (rCtx, putMapCommand, rv) -> {
@@ -212,7 +244,8 @@ private Object handleWriteCommand(InvocationContext ctx, DataWriteCommand comman
                handleWriteOnOriginPrimary(rCtx, rCommand, rv, cacheEntry, seenValue, seenVersion, cacheTopology, info));
          } else { // not primary owner
             CompletionStage<ValidResponse> rpcFuture = singleWriteOnRemotePrimary(info.primary(), command);
-            return asyncValue(rpcFuture).thenApply(ctx, command, handleWritePrimaryResponse);
+            return keysWrittenOnCompletion(ctx, command,
+                  asyncValue(rpcFuture).thenApply(ctx, command, handleWritePrimaryResponse));
          }
       } else { // remote origin
          if (info.isPrimary()) {
@@ -640,13 +673,14 @@ private Object handleReadCommand(InvocationContext ctx, AbstractDataCommand comm
             return invokeNext(ctx, command);
          }
 
-         ClusteredGetCommand clusteredGetCommand = cf.buildClusteredGetCommand(command.getKey(), info.segmentId(),
-               command.getFlagsBitSet());
-         clusteredGetCommand.setTopologyId(command.getTopologyId());
-         ResponseCollector<Response> collector = PassthroughSingleResponseCollector.INSTANCE;
-         CompletionStage<Response> rpcFuture =
-               rpcManager.invokeCommand(info.primary(), clusteredGetCommand, collector, rpcManager.getSyncRpcOptions());
-         Object key = clusteredGetCommand.getKey();
+         Object key = command.getKey();
+         CompletionStage<Response> rpcFuture;
+         if (remoteGetCollapser != null) {
+            rpcFuture = remoteGetCollapser.get(key, command.getTopologyId(), command.getFlagsBitSet(),
+                                               () -> remoteGet(command, info));
+         } else {
+            rpcFuture = remoteGet(command, info);
+         }
          return asyncInvokeNext(ctx, command, rpcFuture.thenAccept(response -> {
             if (response.isSuccessful()) {
                InternalCacheValue value = (InternalCacheValue) ((SuccessfulResponse) response).getResponseValue();
@@ -671,6 +705,14 @@ private Object handleReadCommand(InvocationContext ctx, AbstractDataCommand comm
       }
    }
 
+   private CompletionStage<Response> remoteGet(AbstractDataCommand command, DistributionInfo info) {
+      ClusteredGetCommand clusteredGetCommand = cf.buildClusteredGetCommand(command.getKey(), info.segmentId(),
+            command.getFlagsBitSet());
+      clusteredGetCommand.setTopologyId(command.getTopologyId());
+      ResponseCollector<Response> collector = PassthroughSingleResponseCollector.INSTANCE;
+      return rpcManager.invokeCommand(info.primary(), clusteredGetCommand, collector, rpcManager.getSyncRpcOptions());
+   }
+
    @Override
    public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) throws Throwable {
       return handleWriteCommand(ctx, command);
@@ -838,15 +880,15 @@ public Object visitClearCommand(InvocationContext ctx, ClearCommand command) thr
          if (isSynchronous(command)) {
             RpcOptions rpcOptions = rpcManager.getSyncRpcOptions();
             MapResponseCollector collector = MapResponseCollector.ignoreLeavers();
-            return makeStage(
+            return clearedOnCompletion(ctx, command, makeStage(
                asyncInvokeNext(ctx, command, rpcManager.invokeCommandOnAll(command, collector, rpcOptions)))
-                  .thenApply(ctx, command, clearHandler);
+                  .thenApply(ctx, command, clearHandler));
          } else {
             rpcManager.sendToAll(command, DeliverOrder.PER_SENDER);
-            return invokeNextThenApply(ctx, command, clearHandler);
+            return clearedOnCompletion(ctx, command, invokeNextThenApply(ctx, command, clearHandler));
          }
       } else {
-         return invokeNextThenApply(ctx, command, clearHandler);
+         return clearedOnCompletion(ctx, command, invokeNextThenApply(ctx, command, clearHandler));
       }
    }
 
@@ -1037,7 +1079,7 @@ public Object visitReadWriteKeyCommand(InvocationContext ctx, ReadWriteKeyComman
    private <C extends WriteCommand, Container, Item> Object handleWriteManyCommand(
          InvocationContext ctx, C command, WriteManyCommandHelper<C, Container, Item> helper) {
       if (ctx.isOriginLocal()) {
-         return handleWriteManyOnOrigin(ctx, command, helper);
+         return keysWrittenOnCompletion(ctx, command, handleWriteManyOnOrigin(ctx, command, helper));
       } else {
          checkTopology(command);
          // Functional commands cannot be forwarded, because we use PutMapCommand for backup
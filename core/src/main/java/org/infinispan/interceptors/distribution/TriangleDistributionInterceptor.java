@@ -237,10 +237,10 @@ private <R, C extends WriteCommand> Object handleLocalManyKeysCommand(Invocation
       final LocalizedCacheTopology cacheTopology = checkTopologyId(command);
       final PrimaryOwnerClassifier filter = new PrimaryOwnerClassifier(cacheTopology, command.getAffectedKeys());
 
-      return isSynchronous(command) ?
+      return keysWrittenOnCompletion(ctx, command, isSynchronous(command) ?
             syncLocalManyKeysWrite(ctx, command, cacheTopology, filter, commandCopy, mergeResults, emptyResult,
                   backupBuilder) :
-            asyncLocalManyKeysWrite(ctx, command, cacheTopology, filter, commandCopy, backupBuilder);
+            asyncLocalManyKeysWrite(ctx, command, cacheTopology, filter, commandCopy, backupBuilder));
    }
 
    private <C extends WriteCommand> Object handleRemoteManyKeysCommand(InvocationContext ctx, C command,
@@ -415,12 +415,12 @@ private <C extends DataWriteCommand> Object handleSingleKeyWriteCommand(Invocati
                remotePrimaryOwnerWrite(context, command, distributionInfo, backupBuilder);
       } else if (distributionInfo.isWriteBackup()) {
          return context.isOriginLocal() ?
-               localWriteInvocation(context, command, distributionInfo) :
+               keysWrittenOnCompletion(context, command, localWriteInvocation(context, command, distributionInfo)) :
                remoteBackupOwnerWrite(context, command);
       } else {
          //always local!
          assert context.isOriginLocal();
-         return localWriteInvocation(context, command, distributionInfo);
+         return keysWrittenOnCompletion(context, command, localWriteInvocation(context, command, distributionInfo));
       }
    }
 
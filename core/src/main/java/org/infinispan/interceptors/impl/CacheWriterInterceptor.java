@@ -52,6 +52,8 @@
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.persistence.async.AsyncNonBlockingStore;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.MarshallableEntryFactory;
@@ -440,6 +442,48 @@ public int getNumberOfPersistedEntries() {
       return (int) Math.min(size, Integer.MAX_VALUE);
    }
 
+   @ManagedAttribute(
+         description = "Number of modifications waiting to be written or being written by the write-behind stores",
+         displayName = "Write-behind queue size"
+   )
+   public int getWriteBehindQueueSize() {
+      int queueSize = 0;
+      for (AsyncNonBlockingStore<?, ?> store : persistenceManager.getAsyncStores()) {
+         queueSize += store.getQueueSize();
+      }
+      return queueSize;
+   }
+
+   @ManagedAttribute(
+         description = "Average number of nanoseconds for the write-behind stores to write a batch of modifications",
+         displayName = "Average write-behind batch time (ns)",
+         units = Units.NANOSECONDS
+   )
+   public long getAverageWriteBehindBatchTimeNanos() {
+      long batches = 0;
+      long batchTime = 0;
+      for (AsyncNonBlockingStore<?, ?> store : persistenceManager.getAsyncStores()) {
+         batches += store.getReplicatedBatches();
+         batchTime += store.getBatchTimeNanos();
+      }
+      return batches == 0 ? 0 : batchTime / batches;
+   }
+
+   @ManagedAttribute(
+         description = "Number of write operations submitted to the write-behind stores for each modification " +
+               "written after coalescing the writes to the same key",
+         displayName = "Write-behind coalescing ratio"
+   )
+   public double getWriteBehindCoalescingRatio() {
+      long submitted = 0;
+      long replicated = 0;
+      for (AsyncNonBlockingStore<?, ?> store : persistenceManager.getAsyncStores()) {
+         submitted += store.getSubmittedModifications();
+         replicated += store.getReplicatedModifications();
+      }
+      return replicated == 0 ? 0 : (double) submitted / replicated;
+   }
+
    CompletionStage<Void> storeEntry(InvocationContext ctx, Object key, FlagAffectedCommand command) {
       return storeEntry(ctx, key, command, true);
    }
@@ -3,9 +3,6 @@
 import java.io.IOException;
 import java.io.ObjectOutput;
 
-import org.infinispan.commons.io.ByteBuffer;
-import org.infinispan.commons.io.ByteBufferImpl;
-
 /**
  * Array backed, expandable {@link ObjectOutput} implementation.
  */
@@ -17,7 +14,11 @@ final class BytesObjectOutput implements ObjectOutput {
    int pos;
 
    BytesObjectOutput(int size, GlobalMarshaller marshaller) {
-      this.bytes = new byte[size];
+      this(marshaller.bufferPool.allocate(size), marshaller);
+   }
+
+   BytesObjectOutput(byte[] bytes, GlobalMarshaller marshaller) {
+      this.bytes = bytes;
       this.marshaller = marshaller;
    }
 
@@ -237,7 +238,7 @@ public void close() {
    private int ensureCapacity(int len) {
       int newcount = pos + len;
       if (newcount > bytes.length) {
-         byte newbuf[] = new byte[getNewBufferSize(bytes.length, newcount)];
+         byte newbuf[] = marshaller.bufferPool.allocate(getNewBufferSize(bytes.length, newcount));
          System.arraycopy(bytes, 0, newbuf, 0, pos);
          bytes = newbuf;
       }
@@ -266,15 +267,10 @@ private int getNewBufferSize(int curSize, int minNewSize) {
 
    byte[] toBytes() {
       // Trim out unused bytes
-      byte[] b = new byte[pos];
+      byte[] b = marshaller.bufferPool.allocate(pos);
       System.arraycopy(bytes, 0, b, 0, pos);
       pos = 0;
       return b;
    }
 
-   ByteBuffer toByteBuffer() {
-      // No triming, just take position as length
-      return ByteBufferImpl.create(bytes, 0, pos);
-   }
-
 }
@@ -14,6 +14,7 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.ByteBufferImpl;
 import org.infinispan.commons.io.ExposedByteArrayOutputStream;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
 import org.infinispan.commons.marshall.BufferSizePredictor;
@@ -35,6 +36,10 @@
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.marshall.core.impl.ClassToExternalizerMap;
 import org.infinispan.marshall.core.impl.ClassToExternalizerMap.IdToExternalizerMap;
 import org.infinispan.marshall.core.impl.ExternalExternalizers;
@@ -52,6 +57,7 @@
  * @since 5.0
  */
 @Scope(Scopes.GLOBAL)
+@MBean(objectName = "GlobalMarshaller", description = "Marshaller used for the cluster communication")
 public class GlobalMarshaller implements StreamingMarshaller {
 
    private static final Log log = LogFactory.getLog(GlobalMarshaller.class);
@@ -105,6 +111,8 @@ public class GlobalMarshaller implements StreamingMarshaller {
 
    private final MarshallableTypeHints marshallableTypeHints = new MarshallableTypeHints();
 
+   final MarshallingBufferPool bufferPool = new MarshallingBufferPool();
+
    @Inject GlobalComponentRegistry gcr;
    @Inject RemoteCommandsFactory cmdFactory;
    @Inject @ComponentName(KnownComponentNames.PERSISTENCE_MARSHALLER)
@@ -160,25 +168,29 @@ public PersistenceMarshaller getPersistenceMarshaller() {
    @Override
    public byte[] objectToByteBuffer(Object obj) throws IOException, InterruptedException {
       try {
-         BytesObjectOutput out = writeObjectOutput(obj);
-         return out.toBytes(); // trim out unused bytes
+         BufferSizePredictor sizePredictor = marshallableTypeHints.getBufferSizePredictor(obj);
+         return writeToPooledBuffer(obj, sizePredictor.nextSize(obj), sizePredictor);
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
       }
    }
 
-   private BytesObjectOutput writeObjectOutput(Object obj) throws IOException {
-      BufferSizePredictor sizePredictor = marshallableTypeHints.getBufferSizePredictor(obj);
-      BytesObjectOutput out = writeObjectOutput(obj, sizePredictor.nextSize(obj));
-      sizePredictor.recordSize(out.pos);
-      return out;
-   }
-
-   private BytesObjectOutput writeObjectOutput(Object obj, int estimatedSize) throws IOException {
-      BytesObjectOutput out = new BytesObjectOutput(estimatedSize, this);
-      writeNullableObject(obj, out);
-      return out;
+   /**
+    * Marshalls the object in a buffer from the pool and returns a copy of exactly the marshalled bytes, so that the
+    * only allocation in the common case is the returned array. The buffer goes back to the pool before returning.
+    */
+   private byte[] writeToPooledBuffer(Object obj, int estimatedSize, BufferSizePredictor sizePredictor) throws IOException {
+      BytesObjectOutput out = new BytesObjectOutput(bufferPool.acquire(estimatedSize), this);
+      try {
+         writeNullableObject(obj, out);
+         if (sizePredictor != null) {
+            sizePredictor.recordSize(out.pos);
+         }
+         return out.toBytes(); // trim out unused bytes
+      } finally {
+         bufferPool.release(out.bytes);
+      }
    }
 
    @Override
@@ -285,6 +297,29 @@ private boolean isExternalMarshallable(Object o) {
       }
    }
 
+   @ManagedAttribute(
+         description = "Percentage of the marshalling operations that reused a pooled buffer",
+         displayName = "Buffer pool hit ratio",
+         units = Units.PERCENTAGE
+   )
+   public double getBufferPoolHitRatio() {
+      long hits = bufferPool.getHits();
+      double total = hits + bufferPool.getMisses();
+      if (total == 0)
+         return 0;
+      return hits / total;
+   }
+
+   @ManagedAttribute(
+         description = "Number of bytes allocated for marshalling, including the returned arrays",
+         displayName = "Marshalling bytes allocated",
+         units = Units.BYTES,
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getAllocatedBytes() {
+      return bufferPool.getAllocatedBytes();
+   }
+
    @Override
    public BufferSizePredictor getBufferSizePredictor(Object o) {
       return marshallableTypeHints.getBufferSizePredictor(o.getClass());
@@ -298,8 +333,9 @@ public MediaType mediaType() {
    @Override
    public ByteBuffer objectToBuffer(Object o) throws IOException, InterruptedException {
       try {
-         BytesObjectOutput out = writeObjectOutput(o);
-         return out.toByteBuffer();
+         BufferSizePredictor sizePredictor = marshallableTypeHints.getBufferSizePredictor(o);
+         // The array is owned by the caller, e.g. JGroups keeps the message payload until it is acknowledged
+         return ByteBufferImpl.create(writeToPooledBuffer(o, sizePredictor.nextSize(o), sizePredictor));
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
@@ -309,8 +345,7 @@ public ByteBuffer objectToBuffer(Object o) throws IOException, InterruptedExcept
    @Override
    public byte[] objectToByteBuffer(Object obj, int estimatedSize) throws IOException, InterruptedException {
       try {
-         BytesObjectOutput out = writeObjectOutput(obj, estimatedSize);
-         return out.toBytes();
+         return writeToPooledBuffer(obj, estimatedSize, null);
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
@@ -0,0 +1,86 @@
+package org.infinispan.marshall.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches a marshalling buffer per thread, so that marshalling an object into a byte array does not allocate a new
+ * buffer sized for the object and grow it by copying.
+ * <p>
+ * Buffers are allocated in power of two size classes, starting from the size estimated by the
+ * {@link org.infinispan.commons.marshall.BufferSizePredictor} of the object, and each thread keeps the largest buffer
+ * it released, up to {@link #MAX_POOLED_SIZE} bytes. A buffer is owned by a single marshalling operation between
+ * {@link #acquire(int)} and {@link #release(byte[])}: a nested operation on the same thread finds the cache empty and
+ * allocates its own buffer.
+ *
+ * @since 13.0
+ */
+final class MarshallingBufferPool {
+
+   static final int MIN_POOLED_SIZE = 512;
+   static final int MAX_POOLED_SIZE = 64 * 1024;
+
+   private final ThreadLocal<byte[]> cachedBuffer = new ThreadLocal<>();
+
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+   private final LongAdder allocatedBytes = new LongAdder();
+
+   /**
+    * @param estimatedSize the expected number of bytes that will be written in the buffer
+    * @return a buffer of at least {@code estimatedSize} bytes, taken from the thread's cache if possible
+    */
+   byte[] acquire(int estimatedSize) {
+      byte[] buffer = cachedBuffer.get();
+      if (buffer != null && buffer.length >= estimatedSize) {
+         cachedBuffer.set(null);
+         hits.increment();
+         return buffer;
+      }
+      misses.increment();
+      return allocate(sizeClass(estimatedSize));
+   }
+
+   /**
+    * Returns a buffer to the thread's cache, unless it is too large or the cache already holds a larger buffer.
+    * The buffer must not be used after it was released.
+    */
+   void release(byte[] buffer) {
+      if (buffer.length > MAX_POOLED_SIZE) {
+         return;
+      }
+      byte[] cached = cachedBuffer.get();
+      if (cached == null || cached.length < buffer.length) {
+         cachedBuffer.set(buffer);
+      }
+   }
+
+   /**
+    * Allocates a new array and records its size, for the buffers that cannot come from the pool.
+    */
+   byte[] allocate(int size) {
+      allocatedBytes.add(size);
+      return new byte[size];
+   }
+
+   long getHits() {
+      return hits.sum();
+   }
+
+   long getMisses() {
+      return misses.sum();
+   }
+
+   long getAllocatedBytes() {
+      return allocatedBytes.sum();
+   }
+
+   static int sizeClass(int size) {
+      if (size <= MIN_POOLED_SIZE) {
+         return MIN_POOLED_SIZE;
+      }
+      if (size > MAX_POOLED_SIZE) {
+         return size;
+      }
+      return Integer.highestOneBit(size - 1) << 1;
+   }
+}
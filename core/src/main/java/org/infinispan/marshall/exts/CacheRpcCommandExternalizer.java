@@ -31,6 +31,7 @@
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
 import org.infinispan.commands.statetransfer.StateResponseCommand;
 import org.infinispan.commands.statetransfer.StateTransferCancelCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetDigestsCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
 import org.infinispan.commands.statetransfer.StateTransferStartCommand;
@@ -122,6 +123,7 @@ public Set<Class<? extends CacheRpcCommand>> getTypeClasses() {
             ScatteredStateGetKeysCommand.class, ScatteredStateConfirmRevokedCommand.class,
             StateTransferCancelCommand.class, StateTransferGetListenersCommand.class,
             StateTransferGetTransactionsCommand.class, StateTransferStartCommand.class,
+            StateTransferGetDigestsCommand.class,
             IracPutKeyCommand.class, IracRemoveKeyCommand.class, IracClearKeysCommand.class,
             IracCleanupKeyCommand.class, IracMetadataRequestCommand.class,
             IracRequestStateCommand.class, IracStateResponseCommand.class, IracTouchKeyCommand.class,
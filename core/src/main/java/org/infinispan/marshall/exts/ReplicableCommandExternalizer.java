@@ -23,6 +23,7 @@
 import org.infinispan.commands.functional.WriteOnlyManyEntriesCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.remote.CoalescedCommand;
 import org.infinispan.commands.remote.GetKeysInGroupCommand;
 import org.infinispan.commands.topology.CacheAvailabilityUpdateCommand;
 import org.infinispan.commands.topology.CacheJoinCommand;
@@ -153,7 +154,7 @@ public Set<Class<? extends ReplicableCommand>> getTypeClasses() {
             CacheShutdownCommand.class, CacheShutdownRequestCommand.class, TopologyUpdateStableCommand.class,
             CacheJoinCommand.class, CacheLeaveCommand.class, CacheAvailabilityUpdateCommand.class,
             IracPutKeyValueCommand.class, TouchCommand.class,
-            XSiteViewNotificationCommand.class);
+            XSiteViewNotificationCommand.class, CoalescedCommand.class);
       // Search only those commands that replicable and not cache specific replicable commands
       Collection<Class<? extends ReplicableCommand>> moduleCommands = globalComponentRegistry.getModuleProperties().moduleOnlyReplicableCommands();
       if (!moduleCommands.isEmpty()) coreCommands.addAll(moduleCommands);
@@ -2,14 +2,18 @@
 
 import java.lang.invoke.MethodHandles;
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -18,6 +22,7 @@
 import org.infinispan.commons.IllegalLifecycleStateException;
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.reactive.RxJavaInterop;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.configuration.cache.AsyncStoreConfiguration;
 import org.infinispan.configuration.cache.Configuration;
@@ -43,15 +48,21 @@
 
 /**
  * A delegating NonBlockingStore implementation that batches write operations and runs the resulting batches on the
- * delegate store in a non overlapping manner. That is that only a single batch will be running at a time.
+ * delegate store. The write operations are partitioned in {@link AsyncStoreConfiguration#concurrentBatches()} lanes,
+ * by segment if the store is segmented or by key hash otherwise, and each lane runs its batches in a non overlapping
+ * manner. That is that only a single batch will be running at a time for a given lane, which keeps the write operations
+ * of a key in order, while the batches of different lanes may run concurrently.
  * <p>
  * Whenever a write operation is performed it will also attempt to start a batch write immediately to the delegate store.
  * Any concurrent writes during this time may be included in the batch. Any additional writes will be enqueued until
  * the batch completes in which case it will automatically submit the pending batch, if there is one.  Write operations
  * to the same key in the same batch will be coalesced with only the last write being written to the underlying store.
- * If the number of enqueued pending write operations becomes equal or larger than the modification queue, then any
- * subsequent write will be added to the queue, but the returned Stage will not complete until the current batch completes
- * in an attempt to provide some backpressure to slow writes.
+ * If the number of enqueued pending write operations of all the lanes becomes equal or larger than the modification
+ * queue, then any subsequent write will be added to the queue, but the returned Stage will not complete until the
+ * current batch of its lane completes in an attempt to provide some backpressure to slow writes.
+ * <p>
+ * A clear is not part of any batch: it waits for the running batches to complete, and the lanes do not start new
+ * batches until the clear completes.
  * <p>
  * Read operations may be resolved by this store immediately if the given key is still being updated in the
  * delegate store or if it is enqueued for the next batch. If the key is in neither it will query the underlying store
@@ -68,17 +79,26 @@
    private Executor nonBlockingExecutor;
    private int segmentCount;
    private int modificationQueueSize;
+   private int concurrentBatches;
+   private TimeService timeService;
    private PersistenceConfiguration persistenceConfiguration;
    private AsyncStoreConfiguration asyncConfiguration;
 
    // "Non blocking" scheduler used for the purpose of delaying retry batch operations on failures
    private ScheduledExecutorService scheduler;
 
-   // This variable will be non null if there is a pending batch being sent to the underlying store
-   // If a request causes the modification queue to overflow it will receive a stage back that is only complete
-   // when this future is completed (aka. previous replication has completed)
+   // An element of this array will be non null if there is a pending batch being sent to the underlying store for
+   // that lane. If a request causes the modification queue to overflow it will receive a stage back that is only
+   // complete when the future of its lane is completed (aka. previous replication of the lane has completed)
+   @GuardedBy("this")
+   private CompletableFuture<Void>[] batchFutures;
+   // The number of lanes that are currently replicating a batch to the underlying store
+   @GuardedBy("this")
+   private int runningBatches;
+   // This variable will be non null if there is a clear pending or being ran on the underlying store, and it is
+   // completed when the clear is done
    @GuardedBy("this")
-   private CompletableFuture<Void> batchFuture;
+   private CompletableFuture<Void> clearFuture;
 
    // This variable will be non null if the underlying store has been found to be not available
    // Note that the async store will still be available as long as the queue size (ie. modificationMap.size) is not
@@ -86,27 +106,34 @@
    @GuardedBy("this")
    private CompletableFuture<Void> delegateAvailableFuture;
 
-   // Any pending modifications will be enqueued in this map
+   // Any pending modifications will be enqueued in the map of their lane
    @GuardedBy("this")
-   private Map<Object, Modification> pendingModifications = new HashMap<>();
+   private Map<Object, Modification>[] pendingModifications;
    // If there is a pending clear this will be true
    @GuardedBy("this")
    private boolean hasPendingClear;
    // The next two variables are held temporarily until a replication of the values is complete. We need to retain
    // these values until we are sure the entries are actually in the store - note these variables are only written to
    // via reference (thus the map is safe to read outside of this lock, but the reference must be read in synchronized)
-   // This map contains all the modifications currently being replicated to the delegating store
+   // These maps contain all the modifications of each lane currently being replicated to the delegating store
    @GuardedBy("this")
-   private Map<Object, Modification> replicatingModifications = Collections.emptyMap();
+   private Map<Object, Modification>[] replicatingModifications;
    // True if there is an outstanding clear that is being ran on the delegating store
    @GuardedBy("this")
    private boolean isReplicatingClear;
    private volatile boolean stopped = true;
 
+   // Statistics exposed through the CacheStore MBean
+   private final LongAdder submittedModifications = new LongAdder();
+   private final LongAdder replicatedModifications = new LongAdder();
+   private final LongAdder replicatedBatches = new LongAdder();
+   private final LongAdder batchTimeNanos = new LongAdder();
+
    public AsyncNonBlockingStore(NonBlockingStore<K, V> actual) {
       this.actual = actual;
    }
 
+   @SuppressWarnings("unchecked")
    @Override
    public CompletionStage<Void> start(InitializationContext ctx) {
       Configuration cacheConfiguration = ctx.getCache().getCacheConfiguration();
@@ -117,7 +144,18 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       segmentCount = storeConfiguration.segmented() ? cacheConfiguration.clustering().hash().numSegments() : 1;
       asyncConfiguration = storeConfiguration.async();
       modificationQueueSize = asyncConfiguration.modificationQueueSize();
+      concurrentBatches = asyncConfiguration.concurrentBatches();
+      timeService = ctx.getTimeService();
       nonBlockingExecutor = ctx.getNonBlockingExecutor();
+      synchronized (this) {
+         batchFutures = new CompletableFuture[concurrentBatches];
+         pendingModifications = new Map[concurrentBatches];
+         replicatingModifications = new Map[concurrentBatches];
+         for (int i = 0; i < concurrentBatches; i++) {
+            pendingModifications[i] = new HashMap<>();
+            replicatingModifications[i] = Collections.emptyMap();
+         }
+      }
       stopped = false;
       return actual.start(ctx);
    }
@@ -142,112 +180,188 @@ public CompletionStage<Void> stop() {
     * Returns a stage that when complete, this store has submitted and completed all pending modifications
     */
    private CompletionStage<Void> awaitQuiescence() {
-      CompletionStage<Void> stage;
+      List<CompletableFuture<Void>> stages = new ArrayList<>();
       synchronized (this) {
-         stage = batchFuture;
+         for (CompletableFuture<Void> batchFuture : batchFutures) {
+            if (batchFuture != null) {
+               stages.add(batchFuture);
+            }
+         }
+         if (clearFuture != null) {
+            stages.add(clearFuture);
+         }
       }
-      if (stage == null) {
+      if (stages.isEmpty()) {
          return CompletableFutures.completedNull();
       }
       if (log.isTraceEnabled()) {
-         log.tracef("Must wait until prior batch completes for %s", actual);
+         log.tracef("Must wait until %d prior batches complete for %s", stages.size(), actual);
+      }
+      return CompletableFuture.allOf(stages.toArray(new CompletableFuture[0])).thenCompose(ignore -> awaitQuiescence());
+   }
+
+   /**
+    * Returns the lane of a modification. The modifications of a segment always go to the same lane, so that a segment
+    * is written by a single batch at a time, and so do the modifications of a key if the store is not segmented.
+    */
+   private int lane(int segment, Object wrappedKey) {
+      if (concurrentBatches == 1) {
+         return 0;
       }
-      return stage.thenCompose(ignore -> awaitQuiescence());
+      int hash = segmentCount > 1 ? segment : wrappedKey.hashCode();
+      return (hash & Integer.MAX_VALUE) % concurrentBatches;
    }
 
-   void putModification(Object key, Modification modification) {
+   int putModification(Object key, Modification modification) {
+      int lane = lane(modification.getSegment(), key);
       if (log.isTraceEnabled()) {
-         log.tracef("Adding modification %s to %s", modification, System.identityHashCode(pendingModifications));
+         log.tracef("Adding modification %s to %s", modification, System.identityHashCode(pendingModifications[lane]));
       }
-      pendingModifications.put(key, modification);
+      pendingModifications[lane].put(key, modification);
+      return lane;
    }
 
    void putClearModification() {
       if (log.isTraceEnabled()) {
-         log.tracef("Clear modification encountered for %s", System.identityHashCode(pendingModifications));
+         log.trace("Clear modification encountered, discarding all pending modifications");
+      }
+      for (Map<Object, Modification> laneModifications : pendingModifications) {
+         laneModifications.clear();
       }
-      pendingModifications.clear();
       hasPendingClear = true;
    }
 
+   @GuardedBy("this")
+   private int queueSize() {
+      int size = 0;
+      for (int i = 0; i < concurrentBatches; i++) {
+         size += pendingModifications[i].size() + replicatingModifications[i].size();
+      }
+      return size;
+   }
+
    /**
-    * This method submits a batch of modifications to the underlying store and completes {@code batchFuture}
-    * when the modifications are done.
+    * This method submits a batch of modifications of the given lane to the underlying store and completes the
+    * {@code batchFutures} element of the lane when the modifications are done.
     *
-    * If there are any pending modifications at that time, it automatically submits a new batch,
-    * otherwise it sets {@code batchFuture} to null.
+    * If there are any pending modifications for the lane at that time, it automatically submits a new batch, unless
+    * a clear is pending, otherwise it sets the {@code batchFutures} element of the lane to null.
     *
-    * Callers must atomically check that {@code batchFuture} is null and set it to a non-null value,
-    * to ensure that only one batch is being processed at any time.
+    * Callers must atomically check that the {@code batchFutures} element of the lane is null and set it to a non-null
+    * value, and that no clear is pending, to ensure that only one batch is being processed at any time for the lane.
     */
-   private void submitTask() {
+   private void submitTask(int lane) {
       Map<Object, Modification> newMap = new HashMap<>();
       if (log.isTraceEnabled()) {
-         log.tracef("Starting new batch with id %s", System.identityHashCode(newMap));
+         log.tracef("Starting new batch for lane %d with id %s", lane, System.identityHashCode(newMap));
       }
-      boolean ourClearToReplicate;
       Map<Object, Modification> ourModificationsToReplicate;
       synchronized (this) {
-         // The isReplicatingClear would be true or replicatingModifications non empty if an update was currently pending
-         // But we should only allow one at a time
-         assert replicatingModifications.isEmpty() && !isReplicatingClear;
-         replicatingModifications = pendingModifications;
-         ourModificationsToReplicate = pendingModifications;
-         pendingModifications = newMap;
-         isReplicatingClear = hasPendingClear;
-         ourClearToReplicate = hasPendingClear;
-         hasPendingClear = false;
+         // The replicatingModifications of the lane would be non empty if an update was currently pending
+         // But we should only allow one at a time per lane, and none while a clear is replicating
+         assert replicatingModifications[lane].isEmpty() && !isReplicatingClear;
+         replicatingModifications[lane] = pendingModifications[lane];
+         ourModificationsToReplicate = pendingModifications[lane];
+         pendingModifications[lane] = newMap;
+         runningBatches++;
       }
 
       CompletionStage<Void> asyncBatchStage;
-      if (ourClearToReplicate) {
+      long startTime = timeService.time();
+      if (!ourModificationsToReplicate.isEmpty()) {
          if (log.isTraceEnabled()) {
-            log.tracef("Sending clear to underlying store for id %s", System.identityHashCode(ourModificationsToReplicate));
+            log.tracef("Sending batch write/remove operations %s to underlying store with id %s", ourModificationsToReplicate.size(),
+                  System.identityHashCode(ourModificationsToReplicate));
          }
-         asyncBatchStage = retry(actual::clear, persistenceConfiguration.connectionAttempts()).whenComplete((ignore, t) -> {
-            synchronized (this) {
-               isReplicatingClear = false;
-            }
-         });
+         asyncBatchStage = retry(() -> replicateModifications(ourModificationsToReplicate), persistenceConfiguration.connectionAttempts());
       } else {
          asyncBatchStage = CompletableFutures.completedNull();
       }
 
-      if (!ourModificationsToReplicate.isEmpty()) {
-         asyncBatchStage = asyncBatchStage.thenCompose(ignore -> {
-            if (log.isTraceEnabled()) {
-               log.tracef("Sending batch write/remove operations %s to underlying store with id %s", ourModificationsToReplicate.size(),
-                     System.identityHashCode(ourModificationsToReplicate));
-            }
-            return retry(() -> replicateModifications(ourModificationsToReplicate), persistenceConfiguration.connectionAttempts()).whenComplete((ignore2, t) -> {
-               synchronized (this) {
-                  replicatingModifications = Collections.emptyMap();
-               }
-            });
-         });
-      }
-
       asyncBatchStage.whenComplete((ignore, t) -> {
          if (log.isTraceEnabled()) {
             log.tracef("Async operations completed for id %s", System.identityHashCode(ourModificationsToReplicate));
          }
+         if (t == null && !ourModificationsToReplicate.isEmpty()) {
+            replicatedBatches.increment();
+            replicatedModifications.add(ourModificationsToReplicate.size());
+            batchTimeNanos.add(timeService.timeDuration(startTime, TimeUnit.NANOSECONDS));
+         }
          boolean submitNewBatch;
+         boolean startClear;
          CompletableFuture<Void> future;
          synchronized (this) {
-            submitNewBatch = !pendingModifications.isEmpty() || hasPendingClear;
-            future = batchFuture;
-            batchFuture = submitNewBatch ? new CompletableFuture<>() : null;
+            replicatingModifications[lane] = Collections.emptyMap();
+            runningBatches--;
+            boolean hasPending = !pendingModifications[lane].isEmpty();
+            future = batchFutures[lane];
+            batchFutures[lane] = hasPending ? new CompletableFuture<>() : null;
+            // A pending clear runs after the last running batch, and the next batch of the lane after the clear
+            startClear = clearFuture != null && runningBatches == 0;
+            submitNewBatch = hasPending && clearFuture == null;
          }
          if (t != null) {
             future.completeExceptionally(t);
          } else {
             future.complete(null);
          }
+         if (startClear) {
+            submitClear();
+         }
          if (submitNewBatch) {
             if (log.isTraceEnabled()) {
-               log.trace("Submitting new batch after completion of prior");
+               log.tracef("Submitting new batch for lane %d after completion of prior", lane);
             }
-            submitTask();
+            submitTask(lane);
+         }
+      });
+   }
+
+   /**
+    * This method runs a clear on the underlying store and completes {@code clearFuture} when it is done. It then
+    * submits the batches of the lanes that have pending modifications, or another clear if one was requested while
+    * this one was running.
+    *
+    * Callers must ensure that no batch is running and that {@code clearFuture} is non-null.
+    */
+   private void submitClear() {
+      synchronized (this) {
+         assert runningBatches == 0 && !isReplicatingClear;
+         isReplicatingClear = true;
+         hasPendingClear = false;
+      }
+      if (log.isTraceEnabled()) {
+         log.trace("Sending clear to underlying store");
+      }
+      retry(actual::clear, persistenceConfiguration.connectionAttempts()).whenComplete((ignore, t) -> {
+         boolean clearAgain;
+         CompletableFuture<Void> future;
+         List<Integer> lanesToSubmit = new ArrayList<>();
+         synchronized (this) {
+            isReplicatingClear = false;
+            future = clearFuture;
+            clearAgain = hasPendingClear;
+            if (clearAgain) {
+               clearFuture = new CompletableFuture<>();
+            } else {
+               clearFuture = null;
+               for (int i = 0; i < concurrentBatches; i++) {
+                  if (batchFutures[i] != null) {
+                     lanesToSubmit.add(i);
+                  }
+               }
+            }
+         }
+         if (t != null) {
+            future.completeExceptionally(t);
+         } else {
+            future.complete(null);
+         }
+         if (clearAgain) {
+            submitClear();
+         }
+         for (int lane : lanesToSubmit) {
+            submitTask(lane);
          }
       });
    }
@@ -389,39 +503,45 @@ private <E> Publisher<E> abstractPublish(IntSet segments, Predicate<? super K> f
    }
 
    private Map.Entry<Boolean, Map<Object, Modification>> flattenModificationMaps() {
-      Map<Object, Modification> modificationCopy;
-      Map<Object, Modification> modificationsToReplicate;
+      Map<Object, Modification> modificationCopy = new HashMap<>();
+      Map<Object, Modification>[] modificationsToReplicate;
       boolean clearToReplicate;
       synchronized (this) {
-         modificationCopy = new HashMap<>(pendingModifications);
+         for (Map<Object, Modification> laneModifications : pendingModifications) {
+            modificationCopy.putAll(laneModifications);
+         }
          if (hasPendingClear) {
             return new AbstractMap.SimpleImmutableEntry<>(Boolean.TRUE, modificationCopy);
          }
-         modificationsToReplicate = this.replicatingModifications;
+         modificationsToReplicate = Arrays.copyOf(this.replicatingModifications, concurrentBatches);
          clearToReplicate = this.isReplicatingClear;
       }
 
-      modificationCopy.putAll(modificationsToReplicate);
+      // The pending modifications are more recent than the replicating ones
+      for (Map<Object, Modification> laneModifications : modificationsToReplicate) {
+         laneModifications.forEach(modificationCopy::putIfAbsent);
+      }
       return new AbstractMap.SimpleImmutableEntry<>(clearToReplicate, modificationCopy);
    }
 
    @Override
    public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       assertNotStopped();
-      CompletionStage<MarshallableEntry<K, V>> pendingStage = getStageFromPending(key);
+      CompletionStage<MarshallableEntry<K, V>> pendingStage = getStageFromPending(segment, key);
       if (pendingStage != null) {
          return pendingStage;
       }
       return actual.load(segment, key);
    }
 
-   private CompletionStage<MarshallableEntry<K, V>> getStageFromPending(Object key) {
+   private CompletionStage<MarshallableEntry<K, V>> getStageFromPending(int segment, Object key) {
       Object wrappedKey = wrapKeyIfNeeded(key);
+      int lane = lane(segment, wrappedKey);
       Map<Object, Modification> modificationsToReplicate;
       boolean clearToReplicate;
       synchronized (this) {
          // Note that writes to this map are done only in synchronized block, so we have to do same for get
-         Modification modification = pendingModifications.get(wrappedKey);
+         Modification modification = pendingModifications[lane].get(wrappedKey);
          if (modification != null) {
             if (log.isTraceEnabled()) {
                log.tracef("Found entry was pending write in async store: %s", modification);
@@ -435,7 +555,7 @@ private CompletionStage<MarshallableEntry<K, V>> getStageFromPending(Object key)
             return CompletableFutures.completedNull();
          }
          // This map is never written to so just reading reference in synchronized block is sufficient
-         modificationsToReplicate = this.replicatingModifications;
+         modificationsToReplicate = this.replicatingModifications[lane];
          clearToReplicate = this.isReplicatingClear;
       }
       Modification modification = modificationsToReplicate.get(wrappedKey);
@@ -468,18 +588,32 @@ public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublis
    }
 
    CompletionStage<Void> submitModification(Modification modification) {
-      boolean startNewBatch;
-      CompletionStage<Void> submitStage;
+      int laneToStart = -1;
+      boolean startClear = false;
+      CompletionStage<Void> submitStage = null;
       synchronized (this) {
-         modification.apply(this);
+         int lane = modification.apply(this);
 
-         if (startNewBatch = batchFuture == null) {
-            batchFuture = new CompletableFuture<>();
+         if (lane < 0) {
+            // Clear waits for the running batches, and the lanes wait for the clear to start their next batch
+            if (clearFuture == null) {
+               clearFuture = new CompletableFuture<>();
+               startClear = runningBatches == 0;
+            }
+         } else {
+            if (batchFutures[lane] == null) {
+               batchFutures[lane] = new CompletableFuture<>();
+               if (clearFuture == null) {
+                  laneToStart = lane;
+               }
+            }
+            if (queueSize() > modificationQueueSize) {
+               submitStage = batchFutures[lane];
+            }
          }
-         int replicatingSize = replicatingModifications.size();
-
-         submitStage = pendingModifications.size() + replicatingSize > modificationQueueSize
-               ? batchFuture : null;
+      }
+      if (modification != ClearModification.INSTANCE) {
+         submittedModifications.increment();
       }
 
       boolean isTraceEnabled = log.isTraceEnabled();
@@ -487,11 +621,17 @@ CompletionStage<Void> submitModification(Modification modification) {
          log.tracef("A new modification %s has been enqueued with async store", modification);
       }
 
-      if (startNewBatch) {
-         if (log.isTraceEnabled()) {
-            log.tracef("Requesting a new async batch operation to be ran!");
+      if (startClear) {
+         if (isTraceEnabled) {
+            log.tracef("Requesting a new async clear operation to be ran!");
          }
-         submitTask();
+         submitClear();
+      }
+      if (laneToStart >= 0) {
+         if (isTraceEnabled) {
+            log.tracef("Requesting a new async batch operation to be ran for lane %d!", laneToStart);
+         }
+         submitTask(laneToStart);
       }
       if (submitStage != null && isTraceEnabled) {
          log.tracef("Operation will not return immediately, must wait until current batch completes");
@@ -540,7 +680,9 @@ public CompletionStage<Void> addSegments(IntSet segments) {
    public CompletionStage<Void> removeSegments(IntSet segments) {
       assertNotStopped();
       synchronized (this) {
-         pendingModifications.values().removeIf(modification -> segments.contains(modification.getSegment()));
+         for (Map<Object, Modification> laneModifications : pendingModifications) {
+            laneModifications.values().removeIf(modification -> segments.contains(modification.getSegment()));
+         }
       }
       return actual.removeSegments(segments);
    }
@@ -587,8 +729,11 @@ public CompletionStage<Boolean> isAvailable() {
          boolean isReplicating;
          int queueSize;
          synchronized (this) {
-            isReplicating = !replicatingModifications.isEmpty() || isReplicatingClear;
-            queueSize = pendingModifications.size();
+            isReplicating = runningBatches > 0 || isReplicatingClear;
+            queueSize = 0;
+            for (Map<Object, Modification> laneModifications : pendingModifications) {
+               queueSize += laneModifications.size();
+            }
             if (delegateUnavailable = delegateAvailableFuture == null) {
                delegateAvailableFuture = new CompletableFuture<>();
             }
@@ -600,6 +745,44 @@ public CompletionStage<Boolean> isAvailable() {
       });
    }
 
+   /**
+    * @return the number of modifications that are waiting to be written to the underlying store or are being written
+    */
+   public int getQueueSize() {
+      synchronized (this) {
+         return queueSize();
+      }
+   }
+
+   /**
+    * @return the number of write operations that were enqueued with this store
+    */
+   public long getSubmittedModifications() {
+      return submittedModifications.sum();
+   }
+
+   /**
+    * @return the number of modifications that were written to the underlying store, after coalescing the write
+    * operations to the same key in the same batch
+    */
+   public long getReplicatedModifications() {
+      return replicatedModifications.sum();
+   }
+
+   /**
+    * @return the number of batches that were written to the underlying store
+    */
+   public long getReplicatedBatches() {
+      return replicatedBatches.sum();
+   }
+
+   /**
+    * @return the total time spent writing batches to the underlying store, in nanoseconds
+    */
+   public long getBatchTimeNanos() {
+      return batchTimeNanos.sum();
+   }
+
    @Override
    public NonBlockingStore<K, V> delegate() {
       return actual;
@@ -11,8 +11,9 @@ private ClearModification() {
    public static final ClearModification INSTANCE = new ClearModification();
 
    @Override
-   public <K, V> void apply(AsyncNonBlockingStore<K, V> store) {
+   public <K, V> int apply(AsyncNonBlockingStore<K, V> store) {
       store.putClearModification();
+      return -1;
    }
 
    @Override
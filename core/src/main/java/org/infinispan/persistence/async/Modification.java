@@ -12,8 +12,9 @@ interface Modification {
     * @param store the store to apply the modification to
     * @param <K> key type
     * @param <V> value type
+    * @return the batch lane the modification was added to, or {@code -1} if it applies to all the lanes
     */
-   <K, V> void apply(AsyncNonBlockingStore<K, V> store);
+   <K, V> int apply(AsyncNonBlockingStore<K, V> store);
 
    /**
     * Returns the segment that maps to this modification. Some modifications may not map to a given
@@ -15,8 +15,8 @@ class PutModification implements Modification {
    }
 
    @Override
-   public <K, V> void apply(AsyncNonBlockingStore<K, V> store) {
-      store.putModification(AsyncNonBlockingStore.wrapKeyIfNeeded(entry.getKey()), this);
+   public <K, V> int apply(AsyncNonBlockingStore<K, V> store) {
+      return store.putModification(AsyncNonBlockingStore.wrapKeyIfNeeded(entry.getKey()), this);
    }
 
    @Override
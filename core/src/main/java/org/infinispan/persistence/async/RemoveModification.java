@@ -15,8 +15,8 @@ class RemoveModification implements Modification {
    }
 
    @Override
-   public <K, V> void apply(AsyncNonBlockingStore<K, V> store) {
-      store.putModification(AsyncNonBlockingStore.wrapKeyIfNeeded(key), this);
+   public <K, V> int apply(AsyncNonBlockingStore<K, V> store) {
+      return store.putModification(AsyncNonBlockingStore.wrapKeyIfNeeded(key), this);
    }
 
    @Override
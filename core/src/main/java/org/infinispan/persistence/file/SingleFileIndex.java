@@ -0,0 +1,654 @@
+package org.infinispan.persistence.file;
+
+import static org.infinispan.persistence.file.SingleFileStore.INDEX_MAGIC;
+import static org.infinispan.persistence.file.SingleFileStore.KEY_POS_LATEST;
+import static org.infinispan.persistence.file.SingleFileStore.MAGIC_LATEST;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.persistence.file.SingleFileStore.FileEntry;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * The index of a {@link SingleFileStore}, kept in the memory-mapped file <tt>&lt;location&gt;/&lt;cache name&gt;.idx</tt>
+ * instead of the heap.
+ * <p/>
+ * The index is an open addressing hash table with linear probing. A slot holds the file position and the header of an
+ * entry, and the 64-bit hash of its serialized key, but not the key itself: when the hashes and the key lengths match,
+ * a lookup compares the key with the serialized key in the data file. The low bits of the hash pick the home slot of
+ * the key and the whole hash acts as a fingerprint, so the data file is only read for the key that is looked up, and
+ * not for the other keys of its cluster. The slots are mapped one page at a time, when a page is first accessed.
+ * <p/>
+ * The header of the index file records whether the index was closed cleanly, the size of the data file at that time,
+ * and where the free list was written. The clean flag is reset as soon as the index is opened, so an index that was not
+ * closed cleanly or that doesn't match the data file is discarded, and the caller rebuilds it from the data file.
+ * Opening an index that was closed cleanly only reads the header and the free list.
+ * <p/>
+ * When the table grows, the new table is written after the current one, so the index file is never truncated while it
+ * is mapped, and the space of the old tables is reclaimed when the index is discarded or cleared.
+ * <p/>
+ * This class is not thread safe, {@link SingleFileStore} only accesses it while holding its monitor.
+ *
+ * @since 13.0
+ */
+final class SingleFileIndex {
+   private static final Log log = LogFactory.getLog(SingleFileIndex.class);
+
+   /*
+    * 4 bytes - magic
+    * 4 bytes - 1 if the index was closed cleanly, 0 otherwise
+    * 8 bytes - size of the data file when the index was closed
+    * 8 bytes - file offset of the slot table
+    * 4 bytes - number of slots, a power of 2
+    * 4 bytes - number of used slots
+    * 8 bytes - file offset of the free list
+    * 4 bytes - number of free list records
+    */
+   private static final int HEADER_SIZE = 64;
+   private static final int CLEAN_POS = 4;
+   private static final int DATA_FILE_SIZE_POS = 8;
+   private static final int TABLE_OFFSET_POS = 16;
+   private static final int CAPACITY_POS = 24;
+   private static final int SIZE_POS = 28;
+   private static final int FREE_LIST_OFFSET_POS = 32;
+   private static final int FREE_LIST_SIZE_POS = 40;
+
+   /*
+    * 8 bytes - file offset of the entry, 0 if the slot is empty
+    * 8 bytes - expiration time
+    * 8 bytes - hash of the serialized key
+    * 4 bytes - entry size
+    * 4 bytes - key length
+    * 4 bytes - value length
+    * 4 bytes - metadata length
+    * 4 bytes - internal metadata length
+    * 4 bytes - 1 if the entry was accessed since the eviction sweep last passed it
+    */
+   private static final int SLOT_SIZE = 48;
+   private static final int OFFSET_POS = 0;
+   private static final int EXPIRY_TIME_POS = 8;
+   private static final int HASH_POS = 16;
+   private static final int ENTRY_SIZE_POS = 24;
+   private static final int KEY_LEN_POS = 28;
+   private static final int DATA_LEN_POS = 32;
+   private static final int METADATA_LEN_POS = 36;
+   private static final int INTERNAL_METADATA_LEN_POS = 40;
+   private static final int REFERENCED_POS = 44;
+   private static final long EMPTY = 0;
+   private static final int HASH_SEED = 9001;
+
+   /*
+    * 8 bytes - file offset of the free entry
+    * 4 bytes - size of the free entry
+    */
+   private static final int FREE_RECORD_SIZE = 8 + 4;
+
+   private static final int PAGE_SLOTS_BITS = 16;
+   private static final int PAGE_SLOTS = 1 << PAGE_SLOTS_BITS;
+   private static final int MIN_CAPACITY = 1024;
+   private static final int MAX_CAPACITY = 1 << 30;
+   private static final float LOAD_FACTOR = .75f;
+
+   private final File file;
+   private final FileChannel channel;
+   private final FileChannel dataChannel;
+   private final MappedByteBuffer header;
+   private final boolean loaded;
+   private Table table;
+   private int size;
+   private int clockHand;
+   private ByteBuffer keyBuffer = ByteBuffer.allocate(128);
+
+   /**
+    * Opens the index of the data file, if it was closed cleanly and matches the data file, and adds the free entries
+    * of the data file to {@code freeList}. Otherwise the index is empty, see {@link #isLoaded()}.
+    */
+   static SingleFileIndex open(File file, FileChannel dataChannel, Collection<FileEntry> freeList) throws IOException {
+      return open(file, dataChannel, freeList, true);
+   }
+
+   /**
+    * Creates an empty index, discarding the current contents of the index file.
+    */
+   static SingleFileIndex create(File file, FileChannel dataChannel) throws IOException {
+      return open(file, dataChannel, null, false);
+   }
+
+   private static SingleFileIndex open(File file, FileChannel dataChannel, Collection<FileEntry> freeList,
+                                       boolean load) throws IOException {
+      FileChannel channel = SecurityActions.openFileChannel(file);
+      try {
+         return new SingleFileIndex(file, channel, dataChannel, freeList, load);
+      } catch (IOException | RuntimeException e) {
+         channel.close();
+         throw e;
+      }
+   }
+
+   private SingleFileIndex(File file, FileChannel channel, FileChannel dataChannel, Collection<FileEntry> freeList,
+                           boolean load) throws IOException {
+      this.file = file;
+      this.channel = channel;
+      this.dataChannel = dataChannel;
+      ByteBuffer headerCopy = ByteBuffer.allocate(HEADER_SIZE);
+      List<FileEntry> loadedFreeList = load ? readHeader(headerCopy) : null;
+      loaded = loadedFreeList != null;
+      if (loaded) {
+         table = new Table(headerCopy.getLong(TABLE_OFFSET_POS), headerCopy.getInt(CAPACITY_POS));
+         size = headerCopy.getInt(SIZE_POS);
+         freeList.addAll(loadedFreeList);
+         log.debugf("Loaded index %s with %d entries", file, size);
+      } else {
+         // Nothing is mapped yet, so the file can be truncated
+         channel.truncate(0);
+         table = new Table(HEADER_SIZE, MIN_CAPACITY);
+         size = 0;
+      }
+      header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+      header.put(INDEX_MAGIC, 0, INDEX_MAGIC.length);
+      // The index is modified from now on, so it must be rebuilt if it is not closed cleanly
+      header.putInt(CLEAN_POS, 0);
+      header.force();
+   }
+
+   /**
+    * @return the free list if the header is valid and the index was closed cleanly, {@code null} otherwise
+    */
+   private List<FileEntry> readHeader(ByteBuffer buf) throws IOException {
+      long fileSize = channel.size();
+      if (fileSize < HEADER_SIZE) {
+         return null;
+      }
+      readFully(channel, buf, 0);
+      buf.flip();
+      byte[] magic = new byte[INDEX_MAGIC.length];
+      buf.get(magic);
+      long dataFileSize = buf.getLong(DATA_FILE_SIZE_POS);
+      long tableOffset = buf.getLong(TABLE_OFFSET_POS);
+      int capacity = buf.getInt(CAPACITY_POS);
+      int size = buf.getInt(SIZE_POS);
+      long freeListOffset = buf.getLong(FREE_LIST_OFFSET_POS);
+      int freeListSize = buf.getInt(FREE_LIST_SIZE_POS);
+      if (!Arrays.equals(INDEX_MAGIC, magic) || buf.getInt(CLEAN_POS) != 1) {
+         log.debugf("Ignoring index %s as it was not closed cleanly", file);
+         return null;
+      }
+      if (dataFileSize != dataChannel.size() || tableOffset < HEADER_SIZE || capacity < MIN_CAPACITY ||
+            capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1 || size < 0 || size > capacity * LOAD_FACTOR ||
+            freeListOffset < tableOffset + (long) capacity * SLOT_SIZE || freeListSize < 0 ||
+            freeListOffset + (long) freeListSize * FREE_RECORD_SIZE > fileSize) {
+         log.debugf("Ignoring index %s as it doesn't match the data file", file);
+         return null;
+      }
+      List<FileEntry> freeList = new ArrayList<>(freeListSize);
+      if (freeListSize > 0) {
+         ByteBuffer freeListBuf = ByteBuffer.allocate(freeListSize * FREE_RECORD_SIZE);
+         readFully(channel, freeListBuf, freeListOffset);
+         freeListBuf.flip();
+         for (int i = 0; i < freeListSize; i++) {
+            long offset = freeListBuf.getLong();
+            int entrySize = freeListBuf.getInt();
+            if (offset < MAGIC_LATEST.length || entrySize <= 0 || offset + entrySize > dataFileSize) {
+               log.debugf("Ignoring index %s as its free list doesn't match the data file", file);
+               return null;
+            }
+            freeList.add(new FileEntry(offset, entrySize));
+         }
+      }
+      return freeList;
+   }
+
+   /**
+    * @return {@code true} if the index was loaded from the index file, {@code false} if it must be rebuilt
+    */
+   boolean isLoaded() {
+      return loaded;
+   }
+
+   int size() {
+      return size;
+   }
+
+   /**
+    * @return the entry of the serialized key, or {@code null} if the key is not in the index
+    */
+   FileEntry get(org.infinispan.commons.io.ByteBuffer key) {
+      int slot = find(key, hash(key));
+      if (slot < 0) {
+         return null;
+      }
+      table.markReferenced(slot);
+      return table.entry(slot);
+   }
+
+   /**
+    * Adds or replaces the entry of the serialized key.
+    *
+    * @return the replaced entry, or {@code null} if the key was not in the index
+    */
+   FileEntry put(org.infinispan.commons.io.ByteBuffer key, FileEntry fe) {
+      long hash = hash(key);
+      int slot = find(key, hash);
+      if (slot >= 0) {
+         FileEntry oldEntry = table.entry(slot);
+         table.write(slot, fe, hash);
+         return oldEntry;
+      }
+      insert(fe, hash);
+      return null;
+   }
+
+   /**
+    * Adds the entry of a key that is not in the index, using the key hash of the entry.
+    */
+   void putNew(FileEntry fe) {
+      insert(fe, fe.keyHash);
+   }
+
+   /**
+    * Removes the entry of the serialized key.
+    *
+    * @return the removed entry, or {@code null} if the key was not in the index
+    */
+   FileEntry remove(org.infinispan.commons.io.ByteBuffer key) {
+      int slot = find(key, hash(key));
+      if (slot < 0) {
+         return null;
+      }
+      FileEntry fe = table.entry(slot);
+      delete(slot);
+      return fe;
+   }
+
+   /**
+    * @return {@code true} if the index still points to the file entry returned by an earlier lookup
+    */
+   boolean isCurrent(FileEntry fe) {
+      int mask = table.capacity - 1;
+      for (int slot = (int) fe.keyHash & mask; ; slot = (slot + 1) & mask) {
+         long offset = table.offset(slot);
+         if (offset == EMPTY) {
+            return false;
+         }
+         if (offset == fe.offset) {
+            return true;
+         }
+      }
+   }
+
+   /**
+    * @return the entries that are not expired, in no particular order
+    */
+   List<FileEntry> entries(long now) {
+      List<FileEntry> entries = new ArrayList<>(size);
+      for (int slot = 0; slot < table.capacity; slot++) {
+         if (table.offset(slot) != EMPTY && !table.isExpired(slot, now)) {
+            entries.add(table.entry(slot));
+         }
+      }
+      return entries;
+   }
+
+   /**
+    * Removes the expired entries.
+    *
+    * @return the removed entries
+    */
+   List<FileEntry> removeExpired(long now) {
+      List<FileEntry> expired = new ArrayList<>();
+      for (int slot = 0; slot < table.capacity; ) {
+         if (table.offset(slot) != EMPTY && table.isExpired(slot, now)) {
+            expired.add(table.entry(slot));
+            // Another entry may be moved into the slot
+            delete(slot);
+         } else {
+            slot++;
+         }
+      }
+      return expired;
+   }
+
+   /**
+    * Removes an entry that was not accessed recently, sweeping the slots like a clock and clearing the referenced
+    * flag of the entries it passes.
+    *
+    * @return the removed entry, or {@code null} if the index is empty
+    */
+   FileEntry evict() {
+      if (size == 0) {
+         return null;
+      }
+      int mask = table.capacity - 1;
+      for (; ; ) {
+         int slot = clockHand;
+         clockHand = (clockHand + 1) & mask;
+         if (table.offset(slot) == EMPTY || table.clearReferenced(slot)) {
+            continue;
+         }
+         FileEntry fe = table.entry(slot);
+         delete(slot);
+         return fe;
+      }
+   }
+
+   /**
+    * Removes all the entries and shrinks the table back to its initial capacity.
+    */
+   void clear() {
+      try {
+         zero(HEADER_SIZE, HEADER_SIZE + (long) MIN_CAPACITY * SLOT_SIZE);
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      }
+      table = new Table(HEADER_SIZE, MIN_CAPACITY);
+      size = 0;
+      clockHand = 0;
+   }
+
+   /**
+    * Writes the free list, flushes the index and marks it as closed cleanly, then closes the index file. The data file
+    * must be flushed first.
+    */
+   void close(Collection<FileEntry> freeList, long dataFileSize) throws IOException {
+      try {
+         long freeListOffset = table.offset + (long) table.capacity * SLOT_SIZE;
+         ByteBuffer buf = ByteBuffer.allocate(freeList.size() * FREE_RECORD_SIZE);
+         for (FileEntry fe : freeList) {
+            buf.putLong(fe.offset);
+            buf.putInt(fe.size);
+         }
+         buf.flip();
+         while (buf.hasRemaining()) {
+            channel.write(buf, freeListOffset + buf.position());
+         }
+         channel.force(false);
+         table.force();
+
+         header.putLong(DATA_FILE_SIZE_POS, dataFileSize);
+         header.putLong(TABLE_OFFSET_POS, table.offset);
+         header.putInt(CAPACITY_POS, table.capacity);
+         header.putInt(SIZE_POS, size);
+         header.putLong(FREE_LIST_OFFSET_POS, freeListOffset);
+         header.putInt(FREE_LIST_SIZE_POS, freeList.size());
+         header.force();
+         // The flag is written last, once everything else is on disk
+         header.putInt(CLEAN_POS, 1);
+         header.force();
+         log.debugf("Closed index %s with %d entries", file, size);
+      } finally {
+         channel.close();
+      }
+   }
+
+   /**
+    * Closes the index file without marking the index as closed cleanly.
+    */
+   void abandon() throws IOException {
+      channel.close();
+   }
+
+   private int find(org.infinispan.commons.io.ByteBuffer key, long hash) {
+      int mask = table.capacity - 1;
+      for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+         long offset = table.offset(slot);
+         if (offset == EMPTY) {
+            return -1;
+         }
+         // Only read the key from the data file if the whole 64-bit hash matches
+         if (table.hash(slot) == hash && keyEquals(slot, offset, key)) {
+            return slot;
+         }
+      }
+   }
+
+   private boolean keyEquals(int slot, long offset, org.infinispan.commons.io.ByteBuffer key) {
+      int keyLen = table.keyLen(slot);
+      if (keyLen != key.getLength()) {
+         return false;
+      }
+      if (keyBuffer.capacity() < keyLen) {
+         keyBuffer = ByteBuffer.allocate(keyLen);
+      }
+      keyBuffer.clear().limit(keyLen);
+      try {
+         readFully(dataChannel, keyBuffer, offset + KEY_POS_LATEST);
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      }
+      byte[] keyBytes = key.getBuf();
+      int keyOffset = key.getOffset();
+      byte[] storedBytes = keyBuffer.array();
+      for (int i = 0; i < keyLen; i++) {
+         if (storedBytes[i] != keyBytes[keyOffset + i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private void insert(FileEntry fe, long hash) {
+      if (size + 1 > table.capacity * LOAD_FACTOR) {
+         grow();
+      }
+      table.write(table.emptySlot(hash), fe, hash);
+      size++;
+   }
+
+   /**
+    * Empties the slot, moving back the following entries of the cluster that can't be found anymore otherwise.
+    */
+   private void delete(int slot) {
+      int mask = table.capacity - 1;
+      int hole = slot;
+      for (int next = (hole + 1) & mask; table.offset(next) != EMPTY; next = (next + 1) & mask) {
+         int home = (int) table.hash(next) & mask;
+         // The entry can stay where it is if its home slot is cyclically in (hole, next]
+         boolean reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+         if (!reachable) {
+            table.copy(next, hole);
+            hole = next;
+         }
+      }
+      table.clear(hole);
+      size--;
+   }
+
+   private void grow() {
+      if (table.capacity == MAX_CAPACITY) {
+         throw new PersistenceException(String.format("Index %s cannot hold more than %d entries", file, size));
+      }
+      Table oldTable = table;
+      long newTableOffset = oldTable.offset + (long) oldTable.capacity * SLOT_SIZE;
+      int newCapacity = oldTable.capacity << 1;
+      try {
+         zero(newTableOffset, newTableOffset + (long) newCapacity * SLOT_SIZE);
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      }
+      Table newTable = new Table(newTableOffset, newCapacity);
+      for (int slot = 0; slot < oldTable.capacity; slot++) {
+         if (oldTable.offset(slot) != EMPTY) {
+            oldTable.copyTo(slot, newTable, newTable.emptySlot(oldTable.hash(slot)));
+         }
+      }
+      table = newTable;
+      clockHand = 0;
+      if (log.isTraceEnabled()) log.tracef("Index %s grew to %d slots", file, newCapacity);
+   }
+
+   /**
+    * Zeroes the part of the region that is inside the file, the file is zero-filled when it is extended.
+    */
+   private void zero(long start, long end) throws IOException {
+      long fileEnd = Math.min(end, channel.size());
+      ByteBuffer zeros = ByteBuffer.allocate(PAGE_SLOTS);
+      for (long position = start; position < fileEnd; ) {
+         zeros.clear().limit((int) Math.min(zeros.capacity(), fileEnd - position));
+         position += channel.write(zeros, position);
+      }
+   }
+
+   static long hash(org.infinispan.commons.io.ByteBuffer key) {
+      byte[] bytes = key.getBuf();
+      int offset = key.getOffset();
+      int length = key.getLength();
+      if (offset != 0 || length != bytes.length) {
+         bytes = Arrays.copyOfRange(bytes, offset, offset + length);
+      }
+      return MurmurHash3.MurmurHash3_x64_64(bytes, HASH_SEED);
+   }
+
+   private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+      while (buf.hasRemaining()) {
+         if (channel.read(buf, position + buf.position()) < 0) {
+            throw new IOException("Unexpected end of file at " + (position + buf.position()));
+         }
+      }
+   }
+
+   /**
+    * A table of slots, mapped one page at a time.
+    */
+   private final class Table {
+      final long offset;
+      final int capacity;
+      final MappedByteBuffer[] pages;
+
+      Table(long offset, int capacity) {
+         this.offset = offset;
+         this.capacity = capacity;
+         this.pages = new MappedByteBuffer[(capacity + PAGE_SLOTS - 1) >>> PAGE_SLOTS_BITS];
+      }
+
+      private MappedByteBuffer page(int slot) {
+         int pageIndex = slot >>> PAGE_SLOTS_BITS;
+         MappedByteBuffer page = pages[pageIndex];
+         if (page == null) {
+            long pageSize = (long) Math.min(capacity, PAGE_SLOTS) * SLOT_SIZE;
+            try {
+               page = channel.map(FileChannel.MapMode.READ_WRITE, offset + pageIndex * pageSize, pageSize);
+            } catch (IOException e) {
+               throw new PersistenceException(e);
+            }
+            pages[pageIndex] = page;
+         }
+         return page;
+      }
+
+      private int position(int slot) {
+         return (slot & (PAGE_SLOTS - 1)) * SLOT_SIZE;
+      }
+
+      long offset(int slot) {
+         return page(slot).getLong(position(slot) + OFFSET_POS);
+      }
+
+      long hash(int slot) {
+         return page(slot).getLong(position(slot) + HASH_POS);
+      }
+
+      int keyLen(int slot) {
+         return page(slot).getInt(position(slot) + KEY_LEN_POS);
+      }
+
+      boolean isExpired(int slot, long now) {
+         long expiryTime = page(slot).getLong(position(slot) + EXPIRY_TIME_POS);
+         return expiryTime > 0 && expiryTime < now;
+      }
+
+      void markReferenced(int slot) {
+         MappedByteBuffer page = page(slot);
+         int position = position(slot) + REFERENCED_POS;
+         // Avoid dirtying the page if the flag is already set
+         if (page.getInt(position) == 0) {
+            page.putInt(position, 1);
+         }
+      }
+
+      /**
+       * @return {@code true} if the referenced flag was set
+       */
+      boolean clearReferenced(int slot) {
+         MappedByteBuffer page = page(slot);
+         int position = position(slot) + REFERENCED_POS;
+         if (page.getInt(position) == 0) {
+            return false;
+         }
+         page.putInt(position, 0);
+         return true;
+      }
+
+      FileEntry entry(int slot) {
+         MappedByteBuffer page = page(slot);
+         int position = position(slot);
+         return new FileEntry(page.getLong(position + OFFSET_POS), page.getInt(position + ENTRY_SIZE_POS),
+               page.getInt(position + KEY_LEN_POS), page.getInt(position + DATA_LEN_POS),
+               page.getInt(position + METADATA_LEN_POS), page.getInt(position + INTERNAL_METADATA_LEN_POS),
+               page.getLong(position + EXPIRY_TIME_POS), page.getLong(position + HASH_POS));
+      }
+
+      void write(int slot, FileEntry fe, long hash) {
+         MappedByteBuffer page = page(slot);
+         int position = position(slot);
+         page.putLong(position + EXPIRY_TIME_POS, fe.expiryTime);
+         page.putLong(position + HASH_POS, hash);
+         page.putInt(position + ENTRY_SIZE_POS, fe.size);
+         page.putInt(position + KEY_LEN_POS, fe.keyLen);
+         page.putInt(position + DATA_LEN_POS, fe.dataLen);
+         page.putInt(position + METADATA_LEN_POS, fe.metadataLen);
+         page.putInt(position + INTERNAL_METADATA_LEN_POS, fe.internalMetadataLen);
+         page.putInt(position + REFERENCED_POS, 1);
+         page.putLong(position + OFFSET_POS, fe.offset);
+      }
+
+      int emptySlot(long hash) {
+         int mask = capacity - 1;
+         int slot = (int) hash & mask;
+         while (offset(slot) != EMPTY) {
+            slot = (slot + 1) & mask;
+         }
+         return slot;
+      }
+
+      void copy(int from, int to) {
+         copyTo(from, this, to);
+      }
+
+      void copyTo(int slot, Table target, int targetSlot) {
+         MappedByteBuffer page = page(slot);
+         MappedByteBuffer targetPage = target.page(targetSlot);
+         int position = position(slot);
+         int targetPosition = target.position(targetSlot);
+         for (int i = 0; i < SLOT_SIZE; i += 8) {
+            targetPage.putLong(targetPosition + i, page.getLong(position + i));
+         }
+      }
+
+      void clear(int slot) {
+         MappedByteBuffer page = page(slot);
+         int position = position(slot);
+         for (int i = 0; i < SLOT_SIZE; i += 8) {
+            page.putLong(position + i, 0);
+         }
+      }
+
+      void force() {
+         for (MappedByteBuffer page : pages) {
+            if (page != null) {
+               page.force();
+            }
+         }
+      }
+   }
+}
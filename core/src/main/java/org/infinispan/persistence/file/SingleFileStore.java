@@ -15,7 +15,6 @@
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
@@ -26,6 +25,7 @@
 
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.io.ByteBufferFactory;
+import org.infinispan.commons.io.ByteBufferImpl;
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.persistence.Store;
 import org.infinispan.commons.time.TimeService;
@@ -39,7 +39,6 @@
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.persistence.spi.PersistenceException;
-import org.infinispan.util.KeyValuePair;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -48,23 +47,26 @@
 /**
  * A filesystem-based implementation of a {@link org.infinispan.persistence.spi.AdvancedLoadWriteStore}. This file store
  * stores cache values in a single file <tt>&lt;location&gt;/&lt;cache name&gt;.dat</tt>,
- * keys and file positions are kept in memory.
+ * and the file positions of the entries in the memory-mapped index file
+ * <tt>&lt;location&gt;/&lt;cache name&gt;.idx</tt>.
  * <p/>
- * Note: this CacheStore implementation keeps keys and file positions in memory!
- * The current implementation needs about 100 bytes per cache entry, plus the
- * memory for the key objects.
+ * The index doesn't keep the keys, it keeps the hash of each serialized key and
+ * compares the keys with the serialized keys in the data file, so neither the
+ * keys nor the index are kept on the heap. Only the free list, the unused
+ * blocks of the data file, is kept in memory.
  * <p/>
- * So, the space taken by this cache store is both the space in the file
- * itself plus the in-memory index with the keys and their file positions.
- * With this in mind and to avoid the cache store leading to
- * OutOfMemoryExceptions, you can optionally configure the maximum number
- * of entries to maintain in this cache store, which affects both the size
- * of the file and the size of the in-memory index. However, setting this
- * maximum limit results in older entries in the cache store to be eliminated,
- * and hence, it only makes sense configuring a maximum limit if Infinispan
- * is used as a cache where loss of data in the cache store does not lead to
- * data loss, and data can be recomputed or re-queried from the original data
- * source.
+ * When the store is stopped cleanly the index is flushed and marked as clean,
+ * so the next start only needs to map it instead of scanning the whole data
+ * file. If the store is not stopped cleanly, the index is rebuilt from the data
+ * file on the next start.
+ * <p/>
+ * You can optionally configure the maximum number of entries to maintain in
+ * this cache store, which affects both the size of the file and the size of the
+ * index. However, setting this maximum limit results in the least recently used
+ * entries in the cache store to be eliminated, and hence, it only makes sense
+ * configuring a maximum limit if Infinispan is used as a cache where loss of
+ * data in the cache store does not lead to data loss, and data can be
+ * recomputed or re-queried from the original data source.
  * <p/>
  * This class is fully thread safe, yet allows for concurrent load / store
  * of individual cache entries.
@@ -82,6 +84,7 @@
    public static final byte[] MAGIC_11_0 = new byte[]{'F', 'C', 'S', '2'};
    public static final byte[] MAGIC_12_0 = new byte[]{'F', 'C', 'S', '3'};
    public static final byte[] MAGIC_LATEST = MAGIC_12_0;
+   public static final byte[] INDEX_MAGIC = new byte[]{'F', 'C', 'I', '2'};
    private static final byte[] ZERO_INT = {0, 0, 0, 0};
    private static final int KEYLEN_POS = 4;
    /*
@@ -112,10 +115,13 @@
    protected InitializationContext ctx;
 
    private FileChannel channel;
-   private Map<K, FileEntry> entries;
+   private SingleFileIndex index;
    private SortedSet<FileEntry> freeList;
+   // The entries that are being read, by file offset, guarded by its own monitor
+   private final Map<Long, FileEntry> readLocks = new HashMap<>();
    private long filePos = MAGIC_LATEST.length;
    private File file;
+   private File indexFile;
    private float fragmentationFactor = .75f;
    // Prevent clear() from truncating the file after a write() allocated the entry but before it wrote the data
    private final StampedLock resizeLock = new StampedLock();
@@ -127,6 +133,11 @@ public static File getStoreFile(GlobalConfiguration globalConfiguration, String
       return new File(location.toFile(), cacheName + ".dat");
    }
 
+   public static File getIndexFile(GlobalConfiguration globalConfiguration, String locationPath, String cacheName) {
+      Path location = PersistenceUtil.getLocation(globalConfiguration, locationPath);
+      return new File(location.toFile(), cacheName + ".idx");
+   }
+
    @Override
    public void init(InitializationContext ctx) {
       this.ctx = ctx;
@@ -139,6 +150,7 @@ public void init(InitializationContext ctx) {
    public void start() {
       try {
          file = getStoreFile(ctx.getGlobalConfiguration(), configuration.location(), ctx.getCache().getName());
+         indexFile = getIndexFile(ctx.getGlobalConfiguration(), configuration.location(), ctx.getCache().getName());
          if (!SecurityActions.fileExists(file)) {
             File dir = file.getParentFile();
             if (!SecurityActions.createDirectoryIfNeeded(dir)) {
@@ -147,18 +159,14 @@ public void start() {
          }
          channel = SecurityActions.openFileChannel(file);
 
-         // initialize data structures. Only use LinkedHashMap (LRU) for entries when cache store is bounded
-         Map<K, FileEntry> entryMap = configuration.maxEntries() > 0 ?
-               new LinkedHashMap<>(16, 0.75f, true) :
-               new HashMap<>();
-         entries = Collections.synchronizedMap(entryMap);
+         // initialize data structures
          freeList = Collections.synchronizedSortedSet(new TreeSet<>());
 
          // check file format and read persistent state if enabled for the cache
          byte[] header = new byte[MAGIC_LATEST.length];
          if (!configuration.purgeOnStartup() && channel.read(ByteBuffer.wrap(header), 0) == MAGIC_LATEST.length) {
             if (Arrays.equals(MAGIC_LATEST, header)) {
-               rebuildIndex();
+               openIndex();
                processFreeEntries();
             } else if (Arrays.equals(MAGIC_11_0, header)) {
                migrateFromV11();
@@ -166,11 +174,14 @@ public void start() {
             } else if (Arrays.equals(MAGIC_BEFORE_11, header)) {
                throw PERSISTENCE.persistedDataMigrationAcrossMajorVersions();
             } else {
+               index = SingleFileIndex.create(indexFile, channel);
                clear(); // otherwise (unknown file format or no preload) just reset the file
             }
          }
-         else
+         else {
+            index = SingleFileIndex.create(indexFile, channel);
             clear(); // otherwise (unknown file format or no preload) just reset the file
+         }
 
          // Initialize the fragmentation factor
          fragmentationFactor = configuration.fragmentationFactor();
@@ -185,12 +196,15 @@ public void start() {
    public void stop() {
       try {
          if (channel != null) {
-            log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), entries.size(), channel.size());
+            if (index != null) {
+               log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), index.size(), channel.size());
+               closeIndex();
+            }
 
             // reset state
             channel.close();
             channel = null;
-            entries = null;
+            index = null;
             freeList = null;
             filePos = MAGIC_LATEST.length;
          }
@@ -202,6 +216,9 @@ public void stop() {
    @Override
    public void destroy() {
       stop();
+      if (indexFile.delete()) {
+         log.tracef("Deleted file: " + indexFile);
+      }
       if (file.delete()) {
          log.tracef("Deleted file: " + file);
       } else {
@@ -215,7 +232,7 @@ public boolean isAvailable() {
    }
 
    /**
-    * Rebuilds the in-memory index from file.
+    * Rebuilds the index from file.
     */
    private void rebuildIndex() throws Exception {
       ByteBuffer buf = ByteBuffer.allocate(KEY_POS_LATEST);
@@ -240,13 +257,9 @@ private void rebuildIndex() throws Exception {
 
          // check if the entry is used or free
          if (fe.keyLen > 0) {
-            // load the key from file
+            // load the serialized key from file and add it to the index
             buf = readChannel(buf, fe.offset + KEY_POS_LATEST, fe.keyLen);
-
-            // deserialize key and add to entries map
-            // Marshaller should allow for provided type return for safety
-            K key = (K) ctx.getPersistenceMarshaller().objectFromByteBuffer(buf.array(), 0, fe.keyLen);
-            entries.put(key, fe);
+            index.put(ByteBufferImpl.create(buf.array(), 0, fe.keyLen), fe);
          } else {
             // add to free list
             freeList.add(fe);
@@ -254,6 +267,45 @@ private void rebuildIndex() throws Exception {
       }
    }
 
+   /**
+    * Opens the index of the data file, or rebuilds it by scanning the data file if it was not closed cleanly.
+    */
+   private void openIndex() throws Exception {
+      SingleFileIndex loadedIndex = null;
+      try {
+         loadedIndex = SingleFileIndex.open(indexFile, channel, freeList);
+      } catch (IOException | RuntimeException e) {
+         // A corrupt index, fall back to scanning the data file
+         log.debugf(e, "Could not open index %s", indexFile);
+      }
+      if (loadedIndex != null && loadedIndex.isLoaded()) {
+         index = loadedIndex;
+         filePos = channel.size();
+         return;
+      }
+      index = loadedIndex != null ? loadedIndex : SingleFileIndex.create(indexFile, channel);
+      freeList.clear();
+      rebuildIndex();
+   }
+
+   /**
+    * Marks the index as closed cleanly, so that the next start doesn't need to scan the data file.
+    */
+   private void closeIndex() {
+      try {
+         // The data must be on disk before the index that points to it
+         channel.force(false);
+         synchronized (index) {
+            synchronized (freeList) {
+               index.close(freeList, channel.size());
+            }
+         }
+      } catch (IOException e) {
+         // The index will be rebuilt from the data file on the next start
+         log.debugf(e, "Could not close index %s", indexFile);
+      }
+   }
+
    private void migrateFromV11() {
       String cacheName = ctx.getCache().getName();
       PERSISTENCE.startMigratingPersistenceData(cacheName);
@@ -265,6 +317,8 @@ private void migrateFromV11() {
       long oldFilePos = MAGIC_11_0.length;
       // Only update the key/value/meta bytes if the default marshaller is configured
       boolean transformationRequired = ctx.getGlobalConfiguration().serialization().marshaller() == null;
+      // The index is created once the new file replaces the old one
+      List<FileEntry> migratedEntries = new ArrayList<>();
 
       try (FileChannel newChannel = SecurityActions.openFileChannel(newFile)) {
          //Write Magic
@@ -310,7 +364,8 @@ private void migrateFromV11() {
 
                int newMetaSize = newMeta != null ? newMeta.limit() + TIMESTAMP_BYTES : 0;
                FileEntry newFe = new FileEntry(newFilePos, oldFe.size, newKey.limit(), newValue.limit(), newMetaSize,
-                     oldFe.internalMetadataLen, oldFe.expiryTime);
+                     oldFe.internalMetadataLen, oldFe.expiryTime,
+                     SingleFileIndex.hash(ByteBufferImpl.create(newKey.array(), 0, newKey.limit())));
 
                // write the FileEntry to new file
                buf = allocate(buf, KEY_POS_LATEST);
@@ -318,7 +373,7 @@ private void migrateFromV11() {
                buf.flip();
                newChannel.write(buf, newFilePos);
                newFilePos += KEY_POS_LATEST; //size written
-               entries.put(key, newFe);
+               migratedEntries.add(newFe);
 
                //write the updated content to the new file
                newFilePos += newChannel.write(newKey, newFilePos);
@@ -338,7 +393,9 @@ private void migrateFromV11() {
                remainingLength = (newFe.expiryTime > 0 ? TIMESTAMP_BYTES : 0) + oldFe.internalMetadataLen + 8;
             } else {
                // Simply use the old FileEntry as only the magic bytes are updated
-               entries.put(key, oldFe);
+               migratedEntries.add(new FileEntry(oldFe.offset, oldFe.size, oldFe.keyLen, oldFe.dataLen,
+                     oldFe.metadataLen, oldFe.internalMetadataLen, oldFe.expiryTime,
+                     SingleFileIndex.hash(marshallKey(key))));
                remainingLength = oldFe.size - oldFe.keyLen - KEY_POS_11_0;
             }
 
@@ -362,6 +419,11 @@ private void migrateFromV11() {
          channel = SecurityActions.openFileChannel(file);
          //update file position
          filePos = newFilePos;
+         // the keys of the old file are unique, so they don't need to be compared
+         index = SingleFileIndex.create(indexFile, channel);
+         for (FileEntry fe : migratedEntries) {
+            index.putNew(fe);
+         }
          PERSISTENCE.persistedDataSuccessfulMigrated(cacheName);
       } catch (IOException e) {
          throw PERSISTENCE.persistedDataMigrationFailed(cacheName, e);
@@ -414,14 +476,79 @@ private ByteBuffer allocate(ByteBuffer buf, int length) {
 
    /**
     * The base class implementation calls {@link CacheLoader#loadEntry(Object)} for this, we can do better because
-    * we keep all keys in memory.
+    * the index has the expiration time of all the entries.
     */
    @Override
    public boolean contains(Object key) {
-      FileEntry entry = entries.get(key);
+      org.infinispan.commons.io.ByteBuffer keyBytes = marshallKey(key);
+      FileEntry entry;
+      synchronized (index) {
+         entry = index.get(keyBytes);
+      }
       return entry != null && !entry.isExpired(timeService.wallClockTime());
    }
 
+   private org.infinispan.commons.io.ByteBuffer marshallKey(Object key) {
+      try {
+         return ctx.getPersistenceMarshaller().objectToBuffer(key);
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException(e);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private K unmarshallKey(byte[] data, int keyLen) {
+      try {
+         // Marshaller should allow for provided type return for safety
+         return (K) ctx.getPersistenceMarshaller().objectFromByteBuffer(data, 0, keyLen);
+      } catch (IOException | ClassNotFoundException e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   /**
+    * Prevents {@link #allocate(int)} and {@link #clear()} from reusing the space of the entry while it is read.
+    * <p/>
+    * Note: Caller must hold the monitor of the index, and the index must point to the entry.
+    *
+    * @return the entry to pass to {@link #unlockForReading(FileEntry)}
+    */
+   private FileEntry lockForReading(FileEntry fe) {
+      synchronized (readLocks) {
+         FileEntry locked = readLocks.putIfAbsent(fe.offset, fe);
+         if (locked == null)
+            locked = fe;
+         locked.readers++;
+         return locked;
+      }
+   }
+
+   private void unlockForReading(FileEntry locked) {
+      synchronized (readLocks) {
+         if (--locked.readers == 0) {
+            readLocks.remove(locked.offset);
+            readLocks.notifyAll();
+         }
+      }
+   }
+
+   private boolean isLockedForReading(FileEntry fe) {
+      synchronized (readLocks) {
+         return readLocks.containsKey(fe.offset);
+      }
+   }
+
+   private void waitForReaders() throws InterruptedException {
+      synchronized (readLocks) {
+         while (!readLocks.isEmpty()) {
+            readLocks.wait();
+         }
+      }
+   }
+
    /**
     * Allocates the requested space in the file.
     *
@@ -435,15 +562,15 @@ private FileEntry allocate(int len) {
          for (Iterator<FileEntry> it = candidates.iterator(); it.hasNext(); ) {
             FileEntry free = it.next();
             // ignore entries that are still in use by concurrent readers
-            if (free.isLocked())
+            if (isLockedForReading(free))
                continue;
 
             // There's no race condition risk between locking the entry on
             // loading and checking whether it's locked (or store allocation),
             // because for the entry to be lockable, it needs to be in the
-            // entries collection, in which case it's not in the free list.
+            // index, in which case it's not in the free list.
             // The only way an entry can be found in the free list is if it's
-            // been removed, and to remove it, lock on "entries" needs to be
+            // been removed, and to remove it, the index monitor needs to be
             // acquired, which is also a pre-requisite for loading data.
 
             // found one, remove from freeList
@@ -505,7 +632,7 @@ private void addNewFreeEntry(FileEntry fe) throws IOException {
    private void free(FileEntry fe) throws IOException {
       if (fe != null) {
          // Invalidate entry on disk (by setting keyLen field to 0)
-         // No need to wait for readers to unlock here, the FileEntry instance is not modified,
+         // No need to wait for readers to unlock here, the data is not modified,
          // and allocate() won't return an entry as long as it has a reader.
          channel.write(ByteBuffer.wrap(ZERO_INT), fe.offset + KEYLEN_POS);
          if (!freeList.add(fe)) {
@@ -555,12 +682,14 @@ public void write(MarshallableEntry<? extends K, ? extends V> marshalledEntry) {
             channel.write(buf, newEntry.offset);
             if (log.isTraceEnabled()) log.tracef("Wrote entry %s:%d at %d:%d", marshalledEntry.getKey(), len, newEntry.offset, newEntry.size);
 
-            // add the new entry to in-memory index
-            oldEntry = entries.put(marshalledEntry.getKey(), newEntry);
+            // add the new entry to the index
+            synchronized (index) {
+               oldEntry = index.put(key, newEntry);
 
-            // if we added an entry, check if we need to evict something
-            if (oldEntry == null)
-               oldEntry = evict();
+               // if we added an entry, check if we need to evict something
+               if (oldEntry == null)
+                  oldEntry = evict();
+            }
          } finally {
             // in case we replaced or evicted an entry, add to freeList
             try {
@@ -576,19 +705,14 @@ public void write(MarshallableEntry<? extends K, ? extends V> marshalledEntry) {
 
    /**
     * Try to evict an entry if the capacity of the cache store is reached.
+    * <p/>
+    * Note: Caller must hold the monitor of the index.
     *
     * @return FileEntry to evict, or null (if unbounded or capacity is not yet reached)
     */
    private FileEntry evict() {
-      if (configuration.maxEntries() > 0) {
-         synchronized (entries) {
-            if (entries.size() > configuration.maxEntries()) {
-               Iterator<FileEntry> it = entries.values().iterator();
-               FileEntry fe = it.next();
-               it.remove();
-               return fe;
-            }
-         }
+      if (configuration.maxEntries() > 0 && index.size() > configuration.maxEntries()) {
+         return index.evict();
       }
       return null;
    }
@@ -597,16 +721,13 @@ private FileEntry evict() {
    public void clear() {
       long stamp = resizeLock.writeLock();
       try {
-         synchronized (entries) {
+         synchronized (index) {
             synchronized (freeList) {
                // wait until all readers are done reading file entries
-               for (FileEntry fe : entries.values())
-                  fe.waitUnlocked();
-               for (FileEntry fe : freeList)
-                  fe.waitUnlocked();
+               waitForReaders();
 
-               // clear in-memory state
-               entries.clear();
+               // clear the index and the in-memory state
+               index.clear();
                freeList.clear();
 
                // reset file
@@ -625,9 +746,13 @@ public void clear() {
 
    @Override
    public boolean delete(Object key) {
+      org.infinispan.commons.io.ByteBuffer keyBytes = marshallKey(key);
       long stamp = resizeLock.readLock();
       try {
-         FileEntry fe = entries.remove(key);
+         FileEntry fe;
+         synchronized (index) {
+            fe = index.remove(keyBytes);
+         }
          free(fe);
          return fe != null;
       } catch (Exception e) {
@@ -643,55 +768,103 @@ public MarshallableEntry<K, V> loadEntry(Object key) {
    }
 
    private MarshallableEntry<K, V> _load(Object key, boolean loadValue, boolean loadMetadata) {
+      org.infinispan.commons.io.ByteBuffer keyBytes = marshallKey(key);
       final FileEntry fe;
+      final FileEntry locked;
       long stamp = resizeLock.readLock();
       try {
-         synchronized (entries) {
+         synchronized (index) {
             // lookup FileEntry of the key
-            fe = entries.get(key);
+            fe = index.get(keyBytes);
             if (fe == null)
                return null;
 
             // Entries are removed due to expiration from {@link SingleFileStore#purge}
-            if (fe.isExpired(timeService.wallClockTime())) {
+            if (fe.isExpired(timeService.wallClockTime()))
                return null;
-            } else {
-               // lock entry for reading before releasing entries monitor
-               fe.lock();
-            }
+
+            // If we only require the key, then no need to read disk
+            if (!loadValue && !loadMetadata)
+               return entryFactory.create(key);
+
+            // lock entry for reading before releasing the index monitor
+            locked = lockForReading(fe);
          }
       } finally {
          resizeLock.unlockRead(stamp);
       }
 
-      org.infinispan.commons.io.ByteBuffer valueBb = null;
+      final byte[] data;
+      try {
+         data = readEntry(fe, dataLength(fe, loadMetadata));
+      } finally {
+         // No need to keep the lock for deserialization.
+         unlockForReading(locked);
+      }
 
-      // If we only require the key, then no need to read disk
-      if (!loadValue && !loadMetadata) {
-         try {
-            return entryFactory.create(key);
-         } finally {
-            fe.unlock();
+      if (log.isTraceEnabled()) log.tracef("Read entry %s at %d:%d", key, fe.offset, fe.actualSize());
+      return createEntry(fe, data, loadValue, loadMetadata);
+   }
+
+   /**
+    * Loads an entry found by iterating over the index, if the index still points to it.
+    */
+   private MarshallableEntry<K, V> loadEntry(FileEntry fe, Predicate<? super K> filter, boolean loadValue,
+                                             boolean loadMetadata) {
+      final FileEntry locked;
+      long stamp = resizeLock.readLock();
+      try {
+         synchronized (index) {
+            // The entry may have been removed or replaced since the iteration started
+            if (!index.isCurrent(fe))
+               return entryFactory.getEmpty();
+
+            locked = lockForReading(fe);
          }
+      } finally {
+         resizeLock.unlockRead(stamp);
       }
 
       final byte[] data;
       try {
-         // load serialized data from disk
-         data = new byte[fe.keyLen + fe.dataLen + (loadMetadata ? fe.metadataLen + fe.internalMetadataLen : 0)];
-         // The entry lock will prevent clear() from truncating the file at this point
+         // If we only require the key, then only read the key
+         data = readEntry(fe, loadValue || loadMetadata ? dataLength(fe, loadMetadata) : fe.keyLen);
+      } finally {
+         unlockForReading(locked);
+      }
+
+      if (filter != null && !filter.test(unmarshallKey(data, fe.keyLen)))
+         return entryFactory.getEmpty();
+
+      if (!loadValue && !loadMetadata)
+         return entryFactory.create(unmarshallKey(data, fe.keyLen));
+
+      return createEntry(fe, data, loadValue, loadMetadata);
+   }
+
+   private static int dataLength(FileEntry fe, boolean loadMetadata) {
+      return fe.keyLen + fe.dataLen + (loadMetadata ? fe.metadataLen + fe.internalMetadataLen : 0);
+   }
+
+   /**
+    * Reads the first {@code length} bytes of serialized data of an entry, starting with the key.
+    * <p/>
+    * Note: Caller must hold a read lock on the entry, to prevent clear() from truncating the file.
+    */
+   private byte[] readEntry(FileEntry fe, int length) {
+      try {
+         byte[] data = new byte[length];
          channel.read(ByteBuffer.wrap(data), fe.offset + KEY_POS_LATEST);
+         return data;
       } catch (Exception e) {
          throw new PersistenceException(e);
-      } finally {
-         // No need to keep the lock for deserialization.
-         // FileEntry is immutable, so its members can't be changed by another thread.
-         fe.unlock();
       }
+   }
 
-      if (log.isTraceEnabled()) log.tracef("Read entry %s at %d:%d", key, fe.offset, fe.actualSize());
+   private MarshallableEntry<K, V> createEntry(FileEntry fe, byte[] data, boolean loadValue, boolean loadMetadata) {
       ByteBufferFactory factory = ctx.getByteBufferFactory();
       org.infinispan.commons.io.ByteBuffer keyBb = factory.newByteBuffer(data, 0, fe.keyLen);
+      org.infinispan.commons.io.ByteBuffer valueBb = null;
 
       if (loadValue) {
          valueBb = factory.newByteBuffer(data, fe.keyLen, fe.dataLen);
@@ -728,50 +901,25 @@ private MarshallableEntry<K, V> _load(Object key, boolean loadValue, boolean loa
 
    @Override
    public Flowable<K> publishKeys(Predicate<? super K> filter) {
-      return Flowable.fromIterable(() -> {
-         List<K> keys = new ArrayList<>(entries.size());
-         long now = ctx.getTimeService().wallClockTime();
-         synchronized (entries) {
-            for (Map.Entry<K, FileEntry> e : entries.entrySet()) {
-               K key = e.getKey();
-               if (!e.getValue().isExpired(now)  && (filter == null || filter.test(key))) {
-                  keys.add(key);
-               }
-            }
-         }
-         // This way each invocation is a new copy
-         return keys.iterator();
-      });
+      return entryPublisher(filter, false, false).map(MarshallableEntry::getKey);
    }
 
    @Override
    public Flowable<MarshallableEntry<K, V>> entryPublisher(Predicate<? super K> filter, boolean fetchValue, boolean fetchMetadata) {
-      if (fetchMetadata || fetchValue) {
-         return Flowable.fromIterable(() -> {
-            // This way the sorting of entries is lazily done on each invocation of the publisher
-            List<KeyValuePair<K, FileEntry>> keysToLoad = new ArrayList<>(entries.size());
-            long now = ctx.getTimeService().wallClockTime();
-            synchronized (entries) {
-               for (Map.Entry<K, FileEntry> e : entries.entrySet()) {
-                  if ((filter == null || filter.test(e.getKey())) && !e.getValue().isExpired(now)) {
-                     keysToLoad.add(new KeyValuePair<>(e.getKey(), e.getValue()));
-                  }
-               }
-            }
+      return Flowable.fromIterable(() -> {
+         // This way the sorting of entries is lazily done on each invocation of the publisher
+         List<FileEntry> entriesToLoad;
+         long now = ctx.getTimeService().wallClockTime();
+         synchronized (index) {
+            entriesToLoad = index.entries(now);
+         }
 
-            keysToLoad.sort(Comparator.comparingLong(o -> o.getValue().offset));
-            return keysToLoad.iterator();
-         }).map(kvp -> {
-            MarshallableEntry<K, V> entry = _load(kvp.getKey(), fetchValue, fetchMetadata);
-            if (entry == null) {
-               // Rxjava2 doesn't allow nulls
-               entry = entryFactory.getEmpty();
-            }
-            return entry;
-         }).filter(me -> me != entryFactory.getEmpty());
-      } else {
-         return publishKeys(filter).map(k -> entryFactory.create(k));
-      }
+         // The keys are only stored in the data file, read them in file order
+         entriesToLoad.sort(Comparator.comparingLong(fe -> fe.offset));
+         return entriesToLoad.iterator();
+      }).map(fe -> loadEntry(fe, filter, fetchValue, fetchMetadata))
+        // Rxjava doesn't allow nulls
+        .filter(me -> me != entryFactory.getEmpty());
    }
 
    /**
@@ -805,7 +953,7 @@ private void truncateFile(List<FileEntry> entries) {
          // Till we have free entries at the end of the file,
          // we can remove them and contract the file to release disk
          // space.
-         if (!fe.isLocked() && ((fe.offset + fe.size) == filePos)) {
+         if (!isLockedForReading(fe) && ((fe.offset + fe.size) == filePos)) {
             truncateOffset = fe.offset;
             filePos = fe.offset;
             freeList.remove(fe);
@@ -841,7 +989,7 @@ private void mergeFreeEntries(List<FileEntry> entries) {
       FileEntry newEntry = null;
       int mergeCounter = 0;
       for (FileEntry fe : entries) {
-         if (fe.isLocked())
+         if (isLockedForReading(fe))
             continue;
 
          // Merge any holes created (consecutive free entries) in the file
@@ -882,32 +1030,22 @@ private void mergeAndLogEntry(FileEntry entry, int mergeCounter) {
    @Override
    public void purge(Executor threadPool, final PurgeListener task) {
       long now = timeService.wallClockTime();
-      List<KeyValuePair<Object, FileEntry>> entriesToPurge = new ArrayList<>();
-      synchronized (entries) {
-         for (Iterator<Map.Entry<K, FileEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
-            Map.Entry<K, FileEntry> next = it.next();
-            FileEntry fe = next.getValue();
-            if (fe.isExpired(now)) {
-               it.remove();
-               entriesToPurge.add(new KeyValuePair<>(next.getKey(), fe));
-            }
-         }
-      }
-
       long stamp = resizeLock.readLock();
       try {
-         for (Iterator<KeyValuePair<Object, FileEntry>> it = entriesToPurge.iterator(); it.hasNext(); ) {
-            KeyValuePair<Object, FileEntry> next = it.next();
-            FileEntry fe = next.getValue();
-            if (fe.isExpired(now)) {
-               it.remove();
-               try {
-                  free(fe);
-               } catch (Exception e) {
-                  throw new PersistenceException(e);
-               }
-               if (task != null) task.entryPurged(next.getKey());
+         List<FileEntry> entriesToPurge;
+         synchronized (index) {
+            entriesToPurge = index.removeExpired(now);
+         }
+
+         for (FileEntry fe : entriesToPurge) {
+            // The key is only stored in the data file, read it before the space can be reused
+            K key = task != null ? unmarshallKey(readEntry(fe, fe.keyLen), fe.keyLen) : null;
+            try {
+               free(fe);
+            } catch (Exception e) {
+               throw new PersistenceException(e);
             }
+            if (task != null) task.entryPurged(key);
          }
 
          // Disk space optimizations
@@ -921,11 +1059,9 @@ public void purge(Executor threadPool, final PurgeListener task) {
 
    @Override
    public int size() {
-      return entries.size();
-   }
-
-   Map<K, FileEntry> getEntries() {
-      return entries;
+      synchronized (index) {
+         return index.size();
+      }
    }
 
    SortedSet<FileEntry> getFreeList() {
@@ -955,7 +1091,7 @@ public SingleFileStoreConfiguration getConfiguration() {
     * <li>{@link #metadataLen} bytes: serialized key</li>
     * </ul>
     */
-   private static class FileEntry implements Comparable<FileEntry> {
+   static class FileEntry implements Comparable<FileEntry> {
       /**
        * File offset of this block.
        */
@@ -992,7 +1128,12 @@ private static class FileEntry implements Comparable<FileEntry> {
       final long expiryTime;
 
       /**
-       * Number of current readers.
+       * Hash of the serialized key, only set for the entries read from the index.
+       */
+      final long keyHash;
+
+      /**
+       * Number of current readers, guarded by the monitor of {@link #readLocks}.
        */
       transient int readers = 0;
 
@@ -1004,6 +1145,7 @@ private static class FileEntry implements Comparable<FileEntry> {
          this.metadataLen = buf.getInt();
          this.internalMetadataLen = buf.getInt();
          this.expiryTime = buf.getLong();
+         this.keyHash = 0;
       }
 
       FileEntry(long offset, int size) {
@@ -1011,6 +1153,11 @@ private static class FileEntry implements Comparable<FileEntry> {
       }
 
       FileEntry(long offset, int size, int keyLen, int dataLen, int metadataLen, int internalMetadataLen, long expiryTime) {
+         this(offset, size, keyLen, dataLen, metadataLen, internalMetadataLen, expiryTime, 0);
+      }
+
+      FileEntry(long offset, int size, int keyLen, int dataLen, int metadataLen, int internalMetadataLen, long expiryTime,
+                long keyHash) {
          this.offset = offset;
          this.size = size;
          this.keyLen = keyLen;
@@ -1018,30 +1165,7 @@ private static class FileEntry implements Comparable<FileEntry> {
          this.metadataLen = metadataLen;
          this.internalMetadataLen = internalMetadataLen;
          this.expiryTime = expiryTime;
-      }
-
-      synchronized boolean isLocked() {
-         return readers > 0;
-      }
-
-      synchronized void lock() {
-         readers++;
-      }
-
-      synchronized void unlock() {
-         readers--;
-         if (readers == 0)
-            notifyAll();
-      }
-
-      synchronized void waitUnlocked() {
-         while (readers > 0) {
-            try {
-               wait();
-            } catch (InterruptedException e) {
-               Thread.currentThread().interrupt();
-            }
-         }
+         this.keyHash = keyHash;
       }
 
       boolean isExpired(long now) {
@@ -1,6 +1,7 @@
 package org.infinispan.persistence.manager;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiPredicate;
@@ -13,6 +14,7 @@
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.TxInvocationContext;
+import org.infinispan.persistence.async.AsyncNonBlockingStore;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.PersistenceException;
@@ -55,6 +57,15 @@ public interface PersistenceManager extends Lifecycle {
 
    Collection<String> getStoresAsString();
 
+   /**
+    * Returns the write-behind wrappers of the stores that are configured with
+    * {@link org.infinispan.configuration.cache.AsyncStoreConfiguration#enabled() write-behind}.
+    * @since 13.0
+    */
+   default Collection<AsyncNonBlockingStore<?, ?>> getAsyncStores() {
+      return Collections.emptyList();
+   }
+
    /**
     * Removes the expired entries from all the existing storage.
     */
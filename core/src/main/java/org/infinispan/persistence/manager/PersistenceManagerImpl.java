@@ -282,6 +282,16 @@ private Set<Characteristic> updateCharacteristics(NonBlockingStore store, Set<Ch
       } else {
          characteristics.remove(Characteristic.SHAREABLE);
       }
+      if (storeConfiguration.maxConcurrentOperations() > 0 || storeConfiguration.virtualThreads()) {
+         if (!characteristics.contains(Characteristic.CONCURRENCY_LIMIT)) {
+            if (storeConfiguration.maxConcurrentOperations() > 0) {
+               throw log.storeConfiguredConcurrencyLimitButCharacteristicNotPresent(store.getClass().getName());
+            }
+            throw log.storeConfiguredVirtualThreadsButCharacteristicNotPresent(store.getClass().getName());
+         }
+      } else {
+         characteristics.remove(Characteristic.CONCURRENCY_LIMIT);
+      }
       return characteristics;
    }
 
@@ -648,6 +658,20 @@ public <T> Set<T> getStores(Class<T> storeClass) {
       }
    }
 
+   @Override
+   public Collection<AsyncNonBlockingStore<?, ?>> getAsyncStores() {
+      long stamp = acquireReadLock();
+      try {
+         return stores.stream()
+               .map(StoreStatus::store)
+               .filter(AsyncNonBlockingStore.class::isInstance)
+               .map(store -> (AsyncNonBlockingStore<?, ?>) store)
+               .collect(Collectors.toCollection(ArrayList::new));
+      } finally {
+         releaseReadLock(stamp);
+      }
+   }
+
    @Override
    public Collection<String> getStoresAsString() {
       long stamp = acquireReadLock();
@@ -155,7 +155,17 @@ enum Characteristic {
        * <p>
        * Stores that have this characteristic must override the {@link #purgeExpired()} method.
        */
-      EXPIRATION
+      EXPIRATION,
+      /**
+       * If this store limits the number of its operations that run at the same time to
+       * {@link org.infinispan.configuration.cache.StoreConfiguration#maxConcurrentOperations()}, when it is configured,
+       * and runs them on virtual threads when
+       * {@link org.infinispan.configuration.cache.StoreConfiguration#virtualThreads()} is enabled. A store without this
+       * characteristic cannot be configured with a limit or with virtual threads.
+       * <p>
+       * No optional methods map to this characteristic.
+       */
+      CONCURRENCY_LIMIT
    }
 
    /**
@@ -19,6 +19,7 @@
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.persistence.async.AsyncNonBlockingStore;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.PersistenceException;
@@ -84,6 +85,11 @@ public <T> Set<T> getStores(Class<T> storeClass) {
       return persistenceManager.getStores(storeClass);
    }
 
+   @Override
+   public Collection<AsyncNonBlockingStore<?, ?>> getAsyncStores() {
+      return persistenceManager.getAsyncStores();
+   }
+
    @Override
    public Collection<String> getStoresAsString() {
       return persistenceManager.getStoresAsString();
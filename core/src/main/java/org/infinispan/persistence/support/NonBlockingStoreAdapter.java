@@ -8,6 +8,7 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transaction;
@@ -15,6 +16,7 @@
 import org.infinispan.commons.api.Lifecycle;
 import org.infinispan.commons.persistence.Store;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.persistence.spi.AdvancedCacheExpirationWriter;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.AdvancedCacheWriter;
@@ -47,6 +49,7 @@
    private final Set<Characteristic> characteristics;
 
    private BlockingManager blockingManager;
+   private BlockingManager.BlockingExecutor blockingExecutor;
    private MarshallableEntryFactory<K, V> marshallableEntryFactory;
 
    public NonBlockingStoreAdapter(Lifecycle oldStoreImpl) {
@@ -91,6 +94,8 @@ static private Set<Characteristic> determineCharacteristics(Object storeImpl) {
       if (storeImpl instanceof TransactionalCacheWriter) {
          characteristics.add(Characteristic.TRANSACTIONAL);
       }
+      // The adapter limits the operations it runs on the blocking executor, see createBlockingExecutor
+      characteristics.add(Characteristic.CONCURRENCY_LIMIT);
       return characteristics;
    }
 
@@ -98,6 +103,7 @@ static private Set<Characteristic> determineCharacteristics(Object storeImpl) {
    public CompletionStage<Void> start(InitializationContext ctx) {
       blockingManager = ctx.getBlockingManager();
       marshallableEntryFactory = ctx.getMarshallableEntryFactory();
+      blockingExecutor = createBlockingExecutor(ctx);
       return blockingManager.runBlocking(() -> {
          if (isReadOnly()) {
             loader().init(ctx);
@@ -108,6 +114,38 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       }, nextTraceId("start"));
    }
 
+   /**
+    * The operations of the store run on the blocking executor. If {@link StoreConfiguration#maxConcurrentOperations()}
+    * is set, at most that many operations of this store run at the same time, and the others wait for a free slot
+    * without holding a blocking thread. Operations invoked from a blocking thread and the entry publishers are not
+    * limited, as they run on the invoking thread or on the subscribing thread.
+    * <p>
+    * If {@link StoreConfiguration#virtualThreads()} is enabled, each operation runs on its own virtual thread instead
+    * of the blocking thread pool, when the JVM supports them.
+    */
+   private BlockingManager.BlockingExecutor createBlockingExecutor(InitializationContext ctx) {
+      StoreConfiguration configuration = ctx.getConfiguration();
+      int maxConcurrentOperations = configuration.maxConcurrentOperations();
+      String name = "StoreAdapter-" + ctx.getCache().getName() + "-" + oldStoreImpl.getClass().getSimpleName();
+      if (configuration.virtualThreads()) {
+         return blockingManager.virtualThreadBlockingExecutor(name, maxConcurrentOperations);
+      }
+      if (maxConcurrentOperations > 0) {
+         return blockingManager.limitedBlockingExecutor(name, maxConcurrentOperations);
+      }
+      return new BlockingManager.BlockingExecutor() {
+         @Override
+         public CompletionStage<Void> execute(Runnable runnable, Object traceId) {
+            return blockingManager.runBlocking(runnable, traceId);
+         }
+
+         @Override
+         public <V> CompletionStage<V> supply(Supplier<V> supplier, Object traceId) {
+            return blockingManager.supplyBlocking(supplier, traceId);
+         }
+      };
+   }
+
    @Override
    public CompletionStage<Void> stop() {
       return blockingManager.runBlocking(oldStoreImpl::stop, nextTraceId("stop"));
@@ -120,7 +158,7 @@ public Set<Characteristic> characteristics() {
 
    @Override
    public CompletionStage<Long> size(IntSet segments) {
-      return blockingManager.supplyBlocking(() ->
+      return blockingExecutor.supply(() ->
             isSegmented() ? segmentedStore().size(segments) : advancedLoader().size(), nextTraceId("size"))
             .thenApply(Integer::longValue);
    }
@@ -175,10 +213,10 @@ public void entryPurged(K key) {
          CompletionStage<Void> purgeStage;
          AdvancedCacheWriter<K, V> advancedCacheWriter = advancedWriter();
          if (advancedCacheWriter instanceof AdvancedCacheExpirationWriter) {
-            purgeStage = blockingManager.runBlocking(() -> ((AdvancedCacheExpirationWriter<K, V>) advancedCacheWriter)
+            purgeStage = blockingExecutor.execute(() -> ((AdvancedCacheExpirationWriter<K, V>) advancedCacheWriter)
                   .purge(Runnable::run, expirationPurgeListener), nextTraceId("purgeExpired"));
          } else {
-            purgeStage = blockingManager.runBlocking(() -> advancedCacheWriter
+            purgeStage = blockingExecutor.execute(() -> advancedCacheWriter
                   .purge(Runnable::run, expirationPurgeListener), nextTraceId("purgeExpired"));
          }
          purgeStage.whenComplete((ignore, t) -> {
@@ -194,25 +232,25 @@ public void entryPurged(K key) {
 
    @Override
    public CompletionStage<Boolean> isAvailable() {
-      return blockingManager.supplyBlocking(() ->
+      return blockingExecutor.supply(() ->
             isReadOnly() ? loader().isAvailable() : writer().isAvailable(), nextTraceId("isAvailable"));
    }
 
    @Override
    public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
-      return blockingManager.supplyBlocking(() ->
+      return blockingExecutor.supply(() ->
             isSegmented() ? segmentedStore().get(segment, key) : loader().loadEntry(key), nextTraceId("load"));
    }
 
    @Override
    public CompletionStage<Boolean> containsKey(int segment, Object key) {
-      return blockingManager.supplyBlocking(() ->
+      return blockingExecutor.supply(() ->
             isSegmented() ? segmentedStore().contains(segment, key) : loader().contains(key), nextTraceId("containsKey"));
    }
 
    @Override
    public CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extends V> entry) {
-      return blockingManager.runBlocking(() -> {
+      return blockingExecutor.execute(() -> {
             if (isSegmented()) {
                segmentedStore().write(segment, entry);
             } else {
@@ -223,18 +261,18 @@ public CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ?
 
    @Override
    public CompletionStage<Boolean> delete(int segment, Object key) {
-      return blockingManager.supplyBlocking(() ->
+      return blockingExecutor.supply(() ->
             isSegmented() ? segmentedStore().delete(segment, key) : writer().delete(key), nextTraceId("delete"));
    }
 
    @Override
    public CompletionStage<Void> addSegments(IntSet segments) {
-      return blockingManager.runBlocking(() -> segmentedStore().addSegments(segments), nextTraceId("addSegments"));
+      return blockingExecutor.execute(() -> segmentedStore().addSegments(segments), nextTraceId("addSegments"));
    }
 
    @Override
    public CompletionStage<Void> removeSegments(IntSet segments) {
-      return blockingManager.runBlocking(() -> segmentedStore().removeSegments(segments), nextTraceId("removeSegments"));
+      return blockingExecutor.execute(() -> segmentedStore().removeSegments(segments), nextTraceId("removeSegments"));
    }
 
    @Override
@@ -242,7 +280,7 @@ public CompletionStage<Void> clear() {
       // Technically clear is defined on AdvancedCacheWriter - but there is no equivalent characteristic for that
       // so we have to double check the implementation
       if (oldStoreImpl instanceof AdvancedCacheWriter) {
-         return blockingManager.runBlocking(advancedWriter()::clear, nextTraceId("clear"));
+         return blockingExecutor.execute(advancedWriter()::clear, nextTraceId("clear"));
       }
       return CompletableFutures.completedNull();
    }
@@ -255,7 +293,7 @@ public CompletionStage<Void> batch(int publisherCount, Publisher<NonBlockingStor
       Flowable<MarshallableEntry<? extends K, ? extends V>> meFlowable = Flowable.fromPublisher(writePublisher)
             .flatMap(RxJavaInterop.identityFunction(), false, publisherCount);
 
-      return blockingManager.supplyBlocking(() -> {
+      return blockingExecutor.supply(() -> {
          Single<Set<Object>> objectSingle = objectFlowable.collect(Collectors.toSet());
          objectSingle.subscribe(writer()::deleteBatch);
          // While bulkUpdate appears to be non blocking - there was no mandate that the operation actually be so.
@@ -291,19 +329,19 @@ public CompletionStage<Void> prepareWithModifications(Transaction transaction, i
                         })
             );
 
-      return blockingManager.runBlocking(
+      return blockingExecutor.execute(
             () -> transactionalStore().prepareWithModifications(transaction, oldBatchModification), nextTraceId("prepareWithModifications"));
    }
 
    @Override
    public CompletionStage<Void> commit(Transaction transaction) {
-      return blockingManager.runBlocking(
+      return blockingExecutor.execute(
             () -> transactionalStore().commit(transaction), nextTraceId("commit"));
    }
 
    @Override
    public CompletionStage<Void> rollback(Transaction transaction) {
-      return blockingManager.runBlocking(
+      return blockingExecutor.execute(
             () -> transactionalStore().rollback(transaction), nextTraceId("rollback"));
    }
 
@@ -15,6 +15,7 @@
 import org.infinispan.commands.GlobalRpcCommand;
 import org.infinispan.commands.ReplicableCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.remote.CoalescedCommand;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.IllegalLifecycleStateException;
 import org.infinispan.configuration.ConfigurationManager;
@@ -108,6 +109,8 @@ public void handleFromCluster(Address origin, ReplicableCommand command, Reply r
       try {
          if (command.getCommandId() == HeartBeatCommand.COMMAND_ID) {
             reply.reply(null);
+         } else if (command.getCommandId() == CoalescedCommand.COMMAND_ID) {
+            handleCoalescedCommand(origin, (CoalescedCommand) command, order);
          } else if (command instanceof CacheRpcCommand) {
             handleCacheRpcCommand(origin, (CacheRpcCommand) command, reply, order);
          } else {
@@ -119,6 +122,16 @@ public void handleFromCluster(Address origin, ReplicableCommand command, Reply r
       }
    }
 
+   private void handleCoalescedCommand(Address origin, CoalescedCommand command, DeliverOrder order) {
+      if (log.isTraceEnabled()) {
+         log.tracef("Handling %d coalesced commands [sender=%s]", command.getCommands().size(), origin);
+      }
+      // The coalesced commands are asynchronous, there is nothing to reply
+      for (ReplicableCommand coalesced : command.getCommands()) {
+         handleFromCluster(origin, coalesced, Reply.NO_OP, order);
+      }
+   }
+
    @Override
    public void handleFromRemoteSite(String origin, XSiteReplicateCommand<?> command, Reply reply, DeliverOrder order) {
       if (log.isTraceEnabled()) {
@@ -9,6 +9,7 @@
 import org.infinispan.commands.statetransfer.ScatteredStateConfirmRevokedCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
 import org.infinispan.commands.statetransfer.StateTransferCancelCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetDigestsCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
 import org.infinispan.commands.statetransfer.StateTransferStartCommand;
@@ -73,6 +74,7 @@ public void handle(CacheRpcCommand command, Reply reply, DeliverOrder order) {
             case ScatteredStateConfirmRevokedCommand.COMMAND_ID:
             case ScatteredStateGetKeysCommand.COMMAND_ID:
             case StateTransferCancelCommand.COMMAND_ID:
+            case StateTransferGetDigestsCommand.COMMAND_ID:
             case StateTransferGetListenersCommand.COMMAND_ID:
             case StateTransferGetTransactionsCommand.COMMAND_ID:
             case StateTransferStartCommand.COMMAND_ID:
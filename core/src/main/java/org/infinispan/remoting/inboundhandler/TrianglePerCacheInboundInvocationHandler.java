@@ -14,6 +14,7 @@
 import org.infinispan.commands.statetransfer.ScatteredStateConfirmRevokedCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
 import org.infinispan.commands.statetransfer.StateTransferCancelCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetDigestsCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
 import org.infinispan.commands.statetransfer.StateTransferStartCommand;
@@ -30,6 +31,10 @@
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.TriangleOrderManager;
 import org.infinispan.factories.annotations.Inject;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.Parameter;
 import org.infinispan.remoting.inboundhandler.action.Action;
 import org.infinispan.remoting.inboundhandler.action.ActionState;
 import org.infinispan.remoting.inboundhandler.action.ActionStatus;
@@ -40,6 +45,7 @@
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.util.concurrent.BlockingRunnable;
 import org.infinispan.util.concurrent.CommandAckCollector;
+import org.infinispan.util.concurrent.SegmentTaskQueues;
 import org.infinispan.util.concurrent.locks.LockListener;
 import org.infinispan.util.concurrent.locks.LockManager;
 import org.infinispan.util.concurrent.locks.LockState;
@@ -49,10 +55,15 @@
 /**
  * A {@link PerCacheInboundInvocationHandler} implementation for non-transactional and distributed caches that uses the
  * triangle algorithm.
+ * <p>
+ * When {@link org.infinispan.configuration.cache.ClusteringConfiguration#inboundSegmentQueues()} is enabled, the
+ * backup writes wait for their turn in {@link SegmentTaskQueues}, one queue per segment, instead of the queue of the
+ * non-blocking executor shared by all the segments.
  *
  * @author Pedro Ruivo
  * @since 9.0
  */
+@MBean(objectName = "InboundInvocationHandler", description = "Handles the commands received from the other nodes")
 public class TrianglePerCacheInboundInvocationHandler extends BasePerCacheInboundInvocationHandler implements
       LockListener, Action {
 
@@ -67,12 +78,16 @@ public class TrianglePerCacheInboundInvocationHandler extends BasePerCacheInboun
 
    private Address localAddress;
    private boolean syncCache;
+   private volatile SegmentTaskQueues segmentQueues;
 
    @Override
    public void start() {
       super.start();
       localAddress = rpcManager.getAddress();
       syncCache = configuration.clustering().cacheMode().isSynchronous();
+      if (configuration.clustering().inboundSegmentQueues()) {
+         segmentQueues = new SegmentTaskQueues(nonBlockingExecutor, configuration.clustering().hash().numSegments());
+      }
    }
 
    @Override
@@ -101,6 +116,7 @@ public void handle(CacheRpcCommand command, Reply reply, DeliverOrder order) {
             case ScatteredStateConfirmRevokedCommand.COMMAND_ID:
             case ScatteredStateGetKeysCommand.COMMAND_ID:
             case StateTransferCancelCommand.COMMAND_ID:
+            case StateTransferGetDigestsCommand.COMMAND_ID:
             case StateTransferGetListenersCommand.COMMAND_ID:
             case StateTransferGetTransactionsCommand.COMMAND_ID:
             case StateTransferStartCommand.COMMAND_ID:
@@ -132,6 +148,45 @@ public TriangleOrderManager getTriangleOrderManager() {
       return triangleOrderManager;
    }
 
+   @Override
+   public void checkForReadyTasks() {
+      super.checkForReadyTasks();
+      SegmentTaskQueues segmentQueues = this.segmentQueues;
+      if (segmentQueues != null) {
+         segmentQueues.checkForReadyTasks();
+      }
+   }
+
+   /**
+    * Checks if the pending backup writes became ready after a change that only affects one segment.
+    */
+   public void checkForReadyTasks(int segment) {
+      SegmentTaskQueues segmentQueues = this.segmentQueues;
+      if (segmentQueues != null) {
+         segmentQueues.checkForReadyTasks(segment);
+      } else {
+         checkForReadyTasks();
+      }
+   }
+
+   @ManagedAttribute(description = "Number of backup writes waiting in the per-segment queues", displayName = "Pending backup writes")
+   public int getPendingSegmentTasks() {
+      SegmentTaskQueues segmentQueues = this.segmentQueues;
+      return segmentQueues != null ? segmentQueues.getPendingTasks() : 0;
+   }
+
+   @ManagedAttribute(description = "Number of backup writes waiting in the longest per-segment queue", displayName = "Longest segment queue")
+   public int getMaxSegmentQueueLength() {
+      SegmentTaskQueues segmentQueues = this.segmentQueues;
+      return segmentQueues != null ? segmentQueues.getMaxQueueLength() : 0;
+   }
+
+   @ManagedOperation(description = "Returns the number of backup writes waiting in the queue of a segment", displayName = "Segment queue length")
+   public int getSegmentQueueLength(@Parameter(name = "segment", description = "Segment to check") int segment) {
+      SegmentTaskQueues segmentQueues = this.segmentQueues;
+      return segmentQueues != null ? segmentQueues.getQueueLength(segment) : 0;
+   }
+
    @Override
    public void onFinally(ActionState state) {
       //no-op
@@ -169,14 +224,23 @@ private void handleMultiKeyBackupCommand(BackupWriteCommand command) {
       ReadyAction readyAction = createTriangleOrderAction(command, topologyId, command.getSequence(),
             command.getSegmentId());
       BlockingRunnable runnable = createMultiKeyBackupRunnable(command, topologyId, readyAction);
-      nonBlockingExecutor.execute(runnable);
+      executeBackupRunnable(command.getSegmentId(), runnable);
    }
 
    private void handleSingleKeyBackupCommand(BackupWriteCommand command) {
       final int topologyId = command.getTopologyId();
       ReadyAction readyAction = createTriangleOrderAction(command, topologyId, command.getSequence(), command.getSegmentId());
       BlockingRunnable runnable = createSingleKeyBackupRunnable(command, topologyId, readyAction);
-      nonBlockingExecutor.execute(runnable);
+      executeBackupRunnable(command.getSegmentId(), runnable);
+   }
+
+   private void executeBackupRunnable(int segment, BlockingRunnable runnable) {
+      SegmentTaskQueues segmentQueues = this.segmentQueues;
+      if (segmentQueues != null) {
+         segmentQueues.execute(segment, runnable);
+      } else {
+         nonBlockingExecutor.execute(runnable);
+      }
    }
 
    private void handleBackupAckCommand(BackupAckCommand command) {
@@ -241,7 +305,8 @@ private void onBackupException(BackupWriteCommand command, Throwable throwable,
 
    private BlockingRunnable createSingleKeyBackupRunnable(BackupWriteCommand command, int commandTopologyId,
                                                          ReadyAction readyAction) {
-      readyAction.addListener(this::checkForReadyTasks);
+      int segment = command.getSegmentId();
+      readyAction.addListener(() -> checkForReadyTasks(segment));
       return new DefaultTopologyRunnable(this, command, Reply.NO_OP, TopologyMode.READY_TX_DATA, commandTopologyId,
             false) {
          @Override
@@ -287,7 +352,8 @@ private void sendMultiKeyAck(CommandInvocationId id, int topologyId, int segment
 
    private BlockingRunnable createMultiKeyBackupRunnable(BackupWriteCommand command, int commandTopologyId,
                                                        ReadyAction readyAction) {
-      readyAction.addListener(this::checkForReadyTasks);
+      int segment = command.getSegmentId();
+      readyAction.addListener(() -> checkForReadyTasks(segment));
       return new DefaultTopologyRunnable(this, command, Reply.NO_OP, TopologyMode.READY_TX_DATA, commandTopologyId,
             false) {
          @Override
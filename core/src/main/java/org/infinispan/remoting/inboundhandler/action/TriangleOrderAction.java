@@ -38,6 +38,6 @@ public ActionStatus check(ActionState state) {
    @Override
    public void onFinally(ActionState state) {
       handler.getTriangleOrderManager().markDelivered(segmentId, sequenceNumber, state.getCommandTopologyId());
-      handler.checkForReadyTasks();
+      handler.checkForReadyTasks(segmentId);
    }
 }
@@ -0,0 +1,204 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import static org.infinispan.util.logging.Log.CLUSTER;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.remote.CoalescedCommand;
+import org.infinispan.commands.triangle.BackupWriteCommand;
+import org.infinispan.commands.write.BackupAckCommand;
+import org.infinispan.commons.IllegalLifecycleStateException;
+import org.infinispan.commons.stat.TimerTracker;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.impl.Request;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Gathers the triangle backup commands and acknowledgements bound for the same node and sends them in a single
+ * {@link CoalescedCommand}.
+ * <p>
+ * A destination queue is flushed when it holds {@code maxCommands} commands, or {@code maxDelay} after its first
+ * command was added. With a {@code maxDelay} of {@code 0}, the flush runs as soon as a non-blocking thread is
+ * available, so the commands are only coalesced while a previous message to the same node is being sent.
+ * <p>
+ * The commands are sent in the order they were added, and the receiver handles the commands of a
+ * {@link CoalescedCommand} in the same order, so the per-segment order of the backups is preserved.
+ *
+ * @since 13.0
+ */
+final class CommandCoalescer {
+
+   private static final Log log = LogFactory.getLog(CommandCoalescer.class);
+
+   private final JGroupsTransport transport;
+   private final TimeService timeService;
+   private final ExecutorService nonBlockingExecutor;
+   private final ScheduledExecutorService timeoutExecutor;
+   private final int maxCommands;
+   private final long maxDelayNanos;
+   private final ConcurrentMap<Address, DestinationQueue> queues = new ConcurrentHashMap<>();
+
+   // Only the messages carrying 2 or more commands are counted as coalesced
+   private final LongAdder messages = new LongAdder();
+   private final LongAdder commands = new LongAdder();
+   private final LongAdder uncoalescedCommands = new LongAdder();
+   private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0);
+   private volatile TimerTracker delays;
+
+   CommandCoalescer(JGroupsTransport transport, TimeService timeService, ExecutorService nonBlockingExecutor,
+                    ScheduledExecutorService timeoutExecutor, int maxCommands, long maxDelay, TimeUnit unit) {
+      this.transport = transport;
+      this.timeService = timeService;
+      this.nonBlockingExecutor = nonBlockingExecutor;
+      this.timeoutExecutor = timeoutExecutor;
+      this.maxCommands = maxCommands;
+      this.maxDelayNanos = unit.toNanos(maxDelay);
+   }
+
+   /**
+    * @return {@code true} if the command can be sent in a {@link CoalescedCommand}. Only the triangle commands are
+    * coalesced: they do not expect a response and they are ordered by the receiver.
+    */
+   static boolean canCoalesce(ReplicableCommand command, DeliverOrder deliverOrder) {
+      return deliverOrder == DeliverOrder.NONE &&
+            (command instanceof BackupWriteCommand || command instanceof BackupAckCommand);
+   }
+
+   void send(Address target, ReplicableCommand command) {
+      queues.computeIfAbsent(target, DestinationQueue::new).add(command);
+   }
+
+   /**
+    * Discards the queues of the nodes that left the cluster. Their commands would not be sent anyway.
+    */
+   void retainAll(Collection<Address> members) {
+      queues.keySet().retainAll(members);
+   }
+
+   void stop() {
+      queues.clear();
+   }
+
+   void setDelays(TimerTracker delays) {
+      this.delays = delays;
+   }
+
+   long getMessages() {
+      return messages.sum();
+   }
+
+   long getCommands() {
+      return commands.sum();
+   }
+
+   long getUncoalescedCommands() {
+      return uncoalescedCommands.sum();
+   }
+
+   long getMaxBatchSize() {
+      return maxBatchSize.get();
+   }
+
+   private void sendBatch(Address target, List<ReplicableCommand> batch, long firstAddTime) {
+      ReplicableCommand command = batch.size() == 1 ? batch.get(0) : new CoalescedCommand(batch);
+      if (log.isTraceEnabled()) {
+         log.tracef("Sending %d coalesced commands to %s", batch.size(), target);
+      }
+      transport.sendCommand(target, command, Request.NO_REQUEST_ID, DeliverOrder.NONE, true, true);
+      if (batch.size() == 1) {
+         uncoalescedCommands.increment();
+      } else {
+         messages.increment();
+         commands.add(batch.size());
+         maxBatchSize.accumulate(batch.size());
+      }
+      TimerTracker delays = this.delays;
+      if (delays != null) {
+         delays.update(timeService.timeDuration(firstAddTime, TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+      }
+   }
+
+   private final class DestinationQueue {
+      private final Address target;
+      /**
+       * Held while a batch is taken from the queue and sent, so that the batches are sent in order.
+       */
+      private final Lock sendLock = new ReentrantLock();
+      // The fields below are guarded by this
+      private List<ReplicableCommand> pending = new ArrayList<>();
+      private long firstAddTime;
+      private boolean flushScheduled;
+
+      DestinationQueue(Address target) {
+         this.target = target;
+      }
+
+      void add(ReplicableCommand command) {
+         boolean flushNow;
+         boolean scheduleFlush = false;
+         synchronized (this) {
+            if (pending.isEmpty()) {
+               firstAddTime = timeService.time();
+            }
+            pending.add(command);
+            flushNow = pending.size() >= maxCommands;
+            if (!flushNow && !flushScheduled) {
+               flushScheduled = true;
+               scheduleFlush = true;
+            }
+         }
+         if (flushNow) {
+            flush();
+         } else if (scheduleFlush) {
+            if (maxDelayNanos == 0) {
+               nonBlockingExecutor.execute(this::flush);
+            } else {
+               timeoutExecutor.schedule(this::flush, maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+         }
+      }
+
+      private void flush() {
+         sendLock.lock();
+         try {
+            List<ReplicableCommand> batch;
+            long batchFirstAddTime;
+            synchronized (this) {
+               flushScheduled = false;
+               if (pending.isEmpty()) {
+                  return;
+               }
+               batch = pending;
+               batchFirstAddTime = firstAddTime;
+               pending = new ArrayList<>(Math.min(batch.size(), maxCommands));
+            }
+            try {
+               sendBatch(target, batch, batchFirstAddTime);
+            } catch (IllegalLifecycleStateException e) {
+               // The transport is stopping
+               log.tracef("Discarding %d coalesced commands to %s", batch.size(), target);
+            } catch (Throwable t) {
+               // The batch may contain commands from other threads, so the error is logged instead of propagated
+               CLUSTER.failedToSendCoalescedCommands(batch.size(), target, t);
+            }
+         } finally {
+            sendLock.unlock();
+         }
+      }
+   }
+}
@@ -35,6 +35,7 @@
 
 import javax.management.ObjectName;
 
+import org.eclipse.microprofile.metrics.Timer;
 import org.infinispan.commands.ReplicableCommand;
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.CacheException;
@@ -60,6 +61,12 @@
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.jmx.CacheManagerJmxRegistration;
 import org.infinispan.jmx.ObjectNameKeys;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.metrics.impl.TimerTrackerImpl;
 import org.infinispan.notifications.cachemanagerlistener.CacheManagerNotifier;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.inboundhandler.InboundInvocationHandler;
@@ -131,6 +138,7 @@
  * @since 4.0
  */
 @Scope(Scopes.GLOBAL)
+@MBean(objectName = "Transport", description = "Cluster transport, including the coalescing of asynchronous commands")
 public class JGroupsTransport implements Transport {
    public static final String CONFIGURATION_STRING = "configurationString";
    public static final String CONFIGURATION_XML = "configurationXml";
@@ -183,6 +191,7 @@ public class JGroupsTransport implements Transport {
    private volatile Set<String>  sitesView = Collections.emptySet();
    private CompletableFuture<Void> nextViewFuture = new CompletableFuture<>();
    private RequestRepository requests;
+   private volatile CommandCoalescer coalescer;
 
    // ------------------------------------------------------------------------------------------------------------------
    // Lifecycle and setup stuff
@@ -264,14 +273,27 @@ public void sendTo(Address destination, ReplicableCommand command, DeliverOrder
          return;
       }
       logCommand(command, destination);
+      CommandCoalescer coalescer = this.coalescer;
+      if (coalescer != null && CommandCoalescer.canCoalesce(command, deliverOrder)) {
+         coalescer.send(destination, command);
+         return;
+      }
       sendCommand(destination, command, Request.NO_REQUEST_ID, deliverOrder, true, true);
    }
 
    @Override
    public void sendToMany(Collection<Address> targets, ReplicableCommand command, DeliverOrder deliverOrder) {
+      CommandCoalescer coalescer = this.coalescer;
       if (targets == null) {
          logCommand(command, "all");
          sendCommandToAll(command, Request.NO_REQUEST_ID, deliverOrder);
+      } else if (coalescer != null && CommandCoalescer.canCoalesce(command, deliverOrder)) {
+         logCommand(command, targets);
+         for (Address target : targets) {
+            if (!target.equals(address)) {
+               coalescer.send(target, command);
+            }
+         }
       } else {
          logCommand(command, targets);
          sendCommand(targets, command, Request.NO_REQUEST_ID, deliverOrder, true);
@@ -442,6 +464,11 @@ public void start() {
       probeHandler.updateThreadPool(nonBlockingExecutor);
       props = TypedProperties.toTypedProperties(configuration.transport().properties());
       requests = new RequestRepository();
+      int coalescingMaxCommands = configuration.transport().coalescingMaxCommands();
+      if (coalescingMaxCommands > 1) {
+         coalescer = new CommandCoalescer(this, timeService, nonBlockingExecutor, timeoutExecutor, coalescingMaxCommands,
+                                          configuration.transport().coalescingMaxDelay(), TimeUnit.MILLISECONDS);
+      }
 
       String stack = configuration.transport().stack();
       if (stack != null) {
@@ -749,6 +776,11 @@ protected void receiveClusterView(View newView) {
          }
       });
 
+      CommandCoalescer coalescer = this.coalescer;
+      if (coalescer != null) {
+         coalescer.retainAll(members);
+      }
+
       JGroupsAddressCache.pruneAddressCache();
    }
 
@@ -787,6 +819,12 @@ public void stop() {
          requests.forEach(request -> request.cancel(CONTAINER.cacheManagerIsStopping()));
       }
 
+      CommandCoalescer coalescer = this.coalescer;
+      if (coalescer != null) {
+         coalescer.stop();
+         this.coalescer = null;
+      }
+
       // Don't keep a reference to the channel, but keep the address and physical address
       channel = null;
       clusterView = new ClusterView(ClusterView.FINAL_VIEW_ID, Collections.emptyList(), null);
@@ -1282,6 +1320,54 @@ private void sendCommand(Collection<Address> targets, ReplicableCommand command,
       }
    }
 
+   @ManagedAttribute(description = "Number of messages carrying 2 or more coalesced commands sent to the cluster members",
+         displayName = "Coalesced messages", measurementType = MeasurementType.TRENDSUP)
+   public long getCoalescedMessages() {
+      CommandCoalescer coalescer = this.coalescer;
+      return coalescer != null ? coalescer.getMessages() : 0;
+   }
+
+   @ManagedAttribute(description = "Number of backup commands and acknowledgements sent in coalesced messages",
+         displayName = "Coalesced commands", measurementType = MeasurementType.TRENDSUP)
+   public long getCoalescedCommands() {
+      CommandCoalescer coalescer = this.coalescer;
+      return coalescer != null ? coalescer.getCommands() : 0;
+   }
+
+   @ManagedAttribute(description = "Number of backup commands and acknowledgements that could be coalesced but were sent alone",
+         displayName = "Uncoalesced commands", measurementType = MeasurementType.TRENDSUP)
+   public long getUncoalescedCommands() {
+      CommandCoalescer coalescer = this.coalescer;
+      return coalescer != null ? coalescer.getUncoalescedCommands() : 0;
+   }
+
+   @ManagedAttribute(description = "Average number of commands per coalesced message",
+         displayName = "Average coalesced batch size")
+   public double getAverageCoalescedBatchSize() {
+      CommandCoalescer coalescer = this.coalescer;
+      if (coalescer == null) {
+         return 0;
+      }
+      long messages = coalescer.getMessages();
+      return messages == 0 ? 0 : (double) coalescer.getCommands() / messages;
+   }
+
+   @ManagedAttribute(description = "Largest number of commands sent in a coalesced message",
+         displayName = "Maximum coalesced batch size")
+   public long getMaxCoalescedBatchSize() {
+      CommandCoalescer coalescer = this.coalescer;
+      return coalescer != null ? coalescer.getMaxBatchSize() : 0;
+   }
+
+   @ManagedAttribute(description = "Time between the submission of the first command of a coalesced message and the message being sent",
+         displayName = "Coalescing delays", dataType = DataType.TIMER, units = Units.NANOSECONDS)
+   public void setCoalescingDelays(Timer delays) {
+      CommandCoalescer coalescer = this.coalescer;
+      if (coalescer != null) {
+         coalescer.setDelays(new TimerTrackerImpl(delays));
+      }
+   }
+
    TimeService getTimeService() {
       return timeService;
    }
@@ -13,6 +13,7 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.container.impl.SegmentDigests;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.responses.CacheNotFoundResponse;
 import org.infinispan.remoting.responses.Response;
@@ -66,10 +67,23 @@ public class InboundTransferTask {
 
    private final boolean applyState;
 
+   private final long leafMask;
+
    private final RpcOptions rpcOptions;
 
    public InboundTransferTask(IntSet segments, Address source, int topologyId, RpcManager rpcManager,
                               CommandsFactory commandsFactory, long timeout, String cacheName, boolean applyState) {
+      this(segments, source, topologyId, rpcManager, commandsFactory, timeout, cacheName, applyState,
+           SegmentDigests.ALL_LEAVES);
+   }
+
+   /**
+    * @param leafMask only request the keys in these {@link SegmentDigests} leaves, only used when {@code applyState}
+    *                 is {@code false}
+    */
+   public InboundTransferTask(IntSet segments, Address source, int topologyId, RpcManager rpcManager,
+                              CommandsFactory commandsFactory, long timeout, String cacheName, boolean applyState,
+                              long leafMask) {
       if (segments == null || segments.isEmpty()) {
          throw new IllegalArgumentException("segments must not be null or empty");
       }
@@ -86,6 +100,7 @@ public InboundTransferTask(IntSet segments, Address source, int topologyId, RpcM
       this.timeout = timeout;
       this.cacheName = cacheName;
       this.applyState = applyState;
+      this.leafMask = leafMask;
       this.rpcOptions = new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS);
    }
 
@@ -121,7 +136,7 @@ public CompletionStage<Void> requestSegments() {
       Address address = rpcManager.getAddress();
       return startTransfer(applyState ?
             segments -> commandsFactory.buildStateTransferStartCommand(topologyId, segments) :
-            segments -> commandsFactory.buildConflictResolutionStartCommand(topologyId, segments));
+            segments -> commandsFactory.buildConflictResolutionStartCommand(topologyId, segments, leafMask));
    }
 
    public CompletionStage<Void> requestKeys() {
@@ -137,7 +152,8 @@ private CompletionStage<Void> startTransfer(Function<IntSet, CacheRpcCommand> tr
       if (isCancelled)
          return completionFuture;
 
-      IntSet segmentsCopy = getSegments();
+      // Segments can be finished before the request, e.g. when their digests match
+      IntSet segmentsCopy = getUnfinishedSegments();
       if (segmentsCopy.isEmpty()) {
          if (log.isTraceEnabled()) log.tracef("Segments list is empty, skipping source %s", source);
          completionFuture.complete(null);
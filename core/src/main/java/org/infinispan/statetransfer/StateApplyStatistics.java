@@ -0,0 +1,102 @@
+package org.infinispan.statetransfer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps track of how many entries were applied by the {@link StateConsumer} for each segment, and how long it took to
+ * apply them. The statistics are reset every time a rebalance starts.
+ *
+ * @since 13.0
+ */
+public class StateApplyStatistics {
+   private final AtomicLongArray appliedEntries;
+   private final AtomicLongArray applyNanos;
+   private final AtomicLong bulkAppliedEntries = new AtomicLong();
+
+   public StateApplyStatistics(int numSegments) {
+      appliedEntries = new AtomicLongArray(numSegments);
+      applyNanos = new AtomicLongArray(numSegments);
+   }
+
+   /**
+    * Records that a chunk of entries was applied to a segment.
+    * @param segment       the segment of the entries
+    * @param entries       the number of entries in the chunk
+    * @param durationNanos how long it took to apply the chunk, in nanoseconds
+    * @param bulk          whether the chunk was committed in bulk, bypassing the interceptor chain
+    */
+   void record(int segment, int entries, long durationNanos, boolean bulk) {
+      appliedEntries.addAndGet(segment, entries);
+      applyNanos.addAndGet(segment, durationNanos);
+      if (bulk) {
+         bulkAppliedEntries.addAndGet(entries);
+      }
+   }
+
+   void reset() {
+      for (int i = 0; i < appliedEntries.length(); i++) {
+         appliedEntries.set(i, 0);
+         applyNanos.set(i, 0);
+      }
+      bulkAppliedEntries.set(0);
+   }
+
+   public int getNumSegments() {
+      return appliedEntries.length();
+   }
+
+   /**
+    * @return the number of entries applied to the segment since the last rebalance started
+    */
+   public long getAppliedEntries(int segment) {
+      return appliedEntries.get(segment);
+   }
+
+   /**
+    * @return the number of entries applied to all the segments since the last rebalance started
+    */
+   public long getAppliedEntries() {
+      long total = 0;
+      for (int i = 0; i < appliedEntries.length(); i++) {
+         total += appliedEntries.get(i);
+      }
+      return total;
+   }
+
+   /**
+    * @return the number of entries applied in bulk, without invoking the interceptor chain for each of them, since the
+    * last rebalance started
+    */
+   public long getBulkAppliedEntries() {
+      return bulkAppliedEntries.get();
+   }
+
+   /**
+    * @return the number of entries applied per second to the segment, or {@code 0} if no state was applied to it
+    */
+   public double getEntriesPerSecond(int segment) {
+      return entriesPerSecond(appliedEntries.get(segment), applyNanos.get(segment));
+   }
+
+   /**
+    * @return the number of entries applied per second to all the segments, or {@code 0} if no state was applied
+    */
+   public double getEntriesPerSecond() {
+      long entries = 0;
+      long nanos = 0;
+      for (int i = 0; i < appliedEntries.length(); i++) {
+         entries += appliedEntries.get(i);
+         nanos += applyNanos.get(i);
+      }
+      return entriesPerSecond(entries, nanos);
+   }
+
+   private static double entriesPerSecond(long entries, long nanos) {
+      if (nanos <= 0) {
+         return 0;
+      }
+      return entries * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+   }
+}
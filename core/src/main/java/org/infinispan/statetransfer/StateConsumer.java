@@ -52,4 +52,10 @@ public interface StateConsumer {
     * @return  true if this node has already received the first rebalance command
     */
    boolean ownsData();
+
+   /**
+    * @return the number of entries applied and the apply rate for each segment since the last rebalance started
+    * @since 13.0
+    */
+   StateApplyStatistics getApplyStatistics();
 }
@@ -46,6 +46,7 @@
 import org.infinispan.commands.write.InvalidateCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commons.IllegalLifecycleStateException;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.tx.TransactionImpl;
 import org.infinispan.commons.tx.XidImpl;
 import org.infinispan.commons.util.EnumUtil;
@@ -57,7 +58,9 @@
 import org.infinispan.configuration.cache.Configurations;
 import org.infinispan.conflict.impl.InternalConflictManager;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.ReadCommittedEntry;
 import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.container.impl.SegmentDigests;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.InvocationContextFactory;
 import org.infinispan.context.impl.LocalTxInvocationContext;
@@ -74,12 +77,18 @@
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.interceptors.AsyncInterceptor;
 import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.interceptors.BaseCustomAsyncInterceptor;
+import org.infinispan.interceptors.locking.ClusteringDependentLogic;
 import org.infinispan.metadata.impl.InternalMetadataImpl;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.notifications.cachelistener.annotation.DataRehashed;
 import org.infinispan.notifications.cachelistener.cluster.ClusterListenerReplicateCallable;
+import org.infinispan.partitionhandling.impl.PartitionHandlingInterceptor;
 import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.reactive.publisher.impl.LocalPublisherManager;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.inboundhandler.PerCacheInboundInvocationHandler;
@@ -122,6 +131,7 @@
 public class StateConsumerImpl implements StateConsumer {
    private static final Log log = LogFactory.getLog(StateConsumerImpl.class);
    protected static final int NO_STATE_TRANSFER_IN_PROGRESS = -1;
+   private static final String CORE_INTERCEPTORS_PACKAGE = "org.infinispan.interceptors.";
    protected static final long STATE_TRANSFER_FLAGS = EnumUtil.bitSetOf(PUT_FOR_STATE_TRANSFER, CACHE_MODE_LOCAL,
                                                                         IGNORE_RETURN_VALUES, SKIP_REMOTE_LOOKUP,
                                                                         SKIP_SHARED_CACHE_STORE, SKIP_OWNERSHIP_CHECK,
@@ -152,12 +162,20 @@ public class StateConsumerImpl implements StateConsumer {
    @Inject protected LocalPublisherManager<Object, Object> localPublisherManager;
    @Inject PerCacheInboundInvocationHandler inboundInvocationHandler;
    @Inject XSiteStateTransferManager xSiteStateTransferManager;
+   @Inject protected ClusteringDependentLogic clusteringDependentLogic;
+   @Inject protected MarshallableEntryFactory<Object, Object> marshallableEntryFactory;
+   @Inject protected TimeService timeService;
 
    protected String cacheName;
    protected long timeout;
    protected boolean isFetchEnabled;
    protected boolean isTransactional;
    protected boolean isInvalidationMode;
+   // Whether the cache configuration allows committing state without invoking the interceptor chain
+   protected boolean bulkApplySupported;
+   // Whether state applied in bulk must be written to the private stores
+   protected boolean writeStateToStores;
+   protected StateApplyStatistics applyStatistics;
    protected volatile KeyInvalidationListener keyInvalidationListener; //for test purpose only!
 
    protected volatile CacheTopology cacheTopology;
@@ -252,6 +270,11 @@ public boolean ownsData() {
       return ownsData;
    }
 
+   @Override
+   public StateApplyStatistics getApplyStatistics() {
+      return applyStatistics;
+   }
+
    @Override
    public CompletionStage<CompletionStage<Void>> onTopologyUpdate(final CacheTopology cacheTopology,
                                                                   final boolean isRebalance) {
@@ -293,6 +316,7 @@ public CompletionStage<CompletionStage<Void>> onTopologyUpdate(final CacheTopolo
          // Only update the rebalance topology id when starting the rebalance, as we're going to ignore any state
          // response with a smaller topology id
          stateTransferTopologyId.compareAndSet(NO_STATE_TRANSFER_IN_PROGRESS, cacheTopology.getTopologyId());
+         applyStatistics.reset();
          conflictManager.cancelVersionRequests();
          if (cacheNotifier.hasListener(DataRehashed.class)) {
             stage = cacheNotifier.notifyDataRehashed(cacheTopology.getCurrentCH(), cacheTopology.getPendingCH(),
@@ -664,53 +688,140 @@ private CompletionStage<?> doApplyState(Address sender, int segmentId,
             "Applying new state chunk for segment %d of cache %s from node %s: received %d cache entries",
             segmentId, cacheName, sender, cacheEntries.size());
 
+      long start = timeService.time();
+      CompletionStage<?> stage;
       // CACHE_MODE_LOCAL avoids handling by StateTransferInterceptor and any potential locks in StateTransferLock
       boolean transactional = transactionManager != null;
+      boolean bulk = !transactional && canApplyStateInBulk();
       if (transactional) {
-         Object key = NO_KEY;
-         Transaction transaction = new ApplyStateTransaction();
-         InvocationContext ctx = icf.createInvocationContext(transaction, false);
-         LocalTransaction localTransaction = ((LocalTxInvocationContext) ctx).getCacheTransaction();
-         try {
-            localTransaction.setStateTransferFlag(PUT_FOR_STATE_TRANSFER);
-            for (InternalCacheEntry<?, ?> e : cacheEntries) {
-               // CallInterceptor will preserve the timestamps if the metadata is an InternalMetadataImpl instance
-               key = e.getKey();
-               CompletableFuture<?> future = invokePut(segmentId, ctx, e);
-               if (!future.isDone()) {
-                  throw new IllegalStateException("State transfer in-tx put should always be synchronous");
-               }
+         stage = applyStateInTransaction(segmentId, cacheEntries);
+      } else if (bulk) {
+         stage = applyStateInBulk(segmentId, cacheEntries);
+      } else {
+         stage = applyStatePerEntry(segmentId, cacheEntries);
+      }
+      return stage.whenComplete((ignored, t) -> applyStatistics.record(segmentId, cacheEntries.size(),
+            timeService.timeDuration(start, TimeUnit.NANOSECONDS), bulk));
+   }
+
+   private CompletionStage<?> applyStateInTransaction(int segmentId,
+                                                      Collection<InternalCacheEntry<?, ?>> cacheEntries) {
+      Object key = NO_KEY;
+      Transaction transaction = new ApplyStateTransaction();
+      InvocationContext ctx = icf.createInvocationContext(transaction, false);
+      LocalTransaction localTransaction = ((LocalTxInvocationContext) ctx).getCacheTransaction();
+      try {
+         localTransaction.setStateTransferFlag(PUT_FOR_STATE_TRANSFER);
+         for (InternalCacheEntry<?, ?> e : cacheEntries) {
+            // CallInterceptor will preserve the timestamps if the metadata is an InternalMetadataImpl instance
+            key = e.getKey();
+            CompletableFuture<?> future = invokePut(segmentId, ctx, e);
+            if (!future.isDone()) {
+               throw new IllegalStateException("State transfer in-tx put should always be synchronous");
             }
-         } catch (Throwable t) {
-            logApplyException(t, key);
-            return invokeRollback(localTransaction).handle((rv, t1) -> {
-               transactionTable.removeLocalTransaction(localTransaction);
-               if (t1 != null) {
-                  t.addSuppressed(t1);
-               }
-               return null;
-            });
          }
-
-         return invoke1PCPrepare(localTransaction).whenComplete((rv, t) -> {
+      } catch (Throwable t) {
+         logApplyException(t, key);
+         return invokeRollback(localTransaction).handle((rv, t1) -> {
             transactionTable.removeLocalTransaction(localTransaction);
-            if (t != null) {
-               logApplyException(t, NO_KEY);
+            if (t1 != null) {
+               t.addSuppressed(t1);
             }
+            return null;
          });
-      } else {
-         // non-tx cache
-         AggregateCompletionStage<Void> aggregateStage = CompletionStages.aggregateCompletionStage();
-         for (InternalCacheEntry<?, ?> e : cacheEntries) {
-            InvocationContext ctx = icf.createSingleKeyNonTxInvocationContext();
-            CompletionStage<?> putStage = invokePut(segmentId, ctx, e);
-            aggregateStage.dependsOn(putStage.exceptionally(t -> {
-               logApplyException(t, e.getKey());
-               return null;
-            }));
+      }
+
+      return invoke1PCPrepare(localTransaction).whenComplete((rv, t) -> {
+         transactionTable.removeLocalTransaction(localTransaction);
+         if (t != null) {
+            logApplyException(t, NO_KEY);
          }
-         return aggregateStage.freeze();
+      });
+   }
+
+   private CompletionStage<?> applyStatePerEntry(int segmentId, Collection<InternalCacheEntry<?, ?>> cacheEntries) {
+      AggregateCompletionStage<Void> aggregateStage = CompletionStages.aggregateCompletionStage();
+      for (InternalCacheEntry<?, ?> e : cacheEntries) {
+         InvocationContext ctx = icf.createSingleKeyNonTxInvocationContext();
+         CompletionStage<?> putStage = invokePut(segmentId, ctx, e);
+         aggregateStage.dependsOn(putStage.exceptionally(t -> {
+            logApplyException(t, e.getKey());
+            return null;
+         }));
       }
+      return aggregateStage.freeze();
+   }
+
+   /**
+    * The interceptor chain only commits a state transfer put and writes it to the private stores: the put skips the
+    * locking, the ownership check and the remote lookups, and it does not fire any notification. So when no other
+    * interceptor needs to see the puts, the chunk can be committed directly through {@link ClusteringDependentLogic},
+    * which still applies the {@link CommitManager} rules, and written to the stores in a single batch.
+    * <p>
+    * The interceptors are checked for every chunk because they can be added at runtime.
+    */
+   private boolean canApplyStateInBulk() {
+      if (!bulkApplySupported)
+         return false;
+
+      for (AsyncInterceptor interceptor : interceptorChain.getInterceptors()) {
+         Class<?> interceptorClass = interceptor.getClass();
+         if (interceptor instanceof BaseCustomAsyncInterceptor ||
+               !interceptorClass.getName().startsWith(CORE_INTERCEPTORS_PACKAGE) &&
+               interceptorClass != StateTransferInterceptor.class &&
+               interceptorClass != PartitionHandlingInterceptor.class) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private CompletionStage<?> applyStateInBulk(int segmentId, Collection<InternalCacheEntry<?, ?>> cacheEntries) {
+      InvocationContext ctx = icf.createNonTxInvocationContext();
+      List<ReadCommittedEntry<Object, Object>> entries = new ArrayList<>(cacheEntries.size());
+      AggregateCompletionStage<Void> aggregateStage = CompletionStages.aggregateCompletionStage();
+      for (InternalCacheEntry<?, ?> e : cacheEntries) {
+         // The command only carries the flags and the segment, it is never invoked
+         PutKeyValueCommand put = commandsFactory.buildPutKeyValueCommand(e.getKey(), e.getValue(), segmentId,
+                                                                          e.getMetadata(), STATE_TRANSFER_FLAGS);
+         ReadCommittedEntry<Object, Object> entry = new ReadCommittedEntry<>(e.getKey(), e.getValue(), e.getMetadata());
+         entry.setInternalMetadata(e.getInternalMetadata());
+         entry.setCreated(e.getCreated());
+         entry.setLastUsed(e.getLastUsed());
+         entry.setChanged(true);
+         entries.add(entry);
+         CompletionStage<Void> commitStage;
+         try {
+            commitStage = clusteringDependentLogic.commitEntry(entry, put, ctx, PUT_FOR_STATE_TRANSFER, false);
+         } catch (Throwable t) {
+            commitStage = CompletableFutures.completedExceptionFuture(t);
+         }
+         aggregateStage.dependsOn(commitStage.exceptionally(t -> {
+            logApplyException(t, e.getKey());
+            return null;
+         }));
+      }
+      CompletionStage<Void> stage = aggregateStage.freeze();
+      if (!writeStateToStores) {
+         return stage;
+      }
+      return stage.thenCompose(ignored -> {
+         // Entries discarded by the CommitManager were already overwritten by a newer write
+         List<MarshallableEntry<Object, Object>> committed = new ArrayList<>(entries.size());
+         for (ReadCommittedEntry<Object, Object> entry : entries) {
+            if (entry.isCommitted()) {
+               committed.add(marshallableEntryFactory.create(entry.getKey(), entry.getValue(), entry.getMetadata(),
+                     entry.getInternalMetadata(), entry.getCreated(), entry.getLastUsed()));
+            }
+         }
+         if (committed.isEmpty() || persistenceManager.isReadOnly()) {
+            return CompletableFutures.completedNull();
+         }
+         return persistenceManager.writeEntries(committed, PRIVATE).exceptionally(t -> {
+            logApplyException(t, NO_KEY);
+            return null;
+         });
+      });
    }
 
    private CompletionStage<?> invoke1PCPrepare(LocalTransaction localTransaction) {
@@ -796,6 +907,11 @@ public void start() {
 
       rpcOptions = new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS);
 
+      bulkApplySupported = !isTransactional && (mode.isDistributed() || mode.isReplicated()) &&
+            !configuration.indexing().enabled() && !configuration.sites().hasAsyncEnabledBackups();
+      writeStateToStores = configuration.persistence().usingStores() && !configuration.persistence().passivation();
+      applyStatistics = new StateApplyStatistics(configuration.clustering().hash().numSegments());
+
       stateRequestExecutor = new LimitedExecutor("StateRequest-" + cacheName, nonBlockingExecutor, 1);
       running = true;
    }
@@ -1158,6 +1274,7 @@ private int getSegment(Object key) {
    // not used in scattered cache
    private InboundTransferTask addTransfer(Address source, IntSet segmentsFromSource) {
       final InboundTransferTask inboundTransfer;
+      final int topologyId;
 
       synchronized (transferMapsLock) {
          if (log.isTraceEnabled()) {
@@ -1171,18 +1288,60 @@ private InboundTransferTask addTransfer(Address source, IntSet segmentsFromSourc
             return null;
          }
 
-         inboundTransfer = new InboundTransferTask(segmentsFromSource, source, cacheTopology.getTopologyId(),
+         topologyId = cacheTopology.getTopologyId();
+         inboundTransfer = new InboundTransferTask(segmentsFromSource, source, topologyId,
                                                    rpcManager, commandsFactory, timeout, cacheName, true);
          addTransfer(inboundTransfer, segmentsFromSource);
       }
 
       stateRequestExecutor.executeAsync(() -> {
-         CompletionStage<Void> transferStarted = inboundTransfer.requestSegments();
+         CompletionStage<Void> transferStarted = skipUnchangedSegments(inboundTransfer, topologyId)
+               .thenCompose(ignored -> inboundTransfer.requestSegments());
          return transferStarted.whenComplete((aVoid, throwable) -> onTaskCompletion(inboundTransfer));
       });
       return inboundTransfer;
    }
 
+   /**
+    * Compares the local digests of the transferred segments with the digests of the source and marks the segments
+    * with the same entries as finished, so they are not requested. Any failure means the segments are transferred
+    * in full.
+    */
+   private CompletionStage<Void> skipUnchangedSegments(InboundTransferTask inboundTransfer, int topologyId) {
+      SegmentDigests segmentDigests = dataContainer.getSegmentDigests();
+      if (segmentDigests == null) {
+         return CompletableFutures.completedNull();
+      }
+      Address source = inboundTransfer.getSource();
+      IntSet segments = inboundTransfer.getSegments();
+      if (log.isTraceEnabled()) {
+         log.tracef("Requesting digests from node %s for segments %s", source, segments);
+      }
+      CacheRpcCommand cmd = commandsFactory.buildStateTransferGetDigestsCommand(topologyId, segments);
+      CompletionStage<ValidResponse> remoteStage =
+            rpcManager.invokeCommand(source, cmd, SingleResponseCollector.validOnly(), rpcOptions);
+      return remoteStage.handle((response, throwable) -> {
+         if (throwable != null || !(response instanceof SuccessfulResponse) || response.getResponseValue() == null) {
+            log.debugf(throwable, "Could not retrieve the digests of segments %s from node %s, transferring them in full",
+                       segments, source);
+            return null;
+         }
+         Map<Integer, long[]> remoteDigests = (Map<Integer, long[]>) response.getResponseValue();
+         IntSet unchangedSegments = IntSets.mutableEmptySet(configuration.clustering().hash().numSegments());
+         segments.forEach((int segment) -> {
+            if (SegmentDigests.differingLeaves(segmentDigests.getDigest(segment), remoteDigests.get(segment)) == 0) {
+               unchangedSegments.set(segment);
+            }
+         });
+         if (!unchangedSegments.isEmpty()) {
+            log.debugf("Segments %s of cache %s are the same on node %s, skipping their transfer",
+                       unchangedSegments, cacheName, source);
+            unchangedSegments.forEach((int segment) -> inboundTransfer.onStateReceived(segment, true));
+         }
+         return null;
+      });
+   }
+
    @GuardedBy("transferMapsLock")
    protected void addTransfer(InboundTransferTask inboundTransfer, IntSet segments) {
       if (!running)
@@ -2,6 +2,7 @@
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -58,6 +59,27 @@ public interface StateProvider {
     */
    void startOutboundTransfer(Address destination, int topologyId, IntSet segments, boolean applyState);
 
+   /**
+    * Same as {@link #startOutboundTransfer(Address, int, IntSet, boolean)}, but only sends the keys that belong to the
+    * given {@link org.infinispan.container.impl.SegmentDigests} leaves. This is invoked in response to a
+    * {@link org.infinispan.commands.statetransfer.ConflictResolutionStartCommand}.
+    *
+    * @param leafMask the mask of the leaves to send, or {@link org.infinispan.container.impl.SegmentDigests#ALL_LEAVES}
+    * @since 13.0
+    */
+   void startOutboundTransfer(Address destination, int topologyId, IntSet segments, boolean applyState, long leafMask);
+
+   /**
+    * Gets the digests of the entries in the given segments. This is invoked in response to a
+    * {@link org.infinispan.commands.statetransfer.StateTransferGetDigestsCommand}.
+    *
+    * @param segments the segments to return the digests for
+    * @return the {@link org.infinispan.container.impl.SegmentDigests} leaves of each segment, or {@code null} if the
+    * segment digests are not enabled
+    * @since 13.0
+    */
+   Map<Integer, long[]> getSegmentDigests(IntSet segments);
+
    /**
     * Cancel sending of cache entries that belong to the given set of segments. This is invoked in response to a
     * {@link org.infinispan.commands.statetransfer.StateTransferCancelCommand}.
@@ -25,6 +25,7 @@
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.container.impl.InternalEntryFactory;
+import org.infinispan.container.impl.SegmentDigests;
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.distribution.ch.KeyPartitioner;
@@ -275,9 +276,15 @@ private void collectTransactionsToTransfer(Address destination,
 
    @Override
    public void startOutboundTransfer(Address destination, int requestTopologyId, IntSet segments, boolean applyState) {
+      startOutboundTransfer(destination, requestTopologyId, segments, applyState, SegmentDigests.ALL_LEAVES);
+   }
+
+   @Override
+   public void startOutboundTransfer(Address destination, int requestTopologyId, IntSet segments, boolean applyState,
+                                     long leafMask) {
       if (log.isTraceEnabled()) {
-         log.tracef("Starting outbound transfer to node %s for cache %s, topology id %d, segments %s", destination,
-                    cacheName, requestTopologyId, segments);
+         log.tracef("Starting outbound transfer to node %s for cache %s, topology id %d, segments %s, leaves %s",
+                    destination, cacheName, requestTopologyId, segments, Long.toHexString(leafMask));
       }
 
       // the destination node must already have an InboundTransferTask waiting for these segments
@@ -286,7 +293,12 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, In
                                   chunkSize, requestTopologyId, keyPartitioner, chunks -> {}, rpcManager,
                                   commandsFactory, timeout, cacheName, applyState, false);
       addTransfer(outboundTransfer);
-      outboundTransfer.execute(Flowable.concat(publishDataContainerEntries(segments), publishStoreEntries(segments)))
+      Flowable<InternalCacheEntry<Object, Object>> entries =
+            Flowable.concat(publishDataContainerEntries(segments), publishStoreEntries(segments));
+      if (leafMask != SegmentDigests.ALL_LEAVES) {
+         entries = entries.filter(ice -> SegmentDigests.containsLeaf(leafMask, ice.getKey()));
+      }
+      outboundTransfer.execute(entries)
                       .whenComplete((ignored, throwable) -> {
                          if (throwable != null) {
                             logError(outboundTransfer, throwable);
@@ -295,6 +307,20 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, In
                       });
    }
 
+   @Override
+   public Map<Integer, long[]> getSegmentDigests(IntSet segments) {
+      SegmentDigests segmentDigests = dataContainer.getSegmentDigests();
+      if (segmentDigests == null) {
+         return null;
+      }
+      Map<Integer, long[]> digests = new HashMap<>(segments.size());
+      segments.forEach((int segment) -> digests.put(segment, segmentDigests.getDigest(segment)));
+      if (log.isTraceEnabled()) {
+         log.tracef("Returning the digests of segments %s for cache %s", segments, cacheName);
+      }
+      return digests;
+   }
+
    protected Flowable<InternalCacheEntry<Object, Object>> publishDataContainerEntries(IntSet segments) {
       return Flowable.fromIterable(() -> dataContainer.iterator(segments))
                      // TODO Investigate removing the filter, we clear L1 entries before becoming an owner
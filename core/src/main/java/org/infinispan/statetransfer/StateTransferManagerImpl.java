@@ -41,6 +41,10 @@
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Parameter;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.partitionhandling.AvailabilityMode;
 import org.infinispan.partitionhandling.impl.PartitionHandlingManager;
@@ -285,6 +289,21 @@ public boolean isStateTransferInProgress() {
       return stateConsumer.isStateTransferInProgress();
    }
 
+   @ManagedAttribute(description = "Number of entries applied by state transfer since the last rebalance started", displayName = "State transfer applied entries", measurementType = MeasurementType.TRENDSUP)
+   public long getStateTransferAppliedEntries() {
+      return stateConsumer.getApplyStatistics().getAppliedEntries();
+   }
+
+   @ManagedAttribute(description = "Number of entries applied by state transfer per second since the last rebalance started", displayName = "State transfer apply rate", units = Units.PER_SECOND)
+   public double getStateTransferApplyRate() {
+      return stateConsumer.getApplyStatistics().getEntriesPerSecond();
+   }
+
+   @ManagedOperation(description = "Returns the number of entries applied by state transfer per second for a segment since the last rebalance started", displayName = "State transfer apply rate for segment")
+   public double getSegmentStateTransferApplyRate(@Parameter(name = "segment", description = "Segment to check") int segment) {
+      return stateConsumer.getApplyStatistics().getEntriesPerSecond(segment);
+   }
+
    @Override
    public Map<Address, Response> forwardCommandIfNeeded(TopologyAffectedCommand command, Set<Object> affectedKeys,
                                                         Address origin) {
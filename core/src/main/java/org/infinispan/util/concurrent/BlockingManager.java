@@ -223,6 +223,17 @@ <V> CompletionStage<V> whenCompleteBlocking(CompletionStage<V> stage,
     */
    BlockingExecutor limitedBlockingExecutor(String name, int concurrency);
 
+   /**
+    * Provides a {@link BlockingExecutor} which runs each operation on a new virtual thread instead of the blocking
+    * thread pool. Virtual threads require a JDK 21+ runtime, on older runtimes the operations run on the blocking
+    * thread pool.
+    * @param name name of the executor, also used to name its virtual threads.
+    * @param concurrency maximum amount of concurrent operations to be performed via the returned executor, or a value
+    *                    less than one for no limit.
+    * @return a blocking executor that runs the operations on virtual threads when they are supported.
+    */
+   BlockingExecutor virtualThreadBlockingExecutor(String name, int concurrency);
+
    /**
     * Executor interface that submits task to a blocking pool that returns a stage that is guaranteed
     * to run any chained stages on a non-blocking thread if the stage is not yet complete.
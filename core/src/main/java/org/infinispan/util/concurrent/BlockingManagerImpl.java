@@ -4,7 +4,10 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -18,8 +21,13 @@
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
@@ -29,10 +37,13 @@
 import io.reactivex.rxjava3.schedulers.Schedulers;
 
 
+@MBean(objectName = "BlockingManager", description = "Runs the blocking operations on the blocking thread pool or on virtual threads")
 @Scope(Scopes.GLOBAL)
 public class BlockingManagerImpl implements BlockingManager {
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+   private static final String VIRTUAL_THREAD_NAME_PREFIX = "virtual-blocking-";
    private final AtomicInteger id = log.isTraceEnabled() ? new AtomicInteger() : null;
+   private final LongAdder virtualThreadOperations = new LongAdder();
 
    @Inject @ComponentName(KnownComponentNames.NON_BLOCKING_EXECUTOR)
    Executor nonBlockingExecutor;
@@ -42,6 +53,8 @@ public class BlockingManagerImpl implements BlockingManager {
 
    private Scheduler blockingScheduler;
    private Scheduler nonBlockingScheduler;
+   // Started with the first virtual thread executor, guarded by this
+   private VirtualThreads.PinningMonitor pinningMonitor;
 
    @Start
    void start() {
@@ -49,6 +62,14 @@ void start() {
       nonBlockingScheduler = Schedulers.from(nonBlockingExecutor);
    }
 
+   @Stop
+   synchronized void stop() {
+      if (pinningMonitor != null) {
+         pinningMonitor.close();
+         pinningMonitor = null;
+      }
+   }
+
    private String nextTraceId() {
       return id != null ? "-BlockingManagerImpl-" + id.getAndIncrement() : null;
    }
@@ -305,24 +326,75 @@ public Executor asExecutor(String name) {
    @Override
    public BlockingExecutor limitedBlockingExecutor(String name, int concurrentExecutions) {
       LimitedExecutor limitedExecutor = new LimitedExecutor(name, blockingExecutor, concurrentExecutions);
-      return new LimitedBlockingExecutor(limitedExecutor);
+      return new ExecutorBlockingExecutor(limitedExecutor);
+   }
+
+   @Override
+   public BlockingExecutor virtualThreadBlockingExecutor(String name, int concurrentExecutions) {
+      if (!VirtualThreads.isSupported()) {
+         log.virtualThreadsNotSupported(name);
+         return concurrentExecutions > 0 ? limitedBlockingExecutor(name, concurrentExecutions) :
+               new ExecutorBlockingExecutor(blockingExecutor);
+      }
+      synchronized (this) {
+         if (pinningMonitor == null) {
+            pinningMonitor = VirtualThreads.PinningMonitor.start(VIRTUAL_THREAD_NAME_PREFIX);
+         }
+      }
+      ThreadFactory threadFactory = VirtualThreads.threadFactory(VIRTUAL_THREAD_NAME_PREFIX + name + "-");
+      Executor executor = task -> {
+         virtualThreadOperations.increment();
+         threadFactory.newThread(task).start();
+      };
+      if (concurrentExecutions > 0) {
+         executor = new LimitedExecutor(name, executor, concurrentExecutions);
+      }
+      return new ExecutorBlockingExecutor(executor);
+   }
+
+   @ManagedAttribute(
+         description = "Number of blocking operations that ran on virtual threads",
+         displayName = "Number of virtual thread operations",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getVirtualThreadOperations() {
+      return virtualThreadOperations.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of times a virtual thread running a blocking operation was pinned to its carrier thread for more than 20 milliseconds, or -1 if it cannot be recorded",
+         displayName = "Number of pinned virtual threads",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public synchronized long getVirtualThreadPinnedCount() {
+      return pinningMonitor != null ? pinningMonitor.pinnedCount() : -1;
+   }
+
+   @ManagedAttribute(
+         description = "Total time that virtual threads running blocking operations were pinned to their carrier thread, or -1 if it cannot be recorded",
+         displayName = "Virtual thread pinned time",
+         units = Units.MILLISECONDS,
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public synchronized long getVirtualThreadPinnedTime() {
+      return pinningMonitor != null ? TimeUnit.NANOSECONDS.toMillis(pinningMonitor.pinnedNanos()) : -1;
    }
 
-   private class LimitedBlockingExecutor implements BlockingExecutor {
-      private final LimitedExecutor limitedExecutor;
+   private class ExecutorBlockingExecutor implements BlockingExecutor {
+      private final Executor executor;
 
-      private LimitedBlockingExecutor(LimitedExecutor limitedExecutor) {
-         this.limitedExecutor = limitedExecutor;
+      private ExecutorBlockingExecutor(Executor executor) {
+         this.executor = executor;
       }
 
       @Override
       public CompletionStage<Void> execute(Runnable runnable, Object traceId) {
-         return runBlockingOperation(runnable, traceId, limitedExecutor);
+         return runBlockingOperation(runnable, traceId, executor);
       }
 
       @Override
       public <V> CompletionStage<V> supply(Supplier<V> supplier, Object traceId) {
-         return supplyBlockingOperation(supplier, traceId, limitedExecutor);
+         return supplyBlockingOperation(supplier, traceId, executor);
       }
    }
 
@@ -0,0 +1,163 @@
+package org.infinispan.util.concurrent;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Runs {@link BlockingRunnable}s in one serial queue per segment.
+ * <p>
+ * Unlike {@link BlockingTaskAwareExecutorService}, which keeps all the tasks that are not ready in a single queue and
+ * checks all of them every time the state changes, a task here only waits behind the tasks of its own segment, and a
+ * state change in a segment only checks the tasks of that segment.
+ * <p>
+ * The tasks of a segment are run in the order they were added, as soon as they are ready, by a single drain task
+ * submitted to the executor. The drain task runs the ready tasks on its own thread, so the tasks must not block.
+ *
+ * @since 13.0
+ */
+public final class SegmentTaskQueues {
+
+   private static final Log log = LogFactory.getLog(SegmentTaskQueues.class);
+
+   private final Executor executor;
+   private final SegmentQueue[] queues;
+
+   /**
+    * @param executor    the executor running the drain tasks, usually the non-blocking executor
+    * @param numSegments the number of segments
+    */
+   public SegmentTaskQueues(Executor executor, int numSegments) {
+      this.executor = executor;
+      this.queues = new SegmentQueue[numSegments];
+      for (int i = 0; i < numSegments; i++) {
+         queues[i] = new SegmentQueue(i);
+      }
+   }
+
+   /**
+    * Adds a task to the queue of a segment. The task runs after the tasks that were added before it to the same
+    * segment and that are ready.
+    */
+   public void execute(int segment, BlockingRunnable runnable) {
+      SegmentQueue queue = queues[segment];
+      queue.pending.incrementAndGet();
+      queue.tasks.offer(runnable);
+      queue.checkForReadyTasks();
+   }
+
+   /**
+    * Checks if the tasks of a segment became ready after a change that only affects this segment.
+    */
+   public void checkForReadyTasks(int segment) {
+      queues[segment].checkForReadyTasks();
+   }
+
+   /**
+    * Checks if the tasks of all the segments became ready after a change that affects all the segments.
+    */
+   public void checkForReadyTasks() {
+      for (SegmentQueue queue : queues) {
+         queue.checkForReadyTasks();
+      }
+   }
+
+   /**
+    * @return the number of tasks waiting in the queue of the segment
+    */
+   public int getQueueLength(int segment) {
+      return queues[segment].pending.get();
+   }
+
+   /**
+    * @return the number of tasks waiting in all the queues
+    */
+   public int getPendingTasks() {
+      int pending = 0;
+      for (SegmentQueue queue : queues) {
+         pending += queue.pending.get();
+      }
+      return pending;
+   }
+
+   /**
+    * @return the length of the longest queue
+    */
+   public int getMaxQueueLength() {
+      int max = 0;
+      for (SegmentQueue queue : queues) {
+         max = Math.max(max, queue.pending.get());
+      }
+      return max;
+   }
+
+   public int getNumSegments() {
+      return queues.length;
+   }
+
+   private final class SegmentQueue implements Runnable {
+      private final int segment;
+      private final Queue<BlockingRunnable> tasks = new ConcurrentLinkedQueue<>();
+      private final AtomicInteger pending = new AtomicInteger();
+      /**
+       * The number of checks requested since the drain task last looked at the queue. The drain task is submitted
+       * only by the thread that increments it from {@code 0}.
+       */
+      private final AtomicInteger requestCounter = new AtomicInteger();
+
+      SegmentQueue(int segment) {
+         this.segment = segment;
+      }
+
+      void checkForReadyTasks() {
+         if (pending.get() != 0 && requestCounter.getAndIncrement() == 0) {
+            try {
+               executor.execute(this);
+            } catch (RejectedExecutionException e) {
+               // The executor is shutting down, the tasks will never run
+               requestCounter.set(0);
+               log.debugf(e, "Unable to check the tasks of segment %d", segment);
+            }
+         }
+      }
+
+      @Override
+      public void run() {
+         int counter = requestCounter.get();
+         do {
+            int executed = 0;
+            for (Iterator<BlockingRunnable> iterator = tasks.iterator(); iterator.hasNext(); ) {
+               BlockingRunnable runnable = iterator.next();
+               boolean ready;
+               try {
+                  ready = runnable.isReady();
+               } catch (Exception e) {
+                  log.debugf(e, "Failed to check ready state of %s, dropping.", runnable);
+                  iterator.remove();
+                  pending.decrementAndGet();
+                  continue;
+               }
+               if (ready) {
+                  iterator.remove();
+                  pending.decrementAndGet();
+                  executed++;
+                  try {
+                     runnable.run();
+                  } catch (Throwable t) {
+                     log.debugf(t, "Failed to run %s", runnable);
+                  }
+               }
+            }
+            if (log.isTraceEnabled()) {
+               log.tracef("Segment %d: tasks executed=%d, still pending=~%d", segment, executed, pending.get());
+            }
+         } while ((counter = requestCounter.addAndGet(-counter)) != 0);
+      }
+   }
+}
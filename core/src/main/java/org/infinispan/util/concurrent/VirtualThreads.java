@@ -0,0 +1,153 @@
+package org.infinispan.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Creates virtual threads and counts how often they are pinned to their carrier thread. Virtual threads require a
+ * JDK 21+ runtime while the code targets Java 8, so {@code Thread.ofVirtual()} and the JFR event stream are looked up
+ * reflectively.
+ *
+ * @since 13.0
+ */
+final class VirtualThreads {
+   private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+
+   private static final Method OF_VIRTUAL;
+   private static final Method BUILDER_NAME;
+   private static final Method BUILDER_FACTORY;
+
+   static {
+      Method ofVirtual = null;
+      Method builderName = null;
+      Method builderFactory = null;
+      try {
+         Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+         ofVirtual = Thread.class.getMethod("ofVirtual");
+         builderName = builderClass.getMethod("name", String.class, long.class);
+         builderFactory = builderClass.getMethod("factory");
+         // JDK 19 and 20 throw UnsupportedOperationException unless the preview features are enabled
+         ofVirtual.invoke(null);
+      } catch (ReflectiveOperationException | LinkageError e) {
+         log.tracef(e, "Virtual threads are not supported");
+         ofVirtual = null;
+      }
+      OF_VIRTUAL = ofVirtual;
+      BUILDER_NAME = builderName;
+      BUILDER_FACTORY = builderFactory;
+   }
+
+   private VirtualThreads() {
+   }
+
+   static boolean isSupported() {
+      return OF_VIRTUAL != null;
+   }
+
+   /**
+    * Returns a factory of virtual threads named with the given prefix and an increasing number.
+    *
+    * @throws IllegalStateException if virtual threads are not supported
+    */
+   static ThreadFactory threadFactory(String namePrefix) {
+      if (OF_VIRTUAL == null) {
+         throw new IllegalStateException("Virtual threads are not supported");
+      }
+      try {
+         Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+         return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+      } catch (ReflectiveOperationException e) {
+         throw new CacheException(e);
+      }
+   }
+
+   /**
+    * Counts the {@code jdk.VirtualThreadPinned} JFR events of the virtual threads whose name starts with a prefix. The
+    * event is only recorded when a thread stays pinned for longer than 20 milliseconds, as in the default JFR
+    * configuration, so shorter pins are not counted.
+    */
+   static final class PinningMonitor implements AutoCloseable {
+      private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+      private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+
+      private final String threadNamePrefix;
+      private final LongAdder pinnedCount = new LongAdder();
+      private final LongAdder pinnedNanos = new LongAdder();
+      private final Method getThread;
+      private final Method getJavaName;
+      private final Method getDuration;
+      private final AutoCloseable recordingStream;
+
+      private PinningMonitor(String threadNamePrefix) throws ReflectiveOperationException {
+         this.threadNamePrefix = threadNamePrefix;
+         Class<?> recordingStreamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+         getThread = Class.forName("jdk.jfr.consumer.RecordedObject").getMethod("getThread", String.class);
+         getJavaName = Class.forName("jdk.jfr.consumer.RecordedThread").getMethod("getJavaName");
+         getDuration = Class.forName("jdk.jfr.consumer.RecordedEvent").getMethod("getDuration");
+
+         recordingStream = (AutoCloseable) recordingStreamClass.getConstructor().newInstance();
+         try {
+            Object settings = recordingStreamClass.getMethod("enable", String.class).invoke(recordingStream, PINNED_EVENT);
+            Class.forName("jdk.jfr.EventSettings").getMethod("withThreshold", Duration.class)
+                  .invoke(settings, PINNED_THRESHOLD);
+            Consumer<Object> onPinned = this::onPinned;
+            recordingStreamClass.getMethod("onEvent", String.class, Consumer.class)
+                  .invoke(recordingStream, PINNED_EVENT, onPinned);
+            recordingStreamClass.getMethod("startAsync").invoke(recordingStream);
+         } catch (ReflectiveOperationException | RuntimeException e) {
+            close();
+            throw e;
+         }
+      }
+
+      /**
+       * Starts recording the pinned events, or returns {@code null} if the runtime cannot stream JFR events.
+       */
+      static PinningMonitor start(String threadNamePrefix) {
+         try {
+            return new PinningMonitor(threadNamePrefix);
+         } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            log.debugf(e, "Cannot record the pinned virtual threads");
+            return null;
+         }
+      }
+
+      private void onPinned(Object event) {
+         try {
+            Object thread = getThread.invoke(event, "eventThread");
+            String threadName = thread != null ? (String) getJavaName.invoke(thread) : null;
+            if (threadName != null && threadName.startsWith(threadNamePrefix)) {
+               pinnedCount.increment();
+               pinnedNanos.add(((Duration) getDuration.invoke(event)).toNanos());
+            }
+         } catch (ReflectiveOperationException e) {
+            log.tracef(e, "Cannot read the pinned event %s", event);
+         }
+      }
+
+      long pinnedCount() {
+         return pinnedCount.sum();
+      }
+
+      long pinnedNanos() {
+         return pinnedNanos.sum();
+      }
+
+      @Override
+      public void close() {
+         try {
+            recordingStream.close();
+         } catch (Exception e) {
+            log.debugf(e, "Cannot close the recording of the pinned virtual threads");
+         }
+      }
+   }
+}
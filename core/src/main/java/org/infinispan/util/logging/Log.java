@@ -2172,4 +2172,45 @@ CacheConfigurationException storeConfiguredHasBothReadAndWriteOnly(String storeC
    @Message(value = "Timeout waiting for topology %d transaction data", id = 638)
    TimeoutException transactionDataTimeout(int expectedTopologyId);
 
+   @Message(value = "Segment digests require all the entries to be kept in memory: eviction must be disabled and all the stores must be preloaded", id = 639)
+   CacheConfigurationException segmentDigestsRequireAllEntriesInMemory();
+
+   @Message(value = "The index writer max-lag must be a positive number of milliseconds, but was %d", id = 640)
+   CacheConfigurationException invalidIndexMaxLag(int maxLag);
+
+   @Message(value = "The mass indexer reader-threads must be a positive number, but was %d", id = 641)
+   CacheConfigurationException invalidMassIndexerReaderThreads(int readerThreads);
+
+   @Message(value = "The mass indexer max-rate must be a positive number of entries per second, or 0 for no limit, but was %d", id = 642)
+   CacheConfigurationException invalidMassIndexerMaxRate(int maxRate);
+
+   @Message(value = "The write-behind concurrent-batches must be a positive number, but was %d", id = 643)
+   CacheConfigurationException invalidConcurrentBatches(int concurrentBatches);
+
+   @Message(value = "The transport coalescing-max-commands must be a positive number, but was %d", id = 644)
+   CacheConfigurationException invalidCoalescingMaxCommands(int maxCommands);
+
+   @Message(value = "The transport coalescing-max-delay cannot be negative, but was %d", id = 645)
+   CacheConfigurationException invalidCoalescingMaxDelay(long maxDelay);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to send %d coalesced commands to %s", id = 646)
+   void failedToSendCoalescedCommands(int count, Address target, @Cause Throwable t);
+
+   @Message(value = "Segment digests require the keys and values to be stored in binary form, but the key media type is %s and the value media type is %s", id = 647)
+   CacheConfigurationException segmentDigestsRequireBinaryStorage(String keyMediaType, String valueMediaType);
+
+   @Message(value = "Segment digests are not supported with off-heap storage", id = 648)
+   CacheConfigurationException segmentDigestsNotSupportedOffHeap();
+
+   @Message(value = "Store %s cannot be configured with max-concurrent-operations as it does not contain the CONCURRENCY_LIMIT characteristic", id = 649)
+   CacheConfigurationException storeConfiguredConcurrencyLimitButCharacteristicNotPresent(String storeClassName);
+
+   @Message(value = "Store %s cannot be configured with virtual-threads as it does not contain the CONCURRENCY_LIMIT characteristic", id = 650)
+   CacheConfigurationException storeConfiguredVirtualThreadsButCharacteristicNotPresent(String storeClassName);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Virtual threads are not supported by this JVM, '%s' runs its operations on the blocking thread pool", id = 651)
+   void virtualThreadsNotSupported(String name);
+
 }
@@ -23,6 +23,7 @@
 import org.infinispan.Cache;
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.commons.util.FileLookup;
 import org.infinispan.commons.util.FileLookupFactory;
 import org.infinispan.commons.util.Version;
@@ -30,6 +31,7 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.configuration.cache.StorageType;
 import org.infinispan.configuration.global.GlobalConfigurationBuilder;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.marshall.TestObjectStreamMarshaller;
@@ -415,6 +417,22 @@ public void testPreloadAndPurgeOnStartupPersistence() {
             .validate();
    }
 
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Segment digests require the keys and values to be stored in binary form.*")
+   public void testSegmentDigestsWithObjectStorage() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).stateTransfer().segmentDigests(true).validate();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Segment digests are not supported with off-heap storage")
+   public void testSegmentDigestsWithOffHeapStorage() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().storage(StorageType.OFF_HEAP);
+      builder.encoding().mediaType(MediaType.APPLICATION_PROTOSTREAM_TYPE);
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).stateTransfer().segmentDigests(true).validate();
+   }
+
    public static class NonValidatingBuilder implements Builder<Object> {
       public NonValidatingBuilder(GlobalConfigurationBuilder builder) {
       }
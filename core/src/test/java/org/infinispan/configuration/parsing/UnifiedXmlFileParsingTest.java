@@ -37,6 +37,8 @@
 import org.infinispan.configuration.cache.IndexingConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.configuration.cache.PartitionHandlingConfiguration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
@@ -115,6 +117,30 @@ public void testParseAndConstructUnifiedXmlFile(Path config) throws IOException
    }
 
    public enum ParserVersionCheck {
+      INFINISPAN_130(13, 0) {
+         @Override
+         public void check(ConfigurationBuilderHolder holder, int schemaMajor, int schemaMinor) {
+            Configuration offHeapEviction = getConfiguration(holder, "off_heap_eviction");
+            assertEquals(StorageType.OFF_HEAP, offHeapEviction.memory().storage());
+            assertEquals(OffHeapAllocatorType.POOLED, offHeapEviction.memory().allocator());
+            assertEquals(OffHeapEvictionPolicy.TINY_LFU, offHeapEviction.memory().evictionPolicy());
+            Configuration offHeapNoEviction = getConfiguration(holder, "off_heap_no_eviction");
+            assertEquals(OffHeapAllocatorType.UNPOOLED, offHeapNoEviction.memory().allocator());
+            assertEquals(OffHeapEvictionPolicy.LRU, offHeapNoEviction.memory().evictionPolicy());
+            assertTrue(getConfiguration(holder, "capedwarf-data").clustering().stateTransfer().segmentDigests());
+            assertFalse(getConfiguration(holder, "capedwarf-metadata").clustering().stateTransfer().segmentDigests());
+            assertEquals(4, getConfiguration(holder, "local").persistence().stores().get(0).async().concurrentBatches());
+            assertEquals(8, getConfiguration(holder, "local").persistence().stores().get(0).maxConcurrentOperations());
+            assertTrue(getConfiguration(holder, "local").persistence().stores().get(0).virtualThreads());
+            assertTrue(getConfiguration(holder, "dist").clustering().inboundSegmentQueues());
+            assertFalse(getConfiguration(holder, "capedwarf-dist").clustering().inboundSegmentQueues());
+            assertTrue(getConfiguration(holder, "dist").clustering().collapseRemoteGets());
+            assertFalse(getConfiguration(holder, "capedwarf-dist").clustering().collapseRemoteGets());
+            GlobalConfiguration globalConfiguration = getGlobalConfiguration(holder);
+            assertEquals(16, globalConfiguration.transport().coalescingMaxCommands());
+            assertEquals(1, globalConfiguration.transport().coalescingMaxDelay());
+         }
+      },
       INFINISPAN_120(12, 0) {
          @Override
          public void check(ConfigurationBuilderHolder holder, int schemaMajor, int schemaMinor) {
@@ -0,0 +1,109 @@
+package org.infinispan.conflict.impl;
+
+import static org.infinispan.test.TestingUtil.wrapInboundInvocationHandler;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetDigestsCommand;
+import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.conflict.ConflictManagerFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.remoting.inboundhandler.AbstractDelegatingHandler;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.inboundhandler.PerCacheInboundInvocationHandler;
+import org.infinispan.remoting.inboundhandler.Reply;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that conflict resolution finds the conflicts when the replicas compare their segment digests first.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "conflict.impl.SegmentDigestsConflictResolutionTest")
+@CleanupAfterMethod
+public class SegmentDigestsConflictResolutionTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 100;
+   private static final int INCONSISTENT_VALUE_INCREMENT = 10;
+
+   private final AtomicInteger digestRequests = new AtomicInteger();
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      digestRequests.set(0);
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      builder.encoding().mediaType(MediaType.APPLICATION_PROTOSTREAM_TYPE);
+      builder.clustering().hash().numOwners(2).numSegments(20).stateTransfer().segmentDigests(true);
+      createClusteredCaches(3, builder);
+      for (int i = 0; i < 3; i++) {
+         wrapInboundInvocationHandler(cache(i), CountDigestRequestsHandler::new);
+      }
+   }
+
+   public void testNoConflictsWithSameDigests() {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put(i, "v" + i);
+      }
+      assertEquals(0, getConflicts().size());
+      assertTrue(digestRequests.get() > 0);
+   }
+
+   public void testConflictsDetected() {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put(i, "v" + i);
+      }
+      LocalizedCacheTopology topology = advancedCache(0).getDistributionManager().getCacheTopology();
+      DataConversion keyDataConversion = advancedCache(0).getKeyDataConversion();
+      for (int i = 0; i < NUM_KEYS; i += INCONSISTENT_VALUE_INCREMENT) {
+         Address primary = topology.getDistribution(keyDataConversion.toStorage(i)).primary();
+         AdvancedCache<Object, Object> primaryCache = manager(primary).getCache().getAdvancedCache()
+               .withFlags(Flag.CACHE_MODE_LOCAL);
+         primaryCache.put(i, "INCONSISTENT");
+      }
+
+      List<Map<Address, CacheEntry<Object, Object>>> conflicts = getConflicts();
+      assertTrue(digestRequests.get() > 0);
+      assertEquals(NUM_KEYS / INCONSISTENT_VALUE_INCREMENT, conflicts.size());
+      DataConversion valueDataConversion = advancedCache(0).getValueDataConversion();
+      for (Map<Address, CacheEntry<Object, Object>> conflict : conflicts) {
+         Set<Object> values = conflict.values().stream()
+               .map(entry -> valueDataConversion.fromStorage(entry.getValue()))
+               .collect(Collectors.toSet());
+         assertEquals(2, values.size());
+         assertTrue(values.contains("INCONSISTENT"));
+      }
+   }
+
+   private List<Map<Address, CacheEntry<Object, Object>>> getConflicts() {
+      return ConflictManagerFactory.get(advancedCache(0)).getConflicts().collect(Collectors.toList());
+   }
+
+   private class CountDigestRequestsHandler extends AbstractDelegatingHandler {
+      CountDigestRequestsHandler(PerCacheInboundInvocationHandler delegate) {
+         super(delegate);
+      }
+
+      @Override
+      public void handle(CacheRpcCommand command, Reply reply, DeliverOrder order) {
+         if (command instanceof StateTransferGetDigestsCommand) {
+            digestRequests.incrementAndGet();
+         }
+         delegate.handle(command, reply, order);
+      }
+   }
+}
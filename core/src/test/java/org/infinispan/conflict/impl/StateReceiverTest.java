@@ -118,7 +118,7 @@ public void testRequestCanBeCancelledDuringTransfer() throws Exception {
          TestingUtil.sleepThread(1000);
          return CompletableFuture.completedFuture(new HashMap<>());
       });
-      doReturn(task).when(stateReceiver).createTransferTask(any(Integer.class), any(Address.class), any(CacheTopology.class), any(Long.class));
+      doReturn(task).when(stateReceiver).createTransferTask(any(Integer.class), any(Address.class), any(CacheTopology.class), any(Long.class), any(Long.class));
 
       CompletableFuture<List<Map<Address, CacheEntry<Object, Object>>>> future = stateReceiver.getAllReplicasForSegment(0, localizedCacheTopology, 10000);
       future.whenComplete((result, throwable) -> {
@@ -165,7 +165,7 @@ public void stopExecutor() {
    private void initTransferTaskMock(CompletableFuture<Void> completableFuture) {
       InboundTransferTask task = mock(InboundTransferTask.class);
       when(task.requestSegments()).thenReturn(completableFuture);
-      doReturn(task).when(stateReceiver).createTransferTask(any(Integer.class), any(Address.class), any(CacheTopology.class), any(Long.class));
+      doReturn(task).when(stateReceiver).createTransferTask(any(Integer.class), any(Address.class), any(CacheTopology.class), any(Long.class), any(Long.class));
    }
 
    private Collection<StateChunk> createStateChunks(Object key, Object value) {
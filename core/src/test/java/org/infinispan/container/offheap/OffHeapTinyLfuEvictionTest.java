@@ -0,0 +1,52 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the TinyLFU eviction policy of the bounded off-heap container keeps frequently used entries when new
+ * keys are only written once.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapTinyLfuEvictionTest")
+public class OffHeapTinyLfuEvictionTest extends SingleCacheManagerTest {
+   private static final int COUNT = 100;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory()
+            .storage(StorageType.OFF_HEAP)
+            .maxCount(COUNT)
+            .whenFull(EvictionStrategy.REMOVE)
+            .evictionPolicy(OffHeapEvictionPolicy.TINY_LFU);
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testScanDoesNotEvictFrequentEntries() {
+      for (int i = 0; i < 4; ++i) {
+         for (int j = 0; j < COUNT; ++j) {
+            cache.put("hot" + j, "value" + i);
+         }
+      }
+
+      // Less than the sample size of the sketch, so the hot entries are not aged while the scan runs
+      for (int i = 0; i < 2 * COUNT; ++i) {
+         cache.put("scan" + i, "value" + i);
+      }
+
+      assertEquals(COUNT, cache.size());
+      for (int j = 0; j < COUNT; ++j) {
+         assertEquals("value3", cache.get("hot" + j));
+      }
+   }
+}
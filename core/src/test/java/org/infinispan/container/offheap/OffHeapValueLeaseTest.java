@@ -0,0 +1,172 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.test.Exceptions;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.MortalCacheEntry;
+import org.infinispan.container.impl.InternalEntryFactoryImpl;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that a leased value is read in place from native memory and stays valid until the lease is closed.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapValueLeaseTest")
+public class OffHeapValueLeaseTest extends AbstractInfinispanTest {
+   private static final WrappedByteArray KEY = new WrappedByteArray(new byte[] { 10, 11, 12 });
+   private static final WrappedByteArray VALUE = new WrappedByteArray(new byte[] { 0, 1, 2, 3, 4, 5 });
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+   private OffHeapMemoryAllocator allocator;
+   private OffHeapEntryFactoryImpl offHeapEntryFactory;
+   private OffHeapConcurrentMap map;
+
+   @BeforeMethod
+   void initializeMap() {
+      allocator = new UnpooledOffHeapMemoryAllocator();
+      offHeapEntryFactory = new OffHeapEntryFactoryImpl();
+      offHeapEntryFactory.allocator = allocator;
+      offHeapEntryFactory.internalEntryFactory = new InternalEntryFactoryImpl();
+      offHeapEntryFactory.timeService = timeService;
+      offHeapEntryFactory.configuration = new ConfigurationBuilder().build();
+      offHeapEntryFactory.start();
+
+      map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null);
+   }
+
+   @AfterMethod
+   void afterMethod() {
+      if (map != null) {
+         map.close();
+      }
+   }
+
+   public void testLeaseReadsValueInPlace() {
+      map.put(KEY, new ImmortalCacheEntry(KEY, VALUE));
+
+      OffHeapValueLease lease = map.leaseValue(KEY);
+      assertTrue(lease.isZeroCopy());
+      WrappedBytes value = lease.value();
+      assertTrue(value instanceof OffHeapWrappedBytes);
+      assertNull(value.getBytes());
+      assertEquals(VALUE, value);
+      assertEquals(VALUE.hashCode(), value.hashCode());
+      assertEquals(VALUE, new WrappedByteArray(((OffHeapWrappedBytes) value).toByteArray()));
+
+      lease.close();
+      Exceptions.expectException(IllegalStateException.class, () -> value.getByte(0));
+      // Closing twice must not deregister the reader twice
+      lease.close();
+   }
+
+   public void testLeasedValueValidAfterRemove() {
+      map.put(KEY, new ImmortalCacheEntry(KEY, VALUE));
+
+      try (OffHeapValueLease lease = map.leaseValue(KEY)) {
+         map.remove(KEY);
+         // Retire enough entries that a reclaim is attempted
+         for (int i = 0; i < ReadEpochReclaimer.RECLAIM_THRESHOLD * 4; ++i) {
+            WrappedByteArray key = new WrappedByteArray(new byte[] { (byte) i, (byte) (i >> 8) });
+            map.put(key, new ImmortalCacheEntry(key, VALUE));
+            map.remove(key);
+         }
+         assertNull(map.peek(KEY));
+         assertEquals(VALUE, lease.value());
+      }
+   }
+
+   public void testLeaseOpenAcrossClear() throws Exception {
+      map.put(KEY, new ImmortalCacheEntry(KEY, VALUE));
+      OffHeapValueLease lease = map.leaseValue(KEY);
+
+      // The lease only pins the memory of the entry, so the clear doesn't wait for it
+      Future<?> future = fork(map::clear);
+      future.get(10, TimeUnit.SECONDS);
+      assertNull(map.peek(KEY));
+      assertEquals(VALUE, lease.value());
+
+      long allocated = allocator.getAllocatedAmount();
+      lease.close();
+      assertTrue(allocator.getAllocatedAmount() < allocated);
+   }
+
+   public void testLeaseOpenAcrossResize() throws Exception {
+      map.put(KEY, new ImmortalCacheEntry(KEY, VALUE));
+      try (OffHeapValueLease lease = map.leaseValue(KEY)) {
+         // Enough entries to resize the memory lookup, and to replace the leased entry
+         Future<?> future = fork(() -> {
+            for (int i = 0; i < OffHeapConcurrentMap.INITIAL_SIZE * 4; ++i) {
+               WrappedByteArray key = new WrappedByteArray(new byte[] { (byte) i, (byte) (i >> 8) });
+               map.put(key, new ImmortalCacheEntry(key, VALUE));
+            }
+            map.put(KEY, new ImmortalCacheEntry(KEY, new WrappedByteArray(new byte[] { 9 })));
+         });
+         future.get(10, TimeUnit.SECONDS);
+         assertEquals(VALUE, lease.value());
+      }
+      assertEquals(new WrappedByteArray(new byte[] { 9 }), map.peek(KEY).getValue());
+   }
+
+   public void testLeaseMissingOrExpiredKey() {
+      assertNull(map.leaseValue(KEY));
+
+      map.put(KEY, new MortalCacheEntry(KEY, VALUE, 1000, timeService.wallClockTime()));
+      try (OffHeapValueLease lease = map.leaseValue(KEY)) {
+         assertEquals(VALUE, lease.value());
+      }
+      timeService.advance(1001);
+      assertNull(map.leaseValue(KEY));
+   }
+
+   public void testValueCopiedWithListener() {
+      map.close();
+      map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, new NoOpEntryListener());
+      map.put(KEY, new ImmortalCacheEntry(KEY, VALUE));
+
+      OffHeapValueLease lease = map.leaseValue(KEY);
+      assertFalse(lease.isZeroCopy());
+      assertEquals(VALUE, lease.value());
+      assertTrue(lease.value() instanceof WrappedByteArray);
+      lease.close();
+      // The value is on heap, so it can still be read
+      assertEquals(VALUE, lease.value());
+   }
+
+   private static class NoOpEntryListener implements OffHeapConcurrentMap.EntryListener {
+      @Override
+      public boolean resize(int pointerCount) {
+         return true;
+      }
+
+      @Override
+      public void entryCreated(long newAddress) {
+      }
+
+      @Override
+      public void entryRemoved(long removedAddress) {
+      }
+
+      @Override
+      public void entryReplaced(long newAddress, long oldAddress) {
+      }
+
+      @Override
+      public void entryRetrieved(long entryAddress) {
+      }
+   }
+}
@@ -0,0 +1,69 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "container.offheap.PooledOffHeapMemoryAllocatorTest")
+public class PooledOffHeapMemoryAllocatorTest {
+
+   public void testFreedBlockIsReused() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator();
+      try {
+         long address = allocator.allocate(100);
+         assertEquals(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(100), allocator.getAllocatedAmount());
+         assertEquals(1, allocator.getArenaCount());
+
+         allocator.deallocate(address, 100);
+         assertEquals(0, allocator.getAllocatedAmount());
+         assertEquals(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(100), allocator.getPooledFreeAmount());
+
+         // Any size in the same size class reuses the block
+         assertEquals(address, allocator.allocate(104));
+         assertEquals(0, allocator.getPooledFreeAmount());
+      } finally {
+         allocator.stop();
+      }
+   }
+
+   public void testArenaTailIsPooled() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator();
+      try {
+         // Offset the arena by the smallest block so the largest blocks don't fit exactly
+         allocator.allocate(1);
+         int blockSize = PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE;
+         long blocksPerArena = PooledOffHeapMemoryAllocator.ARENA_SIZE / blockSize;
+         for (int i = 0; i < blocksPerArena; ++i) {
+            allocator.allocate(blockSize - 8);
+         }
+         assertEquals(2, allocator.getArenaCount());
+         long tailSize = blockSize - 16;
+         assertEquals(tailSize, allocator.getPooledFreeAmount());
+         assertTrue(allocator.getFragmentation() > 0);
+
+         // The tail of the first arena is reused instead of carving from the second one
+         allocator.allocate(tailSize - 8);
+         assertEquals(0, allocator.getPooledFreeAmount());
+         assertEquals(2, allocator.getArenaCount());
+      } finally {
+         allocator.stop();
+      }
+   }
+
+   public void testLargeAllocationsAreNotPooled() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator();
+      try {
+         long size = PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE * 2;
+         long address = allocator.allocate(size);
+         assertEquals(0, allocator.getArenaCount());
+         assertEquals(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size), allocator.getAllocatedAmount());
+
+         allocator.deallocate(address, size);
+         assertEquals(0, allocator.getAllocatedAmount());
+         assertEquals(0, allocator.getPooledFreeAmount());
+      } finally {
+         allocator.stop();
+      }
+   }
+}
@@ -0,0 +1,143 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "container.offheap.ReadEpochReclaimerTest")
+public class ReadEpochReclaimerTest extends AbstractInfinispanTest {
+
+   public void testRetiredMemoryNotFreedWhileReaderPresent() {
+      CountingAllocator allocator = new CountingAllocator();
+      ReadEpochReclaimer reclaimer = new ReadEpochReclaimer(allocator, Long.MAX_VALUE);
+
+      int token = reclaimer.enter();
+      int retired = ReadEpochReclaimer.RECLAIM_THRESHOLD * 2;
+      for (int i = 0; i < retired; ++i) {
+         reclaimer.retire(i + 1, 8);
+      }
+      // The reader registered before any memory was retired, so it could still be referencing all of it
+      assertEquals(0, allocator.deallocated);
+
+      reclaimer.exit(token);
+      reclaimer.retire(retired + 1, 8);
+
+      assertEquals(retired + 1, allocator.deallocated);
+   }
+
+   public void testQuiesceFreesAllRetiredMemory() {
+      CountingAllocator allocator = new CountingAllocator();
+      ReadEpochReclaimer reclaimer = new ReadEpochReclaimer(allocator, Long.MAX_VALUE);
+
+      reclaimer.exit(reclaimer.enter());
+      reclaimer.retire(1, 8);
+      reclaimer.retire(2, 8);
+      assertEquals(0, allocator.deallocated);
+
+      reclaimer.quiesce();
+      assertEquals(2, allocator.deallocated);
+   }
+
+   public void testPinnedMemoryFreedWhenUnpinned() {
+      CountingAllocator allocator = new CountingAllocator();
+      ReadEpochReclaimer reclaimer = new ReadEpochReclaimer(allocator, Long.MAX_VALUE);
+
+      int token = reclaimer.enter();
+      reclaimer.pin(1);
+      reclaimer.pin(1);
+      reclaimer.exit(token);
+      reclaimer.retire(1, 8);
+      reclaimer.retire(2, 8);
+
+      // The pin doesn't register a reader, so quiesce doesn't wait for it
+      reclaimer.quiesce();
+      assertEquals(1, allocator.deallocated);
+
+      reclaimer.unpin(1);
+      assertEquals(1, allocator.deallocated);
+      reclaimer.unpin(1);
+      assertEquals(2, allocator.deallocated);
+   }
+
+   public void testLargeRetiredMemoryFreedBeforeCountThreshold() {
+      CountingAllocator allocator = new CountingAllocator();
+      ReadEpochReclaimer reclaimer = new ReadEpochReclaimer(allocator, Long.MAX_VALUE);
+
+      reclaimer.retire(1, 8);
+      assertEquals(0, allocator.deallocated);
+      reclaimer.retire(2, ReadEpochReclaimer.RECLAIM_BYTES_THRESHOLD);
+      assertEquals(2, allocator.deallocated);
+   }
+
+   public void testRetiredMemoryFreedAfterInterval() {
+      CountingAllocator allocator = new CountingAllocator();
+      ReadEpochReclaimer reclaimer = new ReadEpochReclaimer(allocator, 0);
+
+      reclaimer.retire(1, 8);
+      assertEquals(1, allocator.deallocated);
+
+      int token = reclaimer.enter();
+      reclaimer.retire(2, 8);
+      assertEquals(1, allocator.deallocated);
+
+      reclaimer.exit(token);
+      reclaimer.retire(3, 8);
+      assertEquals(3, allocator.deallocated);
+   }
+
+   public void testConcurrentRetire() throws Exception {
+      CountingAllocator allocator = new CountingAllocator();
+      ReadEpochReclaimer reclaimer = new ReadEpochReclaimer(allocator);
+      int threads = 4;
+      int retiredPerThread = ReadEpochReclaimer.RECLAIM_THRESHOLD * 10;
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; ++t) {
+         int thread = t;
+         futures.add(fork(() -> {
+            for (int i = 0; i < retiredPerThread; ++i) {
+               int token = reclaimer.enter();
+               reclaimer.retire((long) thread * retiredPerThread + i + 1, 8);
+               reclaimer.exit(token);
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      reclaimer.quiesce();
+      // Every address is deallocated exactly once
+      assertEquals(threads * retiredPerThread, allocator.deallocated);
+      assertEquals(threads * retiredPerThread, allocator.addresses.size());
+   }
+
+   private static class CountingAllocator implements OffHeapMemoryAllocator {
+      final Set<Long> addresses = ConcurrentHashMap.newKeySet();
+      int deallocated;
+
+      @Override
+      public long allocate(long memoryLength) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public synchronized void deallocate(long memoryAddress, long size) {
+         addresses.add(memoryAddress);
+         deallocated++;
+      }
+
+      @Override
+      public long getAllocatedAmount() {
+         return 0;
+      }
+   }
+}
@@ -0,0 +1,152 @@
+package org.infinispan.distribution;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commands.read.GetCacheEntryCommand;
+import org.infinispan.configuration.cache.BiasAcquisition;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.interceptors.DDAsyncInterceptor;
+import org.infinispan.interceptors.distribution.BaseDistributionInterceptor;
+import org.infinispan.interceptors.distribution.ScatteredDistributionInterceptor;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestDataSCI;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that concurrent reads of the same key share a single remote get when {@code collapse-remote-gets} is enabled,
+ * and that a read that starts after a write or a clear from the same node sees its effect.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "distribution.CollapseRemoteGetsTest")
+@CleanupAfterMethod
+public class CollapseRemoteGetsTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_READS = 5;
+
+   @Override
+   public Object[] factory() {
+      return new Object[]{
+            new CollapseRemoteGetsTest().cacheMode(CacheMode.DIST_SYNC),
+            // Biased reads are served locally, so the reads must not acquire a bias to go remote
+            new CollapseRemoteGetsTest().cacheMode(CacheMode.SCATTERED_SYNC).biasAcquisition(BiasAcquisition.NEVER),
+      };
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(cacheMode);
+      builder.clustering().collapseRemoteGets(true);
+      if (cacheMode.isScattered()) {
+         builder.clustering().biasAcquisition(biasAcquisition);
+      } else {
+         builder.clustering().hash().numOwners(1);
+      }
+      createClusteredCaches(2, TestDataSCI.INSTANCE, builder);
+      waitForClusterToForm();
+   }
+
+   public void testConcurrentReadsShareRemoteGet() throws Exception {
+      Object key = getKeyForCache(cache(1));
+      cache(1).put(key, "v1");
+
+      CompletableFuture<Void> release = new CompletableFuture<>();
+      DelayingInterceptor delayingInterceptor = new DelayingInterceptor(release);
+      cache(1).getAdvancedCache().getAsyncInterceptorChain().addInterceptor(delayingInterceptor, 0);
+
+      List<Future<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < NUM_READS; i++) {
+         futures.add(fork(() -> cache(0).get(key)));
+      }
+      eventuallyEquals((long) NUM_READS - 1, this::collapsedRemoteGets);
+
+      release.complete(null);
+      for (Future<Object> future : futures) {
+         assertEquals("v1", future.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, delayingInterceptor.remoteGets.get());
+   }
+
+   public void testReadAfterWriteDoesNotJoinEarlierRemoteGet() throws Exception {
+      Object key = getKeyForCache(cache(1));
+      cache(1).put(key, "v1");
+
+      CompletableFuture<Void> release = new CompletableFuture<>();
+      DelayingInterceptor delayingInterceptor = new DelayingInterceptor(release);
+      cache(1).getAdvancedCache().getAsyncInterceptorChain().addInterceptor(delayingInterceptor, 0);
+
+      Future<Object> earlierRead = fork(() -> cache(0).get(key));
+      eventuallyEquals(1, delayingInterceptor.remoteGets::get);
+
+      cache(0).put(key, "v2");
+      Future<Object> laterRead = fork(() -> cache(0).get(key));
+      eventuallyEquals(2, delayingInterceptor.remoteGets::get);
+
+      release.complete(null);
+      assertEquals("v2", laterRead.get(10, TimeUnit.SECONDS));
+      earlierRead.get(10, TimeUnit.SECONDS);
+      assertEquals(2, delayingInterceptor.remoteGets.get());
+      assertEquals(0, collapsedRemoteGets());
+   }
+
+   public void testReadAfterClearDoesNotJoinEarlierRemoteGet() throws Exception {
+      Object key = getKeyForCache(cache(1));
+      cache(1).put(key, "v1");
+
+      CompletableFuture<Void> release = new CompletableFuture<>();
+      DelayingInterceptor delayingInterceptor = new DelayingInterceptor(release);
+      cache(1).getAdvancedCache().getAsyncInterceptorChain().addInterceptor(delayingInterceptor, 0);
+
+      Future<Object> earlierRead = fork(() -> cache(0).get(key));
+      eventuallyEquals(1, delayingInterceptor.remoteGets::get);
+
+      cache(0).clear();
+      Future<Object> laterRead = fork(() -> cache(0).get(key));
+      eventuallyEquals(2, delayingInterceptor.remoteGets::get);
+
+      release.complete(null);
+      assertNull(laterRead.get(10, TimeUnit.SECONDS));
+      earlierRead.get(10, TimeUnit.SECONDS);
+      assertEquals(2, delayingInterceptor.remoteGets.get());
+      assertEquals(0, collapsedRemoteGets());
+   }
+
+   private long collapsedRemoteGets() {
+      AsyncInterceptorChain chain = TestingUtil.extractInterceptorChain(cache(0));
+      if (cacheMode.isScattered()) {
+         return chain.findInterceptorExtending(ScatteredDistributionInterceptor.class).getCollapsedRemoteGets();
+      }
+      return chain.findInterceptorExtending(BaseDistributionInterceptor.class).getCollapsedRemoteGets();
+   }
+
+   static class DelayingInterceptor extends DDAsyncInterceptor {
+      final AtomicInteger remoteGets = new AtomicInteger();
+      private final CompletableFuture<Void> release;
+
+      DelayingInterceptor(CompletableFuture<Void> release) {
+         this.release = release;
+      }
+
+      @Override
+      public Object visitGetCacheEntryCommand(InvocationContext ctx, GetCacheEntryCommand command) throws Throwable {
+         if (ctx.isOriginLocal()) {
+            return invokeNext(ctx, command);
+         }
+         remoteGets.incrementAndGet();
+         return asyncInvokeNext(ctx, command, release);
+      }
+   }
+}
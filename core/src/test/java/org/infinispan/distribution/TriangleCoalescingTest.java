@@ -0,0 +1,97 @@
+package org.infinispan.distribution;
+
+import static org.infinispan.test.TestingUtil.extractGlobalComponent;
+import static org.infinispan.test.TestingUtil.extractInterceptorChain;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.interceptors.distribution.TriangleDistributionInterceptor;
+import org.infinispan.remoting.transport.Transport;
+import org.infinispan.remoting.transport.jgroups.JGroupsTransport;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the triangle backup commands and acknowledgements are coalesced when {@code coalescing-max-commands} is
+ * enabled, without losing or reordering writes.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "distribution.TriangleCoalescingTest")
+public class TriangleCoalescingTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_THREADS = 8;
+   private static final int NUM_KEYS = 200;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      GlobalConfigurationBuilder globalBuilder = GlobalConfigurationBuilder.defaultClusteredBuilder();
+      globalBuilder.transport().coalescingMaxCommands(16).coalescingMaxDelay(1, TimeUnit.MILLISECONDS);
+
+      ConfigurationBuilder cacheBuilder = new ConfigurationBuilder();
+      cacheBuilder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(2);
+
+      createCluster(globalBuilder, cacheBuilder, 3);
+      waitForClusterToForm();
+
+      assertTrue(extractInterceptorChain(cache(0)).containsInterceptorType(TriangleDistributionInterceptor.class));
+   }
+
+   public void testConcurrentWrites() throws Exception {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < NUM_THREADS; t++) {
+         int thread = t;
+         futures.add(fork(() -> {
+            Cache<String, String> cache = cache(thread % 3);
+            for (int i = 0; i < NUM_KEYS; i++) {
+               String key = "k-" + thread + "-" + (i % 20);
+               cache.put(key, "v-" + i);
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      // Every key was written in order by a single thread, the owners must have the last value
+      for (int t = 0; t < NUM_THREADS; t++) {
+         for (int k = 0; k < 20; k++) {
+            String key = "k-" + t + "-" + k;
+            String expected = "v-" + (NUM_KEYS - 20 + k);
+            for (Cache<String, String> cache : this.<String, String>caches()) {
+               assertEquals(expected, cache.get(key));
+               if (cache.getAdvancedCache().getDistributionManager().getCacheTopology().isWriteOwner(key)) {
+                  InternalCacheEntry<String, String> entry = cache.getAdvancedCache().getDataContainer().peek(key);
+                  assertEquals(expected, entry.getValue());
+               }
+            }
+         }
+      }
+
+      long messages = 0;
+      long commands = 0;
+      for (Cache<?, ?> cache : caches()) {
+         JGroupsTransport transport = (JGroupsTransport) extractGlobalComponent(cache.getCacheManager(), Transport.class);
+         messages += transport.getCoalescedMessages();
+         commands += transport.getCoalescedCommands();
+         if (transport.getCoalescedMessages() > 0) {
+            assertTrue(transport.getAverageCoalescedBatchSize() >= 2);
+            assertTrue(transport.getMaxCoalescedBatchSize() >= 2);
+            assertTrue(transport.getMaxCoalescedBatchSize() <= 16);
+         }
+      }
+      assertTrue(messages > 0);
+      assertTrue(commands > messages);
+   }
+}
@@ -0,0 +1,108 @@
+package org.infinispan.distribution;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.infinispan.test.TestingUtil.extractInterceptorChain;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.interceptors.distribution.TriangleDistributionInterceptor;
+import org.infinispan.remoting.inboundhandler.PerCacheInboundInvocationHandler;
+import org.infinispan.remoting.inboundhandler.TrianglePerCacheInboundInvocationHandler;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the triangle backup writes are applied in order when they are queued per segment with {@code
+ * inbound-segment-queues}.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "distribution.TriangleSegmentQueuesTest")
+public class TriangleSegmentQueuesTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_THREADS = 6;
+   private static final int NUM_KEYS = 20;
+   private static final int NUM_WRITES = 200;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      builder.clustering().inboundSegmentQueues(true).hash().numOwners(2).numSegments(16);
+      createClusteredCaches(3, builder);
+
+      assertTrue(extractInterceptorChain(cache(0)).containsInterceptorType(TriangleDistributionInterceptor.class));
+      for (Cache<?, ?> cache : caches()) {
+         assertTrue(extractComponent(cache, PerCacheInboundInvocationHandler.class) instanceof TrianglePerCacheInboundInvocationHandler);
+      }
+   }
+
+   public void testConcurrentWrites() throws Exception {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < NUM_THREADS; t++) {
+         int thread = t;
+         futures.add(fork(() -> {
+            Cache<String, String> cache = cache(thread % 3);
+            for (int i = 0; i < NUM_WRITES; i++) {
+               if (thread % 2 == 0) {
+                  cache.put(key(thread, i % NUM_KEYS), "v-" + i);
+               } else {
+                  // Multi-key backup writes
+                  Map<String, String> map = new HashMap<>();
+                  map.put(key(thread, i % NUM_KEYS), "v-" + i);
+                  map.put(key(thread, (i + 1) % NUM_KEYS), "v-" + i);
+                  cache.putAll(map);
+               }
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      // Every key was written in order by a single thread, all the owners must have the last value
+      for (int t = 0; t < NUM_THREADS; t++) {
+         for (int k = 0; k < NUM_KEYS; k++) {
+            String key = key(t, k);
+            String expected = expectedValue(t, k);
+            for (Cache<String, String> cache : this.<String, String>caches()) {
+               if (cache.getAdvancedCache().getDistributionManager().getCacheTopology().isWriteOwner(key)) {
+                  InternalCacheEntry<String, String> entry = cache.getAdvancedCache().getDataContainer().peek(key);
+                  assertEquals(key, expected, entry.getValue());
+               }
+            }
+         }
+      }
+
+      for (Cache<?, ?> cache : caches()) {
+         TrianglePerCacheInboundInvocationHandler handler =
+               (TrianglePerCacheInboundInvocationHandler) extractComponent(cache, PerCacheInboundInvocationHandler.class);
+         eventuallyEquals(0, handler::getPendingSegmentTasks);
+      }
+   }
+
+   private static String key(int thread, int k) {
+      return "k-" + thread + "-" + k;
+   }
+
+   private static String expectedValue(int thread, int k) {
+      if (thread % 2 == 0) {
+         return "v-" + (NUM_WRITES - NUM_KEYS + k);
+      }
+      // Key k is written by the iterations i == k and i == k - 1 (mod NUM_KEYS), the last one wins
+      int lastWithFirstKey = NUM_WRITES - NUM_KEYS + k;
+      int lastWithSecondKey = NUM_WRITES - NUM_KEYS + (k + NUM_KEYS - 1) % NUM_KEYS;
+      return "v-" + Math.max(lastWithFirstKey, lastWithSecondKey);
+   }
+}
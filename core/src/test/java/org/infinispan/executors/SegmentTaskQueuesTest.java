@@ -0,0 +1,84 @@
+package org.infinispan.executors;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.infinispan.executors.BlockingTaskAwareExecutorServiceTest.DoSomething;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.concurrent.BlockingRunnable;
+import org.infinispan.util.concurrent.SegmentTaskQueues;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the per-segment queues of {@link SegmentTaskQueues}.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "executors.SegmentTaskQueuesTest")
+public class SegmentTaskQueuesTest extends AbstractInfinispanTest {
+
+   public void testBlockedSegmentDoesNotBlockOtherSegments() throws Exception {
+      ExecutorService executor = Executors.newSingleThreadExecutor(getTestThreadFactory("Segment"));
+      try {
+         SegmentTaskQueues queues = new SegmentTaskQueues(executor, 4);
+         DoSomething blocked = new DoSomething();
+         DoSomething other = new DoSomething();
+         other.markReady();
+
+         queues.execute(0, blocked);
+         queues.execute(1, other);
+
+         eventually(other::isExecuted);
+         assertFalse(blocked.isExecuted());
+         assertEquals(1, queues.getQueueLength(0));
+         assertEquals(0, queues.getQueueLength(1));
+         assertEquals(1, queues.getPendingTasks());
+         assertEquals(1, queues.getMaxQueueLength());
+
+         blocked.markReady();
+         queues.checkForReadyTasks(0);
+         eventually(blocked::isExecuted);
+         assertEquals(0, queues.getPendingTasks());
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   public void testTasksRunInOrderWhenReady() throws Exception {
+      ExecutorService executor = Executors.newFixedThreadPool(4, getTestThreadFactory("Segment"));
+      try {
+         SegmentTaskQueues queues = new SegmentTaskQueues(executor, 1);
+         List<Integer> executed = new CopyOnWriteArrayList<>();
+         int numTasks = 100;
+         // Each task is ready once the previous one ran, like the triangle backups of a segment
+         for (int i = numTasks - 1; i >= 0; i--) {
+            int sequence = i;
+            queues.execute(0, new BlockingRunnable() {
+               @Override
+               public boolean isReady() {
+                  return executed.size() == sequence;
+               }
+
+               @Override
+               public void run() {
+                  executed.add(sequence);
+                  queues.checkForReadyTasks(0);
+               }
+            });
+         }
+
+         eventually(() -> executed.size() == numTasks);
+         for (int i = 0; i < numTasks; i++) {
+            assertEquals(i, (int) executed.get(i));
+         }
+         assertEquals(0, queues.getPendingTasks());
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+}
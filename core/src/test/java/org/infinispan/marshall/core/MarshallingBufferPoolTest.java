@@ -0,0 +1,59 @@
+package org.infinispan.marshall.core;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the reuse of the marshalling buffers by {@link MarshallingBufferPool}.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "marshall.MarshallingBufferPoolTest")
+public class MarshallingBufferPoolTest extends AbstractInfinispanTest {
+
+   public void testSizeClasses() {
+      assertEquals(MarshallingBufferPool.MIN_POOLED_SIZE, MarshallingBufferPool.sizeClass(1));
+      assertEquals(MarshallingBufferPool.MIN_POOLED_SIZE, MarshallingBufferPool.sizeClass(MarshallingBufferPool.MIN_POOLED_SIZE));
+      assertEquals(1024, MarshallingBufferPool.sizeClass(513));
+      assertEquals(1024, MarshallingBufferPool.sizeClass(1024));
+      assertEquals(MarshallingBufferPool.MAX_POOLED_SIZE, MarshallingBufferPool.sizeClass(MarshallingBufferPool.MAX_POOLED_SIZE));
+      assertEquals(MarshallingBufferPool.MAX_POOLED_SIZE + 1, MarshallingBufferPool.sizeClass(MarshallingBufferPool.MAX_POOLED_SIZE + 1));
+   }
+
+   public void testReuse() {
+      MarshallingBufferPool pool = new MarshallingBufferPool();
+      byte[] buffer = pool.acquire(100);
+      assertEquals(MarshallingBufferPool.MIN_POOLED_SIZE, buffer.length);
+      // A nested operation does not get the buffer that is in use
+      byte[] nested = pool.acquire(100);
+      assertNotSame(buffer, nested);
+      pool.release(nested);
+      pool.release(buffer);
+
+      assertSame(nested, pool.acquire(200));
+      assertEquals(1, pool.getHits());
+      assertEquals(2, pool.getMisses());
+      assertEquals(2 * MarshallingBufferPool.MIN_POOLED_SIZE, pool.getAllocatedBytes());
+   }
+
+   public void testLargerBufferReplacesCachedBuffer() {
+      MarshallingBufferPool pool = new MarshallingBufferPool();
+      pool.release(pool.acquire(100));
+      byte[] large = pool.acquire(5000);
+      assertEquals(8192, large.length);
+      pool.release(large);
+      assertSame(large, pool.acquire(100));
+   }
+
+   public void testOversizedBufferIsNotPooled() {
+      MarshallingBufferPool pool = new MarshallingBufferPool();
+      byte[] huge = pool.acquire(MarshallingBufferPool.MAX_POOLED_SIZE + 1);
+      pool.release(huge);
+      assertNotSame(huge, pool.acquire(MarshallingBufferPool.MAX_POOLED_SIZE + 1));
+      assertEquals(0, pool.getHits());
+   }
+}
@@ -83,7 +83,7 @@ public void testStoreSizeExceeded() {
    }
 
    private void assertStoreSize(int expectedEntries, int expectedFree) {
-      assertEquals("Entries: " + store.getEntries(), expectedEntries, store.getEntries().size());
+      assertEquals(expectedEntries, store.size());
       assertEquals("Free: " + store.getFreeList(), expectedFree, store.getFreeList().size());
    }
 
@@ -1,5 +1,13 @@
 package org.infinispan.persistence.file;
 
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
 import org.infinispan.commons.test.CommonsTestingUtil;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
@@ -68,4 +76,67 @@ protected AdvancedLoadWriteStore createStore() {
       store.init(createContext(configurationBuilder.build()));
       return store;
    }
+
+   public void testIndexLoadedOnStart() {
+      SingleFileStore<Object, Object> store = (SingleFileStore<Object, Object>) cl;
+      writeAndRemoveEntries();
+      long fileSize = store.getFileSize();
+      File indexFile = indexFile(store);
+
+      cl.stop();
+      assertTrue(indexFile.exists());
+      cl.start();
+      assertTrue(indexFile.exists());
+
+      assertEntriesAfterRestart(store, fileSize);
+   }
+
+   public void testCorruptIndexRebuilt() throws IOException {
+      SingleFileStore<Object, Object> store = (SingleFileStore<Object, Object>) cl;
+      writeAndRemoveEntries();
+      long fileSize = store.getFileSize();
+      File indexFile = indexFile(store);
+
+      cl.stop();
+      Files.write(indexFile.toPath(), new byte[]{'F', 'C', 'I'});
+      cl.start();
+
+      assertEntriesAfterRestart(store, fileSize);
+   }
+
+   public void testIndexNotClosedCleanlyRebuilt() throws IOException {
+      SingleFileStore<Object, Object> store = (SingleFileStore<Object, Object>) cl;
+      // The index of a running store is not marked as closed cleanly
+      File indexFile = indexFile(store);
+      byte[] runningIndex = Files.readAllBytes(indexFile.toPath());
+      writeAndRemoveEntries();
+      long fileSize = store.getFileSize();
+
+      cl.stop();
+      Files.write(indexFile.toPath(), runningIndex);
+      cl.start();
+
+      assertEntriesAfterRestart(store, fileSize);
+   }
+
+   private File indexFile(SingleFileStore<Object, Object> store) {
+      return SingleFileStore.getIndexFile(store.ctx.getGlobalConfiguration(), tmpDirectory,
+            store.ctx.getCache().getName());
+   }
+
+   private void writeAndRemoveEntries() {
+      cl.write(marshalledEntry(internalCacheEntry("k1", "v1", -1)));
+      cl.write(marshalledEntry(internalCacheEntry("k2", "v2", -1)));
+      cl.write(marshalledEntry(internalCacheEntry("k3", "v3", -1)));
+      cl.delete("k2");
+   }
+
+   private void assertEntriesAfterRestart(SingleFileStore<Object, Object> store, long fileSize) {
+      assertEquals(2, cl.size());
+      assertEquals("v1", unwrap(cl.loadEntry("k1").getValue()));
+      assertNull(cl.loadEntry("k2"));
+      assertEquals("v3", unwrap(cl.loadEntry("k3").getValue()));
+      assertEquals(1, store.getFreeList().size());
+      assertEquals(fileSize, store.getFileSize());
+   }
 }
@@ -5,6 +5,7 @@
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 import static org.testng.AssertJUnit.fail;
 
 import java.lang.reflect.Method;
@@ -67,7 +68,8 @@ private InitializationContext createStore(boolean slow) throws PersistenceExcept
             .segmented(false);
       dummyCfg
          .async()
-            .enable();
+            .enable()
+            .concurrentBatches(concurrentBatches());
       dummyCfg.slow(slow);
       InitializationContext ctx = PersistenceMockUtil.createContext(getClass(), builder.build(), marshaller);
       DummyInMemoryStore underlying = new DummyInMemoryStore();
@@ -77,6 +79,10 @@ private InitializationContext createStore(boolean slow) throws PersistenceExcept
       return ctx;
    }
 
+   protected int concurrentBatches() {
+      return 1;
+   }
+
    @BeforeMethod
    public void createMarshalledEntryFactory() {
       marshaller = new TestObjectStreamMarshaller();
@@ -173,6 +179,31 @@ public void testMultiplePutsOnSameKey() throws Exception {
       doTestSameKeyRemove(key);
    }
 
+   @Test(timeOut=30000)
+   public void testStatistics() throws Exception {
+      TestResourceTracker.testThreadStarted(this.getTestName());
+      InitializationContext ctx = createStore();
+
+      final int number = 100;
+      String key = "testStatistics-k";
+      String value = "testStatistics-v-";
+      doTestSameKeyPut(number, key, value);
+      doTestPut(number, key, value);
+
+      // stopping waits for all the batches to be written
+      CompletionStages.join(store.stop());
+      assertEquals(0, store.getQueueSize());
+      assertEquals(2 * number, store.getSubmittedModifications());
+      // the writes to the same key may be coalesced
+      long replicated = store.getReplicatedModifications();
+      assertTrue(String.valueOf(replicated), replicated > number && replicated <= 2 * number);
+      assertTrue(store.getReplicatedBatches() > 0);
+
+      // clean up
+      CompletionStages.join(store.start(ctx));
+      doTestRemove(number, key);
+   }
+
    @Test(timeOut=30000)
    public void testRestrictionOnAddingToAsyncQueue() throws Exception {
       TestResourceTracker.testThreadStarted(this.getTestName());
@@ -328,8 +359,10 @@ public void testModificationQueueSize(final Method m) {
       LockableStoreConfigurationBuilder lcscsBuilder = (LockableStoreConfigurationBuilder) builder
             .persistence()
             .addStore(new LockableStoreConfigurationBuilder(builder.persistence()));
+      // All the writes below use segment 0, so they go to the same batch lane
       lcscsBuilder.async()
-            .modificationQueueSize(queueSize);
+            .modificationQueueSize(queueSize)
+            .concurrentBatches(concurrentBatches());
 
       store = new AsyncNonBlockingStore<>(underlying);
       InitializationContext ctx =
@@ -0,0 +1,17 @@
+package org.infinispan.persistence.support;
+
+import org.testng.annotations.Test;
+
+/**
+ * Runs the {@link AsyncStoreTest} tests with several batches written to the underlying store concurrently.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "persistence.support.ConcurrentBatchesAsyncStoreTest", sequential = true)
+public class ConcurrentBatchesAsyncStoreTest extends AsyncStoreTest {
+
+   @Override
+   protected int concurrentBatches() {
+      return 4;
+   }
+}
@@ -0,0 +1,176 @@
+package org.infinispan.persistence.support;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.commons.configuration.BuiltBy;
+import org.infinispan.commons.configuration.ConfigurationFor;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.commons.test.Exceptions;
+import org.infinispan.configuration.cache.AbstractStoreConfiguration;
+import org.infinispan.configuration.cache.AbstractStoreConfigurationBuilder;
+import org.infinispan.configuration.cache.AsyncStoreConfiguration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.CacheLoader;
+import org.infinispan.persistence.spi.InitializationContext;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that {@code max-concurrent-operations} limits the number of operations of a store that run at the same time
+ * on the blocking executor, and that only the stores that support it can use the limit or virtual threads.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.support.StoreConcurrencyLimitTest")
+public class StoreConcurrencyLimitTest extends SingleCacheManagerTest {
+
+   private static final int MAX_CONCURRENT_OPERATIONS = 2;
+   private static final int NUM_READS = 6;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.persistence().addStore(BlockingLoaderConfigurationBuilder.class)
+            .segmented(false)
+            .maxConcurrentOperations(MAX_CONCURRENT_OPERATIONS);
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testConcurrentLoadsAreLimited() throws Exception {
+      BlockingLoader.reset();
+      List<Future<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < NUM_READS; i++) {
+         String key = "k" + i;
+         futures.add(fork(() -> cache.get(key)));
+      }
+
+      eventuallyEquals(MAX_CONCURRENT_OPERATIONS, BlockingLoader.running::get);
+      // The other loads must wait for a free slot
+      TestingUtil.sleepThread(100);
+      assertEquals(MAX_CONCURRENT_OPERATIONS, BlockingLoader.running.get());
+
+      BlockingLoader.latch.countDown();
+      for (Future<Object> future : futures) {
+         assertEquals(BlockingLoader.VALUE, future.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(MAX_CONCURRENT_OPERATIONS, BlockingLoader.maxRunning.get());
+   }
+
+   public void testLimitRejectedForNonBlockingStore() {
+      // A native NonBlockingStore runs its own operations, so it would silently ignore the limit
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class)
+            .storeName(getClass().getSimpleName())
+            .maxConcurrentOperations(MAX_CONCURRENT_OPERATIONS);
+      cacheManager.defineConfiguration("non-blocking", builder.build());
+
+      Throwable t = Exceptions.extractException(() -> cacheManager.getCache("non-blocking"));
+      while (t != null && !(t instanceof CacheConfigurationException && t.getMessage().contains("ISPN000649"))) {
+         t = t.getCause();
+      }
+      assertTrue("The store must be rejected with ISPN000649", t != null);
+   }
+
+   public void testVirtualThreadsRejectedForNonBlockingStore() {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class)
+            .storeName(getClass().getSimpleName() + "-virtual")
+            .virtualThreads(true);
+      cacheManager.defineConfiguration("non-blocking-virtual", builder.build());
+
+      Throwable t = Exceptions.extractException(() -> cacheManager.getCache("non-blocking-virtual"));
+      while (t != null && !(t instanceof CacheConfigurationException && t.getMessage().contains("ISPN000650"))) {
+         t = t.getCause();
+      }
+      assertTrue("The store must be rejected with ISPN000650", t != null);
+   }
+
+   @BuiltBy(BlockingLoaderConfigurationBuilder.class)
+   @ConfigurationFor(BlockingLoader.class)
+   public static class BlockingLoaderConfiguration extends AbstractStoreConfiguration {
+
+      public BlockingLoaderConfiguration(AttributeSet attributes, AsyncStoreConfiguration async) {
+         super(attributes, async);
+      }
+   }
+
+   public static class BlockingLoaderConfigurationBuilder extends AbstractStoreConfigurationBuilder<BlockingLoaderConfiguration, BlockingLoaderConfigurationBuilder> {
+
+      public BlockingLoaderConfigurationBuilder(PersistenceConfigurationBuilder builder) {
+         super(builder, BlockingLoaderConfiguration.attributeDefinitionSet());
+      }
+
+      @Override
+      public BlockingLoaderConfiguration create() {
+         return new BlockingLoaderConfiguration(attributes.protect(), async.create());
+      }
+
+      @Override
+      public BlockingLoaderConfigurationBuilder self() {
+         return this;
+      }
+   }
+
+   public static class BlockingLoader<K, V> implements CacheLoader<K, V> {
+
+      static final String VALUE = "some-value";
+      static final AtomicInteger running = new AtomicInteger();
+      static final AtomicInteger maxRunning = new AtomicInteger();
+      static volatile CountDownLatch latch = new CountDownLatch(0);
+
+      private MarshallableEntryFactory<K, V> factory;
+
+      static void reset() {
+         running.set(0);
+         maxRunning.set(0);
+         latch = new CountDownLatch(1);
+      }
+
+      @Override
+      public void init(InitializationContext ctx) {
+         factory = ctx.getMarshallableEntryFactory();
+      }
+
+      @Override
+      public MarshallableEntry<K, V> loadEntry(Object key) {
+         maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+         try {
+            latch.await(10, TimeUnit.SECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         } finally {
+            running.decrementAndGet();
+         }
+         return factory.create(key, VALUE);
+      }
+
+      @Override
+      public boolean contains(Object key) {
+         return true;
+      }
+
+      @Override
+      public void start() {
+      }
+
+      @Override
+      public void stop() {
+      }
+   }
+}
@@ -48,4 +48,9 @@ public void stopApplyingState(int topologyId) {
    public boolean ownsData() {
       return delegate.ownsData();
    }
+
+   @Override
+   public StateApplyStatistics getApplyStatistics() {
+      return delegate.getApplyStatistics();
+   }
 }
@@ -0,0 +1,69 @@
+package org.infinispan.statetransfer;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the state applied in bulk by the joiner reaches both the data container and the private stores.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "statetransfer.StateTransferBulkApplyTest")
+public class StateTransferBulkApplyTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 100;
+
+   private ConfigurationBuilder builder;
+
+   @Override
+   public Object[] factory() {
+      return new Object[]{
+            new StateTransferBulkApplyTest().cacheMode(CacheMode.DIST_SYNC),
+            new StateTransferBulkApplyTest().cacheMode(CacheMode.REPL_SYNC),
+      };
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      builder = getDefaultClusteredCacheConfig(cacheMode, false);
+      builder.clustering().hash().numOwners(2).stateTransfer().chunkSize(10);
+      builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class);
+      createCluster(builder, 1);
+      waitForClusterToForm();
+   }
+
+   public void testJoinerAppliesStateInBulk() {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put("k" + i, "v" + i);
+      }
+
+      addClusterEnabledCacheManager(builder);
+      waitForClusterToForm();
+
+      // With 2 owners and 2 nodes the joiner owns every key
+      Cache<Object, Object> joiner = cache(1);
+      InternalDataContainer<Object, Object> dataContainer = extractComponent(joiner, InternalDataContainer.class);
+      DummyInMemoryStore store = TestingUtil.getFirstStore(joiner);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         InternalCacheEntry<Object, Object> entry = dataContainer.peek("k" + i);
+         assertEquals("v" + i, entry.getValue());
+         assertTrue(store.keySet().contains("k" + i));
+      }
+
+      StateApplyStatistics statistics = extractComponent(joiner, StateConsumer.class).getApplyStatistics();
+      assertEquals(NUM_KEYS, statistics.getAppliedEntries());
+      // Only the core interceptors are in the chain, so every chunk skipped it
+      assertEquals(NUM_KEYS, statistics.getBulkAppliedEntries());
+   }
+}
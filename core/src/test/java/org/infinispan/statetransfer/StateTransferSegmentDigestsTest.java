@@ -0,0 +1,99 @@
+package org.infinispan.statetransfer;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.container.impl.SegmentDigests;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that a node restarting with preloaded data only receives the segments whose digests changed.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "statetransfer.StateTransferSegmentDigestsTest")
+public class StateTransferSegmentDigestsTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 100;
+   private static final int NUM_SEGMENTS = 20;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      addClusterEnabledCacheManager(configuration(0));
+      addClusterEnabledCacheManager(configuration(1));
+      waitForClusterToForm();
+   }
+
+   private ConfigurationBuilder configuration(int index) {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC, false);
+      builder.encoding().mediaType(MediaType.APPLICATION_PROTOSTREAM_TYPE);
+      builder.clustering().hash().numSegments(NUM_SEGMENTS).stateTransfer().segmentDigests(true);
+      builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class)
+            .storeName(getClass().getSimpleName() + index)
+            .preload(true);
+      return builder;
+   }
+
+   public void testRestartedNodeOnlyReceivesChangedSegments() {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put("k" + i, "v" + i);
+      }
+      assertSameDigests();
+
+      killMember(1);
+      cache(0).put("k0", "changed");
+
+      addClusterEnabledCacheManager(configuration(1));
+      waitForClusterToForm();
+
+      assertEquals("changed", peekValue(cache(1), "k0"));
+      for (int i = 1; i < NUM_KEYS; i++) {
+         assertEquals("v" + i, peekValue(cache(1), "k" + i));
+      }
+      assertSameDigests();
+
+      // Only the segment of the modified key was transferred
+      int changedSegment = segment("k0");
+      int keysInChangedSegment = 0;
+      for (int i = 0; i < NUM_KEYS; i++) {
+         if (segment("k" + i) == changedSegment) {
+            keysInChangedSegment++;
+         }
+      }
+      StateApplyStatistics statistics = extractComponent(cache(1), StateConsumer.class).getApplyStatistics();
+      assertEquals(keysInChangedSegment, statistics.getAppliedEntries());
+      assertEquals(keysInChangedSegment, statistics.getAppliedEntries(changedSegment));
+   }
+
+   private Object peekValue(Cache<Object, Object> cache, Object key) {
+      // The entries are stored in binary form
+      AdvancedCache<Object, Object> advancedCache = cache.getAdvancedCache();
+      InternalDataContainer<Object, Object> dataContainer = extractComponent(cache, InternalDataContainer.class);
+      Object value = dataContainer.peek(advancedCache.getKeyDataConversion().toStorage(key)).getValue();
+      return advancedCache.getValueDataConversion().fromStorage(value);
+   }
+
+   private int segment(Object key) {
+      KeyPartitioner keyPartitioner = extractComponent(cache(0), KeyPartitioner.class);
+      return keyPartitioner.getSegment(cache(0).getAdvancedCache().getKeyDataConversion().toStorage(key));
+   }
+
+   private void assertSameDigests() {
+      SegmentDigests digests0 = extractComponent(cache(0), InternalDataContainer.class).getSegmentDigests();
+      SegmentDigests digests1 = extractComponent(cache(1), InternalDataContainer.class).getSegmentDigests();
+      for (int segment = 0; segment < NUM_SEGMENTS; segment++) {
+         assertTrue(Arrays.equals(digests0.getDigest(segment), digests1.getDigest(segment)));
+      }
+   }
+}
@@ -1,5 +1,6 @@
 package org.infinispan.util.concurrent;
 
+import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -175,4 +176,25 @@ public void testBlockingPublisherInvokedNonBlockingThreadCompleteAfterSubscribe(
       // once for onComplete
       Mockito.verify(nonBlockingExecutor, Mockito.times(3)).execute(Mockito.any());
    }
+
+   public void testVirtualThreadBlockingExecutor() {
+      BlockingManagerImpl blockingManager = (BlockingManagerImpl) createBlockingManager(false);
+      try {
+         BlockingManager.BlockingExecutor executor = blockingManager.virtualThreadBlockingExecutor("test", 0);
+         Thread thread = CompletionStages.join(executor.supply(Thread::currentThread, null));
+
+         if (VirtualThreads.isSupported()) {
+            // The operation ran on its own virtual thread instead of the blocking thread pool
+            assertTrue(thread.getName().startsWith("virtual-blocking-test-"));
+            assertEquals(1, blockingManager.getVirtualThreadOperations());
+            Mockito.verifyZeroInteractions(blockingExecutor);
+         } else {
+            assertEquals(0, blockingManager.getVirtualThreadOperations());
+            assertEquals(-1, blockingManager.getVirtualThreadPinnedCount());
+            Mockito.verify(blockingExecutor).execute(Mockito.any());
+         }
+      } finally {
+         blockingManager.stop();
+      }
+   }
 }
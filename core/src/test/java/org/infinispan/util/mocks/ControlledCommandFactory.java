@@ -63,6 +63,7 @@
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
 import org.infinispan.commands.statetransfer.StateResponseCommand;
 import org.infinispan.commands.statetransfer.StateTransferCancelCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetDigestsCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
 import org.infinispan.commands.statetransfer.StateTransferStartCommand;
@@ -351,8 +352,8 @@ public LockControlCommand buildLockControlCommand(Collection<?> keys, long flags
    }
 
    @Override
-   public ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments) {
-      return actual.buildConflictResolutionStartCommand(topologyId, segments);
+   public ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments, long leafMask) {
+      return actual.buildConflictResolutionStartCommand(topologyId, segments, leafMask);
    }
 
    @Override
@@ -370,6 +371,11 @@ public StateTransferGetTransactionsCommand buildStateTransferGetTransactionsComm
       return actual.buildStateTransferGetTransactionsCommand(topologyId, segments);
    }
 
+   @Override
+   public StateTransferGetDigestsCommand buildStateTransferGetDigestsCommand(int topologyId, IntSet segments) {
+      return actual.buildStateTransferGetDigestsCommand(topologyId, segments);
+   }
+
    @Override
    public StateTransferStartCommand buildStateTransferStartCommand(int topologyId, IntSet segments) {
       return actual.buildStateTransferStartCommand(topologyId, segments);
@@ -11,6 +11,7 @@
 import org.infinispan.objectfilter.Matcher;
 import org.infinispan.objectfilter.ObjectFilter;
 import org.infinispan.objectfilter.impl.aggregation.FieldAccumulator;
+import org.infinispan.objectfilter.impl.compiled.AttributeReader;
 import org.infinispan.objectfilter.impl.logging.Log;
 import org.infinispan.objectfilter.impl.predicateindex.MatcherEvalContext;
 import org.infinispan.objectfilter.impl.syntax.ConstantBooleanExpr;
@@ -272,6 +273,19 @@ public void unregisterFilter(FilterSubscription filterSubscription) {
 
    protected abstract MetadataAdapter<TypeMetadata, AttributeMetadata, AttributeId> createMetadataAdapter(TypeMetadata entityType);
 
+   /**
+    * Creates an {@link AttributeReader} that extracts the values of the given attribute paths directly from instances
+    * of a type, so that an {@link ObjectFilter} can be evaluated as a {@link org.infinispan.objectfilter.impl.compiled.CompiledFilter}
+    * instead of going through a {@link MatcherEvalContext}.
+    *
+    * @param metadataAdapter the metadata adapter of the expected instance type
+    * @param paths           the translated attribute paths
+    * @return the reader, or {@code null} if the paths cannot be read directly and filters must be interpreted
+    */
+   protected AttributeReader createAttributeReader(MetadataAdapter<TypeMetadata, AttributeMetadata, AttributeId> metadataAdapter, List<List<AttributeId>> paths) {
+      return null;
+   }
+
    protected final FilterRegistry<TypeMetadata, AttributeMetadata, AttributeId> getFilterRegistryForType(boolean isDeltaFilter, TypeMetadata entityType) {
       return isDeltaFilter ? deltaFiltersByType.get(entityType) : filtersByType.get(entityType);
    }
@@ -11,6 +11,7 @@
 import org.infinispan.objectfilter.ObjectFilter;
 import org.infinispan.objectfilter.SortField;
 import org.infinispan.objectfilter.impl.aggregation.FieldAccumulator;
+import org.infinispan.objectfilter.impl.compiled.CompiledFilter;
 import org.infinispan.objectfilter.impl.logging.Log;
 import org.infinispan.objectfilter.impl.predicateindex.AttributeNode;
 import org.infinispan.objectfilter.impl.predicateindex.FilterEvalContext;
@@ -55,6 +56,13 @@
 
    private final BooleanExpr normalizedQuery;
 
+   /**
+    * The filter compiled without the parameter values, or {@code null} if it must be interpreted.
+    */
+   private final CompiledFilter<AttributeId> unboundCompiledFilter;
+
+   private CompiledFilter<AttributeId> compiledFilter;
+
    private FilterSubscriptionImpl<TypeMetadata, AttributeMetadata, AttributeId> filterSubscription;
 
    private AttributeNode<AttributeMetadata, AttributeId> root;
@@ -112,6 +120,10 @@
       BooleanFilterNormalizer booleanFilterNormalizer = new BooleanFilterNormalizer();
       normalizedQuery = booleanFilterNormalizer.normalize(parsingResult.getWhereClause());
 
+      // accumulators are only supported by the interpreter
+      unboundCompiledFilter = acc == null ? CompiledFilter.compile(metadataAdapter, normalizedQuery, translatedProjections, translatedSortFields,
+            paths -> matcher.createAttributeReader(metadataAdapter, paths)) : null;
+
       if (getParameterNames().isEmpty()) {
          subscribe();
       }
@@ -129,6 +141,7 @@ private ObjectFilterImpl(ObjectFilterImpl<TypeMetadata, AttributeMetadata, Attri
       this.translatedProjections = other.translatedProjections;
       this.translatedSortFields = other.translatedSortFields;
       this.normalizedQuery = other.normalizedQuery;
+      this.unboundCompiledFilter = other.unboundCompiledFilter;
 
       subscribe();
    }
@@ -145,6 +158,10 @@ private void subscribe() {
       filterSubscription.registerProjection(predicateIndex);
       filterSubscription.subscribe(predicateIndex);
       filterSubscription.index = 0;
+
+      if (unboundCompiledFilter != null) {
+         compiledFilter = unboundCompiledFilter.bind(namedParameters);
+      }
    }
 
    @Override
@@ -199,6 +216,10 @@ public FilterResult filter(Object instance) {
          throw new IllegalArgumentException("instance cannot be null");
       }
 
+      if (compiledFilter != null) {
+         return filterCompiled(instance);
+      }
+
       MatcherEvalContext<TypeMetadata, AttributeMetadata, AttributeId> matcherEvalContext = matcher.startSingleTypeContext(null, null, instance, filterSubscription.getMetadataAdapter());
       if (matcherEvalContext != null) {
          FilterEvalContext filterEvalContext = matcherEvalContext.initSingleFilterContext(filterSubscription);
@@ -220,4 +241,23 @@ public FilterResult filter(Object instance) {
 
       return null;
    }
+
+   private FilterResult filterCompiled(Object instance) {
+      Object[] values = compiledFilter.read(instance);
+      if (values == null || !compiledFilter.test(values)) {
+         return null;
+      }
+      Object[] projection = null;
+      if (translatedProjections != null) {
+         projection = new Object[translatedProjections.size()];
+         compiledFilter.fillProjection(values, projection);
+      }
+      Comparable[] sortProjection = null;
+      if (sortFields != null) {
+         sortProjection = new Comparable[sortFields.length];
+         compiledFilter.fillSortProjection(values, sortProjection);
+      }
+      Object o = projection == null ? matcher.convert(instance) : null;
+      return new FilterResultImpl(o, projection, sortProjection);
+   }
 }
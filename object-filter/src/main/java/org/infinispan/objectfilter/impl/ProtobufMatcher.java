@@ -2,6 +2,8 @@
 
 import java.util.List;
 
+import org.infinispan.objectfilter.impl.compiled.AttributeReader;
+import org.infinispan.objectfilter.impl.compiled.ProtobufAttributeReader;
 import org.infinispan.objectfilter.impl.predicateindex.ProtobufMatcherEvalContext;
 import org.infinispan.objectfilter.impl.syntax.IndexedFieldProvider;
 import org.infinispan.objectfilter.impl.syntax.parser.ObjectPropertyHelper;
@@ -21,10 +23,22 @@ public final class ProtobufMatcher extends BaseMatcher<Descriptor, FieldDescript
 
    private final Descriptor wrappedMessageDescriptor;
 
+   private final boolean compileFilters;
+
    public ProtobufMatcher(SerializationContext serializationContext, IndexedFieldProvider<Descriptor> indexedFieldProvider) {
+      this(serializationContext, indexedFieldProvider, true);
+   }
+
+   /**
+    * @param compileFilters whether the {@link org.infinispan.objectfilter.ObjectFilter}s that only use non-repeated
+    *                       fields are compiled, reading the fields straight from the protobuf bytes, or interpreted
+    * @since 13.0
+    */
+   public ProtobufMatcher(SerializationContext serializationContext, IndexedFieldProvider<Descriptor> indexedFieldProvider, boolean compileFilters) {
       super(new ProtobufPropertyHelper(serializationContext, indexedFieldProvider));
       this.serializationContext = serializationContext;
       this.wrappedMessageDescriptor = serializationContext.getMessageDescriptor(WrappedMessage.PROTOBUF_TYPE_NAME);
+      this.compileFilters = compileFilters;
    }
 
    @Override
@@ -51,6 +65,11 @@ protected MetadataAdapter<Descriptor, FieldDescriptor, Integer> createMetadataAd
       return new MetadataAdapterImpl(messageDescriptor, propertyHelper);
    }
 
+   @Override
+   protected AttributeReader createAttributeReader(MetadataAdapter<Descriptor, FieldDescriptor, Integer> metadataAdapter, List<List<Integer>> paths) {
+      return compileFilters ? ProtobufAttributeReader.create(serializationContext, metadataAdapter.getTypeMetadata(), paths) : null;
+   }
+
    private static class MetadataAdapterImpl implements MetadataAdapter<Descriptor, FieldDescriptor, Integer> {
 
       private final Descriptor messageDescriptor;
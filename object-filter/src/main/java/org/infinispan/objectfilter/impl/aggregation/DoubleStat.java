@@ -9,7 +9,7 @@
  * @author anistor@redhat.com
  * @since 8.1
  */
-final class DoubleStat {
+public final class DoubleStat {
 
    private long count;
    private double sum;
@@ -20,7 +20,7 @@ void update(double value) {
       update(value, 1);
    }
 
-   void update(double value, long count) {
+   public void update(double value, long count) {
       this.count += count;
       simpleSum += value;
 
@@ -37,7 +37,7 @@ void update(double value, long count) {
     *
     * @return the sum of values
     */
-   Double getSum() {
+   public Double getSum() {
       if (count == 0) {
          return null;
       }
@@ -64,7 +64,7 @@ Double getAvg() {
       return count == 0 ? null : getSum() / count;
    }
 
-   long getCount() {
+   public long getCount() {
       return count;
    }
 }
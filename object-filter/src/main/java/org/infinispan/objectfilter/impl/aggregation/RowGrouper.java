@@ -1,9 +1,11 @@
 package org.infinispan.objectfilter.impl.aggregation;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 /**
  * Groups rows by their grouping fields and computes aggregates.
@@ -113,36 +115,58 @@ public void addRow(Object[] row) {
       if (row.length != inRowLength) {
          throw new IllegalArgumentException("Row length mismatch");
       }
-      if (noOfGroupingColumns > 0) {
-         // compute grouping and aggregations
-         GroupRowKey groupRowKey = new GroupRowKey(row);
-         Object[] existingGroup = groups.get(groupRowKey);
-         if (existingGroup == null) {
-            existingGroup = new Object[outRowLength];
-            System.arraycopy(row, 0, existingGroup, 0, noOfGroupingColumns);
-            if (accumulators != null) {
-               FieldAccumulator.init(existingGroup, accumulators);
-               for (FieldAccumulator acc : accumulators) {
-                  acc.init(existingGroup);
-               }
-            }
-            groups.put(groupRowKey, existingGroup);
+      Object[] group = getGroup(row);
+      if (accumulators != null) {
+         if (twoPhaseAcc) {
+            FieldAccumulator.merge(row, group, accumulators);
+         } else {
+            FieldAccumulator.update(row, group, accumulators);
          }
-         if (accumulators != null) {
-            if (twoPhaseAcc) {
-               FieldAccumulator.merge(row, existingGroup, accumulators);
-            } else {
-               FieldAccumulator.update(row, existingGroup, accumulators);
-            }
+      }
+   }
+
+   /**
+    * Merges a row returned by {@link #partialResults()} of another grouper that has the same grouping columns and
+    * accumulators. Unlike {@link #addRow}, the aggregated values are read from the output positions of the
+    * accumulators.
+    */
+   public void mergePartialRow(Object[] partialRow) {
+      if (partialRow.length != outRowLength) {
+         throw new IllegalArgumentException("Row length mismatch");
+      }
+      Object[] group = getGroup(partialRow);
+      if (accumulators != null) {
+         for (FieldAccumulator acc : accumulators) {
+            acc.merge(group, partialRow[acc.outPos]);
          }
-      } else {
+      }
+   }
+
+   private Object[] getGroup(Object[] row) {
+      if (noOfGroupingColumns == 0) {
          // we have global aggregations only
-         if (twoPhaseAcc) {
-            FieldAccumulator.merge(row, globalGroup, accumulators);
-         } else {
-            FieldAccumulator.update(row, globalGroup, accumulators);
+         return globalGroup;
+      }
+      // compute grouping and aggregations
+      GroupRowKey groupRowKey = new GroupRowKey(row);
+      Object[] existingGroup = groups.get(groupRowKey);
+      if (existingGroup == null) {
+         existingGroup = new Object[outRowLength];
+         System.arraycopy(row, 0, existingGroup, 0, noOfGroupingColumns);
+         if (accumulators != null) {
+            FieldAccumulator.init(existingGroup, accumulators);
          }
+         groups.put(groupRowKey, existingGroup);
       }
+      return existingGroup;
+   }
+
+   /**
+    * Returns the rows of the groups without finishing the accumulators, so they can be merged into another grouper
+    * with {@link #mergePartialRow}. The rows are not copied, so they change if more rows are added to this grouper.
+    */
+   public List<Object[]> partialResults() {
+      return groups != null ? new ArrayList<>(groups.values()) : Collections.singletonList(globalGroup);
    }
 
    public Iterator<Object[]> finish() {
@@ -0,0 +1,20 @@
+package org.infinispan.objectfilter.impl.compiled;
+
+/**
+ * Extracts the values of a fixed list of attribute paths from an instance.
+ *
+ * @since 13.0
+ */
+@FunctionalInterface
+public interface AttributeReader {
+
+   /**
+    * Reads the values of the attribute paths this reader was created for. A missing attribute gets its default value,
+    * or {@code null} if it has none.
+    *
+    * @param instance the instance; never {@code null}
+    * @param values   receives the value of each attribute path, in the order of the paths
+    * @return {@code true} if the instance is of the expected type, {@code false} otherwise
+    */
+   boolean read(Object instance, Object[] values);
+}
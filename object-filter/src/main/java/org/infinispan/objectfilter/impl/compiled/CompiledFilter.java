@@ -0,0 +1,283 @@
+package org.infinispan.objectfilter.impl.compiled;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.infinispan.objectfilter.impl.MetadataAdapter;
+import org.infinispan.objectfilter.impl.predicateindex.Condition;
+import org.infinispan.objectfilter.impl.predicateindex.EqualsCondition;
+import org.infinispan.objectfilter.impl.predicateindex.IntervalCondition;
+import org.infinispan.objectfilter.impl.predicateindex.LikeCondition;
+import org.infinispan.objectfilter.impl.syntax.AndExpr;
+import org.infinispan.objectfilter.impl.syntax.BooleanExpr;
+import org.infinispan.objectfilter.impl.syntax.BooleanOperatorExpr;
+import org.infinispan.objectfilter.impl.syntax.ComparisonExpr;
+import org.infinispan.objectfilter.impl.syntax.ConstantBooleanExpr;
+import org.infinispan.objectfilter.impl.syntax.ConstantValueExpr;
+import org.infinispan.objectfilter.impl.syntax.IsNullExpr;
+import org.infinispan.objectfilter.impl.syntax.LikeExpr;
+import org.infinispan.objectfilter.impl.syntax.NotExpr;
+import org.infinispan.objectfilter.impl.syntax.OrExpr;
+import org.infinispan.objectfilter.impl.syntax.PrimaryPredicateExpr;
+import org.infinispan.objectfilter.impl.syntax.PropertyValueExpr;
+import org.infinispan.objectfilter.impl.util.Interval;
+
+/**
+ * A filter compiled into a tree of {@link CompiledPredicate}s that is evaluated on the attribute values extracted by
+ * an {@link AttributeReader}, as an alternative to interpreting the {@link org.infinispan.objectfilter.impl.predicateindex.PredicateIndex}
+ * for every instance. AND and OR nodes stop at the first child that decides their value. The predicates use the same
+ * {@link Condition}s as the interpreter, so both give the same results.
+ * <p>
+ * A filter is first compiled without parameter values, which resolves the attribute paths and creates the reader, and
+ * then bound to the parameter values with {@link #bind}. Only non-repeated attributes are supported, filters on
+ * repeated attributes must be interpreted.
+ *
+ * @since 13.0
+ */
+public final class CompiledFilter<AttributeId extends Comparable<AttributeId>> {
+
+   private final BooleanExpr query;
+
+   /**
+    * The index in the value array of each attribute path.
+    */
+   private final Map<List<AttributeId>, Integer> slots;
+
+   private final MetadataAdapter<?, ?, AttributeId> metadataAdapter;
+
+   private final AttributeReader reader;
+
+   private final int[] projectionSlots;
+
+   private final int[] sortProjectionSlots;
+
+   /**
+    * The bound predicate, or {@code null} if the parameter values were not bound yet.
+    */
+   private final CompiledPredicate predicate;
+
+   private CompiledFilter(BooleanExpr query, Map<List<AttributeId>, Integer> slots, MetadataAdapter<?, ?, AttributeId> metadataAdapter,
+                          AttributeReader reader, int[] projectionSlots, int[] sortProjectionSlots, CompiledPredicate predicate) {
+      this.query = query;
+      this.slots = slots;
+      this.metadataAdapter = metadataAdapter;
+      this.reader = reader;
+      this.projectionSlots = projectionSlots;
+      this.sortProjectionSlots = sortProjectionSlots;
+      this.predicate = predicate;
+   }
+
+   /**
+    * Compiles a normalized filter.
+    *
+    * @param metadataAdapter the metadata adapter of the filtered type
+    * @param query           the normalized where clause, or {@code null} if there is none
+    * @param projections     the translated paths of the projections, or {@code null} if there are none
+    * @param sortFields      the translated paths of the sort fields, or {@code null} if there are none
+    * @param readerFactory   creates the reader for a list of attribute paths, or returns {@code null} if any of them
+    *                        cannot be read directly
+    * @return the compiled filter, or {@code null} if the filter cannot be compiled and must be interpreted
+    */
+   public static <AttributeId extends Comparable<AttributeId>> CompiledFilter<AttributeId> compile(MetadataAdapter<?, ?, AttributeId> metadataAdapter,
+                                                                                                   BooleanExpr query,
+                                                                                                   List<List<AttributeId>> projections,
+                                                                                                   List<List<AttributeId>> sortFields,
+                                                                                                   Function<List<List<AttributeId>>, AttributeReader> readerFactory) {
+      Map<List<AttributeId>, Integer> slots = new LinkedHashMap<>();
+      if (query != null && !collectPaths(metadataAdapter, query, slots)) {
+         return null;
+      }
+      int[] projectionSlots = allocateSlots(projections, slots);
+      int[] sortProjectionSlots = allocateSlots(sortFields, slots);
+      AttributeReader reader = readerFactory.apply(new ArrayList<>(slots.keySet()));
+      if (reader == null) {
+         return null;
+      }
+      return new CompiledFilter<>(query, slots, metadataAdapter, reader, projectionSlots, sortProjectionSlots, null);
+   }
+
+   private static <AttributeId extends Comparable<AttributeId>> boolean collectPaths(MetadataAdapter<?, ?, AttributeId> metadataAdapter, BooleanExpr expr,
+                                                                                     Map<List<AttributeId>, Integer> slots) {
+      if (expr instanceof ConstantBooleanExpr) {
+         return true;
+      }
+      if (expr instanceof AndExpr || expr instanceof OrExpr) {
+         for (BooleanExpr child : ((BooleanOperatorExpr) expr).getChildren()) {
+            if (!collectPaths(metadataAdapter, child, slots)) {
+               return false;
+            }
+         }
+         return true;
+      }
+      if (expr instanceof NotExpr) {
+         expr = ((NotExpr) expr).getChild();
+      }
+      if (!(expr instanceof ComparisonExpr || expr instanceof IsNullExpr || expr instanceof LikeExpr)) {
+         // full-text predicates and anything else the interpreter does not handle either
+         return false;
+      }
+      if (!(((PrimaryPredicateExpr) expr).getChild() instanceof PropertyValueExpr)) {
+         return false;
+      }
+      PropertyValueExpr pve = (PropertyValueExpr) ((PrimaryPredicateExpr) expr).getChild();
+      if (pve.isRepeated()) {
+         return false;
+      }
+      if (expr instanceof ComparisonExpr && !(((ComparisonExpr) expr).getRightChild() instanceof ConstantValueExpr)) {
+         return false;
+      }
+      List<AttributeId> path = metadataAdapter.mapPropertyNamePathToFieldIdPath(pve.getPropertyPath().asArrayPath());
+      slots.putIfAbsent(path, slots.size());
+      return true;
+   }
+
+   private static <AttributeId extends Comparable<AttributeId>> int[] allocateSlots(List<List<AttributeId>> paths, Map<List<AttributeId>, Integer> slots) {
+      if (paths == null) {
+         return null;
+      }
+      int[] pathSlots = new int[paths.size()];
+      for (int i = 0; i < pathSlots.length; i++) {
+         List<AttributeId> path = paths.get(i);
+         Integer slot = slots.get(path);
+         if (slot == null) {
+            slot = slots.size();
+            slots.put(path, slot);
+         }
+         pathSlots[i] = slot;
+      }
+      return pathSlots;
+   }
+
+   /**
+    * Creates the predicate tree for the given parameter values.
+    */
+   public CompiledFilter<AttributeId> bind(Map<String, Object> namedParameters) {
+      CompiledPredicate predicate = query == null ? CompiledPredicate.TRUE : makePredicate(query, namedParameters);
+      return new CompiledFilter<>(query, slots, metadataAdapter, reader, projectionSlots, sortProjectionSlots, predicate);
+   }
+
+   private CompiledPredicate makePredicate(BooleanExpr expr, Map<String, Object> namedParameters) {
+      if (expr instanceof ConstantBooleanExpr) {
+         return ((ConstantBooleanExpr) expr).getValue() ? CompiledPredicate.TRUE : CompiledPredicate.FALSE;
+      }
+      if (expr instanceof AndExpr) {
+         CompiledPredicate[] children = makeChildren((AndExpr) expr, namedParameters);
+         return values -> {
+            for (CompiledPredicate child : children) {
+               if (!child.test(values)) {
+                  return false;
+               }
+            }
+            return true;
+         };
+      }
+      if (expr instanceof OrExpr) {
+         CompiledPredicate[] children = makeChildren((OrExpr) expr, namedParameters);
+         return values -> {
+            for (CompiledPredicate child : children) {
+               if (child.test(values)) {
+                  return true;
+               }
+            }
+            return false;
+         };
+      }
+      if (expr instanceof NotExpr) {
+         return makeCondition((PrimaryPredicateExpr) ((NotExpr) expr).getChild(), true, namedParameters);
+      }
+      return makeCondition((PrimaryPredicateExpr) expr, false, namedParameters);
+   }
+
+   private CompiledPredicate[] makeChildren(BooleanOperatorExpr expr, Map<String, Object> namedParameters) {
+      List<BooleanExpr> children = expr.getChildren();
+      CompiledPredicate[] predicates = new CompiledPredicate[children.size()];
+      for (int i = 0; i < predicates.length; i++) {
+         predicates[i] = makePredicate(children.get(i), namedParameters);
+      }
+      return predicates;
+   }
+
+   private CompiledPredicate makeCondition(PrimaryPredicateExpr condition, boolean isNegated, Map<String, Object> namedParameters) {
+      PropertyValueExpr pve = (PropertyValueExpr) condition.getChild();
+      int slot = slots.get(metadataAdapter.mapPropertyNamePathToFieldIdPath(pve.getPropertyPath().asArrayPath()));
+
+      if (condition instanceof ComparisonExpr) {
+         ComparisonExpr expr = (ComparisonExpr) condition;
+         Comparable rightConstant = ((ConstantValueExpr) expr.getRightChild()).getConstantValueAs(pve.getPrimitiveType(), namedParameters);
+         switch (expr.getComparisonType()) {
+            case EQUAL:
+               return makeCondition(slot, new EqualsCondition<>(rightConstant), isNegated);
+            case NOT_EQUAL:
+               return makeCondition(slot, new EqualsCondition<>(rightConstant), !isNegated);
+            case LESS:
+               return makeInterval(slot, new Interval(Interval.getMinusInf(), false, rightConstant, false));
+            case LESS_OR_EQUAL:
+               return makeInterval(slot, new Interval(Interval.getMinusInf(), false, rightConstant, true));
+            case GREATER:
+               return makeInterval(slot, new Interval(rightConstant, false, Interval.getPlusInf(), false));
+            case GREATER_OR_EQUAL:
+               return makeInterval(slot, new Interval(rightConstant, true, Interval.getPlusInf(), false));
+            default:
+               throw new IllegalStateException("Unexpected comparison type: " + expr.getComparisonType());
+         }
+      } else if (condition instanceof IsNullExpr) {
+         return isNegated ? values -> values[slot] != null : values -> values[slot] == null;
+      } else if (condition instanceof LikeExpr) {
+         LikeExpr likeExpr = (LikeExpr) condition;
+         LikeCondition likeCondition = new LikeCondition(likeExpr.getPattern(namedParameters), likeExpr.getEscapeChar());
+         return isNegated ? values -> !likeCondition.match((String) values[slot]) : values -> likeCondition.match((String) values[slot]);
+      } else {
+         throw new IllegalStateException("Unexpected condition type (" + condition.getClass().getSimpleName() + "): " + condition);
+      }
+   }
+
+   private static CompiledPredicate makeCondition(int slot, Condition<Object> condition, boolean isNegated) {
+      return isNegated ? values -> !condition.match(values[slot]) : values -> condition.match(values[slot]);
+   }
+
+   private static CompiledPredicate makeInterval(int slot, Interval interval) {
+      IntervalCondition condition = new IntervalCondition<>(interval);
+      // the interpreter only checks interval predicates against comparable values
+      return values -> {
+         Object value = values[slot];
+         return value instanceof Comparable && condition.match((Comparable) value);
+      };
+   }
+
+   /**
+    * Extracts the attribute values of an instance.
+    *
+    * @return the values, or {@code null} if the instance is not of the filtered type
+    */
+   public Object[] read(Object instance) {
+      Object[] values = new Object[slots.size()];
+      return reader.read(instance, values) ? values : null;
+   }
+
+   /**
+    * Evaluates the bound predicate on the values returned by {@link #read}.
+    */
+   public boolean test(Object[] values) {
+      if (predicate == null) {
+         throw new IllegalStateException("Parameter values were not bound yet.");
+      }
+      return predicate.test(values);
+   }
+
+   public void fillProjection(Object[] values, Object[] projection) {
+      fill(values, projectionSlots, projection);
+   }
+
+   public void fillSortProjection(Object[] values, Comparable[] sortProjection) {
+      fill(values, sortProjectionSlots, sortProjection);
+   }
+
+   private static void fill(Object[] values, int[] slots, Object[] target) {
+      for (int i = 0; i < slots.length; i++) {
+         target[i] = values[slots[i]];
+      }
+   }
+}
@@ -0,0 +1,16 @@
+package org.infinispan.objectfilter.impl.compiled;
+
+/**
+ * A boolean condition evaluated on the attribute values extracted by an {@link AttributeReader}.
+ *
+ * @since 13.0
+ */
+@FunctionalInterface
+interface CompiledPredicate {
+
+   CompiledPredicate TRUE = values -> true;
+
+   CompiledPredicate FALSE = values -> false;
+
+   boolean test(Object[] values);
+}
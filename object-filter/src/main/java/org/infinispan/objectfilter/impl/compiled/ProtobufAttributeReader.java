@@ -0,0 +1,259 @@
+package org.infinispan.objectfilter.impl.compiled;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.objectfilter.impl.logging.Log;
+import org.infinispan.protostream.SerializationContext;
+import org.infinispan.protostream.TagReader;
+import org.infinispan.protostream.WrappedMessage;
+import org.infinispan.protostream.descriptors.Descriptor;
+import org.infinispan.protostream.descriptors.FieldDescriptor;
+import org.infinispan.protostream.descriptors.JavaType;
+import org.infinispan.protostream.descriptors.Type;
+import org.infinispan.protostream.descriptors.WireType;
+import org.infinispan.protostream.impl.TagReaderImpl;
+import org.jboss.logging.Logger;
+
+/**
+ * Reads the values of some non-repeated fields of a {@link WrappedMessage} straight from its bytes. Unlike the
+ * {@link org.infinispan.objectfilter.impl.predicateindex.ProtobufMatcherEvalContext}, fields that are not needed are
+ * skipped without being decoded. Missing fields get the same values as in the interpreter: their default value, or
+ * {@code null} if they have none or if they belong to a missing message.
+ *
+ * @since 13.0
+ */
+public final class ProtobufAttributeReader implements AttributeReader {
+
+   private static final Log log = Logger.getMessageLogger(Log.class, ProtobufAttributeReader.class.getName());
+
+   private final SerializationContext serializationContext;
+
+   private final Descriptor messageDescriptor;
+
+   private final MessageNode root;
+
+   private ProtobufAttributeReader(SerializationContext serializationContext, Descriptor messageDescriptor, MessageNode root) {
+      this.serializationContext = serializationContext;
+      this.messageDescriptor = messageDescriptor;
+      this.root = root;
+   }
+
+   /**
+    * @param paths the paths of field numbers to read
+    * @return the reader, or {@code null} if any path contains a repeated field or does not end with a scalar field
+    */
+   public static AttributeReader create(SerializationContext serializationContext, Descriptor messageDescriptor, List<List<Integer>> paths) {
+      MessageNode root = new MessageNode(messageDescriptor);
+      for (int slot = 0; slot < paths.size(); slot++) {
+         if (!root.addPath(paths.get(slot), 0, slot)) {
+            return null;
+         }
+      }
+      return new ProtobufAttributeReader(serializationContext, messageDescriptor, root);
+   }
+
+   @Override
+   public boolean read(Object instance, Object[] values) {
+      try {
+         TagReader in = TagReaderImpl.newInstance(serializationContext, (byte[]) instance);
+         String entityTypeName = null;
+         byte[] payload = null;
+         int tag;
+         while ((tag = in.readTag()) != 0) {
+            switch (WireType.getTagFieldNumber(tag)) {
+               case WrappedMessage.WRAPPED_DESCRIPTOR_FULL_NAME:
+                  entityTypeName = in.readString();
+                  break;
+               case WrappedMessage.WRAPPED_DESCRIPTOR_TYPE_ID:
+                  entityTypeName = serializationContext.getDescriptorByTypeId(in.readInt32()).getFullName();
+                  break;
+               case WrappedMessage.WRAPPED_MESSAGE:
+                  if (entityTypeName == null) {
+                     // the type comes after the message, so it must be parsed later
+                     payload = in.readByteArray();
+                     break;
+                  }
+                  if (!messageDescriptor.getFullName().equals(entityTypeName)) {
+                     return false;
+                  }
+                  int oldLimit = in.pushLimit(in.readUInt32());
+                  root.read(in, values);
+                  in.checkLastTagWas(0);
+                  in.popLimit(oldLimit);
+                  return true;
+               default:
+                  // primitive values cannot be queried
+                  if (!in.skipField(tag)) {
+                     return false;
+                  }
+            }
+         }
+         if (payload == null || !messageDescriptor.getFullName().equals(entityTypeName)) {
+            return false;
+         }
+         root.read(TagReaderImpl.newInstance(serializationContext, payload), values);
+         return true;
+      } catch (IOException e) {
+         throw log.errorParsingProtobuf(e);
+      }
+   }
+
+   /**
+    * The fields to read from a message.
+    */
+   private static final class MessageNode {
+
+      private final Descriptor descriptor;
+
+      private final List<FieldNode> fields = new ArrayList<>();
+
+      MessageNode(Descriptor descriptor) {
+         this.descriptor = descriptor;
+      }
+
+      boolean addPath(List<Integer> path, int depth, int slot) {
+         FieldDescriptor fd = descriptor.findFieldByNumber(path.get(depth));
+         if (fd == null || fd.isRepeated() || fd.getType() == Type.GROUP) {
+            return false;
+         }
+         boolean isLast = depth == path.size() - 1;
+         if (isLast == (fd.getJavaType() == JavaType.MESSAGE)) {
+            // a message can neither be read as a value nor contain the rest of the path
+            return false;
+         }
+         FieldNode field = getField(fd.getNumber());
+         if (field == null) {
+            field = isLast ? new FieldNode(fd, slot) : new FieldNode(fd, new MessageNode(fd.getMessageType()));
+            fields.add(field);
+         } else if (isLast) {
+            // the same path can only be added once
+            return false;
+         }
+         return isLast || field.message.addPath(path, depth + 1, slot);
+      }
+
+      private FieldNode getField(int fieldNumber) {
+         for (int i = 0; i < fields.size(); i++) {
+            FieldNode field = fields.get(i);
+            if (field.fd.getNumber() == fieldNumber) {
+               return field;
+            }
+         }
+         return null;
+      }
+
+      void read(TagReader in, Object[] values) throws IOException {
+         setDefaults(values);
+         int tag;
+         while ((tag = in.readTag()) != 0) {
+            FieldNode field = getField(WireType.getTagFieldNumber(tag));
+            if (field == null) {
+               if (!in.skipField(tag)) {
+                  break;
+               }
+            } else if (field.message != null) {
+               int oldLimit = in.pushLimit(in.readUInt32());
+               field.message.read(in, values);
+               in.checkLastTagWas(0);
+               in.popLimit(oldLimit);
+            } else {
+               values[field.slot] = field.readValue(in);
+            }
+         }
+      }
+
+      private void setDefaults(Object[] values) {
+         for (int i = 0; i < fields.size(); i++) {
+            FieldNode field = fields.get(i);
+            if (field.message != null) {
+               field.message.setNull(values);
+            } else {
+               values[field.slot] = field.defaultValue;
+            }
+         }
+      }
+
+      private void setNull(Object[] values) {
+         for (int i = 0; i < fields.size(); i++) {
+            FieldNode field = fields.get(i);
+            if (field.message != null) {
+               field.message.setNull(values);
+            } else {
+               values[field.slot] = null;
+            }
+         }
+      }
+   }
+
+   /**
+    * A scalar field to read into a slot, or a message field with nested fields to read.
+    */
+   private static final class FieldNode {
+
+      final FieldDescriptor fd;
+
+      final int slot;
+
+      final Object defaultValue;
+
+      final MessageNode message;
+
+      FieldNode(FieldDescriptor fd, int slot) {
+         this.fd = fd;
+         this.slot = slot;
+         this.defaultValue = fd.hasDefaultValue() ? fd.getDefaultValue() : null;
+         this.message = null;
+      }
+
+      FieldNode(FieldDescriptor fd, MessageNode message) {
+         this.fd = fd;
+         this.slot = -1;
+         this.defaultValue = null;
+         this.message = message;
+      }
+
+      /**
+       * Decodes the value to the same type as {@link org.infinispan.protostream.ProtobufParser}.
+       */
+      Object readValue(TagReader in) throws IOException {
+         switch (fd.getType()) {
+            case DOUBLE:
+               return in.readDouble();
+            case FLOAT:
+               return in.readFloat();
+            case INT64:
+               return in.readInt64();
+            case UINT64:
+               return in.readUInt64();
+            case FIXED64:
+               return in.readFixed64();
+            case SFIXED64:
+               return in.readSFixed64();
+            case SINT64:
+               return in.readSInt64();
+            case INT32:
+               return in.readInt32();
+            case UINT32:
+               return in.readUInt32();
+            case FIXED32:
+               return in.readFixed32();
+            case SFIXED32:
+               return in.readSFixed32();
+            case SINT32:
+               return in.readSInt32();
+            case BOOL:
+               return in.readBool();
+            case STRING:
+               return in.readString();
+            case BYTES:
+               return in.readByteArray();
+            case ENUM:
+               return in.readEnum();
+            default:
+               throw new IllegalStateException("Unexpected field type : " + fd.getType());
+         }
+      }
+   }
+}
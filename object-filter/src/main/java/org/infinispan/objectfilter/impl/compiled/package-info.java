@@ -0,0 +1,8 @@
+/**
+ * Filters compiled into a tree of predicates that is evaluated directly on the attribute values of an instance.
+ *
+ * @since 13.0
+ *
+ * @private
+ */
+package org.infinispan.objectfilter.impl.compiled;
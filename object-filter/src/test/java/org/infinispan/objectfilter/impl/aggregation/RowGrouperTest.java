@@ -0,0 +1,84 @@
+package org.infinispan.objectfilter.impl.aggregation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.infinispan.objectfilter.impl.ql.AggregationFunction;
+import org.junit.Test;
+
+/**
+ * @since 13.0
+ */
+public class RowGrouperTest {
+
+   private static final Object[][] ROWS = {
+         {"a", 1, 1.5d},
+         {"b", 2, 2.5d},
+         {"a", 3, null},
+         {"c", null, 4.0d},
+         {"b", 5, 0.5d},
+         {"a", 7, 3.0d}
+   };
+
+   private static FieldAccumulator[] makeAccumulators() {
+      return new FieldAccumulator[]{
+            FieldAccumulator.makeAccumulator(AggregationFunction.COUNT, 1, 1, Integer.class),
+            FieldAccumulator.makeAccumulator(AggregationFunction.SUM, 1, 2, Integer.class),
+            FieldAccumulator.makeAccumulator(AggregationFunction.AVG, 2, 3, Double.class),
+            FieldAccumulator.makeAccumulator(AggregationFunction.SUM, 2, 4, Double.class),
+            FieldAccumulator.makeAccumulator(AggregationFunction.MAX, 1, 5, Integer.class)
+      };
+   }
+
+   @Test
+   public void testMergePartialRows() {
+      RowGrouper expected = new RowGrouper(1, makeAccumulators(), false);
+      RowGrouper first = new RowGrouper(1, makeAccumulators(), false);
+      RowGrouper second = new RowGrouper(1, makeAccumulators(), false);
+      for (int i = 0; i < ROWS.length; i++) {
+         expected.addRow(ROWS[i]);
+         (i % 2 == 0 ? first : second).addRow(ROWS[i]);
+      }
+
+      RowGrouper merged = new RowGrouper(1, makeAccumulators(), false);
+      first.partialResults().forEach(merged::mergePartialRow);
+      second.partialResults().forEach(merged::mergePartialRow);
+
+      assertSameGroups(expected.finish(), merged.finish());
+   }
+
+   @Test
+   public void testMergeGlobalPartialRows() {
+      FieldAccumulator[] accumulators = {
+            FieldAccumulator.makeAccumulator(AggregationFunction.COUNT, 0, 0, Integer.class),
+            FieldAccumulator.makeAccumulator(AggregationFunction.AVG, 1, 1, Double.class)
+      };
+      RowGrouper partial = new RowGrouper(0, accumulators, false);
+      partial.addRow(new Object[]{1, 2.0d});
+      partial.addRow(new Object[]{null, 4.0d});
+
+      RowGrouper merged = new RowGrouper(0, accumulators, false);
+      partial.partialResults().forEach(merged::mergePartialRow);
+      new RowGrouper(0, accumulators, false).partialResults().forEach(merged::mergePartialRow);
+
+      Iterator<Object[]> result = merged.finish();
+      assertArrayEquals(new Object[]{1L, 3.0d}, result.next());
+      assertFalse(result.hasNext());
+   }
+
+   private void assertSameGroups(Iterator<Object[]> expected, Iterator<Object[]> actual) {
+      List<Object[]> expectedRows = new ArrayList<>();
+      expected.forEachRemaining(expectedRows::add);
+      List<Object[]> actualRows = new ArrayList<>();
+      actual.forEachRemaining(actualRows::add);
+      assertEquals(expectedRows.size(), actualRows.size());
+      for (int i = 0; i < expectedRows.size(); i++) {
+         assertArrayEquals(expectedRows.get(i), actualRows.get(i));
+      }
+   }
+}
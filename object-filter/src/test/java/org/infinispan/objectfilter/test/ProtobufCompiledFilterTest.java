@@ -0,0 +1,135 @@
+package org.infinispan.objectfilter.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.ProtobufMatcher;
+import org.infinispan.objectfilter.test.model.Address;
+import org.infinispan.objectfilter.test.model.MarshallerRegistration;
+import org.infinispan.objectfilter.test.model.Person;
+import org.infinispan.objectfilter.test.model.PhoneNumber;
+import org.infinispan.protostream.ProtobufUtil;
+import org.infinispan.protostream.SerializationContext;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that compiled filters give the same results as the interpreted ones.
+ *
+ * @since 13.0
+ */
+public class ProtobufCompiledFilterTest {
+
+   private static final String PERSON = "org.infinispan.objectfilter.test.model.Person";
+
+   private static final List<String> QUERIES = Arrays.asList(
+         "from " + PERSON,
+         "from " + PERSON + " p where p.name = 'John'",
+         "from " + PERSON + " p where p.name != 'John'",
+         "from " + PERSON + " p where p.age > 30 and p.surname = 'Batman'",
+         "from " + PERSON + " p where p.age <= 27 or p.name like 'J%'",
+         "from " + PERSON + " p where p.age between 20 and 30",
+         "from " + PERSON + " p where p.name not like '%oh%'",
+         "from " + PERSON + " p where p.license is null",
+         "from " + PERSON + " p where p.address.postCode is not null",
+         "from " + PERSON + " p where p.address.postCode = 'SW12345' or p.gender = 'FEMALE'",
+         "from " + PERSON + " p where not (p.id = 1 and p.deleted = false)",
+         "from " + PERSON + " p where p.lastUpdate is null and p.id in (1, 3)",
+         "select p.name, p.address.street from " + PERSON + " p where p.age < 50",
+         "select p.surname from " + PERSON + " p order by p.age desc, p.name",
+         "from " + PERSON + " p where p.phoneNumbers.number = '004012345'",
+         "select p.name from " + PERSON + " p where p.favouriteNumbers is null");
+
+   private SerializationContext serCtx;
+
+   private List<byte[]> persons;
+
+   @Before
+   public void setUp() throws Exception {
+      serCtx = ProtobufUtil.newSerializationContext();
+      MarshallerRegistration.registerMarshallers(serCtx);
+
+      Person person1 = new Person();
+      person1.setId(1);
+      person1.setName("John");
+      person1.setSurname("Batman");
+      person1.setAge(40);
+      person1.setGender(Person.Gender.MALE);
+      Address address = new Address();
+      address.setStreet("Old Street");
+      address.setPostCode("SW12345");
+      person1.setAddress(address);
+      PhoneNumber phoneNumber = new PhoneNumber();
+      phoneNumber.setNumber("004012345");
+      person1.setPhoneNumbers(Collections.singletonList(phoneNumber));
+
+      Person person2 = new Person();
+      person2.setId(2);
+      person2.setName("Cat");
+      person2.setSurname("Woman");
+      person2.setAge(27);
+      person2.setGender(Person.Gender.FEMALE);
+      person2.setLicense("B");
+
+      Person person3 = new Person();
+      person3.setId(3);
+      person3.setName("Joker");
+      person3.setSurname("Unknown");
+
+      persons = Arrays.asList(ProtobufUtil.toWrappedByteArray(serCtx, person1),
+            ProtobufUtil.toWrappedByteArray(serCtx, person2),
+            ProtobufUtil.toWrappedByteArray(serCtx, person3));
+   }
+
+   @Test
+   public void testCompiledFilterMatchesInterpreter() {
+      ProtobufMatcher compiledMatcher = new ProtobufMatcher(serCtx, null, true);
+      ProtobufMatcher interpretedMatcher = new ProtobufMatcher(serCtx, null, false);
+      for (String query : QUERIES) {
+         assertSameResults(query, compiledMatcher.getObjectFilter(query), interpretedMatcher.getObjectFilter(query));
+      }
+   }
+
+   @Test
+   public void testCompiledFilterWithParameters() {
+      String query = "select p.name from " + PERSON + " p where p.age >= :minAge and p.name like :pattern";
+      ObjectFilter objectFilter = new ProtobufMatcher(serCtx, null, true).getObjectFilter(query);
+      ObjectFilter interpretedFilter = new ProtobufMatcher(serCtx, null, false).getObjectFilter(query);
+
+      Map<String, Object> parameters = new HashMap<>();
+      parameters.put("minAge", 30);
+      parameters.put("pattern", "J%");
+      assertSameResults(query, objectFilter.withParameters(parameters), interpretedFilter.withParameters(parameters));
+
+      ObjectFilter.FilterResult result = objectFilter.withParameters(parameters).filter(persons.get(0));
+      assertNotNull(result);
+      assertArrayEquals(new Object[]{"John"}, result.getProjection());
+
+      parameters.put("minAge", 50);
+      assertNull(objectFilter.withParameters(parameters).filter(persons.get(0)));
+   }
+
+   private void assertSameResults(String query, ObjectFilter compiledFilter, ObjectFilter interpretedFilter) {
+      for (byte[] person : persons) {
+         ObjectFilter.FilterResult expected = interpretedFilter.filter(person);
+         ObjectFilter.FilterResult actual = compiledFilter.filter(person);
+         if (expected == null) {
+            assertNull(query, actual);
+         } else {
+            assertNotNull(query, actual);
+            assertEquals(query, expected.getInstance(), actual.getInstance());
+            assertArrayEquals(query, expected.getProjection(), actual.getProjection());
+            assertArrayEquals(query, expected.getSortProjection(), actual.getSortProjection());
+         }
+      }
+   }
+}
@@ -0,0 +1,117 @@
+package org.infinispan.objectfilter.test.perf;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.ProtobufMatcher;
+import org.infinispan.objectfilter.test.model.Address;
+import org.infinispan.objectfilter.test.model.MarshallerRegistration;
+import org.infinispan.objectfilter.test.model.Person;
+import org.infinispan.objectfilter.test.model.PhoneNumber;
+import org.infinispan.protostream.ProtobufUtil;
+import org.infinispan.protostream.SerializationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the compiled and the interpreted evaluation of {@link ObjectFilter}s on protobuf entries.
+ *
+ * @since 13.0
+ */
+public class ProtobufFilterBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(ProtobufFilterBenchmark.class.getName() + ".State.*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(1)
+            .forks(3)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+
+      @Param({"true", "false"})
+      private boolean compiled;
+
+      private byte[] person;
+
+      private ObjectFilter simpleFilter;
+
+      private ObjectFilter complexFilter;
+
+      private ObjectFilter projectionFilter;
+
+      private ObjectFilter rejectingFilter;
+
+      @Setup
+      public void setup() throws Exception {
+         SerializationContext serCtx = ProtobufUtil.newSerializationContext();
+         MarshallerRegistration.registerMarshallers(serCtx);
+         ProtobufMatcher matcher = new ProtobufMatcher(serCtx, null, compiled);
+
+         simpleFilter = matcher.getObjectFilter("from org.infinispan.objectfilter.test.model.Person p where p.name is not null");
+         complexFilter = matcher.getObjectFilter("from org.infinispan.objectfilter.test.model.Person p where p.surname = 'Batman' and p.age > 30 and p.name > 'A' and p.address.postCode = 'SW12345'");
+         projectionFilter = matcher.getObjectFilter("select p.name, p.age from org.infinispan.objectfilter.test.model.Person p where p.gender = 'MALE' order by p.surname");
+         rejectingFilter = matcher.getObjectFilter("from org.infinispan.objectfilter.test.model.Person p where p.age < 18 and p.name like '%oh%'");
+
+         Person person = new Person();
+         person.setId(1);
+         person.setName("John");
+         person.setSurname("Batman");
+         person.setAge(40);
+         person.setGender(Person.Gender.MALE);
+         person.setLicense("AB1234");
+
+         Address address = new Address();
+         address.setStreet("Old Street");
+         address.setPostCode("SW12345");
+         person.setAddress(address);
+
+         PhoneNumber phoneNumber1 = new PhoneNumber();
+         phoneNumber1.setNumber("0040888888");
+         PhoneNumber phoneNumber2 = new PhoneNumber();
+         phoneNumber2.setNumber("004012345");
+         person.setPhoneNumbers(Arrays.asList(phoneNumber1, phoneNumber2));
+
+         this.person = ProtobufUtil.toWrappedByteArray(serCtx, person);
+      }
+
+      @Benchmark
+      public ObjectFilter.FilterResult simpleFilter() {
+         return simpleFilter.filter(person);
+      }
+
+      @Benchmark
+      public ObjectFilter.FilterResult complexFilter() {
+         return complexFilter.filter(person);
+      }
+
+      @Benchmark
+      public ObjectFilter.FilterResult projectionFilter() {
+         return projectionFilter.filter(person);
+      }
+
+      @Benchmark
+      public ObjectFilter.FilterResult rejectingFilter() {
+         return rejectingFilter.filter(person);
+      }
+   }
+}
@@ -35,6 +35,10 @@ public abstract class AbstractTableManager implements TableManager {
    private static final String DEFAULT_IDENTIFIER_QUOTE_STRING = "\"";
    private static final String META_TABLE_SUFFIX = "_META";
    private static final String META_TABLE_DATA_COLUMN = "data";
+   // Drivers such as the PostgreSQL one send the number of bind parameters of a statement as a 16 bit integer
+   private static final int MAX_BIND_PARAMETERS = Short.MAX_VALUE;
+   // Oracle rejects IN lists with more than 1000 expressions
+   private static final int MAX_IN_LIST_SIZE = 1000;
 
    private final Log log;
    protected final InitializationContext ctx;
@@ -310,6 +314,11 @@ public boolean isUpsertSupported() {
       return !dbMetadata.isUpsertDisabled();
    }
 
+   @Override
+   public boolean isMultiRowUpsertSupported() {
+      return false;
+   }
+
    public String getIdentifierQuoteString() {
       return identifierQuoteString;
    }
@@ -347,6 +356,30 @@ public String getInsertRowSql() {
       return insertRowSql;
    }
 
+   protected String getInsertRowsSql(int numRows) {
+      if (dbMetadata.isSegmentedDisabled()) {
+         return String.format("INSERT INTO %s (%s,%s,%s) VALUES %s", dataTableName,
+               config.dataColumnName(), config.timestampColumnName(), config.idColumnName(), getRowValuesSql(numRows));
+      } else {
+         return String.format("INSERT INTO %s (%s,%s,%s,%s) VALUES %s", dataTableName,
+               config.dataColumnName(), config.timestampColumnName(), config.idColumnName(), config.segmentColumnName(),
+               getRowValuesSql(numRows));
+      }
+   }
+
+   /**
+    * Returns the parameter placeholders of a multi-row insert, e.g. {@code (?,?,?),(?,?,?)} for two rows.
+    */
+   protected String getRowValuesSql(int numRows) {
+      String row = dbMetadata.isSegmentedDisabled() ? "(?,?,?)" : "(?,?,?,?)";
+      StringBuilder stringBuilder = new StringBuilder(numRows * (row.length() + 1));
+      stringBuilder.append(row);
+      for (int i = 1; i < numRows; ++i) {
+         stringBuilder.append(',').append(row);
+      }
+      return stringBuilder.toString();
+   }
+
    protected String initUpdateRowSql() {
       return String.format("UPDATE %s SET %s = ? , %s = ? WHERE %s = ?", dataTableName,
             config.dataColumnName(), config.timestampColumnName(), config.idColumnName());
@@ -367,6 +400,38 @@ public String getSelectRowSql() {
       return selectRowSql;
    }
 
+   /**
+    * @return the parameter marker of an id in a where clause, with the conversion to the id column type if required
+    */
+   protected String idParameter() {
+      return "?";
+   }
+
+   @Override
+   public String getSelectRowsSql(int numRows) {
+      StringBuilder stringBuilder = new StringBuilder("SELECT ");
+      stringBuilder.append(config.idColumnName());
+      stringBuilder.append(", ");
+      stringBuilder.append(config.dataColumnName());
+      stringBuilder.append(" FROM ");
+      stringBuilder.append(dataTableName);
+      stringBuilder.append(" WHERE ");
+      stringBuilder.append(config.idColumnName());
+      stringBuilder.append(" IN (");
+      stringBuilder.append(idParameter());
+      for (int i = 1; i < numRows; ++i) {
+         stringBuilder.append(",");
+         stringBuilder.append(idParameter());
+      }
+      stringBuilder.append(")");
+      return stringBuilder.toString();
+   }
+
+   @Override
+   public int getMaxSelectRows() {
+      return MAX_IN_LIST_SIZE;
+   }
+
    protected String initSelectIdRowSql() {
       return String.format("SELECT %s FROM %s WHERE %s = ?", config.idColumnName(), dataTableName, config.idColumnName());
    }
@@ -526,6 +591,16 @@ public String getUpsertRowSql() {
       return upsertRowSql;
    }
 
+   @Override
+   public String getUpsertRowsSql(int numRows) {
+      throw log.multiRowUpsertNotSupported(dbMetadata.getType());
+   }
+
+   @Override
+   public int getMaxUpsertRows() {
+      return MAX_BIND_PARAMETERS / (dbMetadata.isSegmentedDisabled() ? 3 : 4);
+   }
+
    @Override
    public boolean isStringEncodingRequired() {
       return false;
@@ -538,11 +613,18 @@ public String encodeString(String string) {
 
    @Override
    public void prepareUpsertStatement(PreparedStatement ps, String key, long timestamp, int segment, ByteBuffer byteBuffer) throws SQLException {
-      ps.setBinaryStream(1, new ByteArrayInputStream(byteBuffer.getBuf(), byteBuffer.getOffset(), byteBuffer.getLength()), byteBuffer.getLength());
-      ps.setLong(2, timestamp);
-      ps.setString(3, key);
-      if (!dbMetadata.isSegmentedDisabled()) {
-         ps.setInt(4, segment);
+      prepareUpsertStatement(ps, 0, key, timestamp, segment, byteBuffer);
+   }
+
+   @Override
+   public void prepareUpsertStatement(PreparedStatement ps, int row, String key, long timestamp, int segment, ByteBuffer byteBuffer) throws SQLException {
+      boolean segmented = !dbMetadata.isSegmentedDisabled();
+      int offset = row * (segmented ? 4 : 3);
+      ps.setBinaryStream(offset + 1, new ByteArrayInputStream(byteBuffer.getBuf(), byteBuffer.getOffset(), byteBuffer.getLength()), byteBuffer.getLength());
+      ps.setLong(offset + 2, timestamp);
+      ps.setString(offset + 3, key);
+      if (segmented) {
+         ps.setInt(offset + 4, segment);
       }
    }
 
@@ -31,6 +31,23 @@ protected String initUpsertRowSql() {
       }
    }
 
+   @Override
+   public boolean isMultiRowUpsertSupported() {
+      return isUpsertSupported();
+   }
+
+   @Override
+   public String getUpsertRowsSql(int numRows) {
+      if (dbMetadata.isSegmentedDisabled()) {
+         return String.format("MERGE INTO %1$s (%2$s, %3$s, %4$s) KEY(%4$s) VALUES %5$s", dataTableName,
+               config.dataColumnName(), config.timestampColumnName(), config.idColumnName(), getRowValuesSql(numRows));
+      } else {
+         return String.format("MERGE INTO %1$s (%2$s, %3$s, %4$s, %5$s) KEY(%4$s) VALUES %6$s", dataTableName,
+               config.dataColumnName(), config.timestampColumnName(), config.idColumnName(), config.segmentColumnName(),
+               getRowValuesSql(numRows));
+      }
+   }
+
    @Override
    protected void dropIndex(Connection conn, String indexName) throws PersistenceException {
       String dropIndexDdl = String.format("DROP INDEX IF EXISTS  %s", getIndexName(true, indexName));
@@ -23,12 +23,26 @@ public int getFetchSize() {
 
    @Override
    public String initUpsertRowSql() {
+      return initUpsertSql(getInsertRowSql());
+   }
+
+   @Override
+   public boolean isMultiRowUpsertSupported() {
+      return isUpsertSupported();
+   }
+
+   @Override
+   public String getUpsertRowsSql(int numRows) {
+      return initUpsertSql(getInsertRowsSql(numRows));
+   }
+
+   private String initUpsertSql(String insertSql) {
          // Assumes that config.idColumnName is the primary key
       if (dbMetadata.isSegmentedDisabled()) {
-         return String.format("%1$s ON DUPLICATE KEY UPDATE %2$s = VALUES(%2$s), %3$s = VALUES(%3$s)", getInsertRowSql(),
+         return String.format("%1$s ON DUPLICATE KEY UPDATE %2$s = VALUES(%2$s), %3$s = VALUES(%3$s)", insertSql,
                config.dataColumnName(), config.timestampColumnName());
       } else {
-         return String.format("%1$s ON DUPLICATE KEY UPDATE %2$s = VALUES(%2$s), %3$s = VALUES(%3$s), %4$s = VALUES(%4$s)", getInsertRowSql(),
+         return String.format("%1$s ON DUPLICATE KEY UPDATE %2$s = VALUES(%2$s), %3$s = VALUES(%3$s), %4$s = VALUES(%4$s)", insertSql,
                config.dataColumnName(), config.timestampColumnName(), config.segmentColumnName());
       }
    }
@@ -33,6 +33,11 @@ public String initUpdateRowSql() {
             config.idColumnName(), config.idColumnType());
    }
 
+   @Override
+   protected String idParameter() {
+      return String.format("cast(? as %s)", config.idColumnType());
+   }
+
    @Override
    public String initSelectRowSql() {
       return String.format("SELECT %s, %s FROM %s WHERE %s = cast(? as %s)",
@@ -62,8 +67,22 @@ public boolean isUpsertSupported() {
 
    @Override
    public String initUpsertRowSql() {
+      return initUpsertSql(getInsertRowSql());
+   }
+
+   @Override
+   public boolean isMultiRowUpsertSupported() {
+      return isUpsertSupported();
+   }
+
+   @Override
+   public String getUpsertRowsSql(int numRows) {
+      return initUpsertSql(getInsertRowsSql(numRows));
+   }
+
+   private String initUpsertSql(String insertSql) {
       return String.format("%1$s ON CONFLICT (%2$s) DO UPDATE SET %3$s = EXCLUDED.%3$s, %4$s = EXCLUDED.%4$s",
-               getInsertRowSql(), config.idColumnName(), config.dataColumnName(),
+               insertSql, config.idColumnName(), config.dataColumnName(),
                config.timestampColumnName());
    }
 }
@@ -35,6 +35,11 @@ protected String initUpdateRowSql() {
             config.idColumnName(), config.idColumnType());
    }
 
+   @Override
+   protected String idParameter() {
+      return String.format("convert(%s,?)", config.idColumnType());
+   }
+
    @Override
    protected String initSelectRowSql() {
       return String.format("SELECT %s, %s FROM %s WHERE %s = convert(%s,?)",
@@ -47,6 +47,11 @@ default void dropTables(Connection conn) throws PersistenceException {
 
    boolean isUpsertSupported();
 
+   /**
+    * @return true if {@link #getUpsertRowsSql(int)} can be used to upsert multiple rows with a single statement
+    */
+   boolean isMultiRowUpsertSupported();
+
    TableName getDataTableName();
 
    TableName getMetaTableName();
@@ -59,8 +64,35 @@ default void dropTables(Connection conn) throws PersistenceException {
 
    String getUpsertRowSql();
 
+   /**
+    * Returns the sql to upsert the given number of rows with a single statement. The rows must all have a different
+    * id. Only supported when {@link #isMultiRowUpsertSupported()} returns true.
+    *
+    * @param numRows the number of rows to upsert
+    */
+   String getUpsertRowsSql(int numRows);
+
+   /**
+    * @return the maximum number of rows that a statement created from {@link #getUpsertRowsSql(int)} can upsert, as
+    * every row binds a parameter per column and the number of parameters of a statement is limited
+    */
+   int getMaxUpsertRows();
+
    String getSelectRowSql();
 
+   /**
+    * Returns the sql to select the id and data columns of the rows with the given number of ids, with a single
+    * {@code IN} list.
+    *
+    * @param numRows the number of ids to select
+    */
+   String getSelectRowsSql(int numRows);
+
+   /**
+    * @return the maximum number of ids of a statement created from {@link #getSelectRowsSql(int)}
+    */
+   int getMaxSelectRows();
+
    String getSelectIdRowSql();
 
    String getCountNonExpiredRowsSql();
@@ -87,6 +119,13 @@ default void dropTables(Connection conn) throws PersistenceException {
 
    void prepareUpsertStatement(PreparedStatement ps, String key, long timestamp, int segment, ByteBuffer byteBuffer) throws SQLException;
 
+   /**
+    * Sets the parameters of the given row of a statement created from {@link #getUpsertRowsSql(int)}.
+    *
+    * @param row the index of the row, starting at 0
+    */
+   void prepareUpsertStatement(PreparedStatement ps, int row, String key, long timestamp, int segment, ByteBuffer byteBuffer) throws SQLException;
+
    void prepareUpdateStatement(PreparedStatement ps, String key, long timestamp, int segment, ByteBuffer byteBuffer) throws SQLException;
 
    interface Metadata {
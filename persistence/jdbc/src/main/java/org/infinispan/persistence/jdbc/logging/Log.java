@@ -10,6 +10,7 @@
 import javax.naming.NamingException;
 
 import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.persistence.jdbc.DatabaseType;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
@@ -185,4 +186,10 @@ public interface Log extends BasicLogger {
    @LogMessage(level = ERROR)
    @Message(value = "Error retrieving JDBC metadata", id = 8041)
    void sqlFailureMetaRetrieval(@Cause SQLException e);
+
+   @Message(value = "Upserting multiple rows with a single statement is not supported by the %s dialect", id = 8042)
+   UnsupportedOperationException multiRowUpsertNotSupported(DatabaseType dialect);
+
+   @Message(value = "Error while reading %d entries in batch from the database", id = 8043)
+   PersistenceException sqlFailureReadingBatch(int numKeys, @Cause Throwable e);
 }
@@ -10,15 +10,24 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.PrimitiveIterator;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.transaction.Transaction;
 
@@ -49,18 +58,18 @@
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.persistence.spi.MarshalledValue;
+import org.infinispan.persistence.spi.NonBlockingStore;
 import org.infinispan.persistence.spi.PersistenceException;
-import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
-import org.infinispan.persistence.spi.TransactionalCacheWriter;
-import org.infinispan.persistence.support.BatchModification;
 import org.infinispan.util.KeyValuePair;
+import org.infinispan.util.concurrent.BlockingManager;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
 
 import io.reactivex.rxjava3.core.Flowable;
 
 /**
- * {@link org.infinispan.persistence.spi.AdvancedCacheLoader} implementation that stores the entries in a database.
+ * {@link NonBlockingStore} implementation that stores the entries in a database.
  * This cache store will store each entry within a row in the table. This assures a finer grained granularity for all
  * operation, and better performance. In order to be able to store non-string keys, it relies on an {@link
  * org.infinispan.persistence.keymappers.Key2StringMapper}.
@@ -81,6 +90,20 @@
  * <b>Rehashing</b>. When a node leaves/joins, Infinispan moves around persistent state as part of rehashing process.
  * For this it needs access to the underlaying key objects, so if distribution is used, the mapper needs to be an
  * {@link org.infinispan.persistence.keymappers.TwoWayKey2StringMapper} otherwise the cache won't start (same constraint as with preloading).
+ * <p/>
+ * <b>Concurrency</b>. The JDBC calls are blocking, so every operation runs on the blocking executor. If
+ * {@link org.infinispan.configuration.cache.StoreConfiguration#maxConcurrentOperations()} is set, at most that many
+ * operations of the store use a connection at the same time and the others wait for a free slot without holding a
+ * blocking thread. If {@link org.infinispan.configuration.cache.StoreConfiguration#virtualThreads()} is enabled, the
+ * operations run on virtual threads instead of the blocking executor. The entry publishers are not limited, as they run
+ * on the subscribing thread. Loads of a key that arrive while a load of the same key is running share the result of the
+ * running query.
+ * <p/>
+ * Loads of different keys that wait for a blocking thread are read with a single {@code WHERE id IN (...)} query once
+ * a thread is available, and so are the single-key writes with a multi-row upsert if the dialect supports it. A batch
+ * never holds more than {@link JdbcStringBasedStoreConfiguration#maxBatchSize()} operations. As another thread is
+ * requested as soon as a batch starts, coalescing never delays an operation: it only merges the operations that would
+ * have waited for a thread anyway, such as when {@code maxConcurrentOperations} are already running.
  *
  * @author Mircea.Markus@jboss.com
  * @see org.infinispan.persistence.keymappers.Key2StringMapper
@@ -88,11 +111,14 @@
  */
 @Store(shared = true)
 @ConfiguredBy(JdbcStringBasedStoreConfiguration.class)
-public class JdbcStringBasedStore<K,V> implements SegmentedAdvancedLoadWriteStore<K,V>, TransactionalCacheWriter<K,V> {
+public class JdbcStringBasedStore<K,V> implements NonBlockingStore<K,V> {
 
    private static final Log log = LogFactory.getLog(JdbcStringBasedStore.class, Log.class);
 
    private final Map<Transaction, Connection> transactionConnectionMap = new ConcurrentHashMap<>();
+   // The loads that are running, by key string. Removed when the load completes or a write of the key completes, so
+   // that a load never returns a value older than a write that completed before the load was invoked
+   private final ConcurrentMap<String, CompletableFuture<MarshallableEntry<K, V>>> pendingLoads = new ConcurrentHashMap<>();
    private JdbcStringBasedStoreConfiguration configuration;
 
    private InitializationContext ctx;
@@ -103,19 +129,46 @@
    private TableManager tableManager;
    private TimeService timeService;
    private KeyPartitioner keyPartitioner;
+   private BlockingManager blockingManager;
+   private BlockingManager.BlockingExecutor executor;
+   private OperationCoalescer<QueuedLoad> loadCoalescer;
+   private OperationCoalescer<QueuedWrite> writeCoalescer;
 
    @Override
-   public void init(InitializationContext ctx) {
+   public CompletionStage<Void> start(InitializationContext ctx) {
       this.ctx = ctx;
       this.configuration = ctx.getConfiguration();
       this.marshalledEntryFactory = ctx.getMarshallableEntryFactory();
       this.marshaller = ctx.getPersistenceMarshaller();
       this.timeService = ctx.getTimeService();
       this.keyPartitioner = configuration.segmented() ? ctx.getKeyPartitioner() : null;
+      this.blockingManager = ctx.getBlockingManager();
+      this.executor = createBlockingExecutor(ctx.getCache().getName());
+      return blockingManager.runBlocking(this::startBlocking, "jdbcstore-start");
    }
 
-   @Override
-   public void start() {
+   private BlockingManager.BlockingExecutor createBlockingExecutor(String cacheName) {
+      int maxConcurrentOperations = configuration.maxConcurrentOperations();
+      if (configuration.virtualThreads()) {
+         return blockingManager.virtualThreadBlockingExecutor("JdbcStringBasedStore-" + cacheName, maxConcurrentOperations);
+      }
+      if (maxConcurrentOperations > 0) {
+         return blockingManager.limitedBlockingExecutor("JdbcStringBasedStore-" + cacheName, maxConcurrentOperations);
+      }
+      return new BlockingManager.BlockingExecutor() {
+         @Override
+         public CompletionStage<Void> execute(Runnable runnable, Object traceId) {
+            return blockingManager.runBlocking(runnable, traceId);
+         }
+
+         @Override
+         public <T> CompletionStage<T> supply(Supplier<T> supplier, Object traceId) {
+            return blockingManager.supplyBlocking(supplier, traceId);
+         }
+      };
+   }
+
+   private void startBlocking() {
       String cacheName = ctx.getCache().getName();
       if (configuration.manageConnectionFactory()) {
          ConnectionFactory factory = ConnectionFactory.getConnectionFactory(configuration.connectionFactory().connectionFactoryClass());
@@ -174,6 +227,12 @@ public void start() {
       if (ctx.getCache().getCacheConfiguration() != null && ctx.getCache().getCacheConfiguration().clustering().cacheMode().isDistributed()) {
          enforceTwoWayMapper("distribution/rehashing");
       }
+      loadCoalescer = new OperationCoalescer<>("jdbcstore-load",
+            Math.min(configuration.maxBatchSize(), tableManager.getMaxSelectRows()), this::loadQueued,
+            QueuedLoad::fail);
+      writeCoalescer = new OperationCoalescer<>("jdbcstore-write",
+            Math.min(configuration.maxBatchSize(), tableManager.getMaxUpsertRows()), this::writeQueued,
+            QueuedWrite::fail);
    }
 
    private void migrateFromV11() throws SQLException {
@@ -237,7 +296,12 @@ private void migrateFromV11() throws SQLException {
    }
 
    @Override
-   public void stop() {
+   public CompletionStage<Void> stop() {
+      return blockingManager.runBlocking(this::stopBlocking, "jdbcstore-stop");
+   }
+
+   private void stopBlocking() {
+      pendingLoads.clear();
       try {
          if (tableManager != null) {
             tableManager.stop();
@@ -258,7 +322,17 @@ public void stop() {
    }
 
    @Override
-   public boolean isAvailable() {
+   public Set<Characteristic> characteristics() {
+      return EnumSet.of(Characteristic.SHAREABLE, Characteristic.TRANSACTIONAL, Characteristic.BULK_READ,
+            Characteristic.EXPIRATION, Characteristic.SEGMENTABLE, Characteristic.CONCURRENCY_LIMIT);
+   }
+
+   @Override
+   public CompletionStage<Boolean> isAvailable() {
+      return executor.supply(this::checkAvailable, "jdbcstore-isAvailable");
+   }
+
+   private boolean checkAvailable() {
       if (tableManager == null || connectionFactory == null)
          return false;
 
@@ -293,14 +367,60 @@ private int getSegment(MarshallableEntry entry) {
    }
 
    @Override
-   public void write(int segment, MarshallableEntry<? extends K, ? extends V> entry) {
-      write(entry);
+   public CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extends V> entry) {
+      if (!tableManager.isMultiRowUpsertSupported()) {
+         return executor.execute(() -> {
+            String keyStr = key2Str(entry.getKey());
+            write(entry, keyStr);
+            pendingLoads.remove(keyStr);
+         }, "jdbcstore-write");
+      }
+      String keyStr;
+      try {
+         keyStr = key2Str(entry.getKey());
+      } catch (PersistenceException e) {
+         return CompletableFutures.completedExceptionFuture(e);
+      }
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      writeCoalescer.add(new QueuedWrite(entry, keyStr, future));
+      return future;
    }
 
-   @Override
-   public void write(MarshallableEntry<? extends K, ? extends V> entry) {
+   /**
+    * Writes the queued entries, with a multi-row upsert if there are several of them.
+    */
+   private void writeQueued(List<QueuedWrite> writes) {
+      if (writes.size() == 1) {
+         QueuedWrite write = writes.get(0);
+         write(write.entry, write.keyStr);
+      } else {
+         // A statement cannot update the same row twice, so only the last write of a key is kept
+         Map<String, MarshallableEntry<?, ?>> rows = new LinkedHashMap<>(writes.size());
+         for (QueuedWrite write : writes) {
+            rows.put(write.keyStr, write.entry);
+         }
+         Connection connection = null;
+         try {
+            connection = connectionFactory.getConnection();
+            executeMultiRowUpsert(connection, null, 0, rows);
+         } catch (SQLException e) {
+            throw PERSISTENCE.sqlFailureWritingBatch(e);
+         } finally {
+            connectionFactory.releaseConnection(connection);
+         }
+      }
+      for (QueuedWrite write : writes) {
+         pendingLoads.remove(write.keyStr);
+         write.future.complete(null);
+      }
+   }
+
+   private void write(MarshallableEntry<? extends K, ? extends V> entry) {
+      write(entry, key2Str(entry.getKey()));
+   }
+
+   private void write(MarshallableEntry<? extends K, ? extends V> entry, String keyStr) {
       Connection connection = null;
-      String keyStr = key2Str(entry.getKey());
       try {
          connection = connectionFactory.getConnection();
          write(entry, connection, keyStr, getSegment(entry));
@@ -377,38 +497,62 @@ private void executeLegacyUpdate(Connection connection, MarshallableEntry entry,
    }
 
    @Override
-   public CompletionStage<Void> bulkUpdate(Publisher<MarshallableEntry<? extends K, ? extends V>> publisher) {
+   public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublisher<Object>> removePublisher,
+         Publisher<SegmentedPublisher<MarshallableEntry<K, V>>> writePublisher) {
+      Flowable<Object> keyFlowable = Flowable.fromPublisher(removePublisher)
+            .flatMap(RxJavaInterop.identityFunction(), false, publisherCount);
+      Flowable<MarshallableEntry<K, V>> entryFlowable = Flowable.fromPublisher(writePublisher)
+            .flatMap(RxJavaInterop.identityFunction(), false, publisherCount);
+
+      return executor.execute(() -> {
+         // Neither publisher emits until both are subscribed, so the removed keys are collected while writing
+         CompletableFuture<List<Object>> keysToRemove = keyFlowable.toList().toCompletionStage().toCompletableFuture();
+         bulkUpdate(entryFlowable);
+         deleteBatch(keysToRemove.join());
+         pendingLoads.clear();
+      }, "jdbcstore-batch");
+   }
+
+   private void bulkUpdate(Flowable<MarshallableEntry<K, V>> publisher) {
       // If upsert is not supported, then we must execute the legacy write for each entry; i.e. read then update/insert
       if (!tableManager.isUpsertSupported()) {
-         CompletableFuture<Void> future = new CompletableFuture<>();
-         Flowable.fromPublisher(publisher)
-               .doOnNext(this::write)
-               .subscribe(RxJavaInterop.emptyConsumer(), future::completeExceptionally, () -> future.complete(null));
-         return future;
+         publisher.blockingForEach(this::write);
+         return;
       }
 
-      CompletableFuture<Void> future = new CompletableFuture<>();
+      // Every row of a multi-row upsert binds a parameter per column, the number of parameters of a statement is limited
+      boolean multiRowUpsert = tableManager.isMultiRowUpsertSupported();
+      int batchSize = multiRowUpsert ? Math.min(configuration.maxBatchSize(), tableManager.getMaxUpsertRows()) :
+            configuration.maxBatchSize();
       Flowable
             .using(() -> {
                      Connection connection = connectionFactory.getConnection();
-                     PreparedStatement upsertBatch = connection.prepareStatement(tableManager.getUpsertRowSql());
+                     // With multi-row upserts the statement is only used for full batches
+                     String sql = multiRowUpsert ? tableManager.getUpsertRowsSql(batchSize) : tableManager.getUpsertRowSql();
+                     PreparedStatement upsertBatch = connection.prepareStatement(sql);
                      upsertBatch.setQueryTimeout(configuration.writeQueryTimeout());
                      return new KeyValuePair<>(connection, upsertBatch);
                   },
-                  kvp -> createBatchFlowable(kvp.getValue(), publisher),
+                  kvp -> createBatchFlowable(kvp.getKey(), kvp.getValue(), publisher, batchSize),
                   kvp -> {
                      JdbcUtil.safeClose(kvp.getValue());
                      connectionFactory.releaseConnection(kvp.getKey());
                   })
-            .subscribe(RxJavaInterop.emptyConsumer(), future::completeExceptionally, () -> future.complete(null));
-      return future;
+            .ignoreElements()
+            .blockingAwait();
    }
 
-   private Flowable<List<MarshallableEntry<? extends K, ? extends V>>> createBatchFlowable(PreparedStatement upsertBatch, Publisher<MarshallableEntry<? extends K, ? extends V>> publisher) {
-      return Flowable.fromPublisher(publisher)
-            .buffer(configuration.maxBatchSize())
+   private Flowable<List<MarshallableEntry<K, V>>> createBatchFlowable(Connection connection, PreparedStatement upsertBatch,
+                                                                       Flowable<MarshallableEntry<K, V>> publisher, int batchSize) {
+      boolean multiRowUpsert = tableManager.isMultiRowUpsertSupported();
+      return publisher
+            .buffer(batchSize)
             .doOnNext(entries -> {
-               for (MarshallableEntry<? extends K, ? extends V> entry : entries) {
+               if (multiRowUpsert) {
+                  executeMultiRowUpsert(connection, upsertBatch, batchSize, entries);
+                  return;
+               }
+               for (MarshallableEntry<K, V> entry : entries) {
                   String keyStr = key2Str(entry.getKey());
                   prepareUpsertStatement(entry, keyStr, getSegment(entry), upsertBatch);
                   upsertBatch.addBatch();
@@ -421,8 +565,49 @@ public CompletionStage<Void> bulkUpdate(Publisher<MarshallableEntry<? extends K,
             });
    }
 
-   @Override
-   public void deleteBatch(Iterable<Object> keys) {
+   private void executeMultiRowUpsert(Connection connection, PreparedStatement upsertBatch, int batchSize,
+                                      List<MarshallableEntry<K, V>> entries) throws SQLException {
+      // A statement cannot update the same row twice, so only the last write of a key is kept
+      Map<String, MarshallableEntry<?, ?>> rows = new LinkedHashMap<>(entries.size());
+      for (MarshallableEntry<K, V> entry : entries) {
+         rows.put(key2Str(entry.getKey()), entry);
+      }
+      executeMultiRowUpsert(connection, upsertBatch, batchSize, rows);
+   }
+
+   /**
+    * Writes all the rows with a single statement, so that a batch only requires one round trip to the database
+    * regardless of whether the driver rewrites JDBC batches.
+    *
+    * @param upsertBatch statement that upserts {@code batchSize} rows, or {@code null} to always prepare a statement
+    * @param rows the entries to write by key string
+    */
+   private void executeMultiRowUpsert(Connection connection, PreparedStatement upsertBatch, int batchSize,
+                                      Map<String, MarshallableEntry<?, ?>> rows) throws SQLException {
+      boolean fullBatch = upsertBatch != null && rows.size() == batchSize;
+      PreparedStatement ps = fullBatch ? upsertBatch : connection.prepareStatement(tableManager.getUpsertRowsSql(rows.size()));
+      try {
+         if (!fullBatch) {
+            ps.setQueryTimeout(configuration.writeQueryTimeout());
+         }
+         int row = 0;
+         for (Map.Entry<String, MarshallableEntry<?, ?>> e : rows.entrySet()) {
+            MarshallableEntry<?, ?> entry = e.getValue();
+            ByteBuffer byteBuffer = marshall(entry.getMarshalledValue(), marshaller);
+            tableManager.prepareUpsertStatement(ps, row++, e.getKey(), entry.expiryTime(), getSegment(entry), byteBuffer);
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Upserting %d rows with a single statement", rows.size());
+         }
+         ps.executeUpdate();
+      } finally {
+         if (!fullBatch) {
+            JdbcUtil.safeClose(ps);
+         }
+      }
+   }
+
+   private void deleteBatch(Iterable<Object> keys) {
       Connection connection = null;
       try {
          connection = connectionFactory.getConnection();
@@ -452,13 +637,77 @@ public void deleteBatch(Iterable<Object> keys) {
    }
 
    @Override
-   public MarshallableEntry<K, V> get(int segment, Object key) {
-      return loadEntry(key);
+   public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
+      String keyStr;
+      try {
+         keyStr = key2Str(key);
+      } catch (PersistenceException e) {
+         return CompletableFutures.completedExceptionFuture(e);
+      }
+      CompletableFuture<MarshallableEntry<K, V>> future = new CompletableFuture<>();
+      CompletableFuture<MarshallableEntry<K, V>> pending = pendingLoads.putIfAbsent(keyStr, future);
+      if (pending != null) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Joining the running load of key string '%s'", keyStr);
+         }
+         return pending;
+      }
+      loadCoalescer.add(new QueuedLoad(key, keyStr, future));
+      return future;
    }
 
-   @Override
-   public MarshallableEntry<K, V> loadEntry(Object key) {
-      String lockingKey = key2Str(key);
+   /**
+    * Loads the queued keys, with a single query if there are several of them.
+    */
+   private void loadQueued(List<QueuedLoad> loads) {
+      if (loads.size() == 1) {
+         QueuedLoad load = loads.get(0);
+         load.complete(loadEntry(load.key, load.keyStr));
+         return;
+      }
+      Map<String, MarshalledValue> values = loadValues(loads);
+      long now = timeService.wallClockTime();
+      for (QueuedLoad load : loads) {
+         MarshalledValue value = values.get(load.keyStr);
+         MarshallableEntry<K, V> entry = value != null ? marshalledEntryFactory.create(load.key, value) : null;
+         load.complete(entry != null && entry.getMetadata() != null && entry.isExpired(now) ? null : entry);
+      }
+   }
+
+   /**
+    * @return the stored values of the keys, by key string
+    */
+   private Map<String, MarshalledValue> loadValues(List<QueuedLoad> loads) {
+      Connection conn = null;
+      PreparedStatement ps = null;
+      ResultSet rs = null;
+      try {
+         String sql = tableManager.getSelectRowsSql(loads.size());
+         if (log.isTraceEnabled()) {
+            log.tracef("Loading %d keys with a single statement", loads.size());
+         }
+         conn = connectionFactory.getConnection();
+         ps = conn.prepareStatement(sql);
+         ps.setQueryTimeout(configuration.readQueryTimeout());
+         for (int i = 0; i < loads.size(); i++) {
+            ps.setString(i + 1, loads.get(i).keyStr);
+         }
+         rs = ps.executeQuery();
+         Map<String, MarshalledValue> values = new HashMap<>(loads.size());
+         while (rs.next()) {
+            values.put(rs.getString(1), unmarshall(rs.getBinaryStream(2), marshaller));
+         }
+         return values;
+      } catch (SQLException e) {
+         throw PERSISTENCE.sqlFailureReadingBatch(loads.size(), e);
+      } finally {
+         JdbcUtil.safeClose(rs);
+         JdbcUtil.safeClose(ps);
+         connectionFactory.releaseConnection(conn);
+      }
+   }
+
+   private MarshallableEntry<K, V> loadEntry(Object key, String lockingKey) {
       Connection conn = null;
       PreparedStatement ps = null;
       ResultSet rs = null;
@@ -493,7 +742,20 @@ public MarshallableEntry<K, V> loadEntry(Object key) {
    }
 
    @Override
-   public void clear() {
+   public CompletionStage<Boolean> containsKey(int segment, Object key) {
+      //we can do better if needed...
+      return load(segment, key).thenApply(Objects::nonNull);
+   }
+
+   @Override
+   public CompletionStage<Void> clear() {
+      return executor.execute(() -> {
+         clearRows();
+         pendingLoads.clear();
+      }, "jdbcstore-clear");
+   }
+
+   private void clearRows() {
       Connection conn = null;
       Statement statement = null;
       try {
@@ -514,7 +776,20 @@ public void clear() {
    }
 
    @Override
-   public void clear(IntSet segments) {
+   public CompletionStage<Void> addSegments(IntSet segments) {
+      // The rows of all segments are kept in the same table
+      return CompletableFutures.completedNull();
+   }
+
+   @Override
+   public CompletionStage<Void> removeSegments(IntSet segments) {
+      return executor.execute(() -> {
+         clearRows(segments);
+         pendingLoads.clear();
+      }, "jdbcstore-removeSegments");
+   }
+
+   private void clearRows(IntSet segments) {
       Connection conn = null;
       PreparedStatement ps = null;
       try {
@@ -539,15 +814,18 @@ public void clear(IntSet segments) {
    }
 
    @Override
-   public boolean delete(int segment, Object key) {
-      return delete(key);
+   public CompletionStage<Boolean> delete(int segment, Object key) {
+      return executor.supply(() -> {
+         String keyStr = key2Str(key);
+         boolean deleted = delete(keyStr);
+         pendingLoads.remove(keyStr);
+         return deleted;
+      }, "jdbcstore-delete");
    }
 
-   @Override
-   public boolean delete(Object key) {
+   private boolean delete(String keyStr) {
       Connection connection = null;
       PreparedStatement ps = null;
-      String keyStr = key2Str(key);
       try {
          String sql = tableManager.getDeleteRowSql();
          if (log.isTraceEnabled()) {
@@ -568,7 +846,16 @@ public boolean delete(Object key) {
    }
 
    @Override
-   public void purge(Executor executor, PurgeListener purgeListener) {
+   public Publisher<MarshallableEntry<K, V>> purgeExpired() {
+      return Flowable.defer(() -> Flowable.fromCompletionStage(executor.supply(this::purge, "jdbcstore-purgeExpired")))
+            .concatMap(Flowable::fromIterable)
+            .map(key -> marshalledEntryFactory.create(key));
+   }
+
+   /**
+    * @return the keys of the purged entries, or an empty list if the keys cannot be mapped back from the key strings
+    */
+   private List<Object> purge() {
       Connection conn = null;
       PreparedStatement ps = null;
       ResultSet rs = null;
@@ -583,15 +870,15 @@ public void purge(Executor executor, PurgeListener purgeListener) {
          try (PreparedStatement batchDelete = conn.prepareStatement(tableManager.getDeleteRowSql())) {
             int affectedRows = 0;
             boolean twoWayMapperExists = key2StringMapper instanceof TwoWayKey2StringMapper;
+            List<Object> purgedKeys = new ArrayList<>();
             while (rs.next()) {
                affectedRows++;
                String keyStr = rs.getString(2);
                batchDelete.setString(1, keyStr);
                batchDelete.addBatch();
 
-               if (twoWayMapperExists && purgeListener != null) {
-                  Object key = ((TwoWayKey2StringMapper) key2StringMapper).getKeyMapping(keyStr);
-                  purgeListener.entryPurged(key);
+               if (twoWayMapperExists) {
+                  purgedKeys.add(((TwoWayKey2StringMapper) key2StringMapper).getKeyMapping(keyStr));
                }
             }
 
@@ -605,6 +892,7 @@ public void purge(Executor executor, PurgeListener purgeListener) {
                }
             }
             conn.commit();
+            return purgedKeys;
          }
       } catch (SQLException e) {
          log.failedClearingJdbcCacheStore(e);
@@ -621,21 +909,12 @@ public void purge(Executor executor, PurgeListener purgeListener) {
       }
    }
 
-   @Override
-   public boolean contains(int segment, Object key) {
-      return contains(key);
-   }
-
-   @Override
-   public boolean contains(Object key) {
-      //we can do better if needed...
-      return loadEntry(key) != null;
-   }
-
    private <P> Flowable<P> publish(IntSet segments, Function<ResultSet, Flowable<P>> function) {
+      // The segment column only exists if the store is segmented
+      boolean filterSegments = keyPartitioner != null && segments != null;
       return Flowable.using(() -> {
          String sql;
-         if (segments != null) {
+         if (filterSegments) {
             sql = tableManager.getLoadNonExpiredRowsSqlForSegments(segments.size());
          } else {
             sql = tableManager.getLoadNonExpiredAllRowsSql();
@@ -648,7 +927,7 @@ private <P> Flowable<P> publish(IntSet segments, Function<ResultSet, Flowable<P>
          PreparedStatement ps = fc.statement;
          int offset = 1;
          ps.setLong(offset, timeService.wallClockTime());
-         if (segments != null) {
+         if (filterSegments) {
             for (PrimitiveIterator.OfInt segIter = segments.iterator(); segIter.hasNext(); ) {
                ps.setInt(++offset, segIter.nextInt());
             }
@@ -691,28 +970,36 @@ void close() {
       }
    }
 
-   @Override
-   public Flowable<K> publishKeys(Predicate<? super K> filter) {
-      return publish(null, rs -> Flowable.fromIterable(() -> new ResultSetKeyIterator(rs, filter)));
-   }
-
    @Override
    public Publisher<K> publishKeys(IntSet segments, Predicate<? super K> filter) {
-      return publish(segments, rs -> Flowable.fromIterable(() -> new ResultSetKeyIterator(rs, filter)));
+      return blockingManager.blockingPublisher(publish(segments,
+            rs -> Flowable.fromIterable(() -> new ResultSetKeyIterator(rs, filter))));
    }
 
    @Override
-   public Flowable<MarshallableEntry<K, V>> entryPublisher(Predicate<? super K> filter, boolean fetchValue, boolean fetchMetadata) {
-      return publish(null, rs -> Flowable.fromIterable(() -> new ResultSetEntryIterator(rs, filter, fetchValue, fetchMetadata)));
+   public Publisher<MarshallableEntry<K, V>> publishEntries(IntSet segments, Predicate<? super K> filter, boolean includeValues) {
+      return blockingManager.blockingPublisher(publish(segments,
+            rs -> Flowable.fromIterable(() -> new ResultSetEntryIterator(rs, filter, includeValues, true))));
    }
 
    @Override
-   public Publisher<MarshallableEntry<K, V>> entryPublisher(IntSet segments, Predicate<? super K> filter, boolean fetchValue, boolean fetchMetadata) {
-      return publish(segments, rs -> Flowable.fromIterable(() -> new ResultSetEntryIterator(rs, filter, fetchValue, fetchMetadata)));
+   public CompletionStage<Void> prepareWithModifications(Transaction transaction, int publisherCount,
+         Publisher<SegmentedPublisher<Object>> removePublisher, Publisher<SegmentedPublisher<MarshallableEntry<K, V>>> writePublisher) {
+      List<Object> keysToRemove = new ArrayList<>();
+      List<MarshallableEntry<K, V>> entriesToWrite = new ArrayList<>();
+
+      Flowable.fromPublisher(removePublisher)
+            .subscribe(sp -> Flowable.fromPublisher(sp).subscribe(keysToRemove::add));
+
+      Flowable.fromPublisher(writePublisher)
+            .subscribe(sp -> Flowable.fromPublisher(sp).subscribe(entriesToWrite::add));
+
+      return executor.execute(() -> prepareWithModifications(transaction, entriesToWrite, keysToRemove),
+            "jdbcstore-prepareWithModifications");
    }
 
-   @Override
-   public void prepareWithModifications(Transaction transaction, BatchModification batchModification) throws PersistenceException {
+   private void prepareWithModifications(Transaction transaction, List<MarshallableEntry<K, V>> entriesToWrite,
+                                         List<Object> keysToRemove) throws PersistenceException {
       try {
          Connection connection = getTxConnection(transaction);
          connection.setAutoCommit(false);
@@ -721,7 +1008,7 @@ public void prepareWithModifications(Transaction transaction, BatchModification
          try (PreparedStatement upsertBatch = upsertSupported ? connection.prepareStatement(tableManager.getUpsertRowSql()) : null;
               PreparedStatement deleteBatch = connection.prepareStatement(tableManager.getDeleteRowSql())) {
 
-            for (MarshallableEntry entry : batchModification.getMarshallableEntries()) {
+            for (MarshallableEntry<K, V> entry : entriesToWrite) {
                int segment = getSegment(entry);
                if (upsertSupported) {
                   String keyStr = key2Str(entry.getKey());
@@ -732,17 +1019,17 @@ public void prepareWithModifications(Transaction transaction, BatchModification
                }
             }
 
-            for (Object key : batchModification.getKeysToRemove()) {
+            for (Object key : keysToRemove) {
                String keyStr = key2Str(key);
                deleteBatch.setString(1, keyStr);
                deleteBatch.addBatch();
             }
 
-            if (upsertSupported && !batchModification.getMarshallableEntries().isEmpty())
+            if (upsertSupported && !entriesToWrite.isEmpty())
                upsertBatch.executeBatch();
 
-            if (!batchModification.getKeysToRemove().isEmpty())
-               deleteBatch.executeUpdate();
+            if (!keysToRemove.isEmpty())
+               deleteBatch.executeBatch();
          }
          // We do not call connection.close() in the event of an exception, as close() on active Tx behaviour is implementation
          // dependent. See https://docs.oracle.com/javase/8/docs/api/java/sql/Connection.html#close--
@@ -752,7 +1039,14 @@ public void prepareWithModifications(Transaction transaction, BatchModification
    }
 
    @Override
-   public void commit(Transaction tx) {
+   public CompletionStage<Void> commit(Transaction tx) {
+      return executor.execute(() -> {
+         commitTx(tx);
+         pendingLoads.clear();
+      }, "jdbcstore-commit");
+   }
+
+   private void commitTx(Transaction tx) {
       Connection connection;
       try {
          connection = getTxConnection(tx);
@@ -766,7 +1060,11 @@ public void commit(Transaction tx) {
    }
 
    @Override
-   public void rollback(Transaction tx) {
+   public CompletionStage<Void> rollback(Transaction tx) {
+      return executor.execute(() -> rollbackTx(tx), "jdbcstore-rollback");
+   }
+
+   private void rollbackTx(Transaction tx) {
       Connection connection;
       try {
          connection = getTxConnection(tx);
@@ -795,7 +1093,18 @@ private void destroyTxConnection(Transaction tx) {
    }
 
    @Override
-   public int size() {
+   public CompletionStage<Long> size(IntSet segments) {
+      return executor.supply(() -> keyPartitioner != null && segments != null ? countRows(segments) : countRows(),
+            "jdbcstore-size")
+            .thenApply(Integer::longValue);
+   }
+
+   @Override
+   public CompletionStage<Long> approximateSize(IntSet segments) {
+      return size(segments);
+   }
+
+   private int countRows() {
       Connection conn = null;
       PreparedStatement ps = null;
       ResultSet rs = null;
@@ -817,8 +1126,7 @@ public int size() {
       }
    }
 
-   @Override
-   public int size(IntSet segments) {
+   private int countRows(IntSet segments) {
       Connection conn = null;
       PreparedStatement ps = null;
       ResultSet rs = null;
@@ -948,4 +1256,133 @@ protected K getNext() {
          return key;
       }
    }
+
+   /**
+    * Queues the operations of a kind that wait for a blocking thread, so that a thread handles all the operations
+    * queued while no thread was available at once. Another thread is requested as soon as a thread takes the queued
+    * operations, so the operations are never delayed to make a batch larger.
+    */
+   private final class OperationCoalescer<T> {
+      private final String traceId;
+      private final int maxBatchSize;
+      private final Consumer<List<T>> handler;
+      private final BiConsumer<T, Throwable> failure;
+      // The fields below are guarded by this
+      private List<T> queued = new ArrayList<>();
+      private boolean scheduled;
+
+      /**
+       * @param handler handles a batch of operations on a blocking thread, completing all of them
+       * @param failure completes an operation exceptionally
+       */
+      OperationCoalescer(String traceId, int maxBatchSize, Consumer<List<T>> handler, BiConsumer<T, Throwable> failure) {
+         this.traceId = traceId;
+         this.maxBatchSize = Math.max(1, maxBatchSize);
+         this.handler = handler;
+         this.failure = failure;
+      }
+
+      void add(T operation) {
+         boolean schedule;
+         synchronized (this) {
+            queued.add(operation);
+            schedule = !scheduled;
+            scheduled = true;
+         }
+         if (schedule) {
+            schedule();
+         }
+      }
+
+      private void schedule() {
+         executor.execute(this::handleQueued, traceId).whenComplete((ignore, t) -> {
+            if (t != null) {
+               // The executor rejected the task, such as when the store is stopping
+               failQueued(t);
+            }
+         });
+      }
+
+      private void handleQueued() {
+         List<T> batch;
+         boolean reschedule;
+         synchronized (this) {
+            if (queued.size() <= maxBatchSize) {
+               batch = queued;
+               queued = new ArrayList<>();
+               scheduled = false;
+               reschedule = false;
+            } else {
+               List<T> head = queued.subList(0, maxBatchSize);
+               batch = new ArrayList<>(head);
+               head.clear();
+               reschedule = true;
+            }
+         }
+         if (reschedule) {
+            schedule();
+         }
+         if (batch.isEmpty()) {
+            return;
+         }
+         try {
+            handler.accept(batch);
+         } catch (Throwable t) {
+            for (T operation : batch) {
+               failure.accept(operation, t);
+            }
+         }
+      }
+
+      private void failQueued(Throwable t) {
+         List<T> batch;
+         synchronized (this) {
+            batch = queued;
+            queued = new ArrayList<>();
+            scheduled = false;
+         }
+         for (T operation : batch) {
+            failure.accept(operation, t);
+         }
+      }
+   }
+
+   private final class QueuedLoad {
+      final Object key;
+      final String keyStr;
+      final CompletableFuture<MarshallableEntry<K, V>> future;
+
+      QueuedLoad(Object key, String keyStr, CompletableFuture<MarshallableEntry<K, V>> future) {
+         this.key = key;
+         this.keyStr = keyStr;
+         this.future = future;
+      }
+
+      void complete(MarshallableEntry<K, V> entry) {
+         // Removed before completing, so a load invoked after this one completes runs a new query
+         pendingLoads.remove(keyStr, future);
+         future.complete(entry);
+      }
+
+      void fail(Throwable t) {
+         pendingLoads.remove(keyStr, future);
+         future.completeExceptionally(t);
+      }
+   }
+
+   private final class QueuedWrite {
+      final MarshallableEntry<? extends K, ? extends V> entry;
+      final String keyStr;
+      final CompletableFuture<Void> future;
+
+      QueuedWrite(MarshallableEntry<? extends K, ? extends V> entry, String keyStr, CompletableFuture<Void> future) {
+         this.entry = entry;
+         this.keyStr = keyStr;
+         this.future = future;
+      }
+
+      void fail(Throwable t) {
+         future.completeExceptionally(t);
+      }
+   }
 }
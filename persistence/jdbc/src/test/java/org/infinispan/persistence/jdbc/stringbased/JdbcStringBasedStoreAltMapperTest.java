@@ -1,10 +1,12 @@
 package org.infinispan.persistence.jdbc.stringbased;
 
+import static org.infinispan.commons.test.Exceptions.expectException;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
-import static org.testng.AssertJUnit.fail;
+
+import java.util.concurrent.CompletionException;
 
 import org.infinispan.commons.util.ReflectionUtil;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
@@ -17,8 +19,10 @@
 import org.infinispan.persistence.jdbc.impl.table.TableManager;
 import org.infinispan.persistence.jdbc.impl.table.TableName;
 import org.infinispan.persistence.keymappers.UnsupportedKeyTypeException;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.support.WaitDelegatingNonBlockingStore;
+import org.infinispan.persistence.support.WaitNonBlockingStore;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.TestDataSCI;
 import org.infinispan.test.data.Person;
@@ -26,7 +30,6 @@
 import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
 import org.infinispan.persistence.jdbc.UnitTestDatabaseManager;
 import org.infinispan.util.PersistenceMockUtil;
-import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
@@ -40,7 +43,8 @@
 @Test(groups = "functional", testName = "persistence.jdbc.stringbased.JdbcStringBasedStoreAltMapperTest")
 public class JdbcStringBasedStoreAltMapperTest extends AbstractInfinispanTest {
 
-   protected AdvancedLoadWriteStore cacheStore;
+   protected JdbcStringBasedStore<Object, Object> jdbcStore;
+   protected WaitNonBlockingStore<Object, Object> cacheStore;
    protected TableManager tableManager;
    protected static final Person MIRCEA = new Person("Mircea");
    protected static final Person MANIK = new Person("Manik");
@@ -61,22 +65,23 @@ public void createCacheStore() throws PersistenceException {
 
       UnitTestDatabaseManager.buildTableManipulation(storeBuilder.table());
       UnitTestDatabaseManager.configureUniqueConnectionFactory(storeBuilder);
-      cacheStore = new JdbcStringBasedStore();
+      jdbcStore = new JdbcStringBasedStore<>();
       marshaller = new TestObjectStreamMarshaller(TestDataSCI.INSTANCE);
-      cacheStore.init(PersistenceMockUtil.createContext(getClass(), builder.build(), marshaller));
-      cacheStore.start();
-      tableManager = (TableManager) ReflectionUtil.getValue(cacheStore, "tableManager");
+      InitializationContext ctx = PersistenceMockUtil.createContext(getClass(), builder.build(), marshaller);
+      cacheStore = new WaitDelegatingNonBlockingStore<>(jdbcStore, ctx.getKeyPartitioner());
+      cacheStore.startAndWait(ctx);
+      tableManager = (TableManager) ReflectionUtil.getValue(jdbcStore, "tableManager");
    }
 
    @AfterMethod
    public void clearStore() {
-      cacheStore.clear();
+      cacheStore.clearAndWait();
       assertRowCount(0);
    }
 
    @AfterClass
    public void destroyStore() throws PersistenceException {
-      cacheStore.stop();
+      cacheStore.stopAndWait();
       marshaller.stop();
    }
 
@@ -84,12 +89,9 @@ public void destroyStore() throws PersistenceException {
     * When trying to persist an unsupported object an exception is expected.
     */
    public void persistUnsupportedObject() throws Exception {
-      try {
-         cacheStore.write(MarshalledEntryUtil.create("key", "value", marshaller));
-         fail("exception is expected as PersonKey2StringMapper does not support strings");
-      } catch (UnsupportedKeyTypeException e) {
-         //expected
-      }
+      // PersonKey2StringMapper does not support strings
+      expectException(CompletionException.class, UnsupportedKeyTypeException.class,
+            () -> cacheStore.write(MarshalledEntryUtil.create("key", "value", marshaller)));
       //just check that an person object will be persisted okay
       cacheStore.write(MarshalledEntryUtil.create(MIRCEA, "Cluj Napoca", marshaller));
    }
@@ -115,7 +117,7 @@ public void testClear() throws Exception {
       cacheStore.write(MarshalledEntryUtil.create(MIRCEA, "value", marshaller));
       cacheStore.write(MarshalledEntryUtil.create(MANIK, "value", marshaller));
       assertRowCount(2);
-      cacheStore.clear();
+      cacheStore.clearAndWait();
       assertRowCount(0);
    }
 
@@ -126,7 +128,7 @@ public void testPurgeExpired() throws Exception {
       cacheStore.write(MarshalledEntryUtil.create(second, marshaller));
       assertRowCount(2);
       Thread.sleep(1100);
-      cacheStore.purge(new WithinThreadExecutor(), null);
+      cacheStore.purge();
       assertRowCount(1);
       assertEquals("val2", cacheStore.loadEntry(MANIK).getValue());
    }
@@ -138,8 +140,7 @@ protected int rowCount() {
    }
 
    protected ConnectionFactory getConnection() {
-      JdbcStringBasedStore store = (JdbcStringBasedStore) cacheStore;
-      return store.getConnectionFactory();
+      return jdbcStore.getConnectionFactory();
    }
 
    protected void assertRowCount(int size) {
@@ -1,33 +1,56 @@
 package org.infinispan.persistence.jdbc.stringbased;
 
+import static org.infinispan.util.concurrent.CompletionStages.join;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.when;
+import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
 
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.ReflectionUtil;
 import org.infinispan.commons.util.Version;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.cache.HashConfiguration;
-import org.infinispan.persistence.BaseStoreTest;
+import org.infinispan.persistence.BaseNonBlockingStoreTest;
 import org.infinispan.persistence.jdbc.DatabaseType;
 import org.infinispan.persistence.jdbc.UnitTestDatabaseManager;
+import org.infinispan.persistence.jdbc.configuration.ConnectionFactoryConfiguration;
 import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
 import org.infinispan.persistence.jdbc.connectionfactory.ConnectionFactory;
 import org.infinispan.persistence.jdbc.impl.table.AbstractTableManager;
 import org.infinispan.persistence.jdbc.impl.table.TableManager;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.NonBlockingStore;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.support.WaitDelegatingNonBlockingStore;
+import org.infinispan.persistence.support.WaitNonBlockingStore;
+import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.CompletionStages;
 import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 
+import io.reactivex.rxjava3.core.Flowable;
+
 /**
  * Tester class  for {@link JdbcStringBasedStore}.
  *
  * @author Mircea.Markus@jboss.com
  */
 @Test(groups = "functional", testName = "persistence.jdbc.stringbased.JdbcStringBasedStoreTest")
-public class JdbcStringBasedStoreTest extends BaseStoreTest {
+public class JdbcStringBasedStoreTest extends BaseNonBlockingStoreTest {
 
    boolean segmented;
 
@@ -50,17 +73,23 @@ protected String parameters() {
    }
 
    @Override
-   protected AdvancedLoadWriteStore createStore() throws Exception {
-      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+   protected NonBlockingStore createStore() {
+      return new JdbcStringBasedStore();
+   }
+
+   @Override
+   protected Configuration buildConfig(ConfigurationBuilder builder) {
+      if (configuration != null) {
+         // Keep using the same database when the store is restarted
+         return builder.read(configuration).build();
+      }
       JdbcStringBasedStoreConfigurationBuilder storeBuilder = builder
             .persistence()
                .addStore(JdbcStringBasedStoreConfigurationBuilder.class);
       storeBuilder.segmented(segmented);
       UnitTestDatabaseManager.configureUniqueConnectionFactory(storeBuilder);
       UnitTestDatabaseManager.buildTableManipulation(storeBuilder.table());
-      JdbcStringBasedStore stringBasedCacheStore = new JdbcStringBasedStore();
-      stringBasedCacheStore.init(createContext(builder.build()));
-      return stringBasedCacheStore;
+      return builder.build();
    }
 
    public void testNotCreateConnectionFactory() throws Exception {
@@ -78,8 +107,7 @@ public void testNotCreateConnectionFactory() throws Exception {
       storeBuilder.table()
             .createOnStart(false);
 
-      JdbcStringBasedStore stringBasedCacheStore = new JdbcStringBasedStore();
-      stringBasedCacheStore.init(createContext(builder.build()));
+      JdbcStringBasedStore<Object, Object> stringBasedCacheStore = new JdbcStringBasedStore<>();
 
       // this will make sure that if a method like stop is called on the connection then it will barf an exception
       ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
@@ -92,14 +120,145 @@ public void testNotCreateConnectionFactory() throws Exception {
       assertNull(stringBasedCacheStore.getConnectionFactory());
       stringBasedCacheStore.setConnectionFactory(connectionFactory);
       stringBasedCacheStore.setTableManager(tableManager);
-      stringBasedCacheStore.start();
+      WaitNonBlockingStore<Object, Object> waitStore = new WaitDelegatingNonBlockingStore<>(stringBasedCacheStore, keyPartitioner);
+      waitStore.startAndWait(createContext(builder.build()));
       assertSame(stringBasedCacheStore.getConnectionFactory(), connectionFactory);
 
       //stop should be called even if this is an external
       reset(tableManager, connectionFactory);
       tableManager.stop();
 
-      stringBasedCacheStore.stop();
+      waitStore.stopAndWait();
+   }
+
+   public void testBulkUpdateSameKeyTwice() {
+      MarshallableEntry<Object, Object> first = marshalledEntry(internalCacheEntry("k1", "v1", -1));
+      MarshallableEntry<Object, Object> second = marshalledEntry(internalCacheEntry("k1", "v2", -1));
+      MarshallableEntry<Object, Object> other = marshalledEntry(internalCacheEntry("k2", "v3", -1));
+      store.batchUpdate(1, Flowable.empty(), TestingUtil.singleSegmentPublisher(Flowable.just(first, other, second)));
+
+      assertEquals(2, store.sizeWait(IntSets.immutableRangeSet(segmentCount)));
+      assertEquals("v2", store.loadEntry("k1").getValue());
+      assertEquals("v3", store.loadEntry("k2").getValue());
+   }
+
+   public void testBulkUpdateLargerThanMaxUpsertRows() {
+      store.stopAndWait();
+      ConfigurationBuilder builder = new ConfigurationBuilder().read(configuration);
+      ((JdbcStringBasedStoreConfigurationBuilder) builder.persistence().stores().get(0)).maxBatchSize(Integer.MAX_VALUE);
+      setConfiguration(builder.build());
+      store.startAndWait(createContext(configuration));
+
+      TableManager tableManager = (TableManager) ReflectionUtil.getValue(store.delegate(), "tableManager");
+      int paramsPerRow = segmented ? 4 : 3;
+      assertTrue(tableManager.getMaxUpsertRows() * paramsPerRow <= Short.MAX_VALUE);
+
+      // Needs at least two statements, even if the dialect upserts multiple rows with a single statement
+      int numEntries = tableManager.getMaxUpsertRows() + 1;
+      List<MarshallableEntry<Object, Object>> entries = new ArrayList<>(numEntries);
+      for (int i = 0; i < numEntries; i++) {
+         entries.add(marshalledEntry(internalCacheEntry("k" + i, "v" + i, -1)));
+      }
+      store.batchUpdate(1, Flowable.empty(), TestingUtil.singleSegmentPublisher(Flowable.fromIterable(entries)));
+
+      assertEquals(numEntries, store.sizeWait(IntSets.immutableRangeSet(segmentCount)));
+      assertEquals("v0", store.loadEntry("k0").getValue());
+      assertEquals("v" + (numEntries - 1), store.loadEntry("k" + (numEntries - 1)).getValue());
+   }
+
+   public void testConcurrentLoadsShareQuery() throws Exception {
+      store.write(marshalledEntry(internalCacheEntry("k1", "v1", -1)));
+
+      JdbcStringBasedStore<Object, Object> jdbcStore = (JdbcStringBasedStore<Object, Object>) store.delegate();
+      BlockingConnectionFactory connectionFactory = new BlockingConnectionFactory(jdbcStore.getConnectionFactory());
+      jdbcStore.setConnectionFactory(connectionFactory);
+      try {
+         int segment = keyPartitioner.getSegment("k1");
+         CompletionStage<MarshallableEntry<Object, Object>> firstLoad = store.load(segment, "k1");
+         assertTrue(connectionFactory.blocked.await(10, TimeUnit.SECONDS));
+         CompletionStage<MarshallableEntry<Object, Object>> secondLoad = store.load(segment, "k1");
+         connectionFactory.unblock.countDown();
+
+         assertEquals("v1", join(firstLoad).getValue());
+         assertEquals("v1", join(secondLoad).getValue());
+         assertEquals(1, connectionFactory.connections.get());
+
+         // The load is complete, a new load runs a new query
+         assertEquals("v1", store.loadEntry("k1").getValue());
+         assertEquals(2, connectionFactory.connections.get());
+      } finally {
+         connectionFactory.unblock.countDown();
+         jdbcStore.setConnectionFactory(connectionFactory.delegate);
+      }
+   }
+
+   public void testQueuedLoadsShareQuery() throws Exception {
+      restartWithMaxConcurrentOperations(1);
+      for (int i = 1; i <= 3; i++) {
+         store.write(marshalledEntry(internalCacheEntry("k" + i, "v" + i, -1)));
+      }
+
+      JdbcStringBasedStore<Object, Object> jdbcStore = (JdbcStringBasedStore<Object, Object>) store.delegate();
+      BlockingConnectionFactory connectionFactory = new BlockingConnectionFactory(jdbcStore.getConnectionFactory());
+      jdbcStore.setConnectionFactory(connectionFactory);
+      try {
+         // The first load holds the only slot, so the other loads are queued
+         CompletionStage<MarshallableEntry<Object, Object>> firstLoad = store.load(keyPartitioner.getSegment("k1"), "k1");
+         assertTrue(connectionFactory.blocked.await(10, TimeUnit.SECONDS));
+         CompletionStage<MarshallableEntry<Object, Object>> secondLoad = store.load(keyPartitioner.getSegment("k2"), "k2");
+         CompletionStage<MarshallableEntry<Object, Object>> thirdLoad = store.load(keyPartitioner.getSegment("k3"), "k3");
+         CompletionStage<MarshallableEntry<Object, Object>> missingLoad = store.load(keyPartitioner.getSegment("k4"), "k4");
+         connectionFactory.unblock.countDown();
+
+         assertEquals("v1", join(firstLoad).getValue());
+         assertEquals("v2", join(secondLoad).getValue());
+         assertEquals("v3", join(thirdLoad).getValue());
+         assertNull(join(missingLoad));
+         // The queued loads were read with a single query
+         assertEquals(2, connectionFactory.connections.get());
+      } finally {
+         connectionFactory.unblock.countDown();
+         jdbcStore.setConnectionFactory(connectionFactory.delegate);
+      }
+   }
+
+   public void testQueuedWritesShareStatement() throws Exception {
+      restartWithMaxConcurrentOperations(1);
+      JdbcStringBasedStore<Object, Object> jdbcStore = (JdbcStringBasedStore<Object, Object>) store.delegate();
+      TableManager tableManager = (TableManager) ReflectionUtil.getValue(jdbcStore, "tableManager");
+      BlockingConnectionFactory connectionFactory = new BlockingConnectionFactory(jdbcStore.getConnectionFactory());
+      jdbcStore.setConnectionFactory(connectionFactory);
+      try {
+         // The load holds the only slot, so the writes are queued
+         CompletionStage<MarshallableEntry<Object, Object>> load = store.load(keyPartitioner.getSegment("k0"), "k0");
+         assertTrue(connectionFactory.blocked.await(10, TimeUnit.SECONDS));
+         List<CompletionStage<Void>> writes = new ArrayList<>();
+         for (int i = 1; i <= 3; i++) {
+            MarshallableEntry<Object, Object> entry = marshalledEntry(internalCacheEntry("k" + i, "v" + i, -1));
+            writes.add(store.write(keyPartitioner.getSegment(entry.getKey()), entry));
+         }
+         connectionFactory.unblock.countDown();
+
+         assertNull(join(load));
+         writes.forEach(CompletionStages::join);
+         // With a multi-row upsert the queued writes were written with a single statement
+         assertEquals(tableManager.isMultiRowUpsertSupported() ? 2 : 4, connectionFactory.connections.get());
+      } finally {
+         connectionFactory.unblock.countDown();
+         jdbcStore.setConnectionFactory(connectionFactory.delegate);
+      }
+      for (int i = 1; i <= 3; i++) {
+         assertEquals("v" + i, store.loadEntry("k" + i).getValue());
+      }
+   }
+
+   private void restartWithMaxConcurrentOperations(int maxConcurrentOperations) {
+      store.stopAndWait();
+      ConfigurationBuilder builder = new ConfigurationBuilder().read(configuration);
+      ((JdbcStringBasedStoreConfigurationBuilder) builder.persistence().stores().get(0))
+            .maxConcurrentOperations(maxConcurrentOperations);
+      setConfiguration(builder.build());
+      store.startAndWait(createContext(configuration));
    }
 
    @Override
@@ -107,4 +266,47 @@ protected boolean storePurgesAllExpired() {
       // expiration listener is not called for the entries
       return false;
    }
+
+   /**
+    * Counts the connections and blocks the first one until {@link #unblock} is released.
+    */
+   private static class BlockingConnectionFactory extends ConnectionFactory {
+      final ConnectionFactory delegate;
+      final AtomicInteger connections = new AtomicInteger();
+      final CountDownLatch blocked = new CountDownLatch(1);
+      final CountDownLatch unblock = new CountDownLatch(1);
+
+      BlockingConnectionFactory(ConnectionFactory delegate) {
+         this.delegate = delegate;
+      }
+
+      @Override
+      public void start(ConnectionFactoryConfiguration factoryConfiguration, ClassLoader classLoader) throws PersistenceException {
+         delegate.start(factoryConfiguration, classLoader);
+      }
+
+      @Override
+      public void stop() {
+         delegate.stop();
+      }
+
+      @Override
+      public Connection getConnection() throws PersistenceException {
+         if (connections.getAndIncrement() == 0) {
+            blocked.countDown();
+            try {
+               unblock.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               throw new PersistenceException(e);
+            }
+         }
+         return delegate.getConnection();
+      }
+
+      @Override
+      public void releaseConnection(Connection conn) {
+         delegate.releaseConnection(conn);
+      }
+   }
 }
@@ -4,13 +4,15 @@
 import static org.testng.AssertJUnit.assertTrue;
 
 import org.infinispan.Cache;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.persistence.jdbc.ManagedConnectionFactoryTest;
 import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration;
 import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
 import org.infinispan.persistence.jdbc.impl.connectionfactory.ManagedConnectionFactory;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.NonBlockingStore;
+import org.infinispan.persistence.support.WaitDelegatingNonBlockingStore;
 import org.infinispan.test.CacheManagerCallable;
 import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestCacheManagerFactory;
@@ -24,8 +26,12 @@
 public class StringStoreWithManagedConnectionTest extends ManagedConnectionFactoryTest {
 
    @Override
-   protected AdvancedLoadWriteStore createStore() throws Exception {
-      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+   protected NonBlockingStore createStore() {
+      return new JdbcStringBasedStore();
+   }
+
+   @Override
+   protected Configuration buildConfig(ConfigurationBuilder builder) {
       JdbcStringBasedStoreConfigurationBuilder storeBuilder = builder
             .persistence()
                .addStore(JdbcStringBasedStoreConfigurationBuilder.class);
@@ -33,10 +39,7 @@ protected AdvancedLoadWriteStore createStore() throws Exception {
       storeBuilder.dataSource()
             .jndiUrl(getDatasourceLocation());
       UnitTestDatabaseManager.buildTableManipulation(storeBuilder.table());
-
-      JdbcStringBasedStore stringBasedCacheStore = new JdbcStringBasedStore();
-      stringBasedCacheStore.init(createContext(builder.build()));
-      return stringBasedCacheStore;
+      return builder.build();
    }
 
    public void testLoadFromFile() throws Exception {
@@ -52,7 +55,8 @@ public void call() {
             StoreConfiguration secondCacheLoaderConfig = second.getCacheConfiguration().persistence().stores().get(0);
             assertNotNull(secondCacheLoaderConfig);
             assertTrue(secondCacheLoaderConfig instanceof JdbcStringBasedStoreConfiguration);
-            JdbcStringBasedStore loader = (JdbcStringBasedStore) TestingUtil.getFirstLoader(first);
+            WaitDelegatingNonBlockingStore<String, String> store = TestingUtil.getFirstStore(first);
+            JdbcStringBasedStore<String, String> loader = (JdbcStringBasedStore<String, String>) store.delegate();
             assertTrue(loader.getConnectionFactory() instanceof ManagedConnectionFactory);
          }
       });
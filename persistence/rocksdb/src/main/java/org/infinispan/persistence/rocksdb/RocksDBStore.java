@@ -11,6 +11,8 @@
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
@@ -18,9 +20,11 @@
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -44,6 +48,7 @@
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
 import org.infinispan.persistence.internal.PersistenceUtil;
+import org.infinispan.persistence.rocksdb.configuration.ExpirationMode;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration;
 import org.infinispan.persistence.rocksdb.logging.Log;
 import org.infinispan.persistence.spi.InitializationContext;
@@ -65,11 +70,16 @@
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.SstFileReader;
+import org.rocksdb.SstFileReaderIterator;
+import org.rocksdb.SstFileWriter;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
@@ -89,6 +99,10 @@
    static final String COLUMN_FAMILY_PROPERTY_NAME_WITH_SUFFIX = "data.";
    static final byte[] META_COLUMN_FAMILY = "meta-cf".getBytes();
    static final byte[] META_COLUMN_FAMILY_KEY = "metadata".getBytes();
+   // Size of the expiration time written in front of the values with ExpirationMode.EMBEDDED
+   static final int EXPIRY_PREFIX_LENGTH = Long.BYTES;
+   // Number of stripes of the locks that prevent the purge from deleting a value written after it found the key expired
+   private static final int PURGE_LOCK_COUNT = 64;
 
    protected RocksDBStoreConfiguration configuration;
    private RocksDB db;
@@ -103,6 +117,11 @@
    private KeyPartitioner keyPartitioner;
    private MarshallableEntryFactory<K, V> entryFactory;
    private BlockingManager blockingManager;
+   // Only set once the existing data has been migrated, as the legacy values have no expiration prefix
+   private boolean embeddedExpiration;
+   // With ExpirationMode.EMBEDDED writes hold the read lock of the key's stripe, and the purge holds the write lock
+   // while it reads the current value again and deletes it
+   private final StampedLock[] purgeLocks = createPurgeLocks();
 
    @Override
    public CompletionStage<Void> start(InitializationContext ctx) {
@@ -137,13 +156,21 @@ public CompletionStage<Void> start(InitializationContext ctx) {
          try {
             initDefaultHandler();
             MetadataImpl existingMeta = handler.loadMetadata();
+            boolean embedded = configuration.expirationMode() == ExpirationMode.EMBEDDED;
             if (existingMeta == null && !configuration.purgeOnStartup()) {
                String cacheName = ctx.getCache().getName();
                // Metadata does not exist, therefore we must be reading from a pre-12.x store. Migrate the old data
                PERSISTENCE.startMigratingPersistenceData(cacheName);
-               migrateFromV11();
+               migrateFromV11(embedded);
                PERSISTENCE.persistedDataSuccessfulMigrated(cacheName);
+            } else if (existingMeta != null && existingMeta.embeddedExpiration != embedded && !configuration.purgeOnStartup()) {
+               // The values are encoded differently, they cannot be read with the other mode
+               handler.close();
+               throw log.expirationModeChanged(getLocation().toString(),
+                     existingMeta.embeddedExpiration ? ExpirationMode.EMBEDDED : ExpirationMode.DATABASE,
+                     configuration.expirationMode());
             }
+            embeddedExpiration = embedded;
             // Update the metadata entry to use the current Infinispan version
             handler.writeMetadata();
          } catch (Exception e) {
@@ -160,13 +187,17 @@ private void initDefaultHandler() throws RocksDBException {
 
    private RocksDBHandler createHandler(Path data, Path expired) throws RocksDBException {
       AdvancedCache<?, ?> cache = ctx.getCache().getAdvancedCache();
+      if (configuration.expirationMode() == ExpirationMode.EMBEDDED) {
+         // The expiration time is stored with the values
+         expired = null;
+      }
       if (configuration.segmented()) {
          return new SegmentedRocksDBHandler(data, expired, cache.getCacheConfiguration().clustering().hash().numSegments());
       }
       return new NonSegmentedRocksDBHandler(data, expired, keyPartitioner);
    }
 
-   private void migrateFromV11() throws IOException, RocksDBException {
+   private void migrateFromV11(boolean embedded) throws IOException, RocksDBException {
       IntSet segments;
       if (configuration.segmented()) {
          int numSegments = ctx.getCache().getCacheConfiguration().clustering().hash().numSegments();
@@ -198,8 +229,8 @@ private void migrateFromV11() throws IOException, RocksDBException {
          Flowable.fromPublisher(publisher)
                .subscribe(e -> {
                   ColumnFamilyHandle handle = migrationHandler.getHandle(keyPartitioner.getSegment(e.getKey()));
-                  batch.put(handle, e.getKeyBytes().copy().getBuf(), marshall(e.getMarshalledValue()));
-                  if (e.expiryTime() > 1)
+                  batch.put(handle, e.getKeyBytes().copy().getBuf(), marshallValue(e, embedded));
+                  if (!embedded && e.expiryTime() > 1)
                      expirableEntries.add(e);
                });
 
@@ -220,7 +251,9 @@ private void migrateFromV11() throws IOException, RocksDBException {
          Util.recursiveFileRemove(dataLocation);
          Util.recursiveFileRemove(expirationLocation);
          Files.move(newDbLocation, dataLocation, StandardCopyOption.REPLACE_EXISTING);
-         Files.move(newExpiredDbLocation, expirationLocation, StandardCopyOption.REPLACE_EXISTING);
+         if (!embedded) {
+            Files.move(newExpiredDbLocation, expirationLocation, StandardCopyOption.REPLACE_EXISTING);
+         }
 
          // Open db handle to new db at original location
          initDefaultHandler();
@@ -243,6 +276,10 @@ private Path getExpirationLocation() {
       return getQualifiedLocation("expired");
    }
 
+   private Path getIngestLocation() {
+      return getQualifiedLocation("ingest");
+   }
+
    private WriteOptions dataWriteOptions() {
       if (dataWriteOptions == null)
          dataWriteOptions = new WriteOptions().setDisableWAL(false);
@@ -297,7 +334,8 @@ public Set<Characteristic> characteristics() {
 
    @Override
    public CompletionStage<Boolean> isAvailable() {
-      return blockingManager.supplyBlocking(() -> getLocation().toFile().exists() && getExpirationLocation().toFile().exists(),
+      return blockingManager.supplyBlocking(() -> getLocation().toFile().exists() &&
+                  (expiredDb == null || getExpirationLocation().toFile().exists()),
             "rocksdb-available");
    }
 
@@ -365,8 +403,8 @@ public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublis
                ColumnFamilyHandle handle = handler.getHandle(sp.getSegment());
                Flowable.fromPublisher(sp)
                      .subscribe(me -> {
-                        batch.put(handle, marshall(me.getKey()), marshall(me.getMarshalledValue()));
-                        if (me.expiryTime() > -1) {
+                        batch.put(handle, marshall(me.getKey()), marshallValue(me));
+                        if (expiredDb != null && me.expiryTime() > -1) {
                            expirableEntries.add(me);
                         }
                      });
@@ -376,6 +414,7 @@ public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublis
          return CompletableFutures.completedNull();
       }
       return blockingManager.runBlocking(() -> {
+         long[] stamps = lockAllForWrite();
          try {
             db.write(dataWriteOptions(), batch);
             for (MarshallableEntry<K, V> me : expirableEntries) {
@@ -383,16 +422,200 @@ public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublis
             }
          } catch (RocksDBException e) {
             throw new PersistenceException(e);
+         } finally {
+            unlockAllForWrite(stamps);
          }
       }, "rocksdb-batch").whenComplete((ignore, t) -> batch.close());
    }
 
+   /**
+    * Writes the entries of a segment, sorted by key, to an SST file that is ingested in a single operation instead of
+    * going through the memtable and the write-ahead log. Existing entries with the same keys are replaced.
+    * <p>
+    * The entries are sorted in memory, so large data sets should be split in several invocations. Only supported by
+    * segmented stores.
+    *
+    * @since 13.0
+    */
+   public CompletionStage<Void> bulkLoadSegment(int segment, Publisher<MarshallableEntry<K, V>> entries) {
+      SegmentedRocksDBHandler segmentedHandler = segmentedHandler();
+      List<MarshallableEntry<K, V>> expirableEntries = new ArrayList<>();
+      return Flowable.fromPublisher(entries)
+            .collect(() -> new TreeMap<byte[], byte[]>(RocksDBStore::compareBytes), (sortedEntries, me) -> {
+               sortedEntries.put(MarshallUtil.toByteArray(me.getKeyBytes()), marshallValue(me));
+               if (expiredDb != null && me.expiryTime() > -1) {
+                  expirableEntries.add(me);
+               }
+            })
+            .toCompletionStage()
+            .thenCompose(sortedEntries -> {
+               if (sortedEntries.isEmpty()) {
+                  return CompletableFutures.completedNull();
+               }
+               return blockingManager.runBlocking(() -> {
+                  Path file = null;
+                  try {
+                     file = newIngestFile(segment);
+                     try (EnvOptions envOptions = new EnvOptions();
+                          Options options = sstFileOptions();
+                          SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+                        writer.open(file.toString());
+                        for (Map.Entry<byte[], byte[]> entry : sortedEntries.entrySet()) {
+                           writer.put(entry.getKey(), entry.getValue());
+                        }
+                        writer.finish();
+                     }
+                     // The file was created by us, so RocksDB can link it instead of copying it
+                     long[] stamps = lockAllForWrite();
+                     try {
+                        segmentedHandler.ingest(segment, file, true);
+                     } finally {
+                        unlockAllForWrite(stamps);
+                     }
+                     for (MarshallableEntry<K, V> me : expirableEntries) {
+                        addNewExpiry(expiredDb, me);
+                     }
+                  } catch (IOException | RocksDBException e) {
+                     throw new PersistenceException(e);
+                  } finally {
+                     if (file != null) {
+                        Util.recursiveFileRemove(file);
+                     }
+                  }
+               }, "rocksdb-bulkLoad");
+            });
+   }
+
+   /**
+    * Writes the entries of a segment to an SST file, which a store with the same marshaller and expiration mode can
+    * ingest with {@link #ingestSegmentFile(int, Path)}. Only supported by segmented stores.
+    *
+    * @return the number of entries written, the file is not created if there are none
+    * @since 13.0
+    */
+   public CompletionStage<Long> exportSegment(int segment, Path file) {
+      SegmentedRocksDBHandler segmentedHandler = segmentedHandler();
+      return blockingManager.supplyBlocking(() -> {
+         ColumnFamilyHandle handle = segmentedHandler.getHandle(segment);
+         if (handle == null) {
+            log.tracef("Ignoring export of segment %d as handle is not currently configured", segment);
+            return 0L;
+         }
+         long now = timeService.wallClockTime();
+         long count = 0;
+         try (ReadOptions readOptions = new ReadOptions().setFillCache(false);
+              RocksIterator it = db.newIterator(handle, readOptions);
+              EnvOptions envOptions = new EnvOptions();
+              Options options = sstFileOptions();
+              SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+            // The iterator returns the keys in the order required by the writer
+            for (it.seekToFirst(); it.isValid(); it.next()) {
+               byte[] valueBytes = it.value();
+               if (isExpired(valueBytes, now)) {
+                  continue;
+               }
+               // An SST file cannot be empty
+               if (count++ == 0) {
+                  writer.open(file.toString());
+               }
+               writer.put(it.key(), valueBytes);
+            }
+            if (count > 0) {
+               writer.finish();
+            }
+         } catch (RocksDBException e) {
+            throw new PersistenceException(e);
+         }
+         return count;
+      }, "rocksdb-exportSegment");
+   }
+
+   /**
+    * Ingests an SST file created by {@link #exportSegment(int, Path)} into a segment in a single operation. Existing
+    * entries with the same keys are replaced. The file is copied, so the caller is responsible for removing it.
+    * Only supported by segmented stores.
+    *
+    * @since 13.0
+    */
+   public CompletionStage<Void> ingestSegmentFile(int segment, Path file) {
+      SegmentedRocksDBHandler segmentedHandler = segmentedHandler();
+      return blockingManager.runBlocking(() -> {
+         try {
+            if (expiredDb != null) {
+               trackExpiration(file);
+            }
+            long[] stamps = lockAllForWrite();
+            try {
+               segmentedHandler.ingest(segment, file, false);
+            } finally {
+               unlockAllForWrite(stamps);
+            }
+         } catch (RocksDBException e) {
+            throw new PersistenceException(e);
+         }
+      }, "rocksdb-ingestSegmentFile");
+   }
+
+   private SegmentedRocksDBHandler segmentedHandler() {
+      if (!configuration.segmented()) {
+         throw log.segmentFilesRequireSegmentedStore();
+      }
+      return (SegmentedRocksDBHandler) handler;
+   }
+
+   private Path newIngestFile(int segment) throws IOException {
+      Path directory = getIngestLocation();
+      Files.createDirectories(directory);
+      return Files.createTempFile(directory, "segment-" + segment + "-", ".sst");
+   }
+
+   private Options sstFileOptions() {
+      Options options = new Options();
+      if (configuration.attributes().attribute(RocksDBStoreConfiguration.COMPRESSION_TYPE).isModified()) {
+         options.setCompressionType(configuration.compressionType().getValue());
+      }
+      return options;
+   }
+
+   /**
+    * Adds the entries of an SST file that can expire to the expired database.
+    */
+   private void trackExpiration(Path file) throws RocksDBException {
+      try (Options options = new Options();
+           SstFileReader reader = new SstFileReader(options)) {
+         reader.open(file.toString());
+         try (ReadOptions readOptions = new ReadOptions().setFillCache(false);
+              SstFileReaderIterator it = reader.newIterator(readOptions)) {
+            for (it.seekToFirst(); it.isValid(); it.next()) {
+               MarshallableEntry<K, V> me = entryFactory.create(unmarshall(it.key()), unmarshallValue(it.value()));
+               if (me.expiryTime() > -1) {
+                  addNewExpiry(expiredDb, me);
+               }
+            }
+         }
+      }
+   }
+
+   // The order of the default RocksDB comparator
+   private static int compareBytes(byte[] a, byte[] b) {
+      int length = Math.min(a.length, b.length);
+      for (int i = 0; i < length; i++) {
+         int result = Integer.compare(a[i] & 0xFF, b[i] & 0xFF);
+         if (result != 0) {
+            return result;
+         }
+      }
+      return Integer.compare(a.length, b.length);
+   }
+
    @Override
    public Publisher<MarshallableEntry<K, V>> purgeExpired() {
       Publisher<List<MarshallableEntry<K, V>>> purgedBatches = blockingManager.blockingPublisher(Flowable.defer(() -> {
          // We check expiration based on time of subscription only
          long now = timeService.wallClockTime();
-         return actualPurgeExpired(now)
+         Flowable<MarshallableEntry<K, V>> expiredEntries = embeddedExpiration ? actualPurgeEmbeddedExpired(now) :
+               actualPurgeExpired(now);
+         return expiredEntries
                // We return a buffer of expired entries emitted to the non blocking thread
                // This prevents waking up the non blocking thread for every entry as they will most likely be
                // consumed much faster than emission (since each emission performs a get and remove)
@@ -475,13 +698,37 @@ protected byte[] getNext() {
       return expiredEntryFlowable;
    }
 
+   private Flowable<MarshallableEntry<K, V>> actualPurgeEmbeddedExpired(long now) {
+      // There is no index of the expiration times, but the prefix of each value can be checked without unmarshalling
+      Flowable<MarshallableEntry<K, V>> expiredEntryFlowable = Flowable.fromIterable(handler.getHandles())
+            .concatMap(handle -> Flowable.using(() -> {
+               ReadOptions readOptions = new ReadOptions().setFillCache(false);
+               return new AbstractMap.SimpleImmutableEntry<>(readOptions, db.newIterator(handle, readOptions));
+            }, entry -> {
+               RocksIterator iterator = entry.getValue();
+               iterator.seekToFirst();
+               return Flowable.fromIterable(() -> new RocksExpiredEntryIterator(handle, iterator, now));
+            }, entry -> {
+               entry.getValue().close();
+               entry.getKey().close();
+            }));
+
+      if (log.isTraceEnabled()) {
+         expiredEntryFlowable = expiredEntryFlowable
+               .doOnSubscribe(subscription -> log.tracef("Purging entries from RocksDBStore"))
+               .doOnComplete(() -> log.tracef("Finished purging entries from RocksDBStore"));
+      }
+
+      return expiredEntryFlowable;
+   }
+
    private MarshalledValue handlePossiblyExpiredKey(ColumnFamilyHandle columnFamilyHandle, byte[] marshalledKey,
          long now) throws RocksDBException {
       byte[] valueBytes = db.get(columnFamilyHandle, marshalledKey);
       if (valueBytes == null) {
          return null;
       }
-      MarshalledValue mv = unmarshall(valueBytes);
+      MarshalledValue mv = unmarshallValue(valueBytes);
       if (mv != null) {
          // TODO race condition: the entry could be updated between the get and delete!
          Metadata metadata = unmarshall(MarshallUtil.toByteArray(mv.getMetadataBytes()));
@@ -531,8 +778,117 @@ private <E> E unmarshall(byte[] bytes) {
       return unmarshall(bytes, this.marshaller);
    }
 
+   /**
+    * Marshalls the value and the metadata of an entry, prefixed with the expiration time if it is embedded.
+    */
+   private byte[] marshallValue(MarshallableEntry<?, ?> entry) {
+      return marshallValue(entry, embeddedExpiration);
+   }
+
+   private byte[] marshallValue(MarshallableEntry<?, ?> entry, boolean embedded) {
+      byte[] valueBytes = marshall(entry.getMarshalledValue());
+      if (!embedded) {
+         return valueBytes;
+      }
+      byte[] bytes = new byte[EXPIRY_PREFIX_LENGTH + valueBytes.length];
+      long expiry = entry.expiryTime();
+      for (int i = EXPIRY_PREFIX_LENGTH - 1; i >= 0; i--) {
+         bytes[i] = (byte) expiry;
+         expiry >>>= 8;
+      }
+      System.arraycopy(valueBytes, 0, bytes, EXPIRY_PREFIX_LENGTH, valueBytes.length);
+      return bytes;
+   }
+
+   private MarshalledValue unmarshallValue(byte[] bytes) {
+      if (bytes == null)
+         return null;
+      if (!embeddedExpiration)
+         return unmarshall(bytes);
+
+      try {
+         return (MarshalledValue) marshaller.objectFromByteBuffer(bytes, EXPIRY_PREFIX_LENGTH,
+               bytes.length - EXPIRY_PREFIX_LENGTH);
+      } catch (IOException | ClassNotFoundException e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   /**
+    * Deletes the value of a key found expired by the purge, unless a value that has not expired was written after the
+    * purge iterator was created.
+    *
+    * @return the deleted value or {@code null} if the key was not deleted
+    */
+   private byte[] deleteIfExpired(ColumnFamilyHandle handle, byte[] marshalledKey, long now) {
+      StampedLock lock = purgeLock(marshalledKey);
+      long stamp = lock.writeLock();
+      try {
+         byte[] valueBytes = db.get(handle, marshalledKey);
+         if (!isExpired(valueBytes, now)) {
+            return null;
+         }
+         db.delete(handle, marshalledKey);
+         return valueBytes;
+      } catch (RocksDBException e) {
+         throw new PersistenceException(e);
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   private static StampedLock[] createPurgeLocks() {
+      StampedLock[] locks = new StampedLock[PURGE_LOCK_COUNT];
+      for (int i = 0; i < locks.length; i++) {
+         locks[i] = new StampedLock();
+      }
+      return locks;
+   }
+
+   private StampedLock purgeLock(byte[] marshalledKey) {
+      return purgeLocks[Arrays.hashCode(marshalledKey) & (PURGE_LOCK_COUNT - 1)];
+   }
+
+   /**
+    * Takes the read lock of every stripe, for the writes of more than one key.
+    *
+    * @return the stamps to pass to {@link #unlockAllForWrite(long[])} or {@code null} if no lock is needed
+    */
+   private long[] lockAllForWrite() {
+      if (!embeddedExpiration) {
+         return null;
+      }
+      long[] stamps = new long[PURGE_LOCK_COUNT];
+      for (int i = 0; i < PURGE_LOCK_COUNT; i++) {
+         stamps[i] = purgeLocks[i].readLock();
+      }
+      return stamps;
+   }
+
+   private void unlockAllForWrite(long[] stamps) {
+      if (stamps == null) {
+         return;
+      }
+      for (int i = 0; i < PURGE_LOCK_COUNT; i++) {
+         purgeLocks[i].unlockRead(stamps[i]);
+      }
+   }
+
+   /**
+    * @return {@code true} if the expiration time is embedded in the value bytes and it is before {@code now}
+    */
+   private boolean isExpired(byte[] valueBytes, long now) {
+      if (!embeddedExpiration || valueBytes == null)
+         return false;
+      long expiry = 0;
+      for (int i = 0; i < EXPIRY_PREFIX_LENGTH; i++) {
+         expiry = (expiry << 8) | (valueBytes[i] & 0xFF);
+      }
+      return expiry > 0 && expiry <= now;
+   }
+
    private MarshallableEntry<K, V> unmarshallEntry(Object key, byte[] valueBytes) {
-      MarshalledValue value = unmarshall(valueBytes);
+      MarshalledValue value = unmarshallValue(valueBytes);
       if (value == null) return null;
 
       return entryFactory.create(key, value.getValueBytes(), value.getMetadataBytes(), value.getInternalMetadataBytes(),
@@ -570,9 +926,13 @@ static final class MetadataImpl {
       @ProtoField(number = 1, defaultValue = "-1")
       short version;
 
+      @ProtoField(number = 2, defaultValue = "false")
+      boolean embeddedExpiration;
+
       @ProtoFactory
-      MetadataImpl(short version) {
+      MetadataImpl(short version, boolean embeddedExpiration) {
          this.version = version;
+         this.embeddedExpiration = embeddedExpiration;
       }
    }
 
@@ -657,9 +1017,14 @@ private class RocksEntryIterator extends AbstractIterator<MarshallableEntry<K, V
       protected MarshallableEntry<K, V> getNext() {
          MarshallableEntry<K, V> entry = null;
          while (entry == null && it.isValid()) {
+            byte[] valueBytes = it.value();
+            if (isExpired(valueBytes, now)) {
+               it.next();
+               continue;
+            }
             K key = unmarshall(it.key());
             if (filter == null || filter.test(key)) {
-               MarshallableEntry<K, V> me = unmarshallEntry(key, it.value());
+               MarshallableEntry<K, V> me = unmarshallEntry(key, valueBytes);
                if (me != null && !me.isExpired(now)) {
                   entry = me;
                }
@@ -670,6 +1035,35 @@ protected MarshallableEntry<K, V> getNext() {
       }
    }
 
+   private class RocksExpiredEntryIterator extends AbstractIterator<MarshallableEntry<K, V>> {
+      private final ColumnFamilyHandle handle;
+      private final RocksIterator it;
+      private final long now;
+
+      RocksExpiredEntryIterator(ColumnFamilyHandle handle, RocksIterator it, long now) {
+         this.handle = handle;
+         this.it = it;
+         this.now = now;
+      }
+
+      @Override
+      protected MarshallableEntry<K, V> getNext() {
+         MarshallableEntry<K, V> entry = null;
+         while (entry == null && it.isValid()) {
+            byte[] valueBytes = it.value();
+            if (isExpired(valueBytes, now)) {
+               byte[] keyBytes = it.key();
+               byte[] currentBytes = deleteIfExpired(handle, keyBytes, now);
+               if (currentBytes != null) {
+                  entry = unmarshallEntry(unmarshall(keyBytes), currentBytes);
+               }
+            }
+            it.next();
+         }
+         return entry;
+      }
+   }
+
    private abstract class RocksDBHandler {
 
       protected RocksDB db;
@@ -686,8 +1080,13 @@ private abstract class RocksDBHandler {
 
       abstract ColumnFamilyHandle getHandleForMarshalledKey(byte[] marshalledKey);
 
+      /**
+       * @return the handles of the column families holding the entries
+       */
+      abstract Collection<ColumnFamilyHandle> getHandles();
+
       void writeMetadata() throws RocksDBException {
-         MetadataImpl metadata = new MetadataImpl(Version.getVersionShort());
+         MetadataImpl metadata = new MetadataImpl(Version.getVersionShort(), embeddedExpiration);
          db.put(metaColumnFamilyHandle, META_COLUMN_FAMILY_KEY, marshall(metadata));
       }
 
@@ -726,8 +1125,12 @@ CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
                }
             }, "rocksdb-load");
             return entryByteStage.thenApply(entryBytes -> {
+               long now = timeService.wallClockTime();
+               if (isExpired(entryBytes, now)) {
+                  return null;
+               }
                MarshallableEntry<K, V> me = unmarshallEntry(key, entryBytes);
-               if (me == null || me.isExpired(timeService.wallClockTime())) {
+               if (me == null || me.isExpired(now)) {
                   return null;
                }
                return me;
@@ -745,15 +1148,21 @@ CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extend
          }
          try {
             byte[] marshalledKey = MarshallUtil.toByteArray(me.getKeyBytes());
-            byte[] marshalledValue = marshall(me.getMarshalledValue());
+            byte[] marshalledValue = marshallValue(me);
             return blockingManager.runBlocking(() -> {
+               StampedLock lock = embeddedExpiration ? purgeLock(marshalledKey) : null;
+               long stamp = lock != null ? lock.readLock() : 0;
                try {
                   db.put(handle, marshalledKey, marshalledValue);
-                  if (me.expiryTime() > -1) {
+                  if (expiredDb != null && me.expiryTime() > -1) {
                      addNewExpiry(expiredDb, me);
                   }
                } catch (RocksDBException e) {
                   throw new PersistenceException(e);
+               } finally {
+                  if (lock != null) {
+                     lock.unlockRead(stamp);
+                  }
                }
             }, "rocksdb-write");
 
@@ -824,7 +1233,7 @@ private final class NonSegmentedRocksDBHandler extends RocksDBHandler {
 
       private NonSegmentedRocksDBHandler(Path data, Path expired, KeyPartitioner keyPartitioner) throws RocksDBException {
          this.db = open(data, dataDbOptions());
-         this.expiredDb = openDatabase(expired, expiredDbOptions());
+         this.expiredDb = expired != null ? openDatabase(expired, expiredDbOptions()) : null;
          this.keyPartitioner = keyPartitioner;
       }
 
@@ -843,6 +1252,11 @@ ColumnFamilyHandle getHandleForMarshalledKey(byte[] marshalledKey) {
          return defaultColumnFamilyHandle;
       }
 
+      @Override
+      Collection<ColumnFamilyHandle> getHandles() {
+         return Collections.singletonList(defaultColumnFamilyHandle);
+      }
+
       @Override
       RocksDB open(Path location, DBOptions options) throws RocksDBException {
          File dir = location.toFile();
@@ -891,7 +1305,9 @@ void close() {
          defaultColumnFamilyHandle.close();
 
          db.close();
-         expiredDb.close();
+         if (expiredDb != null) {
+            expiredDb.close();
+         }
       }
 
       protected RocksIterator wrapIterator(RocksDB db, ReadOptions readOptions, int segment) {
@@ -933,7 +1349,7 @@ private class SegmentedRocksDBHandler extends RocksDBHandler {
       private SegmentedRocksDBHandler(Path data, Path expired, int segmentCount) throws RocksDBException {
          this.handles = new AtomicReferenceArray<>(segmentCount);
          this.db = open(data, dataDbOptions());
-         this.expiredDb = openDatabase(expired, expiredDbOptions());
+         this.expiredDb = expired != null ? openDatabase(expired, expiredDbOptions()) : null;
       }
 
       byte[] byteArrayFromInt(int val) {
@@ -960,6 +1376,19 @@ ColumnFamilyHandle getHandleForMarshalledKey(byte[] marshalledKey) {
          return getHandle(unmarshall(marshalledKey));
       }
 
+      @Override
+      Collection<ColumnFamilyHandle> getHandles() {
+         List<ColumnFamilyHandle> currentHandles = new ArrayList<>(handles.length());
+         for (int i = 0; i < handles.length(); ++i) {
+            ColumnFamilyHandle handle = handles.get(i);
+            // The handle is null when the segment is not owned
+            if (handle != null) {
+               currentHandles.add(handle);
+            }
+         }
+         return currentHandles;
+      }
+
       @Override
       RocksDB open(Path location, DBOptions options) throws RocksDBException {
          File dir = location.toFile();
@@ -1013,7 +1442,9 @@ void close() {
          }
 
          db.close();
-         expiredDb.close();
+         if (expiredDb != null) {
+            expiredDb.close();
+         }
       }
 
       @Override
@@ -1047,6 +1478,18 @@ <R> Publisher<R> handleIteratorFunction(Function<RocksIterator, Flowable<R>> fun
                .concatMap(RxJavaInterop.identityFunction());
       }
 
+      void ingest(int segment, Path file, boolean moveFile) throws RocksDBException {
+         ColumnFamilyHandle handle = handles.get(segment);
+         if (handle == null) {
+            log.tracef("Ignoring ingestion of %s as handle for segment %d is not currently configured", file, segment);
+            return;
+         }
+         try (IngestExternalFileOptions options = new IngestExternalFileOptions()) {
+            options.setMoveFiles(moveFile);
+            db.ingestExternalFile(handle, Collections.singletonList(file.toString()), options);
+         }
+      }
+
       @Override
       RocksIterator wrapIterator(RocksDB db, ReadOptions readOptions, int segment) {
          ColumnFamilyHandle handle = handles.get(segment);
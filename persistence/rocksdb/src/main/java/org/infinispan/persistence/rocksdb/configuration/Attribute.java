@@ -20,6 +20,7 @@ public enum Attribute {
    EXPIRY_QUEUE_SIZE("expiryQueueSize"),
    IMPLEMENTATION_TYPE("implementationType"),
    LOCATION("location"),
+   MODE("mode"),
    PATH("path"),
    RELATIVE_TO("relative-to"),
    QUEUE_SIZE("queue-size"),
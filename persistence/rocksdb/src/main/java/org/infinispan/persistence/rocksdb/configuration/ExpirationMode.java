@@ -0,0 +1,19 @@
+package org.infinispan.persistence.rocksdb.configuration;
+
+/**
+ * How the {@link org.infinispan.persistence.rocksdb.RocksDBStore} keeps track of the entries that can expire.
+ *
+ * @since 13.0
+ */
+public enum ExpirationMode {
+   /**
+    * Every entry with a lifespan or max idle is also written to a separate database ordered by expiration time,
+    * which is read when purging.
+    */
+   DATABASE,
+   /**
+    * The expiration time is written in front of the value, so that entries can be checked for expiration without
+    * unmarshalling them and no other database is needed. Purging has to read all the entries in the store.
+    */
+   EMBEDDED
+}
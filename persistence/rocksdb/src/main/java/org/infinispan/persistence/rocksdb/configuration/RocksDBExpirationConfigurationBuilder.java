@@ -2,6 +2,7 @@
 
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBExpirationConfiguration.EXPIRED_LOCATION;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBExpirationConfiguration.EXPIRY_QUEUE_SIZE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBExpirationConfiguration.MODE;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
@@ -34,6 +35,15 @@ public RocksDBExpirationConfigurationBuilder expiredLocation(String expiredLocat
       return this;
    }
 
+   /**
+    * Sets how the store keeps track of the entries that can expire. Defaults to {@link ExpirationMode#DATABASE}.
+    * @since 13.0
+    */
+   public RocksDBExpirationConfigurationBuilder mode(ExpirationMode mode) {
+      attributes.attribute(MODE).set(mode);
+      return this;
+   }
+
    /**
     * @deprecated Since 10.1, there is no more queue in {@link org.infinispan.persistence.rocksdb.RocksDBStore}
     */
@@ -85,6 +85,13 @@ public String expiredLocation() {
       return expiration.expiredLocation();
    }
 
+   /**
+    * @since 13.0
+    */
+   public ExpirationMode expirationMode() {
+      return expiration.mode();
+   }
+
    public CompressionType compressionType() {
       return compressionType.get();
    }
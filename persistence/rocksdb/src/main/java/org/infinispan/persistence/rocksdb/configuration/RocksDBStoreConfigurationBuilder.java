@@ -62,6 +62,15 @@ public RocksDBStoreConfigurationBuilder expiredLocation(String expiredLocation)
       return self();
    }
 
+   /**
+    * Sets how the store keeps track of the entries that can expire. Defaults to {@link ExpirationMode#DATABASE}.
+    * @since 13.0
+    */
+   public RocksDBStoreConfigurationBuilder expirationMode(ExpirationMode mode) {
+      expiration.mode(mode);
+      return self();
+   }
+
    public RocksDBStoreConfigurationBuilder blockSize(int blockSize) {
       attributes.attribute(BLOCK_SIZE).set(blockSize);
       return self();
@@ -114,6 +114,10 @@ private void parseExpiry(ConfigurationReader reader, RocksDBStoreConfigurationBu
                builder.expiredLocation(value);
                break;
             }
+            case MODE: {
+               builder.expirationMode(ExpirationMode.valueOf(value));
+               break;
+            }
             case QUEUE_SIZE: {
                if (!reader.getSchema().since(12, 0)) {
                   ignoreAttribute(reader, i);
@@ -1,6 +1,7 @@
 package org.infinispan.persistence.rocksdb.logging;
 
 import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.persistence.rocksdb.configuration.ExpirationMode;
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
@@ -21,4 +22,10 @@ public interface Log extends BasicLogger {
 
    @Message(value = "RocksDB properties %s, contains an unknown property", id = 294)
    CacheConfigurationException rocksDBUnknownPropertiesSupplied(String properties);
+
+   @Message(value = "RocksDB store at '%s' was written with expiration mode %s and cannot be opened with expiration mode %s", id = 23001)
+   CacheConfigurationException expirationModeChanged(String location, ExpirationMode stored, ExpirationMode configured);
+
+   @Message(value = "Loading and exporting segment files requires a segmented RocksDB store", id = 23002)
+   UnsupportedOperationException segmentFilesRequireSegmentedStore();
 }
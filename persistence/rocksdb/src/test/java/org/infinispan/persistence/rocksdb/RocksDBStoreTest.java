@@ -1,6 +1,7 @@
 package org.infinispan.persistence.rocksdb;
 
 import static java.util.Collections.singletonList;
+import static org.infinispan.commons.test.Exceptions.expectCompletionException;
 import static org.infinispan.commons.util.IntSets.immutableSet;
 import static org.infinispan.util.concurrent.CompletionStages.join;
 import static org.testng.AssertJUnit.assertEquals;
@@ -8,6 +9,8 @@
 import static org.testng.AssertJUnit.assertTrue;
 import static org.testng.AssertJUnit.fail;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -16,6 +19,7 @@
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.io.ByteBufferImpl;
 import org.infinispan.commons.test.CommonsTestingUtil;
 import org.infinispan.commons.util.IntSet;
@@ -26,10 +30,12 @@
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.marshall.persistence.impl.MarshalledEntryUtil;
 import org.infinispan.persistence.BaseNonBlockingStoreTest;
+import org.infinispan.persistence.rocksdb.configuration.ExpirationMode;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationBuilder;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.NonBlockingStore;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
 import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
 import org.testng.AssertJUnit;
 import org.testng.annotations.AfterClass;
@@ -43,6 +49,7 @@ public class RocksDBStoreTest extends BaseNonBlockingStoreTest {
 
    private String tmpDirectory = CommonsTestingUtil.tmpDirectory(this.getClass());
    private boolean segmented;
+   private ExpirationMode expirationMode = ExpirationMode.DATABASE;
    public static final String KEY_1 = "key1";
    public static final String KEY_2 = "key2";
 
@@ -56,17 +63,24 @@ public RocksDBStoreTest segmented(boolean segmented) {
       return this;
    }
 
+   public RocksDBStoreTest expirationMode(ExpirationMode expirationMode) {
+      this.expirationMode = expirationMode;
+      return this;
+   }
+
    @Factory
    public Object[] factory() {
       return new Object[] {
             new RocksDBStoreTest().segmented(false),
             new RocksDBStoreTest().segmented(true),
+            new RocksDBStoreTest().segmented(false).expirationMode(ExpirationMode.EMBEDDED),
+            new RocksDBStoreTest().segmented(true).expirationMode(ExpirationMode.EMBEDDED),
       };
    }
 
    @Override
    protected String parameters() {
-      return "[" + segmented + "]";
+      return "[" + segmented + ", " + expirationMode + "]";
    }
 
    @Override
@@ -82,6 +96,7 @@ protected RocksDBStoreConfigurationBuilder createCacheStoreConfig(PersistenceCon
       cfg.segmented(segmented);
       cfg.location(tmpDirectory);
       cfg.expiredLocation(tmpDirectory);
+      cfg.expirationMode(expirationMode);
       cfg.clearThreshold(2);
       return cfg;
    }
@@ -201,6 +216,47 @@ public void testClear() {
       assertEmpty(null);
    }
 
+   public void testExportAndIngestSegmentFile() {
+      if (!segmented) {
+         // Segment files require a column family per segment
+         return;
+      }
+      RocksDBStore<Object, Object> rocksDBStore = (RocksDBStore<Object, Object>) store.delegate();
+      int segment = keyPartitioner.getSegment(KEY_1);
+      MarshallableEntry<Object, Object> me = marshallableEntryFactory.create(KEY_1, "value1");
+      join(rocksDBStore.bulkLoadSegment(segment, Flowable.just(me)));
+      assertEquals("value1", store.loadEntry(KEY_1).getValue());
+
+      Path file = Paths.get(tmpDirectory, "segment.sst");
+      assertEquals(1, (long) join(rocksDBStore.exportSegment(segment, file)));
+
+      store.clear();
+      assertEmpty(null);
+
+      join(rocksDBStore.ingestSegmentFile(segment, file));
+      assertEquals("value1", store.loadEntry(KEY_1).getValue());
+      assertEquals(singletonList(KEY_1), listKeys(null));
+   }
+
+   public void testExpirationModeChangeFails() {
+      store.write(marshallableEntryFactory.create(KEY_1, "value1"));
+      store.stopAndWait();
+
+      ExpirationMode writtenMode = expirationMode;
+      expirationMode = writtenMode == ExpirationMode.DATABASE ? ExpirationMode.EMBEDDED : ExpirationMode.DATABASE;
+      try {
+         Configuration otherConfiguration = buildConfig(TestCacheManagerFactory.getDefaultCacheConfiguration(false));
+         expectCompletionException(CacheConfigurationException.class, CacheConfigurationException.class,
+               "ISPN023001:.*", store.start(createContext(otherConfiguration)));
+      } finally {
+         expirationMode = writtenMode;
+      }
+
+      // The database was closed, it can still be opened with the mode it was written with
+      store.startAndWait(createContext(configuration));
+      assertEquals("value1", store.loadEntry(KEY_1).getValue());
+   }
+
    private void assertEmpty(IntSet segments) {
       assertEquals(0, (long) join(store.size(segments)));
 
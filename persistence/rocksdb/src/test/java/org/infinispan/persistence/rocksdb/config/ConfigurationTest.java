@@ -19,6 +19,7 @@
 import org.infinispan.configuration.parsing.ParserRegistry;
 import org.infinispan.manager.DefaultCacheManager;
 import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.rocksdb.configuration.ExpirationMode;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationBuilder;
 import org.infinispan.test.AbstractInfinispanTest;
@@ -82,5 +83,6 @@ public void testXmlConfig() throws IOException {
       RocksDBStoreConfiguration rocksdbConfig = (RocksDBStoreConfiguration) cacheLoaderConfig;
       assertEquals("/tmp/rocksdb/52/data", rocksdbConfig.location());
       assertEquals("/tmp/rocksdb/52/expired", rocksdbConfig.expiredLocation());
+      assertEquals(ExpirationMode.EMBEDDED, rocksdbConfig.expirationMode());
    }
 }
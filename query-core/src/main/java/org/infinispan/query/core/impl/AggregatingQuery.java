@@ -31,12 +31,39 @@
 
    private final boolean twoPhaseAcc;
 
+   /**
+    * Allows computing the groups on the nodes that own the entries if the base query is not indexed.
+    */
+   private final PartialAggregation partialAggregation;
+
    public AggregatingQuery(QueryFactory queryFactory, AdvancedCache<?, ?> cache,
                            String queryString, Map<String, Object> namedParameters,
                            int noOfGroupingColumns, List<FieldAccumulator> accumulators, boolean twoPhaseAcc,
                            ObjectFilter objectFilter,
                            long startOffset, int maxResults,
                            BaseQuery<?> baseQuery, LocalQueryStatistics queryStatistics, boolean local) {
+      this(queryFactory, cache, queryString, namedParameters, noOfGroupingColumns, accumulators, twoPhaseAcc, null,
+            objectFilter, startOffset, maxResults, baseQuery, queryStatistics, local);
+   }
+
+   public AggregatingQuery(QueryFactory queryFactory, AdvancedCache<?, ?> cache,
+                           String queryString, Map<String, Object> namedParameters,
+                           PartialAggregation partialAggregation,
+                           ObjectFilter objectFilter,
+                           long startOffset, int maxResults,
+                           BaseQuery<?> baseQuery, LocalQueryStatistics queryStatistics, boolean local) {
+      this(queryFactory, cache, queryString, namedParameters, partialAggregation.getNoOfGroupingColumns(),
+            partialAggregation.makeAccumulators(), false, partialAggregation,
+            objectFilter, startOffset, maxResults, baseQuery, queryStatistics, local);
+   }
+
+   private AggregatingQuery(QueryFactory queryFactory, AdvancedCache<?, ?> cache,
+                            String queryString, Map<String, Object> namedParameters,
+                            int noOfGroupingColumns, List<FieldAccumulator> accumulators, boolean twoPhaseAcc,
+                            PartialAggregation partialAggregation,
+                            ObjectFilter objectFilter,
+                            long startOffset, int maxResults,
+                            BaseQuery<?> baseQuery, LocalQueryStatistics queryStatistics, boolean local) {
       super(queryFactory, cache, queryString, namedParameters, objectFilter, startOffset, maxResults, baseQuery, queryStatistics, local);
       if (!baseQuery.hasProjections()) {
          throw new IllegalArgumentException("Base query must use projections");
@@ -47,10 +74,15 @@ public AggregatingQuery(QueryFactory queryFactory, AdvancedCache<?, ?> cache,
       this.noOfGroupingColumns = noOfGroupingColumns;
       this.accumulators = accumulators != null ? accumulators.toArray(new FieldAccumulator[0]) : null;
       this.twoPhaseAcc = twoPhaseAcc;
+      this.partialAggregation = partialAggregation;
    }
 
    @Override
    protected CloseableIterator<?> getBaseIterator() {
+      if (partialAggregation != null && baseQuery instanceof EmbeddedQuery) {
+         // the base query is a full scan of the cache, so group the entries where they are
+         return Closeables.iterator(((EmbeddedQuery<?>) baseQuery).aggregate(partialAggregation).finish());
+      }
       RowGrouper grouper = new RowGrouper(noOfGroupingColumns, accumulators, twoPhaseAcc);
       try (CloseableIterator<Object[]> iterator = baseQuery.iterator()) {
          iterator.forEachRemaining(item -> grouper.addRow(item));
@@ -65,6 +97,7 @@ public String toString() {
             ", namedParameters=" + namedParameters +
             ", noOfGroupingColumns=" + noOfGroupingColumns +
             ", accumulators=" + Arrays.toString(accumulators) +
+            ", partialAggregation=" + partialAggregation +
             ", projection=" + Arrays.toString(projection) +
             ", startOffset=" + startOffset +
             ", maxResults=" + maxResults +
@@ -66,6 +66,24 @@ protected Comparator<Comparable<?>[]> getComparator() {
 
    @Override
    protected CloseableIterator<ObjectFilter.FilterResult> getInternalIterator() {
+      return Closeables.iterator(filterAndConvert());
+   }
+
+   /**
+    * Groups the matching entries and computes the aggregations on the nodes that own them, so that only the partial
+    * groups are transferred to this node and merged.
+    */
+   PartialAggregation.Groups aggregate(PartialAggregation partialAggregation) {
+      partitionHandlingSupport.checkCacheAvailable();
+      PartialAggregation.Groups groups;
+      try (CacheStream<ObjectFilter.FilterResult> resultStream = filterAndConvert()) {
+         groups = resultStream.collect(partialAggregation, PartialAggregation.ACCUMULATOR, PartialAggregation.COMBINER);
+      }
+      // there is no partial result at all if there were no segments to process
+      return groups != null ? groups : partialAggregation.get();
+   }
+
+   private CacheStream<ObjectFilter.FilterResult> filterAndConvert() {
       IckleFilterAndConverter<Object, Object> ickleFilter = (IckleFilterAndConverter<Object, Object>) createFilter();
       AdvancedCache<Object, Object> cache = (AdvancedCache<Object, Object>) this.cache;
 
@@ -79,7 +97,7 @@ protected CloseableIterator<ObjectFilter.FilterResult> getInternalIterator() {
       if (timeout > 0) {
          resultStream = resultStream.timeout(timeout, TimeUnit.NANOSECONDS);
       }
-      return Closeables.iterator(resultStream);
+      return resultStream;
    }
 
    @Override
@@ -21,4 +21,6 @@ public interface ExternalizerIds {
    Integer ICKLE_CONTINUOUS_QUERY_CACHE_EVENT_FILTER_CONVERTER = 1616;
 
    Integer ICKLE_CONTINUOUS_QUERY_RESULT = 1617;
+
+   Integer ICKLE_PARTIAL_AGGREGATION = 1618;
 }
@@ -0,0 +1,280 @@
+package org.infinispan.query.core.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.commons.util.Util;
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.aggregation.Counter;
+import org.infinispan.objectfilter.impl.aggregation.DoubleStat;
+import org.infinispan.objectfilter.impl.aggregation.FieldAccumulator;
+import org.infinispan.objectfilter.impl.aggregation.RowGrouper;
+import org.infinispan.objectfilter.impl.ql.AggregationFunction;
+
+/**
+ * Describes the grouping and the aggregations of a query so that they can be computed on the nodes that own the
+ * entries. Each node sends back only its {@link Groups}, with the accumulators not yet finished, and the originator
+ * merges them. This is the supplier of a {@link org.infinispan.CacheStream#collect(Supplier, BiConsumer, BiConsumer)}
+ * over the {@link ObjectFilter.FilterResult}s of the first phase query, used with {@link #ACCUMULATOR} and
+ * {@link #COMBINER}.
+ *
+ * @since 13.0
+ */
+public final class PartialAggregation implements Supplier<PartialAggregation.Groups> {
+
+   public static final BiConsumer<Groups, ObjectFilter.FilterResult> ACCUMULATOR = new Accumulator();
+
+   public static final BiConsumer<Groups, Groups> COMBINER = new Combiner();
+
+   /**
+    * The number of columns at the beginning of the row that are used as group key.
+    */
+   private final int noOfGroupingColumns;
+
+   private final List<Aggregation> aggregations;
+
+   public PartialAggregation(int noOfGroupingColumns, List<Aggregation> aggregations) {
+      this.noOfGroupingColumns = noOfGroupingColumns;
+      this.aggregations = aggregations;
+   }
+
+   public int getNoOfGroupingColumns() {
+      return noOfGroupingColumns;
+   }
+
+   public List<FieldAccumulator> makeAccumulators() {
+      List<FieldAccumulator> accumulators = new ArrayList<>(aggregations.size());
+      for (Aggregation aggregation : aggregations) {
+         accumulators.add(FieldAccumulator.makeAccumulator(aggregation.function, aggregation.inColumn, aggregation.outColumn, aggregation.propertyType));
+      }
+      return accumulators;
+   }
+
+   @Override
+   public Groups get() {
+      return new Groups(this);
+   }
+
+   @Override
+   public String toString() {
+      return "PartialAggregation{" +
+            "noOfGroupingColumns=" + noOfGroupingColumns +
+            ", aggregations=" + aggregations +
+            '}';
+   }
+
+   /**
+    * An aggregation function applied on a column of the rows projected by the first phase query.
+    */
+   public static final class Aggregation {
+
+      private final AggregationFunction function;
+
+      private final int inColumn;
+
+      private final int outColumn;
+
+      private final Class<?> propertyType;
+
+      public Aggregation(AggregationFunction function, int inColumn, int outColumn, Class<?> propertyType) {
+         this.function = function;
+         this.inColumn = inColumn;
+         this.outColumn = outColumn;
+         this.propertyType = propertyType;
+      }
+
+      @Override
+      public String toString() {
+         return function + "(" + inColumn + ") -> " + outColumn;
+      }
+   }
+
+   /**
+    * The groups computed over a subset of the entries.
+    */
+   public static final class Groups {
+
+      private final PartialAggregation partialAggregation;
+
+      private final RowGrouper grouper;
+
+      private Groups(PartialAggregation partialAggregation) {
+         this.partialAggregation = partialAggregation;
+         grouper = new RowGrouper(partialAggregation.noOfGroupingColumns,
+               partialAggregation.makeAccumulators().toArray(new FieldAccumulator[0]), false);
+      }
+
+      /**
+       * Finishes the accumulators and returns the rows of the groups.
+       */
+      public Iterator<Object[]> finish() {
+         return grouper.finish();
+      }
+   }
+
+   private static final class Accumulator implements BiConsumer<Groups, ObjectFilter.FilterResult> {
+
+      @Override
+      public void accept(Groups groups, ObjectFilter.FilterResult filterResult) {
+         groups.grouper.addRow(filterResult.getProjection());
+      }
+   }
+
+   private static final class Combiner implements BiConsumer<Groups, Groups> {
+
+      @Override
+      public void accept(Groups groups, Groups other) {
+         for (Object[] row : other.grouper.partialResults()) {
+            groups.grouper.mergePartialRow(row);
+         }
+      }
+   }
+
+   public static final class Externalizer extends AbstractExternalizer<Object> {
+
+      private static final byte PARTIAL_AGGREGATION = 0;
+      private static final byte GROUPS = 1;
+      private static final byte ACCUMULATOR_FUNCTION = 2;
+      private static final byte COMBINER_FUNCTION = 3;
+
+      private static final byte VALUE = 0;
+      private static final byte COUNTER = 1;
+      private static final byte DOUBLE_STAT = 2;
+
+      @Override
+      public void writeObject(ObjectOutput output, Object object) throws IOException {
+         if (object instanceof PartialAggregation) {
+            output.writeByte(PARTIAL_AGGREGATION);
+            writePartialAggregation(output, (PartialAggregation) object);
+         } else if (object instanceof Groups) {
+            output.writeByte(GROUPS);
+            Groups groups = (Groups) object;
+            writePartialAggregation(output, groups.partialAggregation);
+            List<Object[]> rows = groups.grouper.partialResults();
+            UnsignedNumeric.writeUnsignedInt(output, rows.size());
+            for (Object[] row : rows) {
+               for (int i = 0; i < row.length; i++) {
+                  writeValue(output, row[i]);
+               }
+            }
+         } else if (object instanceof Accumulator) {
+            output.writeByte(ACCUMULATOR_FUNCTION);
+         } else {
+            output.writeByte(COMBINER_FUNCTION);
+         }
+      }
+
+      @Override
+      public Object readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         byte type = input.readByte();
+         switch (type) {
+            case PARTIAL_AGGREGATION:
+               return readPartialAggregation(input);
+            case GROUPS:
+               PartialAggregation partialAggregation = readPartialAggregation(input);
+               Groups groups = partialAggregation.get();
+               int rowLength = partialAggregation.noOfGroupingColumns + partialAggregation.aggregations.size();
+               int numRows = UnsignedNumeric.readUnsignedInt(input);
+               for (int i = 0; i < numRows; i++) {
+                  Object[] row = new Object[rowLength];
+                  for (int j = 0; j < rowLength; j++) {
+                     row[j] = readValue(input);
+                  }
+                  groups.grouper.mergePartialRow(row);
+               }
+               return groups;
+            case ACCUMULATOR_FUNCTION:
+               return ACCUMULATOR;
+            case COMBINER_FUNCTION:
+               return COMBINER;
+            default:
+               throw new IllegalStateException("Unknown type: " + type);
+         }
+      }
+
+      private static void writePartialAggregation(ObjectOutput output, PartialAggregation partialAggregation) throws IOException {
+         UnsignedNumeric.writeUnsignedInt(output, partialAggregation.noOfGroupingColumns);
+         UnsignedNumeric.writeUnsignedInt(output, partialAggregation.aggregations.size());
+         for (Aggregation aggregation : partialAggregation.aggregations) {
+            output.writeByte(aggregation.function.ordinal());
+            UnsignedNumeric.writeUnsignedInt(output, aggregation.inColumn);
+            UnsignedNumeric.writeUnsignedInt(output, aggregation.outColumn);
+            output.writeObject(aggregation.propertyType);
+         }
+      }
+
+      private static PartialAggregation readPartialAggregation(ObjectInput input) throws IOException, ClassNotFoundException {
+         int noOfGroupingColumns = UnsignedNumeric.readUnsignedInt(input);
+         int size = UnsignedNumeric.readUnsignedInt(input);
+         List<Aggregation> aggregations = new ArrayList<>(size);
+         for (int i = 0; i < size; i++) {
+            AggregationFunction function = AggregationFunction.values()[input.readByte()];
+            int inColumn = UnsignedNumeric.readUnsignedInt(input);
+            int outColumn = UnsignedNumeric.readUnsignedInt(input);
+            Class<?> propertyType = (Class<?>) input.readObject();
+            aggregations.add(new Aggregation(function, inColumn, outColumn, propertyType));
+         }
+         return new PartialAggregation(noOfGroupingColumns, aggregations);
+      }
+
+      /**
+       * Writes a grouping value or the state of an accumulator that is not finished yet.
+       */
+      private static void writeValue(ObjectOutput output, Object value) throws IOException {
+         if (value instanceof Counter) {
+            output.writeByte(COUNTER);
+            output.writeLong(((Counter) value).getValue());
+         } else if (value instanceof DoubleStat) {
+            DoubleStat doubleStat = (DoubleStat) value;
+            output.writeByte(DOUBLE_STAT);
+            output.writeLong(doubleStat.getCount());
+            if (doubleStat.getCount() > 0) {
+               output.writeDouble(doubleStat.getSum());
+            }
+         } else {
+            output.writeByte(VALUE);
+            output.writeObject(value);
+         }
+      }
+
+      private static Object readValue(ObjectInput input) throws IOException, ClassNotFoundException {
+         byte type = input.readByte();
+         switch (type) {
+            case VALUE:
+               return input.readObject();
+            case COUNTER:
+               Counter counter = new Counter();
+               counter.add(input.readLong());
+               return counter;
+            case DOUBLE_STAT:
+               DoubleStat doubleStat = new DoubleStat();
+               long count = input.readLong();
+               if (count > 0) {
+                  doubleStat.update(input.readDouble(), count);
+               }
+               return doubleStat;
+            default:
+               throw new IllegalStateException("Unknown value type: " + type);
+         }
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.ICKLE_PARTIAL_AGGREGATION;
+      }
+
+      @Override
+      public Set<Class<?>> getTypeClasses() {
+         return Util.<Class<?>>asSet(PartialAggregation.class, Groups.class, Accumulator.class, Combiner.class);
+      }
+   }
+}
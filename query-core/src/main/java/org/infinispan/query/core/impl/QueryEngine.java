@@ -176,7 +176,7 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
       }
 
       LinkedHashMap<String, Integer> inColumns = new LinkedHashMap<>();
-      List<FieldAccumulator> accumulators = new LinkedList<>();
+      List<PartialAggregation.Aggregation> aggregations = new ArrayList<>();
       RowPropertyHelper.ColumnMetadata[] _columns = new RowPropertyHelper.ColumnMetadata[columns.size()];
       for (PropertyPath<?> p : columns.keySet()) {
          RowPropertyHelper.ColumnMetadata c = columns.get(p);
@@ -188,8 +188,7 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
             inColumns.put(asStringPath, inIdx);
          }
          if (p instanceof AggregationPropertyPath) {
-            FieldAccumulator acc = FieldAccumulator.makeAccumulator(((AggregationPropertyPath) p).getAggregationFunction(), inIdx, c.getColumnIndex(), c.getPropertyType());
-            accumulators.add(acc);
+            aggregations.add(new PartialAggregation.Aggregation(((AggregationPropertyPath) p).getAggregationFunction(), inIdx, c.getColumnIndex(), c.getPropertyType()));
          }
       }
 
@@ -255,7 +254,7 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
       // second phase: grouping, aggregation, 'having' clause filtering, sorting and pagination
       String secondPhaseQueryStr = secondPhaseQuery.toString();
       return new AggregatingQuery<>(queryFactory, cache, secondPhaseQueryStr, namedParameters,
-            noOfGroupingColumns, accumulators, false,
+            new PartialAggregation(noOfGroupingColumns, aggregations),
             getObjectFilter(new RowMatcher(_columns), secondPhaseQueryStr, namedParameters, null),
             startOffset, maxResults, baseQuery, queryStatistics, local);
    }
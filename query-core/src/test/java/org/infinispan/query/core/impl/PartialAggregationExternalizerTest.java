@@ -0,0 +1,137 @@
+package org.infinispan.query.core.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.ql.AggregationFunction;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the partial groups computed on a node, with the state of the unfinished accumulators, survive being
+ * marshalled to the originator.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "query.core.impl.PartialAggregationExternalizerTest")
+public class PartialAggregationExternalizerTest {
+
+   private static final Object[][] ROWS = {
+         {"a", 1, 1.5d},
+         {"b", 2, 2.5d},
+         {"a", 3, null},
+         {"c", null, 4.0d},
+         {"b", 5, 0.5d},
+         {"a", 7, 3.0d},
+         {"d", null, null}
+   };
+
+   private final PartialAggregation.Externalizer externalizer = new PartialAggregation.Externalizer();
+
+   private static PartialAggregation makePartialAggregation() {
+      return new PartialAggregation(1, Arrays.asList(
+            new PartialAggregation.Aggregation(AggregationFunction.COUNT, 1, 1, Integer.class),
+            new PartialAggregation.Aggregation(AggregationFunction.SUM, 1, 2, Integer.class),
+            new PartialAggregation.Aggregation(AggregationFunction.AVG, 2, 3, Double.class),
+            new PartialAggregation.Aggregation(AggregationFunction.SUM, 2, 4, Double.class),
+            new PartialAggregation.Aggregation(AggregationFunction.MIN, 2, 5, Double.class),
+            new PartialAggregation.Aggregation(AggregationFunction.MAX, 1, 6, Integer.class)));
+   }
+
+   public void testGroupsRoundTrip() throws Exception {
+      PartialAggregation partialAggregation = makePartialAggregation();
+      PartialAggregation.Groups expected = partialAggregation.get();
+      PartialAggregation.Groups groups = partialAggregation.get();
+      for (Object[] row : ROWS) {
+         PartialAggregation.ACCUMULATOR.accept(expected, new ProjectionResult(row));
+         PartialAggregation.ACCUMULATOR.accept(groups, new ProjectionResult(row));
+      }
+
+      assertSameRows(expected.finish(), ((PartialAggregation.Groups) roundTrip(groups)).finish());
+   }
+
+   public void testCombineRoundTrippedGroups() throws Exception {
+      PartialAggregation partialAggregation = (PartialAggregation) roundTrip(makePartialAggregation());
+      PartialAggregation.Groups expected = partialAggregation.get();
+      PartialAggregation.Groups first = partialAggregation.get();
+      PartialAggregation.Groups second = partialAggregation.get();
+      for (int i = 0; i < ROWS.length; i++) {
+         PartialAggregation.ACCUMULATOR.accept(expected, new ProjectionResult(ROWS[i]));
+         PartialAggregation.ACCUMULATOR.accept(i % 2 == 0 ? first : second, new ProjectionResult(ROWS[i]));
+      }
+
+      // Each node sends its groups to the originator, which combines them
+      PartialAggregation.Groups merged = partialAggregation.get();
+      PartialAggregation.COMBINER.accept(merged, (PartialAggregation.Groups) roundTrip(first));
+      PartialAggregation.COMBINER.accept(merged, (PartialAggregation.Groups) roundTrip(second));
+      PartialAggregation.COMBINER.accept(merged, (PartialAggregation.Groups) roundTrip(partialAggregation.get()));
+
+      assertSameRows(expected.finish(), merged.finish());
+   }
+
+   public void testFunctionsRoundTrip() throws Exception {
+      assertSame(PartialAggregation.ACCUMULATOR, roundTrip(PartialAggregation.ACCUMULATOR));
+      assertSame(PartialAggregation.COMBINER, roundTrip(PartialAggregation.COMBINER));
+   }
+
+   private Object roundTrip(Object object) throws IOException, ClassNotFoundException {
+      byte[] buffer;
+      try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+         try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            externalizer.writeObject(oos, object);
+         }
+         buffer = baos.toByteArray();
+      }
+      try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buffer))) {
+         return externalizer.readObject(ois);
+      }
+   }
+
+   private void assertSameRows(Iterator<Object[]> expected, Iterator<Object[]> actual) {
+      List<List<Object>> expectedRows = new ArrayList<>();
+      expected.forEachRemaining(row -> expectedRows.add(Arrays.asList(row)));
+      List<List<Object>> actualRows = new ArrayList<>();
+      actual.forEachRemaining(row -> actualRows.add(Arrays.asList(row)));
+      // The combined groups are not in the order they were first seen
+      Comparator<List<Object>> byGroup = Comparator.comparing(row -> (String) row.get(0));
+      expectedRows.sort(byGroup);
+      actualRows.sort(byGroup);
+      assertEquals(4, expectedRows.size());
+      assertEquals(expectedRows, actualRows);
+   }
+
+   private static final class ProjectionResult implements ObjectFilter.FilterResult {
+
+      private final Object[] projection;
+
+      ProjectionResult(Object[] projection) {
+         this.projection = projection.clone();
+      }
+
+      @Override
+      public Object getInstance() {
+         return null;
+      }
+
+      @Override
+      public Object[] getProjection() {
+         return projection;
+      }
+
+      @Override
+      public Comparable[] getSortProjection() {
+         return null;
+      }
+   }
+}
@@ -37,6 +37,15 @@ public interface Indexer {
     */
    CompletionStage<Void> remove(Class<?>... entities);
 
+   /**
+    * Waits until the index changes of the writes completed before this call are applied on all the nodes, and
+    * refreshes the indexes so that queries see them. This is only needed when the index writer is configured as async,
+    * because otherwise the writes complete after their index changes.
+    *
+    * @since 13.0
+    */
+   CompletionStage<Void> awaitIndexing();
+
    /**
     * @return true if the indexer process was started on this node and has not finished yet.
     */
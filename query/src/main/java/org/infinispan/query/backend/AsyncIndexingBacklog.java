@@ -0,0 +1,125 @@
+package org.infinispan.query.backend;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.query.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Keeps track of the index changes that are applied in the background when the index writer is configured as {@link
+ * org.infinispan.configuration.cache.IndexWriterConfiguration#isAsync() async}.
+ * <p>
+ * The changes are still queued and batched by the Hibernate Search backend, with one queue per index shard, and they
+ * are committed together every {@code commit-interval}. The write operations just do not wait for them anymore, unless
+ * the oldest pending change has been waiting for more than {@code max-lag}: in that case the writers wait for their own
+ * changes, so that they cannot outpace the index indefinitely.
+ *
+ * @since 13.0
+ */
+@MBean(objectName = "AsyncIndexing", description = "Index changes applied in the background")
+public final class AsyncIndexingBacklog {
+
+   private static final Log log = LogFactory.getLog(AsyncIndexingBacklog.class, Log.class);
+
+   private final TimeService timeService;
+
+   private final long maxLagNanos;
+
+   private final AtomicLong sequence = new AtomicLong();
+
+   /**
+    * The pending changes, in the order they were submitted.
+    */
+   private final ConcurrentSkipListMap<Long, PendingChange> pending = new ConcurrentSkipListMap<>();
+
+   private final AtomicInteger pendingCount = new AtomicInteger();
+
+   public AsyncIndexingBacklog(TimeService timeService, long maxLag, TimeUnit unit) {
+      this.timeService = timeService;
+      this.maxLagNanos = unit.toNanos(maxLag);
+   }
+
+   /**
+    * Tracks an index change until it is applied.
+    *
+    * @param key    the key of the changed entry, used for logging if the change fails
+    * @param change the index change, as returned by the {@link org.infinispan.search.mapper.work.SearchIndexer}
+    * @return {@code true} if the index is lagging behind by more than {@code max-lag} and the caller should wait for
+    * the change
+    */
+   boolean track(Object key, CompletableFuture<?> change) {
+      if (!change.isDone()) {
+         long id = sequence.incrementAndGet();
+         PendingChange pendingChange = new PendingChange(timeService.time());
+         pending.put(id, pendingChange);
+         pendingCount.incrementAndGet();
+         change.whenComplete((ignore, t) -> {
+            pending.remove(id);
+            pendingCount.decrementAndGet();
+            if (t != null) {
+               log.asyncIndexingFailed(key, t);
+            }
+            pendingChange.applied.complete(null);
+         });
+      } else if (change.isCompletedExceptionally()) {
+         change.whenComplete((ignore, t) -> log.asyncIndexingFailed(key, t));
+      }
+      return getLagNanos() > maxLagNanos;
+   }
+
+   /**
+    * @return a stage that completes when all the changes submitted before this call are applied. Failed changes are
+    * logged when they fail, and they do not fail the returned stage.
+    */
+   public CompletableFuture<Void> awaitPending() {
+      long last = sequence.get();
+      return CompletableFuture.allOf(pending.headMap(last, true).values().stream()
+            .map(change -> change.applied)
+            .toArray(CompletableFuture[]::new));
+   }
+
+   private long getLagNanos() {
+      Map.Entry<Long, PendingChange> oldest = pending.firstEntry();
+      return oldest == null ? 0 : timeService.timeDuration(oldest.getValue().submitTime, TimeUnit.NANOSECONDS);
+   }
+
+   @ManagedAttribute(description = "Number of index changes waiting to be applied", displayName = "Pending index changes")
+   public int getPendingCount() {
+      return pendingCount.get();
+   }
+
+   @ManagedAttribute(description = "Time the oldest pending index change has been waiting to be applied",
+         displayName = "Index lag", units = Units.MILLISECONDS)
+   public long getLag() {
+      return TimeUnit.NANOSECONDS.toMillis(getLagNanos());
+   }
+
+   @ManagedAttribute(description = "Index lag above which the write operations wait for their index changes",
+         displayName = "Maximum index lag", units = Units.MILLISECONDS)
+   public long getMaxLag() {
+      return TimeUnit.NANOSECONDS.toMillis(maxLagNanos);
+   }
+
+   private static final class PendingChange {
+
+      final long submitTime;
+
+      /**
+       * Completed after the change is applied and no longer tracked, even if it failed.
+       */
+      final CompletableFuture<Void> applied = new CompletableFuture<>();
+
+      PendingChange(long submitTime) {
+         this.submitTime = submitTime;
+      }
+   }
+}
@@ -95,12 +95,23 @@ public String toString() {
    private final boolean isManualIndexing;
    private final AdvancedCache<?, ?> cache;
    private final Map<String, Class<?>> indexedClasses;
+   private final AsyncIndexingBacklog asyncIndexingBacklog;
 
    private SearchMapping searchMapping;
    private SegmentListener segmentListener;
 
    public QueryInterceptor(boolean isManualIndexing, ConcurrentMap<GlobalTransaction, Map<Object, Object>> txOldValues,
                            AdvancedCache<?, ?> cache, Map<String, Class<?>> indexedClasses) {
+      this(isManualIndexing, txOldValues, cache, indexedClasses, null);
+   }
+
+   /**
+    * @param asyncIndexingBacklog if not {@code null}, the write operations do not wait for their index changes, unless
+    *                             the index is lagging behind
+    */
+   public QueryInterceptor(boolean isManualIndexing, ConcurrentMap<GlobalTransaction, Map<Object, Object>> txOldValues,
+                           AdvancedCache<?, ?> cache, Map<String, Class<?>> indexedClasses,
+                           AsyncIndexingBacklog asyncIndexingBacklog) {
       this.isManualIndexing = isManualIndexing;
       this.txOldValues = txOldValues;
       this.valueDataConversion = cache.getValueDataConversion();
@@ -108,6 +119,7 @@ public QueryInterceptor(boolean isManualIndexing, ConcurrentMap<GlobalTransactio
       this.isPersistenceEnabled = cache.getCacheConfiguration().persistence().usingStores();
       this.cache = cache;
       this.indexedClasses = Collections.unmodifiableMap(indexedClasses);
+      this.asyncIndexingBacklog = asyncIndexingBacklog;
    }
 
    @Start
@@ -416,6 +428,9 @@ && shouldModifyIndexes(command, ctx, storedKey)) {
       } else if (log.isTraceEnabled()) {
          log.tracef("Update not needed for %s", newValue);
       }
+      if (asyncIndexingBacklog != null && !asyncIndexingBacklog.track(key, operation)) {
+         return CompletableFutures.completedNull();
+      }
       return operation;
    }
 
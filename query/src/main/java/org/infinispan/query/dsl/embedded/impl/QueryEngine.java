@@ -43,6 +43,7 @@
 import org.infinispan.query.core.impl.EmbeddedQuery;
 import org.infinispan.query.core.impl.EmptyResultQuery;
 import org.infinispan.query.core.impl.HybridQuery;
+import org.infinispan.query.core.impl.PartialAggregation;
 import org.infinispan.query.dsl.Query;
 import org.infinispan.query.dsl.QueryFactory;
 import org.infinispan.query.dsl.impl.BaseQuery;
@@ -189,7 +190,7 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
       }
 
       LinkedHashMap<String, Integer> inColumns = new LinkedHashMap<>();
-      List<FieldAccumulator> accumulators = new LinkedList<>();
+      List<PartialAggregation.Aggregation> aggregations = new ArrayList<>();
       RowPropertyHelper.ColumnMetadata[] _columns = new RowPropertyHelper.ColumnMetadata[columns.size()];
       for (PropertyPath<?> p : columns.keySet()) {
          RowPropertyHelper.ColumnMetadata c = columns.get(p);
@@ -201,8 +202,7 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
             inColumns.put(asStringPath, inIdx);
          }
          if (p instanceof AggregationPropertyPath) {
-            FieldAccumulator acc = FieldAccumulator.makeAccumulator(((AggregationPropertyPath) p).getAggregationFunction(), inIdx, c.getColumnIndex(), c.getPropertyType());
-            accumulators.add(acc);
+            aggregations.add(new PartialAggregation.Aggregation(((AggregationPropertyPath) p).getAggregationFunction(), inIdx, c.getColumnIndex(), c.getPropertyType()));
          }
       }
 
@@ -268,7 +268,7 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
       // second phase: grouping, aggregation, 'having' clause filtering, sorting and pagination
       String secondPhaseQueryStr = secondPhaseQuery.toString();
       return new AggregatingQuery<>(queryFactory, cache, secondPhaseQueryStr, namedParameters,
-            noOfGroupingColumns, accumulators, false,
+            new PartialAggregation(noOfGroupingColumns, aggregations),
             getObjectFilter(new RowMatcher(_columns), secondPhaseQueryStr, namedParameters, null),
             startOffset, maxResults, baseQuery, queryStatistics, local);
    }
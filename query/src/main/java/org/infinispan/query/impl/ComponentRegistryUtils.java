@@ -7,13 +7,16 @@
 import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.query.Indexer;
+import org.infinispan.query.backend.AsyncIndexingBacklog;
 import org.infinispan.query.backend.KeyTransformationHandler;
 import org.infinispan.query.backend.QueryInterceptor;
 import org.infinispan.query.core.impl.QueryCache;
 import org.infinispan.query.core.stats.impl.LocalQueryStatistics;
 import org.infinispan.query.core.stats.impl.SearchStatsRetriever;
 import org.infinispan.query.dsl.embedded.impl.QueryEngine;
+import org.infinispan.query.impl.massindex.MassIndexerProgressMonitor;
 import org.infinispan.search.mapper.mapping.SearchMapping;
+import org.infinispan.util.concurrent.BlockingManager;
 
 /**
  * Lookup methods for various internal components of search module.
@@ -51,6 +54,13 @@ public static KeyPartitioner getKeyPartitioner(Cache<?, ?> cache) {
       return getRequiredComponent(cache, KeyPartitioner.class);
    }
 
+   /**
+    * Returns the optional AsyncIndexingBacklog, present only if the index changes are applied asynchronously.
+    */
+   public static AsyncIndexingBacklog getAsyncIndexingBacklog(Cache<?, ?> cache) {
+      return SecurityActions.getCacheComponentRegistry(cache.getAdvancedCache()).getComponent(AsyncIndexingBacklog.class);
+   }
+
    public static QueryInterceptor getQueryInterceptor(Cache<?, ?> cache) {
       ensureIndexed(cache);
       return getRequiredComponent(cache, QueryInterceptor.class);
@@ -77,6 +87,14 @@ public static TimeService getTimeService(Cache<?, ?> cache) {
       return getRequiredComponent(cache, TimeService.class);
    }
 
+   public static BlockingManager getBlockingManager(Cache<?, ?> cache) {
+      return getRequiredComponent(cache, BlockingManager.class);
+   }
+
+   public static MassIndexerProgressMonitor getMassIndexerProgressMonitor(Cache<?, ?> cache) {
+      return getRequiredComponent(cache, MassIndexerProgressMonitor.class);
+   }
+
    /**
     * Returns the optional QueryCache.
     */
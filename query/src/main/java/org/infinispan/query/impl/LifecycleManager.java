@@ -12,6 +12,7 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.management.ObjectName;
 
@@ -22,10 +23,12 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.AggregatedClassLoader;
 import org.infinispan.commons.util.ServiceFinder;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.IndexWriterConfiguration;
 import org.infinispan.configuration.cache.IndexingConfiguration;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.factories.ComponentRegistry;
@@ -43,6 +46,7 @@
 import org.infinispan.query.Indexer;
 import org.infinispan.query.Search;
 import org.infinispan.query.Transformer;
+import org.infinispan.query.backend.AsyncIndexingBacklog;
 import org.infinispan.query.backend.KeyTransformationHandler;
 import org.infinispan.query.backend.QueryInterceptor;
 import org.infinispan.query.backend.TxQueryInterceptor;
@@ -65,7 +69,9 @@
 import org.infinispan.query.impl.externalizers.LuceneTotalHitsExternalizer;
 import org.infinispan.query.impl.externalizers.PojoRawTypeIdentifierExternalizer;
 import org.infinispan.query.impl.massindex.DistributedExecutorMassIndexer;
+import org.infinispan.query.impl.massindex.MassIndexerProgressMonitor;
 import org.infinispan.query.impl.massindex.IndexWorker;
+import org.infinispan.query.impl.massindex.IndexingBarrier;
 import org.infinispan.query.stats.impl.LocalIndexStatistics;
 import org.infinispan.registry.InternalCacheRegistry;
 import org.infinispan.registry.InternalCacheRegistry.Flag;
@@ -124,6 +130,8 @@ public void cacheStarting(ComponentRegistry cr, Configuration cfg, String cacheN
 
             Indexer massIndexer = new DistributedExecutorMassIndexer(cache);
             cr.registerComponent(massIndexer, Indexer.class);
+            TimeService timeService = cr.getGlobalComponentRegistry().getComponent(TimeService.class);
+            cr.registerComponent(new MassIndexerProgressMonitor(timeService), MassIndexerProgressMonitor.class);
             if (searchMapping != null) {
                BasicComponentRegistry bcr = cr.getComponent(BasicComponentRegistry.class);
                bcr.replaceComponent(IndexStatistics.class.getName(), new LocalIndexStatistics(), true);
@@ -178,7 +186,16 @@ private void createQueryInterceptorIfNeeded(ComponentRegistry cr, Configuration
       boolean manualIndexing = HS5_CONF_STRATEGY_MANUAL.equals(
             cfg.indexing().properties().get(HS5_CONF_STRATEGY_PROPERTY));
 
-      QueryInterceptor queryInterceptor = new QueryInterceptor(manualIndexing, txOldValues, cache, indexedClasses);
+      AsyncIndexingBacklog asyncIndexingBacklog = null;
+      IndexWriterConfiguration writerConfiguration = cfg.indexing().writer();
+      if (writerConfiguration.isAsync()) {
+         TimeService timeService = cr.getGlobalComponentRegistry().getComponent(TimeService.class);
+         asyncIndexingBacklog = new AsyncIndexingBacklog(timeService, writerConfiguration.getMaxLag(), TimeUnit.MILLISECONDS);
+         cr.registerComponent(asyncIndexingBacklog, AsyncIndexingBacklog.class);
+      }
+
+      QueryInterceptor queryInterceptor = new QueryInterceptor(manualIndexing, txOldValues, cache, indexedClasses,
+            asyncIndexingBacklog);
 
       AsyncInterceptorChain ic = bcr.getComponent(AsyncInterceptorChain.class).wired();
 
@@ -220,15 +237,23 @@ public void cacheStarted(ComponentRegistry cr, String cacheName) {
       InfinispanQueryStatisticsInfo stats = new InfinispanQueryStatisticsInfo(Search.getSearchStatistics(cache), SecurityActions.getCacheComponentRegistry(cache).getComponent(Authorizer.class));
       cr.registerComponent(stats, InfinispanQueryStatisticsInfo.class);
 
-      registerQueryMBeans(cr, massIndexer, stats);
+      AsyncIndexingBacklog asyncIndexingBacklog = cr.getComponent(AsyncIndexingBacklog.class);
+      MassIndexerProgressMonitor massIndexerProgress = cr.getComponent(MassIndexerProgressMonitor.class);
+
+      registerQueryMBeans(cr, massIndexer, massIndexerProgress, stats, asyncIndexingBacklog);
 
-      registerMetrics(cr, stats);
+      registerMetrics(cr, stats, massIndexerProgress, asyncIndexingBacklog);
    }
 
-   private void registerMetrics(ComponentRegistry cr, InfinispanQueryStatisticsInfo stats) {
+   private void registerMetrics(ComponentRegistry cr, InfinispanQueryStatisticsInfo stats,
+                                MassIndexerProgressMonitor massIndexerProgress, AsyncIndexingBacklog asyncIndexingBacklog) {
       CacheMetricsRegistration cacheMetricsRegistration = cr.getComponent(CacheMetricsRegistration.class);
       if (cacheMetricsRegistration.metricsEnabled()) {
          cacheMetricsRegistration.registerMetrics(stats, "query", "statistics");
+         cacheMetricsRegistration.registerMetrics(massIndexerProgress, "query", "mass_indexer");
+         if (asyncIndexingBacklog != null) {
+            cacheMetricsRegistration.registerMetrics(asyncIndexingBacklog, "query", "async_indexing");
+         }
       }
    }
 
@@ -251,7 +276,9 @@ private void checkIndexableClasses(SearchMapping searchMapping, Set<Class<?>> in
    /**
     * Register query statistics and mass-indexer MBeans for a cache.
     */
-   private void registerQueryMBeans(ComponentRegistry cr, Indexer massIndexer, InfinispanQueryStatisticsInfo stats) {
+   private void registerQueryMBeans(ComponentRegistry cr, Indexer massIndexer,
+                                    MassIndexerProgressMonitor massIndexerProgress, InfinispanQueryStatisticsInfo stats,
+                                    AsyncIndexingBacklog asyncIndexingBacklog) {
       GlobalConfiguration globalConfig = cr.getGlobalComponentRegistry().getGlobalConfiguration();
       if (globalConfig.jmx().enabled()) {
          Cache<?, ?> cache = cr.getComponent(Cache.class);
@@ -267,6 +294,18 @@ private void registerQueryMBeans(ComponentRegistry cr, Indexer massIndexer, Infi
          } catch (Exception e) {
             throw new CacheException("Unable to register MassIndexer MBean", e);
          }
+         try {
+            jmxRegistration.registerMBean(massIndexerProgress, queryGroupName);
+         } catch (Exception e) {
+            throw new CacheException("Unable to register MassIndexer progress MBean", e);
+         }
+         if (asyncIndexingBacklog != null) {
+            try {
+               jmxRegistration.registerMBean(asyncIndexingBacklog, queryGroupName);
+            } catch (Exception e) {
+               throw new CacheException("Unable to register asynchronous indexing MBean", e);
+            }
+         }
       }
    }
 
@@ -408,6 +447,7 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       externalizerMap.put(ExternalizerIds.CLUSTERED_QUERY_OPERATION, new ClusteredQueryOperation.Externalizer());
       externalizerMap.put(ExternalizerIds.POJO_TYPE_IDENTIFIER, new PojoRawTypeIdentifierExternalizer());
       externalizerMap.put(ExternalizerIds.LUCENE_TOTAL_HITS, new LuceneTotalHitsExternalizer());
+      externalizerMap.put(ExternalizerIds.INDEXING_BARRIER, new IndexingBarrier.Externalizer());
    }
 
    @Override
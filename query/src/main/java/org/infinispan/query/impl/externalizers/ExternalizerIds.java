@@ -40,4 +40,6 @@ public interface ExternalizerIds {
    Integer POJO_TYPE_IDENTIFIER = 1625;
 
    Integer LUCENE_TOTAL_HITS = 1626;
+
+   Integer INDEXING_BARRIER = 1627;
 }
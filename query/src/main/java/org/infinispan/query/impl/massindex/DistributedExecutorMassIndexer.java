@@ -107,6 +107,12 @@ public CompletionStage<Void> remove(Class<?>... entities) {
       return executeInternal(true, false, entities);
    }
 
+   @Override
+   public CompletionStage<Void> awaitIndexing() {
+      authorizer.checkPermission(AuthorizationPermission.BULK_READ);
+      return executor.submitConsumer(new IndexingBarrier(cache.getName()), TRI_CONSUMER);
+   }
+
    @Override
    public boolean isRunning() {
       return isRunning;
@@ -6,7 +6,11 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -14,6 +18,10 @@
 import org.infinispan.commons.dataconversion.Wrapper;
 import org.infinispan.commons.marshall.AbstractExternalizer;
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.configuration.cache.Configurations;
+import org.infinispan.configuration.cache.MassIndexerConfiguration;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.context.Flag;
 import org.infinispan.distribution.ch.KeyPartitioner;
@@ -22,9 +30,11 @@
 import org.infinispan.query.impl.ComponentRegistryUtils;
 import org.infinispan.query.impl.externalizers.ExternalizerIds;
 import org.infinispan.search.mapper.mapping.SearchMapping;
+import org.infinispan.util.concurrent.CompletionStages;
 
 /**
- * Mass indexer task.
+ * Mass indexer task. Each node reindexes the segments it stores, reading several segments concurrently with the
+ * configured number of reader threads and at most at the configured rate.
  *
  * @author gustavonalle
  * @since 7.1
@@ -55,34 +65,45 @@ public Void apply(EmbeddedCacheManager embeddedCacheManager) {
       SearchMapping searchMapping = ComponentRegistryUtils.getSearchMapping(cache);
       TimeService timeService = ComponentRegistryUtils.getTimeService(cache);
 
-      MassIndexerProgressNotifier notifier = new MassIndexerProgressNotifier(searchMapping, timeService);
+      MassIndexerProgressNotifier notifier = new MassIndexerProgressNotifier(searchMapping,
+            ComponentRegistryUtils.getMassIndexerProgressMonitor(cache));
       IndexUpdater indexUpdater = new IndexUpdater(searchMapping);
       KeyPartitioner keyPartitioner = ComponentRegistryUtils.getKeyPartitioner(cache);
 
       DataConversion keyDataConversion = reindexCache.getKeyDataConversion();
       if (keys == null || keys.size() == 0) {
          preIndex(cache, indexUpdater);
-         MassIndexerProgressState progressState = new MassIndexerProgressState(notifier);
+         Collection<MassIndexerProgressState> progressStates = new ConcurrentLinkedQueue<>();
          if (!skipIndex) {
-            try (Stream<CacheEntry<Object, Object>> stream = reindexCache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL)
-                  .cacheEntrySet().stream()) {
-               stream.forEach(entry -> {
-                  Object key = entry.getKey();
-                  Object storedKey = keyDataConversion.toStorage(key);
-                  Object value = entry.getValue();
-                  if (valueFilterable) {
-                     value = valueWrapper.wrap(value);
+            IntSet segments = localSegments(cache);
+            notifier.notifyIndexingStarted(segments.size());
+            MassIndexerConfiguration massIndexerConfiguration = cache.getCacheConfiguration().indexing().massIndexer();
+            IndexingRateLimiter rateLimiter = new IndexingRateLimiter(timeService, massIndexerConfiguration.getMaxRate());
+            AdvancedCache<Object, Object> localCache = reindexCache.withFlags(Flag.CACHE_MODE_LOCAL);
+            Queue<Integer> pendingSegments = new ConcurrentLinkedQueue<>(segments);
+            Executor executor = ComponentRegistryUtils.getBlockingManager(cache).asExecutor("mass-indexer-" + cacheName);
+            int readerThreads = Math.min(massIndexerConfiguration.getReaderThreads(), segments.size());
+            CompletableFuture<?>[] readers = new CompletableFuture[readerThreads];
+            for (int i = 0; i < readerThreads; i++) {
+               readers[i] = CompletableFuture.runAsync(() -> {
+                  try {
+                     Integer segment;
+                     while ((segment = pendingSegments.poll()) != null) {
+                        MassIndexerProgressState progressState = new MassIndexerProgressState(notifier);
+                        progressStates.add(progressState);
+                        indexSegment(localCache, segment, valueWrapper, valueFilterable, indexUpdater, rateLimiter,
+                              progressState);
+                     }
+                  } catch (Throwable t) {
+                     // Stop the other readers too
+                     pendingSegments.clear();
+                     throw t;
                   }
-                  int segment = keyPartitioner.getSegment(storedKey);
-
-                  if (value != null && indexedTypes.contains(indexUpdater.toConvertedEntityJavaClass(value))) {
-                     progressState.addItem(entry.getKey(), value,
-                           indexUpdater.updateIndex(entry.getKey(), value, segment));
-                  }
-               });
+               }, executor);
             }
+            CompletionStages.join(CompletableFuture.allOf(readers));
          }
-         postIndex(indexUpdater, progressState, notifier);
+         postIndex(indexUpdater, progressStates, notifier);
       } else {
          Set<Class<?>> classSet = new HashSet<>();
          for (Object key : keys) {
@@ -100,13 +121,51 @@ public Void apply(EmbeddedCacheManager embeddedCacheManager) {
       return null;
    }
 
+   /**
+    * Reads the entries of a segment and submits them to the index. The index changes are applied concurrently by the
+    * indexing queues, and the segment is reported as completed once they are all applied. When the entries are stored
+    * in a cache store, they are read by segment from the store as well.
+    */
+   private void indexSegment(AdvancedCache<Object, Object> localCache, int segment, Wrapper valueWrapper,
+                             boolean valueFilterable, IndexUpdater indexUpdater, IndexingRateLimiter rateLimiter,
+                             MassIndexerProgressState progressState) {
+      try (Stream<CacheEntry<Object, Object>> stream = localCache.cacheEntrySet().stream()
+            .filterKeySegments(IntSets.immutableSet(segment))) {
+         stream.forEach(entry -> {
+            Object value = entry.getValue();
+            if (valueFilterable) {
+               value = valueWrapper.wrap(value);
+            }
+            if (value != null && indexedTypes.contains(indexUpdater.toConvertedEntityJavaClass(value))) {
+               rateLimiter.acquire();
+               progressState.addItem(entry.getKey(), value, indexUpdater.updateIndex(entry.getKey(), value, segment));
+            }
+         });
+      }
+      progressState.segmentRead(segment);
+   }
+
+   /**
+    * @return the segments whose entries are stored on this node
+    */
+   private static IntSet localSegments(AdvancedCache<?, ?> cache) {
+      if (!Configurations.needSegments(cache.getCacheConfiguration())) {
+         // All the keys map to the same segment
+         return IntSets.immutableSet(0);
+      }
+      return cache.getDistributionManager().getCacheTopology().getLocalReadSegments();
+   }
+
    private void preIndex(AdvancedCache<Object, Object> cache, IndexUpdater indexUpdater) {
       indexUpdater.purge(indexedTypes);
       ComponentRegistryUtils.getSearchMapping(cache).reload();
    }
 
-   private void postIndex(IndexUpdater indexUpdater, MassIndexerProgressState progressState, MassIndexerProgressNotifier notifier) {
-      progressState.waitForAsyncCompletion();
+   private void postIndex(IndexUpdater indexUpdater, Collection<MassIndexerProgressState> progressStates,
+                          MassIndexerProgressNotifier notifier) {
+      for (MassIndexerProgressState progressState : progressStates) {
+         progressState.waitForAsyncCompletion();
+      }
       indexUpdater.flush(indexedTypes);
       indexUpdater.refresh(indexedTypes);
       notifier.notifyIndexingCompletedSuccessfully();
@@ -0,0 +1,69 @@
+package org.infinispan.query.impl.massindex;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.query.backend.AsyncIndexingBacklog;
+import org.infinispan.query.impl.ComponentRegistryUtils;
+import org.infinispan.query.impl.externalizers.ExternalizerIds;
+import org.infinispan.search.mapper.mapping.SearchMapping;
+import org.infinispan.util.concurrent.CompletionStages;
+
+/**
+ * Waits until the index changes of the writes completed on a node are applied, then refreshes its indexes so that the
+ * queries see them.
+ *
+ * @since 13.0
+ */
+public final class IndexingBarrier implements Function<EmbeddedCacheManager, Void> {
+
+   private final String cacheName;
+
+   IndexingBarrier(String cacheName) {
+      this.cacheName = cacheName;
+   }
+
+   @Override
+   public Void apply(EmbeddedCacheManager embeddedCacheManager) {
+      AdvancedCache<?, ?> cache = SecurityActions.getUnwrappedCache(embeddedCacheManager.getCache(cacheName)).getAdvancedCache();
+      AsyncIndexingBacklog asyncIndexingBacklog = ComponentRegistryUtils.getAsyncIndexingBacklog(cache);
+      if (asyncIndexingBacklog != null) {
+         CompletionStages.join(asyncIndexingBacklog.awaitPending());
+      }
+      SearchMapping searchMapping = ComponentRegistryUtils.getSearchMapping(cache);
+      if (searchMapping != null) {
+         searchMapping.scopeAll().workspace().refresh();
+      }
+      return null;
+   }
+
+   public static final class Externalizer extends AbstractExternalizer<IndexingBarrier> {
+
+      @Override
+      public Set<Class<? extends IndexingBarrier>> getTypeClasses() {
+         return Collections.singleton(IndexingBarrier.class);
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, IndexingBarrier barrier) throws IOException {
+         output.writeUTF(barrier.cacheName);
+      }
+
+      @Override
+      public IndexingBarrier readObject(ObjectInput input) throws IOException {
+         return new IndexingBarrier(input.readUTF());
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.INDEXING_BARRIER;
+      }
+   }
+}
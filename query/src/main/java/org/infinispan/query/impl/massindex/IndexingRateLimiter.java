@@ -0,0 +1,49 @@
+package org.infinispan.query.impl.massindex;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.infinispan.commons.time.TimeService;
+
+/**
+ * Limits the number of entries that the mass indexer reader threads of a node index per second, so that rebuilding the
+ * indexes leaves enough resources to the regular cache operations.
+ * <p>
+ * Each entry reserves the next free time slot and the reader thread waits until the slot starts. Slots that were not
+ * used while the readers were slower than the limit are not accumulated, so the rate never exceeds the limit.
+ *
+ * @since 13.0
+ */
+final class IndexingRateLimiter {
+
+   private final TimeService timeService;
+
+   private final long intervalNanos;
+
+   private final AtomicLong nextSlot;
+
+   /**
+    * @param maxRate the maximum number of entries per second, or {@code 0} for no limit
+    */
+   IndexingRateLimiter(TimeService timeService, int maxRate) {
+      this.timeService = timeService;
+      this.intervalNanos = maxRate > 0 ? TimeUnit.SECONDS.toNanos(1) / maxRate : 0;
+      this.nextSlot = new AtomicLong(timeService.time());
+   }
+
+   /**
+    * Waits until the next entry can be indexed without exceeding the limit.
+    */
+   void acquire() {
+      if (intervalNanos == 0) {
+         return;
+      }
+      long now = timeService.time();
+      long slot = Math.max(now, nextSlot.getAndAccumulate(now, (next, time) -> Math.max(next, time) + intervalNanos));
+      long waitNanos = slot - now;
+      if (waitNanos > 0) {
+         LockSupport.parkNanos(waitNanos);
+      }
+   }
+}
@@ -1,20 +1,29 @@
 package org.infinispan.query.impl.massindex;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.query.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
 /**
+ * Reports the progress of the mass indexer on the local node, by logging it and through JMX and metrics. The local
+ * segments are reindexed concurrently, and a segment is completed when all its entries are indexed.
+ *
  * @author Sanne Grinovero &lt;sanne@hibernate.org&gt; (C) 2012 Red Hat Inc.
  */
+@MBean(objectName = "MassIndexerProgress", description = "Progress of the index rebuild on the local node")
 public class MassIndexerProgressMonitor {
 
    private static final Log log = LogFactory.getLog(MassIndexerProgressMonitor.class, Log.class);
 
    private final AtomicLong documentsDoneCounter = new AtomicLong();
+   private final AtomicInteger segmentsDoneCounter = new AtomicInteger();
+   private volatile int totalSegments;
    private volatile long startTime;
    private final int logAfterNumberOfDocuments;
    private final TimeService timeService;
@@ -38,6 +47,19 @@ public MassIndexerProgressMonitor(int logAfterNumberOfDocuments, TimeService tim
       this.timeService = timeService;
    }
 
+   /**
+    * Resets the progress when the mass indexer starts reading the entries of the local segments.
+    */
+   public void indexingStarted(int totalSegments) {
+      this.totalSegments = totalSegments;
+      segmentsDoneCounter.set(0);
+      documentsDoneCounter.set(0);
+   }
+
+   public void segmentCompleted(int segment, int documents) {
+      log.indexingSegmentCompleted(documents, segment, segmentsDoneCounter.incrementAndGet(), totalSegments);
+   }
+
    public void documentsAdded(long increment) {
       long current = documentsDoneCounter.addAndGet(increment);
       if (current == increment) {
@@ -52,6 +74,21 @@ public void indexingCompleted() {
       log.indexingEntitiesCompleted(documentsDoneCounter.get());
    }
 
+   @ManagedAttribute(description = "Number of entries indexed by the current or last index rebuild", displayName = "Indexed entries")
+   public long getIndexedEntries() {
+      return documentsDoneCounter.get();
+   }
+
+   @ManagedAttribute(description = "Number of local segments completed by the current or last index rebuild", displayName = "Indexed segments")
+   public int getIndexedSegments() {
+      return segmentsDoneCounter.get();
+   }
+
+   @ManagedAttribute(description = "Number of local segments read by the current or last index rebuild", displayName = "Total segments")
+   public int getTotalSegments() {
+      return totalSegments;
+   }
+
    protected int getStatusMessagePeriod() {
       return logAfterNumberOfDocuments;
    }
@@ -7,7 +7,6 @@
 import org.hibernate.search.engine.reporting.FailureHandler;
 import org.hibernate.search.util.common.SearchException;
 
-import org.infinispan.commons.time.TimeService;
 import org.infinispan.query.logging.Log;
 import org.infinispan.search.mapper.common.EntityReference;
 import org.infinispan.search.mapper.common.impl.EntityReferenceImpl;
@@ -26,15 +25,23 @@ class MassIndexerProgressNotifier {
 
    private FailureHandler failureHandler;
 
-   MassIndexerProgressNotifier(SearchMapping searchMapping, TimeService timeService) {
-      this.monitor = new MassIndexerProgressMonitor(timeService);
+   MassIndexerProgressNotifier(SearchMapping searchMapping, MassIndexerProgressMonitor monitor) {
+      this.monitor = monitor;
       this.searchMapping = searchMapping;
    }
 
+   void notifyIndexingStarted(int totalSegments) {
+      monitor.indexingStarted(totalSegments);
+   }
+
    void notifyDocumentsAdded(int size) {
       monitor.documentsAdded(size);
    }
 
+   void notifySegmentCompleted(int segment, int size) {
+      monitor.segmentCompleted(segment, size);
+   }
+
    void notifyIndexingCompletedSuccessfully() {
       monitor.indexingCompleted();
 
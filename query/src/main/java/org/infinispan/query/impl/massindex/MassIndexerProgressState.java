@@ -15,11 +15,14 @@ public class MassIndexerProgressState {
 
    private CompletableFuture<?> lastFuture = CompletableFuture.completedFuture( null );
 
+   private int itemCount;
+
    public MassIndexerProgressState(MassIndexerProgressNotifier notifier) {
       this.notifier = notifier;
    }
 
    public void addItem(Object key, Object value, CompletableFuture<?> future) {
+      itemCount++;
       // This is what HS5 currently does, but introduce chunking could be a good idea.
       lastFuture = future.whenComplete((result, exception) -> {
          if (exception != null) {
@@ -30,6 +33,15 @@ public void addItem(Object key, Object value, CompletableFuture<?> future) {
       }).thenCombine(lastFuture, (ignored1, ignored2) -> null);
    }
 
+   /**
+    * Notifies the completion of a segment once all the items added so far, which must be all the items of the
+    * segment, are indexed successfully.
+    */
+   public void segmentRead(int segment) {
+      int segmentItemCount = itemCount;
+      lastFuture = lastFuture.thenRun(() -> notifier.notifySegmentCompleted(segment, segmentItemCount));
+   }
+
    public void waitForAsyncCompletion() {
       try {
          Futures.unwrappedExceptionGet(lastFuture);
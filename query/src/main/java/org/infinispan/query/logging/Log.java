@@ -179,4 +179,12 @@ public interface Log extends org.infinispan.query.core.impl.Log {
 
    @Message(value = "Trying to execute query `%1$s`, but no type is indexed on cache.", id = 14054)
    CacheException noTypeIsIndexed(String ickle);
+
+   @LogMessage(level = ERROR)
+   @Message(value = "Failed to apply the asynchronous index change for key '%s'", id = 14055)
+   void asyncIndexingFailed(Object key, @Cause Throwable cause);
+
+   @LogMessage(level = DEBUG)
+   @Message(value = "Reindexed %1$d entities of segment %2$d, %3$d of %4$d segments completed", id = 14056)
+   void indexingSegmentCompleted(int nbrOfEntities, int segment, int completedSegments, int totalSegments);
 }
@@ -0,0 +1,64 @@
+package org.infinispan.query.backend;
+
+import static org.infinispan.configuration.cache.IndexStorage.LOCAL_HEAP;
+import static org.infinispan.query.helper.TestQueryHelperFactory.queryAll;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.query.Search;
+import org.infinispan.query.impl.ComponentRegistryUtils;
+import org.infinispan.query.test.Person;
+import org.infinispan.query.test.QueryTestSCI;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the index changes applied in the background are visible after waiting for them.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "query.backend.AsyncIndexingTest")
+public class AsyncIndexingTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_ENTRIES = 200;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.indexing()
+            .enable()
+            .storage(LOCAL_HEAP)
+            .addIndexedEntity(Person.class)
+            .writer().async(true).maxLag(60_000);
+      createClusteredCaches(2, QueryTestSCI.INSTANCE, builder);
+   }
+
+   public void testAwaitIndexing() {
+      Cache<Integer, Person> cache = cache(0);
+      Map<Integer, Person> entries = new HashMap<>();
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         entries.put(i, new Person("name" + i, "blurb" + i, i));
+      }
+      cache.putAll(entries);
+      for (int i = 0; i < NUM_ENTRIES / 2; i++) {
+         cache(1).remove(i);
+      }
+
+      CompletionStages.join(Search.getIndexer(cache).awaitIndexing());
+
+      assertEquals(NUM_ENTRIES / 2, queryAll(cache, Person.class).size());
+      for (Cache<?, ?> c : caches()) {
+         AsyncIndexingBacklog asyncIndexingBacklog = ComponentRegistryUtils.getAsyncIndexingBacklog(c);
+         assertNotNull(asyncIndexingBacklog);
+         assertEquals(0, asyncIndexingBacklog.getPendingCount());
+         assertEquals(0, asyncIndexingBacklog.getLag());
+      }
+   }
+}
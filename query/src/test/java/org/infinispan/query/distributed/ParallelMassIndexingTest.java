@@ -0,0 +1,89 @@
+package org.infinispan.query.distributed;
+
+import static org.infinispan.configuration.cache.IndexStorage.LOCAL_HEAP;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.query.Search;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.helper.SearchConfig;
+import org.infinispan.query.helper.StaticTestingErrorHandler;
+import org.infinispan.query.impl.ComponentRegistryUtils;
+import org.infinispan.query.impl.massindex.MassIndexerProgressMonitor;
+import org.infinispan.query.queries.faceting.Car;
+import org.infinispan.query.test.QueryTestSCI;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the mass indexer reading several segments concurrently, with a limited rate, and reporting its progress per
+ * segment.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "query.distributed.ParallelMassIndexingTest")
+public class ParallelMassIndexingTest extends DistributedMassIndexingTest {
+
+   private static final int NUM_ENTRIES = 100;
+   private static final int MAX_RATE = 500;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createCluster(holder -> {
+         String defaultName = getClass().getSimpleName();
+         holder.getGlobalConfigurationBuilder().defaultCacheName(defaultName).serialization().addContextInitializer(QueryTestSCI.INSTANCE);
+
+         ConfigurationBuilder cacheCfg = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+         cacheCfg.indexing()
+               .enable()
+               .storage(LOCAL_HEAP)
+               .addIndexedEntity(Car.class)
+               .addProperty(SearchConfig.ERROR_HANDLER, StaticTestingErrorHandler.class.getName())
+               .massIndexer().readerThreads(4).maxRate(MAX_RATE);
+         holder.newConfigurationBuilder(defaultName).read(cacheCfg.build());
+      }, NUM_NODES);
+   }
+
+   public void testProgressAndRate() {
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cache(i % NUM_NODES).getAdvancedCache().withFlags(Flag.SKIP_INDEXING)
+               .put(key("F" + i + "NUM"), new Car("megane", "white", 300));
+      }
+      verifyFindsCar(0, "megane");
+
+      long start = System.nanoTime();
+      CompletionStages.join(Search.getIndexer(cache(0)).run());
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      verifyFindsCar(NUM_ENTRIES, "megane");
+
+      long totalEntries = 0;
+      long maxNodeEntries = 0;
+      for (Cache<?, ?> cache : caches()) {
+         MassIndexerProgressMonitor progress = ComponentRegistryUtils.getMassIndexerProgressMonitor(cache);
+         int localSegments = cache.getAdvancedCache().getDistributionManager().getCacheTopology().getLocalReadSegments().size();
+         assertEquals(localSegments, progress.getTotalSegments());
+         assertEquals(localSegments, progress.getIndexedSegments());
+         totalEntries += progress.getIndexedEntries();
+         maxNodeEntries = Math.max(maxNodeEntries, progress.getIndexedEntries());
+      }
+      int numOwners = cache(0).getCacheConfiguration().clustering().hash().numOwners();
+      assertEquals(NUM_ENTRIES * numOwners, totalEntries);
+      long minMillis = (maxNodeEntries - 1) * 1000 / MAX_RATE;
+      assertTrue("Reindexed in " + elapsedMillis + " ms, expected at least " + minMillis + " ms",
+            elapsedMillis >= minMillis);
+   }
+
+   @Override
+   protected void verifyFindsCar(Cache<?, Car> cache, int expectedCount, String carMake) {
+      String q = String.format("FROM %s where make:'%s'", Car.class.getName(), carMake);
+      Query<Car> cacheQuery = Search.getQueryFactory(cache).create(q);
+      assertEquals(expectedCount, cacheQuery.execute().hitCount().orElse(-1));
+   }
+}
@@ -0,0 +1,125 @@
+package org.infinispan.query.dsl.embedded;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.query.Search;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.dsl.embedded.testdomain.Transaction;
+import org.infinispan.query.test.QueryTestSCI;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the groups of a non-indexed aggregation query computed on each node of a distributed cache are merged
+ * into the same results as grouping all the entries on a single node.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "query.dsl.embedded.NonIndexedDistributedGroupingTest")
+public class NonIndexedDistributedGroupingTest extends AbstractQueryDslTest {
+
+   private static final int NUM_NODES = 3;
+   private static final int NUM_ACCOUNTS = 4;
+   private static final int NUM_TRANSACTIONS = 100;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder cfg = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      // Every entry is on a single node, so that a group spread over several nodes is only merged if it is correct
+      cfg.clustering().hash().numOwners(1);
+      createClusteredCaches(NUM_NODES, QueryTestSCI.INSTANCE, cfg);
+   }
+
+   @BeforeClass(alwaysRun = true)
+   protected void populateCache() {
+      for (int i = 0; i < NUM_TRANSACTIONS; i++) {
+         Transaction transaction = getModelFactory().makeTransaction();
+         transaction.setId(i);
+         transaction.setDescription("Transaction " + i);
+         transaction.setAccountId(account(i));
+         transaction.setAmount(i);
+         transaction.setDebit(i % 2 == 0);
+         transaction.setValid(true);
+         cache(0).put("transaction_" + i, transaction);
+      }
+   }
+
+   private static int account(int transactionId) {
+      return transactionId % NUM_ACCOUNTS + 1;
+   }
+
+   public void testEntriesAreDistributed() {
+      for (Cache<?, ?> cache : caches()) {
+         int localEntries = cache.getAdvancedCache().getDataContainer().size();
+         assertTrue(localEntries > 0);
+         assertTrue(localEntries < NUM_TRANSACTIONS);
+      }
+   }
+
+   public void testGroupByFromEveryNode() {
+      String queryString = "SELECT t.accountId, COUNT(t.id), SUM(t.amount), AVG(t.amount), MIN(t.amount), MAX(t.amount) " +
+            "FROM " + getModelFactory().getTransactionTypeName() + " t " +
+            "GROUP BY t.accountId ORDER BY t.accountId";
+      for (Cache<?, ?> cache : caches()) {
+         Query<Object[]> query = Search.getQueryFactory(cache).create(queryString);
+         List<Object[]> list = query.execute().list();
+
+         assertEquals(NUM_ACCOUNTS, list.size());
+         for (int account = 1; account <= NUM_ACCOUNTS; account++) {
+            long count = 0;
+            double sum = 0;
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int i = 0; i < NUM_TRANSACTIONS; i++) {
+               if (account(i) == account) {
+                  count++;
+                  sum += i;
+                  min = Math.min(min, i);
+                  max = Math.max(max, i);
+               }
+            }
+            Object[] row = list.get(account - 1);
+            assertEquals(account, row[0]);
+            assertEquals(count, row[1]);
+            assertEquals(sum, row[2]);
+            assertEquals(sum / count, (Double) row[3], 0.0001d);
+            assertEquals(min, row[4]);
+            assertEquals(max, row[5]);
+         }
+      }
+   }
+
+   public void testGroupByWithFilterAndHaving() {
+      // The debit transactions have even ids, so accounts 1 and 3 only
+      Query<Object[]> query = getQueryFactory().create(
+            "SELECT t.accountId, COUNT(t.id), SUM(t.amount) " +
+            "FROM " + getModelFactory().getTransactionTypeName() + " t " +
+            "WHERE t.isDebit = true " +
+            "GROUP BY t.accountId HAVING SUM(t.amount) > 1200 ORDER BY t.accountId");
+      List<Object[]> list = query.execute().list();
+
+      // account 1: 0, 4, ..., 96 sums to 1200, account 3: 2, 6, ..., 98 sums to 1250
+      assertEquals(1, list.size());
+      assertEquals(3, list.get(0)[0]);
+      assertEquals(25L, list.get(0)[1]);
+      assertEquals(1250d, list.get(0)[2]);
+   }
+
+   public void testGlobalAggregation() {
+      Query<Object[]> query = getQueryFactory().create(
+            "SELECT COUNT(t.id), SUM(t.amount), MAX(t.accountId) " +
+            "FROM " + getModelFactory().getTransactionTypeName() + " t");
+      List<Object[]> list = query.execute().list();
+
+      assertEquals(1, list.size());
+      assertEquals((long) NUM_TRANSACTIONS, list.get(0)[0]);
+      assertEquals(NUM_TRANSACTIONS * (NUM_TRANSACTIONS - 1) / 2d, list.get(0)[1]);
+      assertEquals(NUM_ACCOUNTS, list.get(0)[2]);
+   }
+}
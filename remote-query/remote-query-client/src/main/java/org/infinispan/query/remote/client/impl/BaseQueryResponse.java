@@ -13,4 +13,10 @@
    List<T> extractResults(SerializationContext serializationContext) throws IOException;
 
    long getTotalResults();
+
+   /**
+    * @return the id of the cursor to read the next results from, or {@code null} if there are no more results or no
+    * cursor was requested
+    */
+   String getCursorId();
 }
@@ -14,6 +14,7 @@ public class JsonClientQueryResponse implements BaseQueryResponse<String> {
    private static final String JSON_TOTAL_RESULTS = "total_results";
    private static final String JSON_HITS = "hits";
    private static final String JSON_HIT = "hit";
+   private static final String JSON_CURSOR = "cursor";
 
    private final Json jsonObject;
 
@@ -31,4 +32,10 @@ public List<String> extractResults(SerializationContext serializationContext) {
    public long getTotalResults() {
       return jsonObject.at(JSON_TOTAL_RESULTS).asInteger();
    }
+
+   @Override
+   public String getCursorId() {
+      Json cursor = jsonObject.at(JSON_CURSOR);
+      return cursor != null && !cursor.isNull() ? cursor.asString() : null;
+   }
 }
@@ -27,6 +27,8 @@ public final class QueryRequest implements JsonSerialization {
    public static final String MAX_RESULTS_FIELD = "maxResults";
    public static final String NAMED_PARAMETERS_FIELD = "namedParameters";
    public static final String LOCAL_FIELD = "local";
+   public static final String CURSOR_ID_FIELD = "cursorId";
+   public static final String CURSOR_BATCH_SIZE_FIELD = "cursorBatchSize";
    private String queryString;
 
    private List<NamedParameter> namedParameters;
@@ -37,6 +39,10 @@ public final class QueryRequest implements JsonSerialization {
 
    private boolean local;
 
+   private String cursorId;
+
+   private Integer cursorBatchSize;
+
    public String getQueryString() {
       return queryString;
    }
@@ -77,6 +83,28 @@ public void setNamedParameters(List<NamedParameter> namedParameters) {
       this.namedParameters = namedParameters;
    }
 
+   /**
+    * @return the id of a cursor opened by a previous request, to read the results from
+    */
+   public String getCursorId() {
+      return cursorId;
+   }
+
+   public void setCursorId(String cursorId) {
+      this.cursorId = cursorId;
+   }
+
+   /**
+    * @return the maximum number of results to read through a cursor, or -1 if no cursor is used
+    */
+   public Integer getCursorBatchSize() {
+      return cursorBatchSize == null ? Integer.valueOf(-1) : cursorBatchSize;
+   }
+
+   public void setCursorBatchSize(Integer cursorBatchSize) {
+      this.cursorBatchSize = cursorBatchSize;
+   }
+
    public Map<String, Object> getNamedParametersMap() {
       if (namedParameters == null || namedParameters.isEmpty()) {
          return null;
@@ -93,6 +121,8 @@ public static QueryRequest fromJson(Json jsonRequest) {
       Json offsetValue = jsonRequest.at(START_OFFSET_FIELD);
       Json maxResults = jsonRequest.at(MAX_RESULTS_FIELD);
       Json named = jsonRequest.at(NAMED_PARAMETERS_FIELD);
+      Json cursorId = jsonRequest.at(CURSOR_ID_FIELD);
+      Json cursorBatchSize = jsonRequest.at(CURSOR_BATCH_SIZE_FIELD);
       List<NamedParameter> params = named.isArray() ? named.asJsonList().stream()
             .map(NamedParameter::fromJson).collect(toList()) : Collections.emptyList();
 
@@ -101,6 +131,8 @@ public static QueryRequest fromJson(Json jsonRequest) {
       if (!offsetValue.isNull()) queryRequest.setStartOffset(offsetValue.asLong());
       if (!maxResults.isNull()) queryRequest.setMaxResults(maxResults.asInteger());
       if (!params.isEmpty()) queryRequest.setNamedParameters(params);
+      if (cursorId != null && !cursorId.isNull()) queryRequest.setCursorId(cursorId.asString());
+      if (cursorBatchSize != null && !cursorBatchSize.isNull()) queryRequest.setCursorBatchSize(cursorBatchSize.asInteger());
 
       return queryRequest;
    }
@@ -112,7 +144,9 @@ public Json toJson() {
             .set(START_OFFSET_FIELD, startOffset)
             .set(MAX_RESULTS_FIELD, maxResults)
             .set(NAMED_PARAMETERS_FIELD, Json.make(getNamedParameters()))
-            .set(LOCAL_FIELD, Json.factory().bool(local));
+            .set(LOCAL_FIELD, Json.factory().bool(local))
+            .set(CURSOR_ID_FIELD, cursorId)
+            .set(CURSOR_BATCH_SIZE_FIELD, cursorBatchSize);
    }
 
    static final class Marshaller implements MessageMarshaller<QueryRequest> {
@@ -125,6 +159,8 @@ public QueryRequest readFrom(ProtoStreamReader reader) throws IOException {
          queryRequest.setMaxResults(reader.readInt(MAX_RESULTS_FIELD));
          queryRequest.setNamedParameters(reader.readCollection(NAMED_PARAMETERS_FIELD, new ArrayList<>(), NamedParameter.class));
          queryRequest.setLocal(reader.readBoolean(LOCAL_FIELD));
+         queryRequest.setCursorId(reader.readString(CURSOR_ID_FIELD));
+         queryRequest.setCursorBatchSize(reader.readInt(CURSOR_BATCH_SIZE_FIELD));
          return queryRequest;
       }
 
@@ -135,6 +171,8 @@ public void writeTo(ProtoStreamWriter writer, QueryRequest queryRequest) throws
          writer.writeInt(MAX_RESULTS_FIELD, queryRequest.getMaxResults());
          writer.writeCollection(NAMED_PARAMETERS_FIELD, queryRequest.getNamedParameters(), NamedParameter.class);
          writer.writeBoolean(LOCAL_FIELD, queryRequest.isLocal());
+         writer.writeString(CURSOR_ID_FIELD, queryRequest.getCursorId());
+         writer.writeInt(CURSOR_BATCH_SIZE_FIELD, queryRequest.cursorBatchSize);
       }
 
       @Override
@@ -26,6 +26,8 @@ public final class QueryResponse implements BaseQueryResponse {
 
    private long totalResults;
 
+   private String cursorId;
+
    public int getNumResults() {
       return numResults;
    }
@@ -84,6 +86,15 @@ public void setTotalResults(long totalResults) {
       this.totalResults = totalResults;
    }
 
+   @Override
+   public String getCursorId() {
+      return cursorId;
+   }
+
+   public void setCursorId(String cursorId) {
+      this.cursorId = cursorId;
+   }
+
    static final class Marshaller implements MessageMarshaller<QueryResponse> {
 
       @Override
@@ -93,6 +104,7 @@ public QueryResponse readFrom(ProtoStreamReader reader) throws IOException {
          queryResponse.setProjectionSize(reader.readInt("projectionSize"));
          queryResponse.setResults(reader.readCollection("results", new ArrayList<>(), WrappedMessage.class));
          queryResponse.setTotalResults(reader.readLong("totalResults"));
+         queryResponse.setCursorId(reader.readString("cursorId"));
          return queryResponse;
       }
 
@@ -102,6 +114,7 @@ public void writeTo(ProtoStreamWriter writer, QueryResponse queryResponse) throw
          writer.writeInt("projectionSize", queryResponse.projectionSize);
          writer.writeCollection("results", queryResponse.results, WrappedMessage.class);
          writer.writeLong("totalResults", queryResponse.totalResults);
+         writer.writeString("cursorId", queryResponse.cursorId);
       }
 
       @Override
@@ -1,22 +1,35 @@
 package org.infinispan.query.remote.impl;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.infinispan.commons.dataconversion.MediaType.APPLICATION_JSON;
+
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.commons.dataconversion.internal.JsonSerialization;
 import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.encoding.DataConversion;
 import org.infinispan.encoding.impl.StorageConfigurationManager;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.marshall.core.EncoderRegistry;
+import org.infinispan.query.core.impl.MappingIterator;
 import org.infinispan.query.core.stats.impl.LocalQueryStatistics;
 import org.infinispan.query.dsl.QueryResult;
 import org.infinispan.query.dsl.impl.BaseQuery;
 import org.infinispan.query.remote.client.impl.QueryRequest;
 import org.infinispan.query.remote.impl.logging.Log;
+import org.infinispan.query.remote.json.Hit;
+import org.infinispan.query.remote.json.JsonProjection;
 
 /**
  * @since 9.4
@@ -33,6 +46,7 @@ abstract class BaseRemoteQueryManager implements RemoteQueryManager {
    private final boolean cacheQueryable;
    private final MediaType storageType;
    private final boolean unknownMediaType;
+   private final QueryCursorManager queryCursorManager;
 
    @Inject protected EncoderRegistry encoderRegistry;
    @Inject protected LocalQueryStatistics queryStatistics;
@@ -46,26 +60,88 @@ abstract class BaseRemoteQueryManager implements RemoteQueryManager {
       this.storageType = storageConfigurationManager.getValueStorageMediaType();
       this.cacheQueryable = storageConfigurationManager.isQueryable();
       this.unknownMediaType = storageType.match(MediaType.APPLICATION_UNKNOWN);
+      this.queryCursorManager = new QueryCursorManager(cr.getGlobalComponentRegistry().getComponent(TimeService.class));
+   }
+
+   @Stop
+   void stop() {
+      queryCursorManager.closeAll();
    }
 
    @Override
    public byte[] executeQuery(String queryString, Map<String, Object> namedParametersMap, Integer offset, Integer maxResults,
                               AdvancedCache<?, ?> cache, MediaType outputFormat, boolean isLocal) {
-      if (unknownMediaType) {
-         log.warnNoMediaType(cache.getName());
-      } else if (!cacheQueryable) {
-         throw log.cacheNotQueryable(cache.getName(), storageType.getTypeSubtype());
-      }
+      checkQueryable(cache);
 
-      QuerySerializer<?> querySerializer = querySerializers.getSerializer(outputFormat);
       BaseQuery<Object> query = getQueryEngine(cache).makeQuery(queryString, namedParametersMap, offset, maxResults, isLocal);
       QueryResult<Object> queryResult = query.execute();
       String[] projection = query.getProjection();
       RemoteQueryResult remoteQueryResult = new RemoteQueryResult(projection, queryResult.hitCount().orElse(-1), queryResult.list());
+      return encodeResult(remoteQueryResult, outputFormat);
+   }
+
+   @Override
+   public byte[] openQueryCursor(String queryString, Map<String, Object> namedParametersMap, int batchSize,
+                                 AdvancedCache<?, ?> cache, MediaType outputFormat, boolean isLocal) {
+      checkQueryable(cache);
+
+      BaseQuery<Object> query = getQueryEngine(cache).makeQuery(queryString, namedParametersMap, -1, -1, isLocal);
+      return nextBatch(queryCursorManager.open(query), batchSize, outputFormat);
+   }
+
+   @Override
+   public byte[] nextQueryBatch(String cursorId, int batchSize, MediaType outputFormat) {
+      return nextBatch(queryCursorManager.get(cursorId), batchSize, outputFormat);
+   }
+
+   private byte[] nextBatch(QueryCursorManager.QueryCursor cursor, int batchSize, MediaType outputFormat) {
+      List<Object> results = cursor.next(batchSize);
+      String cursorId = cursor.getId();
+      if (!cursor.hasNext()) {
+         queryCursorManager.close(cursorId);
+         cursorId = null;
+      }
+      return encodeResult(new RemoteQueryResult(cursor.getProjection(), -1, results, cursorId), outputFormat);
+   }
+
+   @Override
+   public byte[] closeQueryCursor(String cursorId, MediaType outputFormat) {
+      queryCursorManager.close(cursorId);
+      return encodeResult(new RemoteQueryResult(null, -1, Collections.emptyList()), outputFormat);
+   }
+
+   @Override
+   public int activeQueryCursors() {
+      return queryCursorManager.activeCursors();
+   }
+
+   private byte[] encodeResult(RemoteQueryResult remoteQueryResult, MediaType outputFormat) {
+      QuerySerializer<?> querySerializer = querySerializers.getSerializer(outputFormat);
       Object response = querySerializer.createQueryResponse(remoteQueryResult);
       return querySerializer.encodeQueryResponse(response, outputFormat);
    }
 
+   @Override
+   public CloseableIterator<byte[]> streamJsonQuery(String queryString, Map<String, Object> namedParametersMap,
+                                                    AdvancedCache<?, ?> cache, boolean isLocal) {
+      checkQueryable(cache);
+
+      BaseQuery<Object> query = getQueryEngine(cache).makeQuery(queryString, namedParametersMap, -1, -1, isLocal);
+      String[] projection = query.getProjection();
+      Function<Object, JsonSerialization> toHit = projection == null ?
+            result -> new Hit(convertValue(result, APPLICATION_JSON)) :
+            result -> JsonProjection.fromRow(projection, (Object[]) result);
+      return new MappingIterator<>(query.iterator(), result -> toHit.apply(result).toJson().toString().getBytes(UTF_8));
+   }
+
+   private void checkQueryable(AdvancedCache<?, ?> cache) {
+      if (unknownMediaType) {
+         log.warnNoMediaType(cache.getName());
+      } else if (!cacheQueryable) {
+         throw log.cacheNotQueryable(cache.getName(), storageType.getTypeSubtype());
+      }
+   }
+
    public Object convertKey(Object key, MediaType destinationFormat) {
       return encoderRegistry.convert(key, keyDataConversion.getStorageMediaType(), destinationFormat);
    }
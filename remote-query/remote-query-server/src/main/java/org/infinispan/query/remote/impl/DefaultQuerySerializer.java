@@ -60,6 +60,7 @@ public QueryResponse createQueryResponse(RemoteQueryResult remoteQueryResult) {
       response.setNumResults(numResults);
       response.setProjectionSize(projSize);
       response.setResults(results);
+      response.setCursorId(remoteQueryResult.getCursorId());
       return response;
    }
 
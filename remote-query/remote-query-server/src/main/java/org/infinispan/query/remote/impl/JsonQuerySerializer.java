@@ -49,6 +49,7 @@ public JsonQueryResponse createQueryResponse(RemoteQueryResult remoteQueryResult
       } else {
          response = new ProjectedJsonResult(totalResults, projections, remoteQueryResult.getResults());
       }
+      response.setCursor(remoteQueryResult.getCursorId());
       return response;
    }
 
@@ -0,0 +1,125 @@
+package org.infinispan.query.remote.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.time.TimeServiceTicker;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.Util;
+import org.infinispan.query.dsl.impl.BaseQuery;
+import org.infinispan.query.remote.impl.logging.Log;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+
+/**
+ * Keeps the iteration state of the queries whose results are read in batches, so that reading the next batch does not
+ * execute the query again with a bigger start offset. A cursor is removed when its results are exhausted, when it is
+ * closed, or when it was not read for a while.
+ *
+ * @since 13.0
+ */
+final class QueryCursorManager {
+
+   private static final Log log = LogFactory.getLog(QueryCursorManager.class, Log.class);
+
+   static final long IDLE_TIMEOUT_MINUTES = 5;
+
+   private final Cache<String, QueryCursor> cursors;
+
+   QueryCursorManager(TimeService timeService) {
+      cursors = Caffeine.newBuilder()
+            .expireAfterAccess(IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+            .removalListener((RemovalListener<String, QueryCursor>) (id, cursor, cause) -> {
+               cursor.close();
+               if (cause.wasEvicted()) {
+                  log.removedIdleQueryCursor(id);
+               }
+            })
+            .ticker(new TimeServiceTicker(timeService))
+            .executor(new WithinThreadExecutor())
+            .build();
+   }
+
+   /**
+    * Executes the query and keeps its iterator.
+    */
+   QueryCursor open(BaseQuery<Object> query) {
+      QueryCursor cursor = new QueryCursor(Util.threadLocalRandomUUID().toString(), query.getProjection(), query.iterator());
+      cursors.put(cursor.id, cursor);
+      return cursor;
+   }
+
+   QueryCursor get(String cursorId) {
+      QueryCursor cursor = cursors.getIfPresent(cursorId);
+      if (cursor == null) {
+         throw log.queryCursorNotFound(cursorId);
+      }
+      return cursor;
+   }
+
+   void close(String cursorId) {
+      cursors.invalidate(cursorId);
+   }
+
+   void closeAll() {
+      cursors.invalidateAll();
+   }
+
+   int activeCursors() {
+      cursors.cleanUp();
+      return cursors.asMap().size();
+   }
+
+   static final class QueryCursor {
+
+      private final String id;
+
+      private final String[] projection;
+
+      private final CloseableIterator<Object> iterator;
+
+      private boolean closed;
+
+      private QueryCursor(String id, String[] projection, CloseableIterator<Object> iterator) {
+         this.id = id;
+         this.projection = projection;
+         this.iterator = iterator;
+      }
+
+      String getId() {
+         return id;
+      }
+
+      String[] getProjection() {
+         return projection;
+      }
+
+      /**
+       * @return at most {@code batchSize} results, continuing from where the previous batch stopped
+       */
+      synchronized List<Object> next(int batchSize) {
+         List<Object> results = new ArrayList<>(Math.min(batchSize, 1024));
+         while (!closed && results.size() < batchSize && iterator.hasNext()) {
+            results.add(iterator.next());
+         }
+         return results;
+      }
+
+      synchronized boolean hasNext() {
+         return !closed && iterator.hasNext();
+      }
+
+      synchronized void close() {
+         if (!closed) {
+            closed = true;
+            iterator.close();
+         }
+      }
+   }
+}
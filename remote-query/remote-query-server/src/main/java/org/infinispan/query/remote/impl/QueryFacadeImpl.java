@@ -39,8 +39,19 @@ public byte[] query(AdvancedCache<?, ?> cache, byte[] query) {
 
          int startOffset = request.getStartOffset().intValue();
          int maxResults = request.getMaxResults();
+         int cursorBatchSize = request.getCursorBatchSize();
          boolean local = request.isLocal();
 
+         if (request.getCursorId() != null) {
+            if (cursorBatchSize > 0) {
+               return remoteQueryManager.nextQueryBatch(request.getCursorId(), cursorBatchSize, requestMediaType);
+            }
+            return remoteQueryManager.closeQueryCursor(request.getCursorId(), requestMediaType);
+         }
+         if (cursorBatchSize > 0) {
+            return remoteQueryManager.openQueryCursor(request.getQueryString(), request.getNamedParametersMap(),
+                  cursorBatchSize, cache, requestMediaType, local);
+         }
          return remoteQueryManager.executeQuery(request.getQueryString(),
                request.getNamedParametersMap(), startOffset, maxResults, cache, requestMediaType, local);
       } catch (Exception e) {
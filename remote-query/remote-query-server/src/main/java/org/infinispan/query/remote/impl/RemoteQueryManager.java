@@ -8,6 +8,7 @@
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.encoding.DataConversion;
 import org.infinispan.objectfilter.Matcher;
 import org.infinispan.query.remote.client.FilterResult;
@@ -55,4 +56,36 @@ public interface RemoteQueryManager {
 
    byte[] executeQuery(String queryString, Map<String, Object> namedParametersMap, Integer offset, Integer maxResults,
                        AdvancedCache<?, ?> cache, MediaType outputFormat, boolean isLocal);
+
+   /**
+    * Executes a query and returns its first {@code batchSize} results, encoded like the response of {@link
+    * #executeQuery}. If there are more results, the response also contains the id of a cursor that keeps the state of
+    * the iteration, so that {@link #nextQueryBatch} reads the following results without executing the query again.
+    * The total number of results is not computed. Cursors that are not read for a few minutes are closed.
+    */
+   byte[] openQueryCursor(String queryString, Map<String, Object> namedParametersMap, int batchSize,
+                          AdvancedCache<?, ?> cache, MediaType outputFormat, boolean isLocal);
+
+   /**
+    * Reads the next {@code batchSize} results of a cursor opened by {@link #openQueryCursor}. The response only
+    * contains the id of the cursor if it has more results, otherwise the cursor is closed.
+    */
+   byte[] nextQueryBatch(String cursorId, int batchSize, MediaType outputFormat);
+
+   /**
+    * Closes a cursor opened by {@link #openQueryCursor} before all its results are read and returns an empty response.
+    */
+   byte[] closeQueryCursor(String cursorId, MediaType outputFormat);
+
+   /**
+    * @return the number of cursors opened by {@link #openQueryCursor} that are not exhausted, closed or idle yet
+    */
+   int activeQueryCursors();
+
+   /**
+    * Executes a query and iterates its results without materializing them, each one encoded as an element of the
+    * 'hits' array of a JSON query response. The iterator must be closed.
+    */
+   CloseableIterator<byte[]> streamJsonQuery(String queryString, Map<String, Object> namedParametersMap,
+                                             AdvancedCache<?, ?> cache, boolean isLocal);
 }
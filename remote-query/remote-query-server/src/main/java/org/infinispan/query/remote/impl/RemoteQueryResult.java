@@ -6,11 +6,17 @@ public final class RemoteQueryResult {
    private final String[] projections;
    private final long totalResults;
    private final List<Object> results;
+   private final String cursorId;
 
    RemoteQueryResult(String[] projections, long totalResults, List<Object> results) {
+      this(projections, totalResults, results, null);
+   }
+
+   RemoteQueryResult(String[] projections, long totalResults, List<Object> results, String cursorId) {
       this.projections = projections;
       this.totalResults = totalResults;
       this.results = results;
+      this.cursorId = cursorId;
    }
 
    public String[] getProjections() {
@@ -24,4 +30,11 @@ public long getTotalResults() {
    public List<Object> getResults() {
       return results;
    }
+
+   /**
+    * @return the id of the cursor to read the next results from, or {@code null} if there are no more results
+    */
+   public String getCursorId() {
+      return cursorId;
+   }
 }
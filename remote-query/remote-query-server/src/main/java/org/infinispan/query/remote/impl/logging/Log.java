@@ -91,4 +91,10 @@ public interface Log extends BasicLogger {
    @Message(id = 28022, value = "The declared indexed type '%s' is not known. Please register its proto schema file first")
    CacheConfigurationException unknownType(String typeName);
 
+   @Message(id = 28029, value = "Query cursor '%s' does not exist. It was either exhausted, closed or reaped after being idle.")
+   CacheException queryCursorNotFound(String cursorId);
+
+   @LogMessage(level = WARN)
+   @Message(id = 28030, value = "Removed idle query cursor '%s'")
+   void removedIdleQueryCursor(String cursorId);
 }
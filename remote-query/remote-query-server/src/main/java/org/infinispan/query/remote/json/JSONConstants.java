@@ -7,6 +7,7 @@ public interface JSONConstants {
    String ERROR = "error";
    String MESSAGE = "message";
    String CAUSE = "cause";
+   String CURSOR = "cursor";
    String HIT = "hit";
    String HITS = "hits";
    String MAX_RESULTS = "max_results";
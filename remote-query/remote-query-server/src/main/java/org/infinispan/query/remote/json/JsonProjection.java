@@ -2,6 +2,7 @@
 
 import static org.infinispan.query.remote.json.JSONConstants.HIT;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.infinispan.commons.dataconversion.internal.JsonSerialization;
@@ -18,6 +19,18 @@ public class JsonProjection implements JsonSerialization {
       this.value = value;
    }
 
+   /**
+    * @param projections the names of the projected fields
+    * @param row the projected values, in the same order as their names
+    */
+   public static JsonProjection fromRow(String[] projections, Object[] row) {
+      Map<String, Object> p = new HashMap<>();
+      for (int i = 0; i < projections.length; i++) {
+         p.put(projections[i], row[i]);
+      }
+      return new JsonProjection(p);
+   }
+
    public Map<String, Object> getValue() {
       return value;
    }
@@ -1,5 +1,8 @@
 package org.infinispan.query.remote.json;
 
+import static org.infinispan.query.remote.json.JSONConstants.CURSOR;
+
+import org.infinispan.commons.dataconversion.internal.Json;
 import org.infinispan.commons.dataconversion.internal.JsonSerialization;
 
 /**
@@ -9,6 +12,8 @@ public abstract class JsonQueryResponse implements JsonSerialization {
 
    private final long totalResults;
 
+   private String cursor;
+
    JsonQueryResponse(long totalResults) {
       this.totalResults = totalResults;
    }
@@ -16,4 +21,19 @@ public abstract class JsonQueryResponse implements JsonSerialization {
    public long getTotalResults() {
       return totalResults;
    }
+
+   /**
+    * @return the id of the cursor to read the next results from, or {@code null} if there are no more results
+    */
+   public String getCursor() {
+      return cursor;
+   }
+
+   public void setCursor(String cursor) {
+      this.cursor = cursor;
+   }
+
+   Json withCursor(Json object) {
+      return cursor != null ? object.set(CURSOR, cursor) : object;
+   }
 }
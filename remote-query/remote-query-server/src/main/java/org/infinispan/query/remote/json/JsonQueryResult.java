@@ -30,6 +30,6 @@ public Json toJson() {
       Json array = Json.array();
       hits.forEach(hit -> array.add(Json.factory().raw(hit.toJson().toString())));
       object.set(HITS, array);
-      return object;
+      return withCursor(object);
    }
 }
@@ -4,9 +4,7 @@
 import static org.infinispan.query.remote.json.JSONConstants.TOTAL_RESULTS;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.infinispan.commons.dataconversion.internal.Json;
 
@@ -21,12 +19,7 @@ public ProjectedJsonResult(long totalResults, String[] projections, List<Object>
       super(totalResults);
       hits = new ArrayList<>(projections.length);
       for (Object v : values) {
-         Object[] result = (Object[]) v;
-         Map<String, Object> p = new HashMap<>();
-         for (int i = 0; i < projections.length; i++) {
-            p.put(projections[i], result[i]);
-         }
-         hits.add(new JsonProjection(p));
+         hits.add(JsonProjection.fromRow(projections, (Object[]) v));
       }
    }
 
@@ -40,6 +33,6 @@ public Json toJson() {
       object.set(TOTAL_RESULTS, getTotalResults());
       Json array = Json.array();
       hits.forEach(h -> array.add(Json.factory().raw(h.toJson().toString())));
-      return object.set(HITS, array);
+      return withCursor(object.set(HITS, array));
    }
 }
@@ -82,6 +82,12 @@ public S ioThreads(int ioThreads) {
       return self();
    }
 
+   @Override
+   public S transport(TransportType transport) {
+      builder.transport(transport);
+      return self();
+   }
+
    @Override
    public S workerThreads(int workerThreads) {
       builder.workerThreads(workerThreads);
@@ -30,6 +30,7 @@ public abstract class ProtocolServerConfiguration implements ConfigurationInfo {
    public static final AttributeDefinition<Boolean> TCP_NODELAY = AttributeDefinition.builder("tcp-nodelay", true).immutable().build();
    public static final AttributeDefinition<Boolean> TCP_KEEPALIVE = AttributeDefinition.builder("tcp-keepalive", false).immutable().build();
    public static final AttributeDefinition<Integer> IO_THREADS = AttributeDefinition.builder("io-threads", 2 * ProcessorInfo.availableProcessors()).immutable().build();
+   public static final AttributeDefinition<TransportType> TRANSPORT = AttributeDefinition.builder("transport", TransportType.AUTO).immutable().build();
    public static final AttributeDefinition<AdminOperationsHandler> ADMIN_OPERATION_HANDLER = AttributeDefinition.builder("admin-operation-handler", null, AdminOperationsHandler.class)
          .serializer(NullAttributeSerializer.INSTANCE)
          .immutable().build();
@@ -42,7 +43,7 @@ public abstract class ProtocolServerConfiguration implements ConfigurationInfo {
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(ProtocolServerConfiguration.class,
-            DEFAULT_CACHE_NAME, NAME, HOST, PORT, IDLE_TIMEOUT, IGNORED_CACHES, RECV_BUF_SIZE, SEND_BUF_SIZE, START_TRANSPORT, TCP_NODELAY, TCP_KEEPALIVE, IO_THREADS, ADMIN_OPERATION_HANDLER, ZERO_CAPACITY_NODE, SOCKET_BINDING);
+            DEFAULT_CACHE_NAME, NAME, HOST, PORT, IDLE_TIMEOUT, IGNORED_CACHES, RECV_BUF_SIZE, SEND_BUF_SIZE, START_TRANSPORT, TCP_NODELAY, TCP_KEEPALIVE, IO_THREADS, TRANSPORT, ADMIN_OPERATION_HANDLER, ZERO_CAPACITY_NODE, SOCKET_BINDING);
    }
 
    private final Attribute<String> defaultCacheName;
@@ -55,6 +56,7 @@ public static AttributeSet attributeDefinitionSet() {
    private final Attribute<Boolean> tcpNoDelay;
    private final Attribute<Boolean> tcpKeepAlive;
    private final Attribute<Integer> ioThreads;
+   private final Attribute<TransportType> transport;
    private final Attribute<Integer> workerThreads;
    private final Attribute<Boolean> startTransport;
    private final Attribute<AdminOperationsHandler> adminOperationsHandler;
@@ -83,6 +85,7 @@ protected ProtocolServerConfiguration(AttributeSet attributes, SslConfiguration
       tcpNoDelay = attributes.attribute(TCP_NODELAY);
       tcpKeepAlive = attributes.attribute(TCP_KEEPALIVE);
       ioThreads = attributes.attribute(IO_THREADS);
+      transport = attributes.attribute(TRANSPORT);
       workerThreads = attributes.attribute(WORKER_THREADS);
       adminOperationsHandler = attributes.attribute(ADMIN_OPERATION_HANDLER);
       socketBinding = attributes.attribute(SOCKET_BINDING);
@@ -140,6 +143,10 @@ public int ioThreads() {
       return ioThreads.get();
    }
 
+   public TransportType transport() {
+      return transport.get();
+   }
+
    public int workerThreads() {
       return workerThreads.get();
    }
@@ -13,6 +13,7 @@
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.START_TRANSPORT;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.TCP_KEEPALIVE;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.TCP_NODELAY;
+import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.TRANSPORT;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.WORKER_THREADS;
 
 import org.infinispan.commons.configuration.Builder;
@@ -122,6 +123,12 @@ public S ioThreads(int ioThreads) {
       return this.self();
    }
 
+   @Override
+   public S transport(TransportType transport) {
+      attributes.attribute(TRANSPORT).set(transport);
+      return this.self();
+   }
+
    @Override
    public S workerThreads(int workerThreads) {
       attributes.attribute(WORKER_THREADS).set(workerThreads);
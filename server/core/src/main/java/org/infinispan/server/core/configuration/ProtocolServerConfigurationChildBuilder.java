@@ -75,6 +75,11 @@
     */
    S ioThreads(int ioThreads);
 
+   /**
+    * Sets the Netty transport. Defaults to {@link TransportType#AUTO}, which picks the best transport available
+    */
+   S transport(TransportType transport);
+
    /**
     * Sets the number of worker threads
     */
@@ -0,0 +1,25 @@
+package org.infinispan.server.core.configuration;
+
+/**
+ * The Netty transport used by a protocol server.
+ *
+ * @since 13.0
+ */
+public enum TransportType {
+   /**
+    * Uses the native io_uring transport when it is available, falling back to native epoll and then to NIO.
+    */
+   AUTO,
+   /**
+    * Uses the native io_uring transport, which requires Linux and the netty-incubator-transport-native-io_uring jar.
+    */
+   IO_URING,
+   /**
+    * Uses the native epoll transport, which requires Linux.
+    */
+   EPOLL,
+   /**
+    * Uses the NIO transport, which is available on every platform.
+    */
+   NIO
+}
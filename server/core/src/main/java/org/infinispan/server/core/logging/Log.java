@@ -12,6 +12,7 @@
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.server.core.configuration.TransportType;
 import org.infinispan.server.core.dataconversion.TranscodingException;
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
@@ -166,4 +167,11 @@ public interface Log extends BasicLogger {
    @LogMessage(level = INFO)
    @Message(value = "Rejected connection from '%s' using rule '%s'", id = 5052)
    void ipFilterConnectionRejection(InetSocketAddress remoteAddress, IpFilterRule rule);
+
+   @LogMessage(level = INFO)
+   @Message(value = "Native io_uring transport not available, using Epoll or NIO instead: %s", id = 5053)
+   void ioUringNotAvailable(String message);
+
+   @Message(value = "The '%s' transport was configured but it is not available: %s", id = 5054)
+   CacheConfigurationException transportNotAvailable(TransportType transport, String cause);
 }
@@ -14,16 +14,18 @@ final class EPollAvailable {
    private static final boolean EPOLL_DISABLED = System.getProperty(USE_EPOLL_PROPERTY, "true").equalsIgnoreCase("false");
 
    // Has to be after other static variables to ensure they are initialized
-   static final boolean USE_NATIVE_EPOLL = useNativeEpoll();
+   static final String UNAVAILABILITY_CAUSE = epollUnavailabilityCause();
+   static final boolean USE_NATIVE_EPOLL = !EPOLL_DISABLED && UNAVAILABILITY_CAUSE == null;
 
-   private static boolean useNativeEpoll() {
+   private static String epollUnavailabilityCause() {
       if (Epoll.isAvailable()) {
-         return !EPOLL_DISABLED && IS_LINUX;
+         return IS_LINUX ? null : "epoll is only supported on Linux";
       } else {
+         String cause = Epoll.unavailabilityCause().toString();
          if (IS_LINUX) {
-            log.epollNotAvailable(Epoll.unavailabilityCause().toString());
+            log.epollNotAvailable(cause);
          }
-         return false;
+         return cause;
       }
    }
 }
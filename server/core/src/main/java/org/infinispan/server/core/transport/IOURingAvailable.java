@@ -0,0 +1,39 @@
+package org.infinispan.server.core.transport;
+
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.server.core.logging.Log;
+
+import io.netty.incubator.channel.uring.IOUring;
+
+// This is a separate class for better replacement within Quarkus as it doesn't support native io_uring
+final class IOURingAvailable {
+   static private final Log log = LogFactory.getLog(IOURingAvailable.class, Log.class);
+
+   private static final String USE_IOURING_PROPERTY = "infinispan.server.channel.iouring";
+   private static final boolean IS_LINUX = System.getProperty("os.name").toLowerCase().startsWith("linux");
+   private static final boolean IOURING_DISABLED = System.getProperty(USE_IOURING_PROPERTY, "true").equalsIgnoreCase("false");
+
+   // Has to be after other static variables to ensure they are initialized
+   static final String UNAVAILABILITY_CAUSE = ioUringUnavailabilityCause();
+   static final boolean USE_NATIVE_IOURING = !IOURING_DISABLED && UNAVAILABILITY_CAUSE == null;
+
+   private static String ioUringUnavailabilityCause() {
+      if (!IS_LINUX) {
+         return "io_uring is only supported on Linux";
+      }
+      try {
+         // The io_uring transport is optional, it is only used when it has been added to the classpath
+         Class.forName("io.netty.incubator.channel.uring.IOUring", true, IOURingAvailable.class.getClassLoader());
+      } catch (ClassNotFoundException e) {
+         return "netty-incubator-transport-native-io_uring is not on the classpath";
+      }
+      if (IOUring.isAvailable()) {
+         return null;
+      }
+      String cause = IOUring.unavailabilityCause().toString();
+      if (!IOURING_DISABLED) {
+         log.ioUringNotAvailable(cause);
+      }
+      return cause;
+   }
+}
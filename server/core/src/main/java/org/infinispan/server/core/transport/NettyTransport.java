@@ -25,14 +25,10 @@
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
-import io.netty.channel.epoll.EpollEventLoopGroup;
-import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFutureListener;
 import io.netty.channel.group.ChannelMatcher;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.ImmediateEventExecutor;
@@ -95,7 +91,8 @@ public NettyTransport(InetSocketAddress address, ProtocolServerConfiguration con
       serverChannels = new DefaultChannelGroup(threadNamePrefix + "-Channels", ImmediateEventExecutor.INSTANCE);
       acceptedChannels = new DefaultChannelGroup(threadNamePrefix + "-Accepted", ImmediateEventExecutor.INSTANCE);
 
-      connectionStats = new NettyTransportConnectionStats(cacheManager, acceptedChannels, threadNamePrefix);
+      connectionStats = new NettyTransportConnectionStats(cacheManager, acceptedChannels, threadNamePrefix,
+            NettyTransportType.forConfiguration(configuration.transport()));
    }
 
    public void initializeHandler(ChannelInitializer<Channel> handler) {
@@ -317,6 +314,15 @@ public int getNumberOfGlobalConnections() {
       return connectionStats.getNumberOfGlobalConnections();
    }
 
+   @ManagedAttribute(
+         description = "Returns the Netty transport used by the server, one of io_uring, epoll or nio.",
+         displayName = "Transport type",
+         dataType = DataType.TRAIT
+   )
+   public String getTransportType() {
+      return connectionStats.getTransportType().toString();
+   }
+
    public void updateTotalBytesWritten(int bytes) {
       connectionStats.incrementTotalBytesWritten(bytes);
    }
@@ -335,14 +341,13 @@ public CompletionStage<Void> closeChannels(ChannelMatcher channelMatcher) {
    }
 
    private Class<? extends ServerChannel> getServerSocketChannel() {
-      Class<? extends ServerChannel> channel = EPollAvailable.USE_NATIVE_EPOLL ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+      Class<? extends ServerChannel> channel = connectionStats.getTransportType().serverSocketChannel();
       log.createdSocketChannel(channel.getName(), configuration.toString());
       return channel;
    }
 
    private EventLoopGroup buildEventLoop(int nThreads, DefaultThreadFactory threadFactory) {
-      EventLoopGroup eventLoop = EPollAvailable.USE_NATIVE_EPOLL ? new EpollEventLoopGroup(nThreads, threadFactory) :
-            new NioEventLoopGroup(nThreads, threadFactory);
+      EventLoopGroup eventLoop = connectionStats.getTransportType().createEventLoopGroup(nThreads, threadFactory);
       log.createdNettyEventLoop(eventLoop.getClass().getName(), configuration.toString());
       return eventLoop;
    }
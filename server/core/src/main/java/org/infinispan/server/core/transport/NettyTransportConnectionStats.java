@@ -22,13 +22,16 @@ class NettyTransportConnectionStats {
    private final boolean isGlobalStatsEnabled;
    private final ChannelGroup acceptedChannels;
    private final String threadNamePrefix;
+   private final NettyTransportType transportType;
    private final AtomicLong totalBytesWritten = new AtomicLong();
    private final AtomicLong totalBytesRead = new AtomicLong();
 
-   public NettyTransportConnectionStats(EmbeddedCacheManager cacheManager, ChannelGroup acceptedChannels, String threadNamePrefix) {
+   public NettyTransportConnectionStats(EmbeddedCacheManager cacheManager, ChannelGroup acceptedChannels, String threadNamePrefix,
+                                        NettyTransportType transportType) {
       this.cacheManager = cacheManager;
       this.acceptedChannels = acceptedChannels;
       this.threadNamePrefix = threadNamePrefix;
+      this.transportType = transportType;
       this.isGlobalStatsEnabled = cacheManager != null && cacheManager.getCacheManagerConfiguration().statistics();
    }
 
@@ -53,6 +56,10 @@ public long getTotalBytesRead() {
       return totalBytesRead.get();
    }
 
+   public NettyTransportType getTransportType() {
+      return transportType;
+   }
+
    private boolean needDistributedCalculation() {
       if (cacheManager != null) {
          return cacheManager.getMembers() != null && cacheManager.getMembers().size() > 1;
@@ -0,0 +1,102 @@
+package org.infinispan.server.core.transport;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.server.core.configuration.TransportType;
+import org.infinispan.server.core.logging.Log;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+
+/**
+ * The Netty transports the server can use. Unless a transport is chosen with the {@code transport} attribute of the
+ * endpoint, the native io_uring transport is preferred when it is on the classpath and supported by the kernel, falling
+ * back to native epoll and then to NIO.
+ *
+ * @since 13.0
+ */
+enum NettyTransportType {
+   IO_URING("io_uring") {
+      @Override
+      Class<? extends ServerChannel> serverSocketChannel() {
+         return IOUringServerSocketChannel.class;
+      }
+
+      @Override
+      EventLoopGroup createEventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+         return new IOUringEventLoopGroup(nThreads, threadFactory);
+      }
+   },
+   EPOLL("epoll") {
+      @Override
+      Class<? extends ServerChannel> serverSocketChannel() {
+         return EpollServerSocketChannel.class;
+      }
+
+      @Override
+      EventLoopGroup createEventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+         return new EpollEventLoopGroup(nThreads, threadFactory);
+      }
+   },
+   NIO("nio") {
+      @Override
+      Class<? extends ServerChannel> serverSocketChannel() {
+         return NioServerSocketChannel.class;
+      }
+
+      @Override
+      EventLoopGroup createEventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+         return new NioEventLoopGroup(nThreads, threadFactory);
+      }
+   };
+
+   private static final Log log = LogFactory.getLog(NettyTransportType.class, Log.class);
+
+   static final NettyTransportType ACTIVE = IOURingAvailable.USE_NATIVE_IOURING ? IO_URING :
+         EPollAvailable.USE_NATIVE_EPOLL ? EPOLL : NIO;
+
+   /**
+    * Returns the transport chosen in the configuration, or {@link #ACTIVE} for {@link TransportType#AUTO}. A native
+    * transport chosen explicitly is used even if its system property disables it, but it must be available.
+    */
+   static NettyTransportType forConfiguration(TransportType transport) {
+      switch (transport) {
+         case IO_URING:
+            if (IOURingAvailable.UNAVAILABILITY_CAUSE != null) {
+               throw log.transportNotAvailable(transport, IOURingAvailable.UNAVAILABILITY_CAUSE);
+            }
+            return IO_URING;
+         case EPOLL:
+            if (EPollAvailable.UNAVAILABILITY_CAUSE != null) {
+               throw log.transportNotAvailable(transport, EPollAvailable.UNAVAILABILITY_CAUSE);
+            }
+            return EPOLL;
+         case NIO:
+            return NIO;
+         default:
+            return ACTIVE;
+      }
+   }
+
+   private final String displayName;
+
+   NettyTransportType(String displayName) {
+      this.displayName = displayName;
+   }
+
+   abstract Class<? extends ServerChannel> serverSocketChannel();
+
+   abstract EventLoopGroup createEventLoopGroup(int nThreads, ThreadFactory threadFactory);
+
+   @Override
+   public String toString() {
+      return displayName;
+   }
+}
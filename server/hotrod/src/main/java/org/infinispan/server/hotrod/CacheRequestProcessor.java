@@ -1,6 +1,9 @@
 package org.infinispan.server.hotrod;
 
 import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,6 +13,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 
 import javax.security.auth.Subject;
 
@@ -21,8 +25,11 @@
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.versioning.NumericVersion;
 import org.infinispan.context.Flag;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.encoding.DataConversion;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.metadata.Metadata;
+import org.infinispan.remoting.transport.Address;
 import org.infinispan.server.core.RequestTracer;
 import org.infinispan.server.hotrod.HotRodServer.ExtendedCacheInfo;
 import org.infinispan.server.hotrod.iteration.IterableIterationResult;
@@ -31,6 +38,7 @@
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import net.jcip.annotations.GuardedBy;
 
 class CacheRequestProcessor extends BaseRequestProcessor {
    private static final Log log = LogFactory.getLog(CacheRequestProcessor.class, Log.class);
@@ -467,12 +475,41 @@ private void handlePutAll(HotRodHeader header, Throwable throwable, Object span)
    void getAll(HotRodHeader header, Subject subject, Set<?> keys) {
       ExtendedCacheInfo cacheInfo = server.getCacheInfo(header);
       AdvancedCache<byte[], byte[]> cache = server.cache(cacheInfo, header, subject);
-      getAllInternal(header, cache, keys);
+      getAllInternal(header, cacheInfo, cache, keys);
    }
 
-   private void getAllInternal(HotRodHeader header, AdvancedCache<byte[], byte[]> cache, Set<?> keys) {
-      cache.getAllAsync(keys)
-            .whenComplete((map, throwable) -> handleGetAll(header, map, throwable));
+   private void getAllInternal(HotRodHeader header, ExtendedCacheInfo cacheInfo, AdvancedCache<byte[], byte[]> cache,
+                               Set<?> keys) {
+      Collection<Set<Object>> keysByOwner = groupKeysByPrimaryOwner(cacheInfo, cache, keys);
+      if (keysByOwner == null) {
+         cache.getAllAsync(keys)
+               .whenComplete((map, throwable) -> handleGetAll(header, map, throwable));
+         return;
+      }
+      GetAllResponseWriter responseWriter = new GetAllResponseWriter(header, keysByOwner.size());
+      for (Set<Object> ownerKeys : keysByOwner) {
+         cache.getAllAsync(ownerKeys).whenComplete(responseWriter);
+      }
+   }
+
+   /**
+    * Splits the keys by their primary owner, so that the entries of each owner can be written to the response as soon
+    * as they are received instead of waiting for the slowest owner.
+    * @return the keys of each primary owner, or {@code null} if the keys should be retrieved with a single command
+    */
+   private Collection<Set<Object>> groupKeysByPrimaryOwner(ExtendedCacheInfo cacheInfo,
+                                                          AdvancedCache<byte[], byte[]> cache, Set<?> keys) {
+      if (keys.size() < 2 || !cacheInfo.configuration.clustering().cacheMode().isDistributed()) {
+         return null;
+      }
+      LocalizedCacheTopology cacheTopology = cacheInfo.distributionManager.getCacheTopology();
+      DataConversion keyDataConversion = cache.getKeyDataConversion();
+      Map<Address, Set<Object>> keysByOwner = new HashMap<>();
+      for (Object key : keys) {
+         Address primary = cacheTopology.getDistribution(keyDataConversion.toStorage(key)).primary();
+         keysByOwner.computeIfAbsent(primary, a -> new HashSet<>()).add(key);
+      }
+      return keysByOwner.size() > 1 ? keysByOwner.values() : null;
    }
 
    private void handleGetAll(HotRodHeader header, Map<byte[], byte[]> map, Throwable throwable) {
@@ -483,6 +520,55 @@ private void handleGetAll(HotRodHeader header, Map<byte[], byte[]> map, Throwabl
       }
    }
 
+   /**
+    * Collects the results of the get all commands sent for each primary owner. The entries are written to a buffer as
+    * each command completes and the response is sent after the last one.
+    */
+   private class GetAllResponseWriter implements BiConsumer<Map<byte[], byte[]>, Throwable> {
+      private final HotRodHeader header;
+      @GuardedBy("this")
+      private final ByteBuf entries;
+      @GuardedBy("this")
+      private int pendingOwners;
+      @GuardedBy("this")
+      private int size;
+      @GuardedBy("this")
+      private Throwable throwable;
+
+      GetAllResponseWriter(HotRodHeader header, int pendingOwners) {
+         this.header = header;
+         this.pendingOwners = pendingOwners;
+         this.entries = channel.alloc().ioBuffer();
+      }
+
+      @Override
+      public void accept(Map<byte[], byte[]> map, Throwable t) {
+         Throwable failure;
+         int totalSize;
+         synchronized (this) {
+            if (t != null) {
+               if (throwable == null) {
+                  throwable = t;
+               }
+            } else if (throwable == null) {
+               header.encoder().writeGetAllEntries(map, entries);
+               size += map.size();
+            }
+            if (--pendingOwners > 0) {
+               return;
+            }
+            failure = throwable;
+            totalSize = size;
+         }
+         if (failure != null) {
+            entries.release();
+            writeException(header, failure);
+         } else {
+            writeResponse(header, header.encoder().getAllResponse(header, server, channel, totalSize, entries));
+         }
+      }
+   }
+
    void size(HotRodHeader header, Subject subject) {
       Object span = RequestTracer.requestStart(HotRodOperation.SIZE.name());
       AdvancedCache<byte[], byte[]> cache = server.cache(server.getCacheInfo(header), header, subject);
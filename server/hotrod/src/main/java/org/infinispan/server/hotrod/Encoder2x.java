@@ -252,11 +252,24 @@ public ByteBuf getStreamResponse(HotRodHeader header, HotRodServer server, Chann
    public ByteBuf getAllResponse(HotRodHeader header, HotRodServer server, Channel channel, Map<byte[], byte[]> entries) {
       ByteBuf buf = writeHeader(header, server, channel, OperationStatus.Success);
       ExtendedByteBuf.writeUnsignedInt(entries.size(), buf);
+      writeGetAllEntries(entries, buf);
+      return buf;
+   }
+
+   @Override
+   public ByteBuf getAllResponse(HotRodHeader header, HotRodServer server, Channel channel, int size, ByteBuf entries) {
+      ByteBuf buf = writeHeader(header, server, channel, OperationStatus.Success);
+      ExtendedByteBuf.writeUnsignedInt(size, buf);
+      // The entries can be large, so add them as a component instead of copying them
+      return channel.alloc().compositeBuffer(2).addComponents(true, buf, entries);
+   }
+
+   @Override
+   public void writeGetAllEntries(Map<byte[], byte[]> entries, ByteBuf buf) {
       for (Map.Entry<byte[], byte[]> entry : entries.entrySet()) {
          ExtendedByteBuf.writeRangedBytes(entry.getKey(), buf);
          ExtendedByteBuf.writeRangedBytes(entry.getValue(), buf);
       }
-      return buf;
    }
 
    @Override
@@ -59,6 +59,17 @@ default ByteBuf pingResponse(HotRodHeader header, HotRodServer server, Channel c
 
    ByteBuf getAllResponse(HotRodHeader header, HotRodServer server, Channel channel, Map<byte[], byte[]> map);
 
+   /**
+    * Writes a get all response whose entries were already written with {@link #writeGetAllEntries(Map, ByteBuf)}.
+    * The response takes ownership of the {@code entries} buffer.
+    */
+   ByteBuf getAllResponse(HotRodHeader header, HotRodServer server, Channel channel, int size, ByteBuf entries);
+
+   /**
+    * Writes the entries of a get all response without the header and the number of entries.
+    */
+   void writeGetAllEntries(Map<byte[], byte[]> entries, ByteBuf buf);
+
    ByteBuf bulkGetKeysResponse(HotRodHeader header, HotRodServer server, Channel channel, CloseableIterator<byte[]> iterator);
 
    ByteBuf iterationStartResponse(HotRodHeader header, HotRodServer server, Channel channel, String iterationId);
@@ -0,0 +1,519 @@
+package org.infinispan.server.memcached;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.infinispan.commons.dataconversion.MediaType.TEXT_PLAIN;
+import static org.infinispan.server.memcached.TextProtocolUtil.concat;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.util.Util;
+import org.infinispan.commons.util.Version;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.context.Flag;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.server.memcached.logging.Log;
+import org.infinispan.stats.Stats;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * A decoder for the Memcached binary protocol.
+ * <p>
+ * A request is only decoded once all of its bytes have been received, so unlike {@link MemcachedDecoder} there is no
+ * replaying. Responses are written without flushing and are flushed once all the requests that were read from the
+ * socket have been handled, so pipelined requests such as a batch of quiet gets terminated by a no-op are answered
+ * with a single write.
+ *
+ * @since 13.0
+ */
+class MemcachedBinaryDecoder extends ByteToMessageDecoder {
+   private static final Log log = LogFactory.getLog(MemcachedBinaryDecoder.class, Log.class);
+
+   static final byte MAGIC_REQUEST = (byte) 0x80;
+   static final byte MAGIC_RESPONSE = (byte) 0x81;
+   static final int HEADER_LENGTH = 24;
+   private static final int MAX_KEY_LENGTH = 250;
+
+   // Opcodes
+   static final byte GET = 0x00;
+   static final byte SET = 0x01;
+   static final byte ADD = 0x02;
+   static final byte REPLACE = 0x03;
+   static final byte DELETE = 0x04;
+   static final byte INCREMENT = 0x05;
+   static final byte DECREMENT = 0x06;
+   static final byte QUIT = 0x07;
+   static final byte FLUSH = 0x08;
+   static final byte GETQ = 0x09;
+   static final byte NOOP = 0x0a;
+   static final byte VERSION = 0x0b;
+   static final byte GETK = 0x0c;
+   static final byte GETKQ = 0x0d;
+   static final byte APPEND = 0x0e;
+   static final byte PREPEND = 0x0f;
+   static final byte STAT = 0x10;
+   static final byte SETQ = 0x11;
+   static final byte ADDQ = 0x12;
+   static final byte REPLACEQ = 0x13;
+   static final byte DELETEQ = 0x14;
+   static final byte INCREMENTQ = 0x15;
+   static final byte DECREMENTQ = 0x16;
+   static final byte QUITQ = 0x17;
+   static final byte FLUSHQ = 0x18;
+   static final byte APPENDQ = 0x19;
+   static final byte PREPENDQ = 0x1a;
+   static final byte TOUCH = 0x1c;
+   static final byte GAT = 0x1d;
+   static final byte GATQ = 0x1e;
+   static final byte GATK = 0x23;
+   static final byte GATKQ = 0x24;
+
+   // Response status
+   static final short NO_ERROR = 0x0000;
+   static final short KEY_NOT_FOUND = 0x0001;
+   static final short KEY_EXISTS = 0x0002;
+   static final short VALUE_TOO_LARGE = 0x0003;
+   static final short INVALID_ARGUMENTS = 0x0004;
+   static final short ITEM_NOT_STORED = 0x0005;
+   static final short NON_NUMERIC_VALUE = 0x0006;
+   static final short UNKNOWN_COMMAND = 0x0081;
+   static final short INTERNAL_ERROR = 0x0084;
+   static final short TEMPORARY_FAILURE = 0x0086;
+
+   // Expiration of incr/decr that means the item must not be created
+   private static final int NO_AUTO_CREATE = 0xffffffff;
+
+   private final AdvancedCache<byte[], byte[]> cache;
+   private final ScheduledExecutorService scheduler;
+   private final Predicate<? super String> ignoreCache;
+   private final int maxContentLength;
+   private boolean closing;
+
+   MemcachedBinaryDecoder(AdvancedCache<byte[], byte[]> memcachedCache, ScheduledExecutorService scheduler,
+                          Predicate<? super String> ignoreCache, MediaType valuePayload, int maxContentLength) {
+      this.cache = memcachedCache.withMediaType(TEXT_PLAIN, valuePayload);
+      this.scheduler = scheduler;
+      this.ignoreCache = ignoreCache;
+      this.maxContentLength = maxContentLength;
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+      if (closing) {
+         in.skipBytes(in.readableBytes());
+         return;
+      }
+      if (in.readableBytes() < HEADER_LENGTH) {
+         return;
+      }
+      int start = in.readerIndex();
+      if (in.getByte(start) != MAGIC_REQUEST) {
+         log.debugf("Invalid binary request magic 0x%02x, closing %s", in.getByte(start), ctx.channel());
+         in.skipBytes(in.readableBytes());
+         ctx.close();
+         return;
+      }
+      byte opcode = in.getByte(start + 1);
+      int opaque = in.getInt(start + 12);
+      long announcedBodyLength = in.getUnsignedInt(start + 8);
+      if (announcedBodyLength > maxContentLength) {
+         // Don't buffer the body, the rest of the stream cannot be parsed without reading it
+         log.debugf("Binary request body of %d bytes exceeds the maximum of %d bytes, closing %s",
+               announcedBodyLength, maxContentLength, ctx.channel());
+         closing = true;
+         in.skipBytes(in.readableBytes());
+         writeError(ctx, opcode, opaque, VALUE_TOO_LARGE, "Too large");
+         ctx.writeAndFlush(ctx.alloc().buffer(0)).addListener(ChannelFutureListener.CLOSE);
+         return;
+      }
+      int bodyLength = (int) announcedBodyLength;
+      if (in.readableBytes() - HEADER_LENGTH < bodyLength) {
+         return;
+      }
+      int keyLength = in.getUnsignedShort(start + 2);
+      int extrasLength = in.getUnsignedByte(start + 4);
+      long cas = in.getLong(start + 16);
+      int valueLength = bodyLength - extrasLength - keyLength;
+      // The extras are parsed in place, only the key and value are copied as the cache stores byte arrays
+      ByteBuf extras = in.slice(start + HEADER_LENGTH, extrasLength);
+      int keyOffset = start + HEADER_LENGTH + extrasLength;
+      in.skipBytes(HEADER_LENGTH + bodyLength);
+
+      if (valueLength < 0 || keyLength > MAX_KEY_LENGTH) {
+         writeError(ctx, opcode, opaque, INVALID_ARGUMENTS, "Invalid arguments");
+         return;
+      }
+      byte[] key = keyLength == 0 ? Util.EMPTY_BYTE_ARRAY : ByteBufUtil.getBytes(in, keyOffset, keyLength);
+      if (log.isTraceEnabled()) {
+         log.tracef("Binary request opcode=0x%02x key=%s extras=%d value=%d opaque=%d cas=%d", opcode,
+               Util.printArray(key), extrasLength, valueLength, opaque, cas);
+      }
+      try {
+         String cacheName = cache.getName();
+         if (ignoreCache.test(cacheName)) {
+            writeError(ctx, opcode, opaque, TEMPORARY_FAILURE, "Cache " + cacheName + " is unavailable");
+            return;
+         }
+         handle(ctx, opcode, opaque, cas, extras, key, in, keyOffset + keyLength, valueLength);
+      } catch (Exception e) {
+         log.exceptionReported(e);
+         writeError(ctx, opcode, opaque, INTERNAL_ERROR, String.valueOf(e.getMessage()));
+      }
+   }
+
+   @Override
+   public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      ctx.flush();
+      super.channelReadComplete(ctx);
+   }
+
+   private void handle(ChannelHandlerContext ctx, byte opcode, int opaque, long cas, ByteBuf extras, byte[] key,
+                       ByteBuf in, int valueOffset, int valueLength) {
+      switch (opcode) {
+         case GET:
+         case GETQ:
+         case GETK:
+         case GETKQ:
+            get(ctx, opcode, opaque, key, cache.getCacheEntry(key));
+            break;
+         case GAT:
+         case GATQ:
+         case GATK:
+         case GATKQ:
+            if (extras.readableBytes() != 4) {
+               writeError(ctx, opcode, opaque, INVALID_ARGUMENTS, "Invalid arguments");
+            } else {
+               get(ctx, opcode, opaque, key, touch(key, extras.getInt(0)));
+            }
+            break;
+         case TOUCH:
+            if (extras.readableBytes() != 4) {
+               writeError(ctx, opcode, opaque, INVALID_ARGUMENTS, "Invalid arguments");
+            } else if (touch(key, extras.getInt(0)) == null) {
+               writeError(ctx, opcode, opaque, KEY_NOT_FOUND, "Not found");
+            } else {
+               writeResponse(ctx, opcode, opaque, NO_ERROR, 0, null, null, null);
+            }
+            break;
+         case SET:
+         case SETQ:
+         case ADD:
+         case ADDQ:
+         case REPLACE:
+         case REPLACEQ:
+            if (extras.readableBytes() != 8) {
+               writeError(ctx, opcode, opaque, INVALID_ARGUMENTS, "Invalid arguments");
+            } else {
+               store(ctx, opcode, opaque, cas, key, readValue(in, valueOffset, valueLength),
+                     extras.getUnsignedInt(0), extras.getInt(4));
+            }
+            break;
+         case APPEND:
+         case APPENDQ:
+         case PREPEND:
+         case PREPENDQ:
+            concatenate(ctx, opcode, opaque, key, readValue(in, valueOffset, valueLength));
+            break;
+         case DELETE:
+         case DELETEQ:
+            if (cache.remove(key) == null) {
+               writeError(ctx, opcode, opaque, KEY_NOT_FOUND, "Not found");
+            } else if (opcode == DELETE) {
+               writeResponse(ctx, opcode, opaque, NO_ERROR, 0, null, null, null);
+            }
+            break;
+         case INCREMENT:
+         case INCREMENTQ:
+         case DECREMENT:
+         case DECREMENTQ:
+            if (extras.readableBytes() != 20) {
+               writeError(ctx, opcode, opaque, INVALID_ARGUMENTS, "Invalid arguments");
+            } else {
+               incrDecr(ctx, opcode, opaque, key, extras.getLong(0), extras.getLong(8), extras.getInt(16));
+            }
+            break;
+         case FLUSH:
+         case FLUSHQ:
+            int flushDelay = extras.readableBytes() == 4 ? extras.getInt(0) : 0;
+            if (flushDelay == 0) {
+               cache.clear();
+            } else {
+               scheduler.schedule(() -> cache.clear(), MemcachedDecoder.toMillis(flushDelay), TimeUnit.MILLISECONDS);
+            }
+            if (opcode == FLUSH) {
+               writeResponse(ctx, opcode, opaque, NO_ERROR, 0, null, null, null);
+            }
+            break;
+         case NOOP:
+            writeResponse(ctx, opcode, opaque, NO_ERROR, 0, null, null, null);
+            break;
+         case VERSION:
+            writeResponse(ctx, opcode, opaque, NO_ERROR, 0, null, null, Version.getVersion().getBytes(US_ASCII));
+            break;
+         case STAT:
+            stats(ctx, opcode, opaque);
+            break;
+         case QUIT:
+            writeResponse(ctx, opcode, opaque, NO_ERROR, 0, null, null, null);
+            ctx.writeAndFlush(ctx.alloc().buffer(0)).addListener(ChannelFutureListener.CLOSE);
+            break;
+         case QUITQ:
+            ctx.writeAndFlush(ctx.alloc().buffer(0)).addListener(ChannelFutureListener.CLOSE);
+            break;
+         default:
+            writeError(ctx, opcode, opaque, UNKNOWN_COMMAND, "Unknown command");
+            break;
+      }
+   }
+
+   private static byte[] readValue(ByteBuf in, int valueOffset, int valueLength) {
+      return valueLength == 0 ? Util.EMPTY_BYTE_ARRAY : ByteBufUtil.getBytes(in, valueOffset, valueLength);
+   }
+
+   private void get(ChannelHandlerContext ctx, byte opcode, int opaque, byte[] key, CacheEntry<byte[], byte[]> entry) {
+      if (entry == null) {
+         // Quiet gets only answer hits, the client relies on a later no-op to know the misses
+         if (!isQuiet(opcode)) {
+            writeError(ctx, opcode, opaque, KEY_NOT_FOUND, "Not found");
+         }
+         return;
+      }
+      boolean withKey = opcode == GETK || opcode == GETKQ || opcode == GATK || opcode == GATKQ;
+      ByteBuf flags = ctx.alloc().buffer(4).writeInt((int) flags(entry.getMetadata()));
+      writeResponse(ctx, opcode, opaque, NO_ERROR, version(entry.getMetadata()), flags, withKey ? key : null,
+            entry.getValue());
+   }
+
+   private CacheEntry<byte[], byte[]> touch(byte[] key, int expiration) {
+      CacheEntry<byte[], byte[]> entry = cache.getCacheEntry(key);
+      if (entry == null) {
+         return null;
+      }
+      Metadata metadata = new MemcachedMetadata.Builder()
+            .flags(flags(entry.getMetadata()))
+            .merge(entry.getMetadata())
+            .lifespan(expiration > 0 ? MemcachedDecoder.toMillis(expiration) : -1)
+            .build();
+      cache.replace(key, entry.getValue(), metadata);
+      return entry;
+   }
+
+   private void store(ChannelHandlerContext ctx, byte opcode, int opaque, long cas, byte[] key, byte[] value,
+                      long flags, int expiration) {
+      Metadata metadata = new MemcachedMetadata.Builder()
+            .flags(flags)
+            .version(MemcachedDecoder.generateVersion(cache))
+            .lifespan(expiration > 0 ? MemcachedDecoder.toMillis(expiration) : -1)
+            .build();
+      short status;
+      switch (opcode) {
+         case ADD:
+         case ADDQ:
+            status = cache.putIfAbsent(key, value, metadata) == null ? NO_ERROR : KEY_EXISTS;
+            break;
+         case REPLACE:
+         case REPLACEQ:
+            if (cas == 0) {
+               status = cache.replace(key, value, metadata) != null ? NO_ERROR : KEY_NOT_FOUND;
+               break;
+            }
+            // fall through, a replace with a cas behaves as a set with a cas
+         default:
+            if (cas == 0) {
+               cache.put(key, value, metadata);
+               status = NO_ERROR;
+            } else {
+               status = replaceIfUnmodified(key, value, metadata, cas);
+            }
+      }
+      if (status != NO_ERROR) {
+         writeError(ctx, opcode, opaque, status, status == KEY_NOT_FOUND ? "Not found" : "Data exists for key");
+      } else if (!isQuiet(opcode)) {
+         writeResponse(ctx, opcode, opaque, NO_ERROR, version(metadata), null, null, null);
+      }
+   }
+
+   private short replaceIfUnmodified(byte[] key, byte[] value, Metadata metadata, long cas) {
+      CacheEntry<byte[], byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(key);
+      if (entry == null) {
+         return KEY_NOT_FOUND;
+      }
+      if (version(entry.getMetadata()) != cas) {
+         return KEY_EXISTS;
+      }
+      return cache.replace(key, entry.getValue(), value, metadata) ? NO_ERROR : KEY_EXISTS;
+   }
+
+   private void concatenate(ChannelHandlerContext ctx, byte opcode, int opaque, byte[] key, byte[] value) {
+      CacheEntry<byte[], byte[]> entry = cache.getCacheEntry(key);
+      Metadata metadata = null;
+      boolean stored = false;
+      if (entry != null) {
+         byte[] prev = entry.getValue();
+         byte[] concatenated = opcode == APPEND || opcode == APPENDQ ? concat(prev, value) : concat(value, prev);
+         metadata = new MemcachedMetadata.Builder()
+               .flags(flags(entry.getMetadata()))
+               .merge(entry.getMetadata())
+               .version(MemcachedDecoder.generateVersion(cache))
+               .build();
+         stored = cache.replace(key, prev, concatenated, metadata);
+      }
+      if (!stored) {
+         writeError(ctx, opcode, opaque, ITEM_NOT_STORED, "Not stored");
+      } else if (!isQuiet(opcode)) {
+         writeResponse(ctx, opcode, opaque, NO_ERROR, version(metadata), null, null, null);
+      }
+   }
+
+   private void incrDecr(ChannelHandlerContext ctx, byte opcode, int opaque, byte[] key, long delta, long initial,
+                         int expiration) {
+      boolean increment = opcode == INCREMENT || opcode == INCREMENTQ;
+      long counter;
+      Metadata metadata;
+      while (true) {
+         CacheEntry<byte[], byte[]> entry = cache.getCacheEntry(key);
+         if (entry == null) {
+            if (expiration == NO_AUTO_CREATE) {
+               writeError(ctx, opcode, opaque, KEY_NOT_FOUND, "Not found");
+               return;
+            }
+            counter = initial;
+            metadata = new MemcachedMetadata.Builder()
+                  .version(MemcachedDecoder.generateVersion(cache))
+                  .lifespan(expiration > 0 ? MemcachedDecoder.toMillis(expiration) : -1)
+                  .build();
+            if (cache.putIfAbsent(key, Long.toUnsignedString(counter).getBytes(US_ASCII), metadata) == null) {
+               break;
+            }
+         } else {
+            long prev;
+            try {
+               prev = Long.parseUnsignedLong(new String(entry.getValue(), US_ASCII).trim());
+            } catch (NumberFormatException e) {
+               writeError(ctx, opcode, opaque, NON_NUMERIC_VALUE, "Non-numeric server-side value for incr or decr");
+               return;
+            }
+            // Increments wrap around at 64 bits, decrements stop at 0
+            counter = increment ? prev + delta : (Long.compareUnsigned(prev, delta) < 0 ? 0 : prev - delta);
+            metadata = new MemcachedMetadata.Builder()
+                  .flags(flags(entry.getMetadata()))
+                  .merge(entry.getMetadata())
+                  .version(MemcachedDecoder.generateVersion(cache))
+                  .build();
+            if (cache.replace(key, entry.getValue(), Long.toUnsignedString(counter).getBytes(US_ASCII), metadata)) {
+               break;
+            }
+         }
+      }
+      if (!isQuiet(opcode)) {
+         byte[] value = new byte[8];
+         for (int i = 7; i >= 0; --i) {
+            value[i] = (byte) counter;
+            counter >>>= 8;
+         }
+         writeResponse(ctx, opcode, opaque, NO_ERROR, version(metadata), null, null, value);
+      }
+   }
+
+   private void stats(ChannelHandlerContext ctx, byte opcode, int opaque) {
+      Stats stats = cache.getAdvancedCache().getStats();
+      writeStat(ctx, opcode, opaque, "pid", 0);
+      writeStat(ctx, opcode, opaque, "uptime", stats.getTimeSinceStart());
+      writeStat(ctx, opcode, opaque, "time", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+      writeStat(ctx, opcode, opaque, "version", Version.getVersion());
+      writeStat(ctx, opcode, opaque, "curr_items", stats.getCurrentNumberOfEntries());
+      writeStat(ctx, opcode, opaque, "total_items", stats.getTotalNumberOfEntries());
+      writeStat(ctx, opcode, opaque, "cmd_get", stats.getRetrievals());
+      writeStat(ctx, opcode, opaque, "cmd_set", stats.getStores());
+      writeStat(ctx, opcode, opaque, "get_hits", stats.getHits());
+      writeStat(ctx, opcode, opaque, "get_misses", stats.getMisses());
+      writeStat(ctx, opcode, opaque, "delete_misses", stats.getRemoveMisses());
+      writeStat(ctx, opcode, opaque, "delete_hits", stats.getRemoveHits());
+      writeStat(ctx, opcode, opaque, "evictions", stats.getEvictions());
+      // An empty stat terminates the list
+      writeResponse(ctx, opcode, opaque, NO_ERROR, 0, null, null, null);
+   }
+
+   private void writeStat(ChannelHandlerContext ctx, byte opcode, int opaque, String name, Object value) {
+      writeResponse(ctx, opcode, opaque, NO_ERROR, 0, null, name.getBytes(US_ASCII),
+            String.valueOf(value).getBytes(US_ASCII));
+   }
+
+   private void writeError(ChannelHandlerContext ctx, byte opcode, int opaque, short status, String message) {
+      writeResponse(ctx, opcode, opaque, status, 0, null, null, message.getBytes(US_ASCII));
+   }
+
+   private void writeResponse(ChannelHandlerContext ctx, byte opcode, int opaque, short status, long cas,
+                              ByteBuf extras, byte[] key, byte[] value) {
+      int extrasLength = extras == null ? 0 : extras.readableBytes();
+      int keyLength = key == null ? 0 : key.length;
+      int valueLength = value == null ? 0 : value.length;
+      ByteBuf buf = ctx.alloc().buffer(HEADER_LENGTH + extrasLength + keyLength + valueLength);
+      buf.writeByte(MAGIC_RESPONSE);
+      buf.writeByte(opcode);
+      buf.writeShort(keyLength);
+      buf.writeByte(extrasLength);
+      buf.writeByte(0); // data type
+      buf.writeShort(status);
+      buf.writeInt(extrasLength + keyLength + valueLength);
+      buf.writeInt(opaque);
+      buf.writeLong(cas);
+      if (extras != null) {
+         buf.writeBytes(extras);
+         extras.release();
+      }
+      if (key != null) {
+         buf.writeBytes(key);
+      }
+      if (value != null) {
+         buf.writeBytes(value);
+      }
+      if (log.isTraceEnabled()) {
+         log.tracef("Binary response opcode=0x%02x status=0x%04x opaque=%d cas=%d", opcode, status, opaque, cas);
+      }
+      ctx.write(buf, ctx.voidPromise());
+   }
+
+   private static boolean isQuiet(byte opcode) {
+      switch (opcode) {
+         case GETQ:
+         case GETKQ:
+         case GATQ:
+         case GATKQ:
+         case SETQ:
+         case ADDQ:
+         case REPLACEQ:
+         case DELETEQ:
+         case INCREMENTQ:
+         case DECREMENTQ:
+         case QUITQ:
+         case FLUSHQ:
+         case APPENDQ:
+         case PREPENDQ:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   static long flags(Metadata metadata) {
+      return metadata instanceof MemcachedMetadata ? ((MemcachedMetadata) metadata).flags : 0;
+   }
+
+   static long version(Metadata metadata) {
+      EntryVersion version = metadata == null ? null : metadata.version();
+      return version instanceof NumericVersion ? ((NumericVersion) version).getVersion() : 0;
+   }
+}
@@ -14,6 +14,7 @@
 import static org.infinispan.server.memcached.TextProtocolUtil.EXISTS;
 import static org.infinispan.server.memcached.TextProtocolUtil.MAX_UNSIGNED_LONG;
 import static org.infinispan.server.memcached.TextProtocolUtil.MIN_UNSIGNED;
+import static org.infinispan.server.memcached.TextProtocolUtil.MN;
 import static org.infinispan.server.memcached.TextProtocolUtil.NOT_FOUND;
 import static org.infinispan.server.memcached.TextProtocolUtil.NOT_STORED;
 import static org.infinispan.server.memcached.TextProtocolUtil.OK;
@@ -25,6 +26,7 @@
 import static org.infinispan.server.memcached.TextProtocolUtil.VALUE_SIZE;
 import static org.infinispan.server.memcached.TextProtocolUtil.ZERO;
 import static org.infinispan.server.memcached.TextProtocolUtil.concat;
+import static org.infinispan.server.memcached.TextProtocolUtil.extractKeys;
 import static org.infinispan.server.memcached.TextProtocolUtil.extractString;
 import static org.infinispan.server.memcached.TextProtocolUtil.readDiscardedLine;
 import static org.infinispan.server.memcached.TextProtocolUtil.readElement;
@@ -39,6 +41,8 @@
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -118,6 +122,8 @@ public MemcachedDecoder(AdvancedCache<byte[], byte[]> memcachedCache, ScheduledE
    protected Configuration cacheConfiguration;
 
    protected MemcachedParameters params;
+   private MetaParameters metaParams;
+   private StreamCorruptedException metaSetError;
    private final boolean isStatsEnabled;
    private final AtomicLong incrMisses = new AtomicLong();
    private final AtomicLong incrHits = new AtomicLong();
@@ -247,6 +253,15 @@ void decodeKey(ChannelHandlerContext ctx, ByteBuf buffer) throws IOException {
          case ReplaceIfUnmodifiedRequest:
             handleModification(ch, buffer);
             break;
+         case MetaGetRequest:
+            writeResponse(ch, metaGet(buffer));
+            break;
+         case MetaSetRequest:
+            readMetaSetLine(buffer);
+            break;
+         case MetaDeleteRequest:
+            writeResponse(ch, metaDelete(buffer));
+            break;
          default:
             customDecodeKey(ctx, buffer);
             break;
@@ -295,6 +310,10 @@ private void decodeValue(ChannelHandlerContext ctx, ByteBuf buffer, MemcachedDec
          case RemoveRequest:
             ret = remove();
             break;
+         case MetaSetRequest:
+            readValue(buffer);
+            ret = metaSet();
+            break;
          default:
             customDecodeValue(ctx, buffer);
             ret = null;
@@ -514,8 +533,8 @@ private MemcachedParameters readStorageParameters(List<String> args, ByteBuf b)
       return new MemcachedParameters(length, lifespan, -1, streamVersion, noReply, flags, "", 0);
    }
 
-   private EntryVersion generateVersion(Cache<byte[], byte[]> cache) {
-      ComponentRegistry registry = getCacheRegistry();
+   static EntryVersion generateVersion(Cache<byte[], byte[]> cache) {
+      ComponentRegistry registry = cache.getAdvancedCache().getComponentRegistry();
       VersionGenerator cacheVersionGenerator = registry.getComponent(VersionGenerator.class);
       if (cacheVersionGenerator == null) {
          NumericVersionGenerator newVersionGenerator = new NumericVersionGenerator()
@@ -584,10 +603,6 @@ private Configuration getCacheConfiguration() {
       return cache.getCacheConfiguration();
    }
 
-   private ComponentRegistry getCacheRegistry() {
-      return cache.getComponentRegistry();
-   }
-
    private void customDecodeHeader(ChannelHandlerContext ctx, ByteBuf buffer) throws IOException {
       Channel ch = ctx.channel();
       switch (header.operation) {
@@ -601,6 +616,13 @@ private void customDecodeHeader(ChannelHandlerContext ctx, ByteBuf buffer) throw
          case QuitRequest:
             ch.close();
             break;
+         case MetaNoOpRequest:
+            writeResponse(ch, MN);
+            break;
+         case MetaGetRequest:
+         case MetaSetRequest:
+         case MetaDeleteRequest:
+            throw new StreamCorruptedException("Missing key");
          default:
             throw new IllegalArgumentException("Operation " + header.operation + " not supported!");
       }
@@ -619,6 +641,10 @@ protected void customDecodeKey(ChannelHandlerContext ctx, ByteBuf buffer) throws
          case FlushAllRequest:
             flushAll(buffer, ch, true); // With params
             break;
+         case MetaNoOpRequest:
+            skipLine(buffer);
+            writeResponse(ch, MN);
+            break;
          default:
             throw new IllegalArgumentException("Operation " + header.operation + " not supported!");
       }
@@ -722,6 +748,264 @@ private void flushAll(ByteBuf b, Channel ch, boolean isReadParams) throws IOExce
       writeResponse(ch, ret);
    }
 
+   /**
+    * Handles {@code mg <key> <flags>*}. A hit is answered with {@code VA} followed by the value if the {@code v} flag
+    * is present, or with {@code HD} otherwise, and a miss with {@code EN}. The {@code T} flag refreshes the TTL of the
+    * entry, as {@code touch} does.
+    */
+   private Object metaGet(ByteBuf buffer) throws IOException {
+      List<byte[]> tokens = extractKeys(buffer);
+      MetaParameters meta = readMetaParameters(tokens, 1, "bcfkOqstvT");
+      byte[] k = readMetaKey(tokens.get(0), meta, buffer);
+      CacheEntry<byte[], byte[]> entry = cache.getCacheEntry(k);
+      if (entry == null) {
+         return meta.quiet ? null : createMetaResponse("EN", meta, k, null, null, -1);
+      }
+      long ttl;
+      if (meta.updateTtl) {
+         Metadata metadata = new MemcachedMetadata.Builder()
+               .flags(MemcachedBinaryDecoder.flags(entry.getMetadata()))
+               .merge(entry.getMetadata())
+               .lifespan(meta.ttl > 0 ? toMillis(meta.ttl) : -1)
+               .build();
+         cache.replace(k, entry.getValue(), metadata);
+         ttl = meta.ttl > 0 ? TimeUnit.MILLISECONDS.toSeconds(toMillis(meta.ttl)) : -1;
+      } else {
+         ttl = remainingTtl(entry);
+      }
+      return createMetaResponse(meta.returnValue ? "VA" : "HD", meta, k, entry.getMetadata(), entry.getValue(), ttl);
+   }
+
+   /**
+    * Reads the command line of {@code ms <key> <datalen> <flags>*}. The data block is read even if the flags are
+    * invalid, so that it is not parsed as the next command.
+    */
+   private void readMetaSetLine(ByteBuf buffer) throws IOException {
+      List<byte[]> tokens = extractKeys(buffer);
+      if (tokens.size() < 2) throw new StreamCorruptedException("Missing data length");
+      int length = getLength(new String(tokens.get(1), UTF_8));
+      if (length < 0) throw new StreamCorruptedException("Negative bytes length provided: " + length);
+      try {
+         metaParams = readMetaParameters(tokens, 2, "bcCFkOqTM");
+         key = readMetaKey(tokens.get(0), metaParams, buffer);
+      } catch (StreamCorruptedException e) {
+         metaSetError = e;
+      }
+      rawValue = new byte[length];
+      checkpoint(MemcachedDecoderState.DECODE_VALUE);
+   }
+
+   /**
+    * Stores the data block of {@code ms}, answering {@code HD} if it was stored, {@code NS} if it was not, and
+    * {@code EX} or {@code NF} if the {@code C} flag does not match the version of the entry or there is no entry.
+    */
+   private Object metaSet() throws StreamCorruptedException {
+      if (metaSetError != null) throw metaSetError;
+      MetaParameters meta = metaParams;
+      Metadata metadata;
+      String status;
+      switch (meta.mode) {
+         case 'A':
+         case 'P':
+            CacheEntry<byte[], byte[]> entry = cache.getCacheEntry(key);
+            metadata = null;
+            status = checkMetaCas(entry, meta.compareCas);
+            if (status == null) {
+               byte[] prev = entry.getValue();
+               byte[] concatenated = meta.mode == 'A' ? concat(prev, rawValue) : concat(rawValue, prev);
+               metadata = new MemcachedMetadata.Builder()
+                     .flags(MemcachedBinaryDecoder.flags(entry.getMetadata()))
+                     .merge(entry.getMetadata())
+                     .version(generateVersion(cache))
+                     .build();
+               status = cache.replace(key, prev, concatenated, metadata) ? "HD" : "NS";
+            } else if (meta.compareCas == 0) {
+               // Appending to a missing entry is not a CAS failure
+               status = "NS";
+            }
+            break;
+         default:
+            metadata = buildMetaMetadata(meta);
+            if (meta.compareCas != 0 && meta.mode != 'E') {
+               CacheEntry<byte[], byte[]> prev = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(key);
+               status = checkMetaCas(prev, meta.compareCas);
+               if (status == null) {
+                  status = cache.replace(key, prev.getValue(), rawValue, metadata) ? "HD" : "EX";
+               }
+            } else if (meta.mode == 'E') {
+               status = cache.putIfAbsent(key, rawValue, metadata) == null ? "HD" : "NS";
+            } else if (meta.mode == 'R') {
+               status = cache.replace(key, rawValue, metadata) != null ? "HD" : "NS";
+            } else {
+               cache.put(key, rawValue, metadata);
+               status = "HD";
+            }
+      }
+      boolean stored = "HD".equals(status);
+      if (stored && meta.quiet) return null;
+      return createMetaResponse(status, meta, key, stored ? metadata : null, null, -1);
+   }
+
+   /**
+    * Handles {@code md <key> <flags>*}, answering {@code HD} if the entry was removed, {@code NF} if there was no
+    * entry, and {@code EX} if the {@code C} flag does not match the version of the entry.
+    */
+   private Object metaDelete(ByteBuf buffer) throws IOException {
+      List<byte[]> tokens = extractKeys(buffer);
+      MetaParameters meta = readMetaParameters(tokens, 1, "bCkOq");
+      byte[] k = readMetaKey(tokens.get(0), meta, buffer);
+      String status;
+      if (meta.compareCas != 0) {
+         CacheEntry<byte[], byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(k);
+         status = checkMetaCas(entry, meta.compareCas);
+         if (status == null) {
+            status = cache.remove(k, entry.getValue()) ? "HD" : "EX";
+         }
+      } else {
+         status = cache.remove(k) != null ? "HD" : "NF";
+      }
+      if (meta.quiet && !"EX".equals(status)) return null;
+      return createMetaResponse(status, meta, k, null, null, -1);
+   }
+
+   /**
+    * Returns {@code null} if the entry exists and, when a CAS value was sent, has that version, or the status to
+    * answer otherwise.
+    */
+   private static String checkMetaCas(CacheEntry<byte[], byte[]> entry, long cas) {
+      if (entry == null) {
+         return "NF";
+      } else if (cas != 0 && MemcachedBinaryDecoder.version(entry.getMetadata()) != cas) {
+         return "EX";
+      } else {
+         return null;
+      }
+   }
+
+   private Metadata buildMetaMetadata(MetaParameters meta) {
+      return new MemcachedMetadata.Builder()
+            .flags(meta.clientFlags)
+            .version(generateVersion(cache))
+            .lifespan(meta.ttl > 0 ? toMillis(meta.ttl) : -1)
+            .build();
+   }
+
+   private MetaParameters readMetaParameters(List<byte[]> tokens, int first, String validFlags)
+         throws StreamCorruptedException {
+      MetaParameters meta = new MetaParameters();
+      for (int i = first; i < tokens.size(); i++) {
+         if (tokens.get(i).length == 0) continue;
+         String token = new String(tokens.get(i), UTF_8);
+         char flag = token.charAt(0);
+         if (validFlags.indexOf(flag) < 0)
+            throw new StreamCorruptedException("Invalid flag: " + token);
+         String value = token.substring(1);
+         try {
+            switch (flag) {
+               case 'b':
+                  meta.base64Key = true;
+                  break;
+               case 'k':
+                  meta.returnKey = true;
+                  break;
+               case 'q':
+                  meta.quiet = true;
+                  break;
+               case 'v':
+                  meta.returnValue = true;
+                  break;
+               case 'C':
+                  meta.compareCas = Long.parseLong(value);
+                  break;
+               case 'F':
+                  meta.clientFlags = numericLimitCheck(value, 4294967295L, "Flags");
+                  break;
+               case 'T':
+                  meta.updateTtl = true;
+                  meta.ttl = friendlyMaxIntCheck(value, "TTL");
+                  break;
+               case 'M':
+                  meta.mode = value.length() == 1 ? Character.toUpperCase(value.charAt(0)) : 0;
+                  if ("EAPRS".indexOf(meta.mode) < 0)
+                     throw new StreamCorruptedException("Invalid mode: " + token);
+                  break;
+            }
+         } catch (NumberFormatException e) {
+            throw new StreamCorruptedException("Invalid flag: " + token);
+         }
+         meta.flags.add(token);
+      }
+      return meta;
+   }
+
+   private byte[] readMetaKey(byte[] token, MetaParameters meta, ByteBuf buffer) throws StreamCorruptedException {
+      byte[] k = token;
+      if (meta.base64Key) {
+         try {
+            k = Base64.getDecoder().decode(token);
+         } catch (IllegalArgumentException e) {
+            throw new StreamCorruptedException("Key is not valid base64");
+         }
+      }
+      if (k.length == 0) throw new StreamCorruptedException("Missing key");
+      return checkKeyLength(k, true, buffer);
+   }
+
+   /**
+    * Writes the status line of a meta command with the return flags that were asked for, in the order of the request.
+    * The opaque and key flags are returned with every status, the flags that describe the entry only with a hit.
+    */
+   private static ByteBuf createMetaResponse(String status, MetaParameters meta, byte[] k, Metadata metadata,
+                                             byte[] value, long ttl) {
+      boolean withValue = value != null && meta.returnValue;
+      StringBuilder sb = new StringBuilder(status);
+      if (withValue) sb.append(' ').append(value.length);
+      for (String flag : meta.flags) {
+         switch (flag.charAt(0)) {
+            case 'O':
+               sb.append(' ').append(flag);
+               break;
+            case 'b':
+               if (meta.returnKey) sb.append(" b");
+               break;
+            case 'k':
+               sb.append(" k").append(meta.base64Key ? Base64.getEncoder().encodeToString(k) : new String(k, UTF_8));
+               break;
+            case 'c':
+               if (metadata != null) sb.append(" c").append(MemcachedBinaryDecoder.version(metadata));
+               break;
+            case 'f':
+               if (metadata != null) sb.append(" f").append(MemcachedBinaryDecoder.flags(metadata));
+               break;
+            case 's':
+               if (value != null) sb.append(" s").append(value.length);
+               break;
+            case 't':
+               if (metadata != null) sb.append(" t").append(ttl);
+               break;
+         }
+      }
+      byte[] line = sb.append(CRLF).toString().getBytes(UTF_8);
+      ByteBuf buf = buffer(line.length + (withValue ? value.length + CRLFBytes.length : 0));
+      buf.writeBytes(line);
+      if (withValue) {
+         buf.writeBytes(value);
+         buf.writeBytes(CRLFBytes);
+      }
+      return buf;
+   }
+
+   /**
+    * Returns the seconds until the entry expires, or -1 if it never expires.
+    */
+   private static long remainingTtl(CacheEntry<byte[], byte[]> entry) {
+      long lifespan = entry.getLifespan();
+      if (lifespan < 0) return -1;
+      long created = entry.getCreated();
+      long remaining = created > 0 ? created + lifespan - System.currentTimeMillis() : lifespan;
+      return TimeUnit.MILLISECONDS.toSeconds(Math.max(remaining, 0));
+   }
+
    private BigInteger validateDelta(String delta) throws StreamCorruptedException {
       BigInteger bigIntDelta = new BigInteger(delta);
       if (bigIntDelta.compareTo(MAX_UNSIGNED_LONG) > 0)
@@ -823,6 +1107,8 @@ private void resetParams() {
       // Reset parameters to avoid leaking previous params
       // into a request that has no params
       params = null;
+      metaParams = null;
+      metaSetError = null;
       rawValue = null; // Clear reference to value
       key = null;
    }
@@ -885,7 +1171,7 @@ private StringBuilder logAndCreateErrorMessage(StringBuilder sb, MemcachedExcept
     * Otherwise it's just considered number of seconds from
     * now and it's returned in milliseconds unit.
     */
-   private long toMillis(int lifespan) {
+   static long toMillis(int lifespan) {
       if (lifespan > SecondsInAMonth) {
          long unixTimeExpiry = TimeUnit.SECONDS.toMillis(lifespan) - System.currentTimeMillis();
          return unixTimeExpiry < 0 ? 0 : unixTimeExpiry;
@@ -1098,6 +1384,14 @@ private MemcachedOperation toRequest(String commandName, Boolean endOfOp, ByteBu
             return MemcachedOperation.VerbosityRequest;
          case "quit":
             return MemcachedOperation.QuitRequest;
+         case "mg":
+            return MemcachedOperation.MetaGetRequest;
+         case "ms":
+            return MemcachedOperation.MetaSetRequest;
+         case "md":
+            return MemcachedOperation.MetaDeleteRequest;
+         case "mn":
+            return MemcachedOperation.MetaNoOpRequest;
          default:
             if (!endOfOp) {
                String line = readDiscardedLine(buffer); // Read rest of line to clear the operation
@@ -1145,6 +1439,30 @@ public String toString() {
    }
 }
 
+/**
+ * The flags of a meta command, in the order they were sent so that the return flags are written in the same order.
+ */
+class MetaParameters {
+   final List<String> flags = new ArrayList<>(4);
+   boolean base64Key;
+   boolean returnKey;
+   boolean returnValue;
+   boolean quiet;
+   boolean updateTtl;
+   int ttl;
+   long compareCas;
+   long clientFlags;
+   char mode = 'S';
+
+   @Override
+   public String toString() {
+      return "MetaParameters{" +
+            "flags=" + flags +
+            ", mode=" + mode +
+            '}';
+   }
+}
+
 //private class DelayedFlushAll(cache: AdvancedCache[String, Array[Byte]],
 //                              flushFunction: AdvancedCache[String, Array[Byte]] => Unit) extends Runnable {
 //   override def run() {
@@ -25,6 +25,9 @@
 /**
  * Memcached server defining its decoder/encoder settings. In fact, Memcached does not use an encoder since there's
  * no really common headers between protocol operations.
+ * <p>
+ * Both the text and the binary protocol are served on the same port, the protocol is detected from the first byte
+ * sent by each client. The text protocol includes the {@code mg}, {@code ms}, {@code md} and {@code mn} meta commands.
  *
  * @author Galder Zamarreño
  * @since 4.1
@@ -71,12 +74,23 @@ public ChannelOutboundHandler getEncoder() {
 
    @Override
    public ChannelInboundHandler getDecoder() {
+      return new MemcachedProtocolDetector(this);
+   }
+
+   ChannelInboundHandler getTextDecoder() {
       return new MemcachedDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored, configuration.clientEncoding());
    }
 
+   ChannelInboundHandler getBinaryDecoder() {
+      return new MemcachedBinaryDecoder(memcachedCache, scheduler, this::isCacheIgnored, configuration.clientEncoding(),
+            configuration.maxContentLength());
+   }
+
    @Override
    public ChannelMatcher getChannelMatcher() {
-      return channel -> channel.pipeline().get(MemcachedDecoder.class) != null;
+      return channel -> channel.pipeline().get(MemcachedProtocolDetector.class) != null
+            || channel.pipeline().get(MemcachedDecoder.class) != null
+            || channel.pipeline().get(MemcachedBinaryDecoder.class) != null;
    }
 
    @Override
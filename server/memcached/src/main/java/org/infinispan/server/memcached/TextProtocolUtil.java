@@ -44,6 +44,7 @@ private TextProtocolUtil() {
    public static final byte[] VALUE = "VALUE ".getBytes();
    public static final int VALUE_SIZE = VALUE.length;
    public static final byte[] ZERO = "0".getBytes();
+   public static final byte[] MN = "MN\r\n".getBytes();
 
    public static final int SP = 32;
    public static final int CR = 13;
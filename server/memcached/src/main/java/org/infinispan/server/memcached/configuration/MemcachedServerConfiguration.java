@@ -31,10 +31,12 @@ public class MemcachedServerConfiguration extends ProtocolServerConfiguration {
    public static final String DEFAULT_MEMCACHED_CACHE = "memcachedCache";
 
    public static final AttributeDefinition<MediaType> CLIENT_ENCODING = AttributeDefinition.builder("client-encoding", APPLICATION_OCTET_STREAM, MediaType.class).immutable().build();
+   public static final AttributeDefinition<Integer> MAX_CONTENT_LENGTH = AttributeDefinition.builder("max-content-length", 10 * 1024 * 1024).immutable().build();
    private final Attribute<MediaType> clientEncoding;
+   private final Attribute<Integer> maxContentLength;
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(MemcachedServerConfiguration.class, ProtocolServerConfiguration.attributeDefinitionSet(), WORKER_THREADS, CLIENT_ENCODING);
+      return new AttributeSet(MemcachedServerConfiguration.class, ProtocolServerConfiguration.attributeDefinitionSet(), WORKER_THREADS, CLIENT_ENCODING, MAX_CONTENT_LENGTH);
    }
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition("memcached-connector");
@@ -42,6 +44,7 @@ public static AttributeSet attributeDefinitionSet() {
    MemcachedServerConfiguration(AttributeSet attributes, SslConfiguration ssl, IpFilterConfiguration ipRules) {
       super(attributes, ssl, ipRules);
       clientEncoding = attributes.attribute(CLIENT_ENCODING);
+      maxContentLength = attributes.attribute(MAX_CONTENT_LENGTH);
    }
 
    @Override
@@ -53,6 +56,14 @@ public MediaType clientEncoding() {
       return clientEncoding.get();
    }
 
+   /**
+    * @return the maximum length in bytes of the body of a binary protocol request
+    * @since 13.0
+    */
+   public int maxContentLength() {
+      return maxContentLength.get();
+   }
+
    @Override
    public String toString() {
       return "MemcachedServerConfiguration [" + attributes + "]";
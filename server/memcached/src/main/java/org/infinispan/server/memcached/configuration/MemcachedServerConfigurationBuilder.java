@@ -1,9 +1,13 @@
 package org.infinispan.server.memcached.configuration;
 
+import static org.infinispan.server.memcached.configuration.MemcachedServerConfiguration.MAX_CONTENT_LENGTH;
+
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.server.core.admin.AdminOperationsHandler;
 import org.infinispan.server.core.configuration.ProtocolServerConfigurationBuilder;
+import org.infinispan.server.memcached.logging.Log;
 
 /**
  * MemcachedServerConfigurationBuilder.
@@ -15,6 +19,7 @@
 @Deprecated
 public class MemcachedServerConfigurationBuilder extends ProtocolServerConfigurationBuilder<MemcachedServerConfiguration, MemcachedServerConfigurationBuilder> implements
       Builder<MemcachedServerConfiguration> {
+   private static final Log log = LogFactory.getLog(MemcachedServerConfigurationBuilder.class, Log.class);
 
    public MemcachedServerConfigurationBuilder() {
       super(MemcachedServerConfiguration.DEFAULT_MEMCACHED_PORT, MemcachedServerConfiguration.attributeDefinitionSet());
@@ -51,6 +56,26 @@ public MemcachedServerConfigurationBuilder clientEncoding(MediaType payloadType)
       return this;
    }
 
+   /**
+    * The maximum length in bytes of the body of a binary protocol request, which includes the extras, the key and the
+    * value. The connection is closed when a request header announces a longer body. Defaults to 10 MiB.
+    *
+    * @since 13.0
+    */
+   public MemcachedServerConfigurationBuilder maxContentLength(int maxContentLength) {
+      attributes.attribute(MAX_CONTENT_LENGTH).set(maxContentLength);
+      return this;
+   }
+
+   @Override
+   public void validate() {
+      super.validate();
+      int maxContentLength = attributes.attribute(MAX_CONTENT_LENGTH).get();
+      if (maxContentLength <= 0) {
+         throw log.invalidMaxContentLength(maxContentLength);
+      }
+   }
+
    @Override
    public MemcachedServerConfiguration create() {
       return new MemcachedServerConfiguration(attributes.protect(), ssl.create(), ipFilter.create());
@@ -26,4 +26,7 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Cache '%s' has expiration enabled which violates the Memcached protocol", id = 11001)
    CacheConfigurationException invalidExpiration(String cacheName);
+
+   @Message(value = "The max-content-length must be a positive number of bytes, but was %d", id = 11002)
+   CacheConfigurationException invalidMaxContentLength(int maxContentLength);
 }
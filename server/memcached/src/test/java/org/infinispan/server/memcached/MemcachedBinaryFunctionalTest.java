@@ -0,0 +1,184 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.createMemcachedBinaryClient;
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.createMemcachedClient;
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.killMemcachedClient;
+import static org.infinispan.test.TestingUtil.k;
+import static org.infinispan.test.TestingUtil.v;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.infinispan.commons.util.Version;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.testng.annotations.Test;
+
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
+import net.spy.memcached.MemcachedClient;
+
+/**
+ * Tests the Memcached binary protocol against the Infinispan Memcached server.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "server.memcached.MemcachedBinaryFunctionalTest")
+public class MemcachedBinaryFunctionalTest extends MemcachedSingleNodeTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cacheManager = super.createCacheManager();
+      client.shutdown();
+      client = createMemcachedBinaryClient(60000, server.getPort());
+      return cacheManager;
+   }
+
+   public void testSetBasic(Method m) throws InterruptedException, ExecutionException, TimeoutException {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m), client.get(k(m)));
+   }
+
+   public void testGetNotFound(Method m) {
+      assertNull(client.get(k(m)));
+   }
+
+   public void testGetMultipleKeys(Method m) throws InterruptedException, ExecutionException, TimeoutException {
+      assertTrue(client.set(k(m, "k1-"), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m, "k3-"), 0, v(m, "v3-")).get(timeout, TimeUnit.SECONDS));
+      // Sent as pipelined quiet gets terminated by a no-op
+      List<String> keys = Arrays.asList(k(m, "k1-"), k(m, "k2-"), k(m, "k3-"));
+      Map<String, Object> ret = client.getBulk(keys);
+      assertEquals(2, ret.size());
+      assertEquals(v(m, "v1-"), ret.get(k(m, "k1-")));
+      assertEquals(v(m, "v3-"), ret.get(k(m, "k3-")));
+   }
+
+   public void testAddAndReplace(Method m) throws InterruptedException, ExecutionException, TimeoutException {
+      assertFalse(client.replace(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.add(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertFalse(client.add(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.replace(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m, "v1-"), client.get(k(m)));
+   }
+
+   public void testAppendPrepend(Method m) throws InterruptedException, ExecutionException, TimeoutException {
+      assertFalse(client.append(0, k(m), "x").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m), 0, "b").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.append(0, k(m), "c").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.prepend(0, k(m), "a").get(timeout, TimeUnit.SECONDS));
+      assertEquals("abc", client.get(k(m)));
+   }
+
+   public void testCas(Method m) throws InterruptedException, ExecutionException, TimeoutException {
+      assertEquals(CASResponse.NOT_FOUND, client.cas(k(m), 1, v(m)));
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      CASValue<Object> value = client.gets(k(m));
+      assertEquals(v(m), value.getValue());
+      assertTrue(value.getCas() != 0);
+      assertEquals(CASResponse.OK, client.cas(k(m), value.getCas(), v(m, "v1-")));
+      assertEquals(CASResponse.EXISTS, client.cas(k(m), value.getCas(), v(m, "v2-")));
+      assertEquals(v(m, "v1-"), client.get(k(m)));
+   }
+
+   public void testDelete(Method m) throws InterruptedException, ExecutionException, TimeoutException {
+      assertFalse(client.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+      assertNull(client.get(k(m)));
+   }
+
+   public void testIncrementDecrement(Method m) throws InterruptedException, ExecutionException, TimeoutException {
+      assertEquals(-1, client.incr(k(m), 1));
+      assertEquals(5, client.incr(k(m), 1, 5));
+      assertEquals(8, client.incr(k(m), 3));
+      assertEquals(0, client.decr(k(m), 10));
+      assertTrue(client.set(k(m), 0, "abc").get(timeout, TimeUnit.SECONDS));
+      assertEquals(-1, client.incr(k(m), 1));
+   }
+
+   public void testTouch(Method m) throws InterruptedException, ExecutionException, TimeoutException {
+      assertFalse(client.touch(k(m), 1).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.touch(k(m), 1).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m), client.getAndTouch(k(m), 0).getValue());
+   }
+
+   public void testVersion() {
+      Map<SocketAddress, String> versions = client.getVersions();
+      assertEquals(1, versions.size());
+      assertEquals(Version.getVersion(), versions.values().iterator().next());
+   }
+
+   public void testStats() {
+      Map<SocketAddress, Map<String, String>> stats = client.getStats();
+      assertEquals(1, stats.size());
+      assertEquals(Version.getVersion(), stats.values().iterator().next().get("version"));
+   }
+
+   public void testFlush(Method m) throws InterruptedException, ExecutionException, TimeoutException {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.flush().get(timeout, TimeUnit.SECONDS));
+      assertNull(client.get(k(m)));
+   }
+
+   public void testTextAndBinaryClientsShareData(Method m) throws Exception {
+      MemcachedClient textClient = createMemcachedClient(60000, server.getPort());
+      try {
+         assertTrue(textClient.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+         assertEquals(v(m), client.get(k(m)));
+         assertTrue(client.set(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+         assertEquals(v(m, "v1-"), textClient.get(k(m)));
+      } finally {
+         killMemcachedClient(textClient);
+      }
+   }
+
+   public void testBodyTooLargeClosesConnection() throws IOException {
+      try (Socket socket = new Socket(server.getHost(), server.getPort())) {
+         socket.setSoTimeout(timeout * 1000);
+         DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+         // SET request header announcing a body far larger than the server accepts, without sending the body
+         out.writeByte(0x80);
+         out.writeByte(0x01);
+         out.writeShort(3);
+         out.writeByte(8);
+         out.writeByte(0);
+         out.writeShort(0);
+         out.writeInt(0xffffffff);
+         out.writeInt(42);
+         out.writeLong(0);
+         out.flush();
+
+         DataInputStream in = new DataInputStream(socket.getInputStream());
+         assertEquals(0x81, in.readUnsignedByte());
+         assertEquals(0x01, in.readUnsignedByte());
+         in.skipBytes(4);
+         assertEquals(MemcachedBinaryDecoder.VALUE_TOO_LARGE, in.readShort());
+         int bodyLength = in.readInt();
+         assertEquals(42, in.readInt());
+         in.skipBytes(8 + bodyLength);
+         try {
+            in.readByte();
+            fail("The connection should have been closed");
+         } catch (EOFException e) {
+            // Expected
+         }
+      }
+   }
+}
@@ -0,0 +1,196 @@
+package org.infinispan.server.memcached;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * This benchmark compares the text decoder, with both the classic and the meta commands, to the binary decoder. The
+ * requests are written to an {@link EmbeddedChannel}, so only the decoding and the cache operations are measured.
+ */
+public class MemcachedDecoderBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+   private static final int BATCH_SIZE = 10;
+   private static final String CACHE_NAME = "memcachedCache";
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(MemcachedDecoderBenchmark.class.getName() + ".State.*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(1)
+            .forks(3)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Thread)
+   public static class State {
+      private DefaultCacheManager cacheManager;
+      private ScheduledExecutorService scheduler;
+      private EmbeddedChannel textChannel;
+      private EmbeddedChannel binaryChannel;
+
+      private ByteBuf textGet;
+      private ByteBuf textSet;
+      private ByteBuf textMultiGet;
+      private ByteBuf metaGet;
+      private ByteBuf metaSet;
+      private ByteBuf metaQuietGets;
+      private ByteBuf binaryGet;
+      private ByteBuf binarySet;
+      private ByteBuf binaryQuietGets;
+
+      @Setup
+      public void setup() {
+         cacheManager = new DefaultCacheManager(new GlobalConfigurationBuilder().nonClusteredDefault().build());
+         cacheManager.defineConfiguration(CACHE_NAME, new ConfigurationBuilder().build());
+         Cache<byte[], byte[]> cache = cacheManager.getCache(CACHE_NAME);
+         AdvancedCache<byte[], byte[]> advancedCache = cache.getAdvancedCache();
+         scheduler = Executors.newScheduledThreadPool(1);
+         textChannel = new EmbeddedChannel(new MemcachedDecoder(advancedCache, scheduler, null, s -> false,
+               MediaType.APPLICATION_OCTET_STREAM));
+         binaryChannel = new EmbeddedChannel(new MemcachedBinaryDecoder(advancedCache, scheduler, s -> false,
+               MediaType.APPLICATION_OCTET_STREAM, Integer.MAX_VALUE));
+
+         String value = "0123456789012345678901234567890123456789";
+         StringBuilder multiGet = new StringBuilder("get");
+         StringBuilder quietGets = new StringBuilder();
+         ByteBuf binaryBatch = Unpooled.buffer();
+         for (int i = 0; i < BATCH_SIZE; i++) {
+            String key = "key" + i;
+            // Stored through the decoder, so that the keys are converted as for the requests
+            ByteBuf set = request("set " + key + " 0 0 " + value.length() + "\r\n" + value + "\r\n");
+            decode(textChannel, set);
+            set.release();
+            multiGet.append(' ').append(key);
+            quietGets.append("mg ").append(key).append(" k v q\r\n");
+            binaryRequest(binaryBatch, MemcachedBinaryDecoder.GETKQ, key, 0, null);
+         }
+
+         textGet = request("get key0\r\n");
+         textSet = request("set key0 0 0 " + value.length() + "\r\n" + value + "\r\n");
+         textMultiGet = request(multiGet.append("\r\n").toString());
+         metaGet = request("mg key0 v\r\n");
+         metaSet = request("ms key0 " + value.length() + "\r\n" + value + "\r\n");
+         metaQuietGets = request(quietGets.append("mn\r\n").toString());
+         binaryGet = binaryRequest(Unpooled.buffer(), MemcachedBinaryDecoder.GET, "key0", 0, null);
+         binarySet = binaryRequest(Unpooled.buffer(), MemcachedBinaryDecoder.SET, "key0", 8, value);
+         binaryQuietGets = binaryRequest(binaryBatch, MemcachedBinaryDecoder.NOOP, "", 0, null);
+      }
+
+      @TearDown
+      public void tearDown() {
+         textChannel.finishAndReleaseAll();
+         binaryChannel.finishAndReleaseAll();
+         scheduler.shutdown();
+         cacheManager.stop();
+      }
+
+      private static ByteBuf request(String request) {
+         return Unpooled.copiedBuffer(request, US_ASCII);
+      }
+
+      private static ByteBuf binaryRequest(ByteBuf buf, byte opcode, String key, int extrasLength, String value) {
+         byte[] keyBytes = key.getBytes(US_ASCII);
+         byte[] valueBytes = value == null ? new byte[0] : value.getBytes(US_ASCII);
+         buf.writeByte(MemcachedBinaryDecoder.MAGIC_REQUEST);
+         buf.writeByte(opcode);
+         buf.writeShort(keyBytes.length);
+         buf.writeByte(extrasLength);
+         buf.writeByte(0); // data type
+         buf.writeShort(0); // reserved
+         buf.writeInt(extrasLength + keyBytes.length + valueBytes.length);
+         buf.writeInt(0); // opaque
+         buf.writeLong(0); // cas
+         buf.writeZero(extrasLength); // flags and expiration of a set
+         buf.writeBytes(keyBytes);
+         buf.writeBytes(valueBytes);
+         return buf;
+      }
+
+      private static int decode(EmbeddedChannel channel, ByteBuf request) {
+         channel.writeInbound(request.retainedDuplicate());
+         int responses = 0;
+         Object response;
+         while ((response = channel.readOutbound()) != null) {
+            ReferenceCountUtil.release(response);
+            responses++;
+         }
+         return responses;
+      }
+
+      @Benchmark
+      public int textGet() {
+         return decode(textChannel, textGet);
+      }
+
+      @Benchmark
+      public int textSet() {
+         return decode(textChannel, textSet);
+      }
+
+      @Benchmark
+      public int textMultiGet() {
+         return decode(textChannel, textMultiGet);
+      }
+
+      @Benchmark
+      public int metaGet() {
+         return decode(textChannel, metaGet);
+      }
+
+      @Benchmark
+      public int metaSet() {
+         return decode(textChannel, metaSet);
+      }
+
+      @Benchmark
+      public int metaQuietGets() {
+         return decode(textChannel, metaQuietGets);
+      }
+
+      @Benchmark
+      public int binaryGet() {
+         return decode(binaryChannel, binaryGet);
+      }
+
+      @Benchmark
+      public int binarySet() {
+         return decode(binaryChannel, binarySet);
+      }
+
+      @Benchmark
+      public int binaryQuietGets() {
+         return decode(binaryChannel, binaryQuietGets);
+      }
+   }
+}
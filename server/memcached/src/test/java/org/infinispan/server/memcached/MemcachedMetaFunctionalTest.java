@@ -0,0 +1,108 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.test.TestingUtil.k;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the Memcached meta commands against the Infinispan Memcached server.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "server.memcached.MemcachedMetaFunctionalTest")
+public class MemcachedMetaFunctionalTest extends MemcachedSingleNodeTest {
+
+   public void testMetaNoOp() throws IOException {
+      assertEquals("MN", send("mn\r\n"));
+   }
+
+   public void testMetaSetAndGet(Method m) throws IOException {
+      assertEquals("HD", send("ms " + k(m) + " 2 F5\r\nab\r\n"));
+      assertEquals(Arrays.asList("VA 2 f5 s2 t-1", "ab"), sendMulti("mg " + k(m) + " v f s t\r\n", 2, true));
+      assertEquals("HD f5", send("mg " + k(m) + " f\r\n"));
+   }
+
+   public void testMetaGetMiss(Method m) throws IOException {
+      assertEquals("EN", send("mg " + k(m) + " v\r\n"));
+      // The opaque and the key are returned with a miss too
+      assertEquals("EN Oabc k" + k(m), send("mg " + k(m) + " v Oabc k\r\n"));
+   }
+
+   public void testMetaQuietGetsTerminatedByNoOp(Method m) throws IOException {
+      assertEquals("HD", send("ms " + k(m, "k1-") + " 2\r\nv1\r\n"));
+      assertEquals("HD", send("ms " + k(m, "k3-") + " 2\r\nv3\r\n"));
+      List<String> responses = sendMulti("mg " + k(m, "k1-") + " k v q\r\nmg " + k(m, "k2-") + " k v q\r\nmg " +
+            k(m, "k3-") + " k v q\r\nmn\r\n", 5, true);
+      assertEquals(Arrays.asList("VA 2 k" + k(m, "k1-"), "v1", "VA 2 k" + k(m, "k3-"), "v3", "MN"), responses);
+   }
+
+   public void testMetaCas(Method m) throws IOException {
+      String resp = send("ms " + k(m) + " 1 c\r\na\r\n");
+      assertTrue(resp, resp.startsWith("HD c"));
+      long cas = Long.parseLong(resp.substring(4));
+      assertEquals("EX", send("ms " + k(m) + " 1 C" + (cas + 1) + "\r\nb\r\n"));
+      assertEquals("HD", send("ms " + k(m) + " 1 C" + cas + "\r\nb\r\n"));
+      assertEquals(Arrays.asList("VA 1", "b"), sendMulti("mg " + k(m) + " v\r\n", 2, true));
+      // The set generated a new version
+      assertEquals("EX", send("md " + k(m) + " C" + cas + "\r\n"));
+      assertEquals("NF", send("ms " + k(m, "missing-") + " 1 C" + cas + "\r\nb\r\n"));
+   }
+
+   public void testMetaSetModes(Method m) throws IOException {
+      assertEquals("NS", send("ms " + k(m) + " 1 MR\r\na\r\n"));
+      assertEquals("NS", send("ms " + k(m) + " 1 MA\r\na\r\n"));
+      assertEquals("HD", send("ms " + k(m) + " 1 ME\r\nb\r\n"));
+      assertEquals("NS", send("ms " + k(m) + " 1 ME\r\nx\r\n"));
+      assertEquals("HD", send("ms " + k(m) + " 1 MA\r\nc\r\n"));
+      assertEquals("HD", send("ms " + k(m) + " 1 MP\r\na\r\n"));
+      assertEquals(Arrays.asList("VA 3", "abc"), sendMulti("mg " + k(m) + " v\r\n", 2, true));
+      assertEquals("HD", send("ms " + k(m) + " 1 MR\r\nd\r\n"));
+      assertEquals(Arrays.asList("VA 1", "d"), sendMulti("mg " + k(m) + " v\r\n", 2, true));
+   }
+
+   public void testMetaDelete(Method m) throws IOException {
+      assertEquals("NF", send("md " + k(m) + "\r\n"));
+      assertEquals("HD", send("ms " + k(m) + " 1\r\na\r\n"));
+      assertEquals("HD Oxyz", send("md " + k(m) + " Oxyz\r\n"));
+      assertEquals("EN", send("mg " + k(m) + " v\r\n"));
+      // Quiet deletes only answer errors
+      assertEquals(Arrays.asList("MN"), sendMulti("md " + k(m) + " q\r\nmn\r\n", 1, true));
+   }
+
+   public void testMetaGetRefreshesTtl(Method m) throws IOException {
+      assertEquals("HD", send("ms " + k(m) + " 1\r\na\r\n"));
+      assertEquals("HD t-1", send("mg " + k(m) + " t\r\n"));
+      assertEquals("HD t100", send("mg " + k(m) + " t T100\r\n"));
+      String resp = send("mg " + k(m) + " t\r\n");
+      long ttl = Long.parseLong(resp.substring(4));
+      assertTrue(resp, ttl > 0 && ttl <= 100);
+   }
+
+   public void testMetaBase64Key(Method m) throws IOException {
+      String encoded = Base64.getEncoder().encodeToString(k(m).getBytes(StandardCharsets.UTF_8));
+      assertEquals("HD", send("ms " + encoded + " 1 b\r\na\r\n"));
+      assertEquals(Arrays.asList("VA 1", "a"), sendMulti("mg " + k(m) + " v\r\n", 2, true));
+      assertEquals("HD b k" + encoded, send("mg " + encoded + " b k\r\n"));
+   }
+
+   public void testMetaSetInvalidFlagSkipsData(Method m) throws IOException {
+      List<String> responses = sendMulti("ms " + k(m) + " 2 Z\r\nmn\r\nmn\r\n", 2, true);
+      assertClientError(responses.get(0));
+      // The data block was not parsed as a command
+      assertEquals("MN", responses.get(1));
+      assertEquals("EN", send("mg " + k(m) + "\r\n"));
+   }
+
+   public void testMetaGetWithoutKey() throws IOException {
+      assertClientError(send("mg\r\n"));
+   }
+}
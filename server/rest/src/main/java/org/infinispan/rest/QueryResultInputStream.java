@@ -0,0 +1,78 @@
+package org.infinispan.rest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.InputStream;
+
+import org.infinispan.commons.util.CloseableIterator;
+
+/**
+ * An {@link InputStream} that reads the hits of a query, each one encoded as a JSON object, and produces a JSON query
+ * response. The query results are read while the response is written, instead of being materialized first.
+ *
+ * @since 13.0
+ */
+public class QueryResultInputStream extends InputStream {
+   private enum State {BEGIN, ITEM, SEPARATOR, END, EOF}
+
+   private static final byte[] RESPONSE_OPEN = "{\"hits\":[".getBytes(UTF_8);
+   private static final char SEPARATOR = ',';
+   private static final byte[] RESPONSE_CLOSE = "]}".getBytes(UTF_8);
+
+   private final CloseableIterator<byte[]> iterator;
+
+   private byte[] currentEntry;
+   private int cursor = 0;
+   private boolean hasNext;
+
+   private State state = State.BEGIN;
+
+   public QueryResultInputStream(CloseableIterator<byte[]> iterator) {
+      this.iterator = iterator;
+      this.hasNext = iterator.hasNext();
+   }
+
+   @Override
+   public synchronized int read() {
+      for (; ; ) {
+         switch (state) {
+            case BEGIN:
+               if (cursor < RESPONSE_OPEN.length) return RESPONSE_OPEN[cursor++];
+               cursor = 0;
+               state = hasNext ? State.ITEM : State.END;
+               continue;
+            case SEPARATOR:
+               if (hasNext) {
+                  state = State.ITEM;
+                  return SEPARATOR;
+               }
+               state = State.END;
+               continue;
+            case END:
+               if (cursor < RESPONSE_CLOSE.length) return RESPONSE_CLOSE[cursor++];
+               state = State.EOF;
+               iterator.close();
+               continue;
+            case ITEM:
+               if (currentEntry == null) {
+                  currentEntry = iterator.next();
+               }
+               if (cursor < currentEntry.length) return currentEntry[cursor++] & 0xff;
+
+               hasNext = iterator.hasNext();
+               cursor = 0;
+               currentEntry = null;
+               state = State.SEPARATOR;
+               continue;
+            default:
+               return -1;
+         }
+      }
+   }
+
+   @Override
+   public synchronized void close() {
+      state = State.EOF;
+      iterator.close();
+   }
+}
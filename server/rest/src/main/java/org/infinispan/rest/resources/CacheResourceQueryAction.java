@@ -2,6 +2,7 @@
 
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static java.util.Collections.emptyMap;
+import static org.infinispan.query.remote.json.JSONConstants.CURSOR;
 import static org.infinispan.query.remote.json.JSONConstants.MAX_RESULTS;
 import static org.infinispan.query.remote.json.JSONConstants.OFFSET;
 import static org.infinispan.query.remote.json.JSONConstants.QUERY_STRING;
@@ -21,6 +22,7 @@
 import org.infinispan.query.remote.json.JsonQueryRequest;
 import org.infinispan.rest.InvocationHelper;
 import org.infinispan.rest.NettyRestResponse;
+import org.infinispan.rest.QueryResultInputStream;
 import org.infinispan.rest.framework.ContentSource;
 import org.infinispan.rest.framework.Method;
 import org.infinispan.rest.framework.RestRequest;
@@ -33,15 +35,52 @@
  */
 class CacheResourceQueryAction {
 
+   private static final int DEFAULT_CURSOR_BATCH_SIZE = 1000;
+
    private final InvocationHelper invocationHelper;
 
    CacheResourceQueryAction(InvocationHelper invocationHelper) {
       this.invocationHelper = invocationHelper;
    }
 
+   /**
+    * Executes a query. Besides the paginated response, the results can be read:
+    * <ul>
+    *    <li>in a single chunked response that is written while the query is iterated, with {@code stream=true}</li>
+    *    <li>in batches through a cursor kept by the server, with {@code batch=<size>}. The response contains the id of
+    *    the cursor if there are more results, and {@code cursor=<id>&batch=<size>} reads the following ones. Sending
+    *    {@code batch=0} closes the cursor.</li>
+    * </ul>
+    */
    public CompletionStage<RestResponse> search(RestRequest restRequest) {
       NettyRestResponse.Builder responseBuilder = new NettyRestResponse.Builder();
 
+      String cacheName = restRequest.variables().get("cacheName");
+      String cursorId = restRequest.getParameter(CURSOR);
+      String batchParam = restRequest.getParameter("batch");
+      int batchSize;
+      try {
+         batchSize = batchParam == null ? -1 : Integer.parseInt(batchParam);
+      } catch (NumberFormatException e) {
+         return CompletableFuture.completedFuture(queryError("Invalid search request, invalid 'batch' parameter", e.getMessage()));
+      }
+      if (cursorId != null) {
+         AdvancedCache<Object, Object> cache = invocationHelper.getRestCacheManager().getCache(cacheName, restRequest.keyContentType(), MediaType.APPLICATION_JSON, restRequest);
+         RemoteQueryManager remoteQueryManager = SecurityActions.getComponentRegistry(cache).getComponent(RemoteQueryManager.class);
+         int cursorBatchSize = batchParam == null ? DEFAULT_CURSOR_BATCH_SIZE : batchSize;
+         return CompletableFuture.supplyAsync(() -> {
+            try {
+               byte[] queryResultBytes = cursorBatchSize > 0 ?
+                     remoteQueryManager.nextQueryBatch(cursorId, cursorBatchSize, MediaType.APPLICATION_JSON) :
+                     remoteQueryManager.closeQueryCursor(cursorId, MediaType.APPLICATION_JSON);
+               responseBuilder.entity(queryResultBytes);
+               return responseBuilder.build();
+            } catch (CacheException e) {
+               return queryError("Error reading query cursor", e.getMessage());
+            }
+         }, invocationHelper.getExecutor());
+      }
+
       JsonQueryRequest query = null;
       if (restRequest.method() == Method.GET) {
          query = getQueryFromString(restRequest);
@@ -58,7 +97,6 @@ public CompletionStage<RestResponse> search(RestRequest restRequest) {
          return CompletableFuture.completedFuture(queryError("Invalid search request, missing 'query' parameter", null));
       }
 
-      String cacheName = restRequest.variables().get("cacheName");
       boolean isLocal = Boolean.parseBoolean(restRequest.getParameter("local"));
       MediaType keyContentType = restRequest.keyContentType();
       AdvancedCache<Object, Object> cache = invocationHelper.getRestCacheManager().getCache(cacheName, keyContentType, MediaType.APPLICATION_JSON, restRequest);
@@ -66,10 +104,17 @@ public CompletionStage<RestResponse> search(RestRequest restRequest) {
 
       RemoteQueryManager remoteQueryManager = SecurityActions.getComponentRegistry(cache).getComponent(RemoteQueryManager.class);
       JsonQueryRequest finalQuery = query;
+      boolean stream = Boolean.parseBoolean(restRequest.getParameter("stream"));
       return CompletableFuture.supplyAsync(() -> {
          try {
-            byte[] queryResultBytes = remoteQueryManager.executeQuery(queryString, emptyMap(), finalQuery.getStartOffset(),
-                  finalQuery.getMaxResults(), cache, MediaType.APPLICATION_JSON, isLocal);
+            if (stream) {
+               responseBuilder.entity(new QueryResultInputStream(remoteQueryManager.streamJsonQuery(queryString, emptyMap(), cache, isLocal)));
+               return responseBuilder.build();
+            }
+            byte[] queryResultBytes = batchSize > 0 ?
+                  remoteQueryManager.openQueryCursor(queryString, emptyMap(), batchSize, cache, MediaType.APPLICATION_JSON, isLocal) :
+                  remoteQueryManager.executeQuery(queryString, emptyMap(), finalQuery.getStartOffset(),
+                        finalQuery.getMaxResults(), cache, MediaType.APPLICATION_JSON, isLocal);
             responseBuilder.entity(queryResultBytes);
             return responseBuilder.build();
          } catch (IllegalArgumentException | ParsingException | IllegalStateException | CacheException e) {
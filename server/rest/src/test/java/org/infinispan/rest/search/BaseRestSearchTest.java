@@ -251,6 +251,41 @@ public void testOffset(Method method) throws Exception {
       assertEquals(hits.at(1).at(HIT).at("name").asString(), "Danny");
    }
 
+   @Test
+   public void testStreamedQuery() {
+      RestResponse response = join(cacheClient.queryStream("select p.name from org.infinispan.rest.search.entity.Person p"));
+
+      ResponseAssertion.assertThat(response).isOk();
+      Json results = Json.read(response.getBody());
+      assertEquals(results.at("hits").asList().size(), ENTRIES);
+   }
+
+   @Test
+   public void testQueryCursor() {
+      RestResponse response = join(cacheClient.queryWithCursor("select p.id from org.infinispan.rest.search.entity.Person p", 20));
+      ResponseAssertion.assertThat(response).isOk();
+      Json results = Json.read(response.getBody());
+      int count = results.at("hits").asList().size();
+      assertEquals(count, 20);
+
+      while (results.has("cursor")) {
+         response = join(cacheClient.queryCursor(results.at("cursor").asString(), 20));
+         ResponseAssertion.assertThat(response).isOk();
+         results = Json.read(response.getBody());
+         count += results.at("hits").asList().size();
+      }
+      assertEquals(count, ENTRIES);
+   }
+
+   @Test
+   public void testCloseQueryCursor() {
+      RestResponse response = join(cacheClient.queryWithCursor("from org.infinispan.rest.search.entity.Person", 10));
+      String cursorId = Json.read(response.getBody()).at("cursor").asString();
+
+      ResponseAssertion.assertThat(cacheClient.queryCursor(cursorId, 0)).isOk();
+      ResponseAssertion.assertThat(cacheClient.queryCursor(cursorId, 10)).isBadRequest();
+   }
+
    @Test(dataProvider = "HttpMethodProvider")
    public void testIncompleteSearch(Method method) {
       String searchUrl = getPath();
@@ -84,6 +84,7 @@ public enum Attribute {
    TCP_KEEPALIVE,
    TCP_NODELAY,
    TO,
+   TRANSPORT,
    URL,
    VALUE,
    VERIFIABLE,
@@ -44,6 +44,7 @@
 import org.infinispan.server.configuration.security.UserPropertiesConfigurationBuilder;
 import org.infinispan.server.core.configuration.IpFilterConfigurationBuilder;
 import org.infinispan.server.core.configuration.ProtocolServerConfigurationBuilder;
+import org.infinispan.server.core.configuration.TransportType;
 import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
 import org.kohsuke.MetaInfServices;
 import org.wildfly.security.auth.realm.ldap.DirContextFactory;
@@ -1466,6 +1467,10 @@ public static void parseCommonConnectorAttributes(ConfigurationReader reader, in
                builder.tcpNoDelay(Boolean.parseBoolean(value));
                break;
             }
+            case TRANSPORT: {
+               builder.transport(TransportType.valueOf(value.toUpperCase()));
+               break;
+            }
             case WORKER_THREADS: {
                builder.workerThreads(Integer.parseInt(value));
                break;
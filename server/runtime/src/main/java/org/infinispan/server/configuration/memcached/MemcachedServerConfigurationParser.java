@@ -87,6 +87,10 @@ private void parseMemcached(ConfigurationReader reader, ServerConfigurationBuild
                builder.ioThreads(Integer.parseInt(value));
                break;
             }
+            case MAX_CONTENT_LENGTH: {
+               builder.maxContentLength(Integer.parseInt(value));
+               break;
+            }
             case NAME: {
                builder.name(value);
                break;
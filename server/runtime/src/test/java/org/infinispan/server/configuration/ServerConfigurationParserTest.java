@@ -442,6 +442,8 @@ private void assertMemcachedConnector(Json memcachedConnector) {
       assertEquals(3, memcachedConnector.at("receive-buffer-size").asInteger());
       assertEquals("string", memcachedConnector.at("cache").asString());
       assertEquals("application/json", memcachedConnector.at("client-encoding").asString());
+      assertEquals(1048576, memcachedConnector.at("max-content-length").asInteger());
+      assertEquals("NIO", memcachedConnector.at("transport").asString());
    }
 
    private void assertStringArray(List<String> expected, Json actual) {
@@ -8,6 +8,7 @@ public enum Element {
 
    BATCH("batch"),
    BINARY("binary"),
+   BULK_LOAD("bulk_load"),
    CACHE_NAME("cache_name"),
    CLASS("class"),
    COMPRESSION("compression"),
@@ -7,7 +7,9 @@
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -38,10 +40,17 @@
 import org.infinispan.container.entries.metadata.MetadataTransientCacheValue;
 import org.infinispan.container.entries.metadata.MetadataTransientMortalCacheEntry;
 import org.infinispan.container.entries.metadata.MetadataTransientMortalCacheValue;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.metadata.impl.InternalMetadataImpl;
+import org.infinispan.persistence.rocksdb.RocksDBStore;
 import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.util.KeyValuePair;
+import org.infinispan.util.concurrent.CompletionStages;
+
+import io.reactivex.rxjava3.core.Flowable;
 
 /**
  * @author Ryan Emerson
@@ -50,6 +59,8 @@
 public class StoreMigrator {
 
    private static final int DEFAULT_BATCH_SIZE = 1;
+   // The number of entries of each segment written to a single SST file when loading in bulk
+   private static final int DEFAULT_BULK_LOAD_SIZE = 10000;
    // A list of all internal classes that were previously marshallable, but we no longer provide
    // guarantees over byte compatibility in future versions
    private static final Set<Class<?>> INTERNAL_BLACKLIST = new HashSet<>();
@@ -104,6 +115,12 @@ void run(boolean output) throws Exception {
                .collect(Collectors.toSet());
 
          AdvancedCache targetCache = TargetStoreFactory.getTargetCache(manager, properties);
+         RocksDBStore<Object, Object> bulkLoadStore = TargetStoreFactory.getBulkLoadStore(targetCache, properties);
+         if (bulkLoadStore != null) {
+            bulkLoad(targetCache, bulkLoadStore, sourceReader, externalizerClasses,
+                  batchSizeProp != null ? batchLimit : DEFAULT_BULK_LOAD_SIZE, output);
+            return;
+         }
          // Txs used so that writes to the DB are batched. Migrator will always operate locally Tx overhead should be negligible
          TransactionManager tm = targetCache.getTransactionManager();
          int txBatchSize = 0;
@@ -127,6 +144,34 @@ void run(boolean output) throws Exception {
       }
    }
 
+   /**
+    * Buffers the entries of each segment and writes them directly to the target store as SST files, bypassing the
+    * target cache.
+    */
+   private void bulkLoad(AdvancedCache<?, ?> targetCache, RocksDBStore<Object, Object> store, StoreIterator sourceReader,
+                         Set<Class> externalizerClasses, int bulkLoadSize, boolean output) {
+      ComponentRegistry registry = targetCache.getComponentRegistry();
+      KeyPartitioner keyPartitioner = registry.getComponent(KeyPartitioner.class);
+      MarshallableEntryFactory<Object, Object> entryFactory = registry.getComponent(MarshallableEntryFactory.class);
+      Map<Integer, List<MarshallableEntry<Object, Object>>> segmentEntries = new HashMap<>();
+      for (MarshallableEntry entry : sourceReader) {
+         if (warnAndIgnoreInternalClasses(entry.getKey(), externalizerClasses, output) ||
+               warnAndIgnoreInternalClasses(entry.getValue(), externalizerClasses, output))
+            continue;
+
+         int segment = keyPartitioner.getSegment(entry.getKey());
+         List<MarshallableEntry<Object, Object>> entries = segmentEntries.computeIfAbsent(segment, s -> new ArrayList<>());
+         // Same as the puts in the target cache, the metadata is not migrated
+         entries.add(entryFactory.create(entry.getKey(), entry.getValue()));
+         if (entries.size() == bulkLoadSize) {
+            segmentEntries.remove(segment);
+            CompletionStages.join(store.bulkLoadSegment(segment, Flowable.fromIterable(entries)));
+         }
+      }
+      segmentEntries.forEach((segment, entries) ->
+            CompletionStages.join(store.bulkLoadSegment(segment, Flowable.fromIterable(entries))));
+   }
+
    public static void main(String[] args) throws Exception {
       if (args.length != 1) {
          version(System.out);
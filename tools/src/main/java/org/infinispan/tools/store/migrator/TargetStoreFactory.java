@@ -1,5 +1,6 @@
 package org.infinispan.tools.store.migrator;
 
+import static org.infinispan.tools.store.migrator.Element.BULK_LOAD;
 import static org.infinispan.tools.store.migrator.Element.COMPRESSION;
 import static org.infinispan.tools.store.migrator.Element.INDEX_LOCATION;
 import static org.infinispan.tools.store.migrator.Element.LOCATION;
@@ -20,6 +21,8 @@
 import org.infinispan.manager.DefaultCacheManager;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.rocksdb.RocksDBStore;
 import org.infinispan.persistence.rocksdb.configuration.CompressionType;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationBuilder;
 import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
@@ -73,6 +76,23 @@ static AdvancedCache getTargetCache(EmbeddedCacheManager manager, Properties pro
       return manager.getCache(cacheName).getAdvancedCache().withFlags(Flag.SKIP_CACHE_LOAD);
    }
 
+   /**
+    * @return the target store if entries should be loaded in bulk, {@code null} if they should be written through the
+    * target cache
+    */
+   static RocksDBStore<Object, Object> getBulkLoadStore(AdvancedCache<?, ?> targetCache, Properties properties) {
+      StoreProperties props = new StoreProperties(TARGET, properties);
+      if (!Boolean.parseBoolean(props.get(BULK_LOAD)))
+         return null;
+
+      if (props.storeType() != StoreType.ROCKSDB || !targetCache.getCacheConfiguration().persistence().stores().get(0).segmented())
+         throw new CacheConfigurationException("Bulk loading is only supported by segmented RocksDB target stores");
+
+      PersistenceManager persistenceManager = targetCache.getComponentRegistry().getComponent(PersistenceManager.class);
+      //noinspection unchecked
+      return persistenceManager.getStores(RocksDBStore.class).iterator().next();
+   }
+
    private static StoreConfigurationBuilder getInitializedStoreBuilder(StoreProperties props) {
       PersistenceConfigurationBuilder persistenceBuilder = new ConfigurationBuilder().persistence();
       StoreType storeType = StoreType.valueOf(props.get(TYPE).toUpperCase());
@@ -1,16 +1,24 @@
 package org.infinispan.tools.store.migrator.rocksdb;
 
+import static org.infinispan.tools.store.migrator.Element.BATCH;
+import static org.infinispan.tools.store.migrator.Element.BULK_LOAD;
 import static org.infinispan.tools.store.migrator.Element.LOCATION;
+import static org.infinispan.tools.store.migrator.Element.SEGMENT_COUNT;
+import static org.infinispan.tools.store.migrator.Element.SIZE;
 import static org.infinispan.tools.store.migrator.Element.SOURCE;
+import static org.infinispan.tools.store.migrator.Element.TARGET;
 import static org.infinispan.tools.store.migrator.Element.TYPE;
 import static org.infinispan.tools.store.migrator.TestUtil.propKey;
 
 import java.util.Properties;
 
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.commons.test.Exceptions;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationBuilder;
 import org.infinispan.tools.store.migrator.AbstractReaderTest;
 import org.infinispan.tools.store.migrator.Element;
+import org.infinispan.tools.store.migrator.StoreMigrator;
 import org.infinispan.tools.store.migrator.StoreType;
 import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
@@ -18,12 +26,24 @@
 @Test(testName = "tools.store.migrator.rocksdb.RocksDBReaderTest", groups = "functional")
 public class RocksDBReaderTest extends AbstractReaderTest {
 
+   private boolean bulkLoad;
+
+   public RocksDBReaderTest bulkLoad() {
+      this.bulkLoad = true;
+      return this;
+   }
+
+   @Override
+   protected String parameters() {
+      return String.format("[version=%d,segments=%d,bulkLoad=%b]", majorVersion, segmentCount, bulkLoad);
+   }
+
    private String getSourceDir() {
       return String.format("target/test-classes/infinispan%d/leveldbstore/", majorVersion);
    }
 
    private String getTargetDirectory() {
-      return String.format("%s/target/%d/", getSourceDir(), segmentCount);
+      return String.format("%s/target/%d%s/", getSourceDir(), segmentCount, bulkLoad ? "-bulk" : "");
    }
 
    @Factory
@@ -33,6 +53,8 @@ public Object[] factory() {
             new RocksDBReaderTest().segmented(59),
             new RocksDBReaderTest().majorVersion(9),
             new RocksDBReaderTest().majorVersion(9).segmented(59),
+            new RocksDBReaderTest().bulkLoad().segmented(59),
+            new RocksDBReaderTest().bulkLoad().majorVersion(9).segmented(59),
       };
    }
 
@@ -50,5 +72,20 @@ protected void configureStoreProperties(Properties properties, Element type) {
       super.configureStoreProperties(properties, type);
       properties.put(propKey(type, TYPE), StoreType.ROCKSDB.toString());
       properties.put(propKey(type, LOCATION), type == SOURCE ? getSourceDir() : getTargetDirectory());
+      if (type == TARGET && bulkLoad) {
+         properties.put(propKey(type, BULK_LOAD), "true");
+         // Write several SST files for some of the segments
+         properties.put(propKey(BATCH, SIZE), "2");
+      }
+   }
+
+   public void testBulkLoadRequiresSegmentedTarget() {
+      Properties properties = new Properties();
+      configureStoreProperties(properties, SOURCE);
+      configureStoreProperties(properties, TARGET);
+      properties.put(propKey(TARGET, BULK_LOAD), "true");
+      properties.remove(propKey(TARGET, SEGMENT_COUNT));
+      properties.put(propKey(TARGET, LOCATION), getTargetDirectory() + "non-segmented/");
+      Exceptions.expectException(CacheConfigurationException.class, () -> new StoreMigrator(properties).run());
    }
 }